@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against a baseline recorded with the same options.
+ *
+ * <p>Benchmarks are matched by name and parameters. A result is reported as a regression when it
+ * is worse than the baseline by more than the threshold and by more than the two scores' error
+ * margins combined; "worse" means lower for throughput modes and higher for time modes. The exit
+ * status is 1 if any regression is found.
+ *
+ * <pre>
+ * java -cp agentscope-benchmarks/target/benchmarks.jar \
+ *     io.agentscope.benchmarks.BaselineComparison \
+ *     agentscope-benchmarks/baseline/baseline.json results.json [thresholdPercent]
+ * </pre>
+ */
+public final class BaselineComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BaselineComparison() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println(
+                    "Usage: BaselineComparison <baseline.json> <results.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold =
+                args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> results = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode current = entry.getValue();
+            JsonNode base = baseline.get(entry.getKey());
+            String unit = current.path("primaryMetric").path("scoreUnit").asText();
+            double score = current.path("primaryMetric").path("score").asDouble();
+            if (base == null) {
+                System.out.printf(
+                        "%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double change = baseScore == 0 ? 0 : (score - baseScore) / baseScore * 100;
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            double worse = higherIsBetter ? -change : change;
+            double margin =
+                    current.path("primaryMetric").path("scoreError").asDouble(0)
+                            + base.path("primaryMetric").path("scoreError").asDouble(0);
+            boolean regression = worse > threshold && Math.abs(score - baseScore) > margin;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf(
+                    "%-90s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                    entry.getKey(),
+                    baseScore,
+                    score,
+                    change,
+                    unit,
+                    regression ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    /** Reads a JMH JSON result file keyed by benchmark name and sorted parameters. */
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Map<String, String> params = new TreeMap<>();
+            for (Map.Entry<String, JsonNode> param : result.path("params").properties()) {
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+}
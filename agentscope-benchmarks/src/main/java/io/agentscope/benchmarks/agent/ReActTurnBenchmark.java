@@ -0,0 +1,201 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.agent;
+
+import io.agentscope.core.ReActAgent;
+import io.agentscope.core.agent.RuntimeContext;
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.model.ChatModelBase;
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.ChatUsage;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.ToolSchema;
+import io.agentscope.core.permission.PermissionContextState;
+import io.agentscope.core.permission.PermissionDecision;
+import io.agentscope.core.tool.ToolBase;
+import io.agentscope.core.tool.ToolCallParam;
+import io.agentscope.core.tool.Toolkit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Framework overhead of one full {@link ReActAgent} turn: a user message, a model response
+ * calling a tool, the tool call, and a streamed final answer.
+ *
+ * <p>The model is scripted in process and answers instantly: it calls {@code read_file} unless
+ * the last message is a tool result, in which case it streams a 20-chunk answer. The tool
+ * returns a canned result. What remains is the agent's own work per turn: hooks and events,
+ * chunk accumulation, tool scheduling and permission checks, and state bookkeeping.
+ *
+ * <p>The session starts with {@code historySize} messages, and the messages each turn appends
+ * are removed afterwards so every invocation sees the same history.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar ReActTurn -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReActTurnBenchmark {
+
+    private static final String FILLER =
+            "The quick brown fox jumps over the lazy dog while the compiler reports that the"
+                    + " build finished with warnings in module core. ";
+
+    @Param({"10", "200"})
+    public int historySize;
+
+    private ReActAgent agent;
+    private RuntimeContext context;
+    private List<Msg> input;
+
+    @Setup
+    public void setUp() {
+        Toolkit toolkit = new Toolkit();
+        toolkit.registerAgentTool(new CannedTool());
+        agent =
+                ReActAgent.builder()
+                        .name("assistant")
+                        .sysPrompt("You are a coding assistant.")
+                        .model(new ScriptedModel())
+                        .toolkit(toolkit)
+                        .build();
+        context = RuntimeContext.builder().sessionId("bench").build();
+        List<Msg> history = agent.getAgentState(context).contextMutable();
+        for (int i = 0; i < historySize; i++) {
+            history.add(
+                    Msg.builder()
+                            .role(i % 2 == 0 ? MsgRole.USER : MsgRole.ASSISTANT)
+                            .textContent("turn " + i + ": " + FILLER)
+                            .build());
+        }
+        input =
+                List.of(
+                        Msg.builder()
+                                .role(MsgRole.USER)
+                                .textContent("What does src/Main.java do?")
+                                .build());
+    }
+
+    @Benchmark
+    public Msg turn() {
+        Msg reply = agent.call(input, context).block();
+        List<Msg> history = agent.getAgentState(context).contextMutable();
+        history.subList(historySize, history.size()).clear();
+        return reply;
+    }
+
+    /** Calls {@code read_file} once, then streams an answer. */
+    private static final class ScriptedModel extends ChatModelBase {
+        private final List<ChatResponse> toolCall;
+        private final List<ChatResponse> answer;
+
+        ScriptedModel() {
+            ToolUseBlock toolUse =
+                    ToolUseBlock.builder()
+                            .id("call-1")
+                            .name("read_file")
+                            .input(Map.of("path", "src/Main.java"))
+                            .content("{\"path\":\"src/Main.java\"}")
+                            .build();
+            toolCall = List.of(response(toolUse, 12));
+            answer = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                answer.add(response(TextBlock.builder().text("token " + i + " ").build(), i + 1));
+            }
+        }
+
+        @Override
+        protected Flux<ChatResponse> doStream(
+                List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+            Msg last = messages.get(messages.size() - 1);
+            boolean toolAnswered = last.hasContentBlocks(ToolResultBlock.class);
+            return Flux.fromIterable(toolAnswered ? answer : toolCall);
+        }
+
+        @Override
+        public String getModelName() {
+            return "scripted";
+        }
+
+        private static ChatResponse response(ContentBlock block, int outputTokens) {
+            return ChatResponse.builder()
+                    .id("resp-1")
+                    .content(List.of(block))
+                    .usage(new ChatUsage(1000, outputTokens, 0))
+                    .build();
+        }
+    }
+
+    /** {@code read_file} returning a fixed result without touching the file system. */
+    private static final class CannedTool extends ToolBase {
+        private final ToolResultBlock result = ToolResultBlock.text(FILLER.repeat(8));
+
+        CannedTool() {
+            super(
+                    "read_file",
+                    "Read a file",
+                    Map.of(
+                            "type",
+                            "object",
+                            "properties",
+                            Map.of("path", Map.of("type", "string")),
+                            "required",
+                            List.of("path")),
+                    true,
+                    true,
+                    false,
+                    null,
+                    false,
+                    false);
+        }
+
+        @Override
+        public Mono<PermissionDecision> checkPermissions(
+                Map<String, Object> input, PermissionContextState context) {
+            return Mono.just(PermissionDecision.allow("read only"));
+        }
+
+        @Override
+        public Mono<ToolResultBlock> callAsync(ToolCallParam param) {
+            return Mono.just(result);
+        }
+    }
+}
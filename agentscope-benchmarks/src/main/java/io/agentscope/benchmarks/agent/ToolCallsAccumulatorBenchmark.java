@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.agent;
+
+import io.agentscope.core.agent.accumulator.ToolCallsAccumulator;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.util.JsonUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of accumulating one streamed model response carrying two parallel tool calls in
+ * {@link ToolCallsAccumulator}.
+ *
+ * <p>The chunks follow the OpenAI streaming shape: a header chunk with the call's ID and name,
+ * then {@code __fragment__} chunks of about eight characters of argument JSON without an ID.
+ * {@code argumentChars} is the length of each call's argument JSON, so a 4000 character
+ * {@code write_file} payload arrives in 500 chunks.
+ *
+ * <p>{@code accumulate} adds every chunk, resolving the current call ID for fragments as the
+ * reasoning context does when re-emitting them, and builds the calls at the end. {@code
+ * speculative} also asks for completed calls after every chunk, as the agent does when
+ * speculative tool execution is enabled.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar ToolCallsAccumulator -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolCallsAccumulatorBenchmark {
+
+    private static final int FRAGMENT_CHARS = 8;
+
+    @Param({"200", "4000"})
+    public int argumentChars;
+
+    private List<ToolUseBlock> chunks;
+
+    @Setup
+    public void setUp() {
+        chunks = new ArrayList<>();
+        addCall("call-1", "write_file", "src/Main.java");
+        addCall("call-2", "write_file", "src/Util.java");
+    }
+
+    @Benchmark
+    public List<ToolUseBlock> accumulate(Blackhole blackhole) {
+        ToolCallsAccumulator accumulator = new ToolCallsAccumulator();
+        for (ToolUseBlock chunk : chunks) {
+            accumulator.add(chunk);
+            blackhole.consume(accumulator.getCurrentToolCallId());
+        }
+        return accumulator.buildAllToolCalls();
+    }
+
+    @Benchmark
+    public List<ToolUseBlock> speculative(Blackhole blackhole) {
+        ToolCallsAccumulator accumulator = new ToolCallsAccumulator();
+        for (ToolUseBlock chunk : chunks) {
+            accumulator.add(chunk);
+            blackhole.consume(accumulator.getCurrentToolCallId());
+            blackhole.consume(accumulator.takeCompletedToolCalls());
+        }
+        return accumulator.buildAllToolCalls();
+    }
+
+    private void addCall(String id, String name, String path) {
+        String content = "x".repeat(Math.max(0, argumentChars - path.length() - 30));
+        String arguments =
+                JsonUtils.getJsonCodec().toJson(Map.of("path", path, "content", content));
+        chunks.add(ToolUseBlock.builder().id(id).name(name).input(Map.of()).content("").build());
+        for (int i = 0; i < arguments.length(); i += FRAGMENT_CHARS) {
+            int end = Math.min(arguments.length(), i + FRAGMENT_CHARS);
+            String fragment = arguments.substring(i, end);
+            chunks.add(
+                    ToolUseBlock.builder()
+                            .id("")
+                            .name("__fragment__")
+                            .input(Map.of())
+                            .content(fragment)
+                            .build());
+        }
+    }
+}
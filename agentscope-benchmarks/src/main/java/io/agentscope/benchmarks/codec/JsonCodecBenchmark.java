@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.codec;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.state.AgentState;
+import io.agentscope.core.util.JacksonJsonCodec;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of serializing and parsing messages and agent state with {@link JacksonJsonCodec}, the
+ * work every state save, session load and message bus hop does.
+ *
+ * <p>The {@code msg*} benchmarks encode and decode a single assistant message carrying text and
+ * a tool call; they do not depend on {@code contextSize}. The {@code state*} benchmarks work on
+ * an {@link AgentState} whose context holds {@code contextSize} messages cycling through user
+ * text, assistant tool calls and tool results.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar JsonCodec -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private static final String FILLER =
+            "The quick brown fox jumps over the lazy dog while the compiler reports that the"
+                    + " build finished with warnings in module core. ";
+
+    @Param({"50", "200", "1000"})
+    public int contextSize;
+
+    private JacksonJsonCodec codec;
+    private Msg msg;
+    private String msgJson;
+    private AgentState state;
+    private String stateJson;
+
+    @Setup
+    public void setUp() {
+        codec = new JacksonJsonCodec();
+        msg =
+                Msg.builder()
+                        .name("assistant")
+                        .role(MsgRole.ASSISTANT)
+                        .content(
+                                TextBlock.builder().text("Let me read that. " + FILLER).build(),
+                                ToolUseBlock.builder()
+                                        .id("call-1")
+                                        .name("read_file")
+                                        .input(Map.of("path", "src/Main.java", "limit", 200))
+                                        .build())
+                        .build();
+        msgJson = codec.toJson(msg);
+        AgentState.Builder builder = AgentState.builder().sessionId("bench").summary("summary");
+        for (int i = 0; i < contextSize; i++) {
+            builder.addMessage(message(i));
+        }
+        state = builder.build();
+        stateJson = codec.toJson(state);
+    }
+
+    @Benchmark
+    public Msg msgRoundTrip() {
+        return codec.fromJson(codec.toJson(msg), Msg.class);
+    }
+
+    @Benchmark
+    public Msg msgDecode() {
+        return codec.fromJson(msgJson, Msg.class);
+    }
+
+    @Benchmark
+    public String stateEncode() {
+        return codec.toJson(state);
+    }
+
+    @Benchmark
+    public AgentState stateDecode() {
+        return codec.fromJson(stateJson, AgentState.class);
+    }
+
+    @Benchmark
+    public AgentState stateRoundTrip() {
+        return codec.fromJson(codec.toJson(state), AgentState.class);
+    }
+
+    private static Msg message(int i) {
+        return switch (i % 3) {
+            case 0 ->
+                    Msg.builder()
+                            .role(MsgRole.USER)
+                            .textContent("turn " + i + ": " + FILLER)
+                            .build();
+            case 1 ->
+                    Msg.builder()
+                            .role(MsgRole.ASSISTANT)
+                            .content(
+                                    ToolUseBlock.builder()
+                                            .id("call-" + i)
+                                            .name("read_file")
+                                            .input(Map.of("path", "src/File" + i + ".java"))
+                                            .build())
+                            .build();
+            default ->
+                    Msg.builder()
+                            .role(MsgRole.TOOL)
+                            .content(
+                                    ToolResultBlock.of(
+                                            "call-" + (i - 1),
+                                            "read_file",
+                                            TextBlock.builder().text(FILLER.repeat(4)).build()))
+                            .build();
+        };
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.formatter;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.util.JsonCodec;
+import io.agentscope.core.util.JsonUtils;
+import io.agentscope.extensions.model.openai.dto.OpenAIMessage;
+import io.agentscope.extensions.model.openai.formatter.OpenAIChatFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-turn cost of formatting and encoding an OpenAI chat request as the history grows.
+ *
+ * <p>The {@code turn*} benchmarks measure a whole turn: {@code formatter.format(...)} followed by
+ * encoding the request body. {@code turnCold} uses a fresh {@link OpenAIChatFormatter} every
+ * call, so the whole history is encoded, which is the cost of every turn without the encoded
+ * fragment cache. {@code turnWarm} reuses one formatter, as a model instance does across ReAct
+ * iterations, and appends one new message per call; history is spliced from cached fragments.
+ *
+ * <p>The {@code encode*} benchmarks isolate the JSON encoding step on already formatted
+ * messages. {@code encodeWarm} only runs Jackson on the new message and copies the cached
+ * fragments, so its cost is the byte copy of the body rather than the encoding of the history.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar RequestEncoding -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestEncodingBenchmark {
+
+    private static final String FILLER =
+            "The quick brown fox jumps over the lazy dog while the compiler reports that the"
+                    + " build finished with warnings in module core. ";
+
+    @Param({"50", "200", "800"})
+    public int historySize;
+
+    private List<Msg> history;
+    private OpenAIChatFormatter warmFormatter;
+    private JsonCodec codec;
+    private long turn;
+
+    @Setup
+    public void setUp() {
+        history = new ArrayList<>();
+        history.add(text(MsgRole.SYSTEM, "You are a coding assistant. " + FILLER));
+        for (int i = 1; i < historySize; i++) {
+            history.add(historyMessage(i));
+        }
+        codec = JsonUtils.getJsonCodec();
+        warmFormatter = new OpenAIChatFormatter();
+        encode(warmFormatter, history);
+    }
+
+    @Benchmark
+    public String turnCold() {
+        return encode(new OpenAIChatFormatter(), withNewMessage());
+    }
+
+    @Benchmark
+    public String turnWarm() {
+        return encode(warmFormatter, withNewMessage());
+    }
+
+    @Benchmark
+    public String encodeCold(ColdMessages cold) {
+        return codec.toJson(warmFormatter.buildRequest("gpt-4o", cold.messages, true));
+    }
+
+    @Benchmark
+    public String encodeWarm(WarmMessages warm) {
+        return codec.toJson(warmFormatter.buildRequest("gpt-4o", warm.messages, true));
+    }
+
+    /** Formatted messages for one turn, with every encoded fragment detached. */
+    @State(Scope.Thread)
+    public static class ColdMessages {
+        List<OpenAIMessage> messages;
+
+        @Setup(Level.Invocation)
+        public void setUp(RequestEncodingBenchmark benchmark) {
+            messages = benchmark.warmFormatter.format(benchmark.withNewMessage());
+            for (OpenAIMessage message : messages) {
+                message.setEncodedFragment(null);
+            }
+        }
+    }
+
+    /** Formatted messages for one turn, with history fragments already encoded. */
+    @State(Scope.Thread)
+    public static class WarmMessages {
+        List<OpenAIMessage> messages;
+
+        @Setup(Level.Invocation)
+        public void setUp(RequestEncodingBenchmark benchmark) {
+            messages = benchmark.warmFormatter.format(benchmark.withNewMessage());
+        }
+    }
+
+    private List<Msg> withNewMessage() {
+        List<Msg> msgs = new ArrayList<>(history.size() + 1);
+        msgs.addAll(history);
+        msgs.add(text(MsgRole.USER, "Turn " + (turn++) + ": " + FILLER));
+        return msgs;
+    }
+
+    private String encode(OpenAIChatFormatter formatter, List<Msg> msgs) {
+        List<OpenAIMessage> messages = formatter.format(msgs);
+        return codec.toJson(formatter.buildRequest("gpt-4o", messages, true));
+    }
+
+    private static Msg historyMessage(int i) {
+        return switch (i % 4) {
+            case 1 -> text(MsgRole.USER, "Question " + i + ": " + FILLER + FILLER);
+            case 2 ->
+                    Msg.builder()
+                            .role(MsgRole.ASSISTANT)
+                            .content(
+                                    List.of(
+                                            TextBlock.builder().text(FILLER).build(),
+                                            ToolUseBlock.builder()
+                                                    .id("call_" + i)
+                                                    .name("read_file")
+                                                    .input(Map.of("path", "src/Main" + i + ".java"))
+                                                    .build()))
+                            .build();
+            case 3 ->
+                    Msg.builder()
+                            .role(MsgRole.TOOL)
+                            .content(
+                                    ToolResultBlock.builder()
+                                            .id("call_" + (i - 1))
+                                            .name("read_file")
+                                            .output(
+                                                    TextBlock.builder()
+                                                            .text(FILLER.repeat(8))
+                                                            .build())
+                                            .build())
+                            .build();
+            default -> text(MsgRole.ASSISTANT, "Answer " + i + ": " + FILLER + FILLER);
+        };
+    }
+
+    private static Msg text(MsgRole role, String text) {
+        return Msg.builder().role(role).content(TextBlock.builder().text(text).build()).build();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.memory;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.harness.agent.memory.compaction.TokenCounterUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of estimating the token count of a conversation with {@link TokenCounterUtil}, which the
+ * harness compaction runs over the whole conversation to decide whether to compact it.
+ *
+ * <p>The history cycles through user text, assistant tool calls with a small argument map and
+ * tool results of about 500 characters, the mix of a coding agent session.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar TokenCounter -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenCounterBenchmark {
+
+    private static final String FILLER =
+            "The quick brown fox jumps over the lazy dog while the compiler reports that the"
+                    + " build finished with warnings in module core. ";
+
+    @Param({"50", "200", "1000"})
+    public int historySize;
+
+    private List<Msg> history;
+
+    @Setup
+    public void setUp() {
+        history = new ArrayList<>();
+        for (int i = 0; i < historySize; i++) {
+            history.add(message(i));
+        }
+    }
+
+    @Benchmark
+    public int calculateToken() {
+        return TokenCounterUtil.calculateToken(history);
+    }
+
+    private static Msg message(int i) {
+        return switch (i % 3) {
+            case 0 ->
+                    Msg.builder()
+                            .role(MsgRole.USER)
+                            .textContent("turn " + i + ": " + FILLER)
+                            .build();
+            case 1 ->
+                    Msg.builder()
+                            .role(MsgRole.ASSISTANT)
+                            .content(
+                                    ToolUseBlock.builder()
+                                            .id("call-" + i)
+                                            .name("grep")
+                                            .input(
+                                                    Map.of(
+                                                            "pattern",
+                                                            "TODO",
+                                                            "path",
+                                                            "src/File" + i + ".java"))
+                                            .build())
+                            .build();
+            default ->
+                    Msg.builder()
+                            .role(MsgRole.TOOL)
+                            .content(
+                                    ToolResultBlock.of(
+                                            "call-" + (i - 1),
+                                            "grep",
+                                            TextBlock.builder().text(FILLER.repeat(4)).build()))
+                            .build();
+        };
+    }
+}
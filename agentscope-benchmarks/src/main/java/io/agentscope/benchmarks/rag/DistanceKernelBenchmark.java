@@ -0,0 +1,163 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.rag;
+
+import io.agentscope.core.rag.store.TopK;
+import io.agentscope.core.rag.store.VectorKernels;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to pick the top 10 of {@code vectors} stored vectors by cosine similarity to one query.
+ *
+ * <ul>
+ *   <li>{@code naiveSort} - the previous search path: a scalar loop that recomputes both norms
+ *       for every vector, then a sort of all scores
+ *   <li>{@code cosineTopK} - {@link VectorKernels#cosine(double[], double, double[], double)}
+ *       with precomputed norms and a {@link TopK} heap
+ *   <li>{@code floatDotTopK} - {@link VectorKernels#dot(float[], float[])} over pre-normalized
+ *       float32 vectors and a {@link TopK} heap
+ * </ul>
+ *
+ * <p>{@code kernel=scalar} runs the unrolled scalar loops, {@code kernel=vector} the JDK Vector API;
+ * forks are started with {@code --add-modules jdk.incubator.vector}.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar DistanceKernel -p dimensions=768
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DistanceKernelBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"384", "768", "1024", "1536"})
+    public int dimensions;
+
+    @Param({"10000"})
+    public int vectors;
+
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    private double[][] doubles;
+    private double[] norms;
+    private float[][] units;
+    private double[] query;
+    private float[] unitQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Read once per fork, before the first kernel call
+        System.setProperty(
+                VectorKernels.VECTOR_API_PROPERTY, String.valueOf("vector".equals(kernel)));
+        if ("vector".equals(kernel) && !VectorKernels.isVectorApiEnabled()) {
+            throw new IllegalStateException("Vector API kernels are not available");
+        }
+
+        Random random = new Random(42);
+        doubles = new double[vectors][];
+        norms = new double[vectors];
+        units = new float[vectors][];
+        for (int i = 0; i < vectors; i++) {
+            doubles[i] = gaussian(random);
+            norms[i] = VectorKernels.norm(doubles[i]);
+            units[i] = unit(doubles[i], norms[i]);
+        }
+        query = gaussian(random);
+        unitQuery = unit(query, VectorKernels.norm(query));
+    }
+
+    @Benchmark
+    public int[] naiveSort() {
+        double[] scores = new double[vectors];
+        Integer[] order = new Integer[vectors];
+        for (int i = 0; i < vectors; i++) {
+            double[] vector = doubles[i];
+            double dot = 0;
+            double norm1 = 0;
+            double norm2 = 0;
+            for (int d = 0; d < dimensions; d++) {
+                dot += query[d] * vector[d];
+                norm1 += query[d] * query[d];
+                norm2 += vector[d] * vector[d];
+            }
+            scores[i] = dot / (Math.sqrt(norm1) * Math.sqrt(norm2));
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        int[] best = new int[LIMIT];
+        for (int i = 0; i < LIMIT; i++) {
+            best[i] = order[i];
+        }
+        return best;
+    }
+
+    @Benchmark
+    public int[] cosineTopK() {
+        double queryNorm = VectorKernels.norm(query);
+        TopK top = new TopK(LIMIT);
+        for (int i = 0; i < vectors; i++) {
+            top.offer(VectorKernels.cosine(query, queryNorm, doubles[i], norms[i]), i);
+        }
+        return top.indices();
+    }
+
+    @Benchmark
+    public int[] floatDotTopK() {
+        TopK top = new TopK(LIMIT);
+        for (int i = 0; i < vectors; i++) {
+            top.offer(VectorKernels.dot(unitQuery, units[i]), i);
+        }
+        return top.indices();
+    }
+
+    private double[] gaussian(Random random) {
+        double[] vector = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static float[] unit(double[] vector, double norm) {
+        float[] unit = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            unit[i] = (float) (vector[i] / norm);
+        }
+        return unit;
+    }
+}
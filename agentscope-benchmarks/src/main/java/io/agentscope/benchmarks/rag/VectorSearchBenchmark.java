@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.rag;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import io.agentscope.core.rag.store.HnswStore;
+import io.agentscope.core.rag.store.InMemoryStore;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of a top-10 vector search over {@code documents} stored vectors, scanning every vector
+ * with {@link InMemoryStore} versus walking the graph of {@link HnswStore}.
+ *
+ * <p>Vectors are drawn around 256 random centroids, which resembles real embeddings more closely
+ * than uniform noise. Recall@10 of the HNSW store against the exact scan, over all queries, is
+ * printed once per trial; raise {@code efSearch} to trade latency for recall.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar VectorSearch -p documents=100000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VectorSearchBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final int QUERIES = 256;
+    private static final int CENTROIDS = 256;
+    private static final double SPREAD = 1.0;
+
+    @Param({"10000", "100000"})
+    public int documents;
+
+    @Param({"384"})
+    public int dimensions;
+
+    @Param({"64"})
+    public int efSearch;
+
+    private InMemoryStore exact;
+    private HnswStore hnsw;
+    private SearchDocumentDto[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        double[][] centroids = new double[CENTROIDS][];
+        for (int i = 0; i < CENTROIDS; i++) {
+            centroids[i] = gaussian(random, null, 1.0);
+        }
+
+        exact = InMemoryStore.builder().dimensions(dimensions).build();
+        hnsw = HnswStore.builder().dimensions(dimensions).efSearch(efSearch).build();
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < documents; i++) {
+            TextBlock text = TextBlock.builder().text("chunk " + i).build();
+            Document doc = new Document(new DocumentMetadata(text, "doc-" + i, "0"));
+            doc.setEmbedding(gaussian(random, centroids[random.nextInt(CENTROIDS)], SPREAD));
+            batch.add(doc);
+            if (batch.size() == 1000 || i == documents - 1) {
+                exact.add(batch).block();
+                hnsw.add(batch).block();
+                batch = new ArrayList<>();
+            }
+        }
+
+        queries = new SearchDocumentDto[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] =
+                    SearchDocumentDto.builder()
+                            .queryEmbedding(
+                                    gaussian(random, centroids[random.nextInt(CENTROIDS)], SPREAD))
+                            .limit(LIMIT)
+                            .build();
+        }
+
+        int found = 0;
+        for (SearchDocumentDto query : queries) {
+            Set<String> truth = new HashSet<>();
+            exact.search(query).block().forEach(doc -> truth.add(doc.getId()));
+            for (Document doc : hnsw.search(query).block()) {
+                if (truth.contains(doc.getId())) {
+                    found++;
+                }
+            }
+        }
+        System.out.printf(
+                "%nrecall@%d = %.4f (documents=%d, dimensions=%d, efSearch=%d)%n",
+                LIMIT, (double) found / (QUERIES * LIMIT), documents, dimensions, efSearch);
+    }
+
+    @Benchmark
+    public List<Document> bruteForce() {
+        return exact.search(nextQuery()).block();
+    }
+
+    @Benchmark
+    public List<Document> hnsw() {
+        return hnsw.search(nextQuery()).block();
+    }
+
+    private SearchDocumentDto nextQuery() {
+        SearchDocumentDto query = queries[next];
+        next = (next + 1) % QUERIES;
+        return query;
+    }
+
+    private double[] gaussian(Random random, double[] mean, double sigma) {
+        double[] vector = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (mean == null ? 0 : mean[i]) + random.nextGaussian() * sigma;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.rag;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import io.agentscope.core.rag.store.InMemoryStore;
+import io.agentscope.core.rag.store.MappedVectorStore;
+import io.agentscope.core.rag.store.VDBStoreBase;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of an exact top-10 scan over {@code documents} stored vectors, with {@code double[]}
+ * vectors on the heap ({@link InMemoryStore}) versus float32 and int8 arenas in memory-mapped
+ * files ({@link MappedVectorStore}).
+ *
+ * <p>Heap and mapped bytes per stored vector, and for the mapped stores the time to reopen the
+ * directory, are printed once per trial. Holding 1M 384-dimensional vectors in {@code
+ * InMemoryStore} needs a heap of several gigabytes; compare it at a smaller size or with a larger
+ * heap:
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar VectorStorage -p store=float32,int8
+ * java -jar agentscope-benchmarks/target/benchmarks.jar VectorStorage -p documents=100000
+ * java -jar agentscope-benchmarks/target/benchmarks.jar VectorStorage -jvmArgs -Xmx8g
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VectorStorageBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final int QUERIES = 64;
+    private static final int BATCH = 10_000;
+
+    @Param({"1000000"})
+    public int documents;
+
+    @Param({"384"})
+    public int dimensions;
+
+    @Param({"inMemory", "float32", "int8"})
+    public String store;
+
+    private VDBStoreBase vectorStore;
+    private Path directory;
+    private SearchDocumentDto[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        long heapBefore = usedHeap();
+        long mappedBefore = bufferPoolBytes();
+
+        if ("inMemory".equals(store)) {
+            vectorStore = InMemoryStore.builder().dimensions(dimensions).build();
+        } else {
+            directory = Files.createTempDirectory("agentscope-vector-storage");
+            vectorStore = openMapped();
+        }
+        List<Document> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < documents; i++) {
+            TextBlock text = TextBlock.builder().text("chunk " + i).build();
+            Document doc = new Document(new DocumentMetadata(text, "doc-" + i, "0"));
+            doc.setEmbedding(gaussian(random));
+            batch.add(doc);
+            if (batch.size() == BATCH || i == documents - 1) {
+                vectorStore.add(batch).block();
+                batch = new ArrayList<>(BATCH);
+            }
+        }
+
+        long heapBytes = usedHeap() - heapBefore;
+        long mappedBytes = bufferPoolBytes() - mappedBefore;
+        System.out.printf(
+                "%n%s: %.0f heap bytes/vector, %.0f mapped bytes/vector (documents=%d,"
+                        + " dimensions=%d)%n",
+                store,
+                (double) heapBytes / documents,
+                (double) mappedBytes / documents,
+                documents,
+                dimensions);
+
+        if (vectorStore instanceof MappedVectorStore mapped) {
+            mapped.close();
+            long start = System.nanoTime();
+            vectorStore = openMapped();
+            System.out.printf(
+                    "%s: reopened %d documents in %d ms%n",
+                    store,
+                    ((MappedVectorStore) vectorStore).size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        queries = new SearchDocumentDto[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] =
+                    SearchDocumentDto.builder()
+                            .queryEmbedding(gaussian(random))
+                            .limit(LIMIT)
+                            .build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (vectorStore instanceof MappedVectorStore mapped) {
+            mapped.close();
+        }
+        vectorStore = null;
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Document> search() {
+        SearchDocumentDto query = queries[next];
+        next = (next + 1) % QUERIES;
+        return vectorStore.search(query).block();
+    }
+
+    private MappedVectorStore openMapped() throws Exception {
+        return MappedVectorStore.builder()
+                .directory(directory)
+                .dimensions(dimensions)
+                .quantization(
+                        "int8".equals(store)
+                                ? MappedVectorStore.Quantization.INT8
+                                : MappedVectorStore.Quantization.NONE)
+                .build();
+    }
+
+    private double[] gaussian(Random random) {
+        double[] vector = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Bytes held in direct and mapped buffers. */
+    private static long bufferPoolBytes() {
+        long bytes = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            bytes += pool.getMemoryUsed();
+        }
+        return bytes;
+    }
+}
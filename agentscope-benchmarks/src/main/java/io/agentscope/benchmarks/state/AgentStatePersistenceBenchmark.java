@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.state;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.state.AgentState;
+import io.agentscope.core.state.AgentStateStore;
+import io.agentscope.core.state.DeltaAgentStateStore;
+import io.agentscope.core.state.InMemoryAgentStateStore;
+import io.agentscope.core.util.JsonUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bytes written and time spent persisting {@code agent_state} once per turn, saving the whole
+ * state versus saving through {@link DeltaAgentStateStore}.
+ *
+ * <p>Each invocation replaces the newest message of a {@code contextSize} message context with
+ * a fresh one and saves the state, so the context stays the same size and every turn changes
+ * exactly one message. The backing store counts the UTF-8 bytes of the JSON it is asked to
+ * write; {@code bytesPerTurn} reports the count for the last turn of each iteration. In
+ * {@code full} mode that is the whole state; in {@code delta} mode it is the header plus one
+ * message, independent of {@code contextSize}.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar AgentStatePersistence
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgentStatePersistenceBenchmark {
+
+    private static final String FILLER =
+            "The quick brown fox jumps over the lazy dog while the compiler reports that the"
+                    + " build finished with warnings in module core. ";
+
+    @Param({"50", "200", "1000"})
+    public int contextSize;
+
+    @Param({"full", "delta"})
+    public String mode;
+
+    private CountingStore backend;
+    private AgentStateStore store;
+    private AgentState state;
+    private long turn;
+
+    /** JMH auxiliary counters reported next to the primary score. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WriteCounters {
+        public long bytesPerTurn;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        backend = new CountingStore();
+        store = "delta".equals(mode) ? new DeltaAgentStateStore(backend) : backend;
+        AgentState.Builder builder = AgentState.builder().sessionId("bench").summary("summary");
+        for (int i = 0; i < contextSize; i++) {
+            builder.addMessage(message(i));
+        }
+        state = builder.build();
+        store.save(null, "bench", "agent_state", state);
+    }
+
+    @Benchmark
+    public long saveTurn(WriteCounters counters) {
+        List<Msg> context = state.contextMutable();
+        context.set(context.size() - 1, message(turn++));
+        long before = backend.bytesWritten;
+        store.save(null, "bench", "agent_state", state);
+        counters.bytesPerTurn = backend.bytesWritten - before;
+        return counters.bytesPerTurn;
+    }
+
+    private static Msg message(long i) {
+        return Msg.builder()
+                .role(i % 2 == 0 ? MsgRole.USER : MsgRole.ASSISTANT)
+                .textContent("turn " + i + ": " + FILLER)
+                .build();
+    }
+
+    /** In-memory store that counts the JSON bytes a serializing backend would write. */
+    static final class CountingStore extends InMemoryAgentStateStore {
+        long bytesWritten;
+
+        @Override
+        public void save(
+                String userId, String sessionId, String key, io.agentscope.core.state.State value) {
+            bytesWritten += jsonBytes(value);
+            super.save(userId, sessionId, key, value);
+        }
+
+        @Override
+        public long saveIfVersionWithLog(
+                String userId,
+                String sessionId,
+                String key,
+                io.agentscope.core.state.State value,
+                long expectedVersion,
+                String logKey,
+                int logOffset,
+                List<? extends io.agentscope.core.state.State> logTail) {
+            bytesWritten += jsonBytes(value);
+            for (io.agentscope.core.state.State item : logTail) {
+                bytesWritten += jsonBytes(item);
+            }
+            return super.saveIfVersionWithLog(
+                    userId, sessionId, key, value, expectedVersion, logKey, logOffset, logTail);
+        }
+
+        private static long jsonBytes(io.agentscope.core.state.State value) {
+            return JsonUtils.getJsonCodec().toJson(value).getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
+}
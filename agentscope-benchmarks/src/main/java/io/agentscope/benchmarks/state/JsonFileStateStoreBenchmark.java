@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.state;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.state.AgentState;
+import io.agentscope.core.state.JsonFileAgentStateStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time per turn of saving agent state to disk through {@link JsonFileAgentStateStore}.
+ *
+ * <p>As in {@link AgentStatePersistenceBenchmark}, each invocation replaces the newest message of
+ * a {@code contextSize} message context and saves. {@code saveState} writes the whole
+ * {@link AgentState} as one JSON document through a temporary file and an atomic move. {@code
+ * saveList} saves the context as a list, which the store compares against its line index and
+ * rewrites from the changed line on, so only the last line is written.
+ *
+ * <p>Files go to a temporary directory removed after the trial. Results depend on the file
+ * system; neither path forces data to the device.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar JsonFileStateStore
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonFileStateStoreBenchmark {
+
+    private static final String FILLER =
+            "The quick brown fox jumps over the lazy dog while the compiler reports that the"
+                    + " build finished with warnings in module core. ";
+
+    @Param({"50", "200", "1000"})
+    public int contextSize;
+
+    private Path directory;
+    private JsonFileAgentStateStore store;
+    private AgentState state;
+    private List<Msg> messages;
+    private long turn;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("agentscope-bench-state");
+        store = new JsonFileAgentStateStore(directory);
+        AgentState.Builder builder = AgentState.builder().sessionId("bench").summary("summary");
+        messages = new ArrayList<>();
+        for (int i = 0; i < contextSize; i++) {
+            Msg message = message(i);
+            builder.addMessage(message);
+            messages.add(message);
+        }
+        state = builder.build();
+        store.save(null, "bench", "agent_state", state);
+        store.save(null, "bench", "messages", messages);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(
+                            path -> {
+                                try {
+                                    Files.delete(path);
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            });
+        }
+    }
+
+    @Benchmark
+    public AgentState saveState() {
+        List<Msg> context = state.contextMutable();
+        context.set(context.size() - 1, message(turn++));
+        store.save(null, "bench", "agent_state", state);
+        return state;
+    }
+
+    @Benchmark
+    public List<Msg> saveList() {
+        messages.set(messages.size() - 1, message(turn++));
+        store.save(null, "bench", "messages", messages);
+        return messages;
+    }
+
+    private static Msg message(long i) {
+        return Msg.builder()
+                .role(i % 2 == 0 ? MsgRole.USER : MsgRole.ASSISTANT)
+                .textContent("turn " + i + ": " + FILLER)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.tool;
+
+import io.agentscope.core.tool.AgentTool;
+import io.agentscope.core.tool.ToolValidator;
+import io.agentscope.core.tool.Toolkit;
+import io.agentscope.core.tool.builtin.TodoTools;
+import io.agentscope.core.tool.coding.ShellCommandTool;
+import io.agentscope.core.tool.file.ReadFileTool;
+import io.agentscope.core.tool.file.WriteFileTool;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of validating one tool call's input against the parameter schema of a built-in tool.
+ *
+ * <p>{@code compileEachCall} is the path every tool call took before schemas were cached: the
+ * parameter map is serialized, parsed and compiled on every validation. {@code cached} is the
+ * path {@code ToolExecutor} takes now: the tool's current parameters are checked against the
+ * compiled schema (an identity check, or a map comparison for tools such as
+ * {@code execute_shell_command} that build their schema on every call) and the input is parsed
+ * once and validated.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar ToolValidation -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolValidationBenchmark {
+
+    private static final Map<String, String> INPUTS =
+            Map.of(
+                    "view_text_file",
+                    "{\"file_path\":\"src/main/java/App.java\",\"ranges\":\"1,120\"}",
+                    "write_text_file",
+                    "{\"file_path\":\"notes.md\",\"content\":\"# Notes\\nfirst line\\n\","
+                            + "\"ranges\":null}",
+                    "execute_shell_command",
+                    "{\"command\":\"ls -la\",\"timeout\":30}",
+                    "todo_write",
+                    "{\"todos\":[{\"content\":\"Read the spec\",\"status\":\"completed\"},"
+                            + "{\"content\":\"Write the parser\",\"status\":\"in_progress\"},"
+                            + "{\"content\":\"Add tests\",\"status\":\"pending\"}]}");
+
+    @Param({"view_text_file", "write_text_file", "execute_shell_command", "todo_write"})
+    public String tool;
+
+    private AgentTool agentTool;
+    private String input;
+    private ToolValidator.CompiledSchema compiled;
+
+    @Setup
+    public void setUp() {
+        Toolkit toolkit = new Toolkit();
+        toolkit.registerTool(new ReadFileTool());
+        toolkit.registerTool(new WriteFileTool());
+        toolkit.registerAgentTool(new ShellCommandTool());
+        toolkit.registerTool(new TodoTools());
+
+        agentTool = toolkit.getTool(tool);
+        input = INPUTS.get(tool);
+        compiled = ToolValidator.compile(agentTool.getParameters());
+
+        String error = compiled.validate(input);
+        if (error != null) {
+            throw new IllegalStateException(
+                    "Benchmark input for " + tool + " is invalid: " + error);
+        }
+    }
+
+    @Benchmark
+    public String compileEachCall() {
+        return ToolValidator.validateInput(input, agentTool.getParameters());
+    }
+
+    @Benchmark
+    public String cached() {
+        Map<String, Object> parameters = agentTool.getParameters();
+        if (!compiled.isCompiledFrom(parameters)) {
+            compiled = ToolValidator.compile(parameters);
+        }
+        return compiled.validate(input);
+    }
+}
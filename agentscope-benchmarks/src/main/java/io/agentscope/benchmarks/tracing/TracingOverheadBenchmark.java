@@ -0,0 +1,229 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.tracing;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.model.ChatModelBase;
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.ChatUsage;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.ToolSchema;
+import io.agentscope.core.tool.ToolCallParam;
+import io.agentscope.core.tool.Toolkit;
+import io.agentscope.core.tracing.telemetry.PayloadCapture;
+import io.agentscope.core.tracing.telemetry.TelemetryTracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tracing overhead of one agent turn: a streamed model call over the conversation history
+ * followed by a tool call, both through {@link TelemetryTracer}, with the model and tool answering
+ * instantly so that only the tracing cost remains.
+ *
+ * <p>{@code capture} selects the configuration:
+ * <ul>
+ *   <li>{@code off} - tracing disabled, the baseline
+ *   <li>{@code unsampled} - full payload capture, but every trace dropped by the sampler, so no
+ *       payload is serialized
+ *   <li>{@code metadata} - spans with metadata attributes only ({@link
+ *       PayloadCapture#metadataOnly()})
+ *   <li>{@code hash} - payloads serialized and recorded as SHA-256 digests
+ *   <li>{@code truncated} - payloads serialized and cut to 4096 characters
+ *   <li>{@code full} - payloads serialized and recorded whole, as before payload policies
+ * </ul>
+ *
+ * <p>Spans go through a {@link BatchSpanProcessor} to an exporter that discards them, so export
+ * I/O is not measured.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar TracingOverhead -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TracingOverheadBenchmark {
+
+    private static final String FILLER =
+            "The quick brown fox jumps over the lazy dog while the compiler reports that the"
+                    + " build finished with warnings in module core. ";
+
+    @Param({"off", "unsampled", "metadata", "hash", "truncated", "full"})
+    public String capture;
+
+    @Param({"50", "400"})
+    public int historySize;
+
+    private List<Msg> history;
+    private List<ToolSchema> tools;
+    private List<ChatResponse> chunks;
+    private CannedModel model;
+    private Toolkit toolkit;
+    private ToolCallParam toolCall;
+    private ToolResultBlock toolResult;
+    private SdkTracerProvider provider;
+    private TelemetryTracer tracer;
+
+    @Setup
+    public void setUp() {
+        history = new ArrayList<>();
+        history.add(text(MsgRole.SYSTEM, "You are a coding assistant. " + FILLER));
+        for (int i = 1; i < historySize; i++) {
+            history.add(
+                    i % 2 == 1
+                            ? text(MsgRole.USER, "Question " + i + ": " + FILLER + FILLER)
+                            : text(MsgRole.ASSISTANT, "Answer " + i + ": " + FILLER.repeat(4)));
+        }
+        tools = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tools.add(
+                    ToolSchema.builder()
+                            .name("tool_" + i)
+                            .description("Tool " + i + ": " + FILLER)
+                            .parameters(
+                                    Map.of(
+                                            "type",
+                                            "object",
+                                            "properties",
+                                            Map.of("path", Map.of("type", "string"))))
+                            .build());
+        }
+        chunks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            chunks.add(
+                    ChatResponse.builder()
+                            .id("resp-1")
+                            .content(List.of(TextBlock.builder().text("token " + i + " ").build()))
+                            .usage(new ChatUsage(historySize * 40, i + 1, 0))
+                            .build());
+        }
+        model = new CannedModel(chunks);
+        toolkit = new Toolkit();
+        ToolUseBlock toolUse =
+                new ToolUseBlock("call-1", "read_file", Map.of("path", "src/Main.java"));
+        toolCall = ToolCallParam.builder().toolUseBlock(toolUse).build();
+        toolResult = ToolResultBlock.text(FILLER.repeat(40));
+        tracer = createTracer();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (provider != null) {
+            provider.close();
+        }
+    }
+
+    @Benchmark
+    public ToolResultBlock turn() {
+        tracer.callModel(model, history, tools, null, () -> Flux.fromIterable(chunks)).blockLast();
+        return tracer.callTool(toolkit, toolCall, () -> Mono.just(toolResult)).block();
+    }
+
+    private TelemetryTracer createTracer() {
+        if (capture.equals("off")) {
+            return TelemetryTracer.builder().enabled(false).build();
+        }
+        PayloadCapture policy =
+                switch (capture) {
+                    case "metadata" -> PayloadCapture.metadataOnly();
+                    case "hash" -> PayloadCapture.builder().mode(PayloadCapture.Mode.HASH).build();
+                    case "truncated" -> PayloadCapture.builder().maxLength(4096).build();
+                    default -> PayloadCapture.full();
+                };
+        provider =
+                SdkTracerProvider.builder()
+                        .addSpanProcessor(
+                                BatchSpanProcessor.builder(new DiscardingExporter()).build())
+                        .setSampler(
+                                capture.equals("unsampled")
+                                        ? Sampler.alwaysOff()
+                                        : Sampler.alwaysOn())
+                        .build();
+        return new TelemetryTracer(provider.get("benchmark"), policy);
+    }
+
+    private static Msg text(MsgRole role, String text) {
+        return Msg.builder().role(role).content(TextBlock.builder().text(text).build()).build();
+    }
+
+    /** Model identity for span attributes; the benchmark supplies the response stream itself. */
+    private static final class CannedModel extends ChatModelBase {
+        private final List<ChatResponse> chunks;
+
+        CannedModel(List<ChatResponse> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected Flux<ChatResponse> doStream(
+                List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+            return Flux.fromIterable(chunks);
+        }
+
+        @Override
+        public String getModelName() {
+            return "canned";
+        }
+    }
+
+    /** Exporter dropping every span, so only the in-process cost of tracing is measured. */
+    private static final class DiscardingExporter implements SpanExporter {
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.transport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal local SSE server that emits a fixed number of OpenAI-style chunks per request.
+ *
+ * <p>Chunks are written from a small scheduled pool after the handler returns, so thousands of
+ * concurrent streams can be served without one server thread per connection. This keeps the
+ * server side from becoming the bottleneck when measuring client transports.
+ */
+public final class MockSseServer implements AutoCloseable {
+
+    private static final byte[] DONE = "data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final int chunks;
+    private final Duration interval;
+    private final byte[] chunk;
+    private HttpServer server;
+    private ExecutorService dispatcher;
+    private ScheduledExecutorService writer;
+
+    /**
+     * Create a server.
+     *
+     * @param chunks number of data frames per stream, excluding the terminal marker
+     * @param interval delay between two consecutive frames
+     */
+    public MockSseServer(int chunks, Duration interval) {
+        this.chunks = chunks;
+        this.interval = interval;
+        this.chunk =
+                ("data:"
+                     + " {\"id\":\"chatcmpl-bench\",\"object\":\"chat.completion.chunk\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"token\"}}]}\n\n")
+                        .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Start listening on an ephemeral loopback port.
+     *
+     * @return this server
+     * @throws IOException if the socket cannot be bound
+     */
+    public MockSseServer start() throws IOException {
+        server =
+                HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 8192);
+        dispatcher = Executors.newFixedThreadPool(4);
+        writer = Executors.newScheduledThreadPool(4);
+        server.setExecutor(dispatcher);
+        server.createContext("/sse", this::handle);
+        server.start();
+        return this;
+    }
+
+    /**
+     * Get the streaming endpoint URL.
+     *
+     * @return the URL of the SSE endpoint
+     */
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/sse";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        writer.schedule(
+                new Emitter(exchange, exchange.getResponseBody()),
+                interval.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            dispatcher.shutdownNow();
+            writer.shutdownNow();
+        }
+    }
+
+    private final class Emitter implements Runnable {
+        private final HttpExchange exchange;
+        private final OutputStream out;
+        private int sent;
+
+        Emitter(HttpExchange exchange, OutputStream out) {
+            this.exchange = exchange;
+            this.out = out;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (sent < chunks) {
+                    out.write(chunk);
+                    out.flush();
+                    sent++;
+                    writer.schedule(this, interval.toNanos(), TimeUnit.NANOSECONDS);
+                    return;
+                }
+                out.write(DONE);
+                out.flush();
+                exchange.close();
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.benchmarks.transport;
+
+import io.agentscope.core.model.transport.HttpRequest;
+import io.agentscope.core.model.transport.HttpTransport;
+import io.agentscope.core.model.transport.HttpTransportConfig;
+import io.agentscope.core.model.transport.HttpVersion;
+import io.agentscope.core.model.transport.JdkHttpTransport;
+import io.agentscope.core.model.transport.OkHttpTransport;
+import io.agentscope.core.model.transport.StreamingMode;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+/**
+ * Load harness that drives many concurrent SSE streams through an {@link HttpTransport} against
+ * a local {@link MockSseServer}.
+ *
+ * <p>Each invocation opens {@code streams} concurrent model-like streams and waits until all of
+ * them complete. The reported time is the wall-clock time for the whole batch; the
+ * {@code peakThreads} counter is the JVM peak live thread count during the batch. With
+ * {@link StreamingMode#BLOCKING}, streams beyond the {@code boundedElastic} cap queue behind one
+ * another; with {@link StreamingMode#NON_BLOCKING}, the batch completes in roughly
+ * {@code chunks * intervalMs} regardless of {@code streams}. {@link OkHttpTransport} serves
+ * non-blocking streams through {@link JdkHttpTransport}, so both transports should match there.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar SseStreamingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SseStreamingBenchmark {
+
+    @Param({"JDK", "OKHTTP"})
+    public String transportType;
+
+    @Param({"BLOCKING", "NON_BLOCKING"})
+    public StreamingMode streamingMode;
+
+    @Param({"2000"})
+    public int streams;
+
+    @Param({"20"})
+    public int chunks;
+
+    @Param({"50"})
+    public int intervalMs;
+
+    private MockSseServer server;
+    private HttpTransport transport;
+    private HttpRequest request;
+
+    /** JMH auxiliary counters reported next to the primary score. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThreadCounters {
+        public long peakThreads;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = new MockSseServer(chunks, Duration.ofMillis(intervalMs)).start();
+        HttpTransportConfig config =
+                HttpTransportConfig.builder()
+                        .httpVersion(HttpVersion.HTTP_1_1)
+                        .streamingMode(streamingMode)
+                        .maxIdleConnections(streams)
+                        .build();
+        transport =
+                "JDK".equals(transportType)
+                        ? JdkHttpTransport.builder().config(config).build()
+                        : OkHttpTransport.builder().config(config).build();
+        request = HttpRequest.builder().url(server.url()).method("POST").body("{}").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transport.close();
+        server.close();
+    }
+
+    @Benchmark
+    public long concurrentStreams(ThreadCounters counters) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        Long frames =
+                Flux.range(0, streams)
+                        .flatMap(i -> transport.stream(request), streams)
+                        .count()
+                        .block();
+        counters.peakThreads = threads.getPeakThreadCount();
+        return frames != null ? frames : 0L;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.model.transport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.agentscope.core.util.JsonCodec;
+import io.agentscope.core.util.JsonUtils;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-token cost of turning a streamed chat-completion body into parsed JSON frames.
+ *
+ * <p>{@code linePath} is the line-oriented path used by {@link HttpTransport#stream}: a
+ * {@link BufferedReader} produces one {@code String} per line, the {@code data:} prefix is
+ * removed with {@code substring}/{@code trim}, and the payload is handed to
+ * {@link JsonCodec#fromJson(String, Class)}. {@code framePath} feeds the same body, split into
+ * network-sized buffers, through {@link StreamFrameDecoder} with
+ * {@link StreamFrameParser#json(Class)}, which is what {@link HttpTransport#streamFrames} does.
+ *
+ * <p>Scores are per token (one SSE event). Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm} to see the bytes allocated per token. The benchmark lives in the
+ * transport package because the decoder is package-private.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar SseFrameDecoding -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(SseFrameDecodingBenchmark.TOKENS)
+public class SseFrameDecodingBenchmark {
+
+    static final int TOKENS = 1000;
+
+    private static final String CHUNK_TEMPLATE =
+            "{\"id\":\"chatcmpl-9a8b7c6d5e4f\",\"object\":\"chat.completion.chunk\","
+                    + "\"created\":1718000000,\"model\":\"gpt-4o-mini\",\"choices\":[{\"index\":0,"
+                    + "\"delta\":{\"content\":\"token-%d \"},\"finish_reason\":null}]}";
+
+    /** Size of the buffers the body is split into, mimicking socket reads. */
+    @Param({"512", "8192"})
+    public int bufferSize;
+
+    private byte[] body;
+    private List<ByteBuffer> buffers;
+    private JsonCodec codec;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < TOKENS; i++) {
+            sb.append("data: ").append(String.format(CHUNK_TEMPLATE, i)).append("\n\n");
+        }
+        sb.append("data: [DONE]\n\n");
+        body = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        buffers = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += bufferSize) {
+            int length = Math.min(bufferSize, body.length - offset);
+            buffers.add(ByteBuffer.wrap(body, offset, length).slice());
+        }
+        codec = JsonUtils.getJsonCodec();
+    }
+
+    @Benchmark
+    public void linePath(Blackhole bh) throws IOException {
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || !line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring(5).trim();
+                if (StreamFrameDecoder.SSE_DONE_MARKER.equals(data)) {
+                    break;
+                }
+                bh.consume(codec.fromJson(data, JsonNode.class));
+            }
+        }
+    }
+
+    @Benchmark
+    public void framePath(Blackhole bh) throws IOException {
+        StreamFrameDecoder<JsonNode> decoder =
+                new StreamFrameDecoder<>(false, StreamFrameParser.json(JsonNode.class));
+        for (ByteBuffer buffer : buffers) {
+            List<JsonNode> frames = decoder.decode(buffer.duplicate());
+            for (int i = 0; i < frames.size(); i++) {
+                bh.consume(frames.get(i));
+            }
+            if (decoder.isDone()) {
+                break;
+            }
+        }
+    }
+}
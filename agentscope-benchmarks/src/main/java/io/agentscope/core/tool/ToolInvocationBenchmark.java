@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.tool;
+
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of invoking an annotated tool method once its input has been validated.
+ *
+ * <p>{@code reflective} resolves every parameter from the method signature and calls {@link
+ * Method#invoke} on each call, which is what every {@code @Tool} method did before methods were
+ * bound at registration. {@code bound} is the path {@link Toolkit#registerTool} tools take now:
+ * parameter resolvers precomputed once and a method handle invoked with the resolved arguments.
+ *
+ * <p>Lives in {@code io.agentscope.core.tool} because {@link ToolMethodInvoker} is package-private.
+ *
+ * <pre>
+ * java -jar agentscope-benchmarks/target/benchmarks.jar ToolInvocation -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolInvocationBenchmark {
+
+    /** Tools with the parameter shapes built-in tools use. */
+    public static class Tools {
+        @Tool(name = "search", description = "Search files")
+        public String search(
+                @ToolParam(name = "pattern", description = "pattern") String pattern,
+                @ToolParam(name = "limit", description = "limit") int limit,
+                @ToolParam(name = "ignore_case", description = "ignore case") boolean ignoreCase,
+                ToolEmitter emitter) {
+            return pattern.length() + limit + (ignoreCase ? "i" : "");
+        }
+
+        @Tool(name = "tag", description = "Tag files")
+        public int tag(
+                @ToolParam(name = "paths", description = "paths") List<String> paths,
+                @ToolParam(name = "tags", description = "tags") Map<String, String> tags) {
+            return paths.size() + tags.size();
+        }
+    }
+
+    private static final Map<String, Map<String, Object>> INPUTS =
+            Map.of(
+                    "search",
+                    Map.of("pattern", "TODO", "limit", 50, "ignore_case", true),
+                    "tag",
+                    Map.of(
+                            "paths",
+                            List.of("src/App.java", "src/Util.java"),
+                            "tags",
+                            Map.of("owner", "core", "stage", "review")));
+
+    @Param({"search", "tag"})
+    public String tool;
+
+    private final Tools tools = new Tools();
+    private final ToolResultConverter converter = new DefaultToolResultConverter();
+    private final ToolMethodInvoker invoker = new ToolMethodInvoker(converter);
+    private Method method;
+    private ToolMethodInvoker.BoundMethod bound;
+    private ToolCallParam param;
+
+    @Setup
+    public void setUp() {
+        for (Method m : Tools.class.getMethods()) {
+            if (m.getName().equals(tool)) {
+                method = m;
+            }
+        }
+        bound = ToolMethodInvoker.bind(tools, method);
+        if (!bound.isDirect()) {
+            throw new IllegalStateException("No method handle for " + tool);
+        }
+        Map<String, Object> input = INPUTS.get(tool);
+        param =
+                ToolCallParam.builder()
+                        .toolUseBlock(new ToolUseBlock("call-1", tool, input))
+                        .input(input)
+                        .emitter(chunk -> {})
+                        .build();
+    }
+
+    @Benchmark
+    public ToolResultBlock reflective() {
+        return invoker.invokeAsync(tools, method, param, converter).block();
+    }
+
+    @Benchmark
+    public ToolResultBlock bound() {
+        return invoker.invokeAsync(bound, param, converter).block();
+    }
+}
@@ -25,6 +25,7 @@ import io.agentscope.core.agent.SubagentEventBus;
 import io.agentscope.core.agent.accumulator.ReasoningContext;
 import io.agentscope.core.agent.config.ModelConfig;
 import io.agentscope.core.agent.config.ReactConfig;
+import io.agentscope.core.agent.config.StateCacheConfig;
 import io.agentscope.core.event.AgentEndEvent;
 import io.agentscope.core.event.AgentEvent;
 import io.agentscope.core.event.AgentEventEmitter;
@@ -81,6 +82,7 @@ import io.agentscope.core.message.ToolResultBlock;
 import io.agentscope.core.message.ToolResultState;
 import io.agentscope.core.message.ToolUseBlock;
 import io.agentscope.core.message.UserMessage;
+import io.agentscope.core.metrics.AgentMetricsRegistry;
 import io.agentscope.core.middleware.ActingInput;
 import io.agentscope.core.middleware.AgentInput;
 import io.agentscope.core.middleware.MiddlewareBase;
@@ -114,6 +116,7 @@ import io.agentscope.core.skill.SkillBox;
 import io.agentscope.core.skill.SkillFilter;
 import io.agentscope.core.skill.repository.AgentSkillRepository;
 import io.agentscope.core.state.AgentState;
+import io.agentscope.core.state.AgentStateCache;
 import io.agentscope.core.state.AgentStateStore;
 import io.agentscope.core.state.ConcurrentSessionModificationException;
 import io.agentscope.core.state.ConflictPolicy;
@@ -121,6 +124,7 @@ import io.agentscope.core.state.LegacyStateLoader;
 import io.agentscope.core.state.ToolContextState;
 import io.agentscope.core.state.VersionedState;
 import io.agentscope.core.tool.AgentTool;
+import io.agentscope.core.tool.SpeculativeToolCalls;
 import io.agentscope.core.tool.ToolBase;
 import io.agentscope.core.tool.ToolCallParam;
 import io.agentscope.core.tool.ToolExecutionContext;
@@ -136,6 +140,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -156,6 +161,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
 
 /**
  * ReAct (Reasoning and Acting) Agent implementation.
@@ -252,6 +258,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
 
     private final List<MiddlewareBase> middlewares;
     private final boolean enablePendingToolRecovery;
+    private final boolean speculativeToolExecution;
 
     // ==================== Persistence ====================
 
@@ -281,8 +288,12 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
     /** Active per-call RuntimeContext, set during call lifecycle only. */
     private volatile RuntimeContext activeRc;
 
-    /** Cache of state per {@code (userId, sessionId)} slot key. */
-    private final ConcurrentHashMap<String, AgentState> stateCache = new ConcurrentHashMap<>();
+    /**
+     * Cache of state per {@code (userId, sessionId)} slot key, bounded by the builder's {@link
+     * StateCacheConfig}. Slots are pinned while a call runs on them; evicted slots are written
+     * back to {@link #stateStore} (see {@link #onStateEvicted}).
+     */
+    private final AgentStateCache stateCache;
 
     /**
      * Optimistic-concurrency version observed for each slot (parallel to {@link #stateCache}).
@@ -291,6 +302,14 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
      */
     private final ConcurrentHashMap<String, Long> slotVersions = new ConcurrentHashMap<>();
 
+    /**
+     * Slots whose cached state may have changed since it was last saved, each mapped to a token
+     * replaced on every {@link #markUnsaved}. A save clears the token it observed, so a change made
+     * while the save was running keeps the slot marked. Only marked slots are written back on
+     * eviction.
+     */
+    private final ConcurrentHashMap<String, Object> unsavedSlots = new ConcurrentHashMap<>();
+
     /** Count of CAS conflicts observed during agent_state saves (metric / diagnostics). */
     private final AtomicLong stateConflictCount = new AtomicLong();
 
@@ -337,6 +356,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         this.generateOptions = builder.generateOptions;
         this.toolExecutionContext = builder.toolExecutionContext;
         this.enablePendingToolRecovery = builder.enablePendingToolRecovery;
+        this.speculativeToolExecution = builder.speculativeToolExecution;
         List<MiddlewareBase> mws = new ArrayList<>();
         mws.add(new GracefulShutdownMiddleware(shutdownManager));
         mws.addAll(builder.middlewares);
@@ -350,6 +370,16 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                         ? builder.defaultSessionId
                         : (builder.name != null ? builder.name : "ReActAgent");
         this.initialPermissionContext = builder.permissionContext;
+        StateCacheConfig cacheConfig =
+                builder.stateCacheConfig != null
+                        ? builder.stateCacheConfig
+                        : StateCacheConfig.unbounded();
+        this.stateCache =
+                new AgentStateCache(
+                        cacheConfig.maxSessions(),
+                        cacheConfig.maxWeightBytes(),
+                        cacheConfig.idleTimeout(),
+                        this::onStateEvicted);
 
         this.modelConfig = assembleModelConfig(builder);
         this.reactConfig = assembleReactConfig(builder);
@@ -367,6 +397,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                         String uid = agentState.getUserId();
                         String sid = agentState.getSessionId();
                         String slot = slotKey(uid, sid);
+                        Object unsaved = unsavedSlots.get(slot);
                         long expected =
                                 slotVersions.getOrDefault(slot, AgentStateStore.UNVERSIONED);
                         long newVersion =
@@ -375,15 +406,18 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                         if (newVersion == AgentStateStore.UNVERSIONED
                                 && stateStore.supportsVersioning()
                                 && expected != AgentStateStore.UNVERSIONED) {
-                            stateConflictCount.incrementAndGet();
+                            recordStateConflict();
                             log.warn(
                                     "Shutdown state save skipped due to concurrent modification"
                                             + " (userId={}, sessionId={}, expectedVersion={})",
                                     uid,
                                     sid,
                                     expected);
-                        } else if (newVersion != AgentStateStore.UNVERSIONED) {
-                            slotVersions.put(slot, newVersion);
+                        } else {
+                            if (newVersion != AgentStateStore.UNVERSIONED) {
+                                slotVersions.put(slot, newVersion);
+                            }
+                            markSaved(slot, unsaved);
                         }
                     });
         }
@@ -491,21 +525,51 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         AgentState toSave = scope.state;
         return Mono.<Void>fromRunnable(
                         () -> {
-                            long newVersion =
-                                    persistAgentStateCas(
-                                            ref.userId,
-                                            ref.sessionId,
-                                            scope.slotKey,
-                                            toSave,
-                                            scope.loadedVersion,
-                                            scope.loadedContextSize);
-                            if (newVersion != AgentStateStore.UNVERSIONED) {
-                                scope.loadedVersion = newVersion;
+                            long start = System.nanoTime();
+                            boolean saved = false;
+                            Object unsaved = unsavedSlots.get(scope.slotKey);
+                            try {
+                                long newVersion =
+                                        persistAgentStateCas(
+                                                ref.userId,
+                                                ref.sessionId,
+                                                scope.slotKey,
+                                                toSave,
+                                                scope.loadedVersion,
+                                                scope.loadedContextSize);
+                                if (newVersion != AgentStateStore.UNVERSIONED) {
+                                    scope.loadedVersion = newVersion;
+                                }
+                                markSaved(scope.slotKey, unsaved);
+                                saved = true;
+                            } finally {
+                                AgentMetricsRegistry.get()
+                                        .recordStateSave(
+                                                stateStore.getClass().getSimpleName(),
+                                                System.nanoTime() - start,
+                                                saved);
                             }
                         })
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
+    /** Records that the slot's cached state may now differ from the stored one. */
+    private void markUnsaved(String slot) {
+        unsavedSlots.put(slot, new Object());
+    }
+
+    /** Clears the unsaved mark observed before a successful save, unless it was replaced since. */
+    private void markSaved(String slot, Object observed) {
+        if (observed != null) {
+            unsavedSlots.remove(slot, observed);
+        }
+    }
+
+    private void recordStateConflict() {
+        stateConflictCount.incrementAndGet();
+        AgentMetricsRegistry.get().recordStateConflict(getName());
+    }
+
     /**
      * Persist the safe conversation state accumulated before a failed call and rethrow the original
      * failure. Incomplete model chunks are only held by the per-iteration accumulator, so they are
@@ -550,15 +614,24 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             AgentState toSave,
             long expectedVersion,
             int loadedContextSize) {
-        if (!stateStore.supportsVersioning() || expectedVersion == AgentStateStore.UNVERSIONED) {
+        if (!stateStore.supportsVersioning()) {
             stateStore.save(userId, sessionId, "agent_state", toSave);
-            if (stateStore.supportsVersioning()) {
-                VersionedState<AgentState> after =
-                        stateStore.getVersioned(userId, sessionId, "agent_state", AgentState.class);
-                if (after.version() != AgentStateStore.UNVERSIONED) {
-                    slotVersions.put(slot, after.version());
-                    return after.version();
-                }
+            return AgentStateStore.UNVERSIONED;
+        }
+        if (expectedVersion == AgentStateStore.UNVERSIONED) {
+            long written =
+                    stateStore.saveIfVersion(
+                            userId, sessionId, "agent_state", toSave, AgentStateStore.UNVERSIONED);
+            if (written != AgentStateStore.UNVERSIONED) {
+                slotVersions.put(slot, written);
+                return written;
+            }
+            // Backends whose saveIfVersion does not report the version of an overwrite
+            VersionedState<AgentState> after =
+                    stateStore.getVersioned(userId, sessionId, "agent_state", AgentState.class);
+            if (after.version() != AgentStateStore.UNVERSIONED) {
+                slotVersions.put(slot, after.version());
+                return after.version();
             }
             return AgentStateStore.UNVERSIONED;
         }
@@ -570,7 +643,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             return newVersion;
         }
 
-        stateConflictCount.incrementAndGet();
+        recordStateConflict();
         switch (conflictPolicy) {
             case OVERWRITE -> {
                 long overwritten =
@@ -665,22 +738,30 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         final String finalSid = sid;
         AgentState loaded;
         long loadedVersion = AgentStateStore.UNVERSIONED;
+        // The slot stays pinned in the cache (never evicted) until releaseCallScope.
         if (stateStore != null) {
-            VersionedState<AgentState> versioned =
-                    loadOrCreateAgentStateForSlot(
-                            stateStore,
-                            finalUid,
-                            finalSid,
-                            initialPermissionContext,
-                            getAgentId(),
-                            initialActiveToolGroups);
-            loaded = versioned.value();
-            loadedVersion = versioned.version();
-            stateCache.put(slot, loaded);
+            long[] version = {AgentStateStore.UNVERSIONED};
+            loaded =
+                    stateCache.acquire(
+                            slot,
+                            k -> {
+                                VersionedState<AgentState> versioned =
+                                        loadOrCreateAgentStateForSlot(
+                                                stateStore,
+                                                finalUid,
+                                                finalSid,
+                                                initialPermissionContext,
+                                                getAgentId(),
+                                                initialActiveToolGroups);
+                                version[0] = versioned.version();
+                                return versioned.value();
+                            },
+                            true);
+            loadedVersion = version[0];
             slotVersions.put(slot, loadedVersion);
         } else {
             loaded =
-                    stateCache.computeIfAbsent(
+                    stateCache.acquire(
                             slot,
                             k ->
                                     loadOrCreateAgentStateForSlot(
@@ -690,7 +771,8 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                                                     initialPermissionContext,
                                                     getAgentId(),
                                                     initialActiveToolGroups)
-                                            .value());
+                                            .value(),
+                            false);
         }
         PermissionEngine loadedEngine;
         if (stateStore != null) {
@@ -701,6 +783,8 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                     permissionEngineCache.computeIfAbsent(
                             slot, k -> new PermissionEngine(loaded.getPermissionContext()));
         }
+        // The call mutates the state; it is clean again once saveStateToSession succeeds.
+        markUnsaved(slot);
         CallExecution scope = new CallExecution(loaded, loadedEngine, slot, loadedVersion);
         if (toolkit != null) {
             toolkit.setActiveGroups(loaded.getToolContext().getActivatedGroups());
@@ -832,6 +916,13 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         unbindRuntimeContextFromHooks();
     }
 
+    @Override
+    protected void releaseCallScope(Object callScope) {
+        if (callScope instanceof CallExecution ce) {
+            stateCache.release(ce.slotKey);
+        }
+    }
+
     private RuntimeContext buildMergedRuntimeContext(RuntimeContext run) {
         if (run == null) {
             if (toolExecutionContext != null) {
@@ -924,7 +1015,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
     @Deprecated
     @Override
     public void interrupt(InterruptSource source) {
-        AgentState target = stateCache.get(slotKey(null, defaultSessionId));
+        AgentState target = stateCache.getIfPresent(slotKey(null, defaultSessionId));
         if (target != null) {
             target.interruptControl().trigger(source, null);
         }
@@ -1705,6 +1796,13 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         /** Native structured-output format set on the per-call scope for native-path calls. */
         ResponseFormat nativeResponseFormat;
 
+        /**
+         * Tool calls dispatched speculatively during the current reasoning round. Non-null only
+         * when {@link #speculativeToolExecution} is enabled and a reasoning round is in flight;
+         * taken by the acting phase or cancelled when the round ends without acting.
+         */
+        SpeculativeToolCalls speculativeToolCalls;
+
         CallExecution(AgentState state, PermissionEngine permissionEngine, String slotKey) {
             this(state, permissionEngine, slotKey, AgentStateStore.UNVERSIONED);
         }
@@ -1740,7 +1838,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             // by shutdown, the client is likely retrying with the same user prompt that already
             // exists in memory. Discard the duplicate input so the agent resumes purely from its
             // saved memory context.
-            if (shutdownManager.checkAndClearShutdownInterrupted(ReActAgent.this)) {
+            if (shutdownManager.checkAndClearSessionShutdownInterrupted(state)) {
                 log.info(
                         "Detected shutdown-interrupted session for agent {}, discarding duplicate"
                                 + " input",
@@ -2274,7 +2372,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
          * Entry point for a fresh agent invocation: kicks off the ReAct loop at iteration 0.
          */
         private Mono<Msg> coreAgent() {
-            return executeIteration(0);
+            return executeIteration(0).doFinally(signal -> cancelSpeculativeToolCalls());
         }
 
         /**
@@ -2282,7 +2380,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
          * jumps directly into the acting phase without another reasoning step.
          */
         private Mono<Msg> resumeAgent() {
-            return acting(0);
+            return acting(0).doFinally(signal -> cancelSpeculativeToolCalls());
         }
 
         private Mono<Msg> executeIteration(int iter) {
@@ -2306,6 +2404,15 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             }
 
             ReasoningContext context = new ReasoningContext(getName());
+            cancelSpeculativeToolCalls();
+            if (speculativeToolExecution && state.getPermissionContext().isTrivial()) {
+                speculativeToolCalls =
+                        new SpeculativeToolCalls(
+                                toolkit,
+                                toolExecutionConfig,
+                                ReActAgent.this,
+                                buildMergedRuntimeContext(rc));
+            }
 
             return checkInterrupted()
                     .then(
@@ -2553,6 +2660,10 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                                                     parentCtx -> {
                                                         List<Msg> chunkMsgs =
                                                                 context.processChunk(chunk);
+                                                        if (withToolEvents) {
+                                                            offerSpeculativeToolCalls(
+                                                                    context, parentCtx);
+                                                        }
                                                         for (Msg msg : chunkMsgs) {
                                                             hookDispatcher
                                                                     .fireReasoningChunk(
@@ -2697,6 +2808,29 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             }
         }
 
+        /**
+         * Dispatch tool calls whose arguments closed in the latest chunk, if speculative
+         * execution is active for this reasoning round.
+         */
+        private void offerSpeculativeToolCalls(ReasoningContext context, ContextView parentCtx) {
+            SpeculativeToolCalls speculative = speculativeToolCalls;
+            if (speculative == null) {
+                return;
+            }
+            for (ToolUseBlock toolCall : context.takeCompletedToolCalls()) {
+                speculative.offer(toolCall, parentCtx);
+            }
+        }
+
+        /** Cancel any speculative tool runs of the current reasoning round that were not used. */
+        private void cancelSpeculativeToolCalls() {
+            SpeculativeToolCalls speculative = speculativeToolCalls;
+            speculativeToolCalls = null;
+            if (speculative != null) {
+                speculative.cancelAll();
+            }
+        }
+
         private String resolveToolCallId(ToolUseBlock tub, ReasoningContext context) {
             if (tub.getId() != null && !tub.getId().isEmpty()) {
                 return tub.getId();
@@ -3362,11 +3496,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                             && toolCalls.stream()
                                     .anyMatch(t -> STRUCTURED_OUTPUT_TOOL_NAME.equals(t.getName()));
             if (!hasStructured) {
-                return toolkit.callTools(
-                        toolCalls,
-                        toolExecutionConfig,
-                        ReActAgent.this,
-                        buildMergedRuntimeContext(rc));
+                return callToolkit(toolCalls);
             }
 
             List<ToolUseBlock> regular =
@@ -3376,11 +3506,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             Mono<Map<String, ToolResultBlock>> regularResults =
                     regular.isEmpty()
                             ? Mono.just(Map.of())
-                            : toolkit.callTools(
-                                            regular,
-                                            toolExecutionConfig,
-                                            ReActAgent.this,
-                                            buildMergedRuntimeContext(rc))
+                            : callToolkit(regular)
                                     .map(
                                             list -> {
                                                 Map<String, ToolResultBlock> byId = new HashMap<>();
@@ -3413,6 +3539,59 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                                     .collectList());
         }
 
+        /**
+         * Run {@code toolCalls} through {@link Toolkit#callTools}, joining any matching results
+         * already dispatched speculatively during reasoning. Speculative runs that do not match a
+         * final tool call are cancelled. Results are returned in the order of {@code toolCalls}.
+         */
+        private Mono<List<ToolResultBlock>> callToolkit(List<ToolUseBlock> toolCalls) {
+            SpeculativeToolCalls speculative = speculativeToolCalls;
+            speculativeToolCalls = null;
+            if (speculative == null) {
+                return toolkit.callTools(
+                        toolCalls,
+                        toolExecutionConfig,
+                        ReActAgent.this,
+                        buildMergedRuntimeContext(rc));
+            }
+
+            List<Mono<ToolResultBlock>> joined = new ArrayList<>(toolCalls.size());
+            List<ToolUseBlock> remaining = new ArrayList<>();
+            for (ToolUseBlock toolCall : toolCalls) {
+                Mono<ToolResultBlock> claimed = speculative.claim(toolCall);
+                joined.add(claimed);
+                if (claimed == null) {
+                    remaining.add(toolCall);
+                }
+            }
+            speculative.cancelAll();
+            if (remaining.size() == toolCalls.size()) {
+                return toolkit.callTools(
+                        toolCalls,
+                        toolExecutionConfig,
+                        ReActAgent.this,
+                        buildMergedRuntimeContext(rc));
+            }
+
+            Mono<List<ToolResultBlock>> remainingResults =
+                    remaining.isEmpty()
+                            ? Mono.just(List.of())
+                            : toolkit.callTools(
+                                    remaining,
+                                    toolExecutionConfig,
+                                    ReActAgent.this,
+                                    buildMergedRuntimeContext(rc));
+            return remainingResults.flatMap(
+                    results -> {
+                        Iterator<ToolResultBlock> next = results.iterator();
+                        return Flux.fromIterable(joined)
+                                .concatMap(
+                                        claimed ->
+                                                claimed != null ? claimed : Mono.just(next.next()))
+                                .collectList();
+                    });
+        }
+
         /**
          * Execute the per-call {@code generate_response} tool for a single tool call, mirroring the
          * schema validation the executor performs for registered tools.
@@ -4132,8 +4311,16 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
      * for the "get → mutate → save" pattern used by admin APIs and tests).
      */
     public AgentState getAgentState(String userId, String sessionId) {
+        AgentState state = cachedAgentState(userId, sessionId);
+        // Handed out for "get → mutate → save": assume the caller changes it.
+        markUnsaved(slotKey(userId, sessionId));
+        return state;
+    }
+
+    /** Loads (or creates) the cached state of a slot without marking it changed. */
+    private AgentState cachedAgentState(String userId, String sessionId) {
         String slot = slotKey(userId, sessionId);
-        return stateCache.computeIfAbsent(
+        return stateCache.get(
                 slot,
                 k -> {
                     VersionedState<AgentState> versioned =
@@ -4163,6 +4350,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
     public void clearStateCache() {
         stateCache.clear();
         permissionEngineCache.clear();
+        unsavedSlots.clear();
     }
 
     /**
@@ -4193,6 +4381,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         String slot = slotKey(userId, sid);
         stateCache.remove(slot);
         permissionEngineCache.remove(slot);
+        unsavedSlots.remove(slot);
     }
 
     /**
@@ -4255,17 +4444,18 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                 stateCache.put(slot, state);
                 slotVersions.put(slot, versioned.version());
             } else {
-                state = stateCache.get(slot);
+                state = stateCache.getIfPresent(slot);
                 if (state == null) {
                     return;
                 }
             }
         } else {
-            state = stateCache.get(slot);
+            state = stateCache.getIfPresent(slot);
             if (state == null) {
                 return;
             }
         }
+        markUnsaved(slot);
         state.contextMutable().clear();
         state.setSummary("");
         saveAgentState(userId, sid);
@@ -4349,7 +4539,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
      */
     public PermissionMode getPermissionMode(String userId, String sessionId) {
         String sid = (sessionId == null || sessionId.isBlank()) ? defaultSessionId : sessionId;
-        return getAgentState(userId, sid).getPermissionContext().getMode();
+        return cachedAgentState(userId, sid).getPermissionContext().getMode();
     }
 
     /**
@@ -4378,10 +4568,12 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             return;
         }
         String slot = slotKey(userId, sessionId);
-        AgentState s = stateCache.get(slot);
+        AgentState s = stateCache.getIfPresent(slot);
         if (s != null) {
+            Object unsaved = unsavedSlots.get(slot);
             long expected = slotVersions.getOrDefault(slot, AgentStateStore.UNVERSIONED);
             persistAgentStateCas(userId, sessionId, slot, s, expected, s.getContext().size());
+            markSaved(slot, unsaved);
         }
     }
 
@@ -4390,6 +4582,81 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         return stateConflictCount.get();
     }
 
+    /**
+     * Returns hit / miss / eviction counts and the current size of the per-session state cache.
+     * With a {@link AgentStateStore} configured every call reloads its session from the store, so
+     * calls count as misses; {@code getAgentState(...)} lookups count as hits once cached.
+     */
+    public AgentStateCache.Stats getStateCacheStats() {
+        return stateCache.stats();
+    }
+
+    /**
+     * Evicts sessions idle for longer than the configured {@link StateCacheConfig#idleTimeout()}
+     * and applies the size / weight bounds. Eviction also runs whenever a call starts or ends, so
+     * this only needs to be called periodically when the agent may stop receiving calls.
+     */
+    public void cleanUpStateCache() {
+        stateCache.cleanUp();
+    }
+
+    /**
+     * Eviction listener of {@link #stateCache}. A state already saved since its last change is
+     * simply dropped. One with unsaved changes is written back with a plain CAS against the last
+     * observed version: on conflict another writer has saved a newer version, so the evicted copy
+     * is discarded (as under {@link ConflictPolicy#FAIL}) rather than overwriting or merging it
+     * from inside the listener. The slot's version and permission engine are dropped unless it
+     * was reloaded meanwhile.
+     */
+    private void onStateEvicted(String slot, AgentState state) {
+        Object unsaved = unsavedSlots.get(slot);
+        if (stateStore != null && unsaved != null) {
+            SlotRef ref = SlotRef.parse(slot);
+            try {
+                if (writeBackEvicted(ref, slot, state)) {
+                    markSaved(slot, unsaved);
+                }
+            } catch (RuntimeException e) {
+                log.warn(
+                        "Failed to write back evicted agent state (userId={}, sessionId={})",
+                        ref.userId,
+                        ref.sessionId,
+                        e);
+            }
+        }
+        if (stateCache.getIfPresent(slot) == null) {
+            slotVersions.remove(slot);
+            permissionEngineCache.remove(slot);
+            if (unsaved != null) {
+                unsavedSlots.remove(slot, unsaved);
+            }
+        }
+    }
+
+    /** @return whether the evicted state was written; false when a newer version was kept */
+    private boolean writeBackEvicted(SlotRef ref, String slot, AgentState state) {
+        if (!stateStore.supportsVersioning()) {
+            stateStore.save(ref.userId, ref.sessionId, "agent_state", state);
+            return true;
+        }
+        long expected = slotVersions.getOrDefault(slot, AgentStateStore.UNVERSIONED);
+        // Never an unconditional overwrite: an unknown version means create-if-absent.
+        long cas = expected == AgentStateStore.UNVERSIONED ? 0L : expected;
+        long written =
+                stateStore.saveIfVersion(ref.userId, ref.sessionId, "agent_state", state, cas);
+        if (written != AgentStateStore.UNVERSIONED) {
+            return true;
+        }
+        recordStateConflict();
+        log.warn(
+                "Dropping evicted agent state: the session was saved elsewhere since it was loaded"
+                        + " (userId={}, sessionId={}, expectedVersion={})",
+                ref.userId,
+                ref.sessionId,
+                cas);
+        return false;
+    }
+
     /** Returns the configured {@link ConflictPolicy} for agent_state saves. */
     public ConflictPolicy getConflictPolicy() {
         return conflictPolicy;
@@ -4467,6 +4734,14 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         return enablePendingToolRecovery;
     }
 
+    /**
+     * Returns whether read-only, concurrency-safe tools are dispatched speculatively while the
+     * model is still streaming.
+     */
+    public boolean isSpeculativeToolExecutionEnabled() {
+        return speculativeToolExecution;
+    }
+
     /** Returns the system prompt (alias for {@link #getSysPrompt()}). */
     public String getSystemPrompt() {
         return sysPrompt;
@@ -4504,6 +4779,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         private boolean taskListEnabled = false;
         private ToolExecutionContext toolExecutionContext;
         private boolean enablePendingToolRecovery = false;
+        private boolean speculativeToolExecution = false;
 
         // 2.0 core fields
         private PermissionContextState permissionContext;
@@ -4515,6 +4791,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         private AgentStateStore stateStore;
         private ConflictPolicy conflictPolicy;
         private String defaultSessionId;
+        private StateCacheConfig stateCacheConfig;
 
         // ==================== 1.x legacy compatibility fields ====================
         // Below fields back the deprecated `longTermMemory(...)`, `knowledge(...)`,
@@ -4766,6 +5043,27 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Enables or disables speculative tool execution during reasoning.
+         *
+         * <p>When enabled, a tool call is dispatched as soon as its argument JSON closes in the
+         * model stream, provided the tool extends {@link io.agentscope.core.tool.ToolBase} and is
+         * both concurrency-safe and read-only, and the session has no permission rules. The
+         * acting phase then joins the already-running result instead of starting the tool
+         * again. If the final tool call differs from the speculated one, or the round ends
+         * without acting, the speculative run is cancelled and its result discarded.
+         *
+         * <p>Streaming chunks emitted by a tool before the acting phase starts are not forwarded
+         * as events; the final result is.
+         *
+         * @param enable true to enable speculative execution, false to disable (default)
+         * @return This builder instance for method chaining
+         */
+        public Builder speculativeToolExecution(boolean enable) {
+            this.speculativeToolExecution = enable;
+            return this;
+        }
+
         /**
          * Sets the execution configuration for model API calls.
          *
@@ -4865,6 +5163,23 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Bounds the in-memory cache of per-session {@link AgentState}. By default every session
+         * an agent has served stays cached with its full context until {@code clearStateCache}
+         * is called; in a long-running multi-tenant process, set a session count, an estimated
+         * context-byte budget and/or an idle timeout instead. Sessions with a call in flight are
+         * never evicted, and evicted sessions are written back to the {@link #stateStore} (and
+         * lost when no store is configured). See {@link ReActAgent#getStateCacheStats()}.
+         *
+         * @param stateCacheConfig cache bounds; {@code null} for {@link
+         *     StateCacheConfig#unbounded()}
+         * @return This builder instance for method chaining
+         */
+        public Builder stateCache(StateCacheConfig stateCacheConfig) {
+            this.stateCacheConfig = stateCacheConfig;
+            return this;
+        }
+
         /**
          * Sets the builder-time fallback {@code sessionId} used to persist {@code agent_state}
          * when a call does not supply a {@code sessionId} on its {@link RuntimeContext}. Defaults
@@ -25,6 +25,8 @@ import io.agentscope.core.interruption.InterruptContext;
 import io.agentscope.core.interruption.InterruptSource;
 import io.agentscope.core.message.Msg;
 import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.metrics.AgentMetrics;
+import io.agentscope.core.metrics.AgentMetricsRegistry;
 import io.agentscope.core.shutdown.GracefulShutdownManager;
 import io.agentscope.core.state.AgentState;
 import io.agentscope.core.tracing.TracerRegistry;
@@ -319,7 +321,23 @@ public abstract class AgentBase implements Agent {
                                                 .onErrorResume(
                                                         createErrorHandler(
                                                                 msgs.toArray(new Msg[0]))));
-        return scope == null ? body : body.contextWrite(c -> c.put(CALL_SCOPE_KEY, scope));
+        if (scope == null) {
+            return body;
+        }
+        // Release before the result reaches the subscriber, so a caller that blocks on this call
+        // and starts the next one right away never sees this call's scope still held. doFinally
+        // only covers cancellation, which has no such signal.
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release =
+                () -> {
+                    if (released.compareAndSet(false, true)) {
+                        releaseCallScope(scope);
+                    }
+                };
+        return body.contextWrite(c -> c.put(CALL_SCOPE_KEY, scope))
+                .doOnSuccess(result -> release.run())
+                .doOnError(error -> release.run())
+                .doFinally(signal -> release.run());
     }
 
     /**
@@ -340,11 +358,24 @@ public abstract class AgentBase implements Agent {
      * Serializes {@code action} against other actions sharing {@code key}: this call waits for the
      * previously-enqueued call with the same key to terminate before running, then becomes the tail
      * the next same-key call waits on. Releases its slot on any terminal signal (complete, error, or
-     * cancel) so a failed/cancelled call never blocks the queue.
+     * cancel) so a failed/cancelled call never blocks the queue. The time spent waiting is reported
+     * to the registered {@link AgentMetrics}.
      */
     private <T> Mono<T> serializeOnKey(Object key, Mono<T> action) {
         return Mono.defer(
                 () -> {
+                    Mono<T> admitted = action;
+                    if (AgentMetricsRegistry.isEnabled()) {
+                        AgentMetrics metrics = AgentMetricsRegistry.get();
+                        long enqueued = System.nanoTime();
+                        admitted =
+                                Mono.defer(
+                                        () -> {
+                                            metrics.recordSerializationWait(
+                                                    getName(), System.nanoTime() - enqueued);
+                                            return action;
+                                        });
+                    }
                     Sinks.Empty<Void> release = Sinks.empty();
                     Mono<Void> releaseMono = release.asMono();
                     @SuppressWarnings("unchecked")
@@ -356,7 +387,7 @@ public abstract class AgentBase implements Agent {
                                 return releaseMono;
                             });
                     return prev[0].onErrorComplete()
-                            .then(action)
+                            .then(admitted)
                             .doFinally(
                                     sig -> {
                                         release.tryEmitEmpty();
@@ -595,6 +626,16 @@ public abstract class AgentBase implements Agent {
      */
     protected void afterAgentExecution() {}
 
+    /**
+     * Invoked once the call that {@link #beforeAgentExecution(List, RuntimeContext)} returned
+     * {@code callScope} for has terminated (complete, error or cancel). The default is a no-op;
+     * {@code ReActAgent} unpins the call's session in its state cache.
+     *
+     * @param callScope the per-call scope returned by {@code beforeAgentExecution} (may be
+     *     {@code null})
+     */
+    protected void releaseCallScope(Object callScope) {}
+
     /**
      * Pushes {@code ctx} to all {@link RuntimeContextAware} hooks registered for this agent. The
      * per-call {@link RuntimeContext} itself is no longer stored on a shared instance field; it
@@ -281,6 +281,17 @@ public class ReasoningContext {
         return toolCallsAcc.getAllAccumulatedToolCalls();
     }
 
+    /**
+     * Take the tool calls whose argument JSON has closed since the last invocation.
+     *
+     * @hidden
+     * @return newly completed tool calls, in stream order
+     * @see ToolCallsAccumulator#takeCompletedToolCalls()
+     */
+    public List<ToolUseBlock> takeCompletedToolCalls() {
+        return toolCallsAcc.takeCompletedToolCalls();
+    }
+
     /**
      * Get the accumulated ChatUsage.
      *
@@ -18,6 +18,7 @@ package io.agentscope.core.agent.accumulator;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.ToolUseBlock;
 import io.agentscope.core.util.JsonUtils;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -56,6 +57,9 @@ public class ToolCallsAccumulator implements ContentAccumulator<ToolUseBlock> {
         StringBuilder rawContent = new StringBuilder();
         Map<String, Object> metadata = new HashMap<>();
 
+        // Raw content length at which this call was last reported as complete, or -1
+        int completedLength = -1;
+
         void merge(ToolUseBlock block) {
             // Update ID if present
             if (this.toolId == null && block.getId() != null && !block.getId().isEmpty()) {
@@ -249,6 +253,47 @@ public class ToolCallsAccumulator implements ContentAccumulator<ToolUseBlock> {
         return builders.values().stream().map(ToolCallBuilder::build).collect(Collectors.toList());
     }
 
+    /**
+     * Take the tool calls whose raw argument JSON has closed since the last invocation.
+     *
+     * <p>A call is reported once its ID and name are known and its accumulated raw content forms
+     * a complete JSON object. If more content arrives afterwards and the call closes again, it is
+     * reported again with the revised arguments. Calls whose arguments arrive only as a parsed
+     * input map (no raw content) are never reported here.
+     *
+     * @hidden
+     * @return newly completed tool calls, in stream order
+     */
+    public List<ToolUseBlock> takeCompletedToolCalls() {
+        List<ToolUseBlock> completed = new ArrayList<>();
+        for (ToolCallBuilder builder : builders.values()) {
+            int length = builder.rawContent.length();
+            if (builder.toolId == null
+                    || builder.name == null
+                    || length == 0
+                    || length == builder.completedLength
+                    || !endsWithClosingBrace(builder.rawContent)) {
+                continue;
+            }
+            String raw = builder.rawContent.toString();
+            if (JsonUtils.isValidJsonObject(raw)) {
+                builder.completedLength = length;
+                completed.add(builder.build());
+            }
+        }
+        return completed;
+    }
+
+    private static boolean endsWithClosingBrace(CharSequence content) {
+        for (int i = content.length() - 1; i >= 0; i--) {
+            char c = content.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '}';
+            }
+        }
+        return false;
+    }
+
     /**
      * Get accumulated tool call by ID.
      *
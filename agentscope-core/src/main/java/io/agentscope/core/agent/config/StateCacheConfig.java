@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.agent.config;
+
+import java.time.Duration;
+
+/**
+ * Bounds on the per-session {@code AgentState} cache a {@code ReActAgent} keeps in memory.
+ * {@link #maxSessions()} caps the number of cached sessions, {@link #maxWeightBytes()} caps the
+ * sum of their estimated context sizes and {@link #idleTimeout()} (nullable) evicts sessions not
+ * used for that long. A limit of {@code 0} (or a {@code null} timeout) disables that bound.
+ *
+ * <p>Sessions with a call in flight are never evicted. An evicted session is written back to the
+ * agent's {@code AgentStateStore} when one is configured and reloaded from it on next use;
+ * without a store, eviction discards the session's state.
+ */
+public record StateCacheConfig(int maxSessions, long maxWeightBytes, Duration idleTimeout) {
+
+    public StateCacheConfig {
+        if (maxSessions < 0) {
+            throw new IllegalArgumentException("maxSessions must be >= 0: " + maxSessions);
+        }
+        if (maxWeightBytes < 0) {
+            throw new IllegalArgumentException("maxWeightBytes must be >= 0: " + maxWeightBytes);
+        }
+        if (idleTimeout != null && (idleTimeout.isZero() || idleTimeout.isNegative())) {
+            throw new IllegalArgumentException("idleTimeout must be > 0: " + idleTimeout);
+        }
+    }
+
+    /** Returns a config without any bound: sessions stay cached until explicitly cleared. */
+    public static StateCacheConfig unbounded() {
+        return new StateCacheConfig(0, 0L, null);
+    }
+
+    /** Whether any bound is set. */
+    public boolean isBounded() {
+        return maxSessions > 0 || maxWeightBytes > 0 || idleTimeout != null;
+    }
+}
@@ -16,7 +16,8 @@
 
 /**
  * Agent configuration value objects: {@link io.agentscope.core.agent.config.ModelConfig} for
- * retry / fallback wiring and {@link io.agentscope.core.agent.config.ReactConfig} for
- * reasoning-loop bounds.
+ * retry / fallback wiring, {@link io.agentscope.core.agent.config.ReactConfig} for
+ * reasoning-loop bounds and {@link io.agentscope.core.agent.config.StateCacheConfig} for the
+ * per-session state cache.
  */
 package io.agentscope.core.agent.config;
@@ -53,6 +53,7 @@ import org.slf4j.LoggerFactory;
  *   <li>Media content detection
  *   <li>Role label formatting
  *   <li>Shared ObjectMapper instance
+ *   <li>Per-message cache of encoded request JSON ({@link #encodedFragment(Msg, int)})
  * </ul>
  *
  * @param <TReq>    Provider-specific request message type
@@ -64,6 +65,9 @@ public abstract class AbstractBaseFormatter<TReq, TResp, TParams>
 
     private static final Logger log = LoggerFactory.getLogger(AbstractBaseFormatter.class);
 
+    private final FormattedMessageCache<EncodedFragment> fragmentCache =
+            new FormattedMessageCache<>();
+
     /**
      * Format AgentScope messages to provider-specific request format.
      *
@@ -77,6 +81,30 @@ public abstract class AbstractBaseFormatter<TReq, TResp, TParams>
 
     protected abstract List<TReq> doFormat(List<Msg> msgs);
 
+    /**
+     * Get the encoded JSON fragment for a provider message converted from {@code msg}.
+     *
+     * <p>Formatters whose request messages implement {@link EncodedMessage} attach the returned
+     * fragment to each converted message. Across turns, unchanged history messages resolve to the
+     * same fragment, so the request body only encodes messages that are new since the last call.
+     *
+     * @param msg The source message
+     * @param ordinal Index of the provider message among those produced from {@code msg}
+     * @return The fragment to attach; shared with earlier conversions of the same message
+     */
+    protected EncodedFragment encodedFragment(Msg msg, int ordinal) {
+        return fragmentCache.computeIfAbsent(msg, ordinal, EncodedFragment::new);
+    }
+
+    /**
+     * Get the cache backing {@link #encodedFragment(Msg, int)}, e.g. to read its hit rate.
+     *
+     * @return The encoded fragment cache of this formatter
+     */
+    public FormattedMessageCache<EncodedFragment> getEncodedFragmentCache() {
+        return fragmentCache;
+    }
+
     /**
      * Extract text content from a message, filtering out ThinkingBlock.
      *
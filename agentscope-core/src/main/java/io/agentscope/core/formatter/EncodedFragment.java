@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.formatter;
+
+/**
+ * Holder for the encoded JSON of one provider request message.
+ *
+ * <p>A fragment is obtained from {@link AbstractBaseFormatter#encodedFragment(io.agentscope.core.message.Msg, int)} and
+ * attached to the provider message converted from that {@link io.agentscope.core.message.Msg}.
+ * The first request that serializes the message fills the fragment; later requests splice the
+ * stored JSON into the body instead of encoding the message again.
+ *
+ * @see EncodedMessage
+ * @see EncodedMessageSerializer
+ */
+public final class EncodedFragment {
+
+    private volatile String json;
+
+    /**
+     * Gets the encoded JSON.
+     *
+     * @return the JSON, or null if the message has not been encoded yet
+     */
+    public String get() {
+        return json;
+    }
+
+    /**
+     * Stores the encoded JSON.
+     *
+     * @param json the JSON of the message
+     */
+    public void set(String json) {
+        this.json = json;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.formatter;
+
+/**
+ * Provider request message that can carry its previously encoded JSON.
+ *
+ * <p>Implementations must drop the attached fragment whenever they are modified, so that a
+ * fragment is only ever spliced for a message that is unchanged since conversion. Collections
+ * that hold such messages are serialized with {@link EncodedMessageSerializer}.
+ */
+public interface EncodedMessage {
+
+    /**
+     * Gets the fragment attached to this message.
+     *
+     * @return the fragment, or null if the message is not cacheable
+     */
+    EncodedFragment getEncodedFragment();
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.formatter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Jackson serializer for the elements of a request message list.
+ *
+ * <p>Messages implementing {@link EncodedMessage} with an attached {@link EncodedFragment} are
+ * written from the fragment as raw JSON; on first use the message is encoded once and the result
+ * stored in the fragment. All other values are serialized normally. Use it on the message list
+ * property of a provider request:
+ *
+ * <pre>{@code
+ * @JsonSerialize(contentUsing = EncodedMessageSerializer.class)
+ * private List<OpenAIMessage> messages;
+ * }</pre>
+ */
+public class EncodedMessageSerializer extends StdSerializer<Object> {
+
+    public EncodedMessageSerializer() {
+        super(Object.class);
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        EncodedFragment fragment =
+                value instanceof EncodedMessage message ? message.getEncodedFragment() : null;
+        ObjectCodec codec = gen.getCodec();
+        if (fragment == null || !(codec instanceof ObjectMapper mapper)) {
+            provider.defaultSerializeValue(value, gen);
+            return;
+        }
+        String json = fragment.get();
+        if (json == null) {
+            json = mapper.writeValueAsString(value);
+            fragment.set(json);
+        }
+        gen.writeRawValue(json);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.formatter;
+
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, thread-safe cache of per-message formatting results.
+ *
+ * <p>Entries are keyed by the message id, the identity of its content list and an ordinal that
+ * distinguishes several provider messages produced from one {@link Msg}. {@link Msg} content
+ * lists are immutable, so content identity is an exact and cheap change detector; role, name and
+ * metadata are snapshotted and compared on lookup so that a message rebuilt with
+ * {@link Msg#withMetadata(Map)} is not mistaken for the cached one.
+ *
+ * <p>The least recently used entry is evicted once {@code maxEntries} is reached. Hit, miss and
+ * eviction counts are kept for diagnostics.
+ *
+ * @param <V> the cached value type
+ */
+public class FormattedMessageCache<V> {
+
+    /** Default number of entries kept per cache. */
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry<V>> entries;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /** Creates a cache holding up to {@link #DEFAULT_MAX_ENTRIES} entries. */
+    public FormattedMessageCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a cache holding up to {@code maxEntries} entries.
+     *
+     * @param maxEntries maximum number of entries, must be positive
+     */
+    public FormattedMessageCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Key, Entry<V>> eldest) {
+                        if (size() > FormattedMessageCache.this.maxEntries) {
+                            evictionCount++;
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+    }
+
+    /**
+     * Returns the cached value for the given message and ordinal, computing and caching it on a
+     * miss. Messages without an id are never cached.
+     *
+     * @param msg the source message
+     * @param ordinal index of the provider message produced from {@code msg}
+     * @param loader computes the value on a miss; a null result is returned but not cached
+     * @return the cached or freshly computed value
+     */
+    public V computeIfAbsent(Msg msg, int ordinal, Supplier<? extends V> loader) {
+        V cached = get(msg, ordinal);
+        if (cached != null) {
+            return cached;
+        }
+        V value = loader.get();
+        if (value != null) {
+            put(msg, ordinal, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value for the given message and ordinal.
+     *
+     * @param msg the source message
+     * @param ordinal index of the provider message produced from {@code msg}
+     * @return the cached value, or null if absent or stale
+     */
+    public V get(Msg msg, int ordinal) {
+        if (msg.getId() == null) {
+            return null;
+        }
+        Key key = new Key(msg.getId(), msg.getContent(), ordinal);
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.matches(msg)) {
+                hitCount++;
+                return entry.value;
+            }
+            missCount++;
+            return null;
+        }
+    }
+
+    /**
+     * Caches a value for the given message and ordinal, replacing any previous value.
+     *
+     * @param msg the source message
+     * @param ordinal index of the provider message produced from {@code msg}
+     * @param value the value to cache
+     */
+    public void put(Msg msg, int ordinal, V value) {
+        if (msg.getId() == null) {
+            return;
+        }
+        Key key = new Key(msg.getId(), msg.getContent(), ordinal);
+        Entry<V> entry =
+                new Entry<>(value, msg.getRole(), msg.getName(), new HashMap<>(msg.getMetadata()));
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /** Removes all entries. Counters are kept. */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Gets the number of cached entries.
+     *
+     * @return the current size
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets the number of lookups that found a valid entry.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        synchronized (entries) {
+            return hitCount;
+        }
+    }
+
+    /**
+     * Gets the number of lookups that found no valid entry.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        synchronized (entries) {
+            return missCount;
+        }
+    }
+
+    /**
+     * Gets the number of entries evicted because the cache was full.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        synchronized (entries) {
+            return evictionCount;
+        }
+    }
+
+    /** Cache key; the content list is compared by identity. */
+    private record Key(String id, List<ContentBlock> content, int ordinal) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                    && content == other.content
+                    && ordinal == other.ordinal
+                    && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return (id.hashCode() * 31 + System.identityHashCode(content)) * 31 + ordinal;
+        }
+    }
+
+    private record Entry<V>(V value, MsgRole role, String name, Map<String, Object> metadata) {
+
+        boolean matches(Msg msg) {
+            return role == msg.getRole()
+                    && Objects.equals(name, msg.getName())
+                    && metadata.equals(msg.getMetadata());
+        }
+    }
+}
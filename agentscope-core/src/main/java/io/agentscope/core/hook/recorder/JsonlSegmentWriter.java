@@ -0,0 +1,444 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.hook.recorder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.agentscope.core.util.JsonUtils;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes JSONL lines to an active file that is rotated into numbered segments, with a run offset
+ * index beside each segment.
+ *
+ * <p>For an active file {@code trace.jsonl}, closed segments are named {@code trace.1.jsonl},
+ * {@code trace.2.jsonl} and so on, or {@code trace.1.jsonl.gz} once compressed. Every data file
+ * has an index {@code <data file without .gz>.idx} holding one JSON line when a run first appears
+ * in the segment ({@code run_id}, {@code agent_id}, {@code offset}) and one when it ends ({@code
+ * run_id}, {@code end}). Offsets are in bytes of the uncompressed data, so {@link #readRun} can
+ * seek straight to a run instead of parsing the whole trace.
+ *
+ * <p>Not thread-safe: the exporter drives it from its single writer thread.
+ */
+final class JsonlSegmentWriter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(JsonlSegmentWriter.class);
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final long COMPRESSION_TIMEOUT_SECONDS = 30L;
+
+    private final Path activeFile;
+    private final Path activeIndex;
+    private final String stem;
+    private final String extension;
+    private final long rotateBytes;
+    private final long rotateAgeNanos;
+    private final boolean compress;
+    private final int bufferSize;
+
+    /** Compresses closed segments off the writer thread; created on first rotation. */
+    private ExecutorService compressor;
+
+    private OutputStream out;
+    private OutputStream indexOut;
+    private long size;
+    private long openedAtNanos;
+    private long unflushedBytes;
+    private int lastSequence;
+
+    /** Runs with a start entry in the active segment's index that have not ended. */
+    private final Set<String> openRuns = new HashSet<>();
+
+    /**
+     * Opens the active file.
+     *
+     * @param activeFile the file being written
+     * @param append whether to keep the content of an existing active file
+     * @param rotateBytes the size at which the active file is rotated, or 0 for no limit
+     * @param rotateAgeNanos the age at which the active file is rotated, or 0 for no limit
+     * @param compress whether to gzip rotated segments
+     * @param bufferSize the write buffer size in bytes
+     * @throws IOException if the file cannot be opened
+     */
+    JsonlSegmentWriter(
+            Path activeFile,
+            boolean append,
+            long rotateBytes,
+            long rotateAgeNanos,
+            boolean compress,
+            int bufferSize)
+            throws IOException {
+        this.activeFile = activeFile.toAbsolutePath();
+        this.activeIndex = indexOf(this.activeFile);
+        String name = this.activeFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        this.stem = dot > 0 ? name.substring(0, dot) : name;
+        this.extension = dot > 0 ? name.substring(dot) : "";
+        this.rotateBytes = rotateBytes;
+        this.rotateAgeNanos = rotateAgeNanos;
+        this.compress = compress;
+        this.bufferSize = bufferSize;
+
+        Path parent = this.activeFile.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        TreeMap<Integer, Path> rotated = rotatedSegments(this.activeFile);
+        this.lastSequence = rotated.isEmpty() ? 0 : rotated.lastKey();
+        open(append);
+    }
+
+    /**
+     * Appends a line, rotating first if the line would push the active file past its size limit.
+     *
+     * @param line the JSON text, without line terminator
+     * @param runId the run the line belongs to, or null
+     * @param agentId the agent of the run
+     * @param endsRun whether this is the last line of the run
+     * @throws IOException if writing fails
+     */
+    void write(String line, String runId, String agentId, boolean endsRun) throws IOException {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        if (rotateBytes > 0 && size > 0 && size + bytes.length > rotateBytes) {
+            rotate();
+        }
+        long offset = size;
+        out.write(bytes);
+        size += bytes.length;
+        unflushedBytes += bytes.length;
+
+        if (runId != null) {
+            if (openRuns.add(runId)) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("run_id", runId);
+                entry.put("agent_id", agentId);
+                entry.put("offset", offset);
+                writeIndex(entry);
+            }
+            if (endsRun) {
+                openRuns.remove(runId);
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("run_id", runId);
+                entry.put("end", size);
+                writeIndex(entry);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of bytes written since the last flush.
+     *
+     * @return the unflushed byte count
+     */
+    long unflushedBytes() {
+        return unflushedBytes;
+    }
+
+    /**
+     * Writes buffered data and index entries to the files.
+     *
+     * @throws IOException if writing fails
+     */
+    void flush() throws IOException {
+        out.flush();
+        indexOut.flush();
+        unflushedBytes = 0;
+    }
+
+    /**
+     * Rotates the active file if it has reached its age limit.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @throws IOException if rotation fails
+     */
+    void rotateIfExpired(long nowNanos) throws IOException {
+        if (rotateAgeNanos > 0 && nowNanos - openedAtNanos >= rotateAgeNanos) {
+            if (size > 0) {
+                rotate();
+            } else {
+                openedAtNanos = nowNanos;
+            }
+        }
+    }
+
+    /**
+     * Gets the time until the active file reaches its age limit.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the remaining nanoseconds, or {@link Long#MAX_VALUE} without an age limit
+     */
+    long nanosUntilRotation(long nowNanos) {
+        if (rotateAgeNanos <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, openedAtNanos + rotateAgeNanos - nowNanos);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+            indexOut.close();
+            if (compressor != null) {
+                compressor.shutdown();
+                try {
+                    if (!compressor.awaitTermination(
+                            COMPRESSION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                        log.warn("Timed out compressing rotated JSONL trace segments");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void open(boolean append) throws IOException {
+        StandardOpenOption[] options =
+                append
+                        ? new StandardOpenOption[] {
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND
+                        }
+                        : new StandardOpenOption[] {
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.WRITE
+                        };
+        out = new BufferedOutputStream(Files.newOutputStream(activeFile, options), bufferSize);
+        indexOut = new BufferedOutputStream(Files.newOutputStream(activeIndex, options));
+        size = Files.size(activeFile);
+        openedAtNanos = System.nanoTime();
+        openRuns.clear();
+    }
+
+    private void rotate() throws IOException {
+        flush();
+        out.close();
+        indexOut.close();
+
+        int sequence = ++lastSequence;
+        Path segment = activeFile.resolveSibling(stem + "." + sequence + extension);
+        Files.move(activeFile, segment, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(activeIndex, indexOf(segment), StandardCopyOption.REPLACE_EXISTING);
+        if (compress) {
+            if (compressor == null) {
+                compressor =
+                        Executors.newSingleThreadExecutor(
+                                runnable -> {
+                                    Thread thread =
+                                            new Thread(
+                                                    runnable, "agentscope-jsonl-trace-compressor");
+                                    thread.setDaemon(true);
+                                    return thread;
+                                });
+            }
+            compressor.execute(() -> compress(segment));
+        }
+        open(false);
+    }
+
+    private void writeIndex(Map<String, Object> entry) throws IOException {
+        String json = JsonUtils.getJsonCodec().toJson(entry);
+        indexOut.write((json + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void compress(Path segment) {
+        Path compressed = segment.resolveSibling(segment.getFileName() + GZIP_SUFFIX);
+        Path partial = segment.resolveSibling(segment.getFileName() + GZIP_SUFFIX + ".tmp");
+        try {
+            try (InputStream in = Files.newInputStream(segment);
+                    OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(partial))) {
+                in.transferTo(gzip);
+            }
+            Files.move(partial, compressed, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(segment);
+        } catch (IOException e) {
+            // The uncompressed segment stays in place and readable
+            log.warn("Failed to compress JSONL trace segment {}", segment, e);
+        }
+    }
+
+    /**
+     * Reads the lines of one run from the segments of a trace, in write order, seeking to the run
+     * through the segment indexes.
+     *
+     * @param activeFile the active file the trace was written to
+     * @param runId the run id
+     * @return the JSON lines of the run, empty if it is not indexed
+     * @throws IOException if a segment cannot be read
+     */
+    static List<String> readRun(Path activeFile, String runId) throws IOException {
+        Path active = activeFile.toAbsolutePath();
+        List<Path> segments = new ArrayList<>(rotatedSegments(active).values());
+        segments.add(active);
+
+        List<String> lines = new ArrayList<>();
+        for (Path segment : segments) {
+            long[] range = findRun(indexOf(segment), runId);
+            if (range == null) {
+                continue;
+            }
+            try (InputStream in = openAt(segment, range[0])) {
+                if (in != null) {
+                    readRunLines(in, range[1] - range[0], runId, lines);
+                }
+            }
+            if (range[1] != Long.MAX_VALUE) {
+                break;
+            }
+        }
+        return lines;
+    }
+
+    /** Gets the start offset and end offset (or MAX_VALUE) of a run in a segment index. */
+    private static long[] findRun(Path index, String runId) throws IOException {
+        if (!Files.exists(index)) {
+            return null;
+        }
+        long start = -1;
+        long end = Long.MAX_VALUE;
+        try (BufferedReader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || !line.contains(runId)) {
+                    continue;
+                }
+                Map<String, Object> entry = parse(line);
+                if (entry == null || !runId.equals(entry.get("run_id"))) {
+                    continue;
+                }
+                if (entry.get("offset") instanceof Number offset && start < 0) {
+                    start = offset.longValue();
+                } else if (entry.get("end") instanceof Number offset) {
+                    end = offset.longValue();
+                }
+            }
+        }
+        return start < 0 ? null : new long[] {start, end};
+    }
+
+    private static InputStream openAt(Path segment, long offset) throws IOException {
+        if (Files.exists(segment)) {
+            FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ);
+            channel.position(offset);
+            return new BufferedInputStream(Channels.newInputStream(channel));
+        }
+        Path compressed = segment.resolveSibling(segment.getFileName() + GZIP_SUFFIX);
+        if (Files.exists(compressed)) {
+            InputStream in = new GZIPInputStream(Files.newInputStream(compressed));
+            in.skipNBytes(offset);
+            return new BufferedInputStream(in);
+        }
+        return null;
+    }
+
+    private static void readRunLines(InputStream in, long limit, String runId, List<String> lines)
+            throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long read = 0;
+        int b;
+        while (read < limit && (b = in.read()) >= 0) {
+            read++;
+            if (b != '\n') {
+                line.write(b);
+                continue;
+            }
+            String text = line.toString(StandardCharsets.UTF_8);
+            line.reset();
+            if (text.contains(runId)) {
+                Map<String, Object> record = parse(text);
+                if (record != null && runId.equals(record.get("run_id"))) {
+                    lines.add(text);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Object> parse(String line) {
+        try {
+            return JsonUtils.getJsonCodec()
+                    .fromJson(line, new TypeReference<Map<String, Object>>() {});
+        } catch (RuntimeException e) {
+            // A line torn by a crash
+            return null;
+        }
+    }
+
+    /** Gets the rotated segments of an active file by sequence, as uncompressed data paths. */
+    private static TreeMap<Integer, Path> rotatedSegments(Path activeFile) throws IOException {
+        TreeMap<Integer, Path> segments = new TreeMap<>();
+        Path directory = activeFile.getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return segments;
+        }
+        String name = activeFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        Pattern pattern =
+                Pattern.compile(
+                        Pattern.quote(stem + ".")
+                                + "(\\d{1,9})"
+                                + Pattern.quote(extension)
+                                + "(\\.gz)?");
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    int sequence = Integer.parseInt(matcher.group(1));
+                    segments.put(sequence, directory.resolve(stem + "." + sequence + extension));
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static Path indexOf(Path dataFile) {
+        return dataFile.resolveSibling(dataFile.getFileName() + INDEX_SUFFIX);
+    }
+}
@@ -32,37 +32,33 @@ import io.agentscope.core.hook.ReasoningChunkEvent;
 import io.agentscope.core.hook.ReasoningEvent;
 import io.agentscope.core.hook.SummaryChunkEvent;
 import io.agentscope.core.util.JsonUtils;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Method;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.OpenOption;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * A built-in, out-of-the-box JSONL trace exporter based on the Hook event system.
@@ -75,8 +71,17 @@ import reactor.core.publisher.Mono;
  * <ul>
  *   <li>This exporter is best-effort by default: serialization / IO errors do not break agent
  *       execution unless {@link Builder#failFast(boolean)} is enabled.</li>
- *   <li>This exporter performs blocking file IO on an internal single-threaded queue to keep file
- *       order, step IDs, and run IDs consistent.</li>
+ *   <li>This exporter performs blocking file IO on a single internal writer thread to keep file
+ *       order, step IDs, and run IDs consistent. Events wait for it in a bounded queue; when the
+ *       queue is full they either wait for space or are dropped, see {@link
+ *       Builder#overflowPolicy(OverflowPolicy)}.</li>
+ *   <li>Writes are group-committed: the writer drains every queued event before flushing once.
+ *       Without {@link Builder#flushEveryLine(boolean)} it flushes only when enough bytes or time
+ *       have accumulated, see {@link Builder#groupCommit(int, Duration)}.</li>
+ *   <li>The file can be rotated by size or age into numbered segments ({@code trace.jsonl} to
+ *       {@code trace.1.jsonl}, ...), optionally gzip-compressed. An offset index beside each
+ *       segment lets {@link #readRun(Path, String)} extract a single run without scanning the
+ *       trace.</li>
  * </ul>
  *
  * @deprecated since 2.0.0. The hook system is replaced by
@@ -88,44 +93,80 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(JsonlTraceExporter.class);
     private static final long CLOSE_TIMEOUT_SECONDS = 30L;
+    private static final int MAX_BATCH_SIZE = 1024;
     private static final OpenTelemetryAccess OPEN_TELEMETRY_ACCESS = OpenTelemetryAccess.create();
 
+    /** Queued by {@link #close()} behind the pending writes to stop the writer. */
+    private static final PendingWrite CLOSE = new PendingWrite(null, null, null);
+
     private final Path outputFile;
     private final boolean flushEveryLine;
     private final boolean failFast;
     private final int priority;
     private final Predicate<HookEvent> eventFilter;
+    private final OverflowPolicy overflowPolicy;
+    private final long groupCommitBytes;
+    private final long groupCommitNanos;
 
-    private final Object lock = new Object();
-    private final BufferedWriter writer;
-    private final ExecutorService exportExecutor;
+    private final JsonlSegmentWriter segments;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread writerThread;
     private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private volatile boolean writerDone;
+    private volatile IOException closeFailure;
 
     // WeakHashMap keeps per-agent run state from accumulating indefinitely after agent instances
     // become unreachable. Concurrency safety does not rely on WeakHashMap itself: all access to
-    // this map is serialized through the exporter’s single-threaded queue.
+    // this map is confined to the exporter’s writer thread.
     private final Map<String, RunState> runStates = new WeakHashMap<>();
 
-    private JsonlTraceExporter(
-            Path outputFile,
-            boolean append,
-            boolean flushEveryLine,
-            boolean failFast,
-            int priority,
-            Predicate<HookEvent> eventFilter) {
-        this.outputFile = Objects.requireNonNull(outputFile, "outputFile cannot be null");
-        this.flushEveryLine = flushEveryLine;
-        this.failFast = failFast;
-        this.priority = priority;
+    private JsonlTraceExporter(Builder builder, Predicate<HookEvent> eventFilter) {
+        this.outputFile = builder.outputFile;
+        this.flushEveryLine = builder.flushEveryLine;
+        this.failFast = builder.failFast;
+        this.priority = builder.priority;
         this.eventFilter = Objects.requireNonNull(eventFilter, "eventFilter cannot be null");
-        this.writer = openWriter(outputFile, append);
-        this.exportExecutor = createExportExecutor();
+        this.overflowPolicy = builder.overflowPolicy;
+        this.groupCommitBytes = builder.groupCommitBytes;
+        this.groupCommitNanos = builder.groupCommitInterval.toNanos();
+        this.segments = openSegments(builder);
+        this.queue = new ArrayBlockingQueue<>(builder.queueCapacity);
+        this.writerThread = new Thread(this::runWriter, "agentscope-jsonl-trace-exporter");
+        writerThread.setDaemon(true);
+        writerThread.start();
     }
 
     public static Builder builder(Path outputFile) {
         return new Builder(outputFile);
     }
 
+    /**
+     * Reads the records of a single run, one agent call, from a trace written by this exporter,
+     * including its rotated and compressed segments. The offset index beside each segment is used
+     * to seek to the run, so the records of other runs are skipped rather than parsed.
+     *
+     * @param outputFile the output file the exporter was built with
+     * @param runId the {@code run_id} of the records
+     * @return the JSONL lines of the run in write order, empty if the run is not indexed
+     * @throws IOException if the trace cannot be read
+     */
+    public static List<String> readRun(Path outputFile, String runId) throws IOException {
+        Objects.requireNonNull(outputFile, "outputFile cannot be null");
+        Objects.requireNonNull(runId, "runId cannot be null");
+        return JsonlSegmentWriter.readRun(outputFile, runId);
+    }
+
+    /**
+     * Gets the number of events dropped because the queue was full, with {@link
+     * OverflowPolicy#DROP}.
+     *
+     * @return the dropped event count
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
     @Override
     public int priority() {
         return priority;
@@ -154,26 +195,144 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
 
     private <T extends HookEvent> Mono<T> enqueueWrite(T event, OpenTelemetryIds openTelemetryIds) {
         if (closed.get()) {
-            return Mono.error(
-                    new RejectedExecutionException(
-                            "JSONL exporter is closed: " + outputFile.toAbsolutePath()));
+            return Mono.error(closedError());
+        }
+
+        PendingWrite write = new PendingWrite(event, openTelemetryIds, new CompletableFuture<>());
+        Mono<T> written = Mono.fromFuture(write.future).thenReturn(event);
+        if (queue.offer(write)) {
+            failPendingIfWriterDone();
+            return written;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            if (droppedEvents.getAndIncrement() == 0) {
+                log.warn(
+                        "JSONL exporter queue is full, dropping events: {}",
+                        outputFile.toAbsolutePath());
+            }
+            return Mono.just(event);
         }
+        // Wait for space off the caller's thread, which may be a non-blocking one
+        return Mono.fromRunnable(() -> putBlocking(write))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(written);
+    }
 
-        CompletableFuture<T> future = new CompletableFuture<>();
+    private void putBlocking(PendingWrite write) {
         try {
-            exportExecutor.execute(
-                    () -> {
-                        try {
-                            writeEvent(event, openTelemetryIds);
-                            future.complete(event);
-                        } catch (Throwable error) {
-                            future.completeExceptionally(error);
-                        }
-                    });
-        } catch (RejectedExecutionException error) {
-            future.completeExceptionally(error);
-        }
-        return Mono.fromFuture(future);
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for JSONL exporter", e);
+        }
+        failPendingIfWriterDone();
+    }
+
+    /**
+     * Writes queued events in batches until {@link #CLOSE} is taken, flushing once per batch or
+     * once per group commit.
+     */
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>();
+        List<CompletableFuture<Void>> written = new ArrayList<>();
+        long unflushedSince = System.nanoTime();
+        boolean stopping = false;
+        try {
+            while (!stopping) {
+                PendingWrite first =
+                        queue.poll(nanosUntilDue(unflushedSince), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                }
+
+                long batchStart = System.nanoTime();
+                boolean wasFlushed = segments.unflushedBytes() == 0;
+                for (PendingWrite write : batch) {
+                    if (write == CLOSE) {
+                        stopping = true;
+                        continue;
+                    }
+                    try {
+                        writeEvent(write.event, write.openTelemetryIds);
+                        written.add(write.future);
+                    } catch (Throwable error) {
+                        write.future.completeExceptionally(error);
+                    }
+                }
+                batch.clear();
+                if (wasFlushed) {
+                    unflushedSince = batchStart;
+                }
+
+                commit(written, unflushedSince, stopping);
+                written.clear();
+            }
+        } catch (InterruptedException e) {
+            // close() timed out waiting for the queue to drain
+        } finally {
+            writerDone = true;
+            runStates.clear();
+            try {
+                segments.close();
+            } catch (IOException e) {
+                closeFailure = e;
+            }
+            failPendingIfWriterDone();
+        }
+    }
+
+    private void commit(List<CompletableFuture<Void>> written, long unflushedSince, boolean last) {
+        long now = System.nanoTime();
+        long unflushed = segments.unflushedBytes();
+        try {
+            if (unflushed > 0
+                    && (flushEveryLine
+                            || last
+                            || unflushed >= groupCommitBytes
+                            || now - unflushedSince >= groupCommitNanos)) {
+                segments.flush();
+            }
+            written.forEach(future -> future.complete(null));
+        } catch (IOException error) {
+            written.forEach(future -> future.completeExceptionally(error));
+        }
+        try {
+            segments.rotateIfExpired(now);
+        } catch (IOException error) {
+            log.warn("Failed to rotate JSONL output file: {}", outputFile.toAbsolutePath(), error);
+        }
+    }
+
+    /** Gets how long the writer may wait for events before a flush or rotation is due. */
+    private long nanosUntilDue(long unflushedSince) {
+        long now = System.nanoTime();
+        long timeout = segments.nanosUntilRotation(now);
+        if (segments.unflushedBytes() > 0) {
+            timeout = Math.min(timeout, Math.max(0, unflushedSince + groupCommitNanos - now));
+        }
+        return timeout;
+    }
+
+    /**
+     * Fails writes queued after the writer stopped. The writer sets {@link #writerDone} before
+     * draining, so a write queued concurrently is drained either by the writer or by its producer.
+     */
+    private void failPendingIfWriterDone() {
+        if (!writerDone) {
+            return;
+        }
+        PendingWrite write;
+        while ((write = queue.poll()) != null) {
+            if (write != CLOSE) {
+                write.future.completeExceptionally(closedError());
+            }
+        }
+    }
+
+    private RejectedExecutionException closedError() {
+        return new RejectedExecutionException(
+                "JSONL exporter is closed: " + outputFile.toAbsolutePath());
     }
 
     private void writeEvent(HookEvent event, OpenTelemetryIds openTelemetryIds) throws IOException {
@@ -242,13 +401,11 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
         }
 
         String line = JsonUtils.getJsonCodec().toJson(record);
-        synchronized (lock) {
-            writer.write(line);
-            writer.newLine();
-            if (flushEveryLine) {
-                writer.flush();
-            }
-        }
+        segments.write(
+                line,
+                runState.currentRunId,
+                event.getAgent().getAgentId(),
+                event.getType() == HookEventType.POST_CALL);
     }
 
     private RunState getOrUpdateRunState(HookEvent event) {
@@ -264,27 +421,18 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
         return state;
     }
 
-    private static BufferedWriter openWriter(Path outputFile, boolean append) {
+    private static JsonlSegmentWriter openSegments(Builder builder) {
         try {
-            Path parent = outputFile.toAbsolutePath().getParent();
-            if (parent != null) {
-                Files.createDirectories(parent);
-            }
-
-            OpenOption[] options =
-                    append
-                            ? new OpenOption[] {
-                                StandardOpenOption.CREATE, StandardOpenOption.APPEND
-                            }
-                            : new OpenOption[] {
-                                StandardOpenOption.CREATE,
-                                StandardOpenOption.TRUNCATE_EXISTING,
-                                StandardOpenOption.WRITE
-                            };
-            return Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8, options);
+            return new JsonlSegmentWriter(
+                    builder.outputFile,
+                    builder.append,
+                    builder.rotateBytes,
+                    builder.rotateInterval == null ? 0 : builder.rotateInterval.toNanos(),
+                    builder.compressSegments,
+                    Math.max(8192, builder.groupCommitBytes));
         } catch (IOException e) {
             throw new IllegalStateException(
-                    "Failed to open JSONL output file: " + outputFile.toAbsolutePath(), e);
+                    "Failed to open JSONL output file: " + builder.outputFile.toAbsolutePath(), e);
         }
     }
 
@@ -305,44 +453,51 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
             return;
         }
 
-        boolean drained = false;
         try {
-            Future<?> barrier = exportExecutor.submit(() -> {});
-            barrier.get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-            drained = true;
+            if (!queue.offer(CLOSE, CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IOException(
+                        "Timed out while waiting for JSONL exporter to finish pending writes");
+            }
+            writerThread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+            if (writerThread.isAlive()) {
+                throw new IOException(
+                        "Timed out while waiting for JSONL exporter to finish pending writes");
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IOException(
                     "Interrupted while waiting for JSONL exporter to finish pending writes", e);
-        } catch (TimeoutException e) {
-            throw new IOException(
-                    "Timed out while waiting for JSONL exporter to finish pending writes", e);
-        } catch (ExecutionException e) {
-            throw new IOException(
-                    "Failed while waiting for JSONL exporter to finish pending writes",
-                    e.getCause());
         } finally {
-            if (drained) {
-                exportExecutor.shutdown();
-            } else {
-                exportExecutor.shutdownNow();
-            }
-            runStates.clear();
-            synchronized (lock) {
-                writer.flush();
-                writer.close();
+            if (writerThread.isAlive()) {
+                writerThread.interrupt();
             }
         }
+        if (closeFailure != null) {
+            throw closeFailure;
+        }
+    }
+
+    /** What {@link #onEvent} does with an event when the queue of pending writes is full. */
+    public enum OverflowPolicy {
+        /** Waits for space on a bounded elastic thread, slowing the agent down to disk speed. */
+        BLOCK,
+        /** Drops the event, counted by {@link #getDroppedEventCount()}. */
+        DROP
     }
 
-    private static ExecutorService createExportExecutor() {
-        ThreadFactory threadFactory =
-                runnable -> {
-                    Thread thread = new Thread(runnable, "agentscope-jsonl-trace-exporter");
-                    thread.setDaemon(true);
-                    return thread;
-                };
-        return Executors.newSingleThreadExecutor(threadFactory);
+    private static final class PendingWrite {
+        private final HookEvent event;
+        private final OpenTelemetryIds openTelemetryIds;
+        private final CompletableFuture<Void> future;
+
+        private PendingWrite(
+                HookEvent event,
+                OpenTelemetryIds openTelemetryIds,
+                CompletableFuture<Void> future) {
+            this.event = event;
+            this.openTelemetryIds = openTelemetryIds;
+            this.future = future;
+        }
     }
 
     private static final class RunState {
@@ -456,6 +611,14 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
                         HookEventType.POST_ACTING,
                         HookEventType.ERROR);
 
+        private int queueCapacity = 8192;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private int groupCommitBytes = 64 * 1024;
+        private Duration groupCommitInterval = Duration.ofSeconds(1);
+        private long rotateBytes = 0;
+        private Duration rotateInterval;
+        private boolean compressSegments = false;
+
         private boolean includeReasoningChunks = false;
         private boolean includeActingChunks = false;
         private boolean includeSummary = false;
@@ -471,7 +634,10 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
             return this;
         }
 
-        /** Flushes after each JSONL line (default: true). */
+        /**
+         * Flushes before acknowledging each write (default: true). Lines drained from the queue
+         * together share one flush.
+         */
         public Builder flushEveryLine(boolean flushEveryLine) {
             this.flushEveryLine = flushEveryLine;
             return this;
@@ -485,6 +651,64 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
             return this;
         }
 
+        /** Capacity of the queue of events waiting to be written (default: 8192). */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("queueCapacity must be positive");
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /** What to do with an event when the queue is full (default: BLOCK). */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy =
+                    Objects.requireNonNull(overflowPolicy, "overflowPolicy cannot be null");
+            return this;
+        }
+
+        /**
+         * When not flushing every line, flushes once this many bytes have been written or the
+         * oldest unflushed line is this old (default: 64 KiB, 1 second).
+         */
+        public Builder groupCommit(int maxBytes, Duration maxDelay) {
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("maxBytes must be positive");
+            }
+            Objects.requireNonNull(maxDelay, "maxDelay cannot be null");
+            if (maxDelay.isNegative() || maxDelay.isZero()) {
+                throw new IllegalArgumentException("maxDelay must be positive");
+            }
+            this.groupCommitBytes = maxBytes;
+            this.groupCommitInterval = maxDelay;
+            return this;
+        }
+
+        /** Rotates the file into a new segment before it exceeds this size (default: 0, never). */
+        public Builder rotateBytes(long rotateBytes) {
+            if (rotateBytes < 0) {
+                throw new IllegalArgumentException("rotateBytes cannot be negative");
+            }
+            this.rotateBytes = rotateBytes;
+            return this;
+        }
+
+        /** Rotates the file into a new segment once it is this old (default: null, never). */
+        public Builder rotateInterval(Duration rotateInterval) {
+            if (rotateInterval != null
+                    && (rotateInterval.isNegative() || rotateInterval.isZero())) {
+                throw new IllegalArgumentException("rotateInterval must be positive");
+            }
+            this.rotateInterval = rotateInterval;
+            return this;
+        }
+
+        /** Gzip-compresses rotated segments in the background (default: false). */
+        public Builder compressSegments(boolean compressSegments) {
+            this.compressSegments = compressSegments;
+            return this;
+        }
+
         /** Hook priority (default: 900, low priority for logging/export). */
         public Builder priority(int priority) {
             this.priority = priority;
@@ -541,8 +765,7 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
             }
 
             Predicate<HookEvent> filter = e -> e != null && types.contains(e.getType());
-            return new JsonlTraceExporter(
-                    outputFile, append, flushEveryLine, failFast, priority, filter);
+            return new JsonlTraceExporter(this, filter);
         }
     }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.metrics;
+
+/**
+ * Receives measurements from the agent, model and tool hot paths.
+ *
+ * <p>The framework calls these methods on the thread that completes the measured operation, with
+ * plain values only: durations in nanoseconds and the names identifying the series. No event
+ * object is allocated per call, so an implementation that caches its instruments by name records
+ * without allocating. Implementations must be thread-safe and should return quickly; they must not
+ * throw.
+ *
+ * <p>Every method has an empty default, so an implementation only overrides the measurements it
+ * exports. Register an implementation with {@link AgentMetricsRegistry#register}; until then
+ * {@link NoopAgentMetrics} discards everything and the model, tool and call serialization paths
+ * skip timing altogether.
+ */
+public interface AgentMetrics {
+
+    /**
+     * Records a finished model call, including the time spent in retries.
+     *
+     * @param provider the model provider, e.g. "openai" or "dashscope"
+     * @param model the model name
+     * @param durationNanos time from the request to the last response chunk
+     * @param timeToFirstTokenNanos time from the request to the first response chunk, or -1 if
+     *     no chunk was received
+     * @param outputTokens output tokens reported by the provider, or 0 if not reported
+     * @param success false if the call ended with an error
+     */
+    default void recordModelCall(
+            String provider,
+            String model,
+            long durationNanos,
+            long timeToFirstTokenNanos,
+            int outputTokens,
+            boolean success) {}
+
+    /**
+     * Records a retry of a failed model request.
+     *
+     * @param provider the model provider
+     * @param model the model name
+     */
+    default void recordModelRetry(String provider, String model) {}
+
+    /**
+     * Records a finished tool call, including scheduling, timeout and retries.
+     *
+     * @param tool the tool name
+     * @param durationNanos time from the call to its result
+     * @param success false if the tool returned or was converted to an error result
+     */
+    default void recordToolCall(String tool, long durationNanos, boolean success) {}
+
+    /**
+     * Records a save of agent state to an {@link io.agentscope.core.state.AgentStateStore}.
+     *
+     * @param store the simple class name of the store
+     * @param durationNanos time spent saving, including conflict resolution
+     * @param success false if the save failed
+     */
+    default void recordStateSave(String store, long durationNanos, boolean success) {}
+
+    /**
+     * Records an optimistic concurrency conflict when saving agent state.
+     *
+     * @param agent the agent name
+     */
+    default void recordStateConflict(String agent) {}
+
+    /**
+     * Records the time a call waited for earlier calls of the same session to finish before it
+     * could run.
+     *
+     * @param agent the agent name
+     * @param waitNanos time spent waiting, 0 if the session was idle
+     */
+    default void recordSerializationWait(String agent, long waitNanos) {}
+}
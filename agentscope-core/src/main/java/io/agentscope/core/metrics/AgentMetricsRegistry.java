@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.metrics;
+
+/**
+ * Registry for the global {@link AgentMetrics} instance.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * AgentMetricsRegistry.register(new MicrometerAgentMetrics(meterRegistry));
+ * }</pre>
+ *
+ * <p>Operations already running keep reporting to the instance that was registered when they
+ * started.
+ */
+public final class AgentMetricsRegistry {
+
+    private static volatile AgentMetrics metrics = NoopAgentMetrics.INSTANCE;
+
+    private AgentMetricsRegistry() {}
+
+    /**
+     * Registers the metrics implementation receiving all measurements.
+     *
+     * @param agentMetrics the implementation
+     * @throws IllegalArgumentException if the implementation is null
+     */
+    public static void register(AgentMetrics agentMetrics) {
+        if (agentMetrics == null) {
+            throw new IllegalArgumentException("Agent metrics cannot be null");
+        }
+        metrics = agentMetrics;
+    }
+
+    /**
+     * Gets the registered metrics implementation.
+     *
+     * @return the registered implementation, or {@link NoopAgentMetrics#INSTANCE}
+     */
+    public static AgentMetrics get() {
+        return metrics;
+    }
+
+    /**
+     * Checks whether an implementation other than the no-op one is registered. Hot paths check
+     * this before taking any measurement.
+     *
+     * @return true if measurements are recorded
+     */
+    public static boolean isEnabled() {
+        return metrics != NoopAgentMetrics.INSTANCE;
+    }
+
+    /** Restores the no-op implementation. */
+    public static void reset() {
+        metrics = NoopAgentMetrics.INSTANCE;
+    }
+}
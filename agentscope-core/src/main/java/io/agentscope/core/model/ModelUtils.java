@@ -15,11 +15,14 @@
  */
 package io.agentscope.core.model;
 
+import io.agentscope.core.metrics.AgentMetrics;
+import io.agentscope.core.metrics.AgentMetricsRegistry;
 import java.time.Duration;
 import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
 import reactor.util.retry.Retry;
 
 /**
@@ -59,6 +62,9 @@ public final class ModelUtils {
      *   <li>Each retry is logged with attempt number and failure reason
      * </ul>
      *
+     * <p>When an {@link AgentMetrics} implementation is registered, the call's latency, time to
+     * first chunk, output tokens and retries are reported to it.
+     *
      * @param responseFlux the original response Flux to enhance
      * @param options generation options containing timeout and retry config (may be null)
      * @param defaultOptions default options to use if options is null
@@ -117,14 +123,17 @@ public final class ModelUtils {
                                 .jitter(0.5)
                                 .filter(retryOn)
                                 .doBeforeRetry(
-                                        signal ->
-                                                LOG.warn(
-                                                        "Retrying model request (attempt {}/{}) due"
-                                                                + " to: {}",
-                                                        signal.totalRetriesInARow() + 1,
-                                                        maxAttempts - 1,
-                                                        signal.failure().getMessage(),
-                                                        signal.failure()));
+                                        signal -> {
+                                            LOG.warn(
+                                                    "Retrying model request (attempt {}/{}) due"
+                                                            + " to: {}",
+                                                    signal.totalRetriesInARow() + 1,
+                                                    maxAttempts - 1,
+                                                    signal.failure().getMessage(),
+                                                    signal.failure());
+                                            AgentMetricsRegistry.get()
+                                                    .recordModelRetry(provider, modelName);
+                                        });
 
                 responseFlux = responseFlux.retryWhen(retrySpec);
                 LOG.debug(
@@ -135,7 +144,60 @@ public final class ModelUtils {
             }
         }
 
-        return responseFlux;
+        return recordMetrics(responseFlux, modelName, provider);
+    }
+
+    private static Flux<ChatResponse> recordMetrics(
+            Flux<ChatResponse> responseFlux, String modelName, String provider) {
+        if (!AgentMetricsRegistry.isEnabled()) {
+            return responseFlux;
+        }
+        AgentMetrics metrics = AgentMetricsRegistry.get();
+        return Flux.defer(
+                () -> {
+                    ModelCallMeasurement measurement =
+                            new ModelCallMeasurement(metrics, provider, modelName);
+                    return responseFlux
+                            .doOnNext(measurement::onChunk)
+                            .doFinally(measurement::onFinally);
+                });
+    }
+
+    /** Timing of one model call, from subscription to its terminal signal. */
+    private static final class ModelCallMeasurement {
+        private final AgentMetrics metrics;
+        private final String provider;
+        private final String modelName;
+        private final long start = System.nanoTime();
+        private long firstChunk = -1;
+        private int outputTokens;
+
+        ModelCallMeasurement(AgentMetrics metrics, String provider, String modelName) {
+            this.metrics = metrics;
+            this.provider = provider;
+            this.modelName = modelName;
+        }
+
+        void onChunk(ChatResponse chunk) {
+            if (firstChunk < 0) {
+                firstChunk = System.nanoTime() - start;
+            }
+            ChatUsage usage = chunk.getUsage();
+            // Providers report cumulative usage while streaming
+            if (usage != null && usage.getOutputTokens() > outputTokens) {
+                outputTokens = usage.getOutputTokens();
+            }
+        }
+
+        void onFinally(SignalType signal) {
+            metrics.recordModelCall(
+                    provider,
+                    modelName,
+                    System.nanoTime() - start,
+                    firstChunk,
+                    outputTokens,
+                    signal != SignalType.ON_ERROR);
+        }
     }
 
     /**
@@ -15,6 +15,8 @@
  */
 package io.agentscope.core.model.transport;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import reactor.core.publisher.Flux;
 
 /**
@@ -53,6 +55,42 @@ public interface HttpTransport {
      */
     Flux<String> stream(HttpRequest request);
 
+    /**
+     * Execute a streaming HTTP request and parse each SSE data frame or NDJSON record directly.
+     *
+     * <p>Implementations that read the body as bytes hand each payload to the parser as a byte
+     * range, without building intermediate strings. The SSE {@code [DONE]} marker completes the
+     * stream and is never passed to the parser; frames for which the parser returns null are
+     * skipped.
+     *
+     * <p>The default implementation adapts {@link #stream(HttpRequest)} by encoding each string
+     * payload as UTF-8, so custom transports keep working unchanged.
+     *
+     * @param request the HTTP request to execute
+     * @param parser the parser applied to each frame payload
+     * @param <T> the frame value type
+     * @return a Flux emitting parsed frames
+     */
+    default <T> Flux<T> streamFrames(HttpRequest request, StreamFrameParser<T> parser) {
+        return stream(request)
+                .takeWhile(data -> !"[DONE]".equals(data))
+                .handle(
+                        (data, sink) -> {
+                            byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+                            try {
+                                T value = parser.parse(bytes, 0, bytes.length);
+                                if (value != null) {
+                                    sink.next(value);
+                                }
+                            } catch (IOException e) {
+                                sink.error(
+                                        new HttpTransportException(
+                                                "Failed to parse stream frame: " + e.getMessage(),
+                                                e));
+                            }
+                        });
+    }
+
     /**
      * Close the transport and release any resources.
      *
@@ -53,6 +53,7 @@ public class HttpTransportConfig {
     private final boolean ignoreSsl;
     private final ProxyConfig proxyConfig;
     private final HttpVersion httpVersion;
+    private final StreamingMode streamingMode;
 
     private HttpTransportConfig(Builder builder) {
         this.connectTimeout = builder.connectTimeout;
@@ -65,6 +66,7 @@ public class HttpTransportConfig {
         this.ignoreSsl = builder.ignoreSsl;
         this.proxyConfig = builder.proxyConfig;
         this.httpVersion = builder.httpVersion;
+        this.streamingMode = builder.streamingMode;
     }
 
     /**
@@ -174,6 +176,15 @@ public class HttpTransportConfig {
         return httpVersion;
     }
 
+    /**
+     * Get the streaming mode used to read SSE/NDJSON response bodies.
+     *
+     * @return the streaming mode
+     */
+    public StreamingMode getStreamingMode() {
+        return streamingMode;
+    }
+
     /**
      * Create a new builder for HttpTransportConfig.
      *
@@ -206,6 +217,7 @@ public class HttpTransportConfig {
         private boolean ignoreSsl = false;
         private ProxyConfig proxyConfig = null;
         private HttpVersion httpVersion = HttpVersion.HTTP_2;
+        private StreamingMode streamingMode = StreamingMode.BLOCKING;
 
         /**
          * Set the connect timeout.
@@ -336,6 +348,20 @@ public class HttpTransportConfig {
             return this;
         }
 
+        /**
+         * Set the streaming mode used to read SSE/NDJSON response bodies.
+         *
+         * <p>{@link StreamingMode#NON_BLOCKING} avoids pinning a worker thread per in-flight
+         * stream and is recommended for processes serving many concurrent model streams.
+         *
+         * @param streamingMode the streaming mode
+         * @return this builder
+         */
+        public Builder streamingMode(StreamingMode streamingMode) {
+            this.streamingMode = streamingMode;
+            return this;
+        }
+
         /**
          * Build the HttpTransportConfig.
          *
@@ -16,6 +16,7 @@
 package io.agentscope.core.model.transport;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -29,6 +30,7 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Redirect;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
@@ -40,14 +42,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.adapter.JdkFlowAdapter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -66,6 +75,10 @@ import reactor.core.scheduler.Schedulers;
  * </ul>
  *
  * <p>This implementation has no external dependencies beyond the JDK.
+ *
+ * <p>With {@link StreamingMode#NON_BLOCKING}, streaming bodies are consumed through
+ * {@code BodyHandlers.ofPublisher()} and decoded incrementally, so an in-flight stream holds no
+ * thread while waiting for the next chunk.
  */
 public class JdkHttpTransport implements HttpTransport {
 
@@ -75,6 +88,7 @@ public class JdkHttpTransport implements HttpTransport {
 
     private final HttpClient client;
     private final HttpTransportConfig config;
+    private final ExecutorService streamingExecutor;
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
     /**
@@ -92,7 +106,11 @@ public class JdkHttpTransport implements HttpTransport {
      */
     JdkHttpTransport(HttpTransportConfig config) {
         this.config = Objects.requireNonNull(config, "config must not be null");
-        this.client = buildClient(config);
+        this.streamingExecutor =
+                config.getStreamingMode() == StreamingMode.NON_BLOCKING
+                        ? createStreamingExecutor()
+                        : null;
+        this.client = buildClient(config, streamingExecutor);
     }
 
     /**
@@ -108,15 +126,20 @@ public class JdkHttpTransport implements HttpTransport {
     public JdkHttpTransport(HttpClient client, HttpTransportConfig config) {
         this.client = Objects.requireNonNull(client, "client must not be null");
         this.config = Objects.requireNonNull(config, "config must not be null");
+        this.streamingExecutor = null;
     }
 
-    private static HttpClient buildClient(HttpTransportConfig config) {
+    private static HttpClient buildClient(HttpTransportConfig config, Executor executor) {
         HttpClient.Builder builder =
                 HttpClient.newBuilder()
                         .version(config.getHttpVersion().toJdkHttpVersion())
                         .followRedirects(Redirect.NORMAL)
                         .connectTimeout(config.getConnectTimeout());
 
+        if (executor != null) {
+            builder.executor(executor);
+        }
+
         if (config.isIgnoreSsl()) {
             try {
                 SSLContext sslContext = SSLContext.getInstance("TLS");
@@ -191,12 +214,48 @@ public class JdkHttpTransport implements HttpTransport {
 
     @Override
     public Flux<String> stream(HttpRequest request) {
+        if (config.getStreamingMode() == StreamingMode.NON_BLOCKING) {
+            return streamFrames(request, StreamFrameParser.utf8());
+        }
+        if (closed.get()) {
+            return Flux.error(new HttpTransportException("Transport has been closed"));
+        }
+
+        var jdkRequest = buildJdkRequest(request, true);
+        return streamBlocking(
+                jdkRequest, request, inputStream -> processStreamResponse(inputStream, request));
+    }
+
+    @Override
+    public <T> Flux<T> streamFrames(HttpRequest request, StreamFrameParser<T> parser) {
         if (closed.get()) {
             return Flux.error(new HttpTransportException("Transport has been closed"));
         }
 
         var jdkRequest = buildJdkRequest(request, true);
 
+        if (config.getStreamingMode() == StreamingMode.NON_BLOCKING) {
+            return streamNonBlocking(jdkRequest, request, parser);
+        }
+
+        return streamBlocking(
+                jdkRequest,
+                request,
+                inputStream ->
+                        inputStream == null
+                                ? Flux.empty()
+                                : new StreamFrameDecoder<T>(isNdjson(request), parser)
+                                        .readFrom(inputStream)
+                                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * Stream the response body through a blocking {@link InputStream} reader.
+     */
+    private <T> Flux<T> streamBlocking(
+            java.net.http.HttpRequest jdkRequest,
+            HttpRequest request,
+            Function<InputStream, Flux<T>> bodyReader) {
         return Flux.defer(
                 () -> {
                     AtomicReference<InputStream> responseBody = new AtomicReference<>();
@@ -209,12 +268,102 @@ public class JdkHttpTransport implements HttpTransport {
                                                     response,
                                                     request,
                                                     responseBody,
-                                                    requestStartNanos))
+                                                    requestStartNanos,
+                                                    bodyReader))
                             .doFinally(signal -> closeQuietly(responseBody.getAndSet(null)))
                             .onErrorMap(this::mapStreamError);
                 });
     }
 
+    /**
+     * Stream the response body through {@code BodyHandlers.ofPublisher()} so that no thread is
+     * held between chunks; body buffers are requested from the JDK client only as fast as the
+     * subscriber consumes decoded frames.
+     */
+    private <T> Flux<T> streamNonBlocking(
+            java.net.http.HttpRequest jdkRequest,
+            HttpRequest request,
+            StreamFrameParser<T> parser) {
+        return Flux.defer(
+                () -> {
+                    long requestStartNanos = System.nanoTime();
+                    return Mono.fromFuture(
+                                    () -> client.sendAsync(jdkRequest, BodyHandlers.ofPublisher()))
+                            .timeout(Mono.delay(streamResponseTimeout()))
+                            .flatMapMany(
+                                    response ->
+                                            handleNonBlockingResponse(
+                                                    response, request, requestStartNanos, parser))
+                            .onErrorMap(this::mapStreamError);
+                });
+    }
+
+    /**
+     * Validate the publisher-backed response and decode its body incrementally.
+     */
+    private <T> Flux<T> handleNonBlockingResponse(
+            java.net.http.HttpResponse<Flow.Publisher<List<ByteBuffer>>> response,
+            HttpRequest request,
+            long requestStartNanos,
+            StreamFrameParser<T> parser) {
+        Flux<List<ByteBuffer>> body = JdkFlowAdapter.flowPublisherToFlux(response.body());
+
+        int statusCode = response.statusCode();
+        if (statusCode < 200 || statusCode >= 300) {
+            return body.collect(ByteArrayOutputStream::new, JdkHttpTransport::writeBuffers)
+                    .map(bytes -> bytes.toString(StandardCharsets.UTF_8))
+                    .timeout(streamResponseTimeout())
+                    .onErrorReturn("")
+                    .flatMapMany(
+                            errorBody -> {
+                                log.warn(
+                                        "HTTP request failed. URL: {} | Status: {} | Error: {}",
+                                        request.getUrl(),
+                                        statusCode,
+                                        errorBody);
+                                return Flux.error(
+                                        new HttpTransportException(
+                                                "HTTP request failed with status "
+                                                        + statusCode
+                                                        + " | "
+                                                        + errorBody,
+                                                statusCode,
+                                                errorBody));
+                            });
+        }
+
+        StreamFrameDecoder<T> decoder = new StreamFrameDecoder<>(isNdjson(request), parser);
+        return body.<List<T>>handle(
+                        (buffers, sink) -> {
+                            try {
+                                sink.next(decoder.decode(buffers));
+                                if (decoder.isDone()) {
+                                    sink.complete();
+                                }
+                            } catch (IOException e) {
+                                sink.error(e);
+                            }
+                        })
+                .concatWith(Mono.fromCallable(decoder::finish))
+                .concatMapIterable(values -> values, 1)
+                .timeout(
+                        Mono.delay(remainingResponseTimeout(requestStartNanos)),
+                        data -> Mono.delay(streamIdleTimeout()));
+    }
+
+    private static void writeBuffers(ByteArrayOutputStream out, List<ByteBuffer> buffers) {
+        for (ByteBuffer buffer : buffers) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            out.writeBytes(bytes);
+        }
+    }
+
+    private static boolean isNdjson(HttpRequest request) {
+        return TransportConstants.STREAM_FORMAT_NDJSON.equals(
+                request.getHeaders().get(TransportConstants.STREAM_FORMAT_HEADER));
+    }
+
     /**
      * Send a streaming request and propagate Reactor cancellation to the JDK future/socket.
      */
@@ -252,11 +401,12 @@ public class JdkHttpTransport implements HttpTransport {
     /**
      * Validate the streaming response and apply first-chunk and inter-chunk timeouts.
      */
-    private Flux<String> handleStreamResponse(
+    private <T> Flux<T> handleStreamResponse(
             java.net.http.HttpResponse<InputStream> response,
             HttpRequest request,
             AtomicReference<InputStream> responseBody,
-            long requestStartNanos) {
+            long requestStartNanos,
+            Function<InputStream, Flux<T>> bodyReader) {
         InputStream inputStream = response.body();
         responseBody.set(inputStream);
 
@@ -283,7 +433,8 @@ public class JdkHttpTransport implements HttpTransport {
                             });
         }
 
-        return processStreamResponse(inputStream, request)
+        return bodyReader
+                .apply(inputStream)
                 .timeout(
                         // Timeout strategy 1: Time To First Chunk.
                         // This uses the remaining response timeout budget from request start.
@@ -303,9 +454,7 @@ public class JdkHttpTransport implements HttpTransport {
         }
 
         // Check if the request has the NDJSON format header
-        boolean isNdjson =
-                TransportConstants.STREAM_FORMAT_NDJSON.equals(
-                        request.getHeaders().get(TransportConstants.STREAM_FORMAT_HEADER));
+        boolean isNdjson = isNdjson(request);
 
         // Use Flux.using to manage resource lifecycle
         return Flux.using(
@@ -343,6 +492,31 @@ public class JdkHttpTransport implements HttpTransport {
     public void close() {
         closed.set(true);
         // HttpClient does not require explicit cleanup - it manages its own resources
+        if (streamingExecutor != null) {
+            streamingExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Create the executor for JDK client callbacks in non-blocking mode.
+     *
+     * <p>The default HttpClient executor is an unbounded cached pool, which spawns a thread per
+     * concurrently completing exchange. Non-blocking body callbacks never block, so a small fixed
+     * pool of daemon threads is enough regardless of how many streams are in flight.
+     */
+    private static ExecutorService createStreamingExecutor() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        return Executors.newFixedThreadPool(
+                threads,
+                runnable -> {
+                    Thread thread =
+                            new Thread(
+                                    runnable,
+                                    "agentscope-http-stream-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 
     /**
@@ -46,6 +46,7 @@ import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -58,6 +59,13 @@ import reactor.core.scheduler.Schedulers;
  *   <li>Connection pooling</li>
  *   <li>Configurable timeouts</li>
  * </ul>
+ *
+ * <p>okio sources are blocking, so OkHttp cannot read a streaming body without parking a thread
+ * between chunks. With {@link StreamingMode#NON_BLOCKING}, {@link #stream(HttpRequest)} and
+ * {@link #streamFrames(HttpRequest, StreamFrameParser)} are therefore served by a
+ * {@link JdkHttpTransport} built from the same {@link HttpTransportConfig}; interceptors and other
+ * settings of a shared {@link OkHttpClient} do not apply to those streams. Non-streaming requests
+ * always go through OkHttp.
  */
 public class OkHttpTransport implements HttpTransport {
 
@@ -70,6 +78,9 @@ public class OkHttpTransport implements HttpTransport {
     private final OkHttpClient client;
     private final HttpTransportConfig config;
 
+    /** Serves streaming calls in {@link StreamingMode#NON_BLOCKING}; null otherwise. */
+    private final JdkHttpTransport streamingTransport;
+
     /**
      * Create a new OkHttpTransport with default configuration.
      */
@@ -85,6 +96,7 @@ public class OkHttpTransport implements HttpTransport {
     public OkHttpTransport(HttpTransportConfig config) {
         this.config = config;
         this.client = buildClient(config);
+        this.streamingTransport = createStreamingTransport(config);
     }
 
     /**
@@ -99,6 +111,13 @@ public class OkHttpTransport implements HttpTransport {
     public OkHttpTransport(OkHttpClient client, HttpTransportConfig config) {
         this.client = client;
         this.config = config;
+        this.streamingTransport = createStreamingTransport(config);
+    }
+
+    private static JdkHttpTransport createStreamingTransport(HttpTransportConfig config) {
+        return config != null && config.getStreamingMode() == StreamingMode.NON_BLOCKING
+                ? new JdkHttpTransport(config)
+                : null;
     }
 
     private OkHttpClient buildClient(HttpTransportConfig config) {
@@ -214,6 +233,9 @@ public class OkHttpTransport implements HttpTransport {
 
     @Override
     public Flux<String> stream(HttpRequest request) {
+        if (streamingTransport != null) {
+            return streamingTransport.stream(request);
+        }
         Request okHttpRequest = buildOkHttpRequest(request);
         log.debug(
                 "Streaming request: method={}, url={}",
@@ -310,8 +332,80 @@ public class OkHttpTransport implements HttpTransport {
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
+    @Override
+    public <T> Flux<T> streamFrames(HttpRequest request, StreamFrameParser<T> parser) {
+        if (streamingTransport != null) {
+            return streamingTransport.streamFrames(request, parser);
+        }
+        Request okHttpRequest = buildOkHttpRequest(request);
+        log.debug(
+                "Streaming frames request: method={}, url={}",
+                okHttpRequest.method(),
+                okHttpRequest.url());
+
+        boolean isNdjson =
+                TransportConstants.STREAM_FORMAT_NDJSON.equals(
+                        request.getHeaders().get(TransportConstants.STREAM_FORMAT_HEADER));
+        Mono<Response> response =
+                Mono.fromCallable(() -> client.newCall(okHttpRequest).execute())
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorMap(
+                                IOException.class,
+                                e ->
+                                        new HttpTransportException(
+                                                "HTTP request failed: " + e.getMessage(), e));
+        return response.flatMapMany(
+                r ->
+                        Flux.using(
+                                () -> r,
+                                res -> readFrames(res, isNdjson, parser),
+                                this::closeQuietly));
+    }
+
+    /**
+     * Decode the response body one socket chunk per downstream request, so a slow subscriber
+     * applies backpressure to the connection instead of buffering decoded frames.
+     */
+    private <T> Flux<T> readFrames(
+            Response response, boolean isNdjson, StreamFrameParser<T> parser) {
+        if (!response.isSuccessful()) {
+            return Mono.fromCallable(() -> String.valueOf(getResponseBodyString(response)))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(
+                            errorBody -> {
+                                log.error(
+                                        "HTTP error: status={}, body={}",
+                                        response.code(),
+                                        errorBody);
+                                return Flux.error(
+                                        new HttpTransportException(
+                                                "HTTP request failed with status "
+                                                        + response.code(),
+                                                response.code(),
+                                                errorBody));
+                            });
+        }
+
+        ResponseBody body = response.body();
+        if (body == null) {
+            return Flux.empty();
+        }
+
+        return new StreamFrameDecoder<T>(isNdjson, parser)
+                .readFrom(body.byteStream())
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(
+                        e -> !(e instanceof HttpTransportException),
+                        e ->
+                                new HttpTransportException(
+                                        "SSE stream read failed: " + e.getMessage(), e));
+    }
+
     @Override
     public void close() {
+        if (streamingTransport != null) {
+            streamingTransport.close();
+        }
         client.dispatcher().executorService().shutdown();
         client.connectionPool().evictAll();
     }
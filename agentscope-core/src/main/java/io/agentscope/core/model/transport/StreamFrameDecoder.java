@@ -0,0 +1,264 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.model.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import reactor.core.publisher.Flux;
+
+/**
+ * Incremental decoder that turns arbitrarily split response body bytes into SSE data frames or
+ * NDJSON records and hands each payload to a {@link StreamFrameParser} as a byte range.
+ *
+ * <p>Lines are split on {@code '\n'} at the byte level, which is safe for UTF-8 because the
+ * newline byte never occurs inside a multi-byte sequence. For SSE, the {@code data:} prefix and
+ * surrounding whitespace are stripped by adjusting the range rather than by copying; other SSE
+ * fields ({@code event:}, {@code id:}, {@code retry:}, comments) are skipped. A line that lies
+ * entirely inside one array-backed input buffer is parsed in place; only lines that span
+ * buffers are copied into an internal carry-over buffer.
+ *
+ * <p>When the SSE {@code [DONE]} marker is reached, {@link #isDone()} becomes true and all
+ * subsequent input is ignored. The marker itself is never passed to the parser.
+ *
+ * <p>Instances are stateful and not thread-safe; use one decoder per response.
+ *
+ * @param <T> the frame value type
+ */
+final class StreamFrameDecoder<T> {
+
+    static final String SSE_DONE_MARKER = "[DONE]";
+
+    private static final byte[] SSE_DATA_PREFIX = "data:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SSE_DONE_BYTES =
+            SSE_DONE_MARKER.getBytes(StandardCharsets.US_ASCII);
+    private static final int INITIAL_LINE_CAPACITY = 256;
+    private static final int READ_CHUNK_SIZE = 8192;
+
+    private final boolean ndjson;
+    private final StreamFrameParser<? extends T> parser;
+    private byte[] line = new byte[INITIAL_LINE_CAPACITY];
+    private int lineLength;
+    private boolean done;
+
+    /**
+     * Create a decoder.
+     *
+     * @param ndjson true to treat every non-empty line as a record, false to parse SSE data lines
+     * @param parser the parser applied to each payload
+     */
+    StreamFrameDecoder(boolean ndjson, StreamFrameParser<? extends T> parser) {
+        this.ndjson = ndjson;
+        this.parser = parser;
+    }
+
+    /**
+     * Decode a batch of body buffers as delivered by {@code BodyHandlers.ofPublisher()}.
+     *
+     * @param buffers the buffers to consume
+     * @return the values completed by these buffers, in order
+     * @throws IOException if the parser rejects a payload
+     */
+    List<T> decode(List<ByteBuffer> buffers) throws IOException {
+        List<T> values = null;
+        for (ByteBuffer buffer : buffers) {
+            values = decodeInto(buffer, values);
+        }
+        return values != null ? values : Collections.emptyList();
+    }
+
+    /**
+     * Decode a single body buffer.
+     *
+     * @param buffer the buffer to consume
+     * @return the values completed by this buffer, in order
+     * @throws IOException if the parser rejects a payload
+     */
+    List<T> decode(ByteBuffer buffer) throws IOException {
+        List<T> values = decodeInto(buffer, null);
+        return values != null ? values : Collections.emptyList();
+    }
+
+    /**
+     * Decode a region of a byte array.
+     *
+     * @param bytes the source array
+     * @param offset the first byte to consume
+     * @param length the number of bytes to consume
+     * @return the values completed by this region, in order
+     * @throws IOException if the parser rejects a payload
+     */
+    List<T> decode(byte[] bytes, int offset, int length) throws IOException {
+        return decode(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Flush a trailing line that was not terminated by a newline at end of stream.
+     *
+     * @return the final value, if any
+     * @throws IOException if the parser rejects the payload
+     */
+    List<T> finish() throws IOException {
+        if (done || lineLength == 0) {
+            return Collections.emptyList();
+        }
+        int end = lineLength;
+        lineLength = 0;
+        T value = parseLine(line, 0, end);
+        return value != null ? List.of(value) : Collections.emptyList();
+    }
+
+    /**
+     * Read and decode a blocking stream, issuing one read per downstream request.
+     *
+     * <p>The returned flux blocks in {@link InputStream#read(byte[])}; callers must subscribe on
+     * a scheduler that tolerates blocking. It completes at end of stream or once the SSE
+     * {@code [DONE]} marker is reached, and does not close the stream.
+     *
+     * @param inputStream the response body
+     * @return a flux of decoded values
+     */
+    Flux<T> readFrom(InputStream inputStream) {
+        byte[] chunk = new byte[READ_CHUNK_SIZE];
+        return Flux.<List<T>>generate(
+                        sink -> {
+                            try {
+                                int read = inputStream.read(chunk);
+                                if (read < 0) {
+                                    sink.next(finish());
+                                    sink.complete();
+                                    return;
+                                }
+                                sink.next(decode(chunk, 0, read));
+                                if (done) {
+                                    sink.complete();
+                                }
+                            } catch (IOException e) {
+                                sink.error(e);
+                            }
+                        })
+                .concatMapIterable(values -> values, 1);
+    }
+
+    /**
+     * Whether the SSE {@code [DONE]} marker has been reached.
+     *
+     * @return true once the terminal marker was decoded
+     */
+    boolean isDone() {
+        return done;
+    }
+
+    private List<T> decodeInto(ByteBuffer buffer, List<T> values) throws IOException {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        byte[] array = buffer.hasArray() ? buffer.array() : null;
+        int arrayOffset = array != null ? buffer.arrayOffset() : 0;
+        for (int i = start; i < limit && !done; i++) {
+            if (buffer.get(i) != '\n') {
+                continue;
+            }
+            T value;
+            if (lineLength == 0 && array != null) {
+                value = parseLine(array, arrayOffset + start, arrayOffset + i);
+            } else {
+                append(buffer, start, i);
+                int end = lineLength;
+                lineLength = 0;
+                value = parseLine(line, 0, end);
+            }
+            start = i + 1;
+            if (value != null) {
+                if (values == null) {
+                    values = new ArrayList<>(4);
+                }
+                values.add(value);
+            }
+        }
+        if (!done) {
+            append(buffer, start, limit);
+        }
+        buffer.position(limit);
+        return values;
+    }
+
+    private void append(ByteBuffer buffer, int from, int to) {
+        int count = to - from;
+        if (count <= 0) {
+            return;
+        }
+        if (lineLength + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + count));
+        }
+        buffer.get(from, line, lineLength, count);
+        lineLength += count;
+    }
+
+    /**
+     * Locate the payload of one line and parse it.
+     *
+     * @param bytes the buffer holding the line
+     * @param from the index of the first line byte
+     * @param end the index after the last line byte, excluding the newline
+     * @return the parsed value, or null if the line carries none
+     */
+    private T parseLine(byte[] bytes, int from, int end) throws IOException {
+        if (end > from && bytes[end - 1] == '\r') {
+            end--;
+        }
+        if (end == from) {
+            return null;
+        }
+        if (ndjson) {
+            return parser.parse(bytes, from, end - from);
+        }
+        if (!startsWith(bytes, from, end, SSE_DATA_PREFIX)) {
+            return null;
+        }
+        from += SSE_DATA_PREFIX.length;
+        while (from < end && bytes[from] <= ' ') {
+            from++;
+        }
+        while (end > from && bytes[end - 1] <= ' ') {
+            end--;
+        }
+        if (from == end) {
+            return null;
+        }
+        if (end - from == SSE_DONE_BYTES.length && startsWith(bytes, from, end, SSE_DONE_BYTES)) {
+            done = true;
+            return null;
+        }
+        return parser.parse(bytes, from, end - from);
+    }
+
+    private static boolean startsWith(byte[] bytes, int from, int end, byte[] prefix) {
+        if (end - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[from + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.model.transport;
+
+import io.agentscope.core.util.JsonUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts the payload bytes of one SSE data frame or NDJSON record into a value.
+ *
+ * <p>The byte range passed to {@link #parse} is a view into the transport's read buffer and is
+ * only valid for the duration of the call; implementations must not retain the array. The
+ * {@code data:} prefix, surrounding whitespace and line terminators have already been stripped.
+ *
+ * @param <T> the frame value type
+ * @see HttpTransport#streamFrames(HttpRequest, StreamFrameParser)
+ */
+@FunctionalInterface
+public interface StreamFrameParser<T> {
+
+    /**
+     * Parse a frame payload.
+     *
+     * @param bytes the buffer holding the payload
+     * @param offset the index of the first payload byte
+     * @param length the number of payload bytes
+     * @return the parsed value, or null to skip this frame
+     * @throws IOException if the payload cannot be parsed and the stream should fail
+     */
+    T parse(byte[] bytes, int offset, int length) throws IOException;
+
+    /**
+     * A parser that decodes each payload as a UTF-8 string.
+     *
+     * @return the string parser
+     */
+    static StreamFrameParser<String> utf8() {
+        return (bytes, offset, length) -> new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A parser that binds each payload to the given type with the global
+     * {@link io.agentscope.core.util.JsonCodec}, reading directly from the byte range.
+     *
+     * @param type the target type
+     * @param <T> the target type
+     * @return the JSON parser
+     */
+    static <T> StreamFrameParser<T> json(Class<T> type) {
+        return (bytes, offset, length) ->
+                JsonUtils.getJsonCodec().fromJson(bytes, offset, length, type);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.model.transport;
+
+/**
+ * How an {@link HttpTransport} reads streaming (SSE/NDJSON) response bodies.
+ */
+public enum StreamingMode {
+
+    /**
+     * Read the response body with a blocking line reader on {@code Schedulers.boundedElastic()}.
+     *
+     * <p>Each in-flight stream occupies one worker thread until it completes.
+     */
+    BLOCKING,
+
+    /**
+     * Read the response body through asynchronous byte callbacks and split lines incrementally.
+     *
+     * <p>{@link JdkHttpTransport} implements this with {@code BodyHandlers.ofPublisher()}: bytes
+     * are only pulled while the subscriber has outstanding demand, and no thread is parked while
+     * waiting for the next chunk. okio sources are blocking, so {@link OkHttpTransport} serves
+     * streams in this mode through a {@link JdkHttpTransport} built from the same configuration.
+     *
+     * <p>Payloads are emitted on the JDK client's executor threads; subscribers that block must
+     * hop to another scheduler with {@code publishOn}.
+     */
+    NON_BLOCKING
+}
@@ -23,7 +23,8 @@ import java.util.List;
  *
  * <p>This class uses the builder pattern to configure retrieval parameters such as
  * the maximum number of results, the minimum similarity score threshold, and optional
- * conversation history for context-aware retrieval.
+ * conversation history for context-aware retrieval. Knowledge bases with a keyword index can
+ * also rank by keywords, or fuse both rankings, see {@link RetrieveMode}.
  *
  * @deprecated since 2.0.0. The rag package is removed; integrate retrieval at the application
  *     layer.
@@ -35,12 +36,16 @@ public class RetrieveConfig {
     private final double scoreThreshold;
     private final String vectorName;
     private final List<Msg> conversationHistory;
+    private final RetrieveMode mode;
+    private final int rrfK;
 
     private RetrieveConfig(Builder builder) {
         this.limit = builder.limit;
         this.scoreThreshold = builder.scoreThreshold;
         this.vectorName = builder.vectorName;
         this.conversationHistory = builder.conversationHistory;
+        this.mode = builder.mode;
+        this.rrfK = builder.rrfK;
     }
 
     /**
@@ -82,6 +87,24 @@ public class RetrieveConfig {
         return conversationHistory;
     }
 
+    /**
+     * Gets how documents are ranked.
+     *
+     * @return the retrieve mode, {@link RetrieveMode#DENSE} by default
+     */
+    public RetrieveMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the rank constant of reciprocal-rank fusion in {@link RetrieveMode#HYBRID} mode.
+     *
+     * @return the rank constant
+     */
+    public int getRrfK() {
+        return rrfK;
+    }
+
     /**
      * Mutate the current instance to a new builder.
      *
@@ -92,7 +115,9 @@ public class RetrieveConfig {
                 .limit(this.limit)
                 .scoreThreshold(this.scoreThreshold)
                 .vectorName(this.vectorName)
-                .conversationHistory(this.conversationHistory);
+                .conversationHistory(this.conversationHistory)
+                .mode(this.mode)
+                .rrfK(this.rrfK);
     }
 
     /**
@@ -113,6 +138,8 @@ public class RetrieveConfig {
         private double scoreThreshold = 0.5;
         private String vectorName;
         private List<Msg> conversationHistory;
+        private RetrieveMode mode = RetrieveMode.DENSE;
+        private int rrfK = 60;
 
         /**
          * Sets the maximum number of documents to retrieve.
@@ -168,6 +195,38 @@ public class RetrieveConfig {
             return this;
         }
 
+        /**
+         * Sets how documents are ranked.
+         *
+         * <p>In {@link RetrieveMode#HYBRID} mode the score threshold applies to the vector
+         * similarity of the dense ranking, and returned documents carry their fused score.
+         *
+         * @param mode the retrieve mode (defaults to {@link RetrieveMode#DENSE})
+         * @return this builder for chaining
+         */
+        public Builder mode(RetrieveMode mode) {
+            if (mode == null) {
+                throw new IllegalArgumentException("Mode cannot be null");
+            }
+            this.mode = mode;
+            return this;
+        }
+
+        /**
+         * Sets the rank constant {@code k} of reciprocal-rank fusion, which scores a document
+         * {@code 1 / (k + rank)} per ranking. Larger values flatten the advantage of top ranks.
+         *
+         * @param rrfK the rank constant (must be positive, defaults to 60)
+         * @return this builder for chaining
+         */
+        public Builder rrfK(int rrfK) {
+            if (rrfK <= 0) {
+                throw new IllegalArgumentException("RRF k must be positive");
+            }
+            this.rrfK = rrfK;
+            return this;
+        }
+
         /**
          * Builds the RetrieveConfig instance.
          *
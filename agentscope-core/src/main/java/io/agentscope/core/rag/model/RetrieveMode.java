@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.model;
+
+/**
+ * How a knowledge base ranks documents for a query.
+ *
+ * <ul>
+ *   <li><b>DENSE</b>: Vector similarity between the query embedding and document embeddings</li>
+ *   <li><b>KEYWORD</b>: Keyword relevance, such as BM25 over an inverted index</li>
+ *   <li><b>HYBRID</b>: Both rankings, fused with reciprocal-rank fusion</li>
+ * </ul>
+ *
+ * <p>Knowledge bases without a keyword index only support {@link #DENSE}.
+ *
+ * @deprecated since 2.0.0. The rag package is removed; integrate retrieval at the application
+ *     layer.
+ */
+@Deprecated(forRemoval = true, since = "2.0.0")
+public enum RetrieveMode {
+    /**
+     * Dense mode: Documents are ranked by vector similarity to the query embedding.
+     *
+     * <p>This is the default, and works with every knowledge base.
+     */
+    DENSE,
+
+    /**
+     * Keyword mode: Documents are ranked by keyword relevance to the query text.
+     *
+     * <p>Suited to exact terms such as error codes, identifiers and ticket numbers. The query is
+     * not embedded.
+     */
+    KEYWORD,
+
+    /**
+     * Hybrid mode: Dense and keyword rankings are fused with reciprocal-rank fusion.
+     *
+     * <p>Each document scores {@code sum(1 / (k + rank))} over the rankings it appears in, where
+     * {@code k} is {@link RetrieveConfig#getRrfK()}.
+     */
+    HYBRID
+}
@@ -144,7 +144,18 @@ public final class GracefulShutdownManager {
         if (!(agent instanceof AgentBase ab)) {
             return false;
         }
-        AgentState st = ab.getAgentState();
+        return checkAndClearSessionShutdownInterrupted(ab.getAgentState());
+    }
+
+    /**
+     * Check whether the given session state was previously interrupted by shutdown, and clear the
+     * flag. Agents with per-session state pass the state of the session being called rather than
+     * their default session.
+     *
+     * @param st the session state (may be {@code null})
+     * @return true if the flag was present and cleared
+     */
+    public boolean checkAndClearSessionShutdownInterrupted(AgentState st) {
         if (st != null && st.isShutdownInterrupted()) {
             st.setShutdownInterrupted(false);
             return true;
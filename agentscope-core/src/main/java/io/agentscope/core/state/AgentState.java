@@ -266,6 +266,29 @@ public final class AgentState implements State {
         return local;
     }
 
+    /**
+     * Shallow copy of this state with the conversation buffer replaced. The sub-contexts are
+     * shared with this instance, not copied.
+     *
+     * @param context the conversation buffer of the copy
+     * @return a new state carrying every other field of this one
+     */
+    public AgentState withContext(List<Msg> context) {
+        return builder()
+                .sessionId(sessionId)
+                .userId(userId)
+                .summary(summary)
+                .context(context)
+                .replyId(replyId)
+                .curIter(curIter)
+                .shutdownInterrupted(shutdownInterrupted)
+                .permissionContext(permissionContext)
+                .toolContext(toolContext)
+                .tasksContext(tasksContext)
+                .planModeContext(planModeContext)
+                .build();
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -0,0 +1,476 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import io.agentscope.core.message.AudioBlock;
+import io.agentscope.core.message.Base64Source;
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.message.DataBlock;
+import io.agentscope.core.message.ImageBlock;
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.Source;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ThinkingBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.message.VideoBlock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-memory cache of per-session {@link AgentState}, keyed by slot ({@code userId/sessionId}).
+ *
+ * <p>Entries are weighed by the estimated in-memory size of their conversation context (see
+ * {@link #estimateBytes(AgentState)}) and evicted least-recently-used first when the cache holds
+ * more than {@code maxSessions} entries or more than {@code maxWeightBytes} in total. Entries not
+ * used for {@code idleTimeout} are evicted as well. A bound of {@code 0} (or a {@code null}
+ * timeout) disables it, so {@code new AgentStateCache(0, 0, null, listener)} never evicts.
+ *
+ * <p>A slot {@link #acquire acquired} for a call is pinned until {@link #release released}:
+ * pinned entries are never evicted, so a call always finishes on the state it started with. The
+ * weight of an entry is recomputed on release, when a call has finished growing its context.
+ *
+ * <p>Eviction runs on the thread that inserts or releases an entry, and on {@link #cleanUp()}.
+ * The {@link EvictionListener} is invoked after the entry has left the cache and outside the
+ * cache lock, so it may perform I/O such as writing the state back to an {@link AgentStateStore}.
+ *
+ * <p><b>Thread Safety:</b> this class is thread-safe. Loaders passed to {@link #get} and
+ * {@link #acquire} run outside the cache lock; when two threads load the same absent slot
+ * concurrently, the first inserted state wins.
+ */
+public final class AgentStateCache {
+
+    /** Receives entries evicted because of a size, weight or idle bound. */
+    @FunctionalInterface
+    public interface EvictionListener {
+
+        /**
+         * Called once for every evicted entry.
+         *
+         * @param slot the slot key of the evicted entry
+         * @param state the evicted state
+         */
+        void onEviction(String slot, AgentState state);
+    }
+
+    /**
+     * Point-in-time cache metrics.
+     *
+     * @param hits lookups answered from the cache
+     * @param misses lookups that had to load the state
+     * @param evictions entries evicted by a size, weight or idle bound
+     * @param sessions entries currently cached
+     * @param weightBytes estimated context bytes of the entries currently cached
+     */
+    public record Stats(long hits, long misses, long evictions, int sessions, long weightBytes) {
+
+        /** Fraction of lookups answered from the cache, or {@code 0} before the first lookup. */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    /** Fixed per-message overhead: the Msg object, its id, role, metadata and content list. */
+    private static final long MSG_OVERHEAD_BYTES = 160;
+
+    /** Fixed per-block overhead: the block object and its small fields. */
+    private static final long BLOCK_OVERHEAD_BYTES = 48;
+
+    private static final class Entry {
+        AgentState state;
+        long weight;
+        long lastAccessNanos;
+        int pins;
+
+        Entry(AgentState state, long weight, long now) {
+            this.state = state;
+            this.weight = weight;
+            this.lastAccessNanos = now;
+        }
+    }
+
+    private final int maxSessions;
+    private final long maxWeightBytes;
+    private final long idleTimeoutNanos;
+    private final EvictionListener listener;
+    private final LongSupplier nanoTime;
+
+    /** Access-ordered: iteration starts at the least recently used entry. Guarded by this. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalWeight;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSessions maximum number of cached sessions, {@code 0} for no limit
+     * @param maxWeightBytes maximum total estimated context bytes, {@code 0} for no limit
+     * @param idleTimeout evict sessions unused for this long, {@code null} to keep idle sessions
+     * @param listener receives evicted entries (may be {@code null})
+     */
+    public AgentStateCache(
+            int maxSessions, long maxWeightBytes, Duration idleTimeout, EvictionListener listener) {
+        this(maxSessions, maxWeightBytes, idleTimeout, listener, System::nanoTime);
+    }
+
+    AgentStateCache(
+            int maxSessions,
+            long maxWeightBytes,
+            Duration idleTimeout,
+            EvictionListener listener,
+            LongSupplier nanoTime) {
+        if (maxSessions < 0) {
+            throw new IllegalArgumentException("maxSessions must be >= 0: " + maxSessions);
+        }
+        if (maxWeightBytes < 0) {
+            throw new IllegalArgumentException("maxWeightBytes must be >= 0: " + maxWeightBytes);
+        }
+        this.maxSessions = maxSessions;
+        this.maxWeightBytes = maxWeightBytes;
+        this.idleTimeoutNanos = idleTimeout != null ? idleTimeout.toNanos() : 0L;
+        this.listener = listener;
+        this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime must not be null");
+    }
+
+    /**
+     * Returns the cached state for {@code slot}, loading and caching it on a miss.
+     *
+     * @param slot the slot key
+     * @param loader produces the state on a miss; must not return {@code null}
+     * @return the cached state
+     */
+    public AgentState get(String slot, Function<String, AgentState> loader) {
+        return lookup(slot, loader, false, false);
+    }
+
+    /**
+     * Returns the cached state for {@code slot} and pins it until {@link #release(String)}.
+     *
+     * @param slot the slot key
+     * @param loader produces the state on a miss, or always when {@code reload} is set
+     * @param reload replace any cached state with a freshly loaded one (counted as a miss)
+     * @return the pinned state
+     */
+    public AgentState acquire(String slot, Function<String, AgentState> loader, boolean reload) {
+        return lookup(slot, loader, reload, true);
+    }
+
+    /**
+     * Unpins a slot acquired with {@link #acquire}, re-estimates its weight and applies the cache
+     * bounds. Does nothing if the slot is no longer cached.
+     *
+     * @param slot the slot key
+     */
+    public void release(String slot) {
+        List<Map.Entry<String, Entry>> evicted;
+        synchronized (this) {
+            Entry e = entries.get(slot);
+            if (e == null) {
+                return;
+            }
+            if (e.pins > 0) {
+                e.pins--;
+            }
+            reweighLocked(e);
+            e.lastAccessNanos = nanoTime.getAsLong();
+            evicted = evictLocked();
+        }
+        notifyEvicted(evicted);
+    }
+
+    /**
+     * Returns the cached state for {@code slot} without loading it, or {@code null}. Not counted
+     * as a hit or miss.
+     */
+    public synchronized AgentState getIfPresent(String slot) {
+        Entry e = entries.get(slot);
+        return e != null ? e.state : null;
+    }
+
+    /**
+     * Caches {@code state} for {@code slot}, replacing any cached state (keeping its pins).
+     *
+     * @param slot the slot key
+     * @param state the state to cache
+     */
+    public void put(String slot, AgentState state) {
+        Objects.requireNonNull(state, "state must not be null");
+        long weight = estimateBytes(state);
+        List<Map.Entry<String, Entry>> evicted;
+        synchronized (this) {
+            insertLocked(slot, state, weight, false);
+            evicted = evictLocked();
+        }
+        notifyEvicted(evicted);
+    }
+
+    /**
+     * Re-estimates the weight of a cached slot after its state was mutated outside a call.
+     *
+     * @param slot the slot key
+     */
+    public void reweigh(String slot) {
+        List<Map.Entry<String, Entry>> evicted;
+        synchronized (this) {
+            Entry e = entries.get(slot);
+            if (e == null) {
+                return;
+            }
+            reweighLocked(e);
+            evicted = evictLocked();
+        }
+        notifyEvicted(evicted);
+    }
+
+    /**
+     * Removes a slot without notifying the eviction listener.
+     *
+     * @param slot the slot key
+     * @return the removed state, or {@code null} if the slot was not cached
+     */
+    public synchronized AgentState remove(String slot) {
+        Entry e = entries.remove(slot);
+        if (e == null) {
+            return null;
+        }
+        totalWeight -= e.weight;
+        return e.state;
+    }
+
+    /** Removes every entry without notifying the eviction listener. */
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * Evicts idle entries and applies the size and weight bounds. Eviction otherwise only happens
+     * when entries are inserted or released, so a process that stops receiving calls may call
+     * this periodically to release idle sessions.
+     */
+    public void cleanUp() {
+        List<Map.Entry<String, Entry>> evicted;
+        synchronized (this) {
+            evicted = evictLocked();
+        }
+        notifyEvicted(evicted);
+    }
+
+    /** Returns the number of cached sessions. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Returns a snapshot of the cache metrics. */
+    public Stats stats() {
+        int sessions;
+        long weight;
+        synchronized (this) {
+            sessions = entries.size();
+            weight = totalWeight;
+        }
+        return new Stats(hits.get(), misses.get(), evictions.get(), sessions, weight);
+    }
+
+    private AgentState lookup(
+            String slot, Function<String, AgentState> loader, boolean reload, boolean pin) {
+        if (!reload) {
+            synchronized (this) {
+                Entry e = entries.get(slot);
+                if (e != null) {
+                    hits.incrementAndGet();
+                    e.lastAccessNanos = nanoTime.getAsLong();
+                    if (pin) {
+                        e.pins++;
+                    }
+                    return e.state;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        AgentState loaded = Objects.requireNonNull(loader.apply(slot), "loader returned null");
+        long weight = estimateBytes(loaded);
+        AgentState result;
+        List<Map.Entry<String, Entry>> evicted;
+        synchronized (this) {
+            Entry e = entries.get(slot);
+            if (e != null && !reload) {
+                // Another thread loaded the slot while this one was loading: keep theirs.
+                e.lastAccessNanos = nanoTime.getAsLong();
+                if (pin) {
+                    e.pins++;
+                }
+                result = e.state;
+            } else {
+                result = insertLocked(slot, loaded, weight, pin).state;
+            }
+            evicted = evictLocked();
+        }
+        notifyEvicted(evicted);
+        return result;
+    }
+
+    private Entry insertLocked(String slot, AgentState state, long weight, boolean pin) {
+        long now = nanoTime.getAsLong();
+        Entry e = entries.get(slot);
+        if (e == null) {
+            e = new Entry(state, weight, now);
+            entries.put(slot, e);
+            totalWeight += weight;
+        } else {
+            totalWeight += weight - e.weight;
+            e.state = state;
+            e.weight = weight;
+            e.lastAccessNanos = now;
+        }
+        if (pin) {
+            e.pins++;
+        }
+        return e;
+    }
+
+    private void reweighLocked(Entry e) {
+        long weight = estimateBytes(e.state);
+        totalWeight += weight - e.weight;
+        e.weight = weight;
+    }
+
+    /** Removes idle entries, then LRU entries over the bounds; pinned entries are skipped. */
+    private List<Map.Entry<String, Entry>> evictLocked() {
+        List<Map.Entry<String, Entry>> evicted = null;
+        long now = nanoTime.getAsLong();
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> candidate = it.next();
+            Entry e = candidate.getValue();
+            boolean idle = idleTimeoutNanos > 0 && now - e.lastAccessNanos >= idleTimeoutNanos;
+            boolean overSize = maxSessions > 0 && entries.size() > maxSessions;
+            boolean overWeight = maxWeightBytes > 0 && totalWeight > maxWeightBytes;
+            if (!idle && !overSize && !overWeight) {
+                // Access order: everything after this entry was used more recently.
+                break;
+            }
+            if (e.pins > 0) {
+                continue;
+            }
+            it.remove();
+            totalWeight -= e.weight;
+            if (evicted == null) {
+                evicted = new ArrayList<>();
+            }
+            evicted.add(Map.entry(candidate.getKey(), e));
+        }
+        return evicted != null ? evicted : List.of();
+    }
+
+    private void notifyEvicted(List<Map.Entry<String, Entry>> evicted) {
+        for (Map.Entry<String, Entry> e : evicted) {
+            evictions.incrementAndGet();
+            if (listener != null) {
+                listener.onEviction(e.getKey(), e.getValue().state);
+            }
+        }
+    }
+
+    /**
+     * Estimates the heap retained by a state's conversation context and summary: two bytes per
+     * character of text, tool arguments and inline (base64) media, plus a fixed overhead per
+     * message and content block. The estimate is meant for relative sizing, not exact accounting.
+     *
+     * @param state the state to weigh
+     * @return estimated bytes
+     */
+    public static long estimateBytes(AgentState state) {
+        long bytes = chars(state.getSummary());
+        for (Msg msg : state.getContext()) {
+            bytes += MSG_OVERHEAD_BYTES + chars(msg.getName());
+            for (ContentBlock block : msg.getContent()) {
+                bytes += estimateBlock(block);
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimateBlock(ContentBlock block) {
+        long bytes = BLOCK_OVERHEAD_BYTES;
+        if (block instanceof TextBlock tb) {
+            bytes += chars(tb.getText());
+        } else if (block instanceof ThinkingBlock tb) {
+            bytes += chars(tb.getThinking());
+        } else if (block instanceof ToolUseBlock tub) {
+            bytes += chars(tub.getId()) + chars(tub.getName());
+            bytes += tub.getContent() != null ? chars(tub.getContent()) : value(tub.getInput());
+        } else if (block instanceof ToolResultBlock trb) {
+            bytes += chars(trb.getId()) + chars(trb.getName());
+            if (trb.getOutput() != null) {
+                for (ContentBlock output : trb.getOutput()) {
+                    bytes += estimateBlock(output);
+                }
+            }
+        } else if (block instanceof ImageBlock ib) {
+            bytes += source(ib.getSource());
+        } else if (block instanceof AudioBlock ab) {
+            bytes += source(ab.getSource());
+        } else if (block instanceof VideoBlock vb) {
+            bytes += source(vb.getSource());
+        } else if (block instanceof DataBlock db) {
+            bytes += source(db.getSource());
+        }
+        return bytes;
+    }
+
+    private static long source(Source source) {
+        return source instanceof Base64Source b64 ? chars(b64.getData()) : BLOCK_OVERHEAD_BYTES;
+    }
+
+    private static long value(Object value) {
+        if (value instanceof CharSequence cs) {
+            return 2L * cs.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 0;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                bytes += value(e.getKey()) + value(e.getValue()) + 16;
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> values) {
+            long bytes = 0;
+            for (Object v : values) {
+                bytes += value(v) + 8;
+            }
+            return bytes;
+        }
+        return value == null ? 0 : 16;
+    }
+
+    private static long chars(String s) {
+        return s == null ? 0 : 2L * s.length();
+    }
+}
@@ -134,6 +134,52 @@ public interface AgentStateStore {
         return UNVERSIONED;
     }
 
+    /**
+     * Whether this backend supports {@link #saveIfVersionWithLog}, i.e. can store a list state as
+     * an ordered log that is truncated and appended in the same write as a single state.
+     *
+     * <p>Default {@code false}. {@link DeltaAgentStateStore} requires it.
+     */
+    default boolean supportsAppendLog() {
+        return false;
+    }
+
+    /**
+     * Write a single state value and splice the tail of a list state in one atomic step.
+     *
+     * <p>{@code value} is written under {@code key} with the same semantics as {@link
+     * #saveIfVersion}. When that write succeeds, the list stored under {@code logKey} is truncated
+     * to its first {@code logOffset} items and {@code logTail} is appended, so only the changed
+     * suffix of the list is written. On a version conflict nothing is written. The list is read
+     * back with {@link #getList}.
+     *
+     * @param userId nullable user identifier
+     * @param sessionId session identifier; must be non-null and non-blank
+     * @param key the state key of the single value
+     * @param value the new state value
+     * @param expectedVersion the version observed by the caller, as for {@link #saveIfVersion}
+     * @param logKey the state key of the list
+     * @param logOffset number of leading list items to keep
+     * @param logTail items to append after the kept prefix
+     * @return the new version on success, or {@link #UNVERSIONED} on conflict / non-versioning
+     *     backends
+     * @throws IllegalStateException if the stored list holds fewer than {@code logOffset} items;
+     *     nothing is written in that case
+     * @throws UnsupportedOperationException if {@link #supportsAppendLog()} is {@code false}
+     */
+    default long saveIfVersionWithLog(
+            String userId,
+            String sessionId,
+            String key,
+            State value,
+            long expectedVersion,
+            String logKey,
+            int logOffset,
+            List<? extends State> logTail) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support append logs");
+    }
+
     /**
      * Save a list of state values.
      *
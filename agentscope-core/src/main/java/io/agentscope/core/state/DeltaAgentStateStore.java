@@ -0,0 +1,354 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import io.agentscope.core.message.Msg;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link AgentStateStore} decorator that persists {@code agent_state} as a small header plus an
+ * append-only message log, so a turn writes the messages it added instead of the whole context.
+ *
+ * <p>Every {@code agent_state} write is split into:
+ *
+ * <ul>
+ *   <li>a header — the {@link AgentState} with an empty context, written under {@link
+ *       #AGENT_STATE_KEY} (summary, iteration counter, permission/tool/task sub-contexts);
+ *   <li>the context messages, written as a list under {@link #CONTEXT_LOG_KEY} through {@link
+ *       AgentStateStore#saveIfVersionWithLog}, keeping the prefix already stored and appending
+ *       only the changed suffix.
+ * </ul>
+ *
+ * <p>The decorator remembers, per slot, the identity of the messages it last loaded or wrote.
+ * The common prefix between that and the context being saved is kept; everything after it is
+ * rewritten. Appends cost O(new messages); an edit in the middle of the context (compression,
+ * a replaced tool result) truncates the log at the first changed message. Slots it has not seen
+ * rewrite the full log. On a versioning backend the prefix is only kept under a CAS on the header
+ * version it was written or read with; an unconditional save that loses that CAS falls back to a
+ * full rewrite. Because the log is truncated in the same write as the header, it never needs a
+ * separate compaction pass.
+ *
+ * <p>Reads reassemble the state: a header with an empty context is combined with the stored log.
+ * A header that still carries its context (written before the decorator was introduced, or by a
+ * plain store) is returned unchanged and is migrated to the split layout on its next save. All
+ * writers of a slot should therefore use the decorator. On a versioning backend a read racing a
+ * write may pair a header with a newer log; the next CAS save then conflicts and the caller
+ * reloads, as with any stale read.
+ *
+ * <p>Other keys pass through to the delegate unchanged.
+ *
+ * <pre>{@code
+ * AgentStateStore store = new DeltaAgentStateStore(new JsonFileAgentStateStore(dir));
+ * ReActAgent agent = ReActAgent.builder().stateStore(store) ... .build();
+ * }</pre>
+ *
+ * <p><b>Thread Safety:</b> this class is thread-safe if the delegate is.
+ */
+public final class DeltaAgentStateStore implements AgentStateStore {
+
+    /** Key of the agent state header. */
+    public static final String AGENT_STATE_KEY = "agent_state";
+
+    /** Key of the context message log. */
+    public static final String CONTEXT_LOG_KEY = "agent_state_context";
+
+    /** Default number of slots whose persisted context is remembered. */
+    public static final int DEFAULT_MAX_TRACKED_SLOTS = 10_000;
+
+    private final AgentStateStore delegate;
+
+    /** slot → the messages and version last loaded from or written to the log. */
+    private final Map<String, Persisted> persisted;
+
+    /**
+     * Wrap {@code delegate}, remembering up to {@link #DEFAULT_MAX_TRACKED_SLOTS} slots.
+     *
+     * @param delegate the backing store; must {@link AgentStateStore#supportsAppendLog() support
+     *     append logs}
+     */
+    public DeltaAgentStateStore(AgentStateStore delegate) {
+        this(delegate, DEFAULT_MAX_TRACKED_SLOTS);
+    }
+
+    /**
+     * Wrap {@code delegate}, remembering up to {@code maxTrackedSlots} slots. A slot that has been
+     * forgotten rewrites its full log on the next save.
+     *
+     * @param delegate the backing store; must {@link AgentStateStore#supportsAppendLog() support
+     *     append logs}
+     * @param maxTrackedSlots number of slots to remember; must be positive
+     */
+    public DeltaAgentStateStore(AgentStateStore delegate, int maxTrackedSlots) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (!delegate.supportsAppendLog()) {
+            throw new IllegalArgumentException(
+                    delegate.getClass().getSimpleName() + " does not support append logs");
+        }
+        if (maxTrackedSlots <= 0) {
+            throw new IllegalArgumentException("maxTrackedSlots must be positive");
+        }
+        this.persisted =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Persisted> eldest) {
+                        return size() > maxTrackedSlots;
+                    }
+                };
+    }
+
+    /** Returns the wrapped store. */
+    public AgentStateStore getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void save(String userId, String sessionId, String key, State value) {
+        if (AGENT_STATE_KEY.equals(key) && value instanceof AgentState state) {
+            saveSplit(userId, sessionId, state, UNVERSIONED);
+            return;
+        }
+        delegate.save(userId, sessionId, key, value);
+    }
+
+    @Override
+    public boolean supportsVersioning() {
+        return delegate.supportsVersioning();
+    }
+
+    @Override
+    public <T extends State> VersionedState<T> getVersioned(
+            String userId, String sessionId, String key, Class<T> type) {
+        VersionedState<T> stored = delegate.getVersioned(userId, sessionId, key, type);
+        if (!AGENT_STATE_KEY.equals(key) || !(stored.value() instanceof AgentState header)) {
+            return stored;
+        }
+        return new VersionedState<>(
+                type.cast(assemble(userId, sessionId, header, stored.version())), stored.version());
+    }
+
+    @Override
+    public long saveIfVersion(
+            String userId, String sessionId, String key, State value, long expectedVersion) {
+        if (AGENT_STATE_KEY.equals(key) && value instanceof AgentState state) {
+            return saveSplit(userId, sessionId, state, expectedVersion);
+        }
+        return delegate.saveIfVersion(userId, sessionId, key, value, expectedVersion);
+    }
+
+    @Override
+    public boolean supportsAppendLog() {
+        return true;
+    }
+
+    @Override
+    public long saveIfVersionWithLog(
+            String userId,
+            String sessionId,
+            String key,
+            State value,
+            long expectedVersion,
+            String logKey,
+            int logOffset,
+            List<? extends State> logTail) {
+        return delegate.saveIfVersionWithLog(
+                userId, sessionId, key, value, expectedVersion, logKey, logOffset, logTail);
+    }
+
+    @Override
+    public void save(String userId, String sessionId, String key, List<? extends State> values) {
+        delegate.save(userId, sessionId, key, values);
+    }
+
+    @Override
+    public <T extends State> Optional<T> get(
+            String userId, String sessionId, String key, Class<T> type) {
+        Optional<T> stored = delegate.get(userId, sessionId, key, type);
+        if (!AGENT_STATE_KEY.equals(key) || !(stored.orElse(null) instanceof AgentState header)) {
+            return stored;
+        }
+        return Optional.of(type.cast(assemble(userId, sessionId, header, UNVERSIONED)));
+    }
+
+    @Override
+    public <T extends State> List<T> getList(
+            String userId, String sessionId, String key, Class<T> itemType) {
+        return delegate.getList(userId, sessionId, key, itemType);
+    }
+
+    @Override
+    public boolean exists(String userId, String sessionId) {
+        return delegate.exists(userId, sessionId);
+    }
+
+    @Override
+    public void delete(String userId, String sessionId) {
+        forget(slotKey(userId, sessionId));
+        delegate.delete(userId, sessionId);
+    }
+
+    @Override
+    public void delete(String userId, String sessionId, String key) {
+        if (AGENT_STATE_KEY.equals(key)) {
+            forget(slotKey(userId, sessionId));
+            delegate.delete(userId, sessionId, CONTEXT_LOG_KEY);
+        }
+        delegate.delete(userId, sessionId, key);
+    }
+
+    @Override
+    public Set<String> listSessionIds(String userId) {
+        return delegate.listSessionIds(userId);
+    }
+
+    @Override
+    public void close() {
+        synchronized (persisted) {
+            persisted.clear();
+        }
+        delegate.close();
+    }
+
+    private long saveSplit(
+            String userId, String sessionId, AgentState state, long expectedVersion) {
+        String slot = slotKey(userId, sessionId);
+        List<Msg> context = state.getContext();
+        List<WeakReference<Msg>> written = references(context);
+        AgentState header = state.withContext(List.of());
+        Persisted previous;
+        synchronized (persisted) {
+            previous = persisted.get(slot);
+        }
+        int offset = previous == null ? 0 : previous.keptPrefix(context);
+        long version;
+        if (!delegate.supportsVersioning()) {
+            version = write(userId, sessionId, header, UNVERSIONED, offset, context);
+        } else if (offset > 0
+                && previous.version() != UNVERSIONED
+                && (expectedVersion == UNVERSIONED || expectedVersion == previous.version())) {
+            // The stored log is the one remembered only while the header still has the version
+            // written or read with it, so splice under a CAS on that version.
+            version = write(userId, sessionId, header, previous.version(), offset, context);
+            if (version == UNVERSIONED && expectedVersion == UNVERSIONED) {
+                version = write(userId, sessionId, header, UNVERSIONED, 0, context);
+            }
+        } else {
+            version = write(userId, sessionId, header, expectedVersion, 0, context);
+        }
+        synchronized (persisted) {
+            if (delegate.supportsVersioning() && version == UNVERSIONED) {
+                // CAS conflict: another writer owns the log now.
+                persisted.remove(slot);
+            } else {
+                persisted.put(slot, new Persisted(written, version));
+            }
+        }
+        return version;
+    }
+
+    private long write(
+            String userId,
+            String sessionId,
+            AgentState header,
+            long expectedVersion,
+            int offset,
+            List<Msg> context) {
+        try {
+            return delegate.saveIfVersionWithLog(
+                    userId,
+                    sessionId,
+                    AGENT_STATE_KEY,
+                    header,
+                    expectedVersion,
+                    CONTEXT_LOG_KEY,
+                    offset,
+                    context.subList(offset, context.size()));
+        } catch (IllegalStateException e) {
+            if (offset == 0) {
+                throw e;
+            }
+            // The log is shorter than remembered (deleted or rewritten elsewhere): rewrite it.
+            return delegate.saveIfVersionWithLog(
+                    userId,
+                    sessionId,
+                    AGENT_STATE_KEY,
+                    header,
+                    expectedVersion,
+                    CONTEXT_LOG_KEY,
+                    0,
+                    context);
+        }
+    }
+
+    private AgentState assemble(String userId, String sessionId, AgentState header, long version) {
+        String slot = slotKey(userId, sessionId);
+        if (!header.contextMutable().isEmpty()) {
+            forget(slot);
+            return header;
+        }
+        List<Msg> log = delegate.getList(userId, sessionId, CONTEXT_LOG_KEY, Msg.class);
+        synchronized (persisted) {
+            persisted.put(slot, new Persisted(references(log), version));
+        }
+        return header.withContext(log);
+    }
+
+    private void forget(String slot) {
+        synchronized (persisted) {
+            persisted.remove(slot);
+        }
+    }
+
+    /**
+     * What a slot's log holds: its messages, weakly referenced and compared by identity, and the
+     * header version they were written or read with ({@link #UNVERSIONED} when unknown). A message
+     * no longer referenced by any cached state has been collected and ends the kept prefix, so a
+     * remembered slot never pins a context in memory.
+     */
+    private record Persisted(List<WeakReference<Msg>> messages, long version) {
+
+        int keptPrefix(List<Msg> current) {
+            int limit = Math.min(messages.size(), current.size());
+            int i = 0;
+            while (i < limit) {
+                Msg kept = messages.get(i).get();
+                if (kept == null || kept != current.get(i)) {
+                    break;
+                }
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private static List<WeakReference<Msg>> references(List<Msg> messages) {
+        List<WeakReference<Msg>> references = new ArrayList<>(messages.size());
+        for (Msg message : messages) {
+            references.add(new WeakReference<>(message));
+        }
+        return references;
+    }
+
+    private static String slotKey(String userId, String sessionId) {
+        return (userId == null ? "" : userId) + '/' + sessionId;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.agentscope.core.state;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -99,6 +100,25 @@ public class InMemoryAgentStateStore implements AgentStateStore {
         return data.casSingleState(key, value, expectedVersion);
     }
 
+    @Override
+    public boolean supportsAppendLog() {
+        return true;
+    }
+
+    @Override
+    public long saveIfVersionWithLog(
+            String userId,
+            String sessionId,
+            String key,
+            State value,
+            long expectedVersion,
+            String logKey,
+            int logOffset,
+            List<? extends State> logTail) {
+        SessionData data = lookupOrCreate(userId, sessionId);
+        return data.saveWithLog(key, value, expectedVersion, logKey, logOffset, logTail);
+    }
+
     @Override
     public void save(String userId, String sessionId, String key, List<? extends State> values) {
         SessionData data = lookupOrCreate(userId, sessionId);
@@ -215,6 +235,9 @@ public class InMemoryAgentStateStore implements AgentStateStore {
         private final Map<String, VersionedEntry> singleStates = new ConcurrentHashMap<>();
         private final Map<String, List<State>> listStates = new ConcurrentHashMap<>();
 
+        /** Append logs, mutated in place under this monitor and copied on read. */
+        private final Map<String, ArrayList<State>> logStates = new ConcurrentHashMap<>();
+
         synchronized void setSingleState(String key, State value) {
             VersionedEntry prev = singleStates.get(key);
             long next = prev == null ? 1L : prev.version() + 1L;
@@ -232,6 +255,44 @@ public class InMemoryAgentStateStore implements AgentStateStore {
             return next;
         }
 
+        synchronized long saveWithLog(
+                String key,
+                State value,
+                long expectedVersion,
+                String logKey,
+                int logOffset,
+                List<? extends State> logTail) {
+            ArrayList<State> log = logStates.get(logKey);
+            if (log == null) {
+                List<State> list = listStates.get(logKey);
+                log = list == null ? new ArrayList<>() : new ArrayList<>(list);
+            }
+            if (log.size() < logOffset) {
+                throw new IllegalStateException(
+                        "Log '"
+                                + logKey
+                                + "' holds "
+                                + log.size()
+                                + " items, cannot keep "
+                                + logOffset);
+            }
+            long next;
+            if (expectedVersion == UNVERSIONED) {
+                setSingleState(key, value);
+                next = singleStates.get(key).version();
+            } else {
+                next = casSingleState(key, value, expectedVersion);
+                if (next == UNVERSIONED) {
+                    return UNVERSIONED;
+                }
+            }
+            log.subList(logOffset, log.size()).clear();
+            log.addAll(logTail);
+            listStates.remove(logKey);
+            logStates.put(logKey, log);
+            return next;
+        }
+
         State getSingleState(String key) {
             VersionedEntry entry = singleStates.get(key);
             return entry == null ? null : entry.value();
@@ -245,12 +306,18 @@ public class InMemoryAgentStateStore implements AgentStateStore {
             singleStates.remove(key);
         }
 
-        void setListState(String key, List<? extends State> values) {
+        synchronized void setListState(String key, List<? extends State> values) {
             listStates.put(key, List.copyOf(values));
+            logStates.remove(key);
         }
 
-        List<? extends State> getListState(String key) {
-            return listStates.get(key);
+        synchronized List<? extends State> getListState(String key) {
+            List<State> list = listStates.get(key);
+            if (list != null) {
+                return list;
+            }
+            ArrayList<State> log = logStates.get(key);
+            return log == null ? null : List.copyOf(log);
         }
     }
 }
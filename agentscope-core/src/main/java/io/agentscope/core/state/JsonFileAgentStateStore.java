@@ -32,7 +32,9 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -52,7 +54,7 @@ import reactor.core.scheduler.Schedulers;
  *     &lt;safe(sessionId)&gt;/
  *       agent_state.json
  *       memory_messages.jsonl
- *       memory_messages.hash
+ *       memory_messages.idx
  *   &lt;safe(userId)&gt;/                ← per-user sessions
  *     &lt;safe(sessionId)&gt;/
  *       agent_state.json
@@ -64,7 +66,15 @@ import reactor.core.scheduler.Schedulers;
  * filesystem accepts it.
  *
  * <p>Features: atomic file operations, UTF-8 encoding, graceful handling of missing
- * sessions, hash-based append-or-rewrite for list state.
+ * sessions, index-based append-or-rewrite for list state.
+ *
+ * <p>List state is stored one JSON document per line. Each {@code .jsonl} file has a {@code .idx}
+ * sidecar recording the byte offset and a content hash of every line (see {@link
+ * JsonlListIndex}), so a list save compares the new list against the stored one exactly and
+ * writes only from the first changed item on: appends cost O(new items) and never re-read the
+ * file. Indexes of the most recently used files are also kept in memory. With a memory-mapping
+ * threshold configured, {@link #getList} decodes list files at least that large straight from a
+ * memory mapping using the indexed offsets.
  */
 public class JsonFileAgentStateStore implements AgentStateStore {
 
@@ -74,8 +84,25 @@ public class JsonFileAgentStateStore implements AgentStateStore {
     /** Pattern for file-system safe characters: alphanumeric, underscore, hyphen, dot. */
     private static final Pattern SAFE_FILENAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_\\-.]+$");
 
+    /** {@link #JsonFileAgentStateStore(Path, long)} threshold that never memory-maps. */
+    public static final long MMAP_DISABLED = Long.MAX_VALUE;
+
+    /** Number of list indexes kept in memory. */
+    private static final int MAX_CACHED_INDEXES = 1024;
+
     private final Path rootDirectory;
 
+    private final long mmapThresholdBytes;
+
+    /** list file → index, least recently used first. */
+    private final Map<Path, JsonlListIndex> listIndexes =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, JsonlListIndex> eldest) {
+                    return size() > MAX_CACHED_INDEXES;
+                }
+            };
+
     /**
      * Create a {@code JsonFileAgentStateStore} with the default root:
      * {@code ~/.agentscope/state}.
@@ -90,7 +117,23 @@ public class JsonFileAgentStateStore implements AgentStateStore {
      * @param rootDirectory root directory under which user / session sub-directories live
      */
     public JsonFileAgentStateStore(Path rootDirectory) {
+        this(rootDirectory, MMAP_DISABLED);
+    }
+
+    /**
+     * Create a {@code JsonFileAgentStateStore} rooted at the given directory that reads list
+     * files of at least {@code mmapThresholdBytes} through a memory mapping.
+     *
+     * @param rootDirectory root directory under which user / session sub-directories live
+     * @param mmapThresholdBytes smallest list file, in bytes, read through a memory mapping;
+     *     {@link #MMAP_DISABLED} to always read with a buffered reader
+     */
+    public JsonFileAgentStateStore(Path rootDirectory, long mmapThresholdBytes) {
+        if (mmapThresholdBytes < 0) {
+            throw new IllegalArgumentException("mmapThresholdBytes must not be negative");
+        }
         this.rootDirectory = rootDirectory;
+        this.mmapThresholdBytes = mmapThresholdBytes;
         try {
             Files.createDirectories(rootDirectory);
         } catch (IOException e) {
@@ -112,54 +155,41 @@ public class JsonFileAgentStateStore implements AgentStateStore {
 
     @Override
     public void save(String userId, String sessionId, String key, List<? extends State> values) {
-        Path file = getListPath(userId, sessionId, key);
-        Path hashFile = getHashPath(userId, sessionId, key);
-        ensureDirectoryExists(file.getParent());
-
         try {
-            String currentHash = ListHashUtil.computeHash(values);
-            String storedHash = readHashFile(hashFile);
-            long existingCount = countLines(file);
-            boolean needsFullRewrite =
-                    ListHashUtil.needsFullRewrite(values, storedHash, (int) existingCount);
-            if (needsFullRewrite) {
-                rewriteEntireList(file, values);
-            } else if (values.size() > existingCount) {
-                List<? extends State> newItems = values.subList((int) existingCount, values.size());
-                appendToList(file, newItems);
-            }
-            // else: no change, skip writing
-            writeHashFile(hashFile, currentHash);
+            listIndex(userId, sessionId, key).save(values);
         } catch (IOException e) {
             throw new RuntimeException("Failed to save list: " + key, e);
         }
     }
 
-    private void rewriteEntireList(Path file, List<? extends State> values) throws IOException {
-        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
-        try (BufferedWriter writer =
-                newUtf8ReplacingWriter(
-                        tmp,
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.TRUNCATE_EXISTING,
-                        StandardOpenOption.WRITE)) {
-            for (State item : values) {
-                writer.write(JsonUtils.getJsonCodec().toJson(item));
-                writer.newLine();
-            }
-        }
-        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    @Override
+    public boolean supportsAppendLog() {
+        return true;
     }
 
-    private void appendToList(Path file, List<? extends State> items) throws IOException {
-        try (BufferedWriter writer =
-                newUtf8ReplacingWriter(
-                        file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
-            for (State item : items) {
-                writer.write(JsonUtils.getJsonCodec().toJson(item));
-                writer.newLine();
-            }
+    /**
+     * Splices the log file and then replaces the single state file. The log is appended in place
+     * when nothing has to be truncated; otherwise the kept byte prefix is copied into a fresh file
+     * that replaces the log atomically. The two files are not updated atomically with respect to
+     * each other.
+     */
+    @Override
+    public long saveIfVersionWithLog(
+            String userId,
+            String sessionId,
+            String key,
+            State value,
+            long expectedVersion,
+            String logKey,
+            int logOffset,
+            List<? extends State> logTail) {
+        try {
+            listIndex(userId, sessionId, logKey).splice(logOffset, logTail);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save log: " + logKey, e);
         }
+        save(userId, sessionId, key, value);
+        return UNVERSIONED;
     }
 
     @Override
@@ -185,6 +215,11 @@ public class JsonFileAgentStateStore implements AgentStateStore {
             return List.of();
         }
         try {
+            JsonlListIndex index = listIndex(userId, sessionId, key);
+            long length = Files.size(file);
+            if (length >= mmapThresholdBytes && length <= Integer.MAX_VALUE) {
+                return index.readMapped(itemType);
+            }
             List<T> result = new ArrayList<>();
             try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
                 String line;
@@ -194,6 +229,7 @@ public class JsonFileAgentStateStore implements AgentStateStore {
                     }
                 }
             }
+            index.remember(result);
             return result;
         } catch (IOException e) {
             throw new RuntimeException("Failed to load list: " + key, e);
@@ -208,6 +244,7 @@ public class JsonFileAgentStateStore implements AgentStateStore {
     @Override
     public void delete(String userId, String sessionId) {
         Path dir = getSessionDir(userId, sessionId);
+        forgetIndexes(dir);
         if (Files.exists(dir)) {
             deleteDirectory(dir);
         }
@@ -254,6 +291,7 @@ public class JsonFileAgentStateStore implements AgentStateStore {
                                 if (!Files.exists(rootDirectory)) {
                                     return 0;
                                 }
+                                forgetIndexes(rootDirectory);
                                 int deletedCount = 0;
                                 try (Stream<Path> userDirs = Files.list(rootDirectory)) {
                                     for (Path userDir :
@@ -296,23 +334,22 @@ public class JsonFileAgentStateStore implements AgentStateStore {
         return getSessionDir(userId, sessionId).resolve(key + ".jsonl");
     }
 
-    private Path getHashPath(String userId, String sessionId, String key) {
-        return getSessionDir(userId, sessionId).resolve(key + ".hash");
+    private Path getIndexPath(String userId, String sessionId, String key) {
+        return getSessionDir(userId, sessionId).resolve(key + ".idx");
     }
 
-    private String readHashFile(Path hashFile) {
-        if (!Files.exists(hashFile)) {
-            return null;
-        }
-        try {
-            return Files.readString(hashFile, StandardCharsets.UTF_8).trim();
-        } catch (IOException e) {
-            return null;
+    private JsonlListIndex listIndex(String userId, String sessionId, String key) {
+        Path file = getListPath(userId, sessionId, key);
+        synchronized (listIndexes) {
+            return listIndexes.computeIfAbsent(
+                    file, f -> new JsonlListIndex(f, getIndexPath(userId, sessionId, key)));
         }
     }
 
-    private void writeHashFile(Path hashFile, String hash) throws IOException {
-        atomicWriteString(hashFile, hash);
+    private void forgetIndexes(Path dir) {
+        synchronized (listIndexes) {
+            listIndexes.keySet().removeIf(file -> file.startsWith(dir));
+        }
     }
 
     private static void atomicWriteString(Path file, String content) throws IOException {
@@ -343,17 +380,6 @@ public class JsonFileAgentStateStore implements AgentStateStore {
                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
     }
 
-    private long countLines(Path file) {
-        if (!Files.exists(file)) {
-            return 0;
-        }
-        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
-            return lines.filter(line -> !line.isBlank()).count();
-        } catch (IOException e) {
-            return 0;
-        }
-    }
-
     private void ensureDirectoryExists(Path dir) {
         try {
             Files.createDirectories(dir);
@@ -0,0 +1,478 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.util.JsonUtils;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sidecar index of a JSONL list file written by {@link JsonFileAgentStateStore}.
+ *
+ * <p>For every entry of the data file the index records the byte offset where the entry's line
+ * ends and a 64-bit hash of the line's content. It is kept in memory and in a small binary file
+ * next to the data file:
+ *
+ * <pre>
+ * int  magic, int format version          (header)
+ * long end offset, long content hash      (one record per entry, appended)
+ * </pre>
+ *
+ * <p>With it, {@link #save} finds the first entry that differs from the stored list exactly —
+ * by content hash, not by sampling — and only writes from there on: appends write the new lines
+ * and index records, and a changed entry copies the unchanged byte prefix into a fresh file
+ * without re-serializing it. {@link Msg} entries whose object was written or read through this
+ * index are recognised by identity without being serialized again; other states may be changed in
+ * place, so they are always encoded and compared by content hash.
+ *
+ * <p>The index is trusted only while the data file has the length it recorded. Otherwise (a
+ * crash between the data and the index write, an external edit, a legacy file without index)
+ * it is rebuilt with one scan of the data file.
+ *
+ * <p><b>Thread Safety:</b> all methods are synchronized on the index.
+ */
+final class JsonlListIndex {
+
+    private static final int MAGIC = 0x4A4C4958;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_BYTES = 16;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Path dataFile;
+    private final Path indexFile;
+
+    private int size;
+    private long[] ends = new long[16];
+    private long[] hashes = new long[16];
+
+    /**
+     * {@link Msg} last written or read per entry, weakly referenced and compared by identity;
+     * {@code null} = unknown or not a message.
+     */
+    private WeakReference<?>[] known = new WeakReference<?>[16];
+
+    private boolean loaded;
+
+    JsonlListIndex(Path dataFile, Path indexFile) {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+    }
+
+    /** Number of entries in the data file. */
+    synchronized int size() throws IOException {
+        ensureCurrent();
+        return size;
+    }
+
+    /**
+     * Replace the stored list with {@code values}, writing only from the first entry that differs.
+     */
+    synchronized void save(List<? extends State> values) throws IOException {
+        ensureCurrent();
+        byte[][] encoded = new byte[values.size()][];
+        int limit = Math.min(size, values.size());
+        int keep = 0;
+        while (keep < limit) {
+            State value = values.get(keep);
+            if (isKnown(keep, value)) {
+                keep++;
+                continue;
+            }
+            byte[] line = encode(value);
+            encoded[keep] = line;
+            if (hash(line, line.length - 1) != hashes[keep]) {
+                break;
+            }
+            remember(keep, value);
+            keep++;
+        }
+        if (keep == size && keep == values.size()) {
+            return;
+        }
+        write(
+                keep,
+                values.subList(keep, values.size()),
+                Arrays.copyOfRange(encoded, keep, values.size()));
+    }
+
+    /**
+     * Truncate the list to {@code offset} entries and append {@code tail}.
+     *
+     * @throws IllegalStateException if the list holds fewer than {@code offset} entries
+     */
+    synchronized void splice(int offset, List<? extends State> tail) throws IOException {
+        ensureCurrent();
+        if (size < offset) {
+            throw new IllegalStateException(
+                    "Log "
+                            + dataFile.getFileName()
+                            + " holds "
+                            + size
+                            + " items, cannot keep "
+                            + offset);
+        }
+        if (offset == size && tail.isEmpty()) {
+            return;
+        }
+        write(offset, tail, new byte[tail.size()][]);
+    }
+
+    /**
+     * Record that {@code values}, just read from the data file, are the objects for its entries,
+     * so saving them back is recognised without serializing them.
+     */
+    synchronized void remember(List<? extends State> values) throws IOException {
+        ensureCurrent();
+        if (values.size() != size) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            remember(i, values.get(i));
+        }
+    }
+
+    /**
+     * Read every entry through a memory mapping of the data file, decoding each line in place
+     * at its indexed offsets. The caller must ensure the file is smaller than 2 GiB.
+     */
+    synchronized <T extends State> List<T> readMapped(Class<T> itemType) throws IOException {
+        ensureCurrent();
+        List<T> result = new ArrayList<>(size);
+        if (size == 0) {
+            return result;
+        }
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, ends[size - 1]);
+            long start = 0;
+            for (int i = 0; i < size; i++) {
+                int from = (int) start;
+                int to = (int) ends[i];
+                while (from < to && isBlankByte(buffer.get(from))) {
+                    from++;
+                }
+                while (to > from && isBlankByte(buffer.get(to - 1))) {
+                    to--;
+                }
+                String line =
+                        StandardCharsets.UTF_8.decode(buffer.slice(from, to - from)).toString();
+                T item = JsonUtils.getJsonCodec().fromJson(line, itemType);
+                result.add(item);
+                remember(i, item);
+                start = ends[i];
+            }
+        }
+        return result;
+    }
+
+    /** Drop the in-memory copy; the next call reloads it from disk. */
+    synchronized void invalidate() {
+        loaded = false;
+    }
+
+    /**
+     * Keep the first {@code keep} entries and write {@code tail} after them. Appends in place when
+     * nothing is dropped; otherwise copies the kept byte prefix into a new file that atomically
+     * replaces the data file. {@code encoded} holds tail lines already serialized, or nulls.
+     */
+    private void write(int keep, List<? extends State> tail, byte[][] encoded) throws IOException {
+        try {
+            doWrite(keep, tail, encoded);
+        } catch (IOException | RuntimeException e) {
+            // The in-memory records may be ahead of the files; reload them on next use.
+            loaded = false;
+            throw e;
+        }
+    }
+
+    private void doWrite(int keep, List<? extends State> tail, byte[][] encoded)
+            throws IOException {
+        boolean append = keep == size;
+        long prefix = keep == 0 ? 0 : ends[keep - 1];
+        int newSize = keep + tail.size();
+        ensureCapacity(newSize);
+        long offset = prefix;
+        List<byte[]> lines = new ArrayList<>(tail.size());
+        for (int j = 0; j < tail.size(); j++) {
+            State value = tail.get(j);
+            byte[] line = encoded[j] != null ? encoded[j] : encode(value);
+            lines.add(line);
+            offset += line.length;
+            ends[keep + j] = offset;
+            hashes[keep + j] = hash(line, line.length - 1);
+            remember(keep + j, value);
+        }
+        Files.createDirectories(dataFile.getParent());
+        if (append) {
+            try (FileChannel channel =
+                    FileChannel.open(
+                            dataFile,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.APPEND)) {
+                for (byte[] line : lines) {
+                    writeFully(channel, ByteBuffer.wrap(line));
+                }
+            }
+        } else {
+            Path tmp = dataFile.resolveSibling(dataFile.getFileName() + ".tmp");
+            try (FileChannel source = FileChannel.open(dataFile, StandardOpenOption.READ);
+                    FileChannel target =
+                            FileChannel.open(
+                                    tmp,
+                                    StandardOpenOption.CREATE,
+                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                    StandardOpenOption.WRITE)) {
+                long copied = 0;
+                while (copied < prefix) {
+                    copied += source.transferTo(copied, prefix - copied, target);
+                }
+                for (byte[] line : lines) {
+                    writeFully(target, ByteBuffer.wrap(line));
+                }
+            }
+            Files.move(
+                    tmp,
+                    dataFile,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        size = newSize;
+        if (append) {
+            appendIndexRecords(keep);
+        } else {
+            rewriteIndexFile();
+        }
+    }
+
+    private void ensureCurrent() throws IOException {
+        long length = Files.exists(dataFile) ? Files.size(dataFile) : 0L;
+        if (loaded && length == dataLength()) {
+            return;
+        }
+        if (!readIndexFile(length)) {
+            scanDataFile();
+            if (Files.exists(dataFile)) {
+                rewriteIndexFile();
+            }
+        }
+        loaded = true;
+    }
+
+    private long dataLength() {
+        return size == 0 ? 0L : ends[size - 1];
+    }
+
+    private boolean readIndexFile(long dataLength) throws IOException {
+        clear();
+        if (!Files.exists(indexFile)) {
+            return dataLength == 0;
+        }
+        long fileSize = Files.size(indexFile);
+        if (fileSize < HEADER_BYTES || (fileSize - HEADER_BYTES) % RECORD_BYTES != 0) {
+            return false;
+        }
+        int records = (int) ((fileSize - HEADER_BYTES) / RECORD_BYTES);
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return false;
+            }
+            ensureCapacity(records);
+            for (int i = 0; i < records; i++) {
+                ends[i] = in.readLong();
+                hashes[i] = in.readLong();
+            }
+        } catch (EOFException e) {
+            return false;
+        }
+        size = records;
+        if (dataLength() != dataLength) {
+            clear();
+            return false;
+        }
+        return true;
+    }
+
+    private void scanDataFile() throws IOException {
+        clear();
+        if (!Files.exists(dataFile)) {
+            return;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(dataFile))) {
+            byte[] line = new byte[256];
+            int length = 0;
+            boolean blank = true;
+            long offset = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b == '\n') {
+                    if (!blank) {
+                        addScanned(offset, line, length);
+                    }
+                    length = 0;
+                    blank = true;
+                    continue;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = (byte) b;
+                blank &= isBlankByte((byte) b);
+            }
+            if (!blank) {
+                addScanned(offset, line, length);
+            }
+        }
+    }
+
+    private void addScanned(long end, byte[] line, int length) {
+        while (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        ensureCapacity(size + 1);
+        ends[size] = end;
+        hashes[size] = hash(line, length);
+        known[size] = null;
+        size++;
+    }
+
+    private void appendIndexRecords(int from) throws IOException {
+        boolean fresh = !Files.exists(indexFile);
+        ByteBuffer buffer =
+                ByteBuffer.allocate((fresh ? HEADER_BYTES : 0) + (size - from) * RECORD_BYTES);
+        if (fresh) {
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION);
+        }
+        for (int i = from; i < size; i++) {
+            buffer.putLong(ends[i]).putLong(hashes[i]);
+        }
+        buffer.flip();
+        try (FileChannel channel =
+                FileChannel.open(
+                        indexFile,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND)) {
+            writeFully(channel, buffer);
+        }
+    }
+
+    private void rewriteIndexFile() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + size * RECORD_BYTES);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(ends[i]).putLong(hashes[i]);
+        }
+        buffer.flip();
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (FileChannel channel =
+                FileChannel.open(
+                        tmp,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            writeFully(channel, buffer);
+        }
+        Files.move(
+                tmp,
+                indexFile,
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private boolean isKnown(int i, State value) {
+        WeakReference<?> ref = known[i];
+        return ref != null && value instanceof Msg && ref.get() == value;
+    }
+
+    /** Messages are not changed after they are built, so only they are recognised by identity. */
+    private void remember(int i, State value) {
+        known[i] = value instanceof Msg ? new WeakReference<>(value) : null;
+    }
+
+    private void clear() {
+        size = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ends.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ends.length * 2);
+        ends = Arrays.copyOf(ends, grown);
+        hashes = Arrays.copyOf(hashes, grown);
+        known = Arrays.copyOf(known, grown);
+    }
+
+    /** JSON line of {@code value} in UTF-8, ending with {@code '\n'}; bad surrogates become U+FFFD. */
+    private static byte[] encode(State value) throws CharacterCodingException {
+        String json = JsonUtils.getJsonCodec().toJson(value);
+        ByteBuffer bytes =
+                StandardCharsets.UTF_8
+                        .newEncoder()
+                        .replaceWith(new byte[] {(byte) 0xEF, (byte) 0xBF, (byte) 0xBD})
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                        .encode(CharBuffer.wrap(json));
+        byte[] line = new byte[bytes.remaining() + 1];
+        bytes.get(line, 0, line.length - 1);
+        line[line.length - 1] = '\n';
+        return line;
+    }
+
+    /** FNV-1a over the first {@code length} bytes. */
+    private static long hash(byte[] bytes, int length) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < length; i++) {
+            h ^= bytes[i] & 0xff;
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static boolean isBlankByte(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
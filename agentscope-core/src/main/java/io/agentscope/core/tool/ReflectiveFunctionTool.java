@@ -40,6 +40,7 @@ final class ReflectiveFunctionTool extends ToolBase {
 
     private final Object toolObject;
     private final Method method;
+    private final ToolMethodInvoker.BoundMethod boundMethod;
     private final ToolResultConverter customConverter;
     private final ToolMethodInvoker methodInvoker;
     private final Boolean strict;
@@ -54,6 +55,7 @@ final class ReflectiveFunctionTool extends ToolBase {
         super(baseBuilder);
         this.toolObject = toolObject;
         this.method = method;
+        this.boundMethod = ToolMethodInvoker.bind(toolObject, method);
         this.customConverter = customConverter;
         this.methodInvoker = methodInvoker;
         this.strict = strict;
@@ -162,7 +164,7 @@ final class ReflectiveFunctionTool extends ToolBase {
             return Mono.just(
                     ToolResultBlock.suspended(param.getToolUseBlock(), new ToolSuspendException()));
         }
-        return methodInvoker.invokeAsync(toolObject, method, param, customConverter);
+        return methodInvoker.invokeAsync(boundMethod, param, customConverter);
     }
 
     Method getMethod() {
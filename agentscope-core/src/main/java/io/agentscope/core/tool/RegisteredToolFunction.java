@@ -32,6 +32,7 @@ class RegisteredToolFunction {
     private final String mcpClientName; // null for non-MCP tools
     private volatile Map<String, Object>
             presetParameters; // preset parameters for context injection
+    private volatile ToolValidator.CompiledSchema compiledSchema; // lazily compiled input schema
 
     /**
      * Normalizes preset parameters map to ensure non-null return.
@@ -139,4 +140,28 @@ class RegisteredToolFunction {
         }
         return extendedModel.mergeWithBaseSchema(tool.getParameters());
     }
+
+    /**
+     * Validate tool input against the tool's parameter schema.
+     *
+     * <p>The schema is compiled on first use and reused for later calls. It is recompiled if the
+     * tool starts returning a different parameter schema; re-registering the tool creates a new
+     * {@code RegisteredToolFunction} and therefore a fresh cache.
+     *
+     * @param input The raw JSON input of the tool call
+     * @return null if validation passes, or an error message describing the validation failures
+     * @see ToolValidator.CompiledSchema#validate(String)
+     */
+    public String validateInput(String input) {
+        Map<String, Object> parameters = tool.getParameters();
+        if (parameters == null || parameters.isEmpty()) {
+            return null;
+        }
+        ToolValidator.CompiledSchema compiled = compiledSchema;
+        if (compiled == null || !compiled.isCompiledFrom(parameters)) {
+            compiled = ToolValidator.compile(parameters);
+            compiledSchema = compiled;
+        }
+        return compiled.validate(input);
+    }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.tool;
+
+import io.agentscope.core.agent.Agent;
+import io.agentscope.core.agent.RuntimeContext;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.model.ExecutionConfig;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Speculative execution of tool calls whose arguments are complete while the model is still
+ * streaming the rest of its response.
+ *
+ * <p><b>Internal API - Not recommended for external use.</b> One instance covers a single
+ * reasoning round of {@link io.agentscope.core.ReActAgent}: tool calls are {@link #offer offered}
+ * as soon as their argument JSON closes, and at the end of reasoning the final tool calls are
+ * {@link #claim claimed}. A speculative result is reused only if the final call has the same id,
+ * name and arguments as the one that was launched; anything else (a revised call, a call removed
+ * by a hook or middleware, a round that ends without acting) is cancelled by {@link #cancelAll()}
+ * and its result discarded.
+ *
+ * <p>Only tools extending {@link ToolBase} that are both {@link ToolBase#isConcurrencySafe()
+ * concurrency-safe} and {@link ToolBase#isReadOnly() read-only} are launched, so a discarded run
+ * has no observable side effects. External tools and unknown tools are never launched.
+ * Speculative runs go through {@link Toolkit#callTools} and therefore use the same validation,
+ * timeout, retry and tracing as regular execution.
+ *
+ * <p>All methods are thread-safe.
+ */
+public class SpeculativeToolCalls {
+
+    private static final Logger log = LoggerFactory.getLogger(SpeculativeToolCalls.class);
+
+    private final Toolkit toolkit;
+    private final ExecutionConfig executionConfig;
+    private final Agent agent;
+    private final RuntimeContext runtimeContext;
+
+    private final Map<String, Launch> launches = new HashMap<>();
+    private long launchedCount;
+    private long reusedCount;
+    private long discardedCount;
+
+    /** A launched tool call together with its (possibly still pending) result. */
+    private record Launch(
+            ToolUseBlock toolCall, Sinks.One<ToolResultBlock> result, Disposable run) {
+
+        boolean matches(ToolUseBlock other) {
+            return Objects.equals(toolCall.getName(), other.getName())
+                    && Objects.equals(toolCall.getContent(), other.getContent())
+                    && Objects.equals(toolCall.getInput(), other.getInput());
+        }
+    }
+
+    /**
+     * Create a speculative dispatcher bound to one agent call.
+     *
+     * @param toolkit the toolkit used to execute tools
+     * @param executionConfig agent-level tool execution config (may be null)
+     * @param agent the agent making the calls (may be null)
+     * @param runtimeContext the agent-level runtime context (may be null)
+     */
+    public SpeculativeToolCalls(
+            Toolkit toolkit,
+            ExecutionConfig executionConfig,
+            Agent agent,
+            RuntimeContext runtimeContext) {
+        this.toolkit = Objects.requireNonNull(toolkit, "toolkit");
+        this.executionConfig = executionConfig;
+        this.agent = agent;
+        this.runtimeContext = runtimeContext;
+    }
+
+    /**
+     * Whether the tool named {@code toolName} may be executed speculatively.
+     *
+     * @param toolName the tool name
+     * @return {@code true} if the tool is concurrency-safe, read-only and not external
+     */
+    public boolean isEligible(String toolName) {
+        if (toolName == null) {
+            return false;
+        }
+        AgentTool tool = toolkit.getTool(toolName);
+        return tool instanceof ToolBase tb
+                && tb.isConcurrencySafe()
+                && tb.isReadOnly()
+                && !tb.isExternalTool();
+    }
+
+    /**
+     * Launch {@code toolCall} speculatively if its tool is eligible. Offering a call with the same
+     * id but different arguments cancels the earlier launch.
+     *
+     * @param toolCall a tool call whose arguments form a complete JSON object
+     * @param contextView Reactor context to propagate into the tool execution
+     * @return {@code true} if the call was launched (or is already running unchanged)
+     */
+    public synchronized boolean offer(ToolUseBlock toolCall, ContextView contextView) {
+        if (toolCall == null || toolCall.getId() == null || !isEligible(toolCall.getName())) {
+            return false;
+        }
+        Launch existing = launches.get(toolCall.getId());
+        if (existing != null) {
+            if (existing.matches(toolCall)) {
+                return true;
+            }
+            discard(existing);
+        }
+
+        Sinks.One<ToolResultBlock> result = Sinks.one();
+        Disposable run =
+                toolkit.callTools(List.of(toolCall), executionConfig, agent, runtimeContext)
+                        .map(results -> results.get(0))
+                        .contextWrite(ctx -> contextView != null ? ctx.putAll(contextView) : ctx)
+                        .subscribe(result::tryEmitValue, result::tryEmitError);
+        launches.put(toolCall.getId(), new Launch(toolCall, result, run));
+        launchedCount++;
+        log.debug(
+                "Speculatively dispatched tool '{}' (id: {})",
+                toolCall.getName(),
+                toolCall.getId());
+        return true;
+    }
+
+    /**
+     * Offer a tool call without Reactor context propagation.
+     *
+     * @param toolCall a tool call whose arguments form a complete JSON object
+     * @return {@code true} if the call was launched (or is already running unchanged)
+     * @see #offer(ToolUseBlock, ContextView)
+     */
+    public boolean offer(ToolUseBlock toolCall) {
+        return offer(toolCall, Context.empty());
+    }
+
+    /**
+     * Take the speculative result for a final tool call.
+     *
+     * <p>Returns {@code null} when nothing was launched for the call's id, or when the launched
+     * call no longer matches the final one; in the latter case the stale run is cancelled.
+     *
+     * @param toolCall the final tool call produced by reasoning
+     * @return the speculative result, or {@code null} if the call must be executed normally
+     */
+    public synchronized Mono<ToolResultBlock> claim(ToolUseBlock toolCall) {
+        if (toolCall == null || toolCall.getId() == null) {
+            return null;
+        }
+        Launch launch = launches.remove(toolCall.getId());
+        if (launch == null) {
+            return null;
+        }
+        if (!launch.matches(toolCall)) {
+            discard(launch);
+            return null;
+        }
+        reusedCount++;
+        return launch.result().asMono();
+    }
+
+    /** Cancel every launched call that has not been claimed and discard its result. */
+    public synchronized void cancelAll() {
+        for (Launch launch : new ArrayList<>(launches.values())) {
+            discard(launch);
+        }
+        launches.clear();
+    }
+
+    /** Number of tool calls launched speculatively. */
+    public synchronized long getLaunchedCount() {
+        return launchedCount;
+    }
+
+    /** Number of speculative results reused by the final tool calls. */
+    public synchronized long getReusedCount() {
+        return reusedCount;
+    }
+
+    /** Number of speculative runs cancelled or whose results were discarded. */
+    public synchronized long getDiscardedCount() {
+        return discardedCount;
+    }
+
+    private void discard(Launch launch) {
+        launch.run().dispose();
+        launches.remove(launch.toolCall().getId(), launch);
+        discardedCount++;
+        log.debug(
+                "Discarded speculative result for tool '{}' (id: {})",
+                launch.toolCall().getName(),
+                launch.toolCall().getId());
+    }
+}
@@ -17,7 +17,10 @@ package io.agentscope.core.tool;
 
 import io.agentscope.core.agent.Agent;
 import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolResultState;
 import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.metrics.AgentMetrics;
+import io.agentscope.core.metrics.AgentMetricsRegistry;
 import io.agentscope.core.model.ExecutionConfig;
 import io.agentscope.core.shutdown.GracefulShutdownManager;
 import io.agentscope.core.tracing.TracerRegistry;
@@ -199,9 +202,11 @@ class ToolExecutor {
             return Mono.just(ToolResultBlock.error(errorMsg));
         }
 
-        // Validate input against schema
+        // Validate input against schema (compiled once per registered tool)
         String validationError =
-                ToolValidator.validateInput(toolCall.getContent(), tool.getParameters());
+                registered != null && registered.getTool() == tool
+                        ? registered.validateInput(toolCall.getContent())
+                        : ToolValidator.validateInput(toolCall.getContent(), tool.getParameters());
         if (validationError != null) {
             String errorMsg =
                     String.format(
@@ -394,16 +399,38 @@ class ToolExecutor {
         execution = applyShutdownGuard(execution);
 
         // Add tool metadata and error handling
-        return execution
-                .map(result -> result.withIdAndName(toolCall.getId(), toolCall.getName()))
-                .onErrorResume(
-                        e -> {
-                            logger.warn("Tool call failed: {}", toolCall.getName(), e);
-                            String errorMsg = ExceptionUtils.getErrorMessage(e);
-                            return Mono.just(
-                                    ToolResultBlock.error("Tool execution failed: " + errorMsg)
-                                            .withIdAndName(toolCall.getId(), toolCall.getName()));
-                        });
+        Mono<ToolResultBlock> result =
+                execution
+                        .map(block -> block.withIdAndName(toolCall.getId(), toolCall.getName()))
+                        .onErrorResume(
+                                e -> {
+                                    logger.warn("Tool call failed: {}", toolCall.getName(), e);
+                                    String errorMsg = ExceptionUtils.getErrorMessage(e);
+                                    return Mono.just(
+                                            ToolResultBlock.error(
+                                                            "Tool execution failed: " + errorMsg)
+                                                    .withIdAndName(
+                                                            toolCall.getId(), toolCall.getName()));
+                                });
+        return recordMetrics(result, toolCall.getName());
+    }
+
+    private static Mono<ToolResultBlock> recordMetrics(
+            Mono<ToolResultBlock> execution, String toolName) {
+        if (!AgentMetricsRegistry.isEnabled()) {
+            return execution;
+        }
+        AgentMetrics metrics = AgentMetricsRegistry.get();
+        return Mono.defer(
+                () -> {
+                    long start = System.nanoTime();
+                    return execution.doOnNext(
+                            block ->
+                                    metrics.recordToolCall(
+                                            toolName,
+                                            System.nanoTime() - start,
+                                            block.getState() != ToolResultState.ERROR));
+                });
     }
 
     // ==================== Infrastructure Methods ====================
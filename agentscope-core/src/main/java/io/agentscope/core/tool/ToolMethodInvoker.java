@@ -23,7 +23,12 @@ import io.agentscope.core.message.ToolResultBlock;
 import io.agentscope.core.state.AgentState;
 import io.agentscope.core.util.ExceptionUtils;
 import io.agentscope.core.util.JsonUtils;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -33,7 +38,12 @@ import reactor.core.publisher.Mono;
 
 /**
  * Invokes tool methods with type conversion and error handling.
- * This class handles reflection-based method invocation and parameter conversion.
+ *
+ * <p>Methods registered through {@link Toolkit} are {@link #bind bound} once at registration
+ * time: parameter resolvers are precomputed from the method signature and the method is invoked
+ * through a {@link MethodHandle}. Methods whose handle cannot be created, or calls whose
+ * arguments do not fit the declared parameter types, go through core reflection instead, so
+ * results and error messages are the same on both paths.
  */
 class ToolMethodInvoker {
 
@@ -43,9 +53,149 @@ class ToolMethodInvoker {
         this.defaultConverter = resultConverter;
     }
 
+    /** How a tool method delivers its result. */
+    private enum ReturnKind {
+        SYNC,
+        FUTURE,
+        MONO
+    }
+
+    /** Produces one method argument from the tool call. */
+    @FunctionalInterface
+    private interface ArgumentResolver {
+        Object resolve(
+                Map<String, Object> input,
+                Agent agent,
+                RuntimeContext runtimeContext,
+                ToolEmitter emitter);
+    }
+
+    /**
+     * A tool method prepared for repeated invocation: one argument resolver per parameter, the
+     * result type handed to the converter, and a direct invoker when one could be created.
+     */
+    static final class BoundMethod {
+
+        private final Object toolObject;
+        private final Method method;
+        private final ArgumentResolver[] resolvers;
+        private final ReturnKind returnKind;
+        private final Type resultType;
+        private final MethodHandle handle; // (Object[])Object, or null to use reflection
+        private final Class<?>[] argumentTypes; // boxed parameter types, for the fit check
+        private final boolean[] primitive;
+
+        private BoundMethod(Object toolObject, Method method, boolean direct) {
+            this.toolObject = toolObject;
+            this.method = method;
+
+            Parameter[] parameters = method.getParameters();
+            this.resolvers = new ArgumentResolver[parameters.length];
+            this.argumentTypes = new Class<?>[parameters.length];
+            this.primitive = new boolean[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                resolvers[i] = resolverFor(parameters[i]);
+                Class<?> type = parameters[i].getType();
+                primitive[i] = type.isPrimitive();
+                argumentTypes[i] =
+                        primitive[i] ? MethodType.methodType(type).wrap().returnType() : type;
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == CompletableFuture.class) {
+                this.returnKind = ReturnKind.FUTURE;
+                this.resultType = extractGenericType(method);
+            } else if (returnType == Mono.class) {
+                this.returnKind = ReturnKind.MONO;
+                this.resultType = extractGenericType(method);
+            } else {
+                this.returnKind = ReturnKind.SYNC;
+                this.resultType = method.getGenericReturnType();
+            }
+
+            this.handle = direct ? createHandle(toolObject, method) : null;
+        }
+
+        /** Whether calls go through a method handle rather than core reflection. */
+        boolean isDirect() {
+            return handle != null;
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        private Object[] resolveArguments(
+                Map<String, Object> input,
+                Agent agent,
+                RuntimeContext runtimeContext,
+                ToolEmitter emitter) {
+            Object[] args = new Object[resolvers.length];
+            for (int i = 0; i < resolvers.length; i++) {
+                args[i] = resolvers[i].resolve(input, agent, runtimeContext, emitter);
+            }
+            return args;
+        }
+
+        /**
+         * Invoke the method. Exceptions thrown by the method are wrapped in {@link
+         * InvocationTargetException} on both paths, as {@link Method#invoke} does.
+         */
+        private Object invoke(Object[] args) throws Exception {
+            if (handle != null && argumentsFit(args)) {
+                try {
+                    return (Object) handle.invokeExact(args);
+                } catch (Throwable t) {
+                    throw new InvocationTargetException(t);
+                }
+            }
+            method.setAccessible(true);
+            return method.invoke(toolObject, args);
+        }
+
+        private boolean argumentsFit(Object[] args) {
+            for (int i = 0; i < args.length; i++) {
+                Object arg = args[i];
+                if (arg == null ? primitive[i] : !argumentTypes[i].isInstance(arg)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static MethodHandle createHandle(Object toolObject, Method method) {
+            try {
+                method.setAccessible(true);
+                MethodHandle mh = MethodHandles.lookup().unreflect(method).asFixedArity();
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    mh = mh.bindTo(toolObject);
+                }
+                return mh.asSpreader(Object[].class, method.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (RuntimeException | IllegalAccessException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Prepare {@code method} for repeated invocation on {@code toolObject}.
+     *
+     * @param toolObject the object containing the method (ignored for static methods)
+     * @param method the tool method
+     * @return the bound method; uses reflection if no method handle can be created
+     */
+    static BoundMethod bind(Object toolObject, Method method) {
+        return new BoundMethod(toolObject, method, true);
+    }
+
     /**
      * Invoke tool method asynchronously with custom converter support.
      *
+     * <p>Parameters are resolved from the method signature on every call and the method is
+     * invoked through core reflection. Registered tools use {@link #invokeAsync(BoundMethod,
+     * ToolCallParam, ToolResultConverter)} instead.
+     *
      * @param toolObject the object containing the method
      * @param method the method to invoke
      * @param param the tool call parameters containing input, toolUseBlock, agent, and context
@@ -57,6 +207,19 @@ class ToolMethodInvoker {
             Method method,
             ToolCallParam param,
             ToolResultConverter customConverter) {
+        return invokeAsync(new BoundMethod(toolObject, method, false), param, customConverter);
+    }
+
+    /**
+     * Invoke a bound tool method asynchronously with custom converter support.
+     *
+     * @param bound the method prepared by {@link #bind}
+     * @param param the tool call parameters containing input, toolUseBlock, agent, and context
+     * @param customConverter custom converter for this invocation (null to use default)
+     * @return Mono containing ToolResultBlock
+     */
+    Mono<ToolResultBlock> invokeAsync(
+            BoundMethod bound, ToolCallParam param, ToolResultConverter customConverter) {
         // Use custom converter if provided, otherwise use default
         final ToolResultConverter converter =
                 customConverter != null ? customConverter : defaultConverter;
@@ -65,67 +228,61 @@ class ToolMethodInvoker {
         Agent agent = param.getAgent();
         RuntimeContext runtimeContext = param.getRuntimeContext();
         ToolEmitter emitter = param.getEmitter();
-
-        Class<?> returnType = method.getReturnType();
-
-        if (returnType == CompletableFuture.class) {
-            // Async method returning CompletableFuture: invoke and convert to Mono
-            return Mono.fromCallable(
-                            () -> {
-                                method.setAccessible(true);
-                                Object[] args =
-                                        convertParameters(
-                                                method, input, agent, runtimeContext, emitter);
-                                @SuppressWarnings("unchecked")
-                                CompletableFuture<Object> future =
-                                        (CompletableFuture<Object>) method.invoke(toolObject, args);
-                                return future;
-                            })
-                    .flatMap(
-                            future ->
-                                    Mono.fromFuture(future)
-                                            .map(
-                                                    r ->
-                                                            converter.convert(
-                                                                    r, extractGenericType(method)))
-                                            .onErrorResume(this::handleError))
-                    .onErrorResume(this::handleError);
-
-        } else if (returnType == Mono.class) {
-            // Async method returning Mono: invoke and flatMap
-            return Mono.fromCallable(
-                            () -> {
-                                method.setAccessible(true);
-                                Object[] args =
-                                        convertParameters(
-                                                method, input, agent, runtimeContext, emitter);
-                                @SuppressWarnings("unchecked")
-                                Mono<Object> mono = (Mono<Object>) method.invoke(toolObject, args);
-                                return mono;
-                            })
-                    .flatMap(
-                            mono ->
-                                    mono.map(r -> converter.convert(r, extractGenericType(method)))
-                                            .onErrorResume(this::handleError))
-                    .onErrorResume(this::handleError);
-
-        } else {
-            // Sync method: wrap in Mono.fromCallable
-            return Mono.fromCallable(
-                            () -> {
-                                method.setAccessible(true);
-                                Object[] args =
-                                        convertParameters(
-                                                method, input, agent, runtimeContext, emitter);
-                                Object result = method.invoke(toolObject, args);
-                                return converter.convert(result, method.getGenericReturnType());
-                            })
-                    .onErrorResume(this::handleError);
+        Type resultType = bound.resultType;
+
+        switch (bound.returnKind) {
+            case FUTURE:
+                // Async method returning CompletableFuture: invoke and convert to Mono
+                return Mono.fromCallable(
+                                () -> {
+                                    Object[] args =
+                                            bound.resolveArguments(
+                                                    input, agent, runtimeContext, emitter);
+                                    @SuppressWarnings("unchecked")
+                                    CompletableFuture<Object> future =
+                                            (CompletableFuture<Object>) bound.invoke(args);
+                                    return future;
+                                })
+                        .flatMap(
+                                future ->
+                                        Mono.fromFuture(future)
+                                                .map(r -> converter.convert(r, resultType))
+                                                .onErrorResume(this::handleError))
+                        .onErrorResume(this::handleError);
+
+            case MONO:
+                // Async method returning Mono: invoke and flatMap
+                return Mono.fromCallable(
+                                () -> {
+                                    Object[] args =
+                                            bound.resolveArguments(
+                                                    input, agent, runtimeContext, emitter);
+                                    @SuppressWarnings("unchecked")
+                                    Mono<Object> mono = (Mono<Object>) bound.invoke(args);
+                                    return mono;
+                                })
+                        .flatMap(
+                                mono ->
+                                        mono.map(r -> converter.convert(r, resultType))
+                                                .onErrorResume(this::handleError))
+                        .onErrorResume(this::handleError);
+
+            default:
+                // Sync method: wrap in Mono.fromCallable
+                return Mono.fromCallable(
+                                () -> {
+                                    Object[] args =
+                                            bound.resolveArguments(
+                                                    input, agent, runtimeContext, emitter);
+                                    Object result = bound.invoke(args);
+                                    return converter.convert(result, resultType);
+                                })
+                        .onErrorResume(this::handleError);
         }
     }
 
     /**
-     * Convert input parameters to method arguments with automatic injection support.
+     * Build the resolver for one method parameter, with automatic injection support.
      *
      * <p>This method handles automatic injection of framework-managed objects:
      * <ul>
@@ -139,62 +296,44 @@ class ToolMethodInvoker {
      * <p>Parameters without {@link ToolParam} annotation are treated as auto-injected types.
      * Parameters with {@link ToolParam} are converted from the input map.
      *
-     * @param method the method
-     * @param input the input map
-     * @param agent the agent for Agent injection (may be null)
-     * @param runtimeContext the runtime context for injection (may be null)
-     * @param emitter the tool emitter for ToolEmitter injection (may be null)
-     * @return array of converted arguments
+     * @param param the method parameter
+     * @return resolver producing the argument for each call
      */
-    private Object[] convertParameters(
-            Method method,
-            Map<String, Object> input,
-            Agent agent,
-            RuntimeContext runtimeContext,
-            ToolEmitter emitter) {
-        Parameter[] parameters = method.getParameters();
-
-        if (parameters.length == 0) {
-            return new Object[0];
-        }
-
-        Object[] args = new Object[parameters.length];
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter param = parameters[i];
+    private static ArgumentResolver resolverFor(Parameter param) {
+        Class<?> type = param.getType();
 
-            // Special handling: inject ToolEmitter automatically
-            if (param.getType() == ToolEmitter.class) {
-                args[i] = emitter;
-            }
-            // Special handling: inject Agent automatically
-            else if (param.getType() == Agent.class) {
-                args[i] = agent;
-            }
-            // Special handling: inject AgentState (matches @Tool(stateInjected=true)). Prefer the
-            // call-scoped state carried on the RuntimeContext (concurrency-safe) and fall back to
-            // the agent's current state only when the context does not carry one.
-            else if (param.getType() == AgentState.class) {
+        // Special handling: inject ToolEmitter automatically
+        if (type == ToolEmitter.class) {
+            return (input, agent, runtimeContext, emitter) -> emitter;
+        }
+        // Special handling: inject Agent automatically
+        if (type == Agent.class) {
+            return (input, agent, runtimeContext, emitter) -> agent;
+        }
+        // Special handling: inject AgentState (matches @Tool(stateInjected=true)). Prefer the
+        // call-scoped state carried on the RuntimeContext (concurrency-safe) and fall back to
+        // the agent's current state only when the context does not carry one.
+        if (type == AgentState.class) {
+            return (input, agent, runtimeContext, emitter) -> {
                 AgentState rcState = runtimeContext != null ? runtimeContext.getAgentState() : null;
-                args[i] =
-                        rcState != null ? rcState : (agent != null ? agent.getAgentState() : null);
-            }
-            // Inject RuntimeContext directly
-            else if (param.getType() == RuntimeContext.class) {
-                args[i] = runtimeContext;
-            }
-            // Deprecated: inject ToolExecutionContext (bridge from RuntimeContext)
-            else if (param.getType() == ToolExecutionContext.class) {
-                args[i] = runtimeContext != null ? runtimeContext.asToolExecutionContext() : null;
-            }
-            // User-defined POJO: try to resolve from RuntimeContext
-            else if (isUserContextPojo(param)) {
-                args[i] = resolveContextParameter(param, runtimeContext);
-            } else {
-                args[i] = convertSingleParameter(param, input);
-            }
+                return rcState != null ? rcState : (agent != null ? agent.getAgentState() : null);
+            };
         }
-
-        return args;
+        // Inject RuntimeContext directly
+        if (type == RuntimeContext.class) {
+            return (input, agent, runtimeContext, emitter) -> runtimeContext;
+        }
+        // Deprecated: inject ToolExecutionContext (bridge from RuntimeContext)
+        if (type == ToolExecutionContext.class) {
+            return (input, agent, runtimeContext, emitter) ->
+                    runtimeContext != null ? runtimeContext.asToolExecutionContext() : null;
+        }
+        // User-defined POJO: try to resolve from RuntimeContext
+        if (isUserContextPojo(param)) {
+            return (input, agent, runtimeContext, emitter) ->
+                    resolveContextParameter(type, runtimeContext);
+        }
+        return inputParameterResolver(param);
     }
 
     /**
@@ -215,7 +354,7 @@ class ToolMethodInvoker {
      * @param param The parameter to check
      * @return true if the parameter should be resolved from context as user POJO
      */
-    private boolean isUserContextPojo(Parameter param) {
+    private static boolean isUserContextPojo(Parameter param) {
         // 1. Explicitly annotated with @ToolParam → tool input from LLM
         if (param.getAnnotation(ToolParam.class) != null) {
             return false;
@@ -252,13 +391,12 @@ class ToolMethodInvoker {
     /**
      * Resolve a context parameter from RuntimeContext.
      *
-     * @param param The parameter to resolve
+     * @param targetType The parameter type to resolve
      * @param runtimeContext The runtime context (may be null)
      * @return Resolved parameter value, or null if resolution fails
      */
-    private Object resolveContextParameter(Parameter param, RuntimeContext runtimeContext) {
-        Class<?> targetType = param.getType();
-
+    private static Object resolveContextParameter(
+            Class<?> targetType, RuntimeContext runtimeContext) {
         if (runtimeContext != null) {
             Object value = runtimeContext.get(targetType);
             if (value != null) {
@@ -274,44 +412,46 @@ class ToolMethodInvoker {
     }
 
     /**
-     * Convert a single parameter from input map.
+     * Resolver for a parameter supplied by the model through the input map. Name, raw type and
+     * generic type are read from the {@link Parameter} once.
      *
      * @param parameter the parameter to convert
-     * @param input the input map
-     * @return converted parameter value
+     * @return resolver that converts the named input value to the parameter type
      */
-    private Object convertSingleParameter(Parameter parameter, Map<String, Object> input) {
+    private static ArgumentResolver inputParameterResolver(Parameter parameter) {
         // First check for @ToolParam annotation to get explicit parameter name
-        String paramName = parameter.getName(); // fallback to reflection name
+        String reflectedName = parameter.getName(); // fallback to reflection name
         ToolParam toolParamAnnotation = parameter.getAnnotation(ToolParam.class);
-        if (toolParamAnnotation != null && !toolParamAnnotation.name().isEmpty()) {
-            paramName = toolParamAnnotation.name();
-        }
-
-        Object value = input.get(paramName);
-
-        if (value == null) {
-            return null;
-        }
-
+        String paramName =
+                toolParamAnnotation != null && !toolParamAnnotation.name().isEmpty()
+                        ? toolParamAnnotation.name()
+                        : reflectedName;
         Class<?> rawType = parameter.getType();
         Type paramType = parameter.getParameterizedType();
+        boolean parameterized = paramType instanceof ParameterizedType;
 
-        // Direct assignment only if:
-        // 1. Raw types match, AND
-        // 2. The parameter is not a parameterized type (no generic info to preserve)
-        if (rawType.isAssignableFrom(value.getClass())
-                && !(paramType instanceof ParameterizedType)) {
-            return value;
-        }
+        return (input, agent, runtimeContext, emitter) -> {
+            Object value = input.get(paramName);
 
-        // Use JsonCodec conversion with full type information to preserve generics.
-        try {
-            return JsonUtils.getJsonCodec().convertValue(value, paramType);
-        } catch (Exception e) {
-            // Fallback to string-based conversion for primitives
-            return convertFromString(value.toString(), rawType);
-        }
+            if (value == null) {
+                return null;
+            }
+
+            // Direct assignment only if:
+            // 1. Raw types match, AND
+            // 2. The parameter is not a parameterized type (no generic info to preserve)
+            if (!parameterized && rawType.isAssignableFrom(value.getClass())) {
+                return value;
+            }
+
+            // Use JsonCodec conversion with full type information to preserve generics.
+            try {
+                return JsonUtils.getJsonCodec().convertValue(value, paramType);
+            } catch (Exception e) {
+                // Fallback to string-based conversion for primitives
+                return convertFromString(value.toString(), rawType);
+            }
+        };
     }
 
     /**
@@ -321,7 +461,7 @@ class ToolMethodInvoker {
      * @param targetType the target type
      * @return converted value
      */
-    private Object convertFromString(String stringValue, Class<?> targetType) {
+    private static Object convertFromString(String stringValue, Class<?> targetType) {
         if (targetType == Integer.class || targetType == int.class) {
             return Integer.parseInt(stringValue);
         } else if (targetType == Long.class || targetType == long.class) {
@@ -385,7 +525,7 @@ class ToolMethodInvoker {
      * @param method the method
      * @return the generic type, or null if not found
      */
-    private Type extractGenericType(Method method) {
+    private static Type extractGenericType(Method method) {
         Type genericReturnType = method.getGenericReturnType();
         if (genericReturnType instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType) genericReturnType;
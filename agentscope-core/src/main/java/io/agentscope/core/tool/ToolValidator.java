@@ -75,54 +75,110 @@ public final class ToolValidator {
      * @return null if validation passes, or an error message describing the validation failures
      */
     public static String validateInput(String input, Map<String, Object> schema) {
+        CompiledSchema compiled = compile(schema);
+        return compiled != null ? compiled.validate(input) : null; // No schema, validation passes
+    }
+
+    /**
+     * Compile a tool parameter schema for repeated validation.
+     *
+     * <p>Compilation never throws: a schema that cannot be compiled yields a
+     * {@link CompiledSchema} whose validation always reports the compilation error.
+     *
+     * @param schema The JSON Schema to compile (from tool.getParameters())
+     * @return the compiled schema, or null if {@code schema} is null or empty
+     */
+    public static CompiledSchema compile(Map<String, Object> schema) {
         if (schema == null || schema.isEmpty()) {
-            return null; // No schema, validation passes
+            return null;
         }
-
         try {
-            // Convert schema to JSON string
-            String schemaJson = JsonUtils.getJsonCodec().toJson(schema);
+            JsonNode root = OBJECT_MAPPER.readTree(JsonUtils.getJsonCodec().toJson(schema));
+            return new CompiledSchema(schema, root, SCHEMA_REGISTRY.getSchema(root), null);
+        } catch (Exception e) {
+            return new CompiledSchema(
+                    schema, null, null, "Schema validation error: " + e.getMessage());
+        }
+    }
 
-            // Create Schema from the schema string
-            Schema jsonSchema = SCHEMA_REGISTRY.getSchema(schemaJson);
+    /**
+     * A tool parameter schema parsed and compiled once, together with the parameter map it was
+     * compiled from.
+     */
+    public static final class CompiledSchema {
 
-            String normalizedInput = normalizeOptionalNullFields(input, schemaJson);
+        private final Map<String, Object> source;
+        private final JsonNode root;
+        private final Schema schema;
+        private final String error;
 
-            // Validate
-            List<Error> errors = jsonSchema.validate(normalizedInput, InputFormat.JSON);
+        private CompiledSchema(
+                Map<String, Object> source, JsonNode root, Schema schema, String error) {
+            this.source = source;
+            this.root = root;
+            this.schema = schema;
+            this.error = error;
+        }
 
-            if (errors.isEmpty()) {
-                return null; // Validation passed
+        /**
+         * Whether this schema was compiled from {@code parameters}: the same map instance, or an
+         * equal one. A parameter map mutated in place after compilation is not detected.
+         *
+         * @param parameters the tool's current parameter schema
+         * @return true if this compiled schema is still valid for {@code parameters}
+         */
+        public boolean isCompiledFrom(Map<String, Object> parameters) {
+            return source == parameters || source.equals(parameters);
+        }
+
+        /**
+         * Validate tool input parameters against this schema.
+         *
+         * <p>The input is parsed once; optional properties set to {@code null} are pruned from
+         * the parsed tree, which is then validated directly.
+         *
+         * @param input The input parameters to validate
+         * @return null if validation passes, or an error message describing the validation
+         *     failures
+         * @see ToolValidator#validateInput(String, Map)
+         */
+        public String validate(String input) {
+            if (error != null) {
+                return error;
             }
 
-            // Format error messages, prefixing each with its field path so failures are actionable
-            return errors.stream()
-                    .map(e -> e.getInstanceLocation() + ": " + e.getMessage())
-                    .collect(Collectors.joining("\n"));
+            try {
+                List<Error> errors;
+                if (input == null || input.isBlank()) {
+                    errors = schema.validate(input, InputFormat.JSON);
+                } else {
+                    JsonNode inputRoot = OBJECT_MAPPER.readTree(input);
+                    pruneOptionalNullObjectFields(inputRoot, root, root);
+                    errors = schema.validate(inputRoot);
+                }
+
+                if (errors.isEmpty()) {
+                    return null; // Validation passed
+                }
 
-        } catch (Exception e) {
-            return "Schema validation error: " + e.getMessage();
+                // Format error messages, prefixing each with its field path so failures are
+                // actionable
+                return errors.stream()
+                        .map(e -> e.getInstanceLocation() + ": " + e.getMessage())
+                        .collect(Collectors.joining("\n"));
+
+            } catch (Exception e) {
+                return "Schema validation error: " + e.getMessage();
+            }
         }
     }
 
     /**
-     * Removes null-valued object properties before schema validation.
+     * Removes null-valued optional object properties from the parsed input before validation.
      *
      * <p>This treats explicit nulls the same as omitted optional fields, while still allowing
      * required-field validation to fail naturally after the null-valued property is removed.
      */
-    private static String normalizeOptionalNullFields(String input, String schemaJson)
-            throws Exception {
-        if (input == null || input.isBlank()) {
-            return input;
-        }
-
-        JsonNode root = OBJECT_MAPPER.readTree(input);
-        JsonNode schemaRoot = OBJECT_MAPPER.readTree(schemaJson);
-        pruneOptionalNullObjectFields(root, schemaRoot, schemaRoot);
-        return OBJECT_MAPPER.writeValueAsString(root);
-    }
-
     private static void pruneOptionalNullObjectFields(
             JsonNode inputNode, JsonNode schemaNode, JsonNode schemaRoot) {
         if (inputNode == null || schemaNode == null) {
@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -122,6 +123,15 @@ public class JacksonJsonCodec implements JsonCodec {
         }
     }
 
+    @Override
+    public <T> T fromJson(byte[] json, int offset, int length, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, offset, length, type);
+        } catch (IOException e) {
+            throw new JsonException("Failed to deserialize JSON to " + type.getName(), e);
+        }
+    }
+
     @Override
     public <T> T convertValue(Object from, Class<T> toType) {
         try {
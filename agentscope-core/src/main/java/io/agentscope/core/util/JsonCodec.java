@@ -18,6 +18,7 @@ package io.agentscope.core.util;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Interface for JSON serialization and deserialization operations.
@@ -88,6 +89,25 @@ public interface JsonCodec {
      */
     <T> T fromJson(String json, TypeReference<T> typeRef);
 
+    /**
+     * Deserialize UTF-8 encoded JSON from a byte range to an object of the specified type.
+     *
+     * <p>Implementations backed by a streaming parser should read the range directly instead of
+     * building an intermediate string. The default implementation decodes the range to a string
+     * and delegates to {@link #fromJson(String, Class)}.
+     *
+     * @param json the buffer holding the JSON bytes
+     * @param offset the index of the first JSON byte
+     * @param length the number of JSON bytes
+     * @param type the target class type
+     * @param <T> the type parameter
+     * @return deserialized object
+     * @throws JsonException if deserialization fails
+     */
+    default <T> T fromJson(byte[] json, int offset, int length, Class<T> type) {
+        return fromJson(new String(json, offset, length, StandardCharsets.UTF_8), type);
+    }
+
     /**
      * Convert an object to another type.
      *
@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.agentscope.core.ReActAgent;
+import io.agentscope.core.agent.config.StateCacheConfig;
 import io.agentscope.core.event.AgentEndEvent;
 import io.agentscope.core.event.AgentEvent;
 import io.agentscope.core.event.AgentStartEvent;
@@ -39,6 +40,7 @@ import io.agentscope.core.permission.PermissionContextState;
 import io.agentscope.core.permission.PermissionMode;
 import io.agentscope.core.permission.PermissionRule;
 import io.agentscope.core.state.AgentState;
+import io.agentscope.core.state.AgentStateCache;
 import io.agentscope.core.state.AgentStateStore;
 import io.agentscope.core.state.InMemoryAgentStateStore;
 import io.agentscope.core.state.JsonFileAgentStateStore;
@@ -466,6 +468,97 @@ class ReActAgentPerSessionStateTest {
         }
     }
 
+    @Test
+    @DisplayName("bounded state cache evicts idle sessions and writes them back to the store")
+    void boundedStateCacheWritesBackEvictedSessions(@TempDir Path tempDir) {
+        JsonFileAgentStateStore store = new JsonFileAgentStateStore(tempDir);
+        ReActAgent agent =
+                ReActAgent.builder()
+                        .name("asst")
+                        .sysPrompt("hi")
+                        .model(new NoopModel())
+                        .stateStore(store)
+                        .stateCache(new StateCacheConfig(1, 0L, null))
+                        .build();
+
+        agent.call(
+                        List.of(userMsg("first")),
+                        RuntimeContext.builder().userId("u1").sessionId("sessA").build())
+                .block(Duration.ofSeconds(5));
+        AgentState sessA = agent.getAgentState("u1", "sessA");
+        sessA.contextMutable().add(userMsg("added outside a call"));
+
+        agent.call(
+                        List.of(userMsg("second")),
+                        RuntimeContext.builder().userId("u1").sessionId("sessB").build())
+                .block(Duration.ofSeconds(5));
+
+        AgentStateCache.Stats stats = agent.getStateCacheStats();
+        assertEquals(1, stats.sessions());
+        assertEquals(1, stats.evictions());
+        assertTrue(stats.weightBytes() > 0);
+
+        AgentState reloaded = agent.getAgentState("u1", "sessA");
+        assertNotSame(sessA, reloaded, "evicted session must be reloaded from the store");
+        List<String> texts = allText(reloaded);
+        assertTrue(texts.contains("first"));
+        assertTrue(
+                texts.contains("added outside a call"),
+                "changes made after the last call must be written back on eviction");
+    }
+
+    @Test
+    @DisplayName("evicted state never overwrites a newer version saved elsewhere")
+    void evictionDropsStateOnVersionConflict() {
+        InMemoryAgentStateStore store = new InMemoryAgentStateStore();
+        ReActAgent agent =
+                ReActAgent.builder()
+                        .name("asst")
+                        .sysPrompt("hi")
+                        .model(new NoopModel())
+                        .stateStore(store)
+                        .stateCache(new StateCacheConfig(1, 0L, null))
+                        .build();
+
+        agent.call(
+                        List.of(userMsg("first")),
+                        RuntimeContext.builder().userId("u1").sessionId("sessA").build())
+                .block(Duration.ofSeconds(5));
+        agent.getAgentState("u1", "sessA").contextMutable().add(userMsg("stale local change"));
+
+        AgentState newer = AgentState.builder().userId("u1").sessionId("sessA").build();
+        newer.contextMutable().add(userMsg("saved by another replica"));
+        store.save("u1", "sessA", "agent_state", newer);
+
+        agent.call(
+                        List.of(userMsg("second")),
+                        RuntimeContext.builder().userId("u1").sessionId("sessB").build())
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(1, agent.getStateCacheStats().evictions());
+        assertEquals(1, agent.getStateConflictCount());
+        List<String> texts = allText(agent.getAgentState("u1", "sessA"));
+        assertTrue(texts.contains("saved by another replica"));
+        assertFalse(texts.contains("stale local change"));
+    }
+
+    @Test
+    @DisplayName("unbounded state cache keeps every session")
+    void unboundedStateCacheKeepsSessions() {
+        ReActAgent agent = agent(null);
+
+        AgentState sessA = agent.getAgentState("u1", "sessA");
+        agent.getAgentState("u1", "sessB");
+        agent.cleanUpStateCache();
+
+        assertSame(sessA, agent.getAgentState("u1", "sessA"));
+        AgentStateCache.Stats stats = agent.getStateCacheStats();
+        assertEquals(2, stats.sessions());
+        assertEquals(0, stats.evictions());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.hits());
+    }
+
     private static Msg userMsg(String text) {
         return Msg.builder()
                 .name("user")
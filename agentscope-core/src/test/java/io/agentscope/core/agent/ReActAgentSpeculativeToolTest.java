@@ -0,0 +1,288 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.agent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.ReActAgent;
+import io.agentscope.core.event.AgentEvent;
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.middleware.ActingInput;
+import io.agentscope.core.middleware.MiddlewareBase;
+import io.agentscope.core.model.ChatModelBase;
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.ToolSchema;
+import io.agentscope.core.permission.PermissionContextState;
+import io.agentscope.core.permission.PermissionDecision;
+import io.agentscope.core.tool.ToolBase;
+import io.agentscope.core.tool.ToolCallParam;
+import io.agentscope.core.tool.Toolkit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Speculative tool dispatch: read-only, concurrency-safe tools start while the model is still
+ * streaming, and the acting phase joins the running result instead of executing them again.
+ */
+class ReActAgentSpeculativeToolTest {
+
+    private static final String STARTED = "tool-started-during-stream";
+    private static final String NOT_STARTED = "tool-not-started";
+
+    /**
+     * First call streams a tool call, then holds the rest of the response until the tool has
+     * started (or a timeout elapses) and reports which happened as text. Second call finishes.
+     */
+    private static final class GatedModel extends ChatModelBase {
+        private final CountDownLatch toolStarted;
+        private final long waitMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+        final List<String> gateOutcomes = new ArrayList<>();
+
+        GatedModel(CountDownLatch toolStarted, long waitMillis) {
+            this.toolStarted = toolStarted;
+            this.waitMillis = waitMillis;
+        }
+
+        @Override
+        public String getModelName() {
+            return "gated";
+        }
+
+        @Override
+        protected Flux<ChatResponse> doStream(
+                List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+            if (calls.getAndIncrement() > 0) {
+                return Flux.just(textResponse("done"));
+            }
+            Mono<ChatResponse> gated =
+                    Mono.fromCallable(
+                                    () -> {
+                                        String outcome =
+                                                toolStarted.await(waitMillis, TimeUnit.MILLISECONDS)
+                                                        ? STARTED
+                                                        : NOT_STARTED;
+                                        gateOutcomes.add(outcome);
+                                        return textResponse(outcome);
+                                    })
+                            .subscribeOn(Schedulers.boundedElastic());
+            return Flux.concat(
+                    Flux.just(
+                            toolUseResponse("c1", "search", "{\"query\":"),
+                            toolUseResponse("c1", "__fragment__", "\"alpha\"}")),
+                    gated);
+        }
+    }
+
+    private static ChatResponse textResponse(String text) {
+        return ChatResponse.builder()
+                .content(List.<ContentBlock>of(TextBlock.builder().text(text).build()))
+                .build();
+    }
+
+    private static ChatResponse toolUseResponse(String id, String name, String rawArgs) {
+        return ChatResponse.builder()
+                .content(
+                        List.<ContentBlock>of(
+                                ToolUseBlock.builder()
+                                        .id(id)
+                                        .name(name)
+                                        .input(Map.of())
+                                        .content(rawArgs)
+                                        .build()))
+                .build();
+    }
+
+    private static final class SearchTool extends ToolBase {
+        final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch started;
+
+        SearchTool(boolean readOnly, CountDownLatch started) {
+            super(
+                    ToolBase.builder()
+                            .name("search")
+                            .description("search")
+                            .inputSchema(
+                                    Map.of(
+                                            "type",
+                                            "object",
+                                            "properties",
+                                            Map.of("query", Map.of("type", "string"))))
+                            .readOnly(readOnly)
+                            .concurrencySafe(true));
+            this.started = started;
+        }
+
+        @Override
+        public Mono<PermissionDecision> checkPermissions(
+                Map<String, Object> input, PermissionContextState ctx) {
+            return Mono.just(PermissionDecision.allow("ok"));
+        }
+
+        @Override
+        public Mono<ToolResultBlock> callAsync(ToolCallParam param) {
+            calls.incrementAndGet();
+            started.countDown();
+            return Mono.just(ToolResultBlock.text("search:" + param.getInput().get("query")));
+        }
+    }
+
+    private static List<String> toolResultTexts(ReActAgent agent) {
+        return agent.getAgentState().getContext().stream()
+                .flatMap(m -> m.getContentBlocks(ToolResultBlock.class).stream())
+                .flatMap(r -> r.getOutput().stream())
+                .filter(b -> b instanceof TextBlock)
+                .map(b -> ((TextBlock) b).getText())
+                .toList();
+    }
+
+    private static void run(ReActAgent agent) {
+        List<AgentEvent> events =
+                agent.streamEvents(
+                                List.of(
+                                        Msg.builder()
+                                                .role(MsgRole.USER)
+                                                .textContent("find alpha")
+                                                .build()))
+                        .collectList()
+                        .block();
+        assertTrue(events != null && !events.isEmpty());
+    }
+
+    @Test
+    void readOnlyToolStartsDuringStreamAndRunsOnce() {
+        CountDownLatch started = new CountDownLatch(1);
+        GatedModel model = new GatedModel(started, 5000);
+        SearchTool tool = new SearchTool(true, started);
+        Toolkit toolkit = new Toolkit();
+        toolkit.registerAgentTool(tool);
+
+        ReActAgent agent =
+                ReActAgent.builder()
+                        .name("asst")
+                        .model(model)
+                        .toolkit(toolkit)
+                        .speculativeToolExecution(true)
+                        .build();
+        assertTrue(agent.isSpeculativeToolExecutionEnabled());
+        run(agent);
+
+        assertEquals(List.of(STARTED), model.gateOutcomes);
+        assertEquals(1, tool.calls.get(), "speculative result must be joined, not re-executed");
+        assertEquals(List.of("search:alpha"), toolResultTexts(agent));
+    }
+
+    @Test
+    void revisedToolCallDiscardsSpeculativeResult() {
+        CountDownLatch started = new CountDownLatch(1);
+        GatedModel model = new GatedModel(started, 5000);
+        SearchTool tool = new SearchTool(true, started);
+        Toolkit toolkit = new Toolkit();
+        toolkit.registerAgentTool(tool);
+
+        MiddlewareBase reviseQuery =
+                new MiddlewareBase() {
+                    @Override
+                    public Flux<AgentEvent> onActing(
+                            Agent agent,
+                            RuntimeContext ctx,
+                            ActingInput input,
+                            Function<ActingInput, Flux<AgentEvent>> next) {
+                        List<ToolUseBlock> revised =
+                                input.toolCalls().stream()
+                                        .map(
+                                                tc ->
+                                                        ToolUseBlock.builder()
+                                                                .id(tc.getId())
+                                                                .name(tc.getName())
+                                                                .input(Map.of("query", "beta"))
+                                                                .content("{\"query\":\"beta\"}")
+                                                                .build())
+                                        .toList();
+                        return next.apply(new ActingInput(revised));
+                    }
+                };
+
+        ReActAgent agent =
+                ReActAgent.builder()
+                        .name("asst")
+                        .model(model)
+                        .toolkit(toolkit)
+                        .middleware(reviseQuery)
+                        .speculativeToolExecution(true)
+                        .build();
+        run(agent);
+
+        assertEquals(List.of(STARTED), model.gateOutcomes);
+        assertEquals(2, tool.calls.get());
+        assertEquals(List.of("search:beta"), toolResultTexts(agent));
+    }
+
+    @Test
+    void writableToolIsNotDispatchedSpeculatively() {
+        CountDownLatch started = new CountDownLatch(1);
+        GatedModel model = new GatedModel(started, 200);
+        SearchTool tool = new SearchTool(false, started);
+        Toolkit toolkit = new Toolkit();
+        toolkit.registerAgentTool(tool);
+
+        ReActAgent agent =
+                ReActAgent.builder()
+                        .name("asst")
+                        .model(model)
+                        .toolkit(toolkit)
+                        .speculativeToolExecution(true)
+                        .build();
+        run(agent);
+
+        assertEquals(List.of(NOT_STARTED), model.gateOutcomes);
+        assertEquals(1, tool.calls.get());
+        assertEquals(List.of("search:alpha"), toolResultTexts(agent));
+    }
+
+    @Test
+    void speculationIsDisabledByDefault() {
+        CountDownLatch started = new CountDownLatch(1);
+        GatedModel model = new GatedModel(started, 200);
+        SearchTool tool = new SearchTool(true, started);
+        Toolkit toolkit = new Toolkit();
+        toolkit.registerAgentTool(tool);
+
+        ReActAgent agent = ReActAgent.builder().name("asst").model(model).toolkit(toolkit).build();
+        assertFalse(agent.isSpeculativeToolExecutionEnabled());
+        run(agent);
+
+        assertEquals(List.of(NOT_STARTED), model.gateOutcomes);
+        assertEquals(1, tool.calls.get());
+    }
+}
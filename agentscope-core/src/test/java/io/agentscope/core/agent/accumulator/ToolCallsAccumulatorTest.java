@@ -473,4 +473,32 @@ class ToolCallsAccumulatorTest {
         assertEquals("a.md", result.get(0).getInput().get("file_path"));
         assertEquals("hello", result.get(0).getInput().get("content"));
     }
+
+    @Test
+    @DisplayName("Should report a tool call once its raw arguments close")
+    void testTakeCompletedToolCalls() {
+        accumulator.add(
+                ToolUseBlock.builder().id("call_1").name("search").content("{\"q\":").build());
+        assertTrue(accumulator.takeCompletedToolCalls().isEmpty());
+
+        accumulator.add(
+                ToolUseBlock.builder().id("call_1").name("__fragment__").content("\"a\"}").build());
+        accumulator.add(
+                ToolUseBlock.builder().id("call_2").name("lookup").content("{\"k\"").build());
+
+        List<ToolUseBlock> completed = accumulator.takeCompletedToolCalls();
+        assertEquals(1, completed.size());
+        assertEquals("call_1", completed.get(0).getId());
+        assertEquals("search", completed.get(0).getName());
+        assertEquals("a", completed.get(0).getInput().get("q"));
+
+        // Already reported and unchanged
+        assertTrue(accumulator.takeCompletedToolCalls().isEmpty());
+
+        accumulator.add(
+                ToolUseBlock.builder().id("call_2").name("__fragment__").content(":1}").build());
+        completed = accumulator.takeCompletedToolCalls();
+        assertEquals(1, completed.size());
+        assertEquals("call_2", completed.get(0).getId());
+    }
 }
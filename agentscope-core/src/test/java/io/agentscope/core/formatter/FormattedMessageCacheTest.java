@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.formatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for FormattedMessageCache and EncodedMessageSerializer. */
+@Tag("unit")
+@DisplayName("FormattedMessageCache Unit Tests")
+class FormattedMessageCacheTest {
+
+    private static Msg userMsg(String text) {
+        return Msg.builder()
+                .role(MsgRole.USER)
+                .content(TextBlock.builder().text(text).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return the cached value for the same message")
+    void testHitForSameMessage() {
+        FormattedMessageCache<String> cache = new FormattedMessageCache<>();
+        Msg msg = userMsg("hello");
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = cache.computeIfAbsent(msg, 0, () -> "v" + loads.incrementAndGet());
+        String second = cache.computeIfAbsent(msg, 0, () -> "v" + loads.incrementAndGet());
+
+        assertEquals("v1", first);
+        assertSame(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should miss when content or metadata changes")
+    void testMissOnChangedMessage() {
+        FormattedMessageCache<String> cache = new FormattedMessageCache<>();
+        Msg msg = userMsg("hello");
+        cache.put(msg, 0, "original");
+
+        Msg newContent = msg.withContent(List.of(TextBlock.builder().text("hello").build()));
+        Msg newMetadata = msg.withMetadata(Map.of("k", "v"));
+
+        assertNull(cache.get(newContent, 0));
+        assertNull(cache.get(newMetadata, 0));
+        assertNull(cache.get(msg, 1));
+        assertEquals("original", cache.get(msg, 0));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry")
+    void testEvictsLeastRecentlyUsed() {
+        FormattedMessageCache<String> cache = new FormattedMessageCache<>(2);
+        Msg a = userMsg("a");
+        Msg b = userMsg("b");
+        Msg c = userMsg("c");
+        cache.put(a, 0, "a");
+        cache.put(b, 0, "b");
+        cache.get(a, 0);
+        cache.put(c, 0, "c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals("a", cache.get(a, 0));
+        assertNull(cache.get(b, 0));
+    }
+
+    @Test
+    @DisplayName("Should splice cached fragments and re-encode modified messages")
+    void testSerializerSplicesFragments() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        EncodedFragment fragment = new EncodedFragment();
+        TestMessage message = new TestMessage("hello");
+        message.fragment = fragment;
+        TestRequest request = new TestRequest(List.of(message));
+
+        assertEquals("{\"messages\":[{\"text\":\"hello\"}]}", mapper.writeValueAsString(request));
+        assertEquals("{\"text\":\"hello\"}", fragment.get());
+
+        // A stored fragment is written verbatim
+        fragment.set("{\"text\":\"cached\"}");
+        assertEquals("{\"messages\":[{\"text\":\"cached\"}]}", mapper.writeValueAsString(request));
+
+        // Detached messages are always encoded
+        message.fragment = null;
+        assertEquals("{\"messages\":[{\"text\":\"hello\"}]}", mapper.writeValueAsString(request));
+    }
+
+    static class TestMessage implements EncodedMessage {
+        @JsonProperty("text")
+        final String text;
+
+        @JsonIgnore EncodedFragment fragment;
+
+        TestMessage(String text) {
+            this.text = text;
+        }
+
+        @Override
+        @JsonIgnore
+        public EncodedFragment getEncodedFragment() {
+            return fragment;
+        }
+    }
+
+    record TestRequest(
+            @JsonProperty("messages") @JsonSerialize(contentUsing = EncodedMessageSerializer.class)
+                    List<TestMessage> messages) {}
+}
@@ -56,6 +56,7 @@ import io.opentelemetry.context.Scope;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -334,6 +335,130 @@ class JsonlTraceExporterTest {
         assertEquals(eventCount, records.size());
     }
 
+    @Test
+    void rotatesSegmentsAndReadsSingleRun() throws Exception {
+        Path output = tempDir.resolve("rotated.jsonl");
+        TestAgent first = new TestAgent("agent-1", "First");
+        TestAgent second = new TestAgent("agent-2", "Second");
+
+        try (JsonlTraceExporter exporter =
+                JsonlTraceExporter.builder(output).append(false).rotateBytes(1024).build()) {
+            for (int turn = 0; turn < 5; turn++) {
+                exporter.onEvent(new PreCallEvent(first, List.of(textMsg(MsgRole.USER, "a"))))
+                        .block();
+                exporter.onEvent(new PreCallEvent(second, List.of(textMsg(MsgRole.USER, "b"))))
+                        .block();
+                exporter.onEvent(new PostCallEvent(first, textMsg(MsgRole.ASSISTANT, "a"))).block();
+                exporter.onEvent(new PostCallEvent(second, textMsg(MsgRole.ASSISTANT, "b")))
+                        .block();
+            }
+        }
+
+        assertTrue(Files.exists(tempDir.resolve("rotated.1.jsonl")));
+        assertTrue(Files.exists(tempDir.resolve("rotated.1.jsonl.idx")));
+
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (int sequence = 1; Files.exists(segment(sequence)); sequence++) {
+            records.addAll(readAll(segment(sequence)));
+        }
+        records.addAll(readAll(output));
+        assertEquals(20, records.size());
+
+        for (Map<String, Object> record : records) {
+            if (!"PRE_CALL".equals(record.get("event_type"))) {
+                continue;
+            }
+            String runId = (String) record.get("run_id");
+            List<String> lines = JsonlTraceExporter.readRun(output, runId);
+            assertEquals(2, lines.size());
+            for (String line : lines) {
+                Map<String, Object> runRecord =
+                        JsonUtils.getJsonCodec()
+                                .fromJson(line, new TypeReference<Map<String, Object>>() {});
+                assertEquals(runId, runRecord.get("run_id"));
+                assertEquals(record.get("agent_id"), runRecord.get("agent_id"));
+            }
+        }
+        assertTrue(JsonlTraceExporter.readRun(output, "missing").isEmpty());
+    }
+
+    @Test
+    void compressesRotatedSegments() throws Exception {
+        Path output = tempDir.resolve("compressed.jsonl");
+        TestAgent agent = new TestAgent("agent-1", "TestAgent");
+        try (JsonlTraceExporter exporter =
+                JsonlTraceExporter.builder(output)
+                        .append(false)
+                        .rotateBytes(512)
+                        .compressSegments(true)
+                        .build()) {
+            exporter.onEvent(new PreCallEvent(agent, List.of(textMsg(MsgRole.USER, "hi")))).block();
+            for (int i = 0; i < 10; i++) {
+                exporter.onEvent(
+                                new PostReasoningEvent(
+                                        agent,
+                                        "mock-model",
+                                        GenerateOptions.builder().build(),
+                                        textMsg(MsgRole.ASSISTANT, "step-" + i)))
+                        .block();
+            }
+            exporter.onEvent(new PostCallEvent(agent, textMsg(MsgRole.ASSISTANT, "bye"))).block();
+        }
+
+        Path index = tempDir.resolve("compressed.1.jsonl.idx");
+        String runId = (String) readAll(index).get(0).get("run_id");
+        assertTrue(Files.exists(tempDir.resolve("compressed.1.jsonl.gz")));
+        assertTrue(Files.notExists(tempDir.resolve("compressed.1.jsonl")));
+        assertEquals(12, JsonlTraceExporter.readRun(output, runId).size());
+    }
+
+    @Test
+    void dropsEventsWhenQueueIsFull() throws Exception {
+        Path output = tempDir.resolve("dropped.jsonl");
+        TestAgent agent = new TestAgent("agent-1", "TestAgent");
+        int eventCount = 2000;
+
+        JsonlTraceExporter exporter =
+                JsonlTraceExporter.builder(output)
+                        .append(false)
+                        .queueCapacity(1)
+                        .overflowPolicy(JsonlTraceExporter.OverflowPolicy.DROP)
+                        .build();
+        for (int i = 0; i < eventCount; i++) {
+            exporter.onEvent(new PreCallEvent(agent, List.of(textMsg(MsgRole.USER, "hi-" + i))))
+                    .subscribe();
+        }
+        exporter.close();
+
+        long written = readAll(output).size();
+        assertEquals(eventCount, written + exporter.getDroppedEventCount());
+    }
+
+    @Test
+    void groupCommitFlushesAfterMaxDelay() throws Exception {
+        Path output = tempDir.resolve("group-commit.jsonl");
+        TestAgent agent = new TestAgent("agent-1", "TestAgent");
+
+        try (JsonlTraceExporter exporter =
+                JsonlTraceExporter.builder(output)
+                        .append(false)
+                        .flushEveryLine(false)
+                        .groupCommit(1024 * 1024, Duration.ofMillis(50))
+                        .build()) {
+            exporter.onEvent(new PreCallEvent(agent, List.of(textMsg(MsgRole.USER, "hi")))).block();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (Files.size(output) == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, readAll(output).size());
+        }
+    }
+
+    private Path segment(int sequence) {
+        return tempDir.resolve("rotated." + sequence + ".jsonl");
+    }
+
     @Test
     void exportsOpenTelemetryIdsWhenAvailable() throws Exception {
         Path output = tempDir.resolve("otel.jsonl");
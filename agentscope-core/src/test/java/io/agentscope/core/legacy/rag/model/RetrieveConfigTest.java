@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import io.agentscope.core.message.Msg;
 import io.agentscope.core.rag.model.RetrieveConfig;
+import io.agentscope.core.rag.model.RetrieveMode;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -39,6 +40,8 @@ class RetrieveConfigTest {
 
         assertEquals(5, config.getLimit());
         assertEquals(0.5, config.getScoreThreshold());
+        assertEquals(RetrieveMode.DENSE, config.getMode());
+        assertEquals(60, config.getRrfK());
     }
 
     @Test
@@ -117,4 +120,16 @@ class RetrieveConfigTest {
         assertEquals(originConfig.getScoreThreshold(), mutateConfig.getScoreThreshold());
         assertEquals(originConfig.getVectorName(), mutateConfig.getVectorName());
     }
+
+    @Test
+    @DisplayName("Should keep retrieve mode and RRF k when mutated")
+    void testModeAndRrfK() {
+        RetrieveConfig config = RetrieveConfig.builder().mode(RetrieveMode.HYBRID).rrfK(20).build();
+        RetrieveConfig mutated = config.mutate().limit(3).build();
+
+        assertEquals(RetrieveMode.HYBRID, mutated.getMode());
+        assertEquals(20, mutated.getRrfK());
+        assertThrows(IllegalArgumentException.class, () -> RetrieveConfig.builder().mode(null));
+        assertThrows(IllegalArgumentException.class, () -> RetrieveConfig.builder().rrfK(0));
+    }
 }
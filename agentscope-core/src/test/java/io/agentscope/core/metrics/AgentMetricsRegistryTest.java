@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.ChatUsage;
+import io.agentscope.core.model.ExecutionConfig;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.ModelException;
+import io.agentscope.core.model.ModelUtils;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@Tag("unit")
+@DisplayName("AgentMetricsRegistry Tests")
+class AgentMetricsRegistryTest {
+
+    private static final GenerateOptions NO_OPTIONS = GenerateOptions.builder().build();
+
+    @AfterEach
+    void tearDown() {
+        AgentMetricsRegistry.reset();
+    }
+
+    @Test
+    @DisplayName("Should default to the no-op implementation")
+    void testDefaults() {
+        assertSame(NoopAgentMetrics.INSTANCE, AgentMetricsRegistry.get());
+        assertFalse(AgentMetricsRegistry.isEnabled());
+
+        RecordingMetrics metrics = new RecordingMetrics();
+        AgentMetricsRegistry.register(metrics);
+        assertSame(metrics, AgentMetricsRegistry.get());
+        assertTrue(AgentMetricsRegistry.isEnabled());
+
+        AgentMetricsRegistry.reset();
+        assertFalse(AgentMetricsRegistry.isEnabled());
+    }
+
+    @Test
+    @DisplayName("Should reject a null implementation")
+    void testRegisterNull() {
+        assertThrows(IllegalArgumentException.class, () -> AgentMetricsRegistry.register(null));
+    }
+
+    @Test
+    @DisplayName("Should report streamed model calls with the final cumulative output tokens")
+    void testModelCallRecorded() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        AgentMetricsRegistry.register(metrics);
+
+        Flux<ChatResponse> response =
+                ModelUtils.applyTimeoutAndRetry(
+                        Flux.just(chunk(1), chunk(2), chunk(3)), NO_OPTIONS, null, "m1", "test");
+
+        StepVerifier.create(response).expectNextCount(3).verifyComplete();
+
+        assertEquals(List.of("call test/m1 tokens=3 success=true"), metrics.events);
+        assertTrue(metrics.lastTimeToFirstToken >= 0);
+        assertTrue(metrics.lastTimeToFirstToken <= metrics.lastDuration);
+    }
+
+    @Test
+    @DisplayName("Should report retries and the failed call")
+    void testRetriesRecorded() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        AgentMetricsRegistry.register(metrics);
+        AtomicInteger attempts = new AtomicInteger();
+        Flux<ChatResponse> failing =
+                Flux.defer(
+                        () -> {
+                            attempts.incrementAndGet();
+                            return Flux.error(new ModelException("boom"));
+                        });
+        GenerateOptions options =
+                GenerateOptions.builder()
+                        .executionConfig(
+                                ExecutionConfig.builder()
+                                        .maxAttempts(3)
+                                        .initialBackoff(Duration.ofMillis(1))
+                                        .maxBackoff(Duration.ofMillis(2))
+                                        .build())
+                        .build();
+
+        StepVerifier.create(ModelUtils.applyTimeoutAndRetry(failing, options, null, "m1", "test"))
+                .expectError()
+                .verify();
+
+        assertEquals(3, attempts.get());
+        assertEquals(
+                List.of("retry test/m1", "retry test/m1", "call test/m1 tokens=0 success=false"),
+                metrics.events);
+        assertEquals(-1, metrics.lastTimeToFirstToken);
+    }
+
+    @Test
+    @DisplayName("Should not wrap the response when no implementation is registered")
+    void testDisabledPassesThrough() {
+        Flux<ChatResponse> response = Flux.just(chunk(1));
+
+        Flux<ChatResponse> applied =
+                ModelUtils.applyTimeoutAndRetry(response, NO_OPTIONS, null, "m1", "test");
+
+        assertSame(response, applied);
+    }
+
+    private static ChatResponse chunk(int outputTokens) {
+        return ChatResponse.builder()
+                .content(List.of(TextBlock.builder().text("t").build()))
+                .usage(new ChatUsage(10, outputTokens, 0))
+                .build();
+    }
+
+    private static final class RecordingMetrics implements AgentMetrics {
+        private final List<String> events = new ArrayList<>();
+        private long lastDuration;
+        private long lastTimeToFirstToken;
+
+        @Override
+        public synchronized void recordModelCall(
+                String provider,
+                String model,
+                long durationNanos,
+                long timeToFirstTokenNanos,
+                int outputTokens,
+                boolean success) {
+            events.add(
+                    "call "
+                            + provider
+                            + "/"
+                            + model
+                            + " tokens="
+                            + outputTokens
+                            + " success="
+                            + success);
+            lastDuration = durationNanos;
+            lastTimeToFirstToken = timeToFirstTokenNanos;
+        }
+
+        @Override
+        public synchronized void recordModelRetry(String provider, String model) {
+            events.add("retry " + provider + "/" + model);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.agentscope.core.util.JsonUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.Authenticator;
@@ -231,6 +232,140 @@ class JdkHttpTransportTest {
         assertTrue(events.get(1).contains("\"id\":\"2\""));
     }
 
+    @Test
+    void testStreamFramesParsesJsonPayloads() {
+        mockServer.enqueue(
+                new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(
+                                "data: {\"id\":\"1\"}\n\n"
+                                        + "data: {\"id\":\"2\"}\n\n"
+                                        + "data: [DONE]\n\n")
+                        .setHeader("Content-Type", "text/event-stream"));
+
+        HttpRequest request =
+                HttpRequest.builder()
+                        .url(mockServer.url("/stream").toString())
+                        .method("POST")
+                        .body("{}")
+                        .build();
+
+        // Warm up the shared codec so its one-off initialization does not eat into the
+        // first-chunk timeout.
+        JsonUtils.getJsonCodec().fromJson("{}", Map.class);
+
+        StepVerifier.create(
+                        transport
+                                .streamFrames(request, StreamFrameParser.json(Map.class))
+                                .map(frame -> frame.get("id")))
+                .expectNext("1", "2")
+                .verifyComplete();
+    }
+
+    @Test
+    void testNonBlockingStreamSseEvents() {
+        JdkHttpTransport nonBlocking =
+                new JdkHttpTransport(
+                        HttpTransportConfig.builder()
+                                .httpVersion(HttpVersion.HTTP_1_1)
+                                .streamingMode(StreamingMode.NON_BLOCKING)
+                                .responseTimeout(Duration.ofSeconds(2))
+                                .streamIdleTimeout(Duration.ofSeconds(1))
+                                .build());
+        String sseResponse =
+                "data: {\"text\":\"你好\"}\r\n\r\n"
+                        + ": keep-alive comment\n\n"
+                        + "data: {\"text\":\"world\"}\n\n"
+                        + "data: [DONE]\n\n";
+        mockServer.enqueue(
+                new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(sseResponse)
+                        .setHeader("Content-Type", "text/event-stream")
+                        .throttleBody(5, 5, TimeUnit.MILLISECONDS));
+
+        HttpRequest request =
+                HttpRequest.builder()
+                        .url(mockServer.url("/stream").toString())
+                        .method("POST")
+                        .body("{}")
+                        .build();
+
+        try {
+            StepVerifier.create(nonBlocking.stream(request))
+                    .expectNext("{\"text\":\"你好\"}")
+                    .expectNext("{\"text\":\"world\"}")
+                    .verifyComplete();
+        } finally {
+            nonBlocking.close();
+        }
+    }
+
+    @Test
+    void testNonBlockingStreamNdjsonWithoutTrailingNewline() {
+        JdkHttpTransport nonBlocking =
+                new JdkHttpTransport(
+                        HttpTransportConfig.builder()
+                                .httpVersion(HttpVersion.HTTP_1_1)
+                                .streamingMode(StreamingMode.NON_BLOCKING)
+                                .build());
+        mockServer.enqueue(
+                new MockResponse()
+                        .setResponseCode(200)
+                        .setBody("{\"id\":1}\n\n{\"id\":2}")
+                        .setHeader("Content-Type", "application/x-ndjson"));
+
+        HttpRequest request =
+                HttpRequest.builder()
+                        .url(mockServer.url("/stream-ndjson").toString())
+                        .method("POST")
+                        .header(
+                                TransportConstants.STREAM_FORMAT_HEADER,
+                                TransportConstants.STREAM_FORMAT_NDJSON)
+                        .body("{}")
+                        .build();
+
+        try {
+            StepVerifier.create(nonBlocking.stream(request))
+                    .expectNext("{\"id\":1}")
+                    .expectNext("{\"id\":2}")
+                    .verifyComplete();
+        } finally {
+            nonBlocking.close();
+        }
+    }
+
+    @Test
+    void testNonBlockingStreamErrorResponse() {
+        JdkHttpTransport nonBlocking =
+                new JdkHttpTransport(
+                        HttpTransportConfig.builder()
+                                .httpVersion(HttpVersion.HTTP_1_1)
+                                .streamingMode(StreamingMode.NON_BLOCKING)
+                                .build());
+        mockServer.enqueue(
+                new MockResponse().setResponseCode(429).setBody("{\"error\": \"rate limited\"}"));
+
+        HttpRequest request =
+                HttpRequest.builder()
+                        .url(mockServer.url("/stream-error").toString())
+                        .method("POST")
+                        .body("{}")
+                        .build();
+
+        try {
+            StepVerifier.create(nonBlocking.stream(request))
+                    .expectErrorMatches(
+                            e ->
+                                    e instanceof HttpTransportException
+                                            && ((HttpTransportException) e).getStatusCode() == 429
+                                            && e.getMessage().contains("rate limited"))
+                    .verify(Duration.ofSeconds(5));
+        } finally {
+            nonBlocking.close();
+        }
+    }
+
     @Test
     void testStreamHandlesEmptyLines() {
         String sseResponse = "\n\ndata: {\"id\":\"1\"}\n\n\n\ndata: [DONE]\n";
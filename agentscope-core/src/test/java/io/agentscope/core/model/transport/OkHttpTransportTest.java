@@ -21,9 +21,11 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.agentscope.core.util.JsonUtils;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -140,6 +142,105 @@ class OkHttpTransportTest {
         assertTrue(events.get(1).contains("\"id\":\"2\""));
     }
 
+    @Test
+    void testStreamFramesParsesJsonPayloads() {
+        mockServer.enqueue(
+                new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(
+                                "data: {\"id\":\"1\"}\n\n"
+                                        + "data: {\"id\":\"2\"}\n\n"
+                                        + "data: [DONE]\n\n")
+                        .setHeader("Content-Type", "text/event-stream"));
+
+        HttpRequest request =
+                HttpRequest.builder()
+                        .url(mockServer.url("/stream").toString())
+                        .method("POST")
+                        .body("{}")
+                        .build();
+
+        // Warm up the shared codec so its one-off initialization does not eat into the
+        // first-chunk timeout.
+        JsonUtils.getJsonCodec().fromJson("{}", Map.class);
+
+        StepVerifier.create(
+                        transport
+                                .streamFrames(request, StreamFrameParser.json(Map.class))
+                                .map(frame -> frame.get("id")))
+                .expectNext("1", "2")
+                .verifyComplete();
+    }
+
+    @Test
+    void testNonBlockingStreamSseEvents() {
+        OkHttpTransport nonBlocking =
+                new OkHttpTransport(
+                        HttpTransportConfig.builder()
+                                .streamingMode(StreamingMode.NON_BLOCKING)
+                                .build());
+        String sseResponse =
+                "data: {\"id\":\"1\"}\n\n"
+                        + "event: ping\n\n"
+                        + "data: {\"id\":\"2\"}\n\n"
+                        + "data: [DONE]\n\n"
+                        + "data: {\"id\":\"ignored\"}\n\n";
+        mockServer.enqueue(
+                new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(sseResponse)
+                        .setHeader("Content-Type", "text/event-stream")
+                        .throttleBody(7, 5, TimeUnit.MILLISECONDS));
+
+        HttpRequest request =
+                HttpRequest.builder()
+                        .url(mockServer.url("/stream").toString())
+                        .method("POST")
+                        .body("{}")
+                        .build();
+
+        try {
+            StepVerifier.create(nonBlocking.stream(request))
+                    .expectNext("{\"id\":\"1\"}")
+                    .expectNext("{\"id\":\"2\"}")
+                    .verifyComplete();
+        } finally {
+            nonBlocking.close();
+        }
+    }
+
+    @Test
+    void testNonBlockingStreamErrorResponse() {
+        OkHttpTransport nonBlocking =
+                new OkHttpTransport(
+                        HttpTransportConfig.builder()
+                                .streamingMode(StreamingMode.NON_BLOCKING)
+                                .build());
+        mockServer.enqueue(
+                new MockResponse().setResponseCode(503).setBody("{\"error\": \"overloaded\"}"));
+
+        HttpRequest request =
+                HttpRequest.builder()
+                        .url(mockServer.url("/stream-error").toString())
+                        .method("POST")
+                        .body("{}")
+                        .build();
+
+        try {
+            StepVerifier.create(nonBlocking.stream(request))
+                    .expectErrorMatches(
+                            e ->
+                                    e instanceof HttpTransportException
+                                            && ((HttpTransportException) e).getStatusCode() == 503
+                                            && ((HttpTransportException) e)
+                                                    .getResponseBody()
+                                                    .contains("overloaded"))
+                    .verify(Duration.ofSeconds(5));
+        } finally {
+            nonBlocking.close();
+        }
+    }
+
     @Test
     void testStreamHandlesEmptyLines() {
         String sseResponse = "\n\ndata: {\"id\":\"1\"}\n\n\n\ndata: [DONE]\n";
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.model.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+/**
+ * Tests for StreamFrameDecoder.
+ */
+class StreamFrameDecoderTest {
+
+    @Test
+    void testSseDataLinesAreStrippedAndOtherFieldsSkipped() throws IOException {
+        StreamFrameDecoder<String> decoder = utf8Decoder(false);
+
+        List<String> payloads =
+                decoder.decode(
+                        bytes(
+                                "event: message\n"
+                                        + "id: 7\n"
+                                        + "data:   {\"a\":1}  \r\n"
+                                        + ": comment\n"
+                                        + "data:\n"
+                                        + "\n"));
+
+        assertEquals(List.of("{\"a\":1}"), payloads);
+        assertFalse(decoder.isDone());
+    }
+
+    @Test
+    void testLinesSplitAcrossBuffersAndMultiByteCharacters() throws IOException {
+        StreamFrameDecoder<String> decoder = utf8Decoder(false);
+        byte[] input =
+                "data: {\"t\":\"日本語\"}\n\ndata: {\"t\":\"x\"}\n\n".getBytes(StandardCharsets.UTF_8);
+
+        List<String> payloads = new ArrayList<>();
+        for (int i = 0; i < input.length; i++) {
+            payloads.addAll(decoder.decode(input, i, 1));
+        }
+
+        assertEquals(List.of("{\"t\":\"日本語\"}", "{\"t\":\"x\"}"), payloads);
+    }
+
+    @Test
+    void testDoneMarkerStopsDecodingWithoutReachingParser() throws IOException {
+        List<String> parsed = new ArrayList<>();
+        StreamFrameDecoder<String> decoder =
+                new StreamFrameDecoder<>(
+                        false,
+                        (b, off, len) -> {
+                            String value = new String(b, off, len, StandardCharsets.UTF_8);
+                            parsed.add(value);
+                            return value;
+                        });
+
+        List<String> payloads =
+                decoder.decode(List.of(bytes("data: 1\n\ndata: [DO"), bytes("NE]\n\ndata: 2\n\n")));
+
+        assertEquals(List.of("1"), payloads);
+        assertEquals(List.of("1"), parsed);
+        assertTrue(decoder.isDone());
+        assertTrue(decoder.decode(bytes("data: 3\n")).isEmpty());
+        assertTrue(decoder.finish().isEmpty());
+    }
+
+    @Test
+    void testNdjsonEmitsNonEmptyLinesAndFlushesTrailingLine() throws IOException {
+        StreamFrameDecoder<String> decoder = utf8Decoder(true);
+
+        List<String> payloads = new ArrayList<>(decoder.decode(bytes("{\"a\":1}\r\n\n{\"b\"")));
+        payloads.addAll(decoder.decode(bytes(":2}")));
+        payloads.addAll(decoder.finish());
+
+        assertEquals(List.of("{\"a\":1}", "{\"b\":2}"), payloads);
+    }
+
+    @Test
+    void testLongLinesGrowTheLineBuffer() throws IOException {
+        StreamFrameDecoder<String> decoder = utf8Decoder(false);
+        String data = "x".repeat(10_000);
+
+        decoder.decode(bytes("data: " + data.substring(0, 10)));
+        assertEquals(List.of(data), decoder.decode(bytes(data.substring(10) + "\n")));
+    }
+
+    @Test
+    void testCompleteLinesAreParsedInPlace() throws IOException {
+        byte[] input = "data: {\"a\":1}\n".getBytes(StandardCharsets.UTF_8);
+        List<byte[]> seen = new ArrayList<>();
+        StreamFrameDecoder<Integer> decoder =
+                new StreamFrameDecoder<>(
+                        false,
+                        (b, off, len) -> {
+                            seen.add(b);
+                            return off;
+                        });
+
+        assertEquals(List.of(6), decoder.decode(ByteBuffer.wrap(input)));
+        assertSame(input, seen.get(0));
+    }
+
+    @Test
+    void testJsonParserBindsFramesFromBytes() throws IOException {
+        StreamFrameDecoder<JsonNode> decoder =
+                new StreamFrameDecoder<>(false, StreamFrameParser.json(JsonNode.class));
+
+        List<JsonNode> nodes = decoder.decode(bytes("data: {\"delta\":\"hé\"}\n\n"));
+
+        assertEquals("hé", nodes.get(0).get("delta").asText());
+    }
+
+    @Test
+    void testParserFailurePropagates() {
+        StreamFrameDecoder<String> decoder =
+                new StreamFrameDecoder<>(
+                        false,
+                        (b, off, len) -> {
+                            throw new IOException("bad frame");
+                        });
+
+        assertThrows(IOException.class, () -> decoder.decode(bytes("data: x\n")));
+    }
+
+    @Test
+    void testReadFromInputStreamCompletesAtDoneMarker() {
+        StreamFrameDecoder<String> decoder = utf8Decoder(false);
+        ByteArrayInputStream input =
+                new ByteArrayInputStream(
+                        "data: a\n\ndata: b\n\ndata: [DONE]\n\ndata: c\n\n"
+                                .getBytes(StandardCharsets.UTF_8));
+
+        StepVerifier.create(decoder.readFrom(input)).expectNext("a", "b").verifyComplete();
+    }
+
+    private static StreamFrameDecoder<String> utf8Decoder(boolean ndjson) {
+        return new StreamFrameDecoder<>(ndjson, StreamFrameParser.utf8());
+    }
+
+    private static ByteBuffer bytes(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link AgentStateCache}. */
+class AgentStateCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> evicted = new ArrayList<>();
+
+    private AgentStateCache cache(int maxSessions, long maxWeightBytes, Duration idleTimeout) {
+        return new AgentStateCache(
+                maxSessions,
+                maxWeightBytes,
+                idleTimeout,
+                (slot, state) -> evicted.add(slot),
+                now::get);
+    }
+
+    private static AgentState state(String sessionId, String... texts) {
+        AgentState state = AgentState.builder().sessionId(sessionId).build();
+        for (String text : texts) {
+            state.contextMutable()
+                    .add(
+                            Msg.builder()
+                                    .role(MsgRole.USER)
+                                    .content(TextBlock.builder().text(text).build())
+                                    .build());
+        }
+        return state;
+    }
+
+    @Test
+    void getLoadsOnceAndCountsHitsAndMisses() {
+        AgentStateCache cache = cache(0, 0, null);
+        AtomicLong loads = new AtomicLong();
+
+        AgentState first =
+                cache.get(
+                        "u/s",
+                        k -> {
+                            loads.incrementAndGet();
+                            return state("s");
+                        });
+        AgentState second = cache.get("u/s", k -> state("other"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        AgentStateCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverSessionLimit() {
+        AgentStateCache cache = cache(2, 0, null);
+        cache.put("a", state("a"));
+        cache.put("b", state("b"));
+        cache.get("a", k -> state("a"));
+        cache.put("c", state("c"));
+
+        assertEquals(List.of("b"), evicted);
+        assertNull(cache.getIfPresent("b"));
+        assertNotNull(cache.getIfPresent("a"));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void evictsOverWeightLimit() {
+        AgentState big = state("big", "x".repeat(10_000));
+        long bigWeight = AgentStateCache.estimateBytes(big);
+        AgentStateCache cache = cache(0, bigWeight + 1_000, null);
+
+        cache.put("small", state("small", "hello"));
+        cache.put("big", big);
+        cache.put("other", state("other", "y".repeat(1_000)));
+
+        assertEquals(List.of("small", "big"), evicted);
+        assertTrue(cache.stats().weightBytes() <= bigWeight + 1_000);
+    }
+
+    @Test
+    void evictsIdleEntriesOnCleanUp() {
+        AgentStateCache cache = cache(0, 0, Duration.ofMinutes(10));
+        cache.put("a", state("a"));
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+        cache.put("b", state("b"));
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        cache.cleanUp();
+
+        assertEquals(List.of("a"), evicted);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void pinnedEntriesAreNotEvictedUntilReleased() {
+        AgentStateCache cache = cache(1, 0, Duration.ofMinutes(1));
+        AgentState pinned = cache.acquire("a", k -> state("a"), false);
+        cache.put("b", state("b"));
+
+        assertEquals(List.of("b"), evicted);
+        assertSame(pinned, cache.getIfPresent("a"));
+
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.cleanUp();
+        assertSame(pinned, cache.getIfPresent("a"), "pinned entry must survive idle timeout");
+
+        cache.release("a");
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.cleanUp();
+        assertNull(cache.getIfPresent("a"));
+    }
+
+    @Test
+    void acquireWithReloadReplacesCachedStateAndCountsMiss() {
+        AgentStateCache cache = cache(0, 0, null);
+        AgentState original = cache.acquire("a", k -> state("a"), false);
+        cache.release("a");
+
+        AgentState reloaded = cache.acquire("a", k -> state("a", "from store"), true);
+
+        assertTrue(reloaded != original);
+        assertSame(reloaded, cache.getIfPresent("a"));
+        assertEquals(2, cache.stats().misses());
+        assertEquals(0, cache.stats().hits());
+    }
+
+    @Test
+    void releaseReweighsGrownContext() {
+        AgentStateCache cache = cache(0, 0, null);
+        AgentState state = cache.acquire("a", k -> state("a"), false);
+        long before = cache.stats().weightBytes();
+
+        state.contextMutable().addAll(state("a", "z".repeat(4_000)).getContext());
+        cache.release("a");
+
+        assertTrue(cache.stats().weightBytes() >= before + 8_000);
+    }
+
+    @Test
+    void removeAndClearDoNotNotifyListener() {
+        AgentStateCache cache = cache(0, 0, null);
+        cache.put("a", state("a"));
+        cache.put("b", state("b"));
+
+        assertNotNull(cache.remove("a"));
+        cache.clear();
+
+        assertTrue(evicted.isEmpty());
+        assertEquals(0, cache.stats().sessions());
+        assertEquals(0, cache.stats().weightBytes());
+    }
+}
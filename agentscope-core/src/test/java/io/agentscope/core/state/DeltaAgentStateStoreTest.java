@@ -0,0 +1,245 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for DeltaAgentStateStore. */
+class DeltaAgentStateStoreTest {
+
+    private static final String KEY = DeltaAgentStateStore.AGENT_STATE_KEY;
+
+    /** In-memory store recording the offset and tail size of every log write. */
+    private static final class RecordingStore extends InMemoryAgentStateStore {
+        final List<int[]> writes = new ArrayList<>();
+
+        @Override
+        public long saveIfVersionWithLog(
+                String userId,
+                String sessionId,
+                String key,
+                State value,
+                long expectedVersion,
+                String logKey,
+                int logOffset,
+                List<? extends State> logTail) {
+            writes.add(new int[] {logOffset, logTail.size()});
+            return super.saveIfVersionWithLog(
+                    userId, sessionId, key, value, expectedVersion, logKey, logOffset, logTail);
+        }
+
+        int[] lastWrite() {
+            return writes.get(writes.size() - 1);
+        }
+    }
+
+    private static Msg msg(String text) {
+        return Msg.builder().role(MsgRole.USER).textContent(text).build();
+    }
+
+    private static AgentState state(String... texts) {
+        AgentState.Builder builder = AgentState.builder().sessionId("s1").summary("sum");
+        for (String text : texts) {
+            builder.addMessage(msg(text));
+        }
+        return builder.build();
+    }
+
+    private static List<String> texts(AgentState state) {
+        return state.getContext().stream().map(Msg::getTextContent).toList();
+    }
+
+    @Test
+    void appendsOnlyMessagesAddedSinceLastSave() {
+        RecordingStore delegate = new RecordingStore();
+        DeltaAgentStateStore store = new DeltaAgentStateStore(delegate);
+        AgentState state = state("a", "b", "c");
+
+        store.save(null, "s1", KEY, state);
+        assertEquals(List.of(0, 3), List.of(delegate.lastWrite()[0], delegate.lastWrite()[1]));
+
+        state.contextMutable().add(msg("d"));
+        store.save(null, "s1", KEY, state);
+        assertEquals(List.of(3, 1), List.of(delegate.lastWrite()[0], delegate.lastWrite()[1]));
+
+        AgentState header = delegate.get(null, "s1", KEY, AgentState.class).orElseThrow();
+        assertTrue(header.getContext().isEmpty());
+        assertEquals("sum", header.getSummary());
+        assertEquals(
+                List.of("a", "b", "c", "d"),
+                texts(store.get(null, "s1", KEY, AgentState.class).orElseThrow()));
+    }
+
+    @Test
+    void truncatesLogAtFirstChangedMessage() {
+        RecordingStore delegate = new RecordingStore();
+        DeltaAgentStateStore store = new DeltaAgentStateStore(delegate);
+        AgentState state = state("a", "b", "c");
+        store.save(null, "s1", KEY, state);
+
+        state.contextMutable().set(1, msg("summary of b"));
+        store.save(null, "s1", KEY, state);
+
+        assertEquals(List.of(1, 2), List.of(delegate.lastWrite()[0], delegate.lastWrite()[1]));
+        assertEquals(
+                List.of("a", "summary of b", "c"),
+                texts(store.get(null, "s1", KEY, AgentState.class).orElseThrow()));
+    }
+
+    @Test
+    void loadedStateContinuesFromStoredLog() {
+        RecordingStore delegate = new RecordingStore();
+        new DeltaAgentStateStore(delegate).save(null, "s1", KEY, state("a", "b"));
+
+        DeltaAgentStateStore restarted = new DeltaAgentStateStore(delegate);
+        VersionedState<AgentState> loaded =
+                restarted.getVersioned(null, "s1", KEY, AgentState.class);
+        loaded.value().contextMutable().add(msg("c"));
+        long version = restarted.saveIfVersion(null, "s1", KEY, loaded.value(), loaded.version());
+
+        assertEquals(loaded.version() + 1, version);
+        assertEquals(List.of(2, 1), List.of(delegate.lastWrite()[0], delegate.lastWrite()[1]));
+    }
+
+    @Test
+    void casConflictWritesNothing() {
+        InMemoryAgentStateStore delegate = new InMemoryAgentStateStore();
+        DeltaAgentStateStore store = new DeltaAgentStateStore(delegate);
+        AgentState state = state("a");
+        long version = store.saveIfVersion(null, "s1", KEY, state, 0L);
+
+        state.contextMutable().add(msg("b"));
+        assertEquals(
+                AgentStateStore.UNVERSIONED,
+                store.saveIfVersion(null, "s1", KEY, state, version + 1));
+
+        assertEquals(
+                List.of("a"), texts(store.get(null, "s1", KEY, AgentState.class).orElseThrow()));
+    }
+
+    @Test
+    void unconditionalSaveRewritesLogAfterForeignWrite() {
+        RecordingStore delegate = new RecordingStore();
+        DeltaAgentStateStore store = new DeltaAgentStateStore(delegate);
+        AgentState state = state("a", "b");
+        store.save(null, "s1", KEY, state);
+        new DeltaAgentStateStore(delegate).save(null, "s1", KEY, state("x", "y", "z"));
+
+        state.contextMutable().add(msg("c"));
+        store.save(null, "s1", KEY, state);
+
+        assertEquals(List.of(0, 3), List.of(delegate.lastWrite()[0], delegate.lastWrite()[1]));
+        assertEquals(
+                List.of("a", "b", "c"),
+                texts(store.get(null, "s1", KEY, AgentState.class).orElseThrow()));
+    }
+
+    @Test
+    void legacyWholeStateIsReadAndMigratedOnSave() {
+        RecordingStore delegate = new RecordingStore();
+        delegate.save(null, "s1", KEY, state("a", "b"));
+        DeltaAgentStateStore store = new DeltaAgentStateStore(delegate);
+
+        AgentState loaded = store.get(null, "s1", KEY, AgentState.class).orElseThrow();
+        assertEquals(List.of("a", "b"), texts(loaded));
+
+        store.save(null, "s1", KEY, loaded);
+        assertEquals(List.of(0, 2), List.of(delegate.lastWrite()[0], delegate.lastWrite()[1]));
+        assertTrue(
+                delegate.get(null, "s1", KEY, AgentState.class)
+                        .orElseThrow()
+                        .getContext()
+                        .isEmpty());
+    }
+
+    @Test
+    void rewritesFullLogWhenStoredLogIsShorterThanRemembered() {
+        RecordingStore delegate = new RecordingStore();
+        DeltaAgentStateStore store = new DeltaAgentStateStore(delegate);
+        AgentState state = state("a", "b");
+        store.save(null, "s1", KEY, state);
+        delegate.save(null, "s1", DeltaAgentStateStore.CONTEXT_LOG_KEY, List.of());
+
+        state.contextMutable().add(msg("c"));
+        store.save(null, "s1", KEY, state);
+
+        assertEquals(List.of(0, 3), List.of(delegate.lastWrite()[0], delegate.lastWrite()[1]));
+        assertEquals(
+                List.of("a", "b", "c"),
+                texts(store.get(null, "s1", KEY, AgentState.class).orElseThrow()));
+    }
+
+    @Test
+    void jsonFileStoreAppendsAndTruncatesLog(@TempDir Path dir) throws Exception {
+        JsonFileAgentStateStore delegate = new JsonFileAgentStateStore(dir);
+        DeltaAgentStateStore store = new DeltaAgentStateStore(delegate);
+        AgentState state = state("a", "b", "c");
+        store.save("u", "s1", KEY, state);
+        state.contextMutable().add(msg("d"));
+        store.save("u", "s1", KEY, state);
+        state.contextMutable().remove(3);
+        state.contextMutable().set(2, msg("e"));
+        store.save("u", "s1", KEY, state);
+
+        Path log = dir.resolve("u").resolve("s1").resolve("agent_state_context.jsonl");
+        assertEquals(3, Files.readAllLines(log).size());
+        AgentState loaded =
+                new DeltaAgentStateStore(delegate)
+                        .get("u", "s1", KEY, AgentState.class)
+                        .orElseThrow();
+        assertEquals(List.of("a", "b", "e"), texts(loaded));
+        assertEquals("sum", loaded.getSummary());
+    }
+
+    @Test
+    void otherKeysPassThrough() {
+        InMemoryAgentStateStore delegate = new InMemoryAgentStateStore();
+        DeltaAgentStateStore store = new DeltaAgentStateStore(delegate);
+        AgentState state = state("a");
+
+        store.save(null, "s1", "other", state);
+
+        assertEquals(
+                1,
+                delegate.get(null, "s1", "other", AgentState.class)
+                        .orElseThrow()
+                        .getContext()
+                        .size());
+    }
+
+    @Test
+    void rejectsDelegateWithoutAppendLog() {
+        AgentStateStore plain =
+                new InMemoryAgentStateStore() {
+                    @Override
+                    public boolean supportsAppendLog() {
+                        return false;
+                    }
+                };
+        assertThrows(IllegalArgumentException.class, () -> new DeltaAgentStateStore(plain));
+    }
+}
@@ -15,10 +15,16 @@
  */
 package io.agentscope.core.state;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -81,5 +87,117 @@ class JsonFileAgentStateStoreTest {
         assertEquals("before \uFFFD after", loaded.get(0).value());
     }
 
+    @Test
+    @DisplayName("Should detect a changed item that hash sampling would skip")
+    void saveListDetectsChangeInUnsampledItem(@TempDir Path tempDir) {
+        JsonFileAgentStateStore store = new JsonFileAgentStateStore(tempDir);
+        List<TestState> items = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            items.add(new TestState("item" + i, i));
+        }
+        store.save(null, "session1", "memory_messages", items);
+
+        items.set(3, new TestState("changed", 3));
+        store.save(null, "session1", "memory_messages", items);
+
+        assertEquals(items, store.getList(null, "session1", "memory_messages", TestState.class));
+    }
+
+    @Test
+    @DisplayName("Should detect a mutable item changed in place")
+    void saveListDetectsItemChangedInPlace(@TempDir Path tempDir) {
+        JsonFileAgentStateStore store = new JsonFileAgentStateStore(tempDir);
+        MutableState item = new MutableState();
+        item.value = "before";
+        store.save(null, "session1", "memory_messages", List.of(item));
+
+        item.value = "after";
+        store.save(null, "session1", "memory_messages", List.of(item));
+
+        assertEquals(
+                "after",
+                store.getList(null, "session1", "memory_messages", MutableState.class)
+                        .get(0)
+                        .value);
+    }
+
+    @Test
+    @DisplayName("Should append new items in place and index them")
+    void saveListAppendsInPlace(@TempDir Path tempDir) throws Exception {
+        JsonFileAgentStateStore store = new JsonFileAgentStateStore(tempDir);
+        List<TestState> items = new ArrayList<>(List.of(new TestState("a", 1)));
+        store.save(null, "session1", "memory_messages", items);
+        Path file = tempDir.resolve("__anon__/session1/memory_messages.jsonl");
+        Object fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+        byte[] before = Files.readAllBytes(file);
+
+        items.add(new TestState("b", 2));
+        items.add(new TestState("c", 3));
+        store.save(null, "session1", "memory_messages", items);
+
+        assertEquals(fileKey, Files.readAttributes(file, BasicFileAttributes.class).fileKey());
+        byte[] after = Files.readAllBytes(file);
+        assertArrayEquals(before, Arrays.copyOf(after, before.length));
+        assertEquals(8 + 3 * 16, Files.size(file.resolveSibling("memory_messages.idx")));
+        assertEquals(items, store.getList(null, "session1", "memory_messages", TestState.class));
+    }
+
+    @Test
+    @DisplayName("Should shrink the list when items are removed")
+    void saveListShrinks(@TempDir Path tempDir) {
+        JsonFileAgentStateStore store = new JsonFileAgentStateStore(tempDir);
+        store.save(
+                null,
+                "session1",
+                "memory_messages",
+                List.of(new TestState("a", 1), new TestState("b", 2), new TestState("c", 3)));
+
+        store.save(null, "session1", "memory_messages", List.of(new TestState("a", 1)));
+
+        assertEquals(
+                List.of(new TestState("a", 1)),
+                store.getList(null, "session1", "memory_messages", TestState.class));
+    }
+
+    @Test
+    @DisplayName("Should rebuild a missing or stale index from the list file")
+    void saveListRebuildsStaleIndex(@TempDir Path tempDir) throws Exception {
+        List<TestState> items = List.of(new TestState("a", 1), new TestState("b", 2));
+        new JsonFileAgentStateStore(tempDir).save(null, "session1", "memory_messages", items);
+        Path file = tempDir.resolve("__anon__/session1/memory_messages.jsonl");
+        Files.delete(file.resolveSibling("memory_messages.idx"));
+        Files.writeString(file, "{\"value\":\"x\",\"count\":9}\n", StandardOpenOption.APPEND);
+
+        JsonFileAgentStateStore reopened = new JsonFileAgentStateStore(tempDir);
+        List<TestState> grown = List.of(items.get(0), items.get(1), new TestState("c", 3));
+        reopened.save(null, "session1", "memory_messages", grown);
+
+        assertEquals(grown, reopened.getList(null, "session1", "memory_messages", TestState.class));
+        assertEquals(8 + 3 * 16, Files.size(file.resolveSibling("memory_messages.idx")));
+    }
+
+    @Test
+    @DisplayName("Should read the same list through a memory mapping")
+    void getListThroughMemoryMapping(@TempDir Path tempDir) {
+        JsonFileAgentStateStore mapped = new JsonFileAgentStateStore(tempDir, 0);
+        List<TestState> items =
+                List.of(
+                        new TestState("plain", 1),
+                        new TestState("ünïcödé ✓", 2),
+                        new TestState("", 3));
+        mapped.save("u", "session1", "memory_messages", items);
+
+        assertEquals(items, mapped.getList("u", "session1", "memory_messages", TestState.class));
+        assertEquals(
+                items,
+                new JsonFileAgentStateStore(tempDir)
+                        .getList("u", "session1", "memory_messages", TestState.class));
+    }
+
     public record TestState(String value, int count) implements State {}
+
+    /** State with identity equality that is edited in place. */
+    public static class MutableState implements State {
+        public String value;
+    }
 }
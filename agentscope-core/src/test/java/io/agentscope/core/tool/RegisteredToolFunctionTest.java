@@ -16,6 +16,7 @@
 package io.agentscope.core.tool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -24,6 +25,7 @@ import io.agentscope.core.message.ToolResultBlock;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
@@ -340,4 +342,59 @@ class RegisteredToolFunctionTest {
         assertEquals(false, merged.get("additionalProperties"));
         assertEquals("Base Schema", merged.get("title"));
     }
+
+    @Test
+    void testValidateInputAgainstCompiledSchema() {
+        RegisteredToolFunction registered = new RegisteredToolFunction(mockTool, null, null);
+
+        assertNull(registered.validateInput("{\"param1\":\"value\"}"));
+        String error = registered.validateInput("{}");
+        assertNotNull(error);
+        assertTrue(error.contains("param1"));
+        // Second pass reuses the compiled schema and yields the same verdicts
+        assertNull(registered.validateInput("{\"param1\":\"value\"}"));
+        assertEquals(error, registered.validateInput("{}"));
+    }
+
+    @Test
+    void testValidateInputRecompilesWhenSchemaChanges() {
+        AtomicReference<Map<String, Object>> schema =
+                new AtomicReference<>(
+                        Map.of(
+                                "type", "object",
+                                "properties", Map.of("a", Map.of("type", "string")),
+                                "required", List.of("a")));
+        AgentTool tool =
+                new AgentTool() {
+                    @Override
+                    public String getName() {
+                        return "dynamic";
+                    }
+
+                    @Override
+                    public String getDescription() {
+                        return "Dynamic schema";
+                    }
+
+                    @Override
+                    public Map<String, Object> getParameters() {
+                        return schema.get();
+                    }
+
+                    @Override
+                    public Mono<ToolResultBlock> callAsync(ToolCallParam param) {
+                        return Mono.just(ToolResultBlock.text("result"));
+                    }
+                };
+        RegisteredToolFunction registered = new RegisteredToolFunction(tool, null, null);
+        assertNull(registered.validateInput("{\"a\":\"x\"}"));
+
+        schema.set(
+                Map.of(
+                        "type", "object",
+                        "properties", Map.of("b", Map.of("type", "string")),
+                        "required", List.of("b")));
+        assertNotNull(registered.validateInput("{\"a\":\"x\"}"));
+        assertNull(registered.validateInput("{\"b\":\"y\"}"));
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.permission.PermissionContextState;
+import io.agentscope.core.permission.PermissionDecision;
+import io.agentscope.core.util.JsonUtils;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/** Tests for {@link SpeculativeToolCalls}. */
+class SpeculativeToolCallsTest {
+
+    private static final class CountingTool extends ToolBase {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        private final Duration delay;
+
+        CountingTool(String name, boolean readOnly, Duration delay) {
+            super(
+                    ToolBase.builder()
+                            .name(name)
+                            .description("Counts invocations")
+                            .inputSchema(
+                                    Map.of(
+                                            "type",
+                                            "object",
+                                            "properties",
+                                            Map.of("q", Map.of("type", "string"))))
+                            .readOnly(readOnly)
+                            .concurrencySafe(true));
+            this.delay = delay;
+        }
+
+        @Override
+        public Mono<PermissionDecision> checkPermissions(
+                Map<String, Object> toolInput, PermissionContextState context) {
+            return Mono.just(PermissionDecision.allow("test"));
+        }
+
+        @Override
+        public Mono<ToolResultBlock> callAsync(ToolCallParam param) {
+            calls.incrementAndGet();
+            String q = String.valueOf(param.getInput().get("q"));
+            return Mono.delay(delay)
+                    .map(
+                            ignored ->
+                                    ToolResultBlock.of(
+                                            param.getToolUseBlock().getId(),
+                                            getName(),
+                                            TextBlock.builder().text(q).build()))
+                    .doOnSubscribe(subscription -> running.incrementAndGet())
+                    .doOnCancel(() -> cancelled.set(true));
+        }
+    }
+
+    private static ToolUseBlock call(String id, String name, String q) {
+        Map<String, Object> input = Map.of("q", q);
+        return ToolUseBlock.builder()
+                .id(id)
+                .name(name)
+                .input(input)
+                .content(JsonUtils.getJsonCodec().toJson(input))
+                .build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void claimReusesMatchingSpeculativeResult() {
+        Toolkit toolkit = new Toolkit();
+        CountingTool tool = new CountingTool("lookup", true, Duration.ZERO);
+        toolkit.registerAgentTool(tool);
+        SpeculativeToolCalls speculative = new SpeculativeToolCalls(toolkit, null, null, null);
+
+        assertTrue(speculative.offer(call("c1", "lookup", "alpha")));
+        assertTrue(speculative.offer(call("c1", "lookup", "alpha")));
+
+        Mono<ToolResultBlock> claimed = speculative.claim(call("c1", "lookup", "alpha"));
+        assertNotNull(claimed);
+        StepVerifier.create(claimed)
+                .assertNext(
+                        result ->
+                                assertEquals(
+                                        "alpha", ((TextBlock) result.getOutput().get(0)).getText()))
+                .verifyComplete();
+        assertEquals(1, tool.calls.get());
+        assertEquals(1, speculative.getLaunchedCount());
+        assertEquals(1, speculative.getReusedCount());
+        assertEquals(0, speculative.getDiscardedCount());
+    }
+
+    @Test
+    void revisedCallCancelsSpeculativeRun() throws InterruptedException {
+        Toolkit toolkit = new Toolkit();
+        CountingTool tool = new CountingTool("lookup", true, Duration.ofSeconds(30));
+        toolkit.registerAgentTool(tool);
+        SpeculativeToolCalls speculative = new SpeculativeToolCalls(toolkit, null, null, null);
+
+        assertTrue(speculative.offer(call("c1", "lookup", "alpha")));
+        awaitTrue(() -> tool.running.get() == 1);
+
+        assertNull(speculative.claim(call("c1", "lookup", "beta")));
+        assertEquals(1, speculative.getDiscardedCount());
+        awaitTrue(tool.cancelled::get);
+    }
+
+    @Test
+    void cancelAllDiscardsUnclaimedRuns() throws InterruptedException {
+        Toolkit toolkit = new Toolkit();
+        CountingTool tool = new CountingTool("lookup", true, Duration.ofSeconds(30));
+        toolkit.registerAgentTool(tool);
+        SpeculativeToolCalls speculative = new SpeculativeToolCalls(toolkit, null, null, null);
+
+        speculative.offer(call("c1", "lookup", "alpha"));
+        speculative.offer(call("c2", "lookup", "beta"));
+        awaitTrue(() -> tool.running.get() == 2);
+        speculative.cancelAll();
+
+        assertEquals(2, speculative.getDiscardedCount());
+        awaitTrue(tool.cancelled::get);
+        assertNull(speculative.claim(call("c1", "lookup", "alpha")));
+    }
+
+    @Test
+    void writableAndUnknownToolsAreNotLaunched() {
+        Toolkit toolkit = new Toolkit();
+        CountingTool tool = new CountingTool("write", false, Duration.ZERO);
+        toolkit.registerAgentTool(tool);
+        SpeculativeToolCalls speculative = new SpeculativeToolCalls(toolkit, null, null, null);
+
+        assertFalse(speculative.offer(call("c1", "write", "alpha")));
+        assertFalse(speculative.offer(call("c2", "missing", "alpha")));
+        assertFalse(speculative.isEligible(null));
+        assertEquals(0, speculative.getLaunchedCount());
+        assertEquals(0, tool.calls.get());
+        assertNull(speculative.claim(call("c1", "write", "alpha")));
+    }
+
+    @Test
+    void offeringRevisedArgumentsRelaunches() {
+        Toolkit toolkit = new Toolkit();
+        CountingTool tool = new CountingTool("lookup", true, Duration.ZERO);
+        toolkit.registerAgentTool(tool);
+        SpeculativeToolCalls speculative = new SpeculativeToolCalls(toolkit, null, null, null);
+
+        speculative.offer(call("c1", "lookup", "alpha"));
+        speculative.offer(call("c1", "lookup", "beta"));
+
+        Mono<ToolResultBlock> claimed = speculative.claim(call("c1", "lookup", "beta"));
+        assertNotNull(claimed);
+        StepVerifier.create(claimed)
+                .assertNext(
+                        result ->
+                                assertEquals(
+                                        "beta", ((TextBlock) result.getOutput().get(0)).getText()))
+                .verifyComplete();
+        assertEquals(2, speculative.getLaunchedCount());
+        assertEquals(1, speculative.getDiscardedCount());
+    }
+}
@@ -959,4 +959,105 @@ class ToolMethodInvokerTest {
         Assertions.assertFalse(ToolTestUtils.isErrorResponse(response));
         Assertions.assertEquals("\"value|null\"", ToolTestUtils.extractContent(response));
     }
+
+    private ToolResultBlock invokeBound(Object tools, Method method, Map<String, Object> input) {
+        ToolMethodInvoker.BoundMethod bound = ToolMethodInvoker.bind(tools, method);
+        Assertions.assertTrue(bound.isDirect());
+        ToolUseBlock toolUseBlock = new ToolUseBlock("test-id", method.getName(), input);
+        ToolCallParam param =
+                ToolCallParam.builder().toolUseBlock(toolUseBlock).input(input).build();
+        return invoker.invokeAsync(bound, param, responseConverter).block();
+    }
+
+    @Test
+    void testBoundMethod_MatchesReflectiveResult() throws Exception {
+        TestTools tools = new TestTools();
+        Method method =
+                TestTools.class.getMethod(
+                        "multiParamMethod", String.class, int.class, boolean.class);
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("str", "test");
+        input.put("num", "123");
+        input.put("flag", true);
+
+        Assertions.assertEquals(
+                ToolTestUtils.extractContent(invokeWithParam(tools, method, input)),
+                ToolTestUtils.extractContent(invokeBound(tools, method, input)));
+        Assertions.assertEquals(
+                "\"test123true\"", ToolTestUtils.extractContent(invokeBound(tools, method, input)));
+    }
+
+    @Test
+    void testBoundMethod_GenericParameterConverted() throws Exception {
+        TestTools tools = new TestTools();
+        Method method = TestTools.class.getMethod("processOrderItems", List.class);
+
+        Map<String, Object> item = new HashMap<>();
+        item.put("name", "apple");
+        item.put("quantity", 3);
+        Map<String, Object> input = new HashMap<>();
+        input.put("items", List.of(item));
+
+        Assertions.assertEquals(
+                ToolTestUtils.extractContent(invokeWithParam(tools, method, input)),
+                ToolTestUtils.extractContent(invokeBound(tools, method, input)));
+    }
+
+    @Test
+    void testBoundMethod_MethodThrowsException() throws Exception {
+        TestTools tools = new TestTools();
+        Method method = TestTools.class.getMethod("throwsException");
+
+        ToolResultBlock response = invokeBound(tools, method, new HashMap<>());
+
+        String content = ToolTestUtils.extractContent(response);
+        Assertions.assertTrue(content.contains("Tool execution failed"));
+        Assertions.assertTrue(content.contains("Test exception"));
+    }
+
+    @Test
+    void testBoundMethod_MissingPrimitiveFallsBackToReflection() throws Exception {
+        TestTools tools = new TestTools();
+        Method method = TestTools.class.getMethod("intMethod", int.class);
+
+        ToolResultBlock reflective = invokeWithParam(tools, method, new HashMap<>());
+        ToolResultBlock bound = invokeBound(tools, method, new HashMap<>());
+
+        Assertions.assertTrue(
+                ToolTestUtils.extractContent(bound).contains("Tool execution failed"));
+        Assertions.assertEquals(
+                ToolTestUtils.extractContent(reflective), ToolTestUtils.extractContent(bound));
+    }
+
+    @Test
+    void testBoundMethod_ToolSuspendException() throws Exception {
+        TestTools tools = new TestTools();
+        Method syncMethod = TestTools.class.getMethod("suspendTool", String.class);
+        Method monoMethod = TestTools.class.getMethod("suspendToolMono", String.class);
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("reason", "Waiting for approval");
+
+        assertThrows(ToolSuspendException.class, () -> invokeBound(tools, syncMethod, input));
+        assertThrows(ToolSuspendException.class, () -> invokeBound(tools, monoMethod, input));
+    }
+
+    @Test
+    void testBoundMethod_StaticMethod() throws Exception {
+        Method method = StaticTools.class.getDeclaredMethod("echo", String.class);
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("value", "hi");
+
+        ToolResultBlock response = invokeBound(new StaticTools(), method, input);
+
+        Assertions.assertEquals("\"hi\"", ToolTestUtils.extractContent(response));
+    }
+
+    static class StaticTools {
+        private static String echo(@ToolParam(name = "value", description = "value") String value) {
+            return value;
+        }
+    }
 }
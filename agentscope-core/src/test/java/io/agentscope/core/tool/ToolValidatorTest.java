@@ -16,6 +16,8 @@
 package io.agentscope.core.tool;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -29,6 +31,7 @@ import io.agentscope.core.message.ToolUseBlock;
 import io.agentscope.core.util.JsonUtils;
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
@@ -126,6 +129,59 @@ class ToolValidatorTest {
         }
     }
 
+    @Nested
+    @DisplayName("validateInput - Compiled Schema")
+    class ValidateInputCompiledSchema {
+
+        private final Map<String, Object> schema =
+                Map.of(
+                        "type",
+                        "object",
+                        "properties",
+                        Map.of(
+                                "name", Map.of("type", "string"),
+                                "note", Map.of("type", "string")),
+                        "required",
+                        List.of("name"));
+
+        @Test
+        @DisplayName("Should not compile a null or empty schema")
+        void testCompileEmptySchema() {
+            assertNull(ToolValidator.compile(null));
+            assertNull(ToolValidator.compile(Collections.emptyMap()));
+        }
+
+        @Test
+        @DisplayName("Should produce the same verdicts as the uncompiled path")
+        void testCompiledMatchesUncompiled() {
+            ToolValidator.CompiledSchema compiled = ToolValidator.compile(schema);
+            assertNotNull(compiled);
+            for (String input :
+                    List.of(
+                            "{\"name\":\"a\"}",
+                            "{\"name\":\"a\",\"note\":null}",
+                            "{\"note\":\"x\"}",
+                            "{\"name\":1}",
+                            "not json")) {
+                assertEquals(
+                        ToolValidator.validateInput(input, schema),
+                        compiled.validate(input),
+                        input);
+            }
+            assertNull(compiled.validate("{\"name\":\"a\",\"note\":null}"));
+            assertNotNull(compiled.validate("{\"note\":\"x\"}"));
+        }
+
+        @Test
+        @DisplayName("Should recognise the parameter map it was compiled from")
+        void testIsCompiledFrom() {
+            ToolValidator.CompiledSchema compiled = ToolValidator.compile(schema);
+            assertTrue(compiled.isCompiledFrom(schema));
+            assertTrue(compiled.isCompiledFrom(new HashMap<>(schema)));
+            assertFalse(compiled.isCompiledFrom(Map.of("type", "object")));
+        }
+    }
+
     @Nested
     @DisplayName("validateInput - Required Fields")
     class ValidateInputRequiredFields {
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.extensions.micrometer;
+
+import io.agentscope.core.metrics.AgentMetrics;
+import io.agentscope.core.metrics.AgentMetricsRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AgentMetrics} recording to a Micrometer {@link MeterRegistry}.
+ *
+ * <p>Meters:
+ * <ul>
+ *   <li>{@code agentscope.model.call} - model call latency, tags {@code provider}, {@code model},
+ *       {@code outcome}
+ *   <li>{@code agentscope.model.time.to.first.token} - latency until the first response chunk
+ *   <li>{@code agentscope.model.tokens.per.second} - output tokens per second after the first
+ *       chunk
+ *   <li>{@code agentscope.model.retries} - retried model requests
+ *   <li>{@code agentscope.tool.call} - tool call latency, tags {@code tool}, {@code outcome}
+ *   <li>{@code agentscope.tool.errors} - tool calls ending with an error result
+ *   <li>{@code agentscope.state.save} - state store save latency, tags {@code store},
+ *       {@code outcome}
+ *   <li>{@code agentscope.state.conflicts} - optimistic concurrency conflicts, tag {@code agent}
+ *   <li>{@code agentscope.agent.serialization.wait} - time a call waited behind earlier calls of
+ *       the same session, tag {@code agent}
+ * </ul>
+ *
+ * <p>Timers publish percentile histograms, so p50/p95/p99 can be aggregated across instances by
+ * the monitoring backend. Meters are created on first use and cached by name, so recording a
+ * measurement for a known model, tool, store or agent does not allocate.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * AgentMetricsRegistry.register(new MicrometerAgentMetrics(meterRegistry));
+ * }</pre>
+ */
+public class MicrometerAgentMetrics implements AgentMetrics {
+
+    private static final String OUTCOME = "outcome";
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, ConcurrentMap<String, ModelMeters>> modelMeters =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ToolMeters> toolMeters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, OutcomeTimers> storeMeters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AgentMeters> agentMeters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates metrics recording to the given registry.
+     *
+     * @param registry the meter registry
+     * @throws IllegalArgumentException if the registry is null
+     */
+    public MicrometerAgentMetrics(MeterRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Meter registry cannot be null");
+        }
+        this.registry = registry;
+    }
+
+    /**
+     * Creates metrics recording to the given registry and registers them with {@link
+     * AgentMetricsRegistry}.
+     *
+     * @param registry the meter registry
+     * @return the registered metrics
+     */
+    public static MicrometerAgentMetrics register(MeterRegistry registry) {
+        MicrometerAgentMetrics metrics = new MicrometerAgentMetrics(registry);
+        AgentMetricsRegistry.register(metrics);
+        return metrics;
+    }
+
+    @Override
+    public void recordModelCall(
+            String provider,
+            String model,
+            long durationNanos,
+            long timeToFirstTokenNanos,
+            int outputTokens,
+            boolean success) {
+        ModelMeters meters = modelMeters(provider, model);
+        meters.calls.get(success).record(durationNanos, TimeUnit.NANOSECONDS);
+        if (timeToFirstTokenNanos < 0) {
+            return;
+        }
+        meters.timeToFirstToken.record(timeToFirstTokenNanos, TimeUnit.NANOSECONDS);
+        // Generation rate after the first chunk, so that queueing and prompt processing do not
+        // count against the decode speed
+        long generationNanos = durationNanos - timeToFirstTokenNanos;
+        if (success && outputTokens > 0 && generationNanos > 0) {
+            meters.tokensPerSecond.record(outputTokens * 1e9 / generationNanos);
+        }
+    }
+
+    @Override
+    public void recordModelRetry(String provider, String model) {
+        modelMeters(provider, model).retries.increment();
+    }
+
+    @Override
+    public void recordToolCall(String tool, long durationNanos, boolean success) {
+        ToolMeters meters = toolMeters.get(tool);
+        if (meters == null) {
+            meters = toolMeters.computeIfAbsent(tool, name -> new ToolMeters(registry, name));
+        }
+        meters.calls.get(success).record(durationNanos, TimeUnit.NANOSECONDS);
+        if (!success) {
+            meters.errors.increment();
+        }
+    }
+
+    @Override
+    public void recordStateSave(String store, long durationNanos, boolean success) {
+        OutcomeTimers timers = storeMeters.get(store);
+        if (timers == null) {
+            timers =
+                    storeMeters.computeIfAbsent(
+                            store,
+                            name ->
+                                    new OutcomeTimers(
+                                            registry,
+                                            "agentscope.state.save",
+                                            "Agent state save latency",
+                                            "store",
+                                            name));
+        }
+        timers.get(success).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordStateConflict(String agent) {
+        agentMeters(agent).stateConflicts.increment();
+    }
+
+    @Override
+    public void recordSerializationWait(String agent, long waitNanos) {
+        agentMeters(agent).serializationWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private ModelMeters modelMeters(String provider, String model) {
+        provider = provider != null ? provider : "unknown";
+        model = model != null ? model : "unknown";
+        ConcurrentMap<String, ModelMeters> byModel = modelMeters.get(provider);
+        if (byModel == null) {
+            byModel = modelMeters.computeIfAbsent(provider, key -> new ConcurrentHashMap<>());
+        }
+        ModelMeters meters = byModel.get(model);
+        if (meters == null) {
+            String providerName = provider;
+            meters =
+                    byModel.computeIfAbsent(
+                            model, name -> new ModelMeters(registry, providerName, name));
+        }
+        return meters;
+    }
+
+    private AgentMeters agentMeters(String agent) {
+        agent = agent != null ? agent : "unknown";
+        AgentMeters meters = agentMeters.get(agent);
+        if (meters == null) {
+            meters = agentMeters.computeIfAbsent(agent, name -> new AgentMeters(registry, name));
+        }
+        return meters;
+    }
+
+    /** A timer per outcome of the same operation. */
+    private static final class OutcomeTimers {
+        private final Timer success;
+        private final Timer error;
+
+        OutcomeTimers(MeterRegistry registry, String name, String description, String... tags) {
+            this.success = timer(registry, name, description, tags, SUCCESS);
+            this.error = timer(registry, name, description, tags, ERROR);
+        }
+
+        Timer get(boolean succeeded) {
+            return succeeded ? success : error;
+        }
+
+        private static Timer timer(
+                MeterRegistry registry,
+                String name,
+                String description,
+                String[] tags,
+                String outcome) {
+            return Timer.builder(name)
+                    .description(description)
+                    .tags(tags)
+                    .tag(OUTCOME, outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+
+    private static final class ModelMeters {
+        private final OutcomeTimers calls;
+        private final Timer timeToFirstToken;
+        private final DistributionSummary tokensPerSecond;
+        private final Counter retries;
+
+        ModelMeters(MeterRegistry registry, String provider, String model) {
+            this.calls =
+                    new OutcomeTimers(
+                            registry,
+                            "agentscope.model.call",
+                            "Model call latency, including retries",
+                            "provider",
+                            provider,
+                            "model",
+                            model);
+            this.timeToFirstToken =
+                    Timer.builder("agentscope.model.time.to.first.token")
+                            .description("Latency until the first model response chunk")
+                            .tag("provider", provider)
+                            .tag("model", model)
+                            .publishPercentileHistogram()
+                            .register(registry);
+            this.tokensPerSecond =
+                    DistributionSummary.builder("agentscope.model.tokens.per.second")
+                            .description("Output tokens per second after the first chunk")
+                            .baseUnit("tokens")
+                            .tag("provider", provider)
+                            .tag("model", model)
+                            .publishPercentileHistogram()
+                            .register(registry);
+            this.retries =
+                    Counter.builder("agentscope.model.retries")
+                            .description("Retried model requests")
+                            .tag("provider", provider)
+                            .tag("model", model)
+                            .register(registry);
+        }
+    }
+
+    private static final class ToolMeters {
+        private final OutcomeTimers calls;
+        private final Counter errors;
+
+        ToolMeters(MeterRegistry registry, String tool) {
+            this.calls =
+                    new OutcomeTimers(
+                            registry, "agentscope.tool.call", "Tool call latency", "tool", tool);
+            this.errors =
+                    Counter.builder("agentscope.tool.errors")
+                            .description("Tool calls ending with an error result")
+                            .tag("tool", tool)
+                            .register(registry);
+        }
+    }
+
+    private static final class AgentMeters {
+        private final Counter stateConflicts;
+        private final Timer serializationWait;
+
+        AgentMeters(MeterRegistry registry, String agent) {
+            this.stateConflicts =
+                    Counter.builder("agentscope.state.conflicts")
+                            .description("Optimistic concurrency conflicts when saving state")
+                            .tag("agent", agent)
+                            .register(registry);
+            this.serializationWait =
+                    Timer.builder("agentscope.agent.serialization.wait")
+                            .description("Time a call waited behind earlier calls of its session")
+                            .tag("agent", agent)
+                            .publishPercentileHistogram()
+                            .register(registry);
+        }
+    }
+}
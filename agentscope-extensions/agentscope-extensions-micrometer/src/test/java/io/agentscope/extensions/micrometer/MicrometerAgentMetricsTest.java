@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.extensions.micrometer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.agentscope.core.metrics.AgentMetricsRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("MicrometerAgentMetrics Tests")
+class MicrometerAgentMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MicrometerAgentMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerAgentMetrics(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        AgentMetricsRegistry.reset();
+    }
+
+    @Test
+    @DisplayName("Should record model latency, time to first token and generation rate")
+    void testModelCall() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        metrics.recordModelCall("openai", "gpt", 3 * second, second, 100, true);
+        metrics.recordModelCall("openai", "gpt", 2 * second, -1, 0, false);
+        metrics.recordModelRetry("openai", "gpt");
+
+        Timer success =
+                registry.get("agentscope.model.call")
+                        .tags("provider", "openai", "model", "gpt", "outcome", "success")
+                        .timer();
+        assertEquals(1, success.count());
+        assertEquals(3.0, success.totalTime(TimeUnit.SECONDS), 1e-9);
+        Timer error = registry.get("agentscope.model.call").tags("outcome", "error").timer();
+        assertEquals(1, error.count());
+
+        Timer ttft = registry.get("agentscope.model.time.to.first.token").timer();
+        assertEquals(1, ttft.count());
+        assertEquals(1.0, ttft.totalTime(TimeUnit.SECONDS), 1e-9);
+
+        // 100 tokens over the 2 seconds after the first chunk
+        DistributionSummary rate = registry.get("agentscope.model.tokens.per.second").summary();
+        assertEquals(1, rate.count());
+        assertEquals(50.0, rate.totalAmount(), 1e-9);
+
+        assertEquals(1.0, registry.get("agentscope.model.retries").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should record tool latency and errors per tool")
+    void testToolCall() {
+        metrics.recordToolCall("read_file", 1_000, true);
+        metrics.recordToolCall("read_file", 2_000, false);
+        metrics.recordToolCall("bash", 3_000, true);
+
+        assertEquals(
+                2, registry.get("agentscope.tool.call").tags("tool", "read_file").timers().size());
+        assertEquals(
+                1.0,
+                registry.get("agentscope.tool.errors").tags("tool", "read_file").counter().count());
+        assertEquals(
+                0.0, registry.get("agentscope.tool.errors").tags("tool", "bash").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should record state saves, conflicts and serialization wait")
+    void testStateAndSerialization() {
+        metrics.recordStateSave("JsonFileAgentStateStore", 5_000, true);
+        metrics.recordStateConflict("assistant");
+        metrics.recordStateConflict("assistant");
+        metrics.recordSerializationWait("assistant", 7_000);
+        metrics.recordStateConflict(null);
+
+        assertEquals(
+                1,
+                registry.get("agentscope.state.save")
+                        .tags("store", "JsonFileAgentStateStore", "outcome", "success")
+                        .timer()
+                        .count());
+        assertEquals(
+                2.0,
+                registry.get("agentscope.state.conflicts")
+                        .tags("agent", "assistant")
+                        .counter()
+                        .count());
+        assertEquals(
+                1.0,
+                registry.get("agentscope.state.conflicts")
+                        .tags("agent", "unknown")
+                        .counter()
+                        .count());
+        assertEquals(
+                7_000,
+                registry.get("agentscope.agent.serialization.wait")
+                        .timer()
+                        .totalTime(TimeUnit.NANOSECONDS),
+                1e-9);
+    }
+
+    @Test
+    @DisplayName("Should reuse meters for repeated measurements")
+    void testMetersCached() {
+        metrics.recordToolCall("bash", 1_000, true);
+        int meterCount = registry.getMeters().size();
+
+        metrics.recordToolCall("bash", 1_000, true);
+
+        assertEquals(meterCount, registry.getMeters().size());
+        assertEquals(
+                2,
+                registry.get("agentscope.tool.call")
+                        .tags("tool", "bash", "outcome", "success")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("Should register with AgentMetricsRegistry")
+    void testRegister() {
+        MicrometerAgentMetrics registered = MicrometerAgentMetrics.register(registry);
+
+        assertSame(registered, AgentMetricsRegistry.get());
+        assertNull(registry.find("agentscope.model.call").timer());
+        assertThrows(IllegalArgumentException.class, () -> new MicrometerAgentMetrics(null));
+    }
+}
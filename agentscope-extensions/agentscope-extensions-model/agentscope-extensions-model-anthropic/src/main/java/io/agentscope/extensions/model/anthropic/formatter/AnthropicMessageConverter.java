@@ -23,6 +23,7 @@ import com.anthropic.models.messages.MessageParam.Role;
 import com.anthropic.models.messages.TextBlockParam;
 import com.anthropic.models.messages.ToolResultBlockParam;
 import com.anthropic.models.messages.ToolUseBlockParam;
+import io.agentscope.core.formatter.FormattedMessageCache;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.DataBlock;
 import io.agentscope.core.message.HintBlock;
@@ -56,6 +57,8 @@ public class AnthropicMessageConverter {
 
     private final AnthropicMediaConverter mediaConverter;
     private final Function<List<ContentBlock>, String> toolResultConverter;
+    private final FormattedMessageCache<List<MessageParam>> messageCache =
+            new FormattedMessageCache<>();
 
     /**
      * Create an AnthropicMessageConverter with required dependency functions.
@@ -91,41 +94,60 @@ public class AnthropicMessageConverter {
                 }
             }
 
-            // Special handling for tool results - they create separate user messages
-            if (msg.hasContentBlocks(ToolResultBlock.class)) {
-                // Add non-tool-result content first (if any)
-                List<ContentBlock> nonToolBlocks = new ArrayList<>();
-                List<ToolResultBlock> toolResults = new ArrayList<>();
-
-                for (ContentBlock block : msg.getContent()) {
-                    if (block instanceof ToolResultBlock tr) {
-                        toolResults.add(tr);
-                    } else {
-                        nonToolBlocks.add(block);
-                    }
-                }
+            // Other messages convert independently of their neighbours and are cached
+            int ordinal = isFirstMessage ? 1 : 0;
+            result.addAll(
+                    messageCache.computeIfAbsent(
+                            msg, ordinal, () -> convertMessage(msg, isFirstMessage)));
+        }
 
-                // Add regular content if present
-                if (!nonToolBlocks.isEmpty()) {
-                    MessageParam regularMsg = convertMessageContent(msg, nonToolBlocks, i == 0);
-                    if (regularMsg != null) {
-                        result.add(regularMsg);
-                    }
-                }
+        return result;
+    }
 
-                // Add tool results as separate user messages
-                for (ToolResultBlock toolResult : toolResults) {
-                    result.add(convertToolResult(toolResult));
+    /**
+     * Convert a single message whose conversion does not depend on its neighbours. Tool results
+     * become separate user messages after any regular content.
+     *
+     * @param msg The message to convert
+     * @param isFirstMessage Whether this is the first message of the conversation
+     * @return The converted messages, in order
+     */
+    private List<MessageParam> convertMessage(Msg msg, boolean isFirstMessage) {
+        List<MessageParam> result = new ArrayList<>();
+
+        // Special handling for tool results - they create separate user messages
+        if (msg.hasContentBlocks(ToolResultBlock.class)) {
+            // Add non-tool-result content first (if any)
+            List<ContentBlock> nonToolBlocks = new ArrayList<>();
+            List<ToolResultBlock> toolResults = new ArrayList<>();
+
+            for (ContentBlock block : msg.getContent()) {
+                if (block instanceof ToolResultBlock tr) {
+                    toolResults.add(tr);
+                } else {
+                    nonToolBlocks.add(block);
                 }
-            } else {
-                MessageParam param = convertMessageContent(msg, msg.getContent(), isFirstMessage);
-                if (param != null) {
-                    result.add(param);
+            }
+
+            // Add regular content if present
+            if (!nonToolBlocks.isEmpty()) {
+                MessageParam regularMsg = convertMessageContent(msg, nonToolBlocks, isFirstMessage);
+                if (regularMsg != null) {
+                    result.add(regularMsg);
                 }
             }
-        }
 
-        return result;
+            // Add tool results as separate user messages
+            for (ToolResultBlock toolResult : toolResults) {
+                result.add(convertToolResult(toolResult));
+            }
+        } else {
+            MessageParam param = convertMessageContent(msg, msg.getContent(), isFirstMessage);
+            if (param != null) {
+                result.add(param);
+            }
+        }
+        return List.copyOf(result);
     }
 
     /**
@@ -17,6 +17,8 @@ package io.agentscope.extensions.model.dashscope.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.agentscope.core.formatter.EncodedMessageSerializer;
 import java.util.List;
 
 /**
@@ -29,6 +31,7 @@ public class DashScopeInput {
 
     /** The list of messages in the conversation. */
     @JsonProperty("messages")
+    @JsonSerialize(contentUsing = EncodedMessageSerializer.class)
     private List<DashScopeMessage> messages;
 
     public DashScopeInput() {}
@@ -21,6 +21,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
+import io.agentscope.core.formatter.EncodedFragment;
+import io.agentscope.core.formatter.EncodedMessage;
 import io.agentscope.core.util.JsonUtils;
 import java.util.List;
 import java.util.Map;
@@ -53,7 +55,7 @@ import java.util.Map;
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class DashScopeMessage {
+public class DashScopeMessage implements EncodedMessage {
 
     /** Message role: "system", "user", "assistant", or "tool". */
     @JsonProperty("role")
@@ -87,6 +89,9 @@ public class DashScopeMessage {
     @JsonProperty("cache_control")
     private Map<String, String> cacheControl;
 
+    /** Encoded JSON of this message, dropped on any modification. */
+    @JsonIgnore private EncodedFragment encodedFragment;
+
     public DashScopeMessage() {}
 
     public String getRole() {
@@ -94,6 +99,7 @@ public class DashScopeMessage {
     }
 
     public void setRole(String role) {
+        this.encodedFragment = null;
         this.role = role;
     }
 
@@ -102,6 +108,7 @@ public class DashScopeMessage {
     }
 
     public void setContent(Object content) {
+        this.encodedFragment = null;
         this.content = content;
     }
 
@@ -157,6 +164,7 @@ public class DashScopeMessage {
     }
 
     public void setName(String name) {
+        this.encodedFragment = null;
         this.name = name;
     }
 
@@ -165,6 +173,7 @@ public class DashScopeMessage {
     }
 
     public void setToolCallId(String toolCallId) {
+        this.encodedFragment = null;
         this.toolCallId = toolCallId;
     }
 
@@ -173,6 +182,7 @@ public class DashScopeMessage {
     }
 
     public void setToolCalls(List<DashScopeToolCall> toolCalls) {
+        this.encodedFragment = null;
         this.toolCalls = toolCalls;
     }
 
@@ -181,6 +191,7 @@ public class DashScopeMessage {
     }
 
     public void setReasoningContent(String reasoningContent) {
+        this.encodedFragment = null;
         this.reasoningContent = reasoningContent;
     }
 
@@ -189,9 +200,26 @@ public class DashScopeMessage {
     }
 
     public void setCacheControl(Map<String, String> cacheControl) {
+        this.encodedFragment = null;
         this.cacheControl = cacheControl;
     }
 
+    @Override
+    @JsonIgnore
+    public EncodedFragment getEncodedFragment() {
+        return encodedFragment;
+    }
+
+    /**
+     * Attach the encoded JSON fragment of the source message. Any later modification detaches it.
+     *
+     * @param encodedFragment the fragment, or null to always encode this message
+     */
+    @JsonIgnore
+    public void setEncodedFragment(EncodedFragment encodedFragment) {
+        this.encodedFragment = encodedFragment;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
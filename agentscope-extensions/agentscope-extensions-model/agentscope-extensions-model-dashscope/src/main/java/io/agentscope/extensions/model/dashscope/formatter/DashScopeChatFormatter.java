@@ -61,6 +61,7 @@ public class DashScopeChatFormatter
             boolean hasMedia = hasMediaContent(msg);
             DashScopeMessage dsMsg = messageConverter.convertToMessage(msg, hasMedia);
             if (dsMsg != null) {
+                dsMsg.setEncodedFragment(encodedFragment(msg, 0));
                 result.add(dsMsg);
             }
         }
@@ -19,6 +19,7 @@ import com.google.genai.types.Content;
 import com.google.genai.types.FunctionCall;
 import com.google.genai.types.FunctionResponse;
 import com.google.genai.types.Part;
+import io.agentscope.core.formatter.FormattedMessageCache;
 import io.agentscope.core.message.AudioBlock;
 import io.agentscope.core.message.Base64Source;
 import io.agentscope.core.message.ContentBlock;
@@ -69,6 +70,7 @@ public class GeminiMessageConverter {
     private static final Logger log = LoggerFactory.getLogger(GeminiMessageConverter.class);
 
     private final GeminiMediaConverter mediaConverter;
+    private final FormattedMessageCache<List<Content>> messageCache = new FormattedMessageCache<>();
 
     /**
      * Creates a new GeminiMessageConverter with default media converter.
@@ -87,118 +89,130 @@ public class GeminiMessageConverter {
         List<Content> result = new ArrayList<>();
 
         for (Msg msg : msgs) {
-            List<Part> parts = new ArrayList<>();
-
-            for (ContentBlock block : msg.getContent()) {
-                if (block instanceof TextBlock tb) {
-                    parts.add(Part.builder().text(tb.getText()).build());
-
-                } else if (block instanceof ToolUseBlock tub) {
-                    // Prioritize using content field (raw arguments string), fallback to input map
-                    Map<String, Object> args;
-                    if (tub.getContent() != null && !tub.getContent().isEmpty()) {
-                        try {
-                            @SuppressWarnings("unchecked")
-                            Map<String, Object> parsed =
-                                    JsonUtils.getJsonCodec().fromJson(tub.getContent(), Map.class);
-                            args = parsed != null ? parsed : tub.getInput();
-                        } catch (Exception e) {
-                            log.warn(
-                                    "Failed to parse content as JSON, falling back to input map:"
-                                            + " {}",
-                                    e.getMessage());
-                            args = tub.getInput();
-                        }
-                    } else {
+            // Each message converts independently, so unchanged history is served from cache
+            result.addAll(messageCache.computeIfAbsent(msg, 0, () -> convertMessage(msg)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Convert a single Msg to Gemini Content objects. Tool results become independent "user"
+     * Content entries ahead of the message's own parts.
+     *
+     * @param msg AgentScope message
+     * @return Gemini Content objects for this message, in order
+     */
+    private List<Content> convertMessage(Msg msg) {
+        List<Content> result = new ArrayList<>();
+        List<Part> parts = new ArrayList<>();
+
+        for (ContentBlock block : msg.getContent()) {
+            if (block instanceof TextBlock tb) {
+                parts.add(Part.builder().text(tb.getText()).build());
+
+            } else if (block instanceof ToolUseBlock tub) {
+                // Prioritize using content field (raw arguments string), fallback to input map
+                Map<String, Object> args;
+                if (tub.getContent() != null && !tub.getContent().isEmpty()) {
+                    try {
+                        @SuppressWarnings("unchecked")
+                        Map<String, Object> parsed =
+                                JsonUtils.getJsonCodec().fromJson(tub.getContent(), Map.class);
+                        args = parsed != null ? parsed : tub.getInput();
+                    } catch (Exception e) {
+                        log.warn(
+                                "Failed to parse content as JSON, falling back to input map:"
+                                        + " {}",
+                                e.getMessage());
                         args = tub.getInput();
                     }
+                } else {
+                    args = tub.getInput();
+                }
 
-                    // Create FunctionCall
-                    FunctionCall functionCall =
-                            FunctionCall.builder()
-                                    .id(tub.getId())
-                                    .name(tub.getName())
-                                    .args(args)
-                                    .build();
-
-                    // Build Part with FunctionCall and optional thought signature
-                    Part.Builder partBuilder = Part.builder().functionCall(functionCall);
-
-                    // Check for thought signature in metadata
-                    Map<String, Object> metadata = tub.getMetadata();
-                    if (metadata != null
-                            && metadata.containsKey(ToolUseBlock.METADATA_THOUGHT_SIGNATURE)) {
-                        Object signature = metadata.get(ToolUseBlock.METADATA_THOUGHT_SIGNATURE);
-                        if (signature instanceof byte[]) {
-                            partBuilder.thoughtSignature((byte[]) signature);
-                        }
+                // Create FunctionCall
+                FunctionCall functionCall =
+                        FunctionCall.builder()
+                                .id(tub.getId())
+                                .name(tub.getName())
+                                .args(args)
+                                .build();
+
+                // Build Part with FunctionCall and optional thought signature
+                Part.Builder partBuilder = Part.builder().functionCall(functionCall);
+
+                // Check for thought signature in metadata
+                Map<String, Object> metadata = tub.getMetadata();
+                if (metadata != null
+                        && metadata.containsKey(ToolUseBlock.METADATA_THOUGHT_SIGNATURE)) {
+                    Object signature = metadata.get(ToolUseBlock.METADATA_THOUGHT_SIGNATURE);
+                    if (signature instanceof byte[]) {
+                        partBuilder.thoughtSignature((byte[]) signature);
                     }
+                }
 
-                    parts.add(partBuilder.build());
+                parts.add(partBuilder.build());
 
-                } else if (block instanceof ToolResultBlock trb) {
-                    // IMPORTANT: Tool result as independent Content with "user" role
-                    String textOutput = convertToolResultToString(trb.getOutput());
+            } else if (block instanceof ToolResultBlock trb) {
+                // IMPORTANT: Tool result as independent Content with "user" role
+                String textOutput = convertToolResultToString(trb.getOutput());
 
-                    // Create response map with "output" key
-                    Map<String, Object> responseMap = new HashMap<>();
-                    responseMap.put("output", textOutput);
+                // Create response map with "output" key
+                Map<String, Object> responseMap = new HashMap<>();
+                responseMap.put("output", textOutput);
 
-                    FunctionResponse functionResponse =
-                            FunctionResponse.builder()
-                                    .id(trb.getId())
-                                    .name(trb.getName())
-                                    .response(responseMap)
-                                    .build();
+                FunctionResponse functionResponse =
+                        FunctionResponse.builder()
+                                .id(trb.getId())
+                                .name(trb.getName())
+                                .response(responseMap)
+                                .build();
 
-                    Part functionResponsePart =
-                            Part.builder().functionResponse(functionResponse).build();
+                Part functionResponsePart =
+                        Part.builder().functionResponse(functionResponse).build();
 
-                    Content toolResultContent =
-                            Content.builder()
-                                    .role("user")
-                                    .parts(List.of(functionResponsePart))
-                                    .build();
+                Content toolResultContent =
+                        Content.builder().role("user").parts(List.of(functionResponsePart)).build();
 
-                    result.add(toolResultContent);
-                    // Skip adding to current message parts
-                    continue;
+                result.add(toolResultContent);
+                // Skip adding to current message parts
+                continue;
 
-                } else if (block instanceof ImageBlock ib) {
-                    parts.add(mediaConverter.convertToInlineDataPart(ib));
+            } else if (block instanceof ImageBlock ib) {
+                parts.add(mediaConverter.convertToInlineDataPart(ib));
 
-                } else if (block instanceof AudioBlock ab) {
-                    parts.add(mediaConverter.convertToInlineDataPart(ab));
+            } else if (block instanceof AudioBlock ab) {
+                parts.add(mediaConverter.convertToInlineDataPart(ab));
 
-                } else if (block instanceof VideoBlock vb) {
-                    parts.add(mediaConverter.convertToInlineDataPart(vb));
+            } else if (block instanceof VideoBlock vb) {
+                parts.add(mediaConverter.convertToInlineDataPart(vb));
 
-                } else if (block instanceof DataBlock db) {
-                    parts.add(mediaConverter.convertToInlineDataPart(db));
+            } else if (block instanceof DataBlock db) {
+                parts.add(mediaConverter.convertToInlineDataPart(db));
 
-                } else if (block instanceof HintBlock hb) {
-                    parts.add(Part.builder().text(hb.getHint()).build());
+            } else if (block instanceof HintBlock hb) {
+                parts.add(Part.builder().text(hb.getHint()).build());
 
-                } else if (block instanceof ThinkingBlock) {
-                    log.debug("Skipping ThinkingBlock when formatting message for Gemini API");
-                    continue;
+            } else if (block instanceof ThinkingBlock) {
+                log.debug("Skipping ThinkingBlock when formatting message for Gemini API");
+                continue;
 
-                } else {
-                    log.warn(
-                            "Unsupported block type: {} in the message, skipped.",
-                            block.getClass().getSimpleName());
-                }
+            } else {
+                log.warn(
+                        "Unsupported block type: {} in the message, skipped.",
+                        block.getClass().getSimpleName());
             }
+        }
 
-            // Add message if there are parts
-            if (!parts.isEmpty()) {
-                String role = convertRole(msg.getRole());
-                Content content = Content.builder().role(role).parts(parts).build();
-                result.add(content);
-            }
+        // Add message if there are parts
+        if (!parts.isEmpty()) {
+            String role = convertRole(msg.getRole());
+            Content content = Content.builder().role(role).parts(parts).build();
+            result.add(content);
         }
 
-        return result;
+        return List.copyOf(result);
     }
 
     /**
@@ -15,8 +15,11 @@
  */
 package io.agentscope.extensions.model.ollama.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.agentscope.core.formatter.EncodedFragment;
+import io.agentscope.core.formatter.EncodedMessage;
 import java.util.List;
 
 /**
@@ -25,7 +28,7 @@ import java.util.List;
  *
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class OllamaMessage {
+public class OllamaMessage implements EncodedMessage {
 
     /** The role of the message sender (system, user, assistant, tool). */
     @JsonProperty("role")
@@ -51,6 +54,9 @@ public class OllamaMessage {
     @JsonProperty("name")
     private String name;
 
+    /** Encoded JSON of this message, dropped on any modification. */
+    @JsonIgnore private EncodedFragment encodedFragment;
+
     public OllamaMessage() {}
 
     public OllamaMessage(String role, String content) {
@@ -63,6 +69,7 @@ public class OllamaMessage {
     }
 
     public void setRole(String role) {
+        this.encodedFragment = null;
         this.role = role;
     }
 
@@ -71,6 +78,7 @@ public class OllamaMessage {
     }
 
     public void setContent(String content) {
+        this.encodedFragment = null;
         this.content = content;
     }
 
@@ -79,6 +87,7 @@ public class OllamaMessage {
     }
 
     public void setImages(List<String> images) {
+        this.encodedFragment = null;
         this.images = images;
     }
 
@@ -87,6 +96,7 @@ public class OllamaMessage {
     }
 
     public void setToolCalls(List<OllamaToolCall> toolCalls) {
+        this.encodedFragment = null;
         this.toolCalls = toolCalls;
     }
 
@@ -95,6 +105,7 @@ public class OllamaMessage {
     }
 
     public void setToolCallId(String toolCallId) {
+        this.encodedFragment = null;
         this.toolCallId = toolCallId;
     }
 
@@ -103,6 +114,23 @@ public class OllamaMessage {
     }
 
     public void setName(String name) {
+        this.encodedFragment = null;
         this.name = name;
     }
+
+    @Override
+    @JsonIgnore
+    public EncodedFragment getEncodedFragment() {
+        return encodedFragment;
+    }
+
+    /**
+     * Attach the encoded JSON fragment of the source message. Any later modification detaches it.
+     *
+     * @param encodedFragment the fragment, or null to always encode this message
+     */
+    @JsonIgnore
+    public void setEncodedFragment(EncodedFragment encodedFragment) {
+        this.encodedFragment = encodedFragment;
+    }
 }
@@ -17,6 +17,8 @@ package io.agentscope.extensions.model.ollama.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.agentscope.core.formatter.EncodedMessageSerializer;
 import java.util.List;
 import java.util.Map;
 
@@ -34,6 +36,7 @@ public class OllamaRequest {
 
     /** The list of messages in the conversation. */
     @JsonProperty("messages")
+    @JsonSerialize(contentUsing = EncodedMessageSerializer.class)
     private List<OllamaMessage> messages;
 
     /** Whether to stream the response. */
@@ -74,7 +74,11 @@ public class OllamaChatFormatter
 
         for (Msg msg : msgs) {
             // Process each message and add to result
+            int start = result.size();
             processMessage(msg, result);
+            for (int i = start; i < result.size(); i++) {
+                result.get(i).setEncodedFragment(encodedFragment(msg, i - start));
+            }
         }
 
         return result;
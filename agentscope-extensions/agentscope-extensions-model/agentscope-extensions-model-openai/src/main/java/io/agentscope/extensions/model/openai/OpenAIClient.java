@@ -67,9 +67,6 @@ public class OpenAIClient {
 
     private static final Logger log = LoggerFactory.getLogger(OpenAIClient.class);
 
-    /** SSE sentinel emitted by the OpenAI streaming API to signal end of stream. */
-    private static final String SSE_DONE_MARKER = "[DONE]";
-
     /** Default base URL for OpenAI API. */
     public static final String DEFAULT_BASE_URL = "https://api.openai.com";
 
@@ -403,15 +400,15 @@ public class OpenAIClient {
                             .build();
 
             AtomicBoolean seenChunk = new AtomicBoolean(false);
-            return transport.stream(httpRequest)
-                    // The SSE `[DONE]` sentinel terminates the stream: complete the Flux here
-                    // rather than merely filtering it out, otherwise completion is deferred until
-                    // the underlying connection closes (keep-alive gateways may stall this for the
-                    // full idle timeout even though the model has finished responding).
-                    .takeWhile(data -> !SSE_DONE_MARKER.equals(data))
+            // Frames are decoded straight from the response bytes; the SSE `[DONE]` sentinel
+            // completes the Flux inside the transport rather than waiting for the underlying
+            // connection to close (keep-alive gateways may otherwise stall for the full idle
+            // timeout even though the model has finished responding).
+            return transport
+                    .streamFrames(httpRequest, this::parseStreamFrame)
                     .<OpenAIResponse>handle(
-                            (data, sink) -> {
-                                OpenAIResponse response = parseStreamData(data);
+                            (frame, sink) -> {
+                                OpenAIResponse response = frame.response();
                                 if (response != null) {
                                     // Check for error in streaming response chunk
                                     if (response.isError()) {
@@ -424,7 +421,7 @@ public class OpenAIClient {
                                                         "OpenAI API error in streaming response: "
                                                                 + errorMessage,
                                                         errorCode,
-                                                        data));
+                                                        frame.data()));
                                         return;
                                     }
                                     // Some OpenAI-compatible providers (e.g. MiniMax) emit an
@@ -442,7 +439,6 @@ public class OpenAIClient {
                                     }
                                     sink.next(response);
                                 }
-                                // If response is null (malformed chunk), skip it silently
                             })
                     .onErrorMap(
                             ex -> {
@@ -502,13 +498,45 @@ public class OpenAIClient {
         return 400;
     }
 
+    /**
+     * Parse a single SSE frame straight from the response bytes.
+     *
+     * <p>The raw text is only materialized for error chunks, which need it for the exception
+     * body; regular chunks are deserialized without an intermediate String.
+     *
+     * @param bytes buffer holding the frame payload (without "data: " prefix)
+     * @param offset start of the payload in {@code bytes}
+     * @param length payload length in bytes
+     * @return the parsed frame, or null if the payload is malformed and should be skipped
+     */
+    private StreamFrame parseStreamFrame(byte[] bytes, int offset, int length) {
+        if (log.isDebugEnabled()) {
+            return parseStreamData(new String(bytes, offset, length, StandardCharsets.UTF_8));
+        }
+        try {
+            OpenAIResponse response =
+                    JsonUtils.getJsonCodec().fromJson(bytes, offset, length, OpenAIResponse.class);
+            if (response == null) {
+                return parseStreamData(new String(bytes, offset, length, StandardCharsets.UTF_8));
+            }
+            String data =
+                    response.isError()
+                            ? new String(bytes, offset, length, StandardCharsets.UTF_8)
+                            : null;
+            return new StreamFrame(response, data);
+        } catch (Exception e) {
+            // Re-run through the String path so malformed chunks are logged with their content
+            return parseStreamData(new String(bytes, offset, length, StandardCharsets.UTF_8));
+        }
+    }
+
     /**
      * Parse a single SSE data line to OpenAIResponse.
      *
      * @param data the SSE data (without "data: " prefix)
-     * @return the parsed OpenAIResponse, or null if parsing fails
+     * @return the parsed frame, or null if parsing fails
      */
-    private OpenAIResponse parseStreamData(String data) {
+    private StreamFrame parseStreamData(String data) {
         if (log.isDebugEnabled()) {
             log.debug("SSE data: {}", data);
         }
@@ -526,7 +554,7 @@ public class OpenAIClient {
                         data.length() > 100 ? data.substring(0, 100) + "..." : data);
                 return null;
             }
-            return response;
+            return new StreamFrame(response, data);
         } catch (JsonException e) {
             log.error(
                     "Failed to parse SSE data - JSON error: {}. Content: {}.",
@@ -729,4 +757,7 @@ public class OpenAIClient {
     public HttpTransport getTransport() {
         return transport;
     }
+
+    /** A decoded stream chunk together with its raw text, kept only when it is needed. */
+    private record StreamFrame(OpenAIResponse response, String data) {}
 }
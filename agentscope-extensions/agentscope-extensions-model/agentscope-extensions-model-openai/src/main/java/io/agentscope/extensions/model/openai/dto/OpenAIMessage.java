@@ -20,6 +20,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.agentscope.core.formatter.EncodedFragment;
+import io.agentscope.core.formatter.EncodedMessage;
 import java.util.List;
 import java.util.Map;
 
@@ -51,7 +53,7 @@ import java.util.Map;
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class OpenAIMessage {
+public class OpenAIMessage implements EncodedMessage {
 
     /** Message role: "system", "user", "assistant", or "tool". */
     @JsonProperty("role")
@@ -101,6 +103,9 @@ public class OpenAIMessage {
     @JsonProperty("cache_control")
     private Map<String, String> cacheControl;
 
+    /** Encoded JSON of this message, dropped on any modification. */
+    @JsonIgnore private EncodedFragment encodedFragment;
+
     public OpenAIMessage() {}
 
     public String getRole() {
@@ -108,6 +113,7 @@ public class OpenAIMessage {
     }
 
     public void setRole(String role) {
+        this.encodedFragment = null;
         this.role = role;
     }
 
@@ -116,6 +122,7 @@ public class OpenAIMessage {
     }
 
     public void setContent(Object content) {
+        this.encodedFragment = null;
         this.content = content;
     }
 
@@ -124,6 +131,7 @@ public class OpenAIMessage {
     }
 
     public void setName(String name) {
+        this.encodedFragment = null;
         this.name = name;
     }
 
@@ -132,6 +140,7 @@ public class OpenAIMessage {
     }
 
     public void setToolCallId(String toolCallId) {
+        this.encodedFragment = null;
         this.toolCallId = toolCallId;
     }
 
@@ -140,6 +149,7 @@ public class OpenAIMessage {
     }
 
     public void setToolCalls(List<OpenAIToolCall> toolCalls) {
+        this.encodedFragment = null;
         this.toolCalls = toolCalls;
     }
 
@@ -148,6 +158,7 @@ public class OpenAIMessage {
     }
 
     public void setReasoningContent(String reasoningContent) {
+        this.encodedFragment = null;
         this.reasoningContent = reasoningContent;
     }
 
@@ -156,6 +167,7 @@ public class OpenAIMessage {
     }
 
     public void setReasoningDetails(List<OpenAIReasoningDetail> reasoningDetails) {
+        this.encodedFragment = null;
         this.reasoningDetails = reasoningDetails;
     }
 
@@ -164,6 +176,7 @@ public class OpenAIMessage {
     }
 
     public void setRefusal(String refusal) {
+        this.encodedFragment = null;
         this.refusal = refusal;
     }
 
@@ -172,6 +185,7 @@ public class OpenAIMessage {
     }
 
     public void setCacheControl(Map<String, String> cacheControl) {
+        this.encodedFragment = null;
         this.cacheControl = cacheControl;
     }
 
@@ -223,6 +237,22 @@ public class OpenAIMessage {
         return content instanceof List;
     }
 
+    @Override
+    @JsonIgnore
+    public EncodedFragment getEncodedFragment() {
+        return encodedFragment;
+    }
+
+    /**
+     * Attach the encoded JSON fragment of the source message. Any later modification detaches it.
+     *
+     * @param encodedFragment the fragment, or null to always encode this message
+     */
+    @JsonIgnore
+    public void setEncodedFragment(EncodedFragment encodedFragment) {
+        this.encodedFragment = encodedFragment;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
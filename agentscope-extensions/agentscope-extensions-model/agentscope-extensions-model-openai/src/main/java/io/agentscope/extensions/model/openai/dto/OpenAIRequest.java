@@ -19,6 +19,8 @@ import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.agentscope.core.formatter.EncodedMessageSerializer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,7 @@ public class OpenAIRequest {
 
     /** The list of messages in the conversation. */
     @JsonProperty("messages")
+    @JsonSerialize(contentUsing = EncodedMessageSerializer.class)
     private List<OpenAIMessage> messages;
 
     /** Whether to stream the response. */
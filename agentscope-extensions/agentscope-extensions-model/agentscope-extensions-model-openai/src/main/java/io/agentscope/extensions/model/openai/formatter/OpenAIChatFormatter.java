@@ -58,6 +58,7 @@ public class OpenAIChatFormatter extends OpenAIBaseFormatter {
             boolean hasMedia = hasMediaContent(msg);
             OpenAIMessage openAIMsg = convertMessage(msg, hasMedia);
             if (openAIMsg != null) {
+                openAIMsg.setEncodedFragment(encodedFragment(msg, 0));
                 result.add(openAIMsg);
             }
         }
@@ -16,9 +16,11 @@
 package io.agentscope.extensions.model.openai.formatter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -34,6 +36,7 @@ import io.agentscope.core.model.GenerateOptions;
 import io.agentscope.core.model.ToolChoice;
 import io.agentscope.core.model.ToolSchema;
 import io.agentscope.core.util.JsonSchemaUtils;
+import io.agentscope.core.util.JsonUtils;
 import io.agentscope.extensions.model.openai.dto.OpenAIChoice;
 import io.agentscope.extensions.model.openai.dto.OpenAIMessage;
 import io.agentscope.extensions.model.openai.dto.OpenAIRequest;
@@ -826,4 +829,72 @@ class OpenAIChatFormatterTest {
             assertEquals(1, result.size());
         }
     }
+
+    @Nested
+    @DisplayName("Encoded Fragment Cache")
+    class EncodedFragmentCacheTests {
+
+        @Test
+        @DisplayName("Should reuse encoded history across turns and match a full encode")
+        void testHistoryEncodedOnce() {
+            Msg system =
+                    Msg.builder()
+                            .role(MsgRole.SYSTEM)
+                            .content(TextBlock.builder().text("Be brief").build())
+                            .build();
+            Msg user =
+                    Msg.builder()
+                            .role(MsgRole.USER)
+                            .content(TextBlock.builder().text("Hi").build())
+                            .build();
+            Msg reply =
+                    Msg.builder()
+                            .role(MsgRole.ASSISTANT)
+                            .content(TextBlock.builder().text("Hello").build())
+                            .build();
+
+            List<OpenAIMessage> firstTurn = formatter.format(List.of(system, user));
+            String firstBody =
+                    JsonUtils.getJsonCodec()
+                            .toJson(formatter.buildRequest("gpt-4o", firstTurn, false));
+
+            List<OpenAIMessage> secondTurn = formatter.format(List.of(system, user, reply));
+            assertSame(
+                    firstTurn.get(0).getEncodedFragment(), secondTurn.get(0).getEncodedFragment());
+            assertNotNull(secondTurn.get(0).getEncodedFragment().get());
+
+            OpenAIRequest request = formatter.buildRequest("gpt-4o", secondTurn, false);
+            String spliced = JsonUtils.getJsonCodec().toJson(request);
+            for (OpenAIMessage message : secondTurn) {
+                message.setEncodedFragment(null);
+            }
+            assertEquals(JsonUtils.getJsonCodec().toJson(request), spliced);
+            assertTrue(firstBody.contains("Be brief"));
+            assertTrue(formatter.getEncodedFragmentCache().getHitCount() >= 2);
+        }
+
+        @Test
+        @DisplayName("Should not splice a stale fragment after the message is modified")
+        void testModificationDetachesFragment() {
+            Msg user =
+                    Msg.builder()
+                            .role(MsgRole.USER)
+                            .content(TextBlock.builder().text("Hi").build())
+                            .build();
+            List<OpenAIMessage> turn = formatter.format(List.of(user));
+            JsonUtils.getJsonCodec().toJson(formatter.buildRequest("gpt-4o", turn, false));
+
+            formatter.applyCacheControl(turn);
+
+            assertNull(turn.get(0).getEncodedFragment());
+            String body =
+                    JsonUtils.getJsonCodec().toJson(formatter.buildRequest("gpt-4o", turn, false));
+            assertTrue(body.contains("cache_control"));
+
+            // The next turn still starts from the unmodified encoding
+            List<OpenAIMessage> next = formatter.format(List.of(user));
+            assertNotNull(next.get(0).getEncodedFragment());
+            assertFalse(next.get(0).getEncodedFragment().get().contains("cache_control"));
+        }
+    }
 }
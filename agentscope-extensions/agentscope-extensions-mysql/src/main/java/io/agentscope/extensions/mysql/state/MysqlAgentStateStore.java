@@ -359,6 +359,15 @@ public class MysqlAgentStateStore implements AgentStateStore {
         validateSessionId(slotId);
         validateStateKey(key);
 
+        try (Connection conn = dataSource.getConnection()) {
+            executeInWriteTransaction(conn, () -> upsertSingle(conn, slotId, key, value));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save state: " + key, e);
+        }
+    }
+
+    private void upsertSingle(Connection conn, String slotId, String key, State value)
+            throws Exception {
         String upsertSql =
                 "INSERT INTO "
                         + getFullTableName()
@@ -367,23 +376,15 @@ public class MysqlAgentStateStore implements AgentStateStore {
                         + " ON DUPLICATE KEY UPDATE state_data = VALUES(state_data),"
                         + " version = version + 1";
 
-        try (Connection conn = dataSource.getConnection()) {
-            executeInWriteTransaction(
-                    conn,
-                    () -> {
-                        try (PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
-                            String json = JsonUtils.getJsonCodec().toJson(value);
+        try (PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
+            String json = JsonUtils.getJsonCodec().toJson(value);
 
-                            stmt.setString(1, slotId);
-                            stmt.setString(2, key);
-                            stmt.setInt(3, SINGLE_STATE_INDEX);
-                            stmt.setString(4, json);
+            stmt.setString(1, slotId);
+            stmt.setString(2, key);
+            stmt.setInt(3, SINGLE_STATE_INDEX);
+            stmt.setString(4, json);
 
-                            stmt.executeUpdate();
-                        }
-                    });
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to save state: " + key, e);
+            stmt.executeUpdate();
         }
     }
 
@@ -496,6 +497,123 @@ public class MysqlAgentStateStore implements AgentStateStore {
         }
     }
 
+    @Override
+    public boolean supportsAppendLog() {
+        return true;
+    }
+
+    /**
+     * Write a single state and splice a list state in one transaction.
+     *
+     * <p>The single state row is written first (CAS unless {@code expectedVersion} is {@link
+     * #UNVERSIONED}); on conflict the transaction writes nothing else. Otherwise list rows with
+     * {@code item_index >= logOffset} are deleted and {@code logTail} is inserted in one batch
+     * from {@code logOffset} on, so the kept prefix is never rewritten.
+     */
+    @Override
+    public long saveIfVersionWithLog(
+            String userId,
+            String sessionId,
+            String key,
+            State value,
+            long expectedVersion,
+            String logKey,
+            int logOffset,
+            List<? extends State> logTail) {
+        String slotId = slotId(userId, sessionId);
+        validateSessionId(slotId);
+        validateStateKey(key);
+        validateStateKey(logKey);
+
+        try (Connection conn = dataSource.getConnection()) {
+            long[] result = new long[1];
+            executeInWriteTransaction(
+                    conn,
+                    () -> {
+                        int existingCount = getListCount(conn, slotId, logKey);
+                        if (existingCount < logOffset) {
+                            throw new IllegalStateException(
+                                    "Log '"
+                                            + logKey
+                                            + "' holds "
+                                            + existingCount
+                                            + " items, cannot keep "
+                                            + logOffset);
+                        }
+                        if (expectedVersion == UNVERSIONED) {
+                            upsertSingle(conn, slotId, key, value);
+                            result[0] = getSingleVersion(conn, slotId, key);
+                        } else if (expectedVersion == 0L) {
+                            result[0] = insertIfAbsent(conn, slotId, key, value);
+                        } else {
+                            result[0] = updateIfVersion(conn, slotId, key, value, expectedVersion);
+                        }
+                        if (result[0] == UNVERSIONED) {
+                            return;
+                        }
+                        if (existingCount > logOffset) {
+                            deleteListItemsFrom(conn, slotId, logKey, logOffset);
+                        }
+                        if (!logTail.isEmpty()) {
+                            insertItems(conn, slotId, logKey, logTail, logOffset);
+                        }
+                    });
+            return result[0];
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save state with log: " + key, e);
+        }
+    }
+
+    /**
+     * Get the version of a single state row inside the current transaction.
+     *
+     * @param conn database connection
+     * @param slotId slot identifier
+     * @param key the state key
+     * @return the stored version, or {@link #UNVERSIONED} if the row is absent
+     */
+    private long getSingleVersion(Connection conn, String slotId, String key) throws SQLException {
+        String selectSql =
+                "SELECT version FROM "
+                        + getFullTableName()
+                        + " WHERE session_id = ? AND state_key = ? AND item_index = ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+            stmt.setString(1, slotId);
+            stmt.setString(2, key);
+            stmt.setInt(3, SINGLE_STATE_INDEX);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong("version") : UNVERSIONED;
+            }
+        }
+    }
+
+    /**
+     * Delete the items of a list state from a given index on.
+     *
+     * @param conn database connection
+     * @param sessionId session identifier
+     * @param key the state key
+     * @param fromIndex first item_index to delete
+     */
+    private void deleteListItemsFrom(Connection conn, String sessionId, String key, int fromIndex)
+            throws SQLException {
+        String deleteSql =
+                "DELETE FROM "
+                        + getFullTableName()
+                        + " WHERE session_id = ? AND state_key = ? AND item_index >= ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+            stmt.setString(1, sessionId);
+            stmt.setString(2, key);
+            stmt.setInt(3, fromIndex);
+            stmt.executeUpdate();
+        }
+    }
+
     /**
      * Save a list of state values with hash-based change detection.
      *
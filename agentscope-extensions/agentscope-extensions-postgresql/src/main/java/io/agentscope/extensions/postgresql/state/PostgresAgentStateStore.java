@@ -265,6 +265,15 @@ public class PostgresAgentStateStore implements AgentStateStore {
         validateSessionId(slotId);
         validateStateKey(key);
 
+        try (Connection conn = dataSource.getConnection()) {
+            executeInWriteTransaction(conn, () -> upsertSingle(conn, slotId, key, value));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save state: " + key, e);
+        }
+    }
+
+    private long upsertSingle(Connection conn, String slotId, String key, State value)
+            throws Exception {
         String upsertSql =
                 """
                 INSERT INTO %s (session_id, state_key, item_index, state_data, version, updated_at)
@@ -273,26 +282,20 @@ public class PostgresAgentStateStore implements AgentStateStore {
                     state_data = EXCLUDED.state_data,
                     version = %s.version + 1,
                     updated_at = EXCLUDED.updated_at
+                RETURNING version
                 """
                         .formatted(getFullTableName(), getFullTableName());
         Timestamp now = new Timestamp(System.currentTimeMillis());
-
-        try (Connection conn = dataSource.getConnection()) {
-            executeInWriteTransaction(
-                    conn,
-                    () -> {
-                        try (PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
-                            String json = JsonUtils.getJsonCodec().toJson(value);
-                            stmt.setString(1, slotId);
-                            stmt.setString(2, key);
-                            stmt.setInt(3, SINGLE_STATE_INDEX);
-                            stmt.setString(4, json);
-                            stmt.setTimestamp(5, now);
-                            stmt.executeUpdate();
-                        }
-                    });
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to save state: " + key, e);
+        try (PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
+            String json = JsonUtils.getJsonCodec().toJson(value);
+            stmt.setString(1, slotId);
+            stmt.setString(2, key);
+            stmt.setInt(3, SINGLE_STATE_INDEX);
+            stmt.setString(4, json);
+            stmt.setTimestamp(5, now);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong("version") : UNVERSIONED;
+            }
         }
     }
 
@@ -399,6 +402,81 @@ public class PostgresAgentStateStore implements AgentStateStore {
         }
     }
 
+    @Override
+    public boolean supportsAppendLog() {
+        return true;
+    }
+
+    /**
+     * Write a single state and splice a list state in one transaction: the single state row is
+     * written first (CAS unless {@code expectedVersion} is {@link #UNVERSIONED}) and, unless that
+     * conflicts, list rows from {@code logOffset} on are replaced by {@code logTail} in one batch.
+     */
+    @Override
+    public long saveIfVersionWithLog(
+            String userId,
+            String sessionId,
+            String key,
+            State value,
+            long expectedVersion,
+            String logKey,
+            int logOffset,
+            List<? extends State> logTail) {
+        String slotId = slotId(userId, sessionId);
+        validateSessionId(slotId);
+        validateStateKey(key);
+        validateStateKey(logKey);
+
+        try (Connection conn = dataSource.getConnection()) {
+            long[] result = new long[1];
+            executeInWriteTransaction(
+                    conn,
+                    () -> {
+                        int existingCount = getListCount(conn, slotId, logKey);
+                        if (existingCount < logOffset) {
+                            throw new IllegalStateException(
+                                    "Log '%s' holds %d items, cannot keep %d"
+                                            .formatted(logKey, existingCount, logOffset));
+                        }
+                        if (expectedVersion == UNVERSIONED) {
+                            result[0] = upsertSingle(conn, slotId, key, value);
+                        } else if (expectedVersion == 0L) {
+                            result[0] = insertIfAbsent(conn, slotId, key, value);
+                        } else {
+                            result[0] = updateIfVersion(conn, slotId, key, value, expectedVersion);
+                        }
+                        if (result[0] == UNVERSIONED) {
+                            return;
+                        }
+                        if (existingCount > logOffset) {
+                            deleteListItemsFrom(conn, slotId, logKey, logOffset);
+                        }
+                        if (!logTail.isEmpty()) {
+                            insertItems(conn, slotId, logKey, logTail, logOffset);
+                        }
+                    });
+            return result[0];
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save state with log: " + key, e);
+        }
+    }
+
+    private void deleteListItemsFrom(Connection conn, String sessionId, String key, int fromIndex)
+            throws SQLException {
+        String sql =
+                "DELETE FROM "
+                        + getFullTableName()
+                        + " WHERE session_id = ? AND state_key = ? AND item_index >= ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, sessionId);
+            stmt.setString(2, key);
+            stmt.setInt(3, fromIndex);
+            stmt.executeUpdate();
+        }
+    }
+
     @Override
     public void save(String userId, String sessionId, String key, List<? extends State> values) {
         String slotId = slotId(userId, sessionId);
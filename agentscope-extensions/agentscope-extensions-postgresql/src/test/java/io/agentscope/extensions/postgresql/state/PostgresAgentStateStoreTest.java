@@ -685,6 +685,80 @@ class PostgresAgentStateStoreTest {
                 () -> store.save("user", "session", longKey, new TestState("v")));
     }
 
+    @Test
+    void saveIfVersionWithLogAppendsTailAfterCas() throws SQLException {
+        PostgresAgentStateStore store =
+                PostgresAgentStateStore.builder(dataSource).createIfNotExist(false).build();
+        when(preparedStatement.executeUpdate()).thenReturn(1);
+        when(preparedStatement.executeBatch()).thenReturn(new int[] {1});
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt("max_index")).thenReturn(1);
+        when(resultSet.wasNull()).thenReturn(false);
+
+        long version =
+                store.saveIfVersionWithLog(
+                        "user",
+                        "session",
+                        "header",
+                        new TestState("h"),
+                        5L,
+                        "log",
+                        2,
+                        List.of(new TestState("c")));
+
+        assertEquals(6L, version);
+        verify(preparedStatement).setString(4, "{\"value\":\"c\"}");
+        verify(preparedStatement).setInt(3, 2);
+        verify(preparedStatement).executeBatch();
+        verify(connection).commit();
+    }
+
+    @Test
+    void saveIfVersionWithLogWritesNoLogOnConflict() throws SQLException {
+        PostgresAgentStateStore store =
+                PostgresAgentStateStore.builder(dataSource).createIfNotExist(false).build();
+        when(preparedStatement.executeUpdate()).thenReturn(0);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt("max_index")).thenReturn(1);
+
+        long version =
+                store.saveIfVersionWithLog(
+                        "user",
+                        "session",
+                        "header",
+                        new TestState("h"),
+                        5L,
+                        "log",
+                        2,
+                        List.of(new TestState("c")));
+
+        assertEquals(PostgresAgentStateStore.UNVERSIONED, version);
+        verify(preparedStatement, never()).executeBatch();
+    }
+
+    @Test
+    void saveIfVersionWithLogRejectsOffsetBeyondLog() throws SQLException {
+        PostgresAgentStateStore store =
+                PostgresAgentStateStore.builder(dataSource).createIfNotExist(false).build();
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getInt("max_index")).thenReturn(0);
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        store.saveIfVersionWithLog(
+                                "user",
+                                "session",
+                                "header",
+                                new TestState("h"),
+                                5L,
+                                "log",
+                                2,
+                                List.of(new TestState("c"))));
+        verify(preparedStatement, never()).executeUpdate();
+        verify(connection).rollback();
+    }
+
     @Test
     void truncateAllSessionsTruncatesTable() throws SQLException {
         PostgresAgentStateStore store =
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.embedding;
+
+import io.agentscope.core.state.AgentStateStore;
+import io.agentscope.core.state.State;
+
+/**
+ * {@link EmbeddingCacheStore} on top of an {@link AgentStateStore}, so cached embeddings live in
+ * the same file or JDBC backend as agent state.
+ *
+ * <p>Embeddings are saved under a dedicated user id, in sessions named after the first two
+ * characters of the cache key to spread them over 256 sessions.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * AgentStateStore stateStore = new JsonFileAgentStateStore(Path.of("state"));
+ * CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+ *     .model(embeddingModel)
+ *     .store(new AgentStateEmbeddingCacheStore(stateStore))
+ *     .build();
+ * }</pre>
+ */
+public class AgentStateEmbeddingCacheStore implements EmbeddingCacheStore {
+
+    /** Default user id the embeddings are saved under. */
+    public static final String DEFAULT_USER_ID = "embedding-cache";
+
+    private final AgentStateStore stateStore;
+    private final String userId;
+
+    /**
+     * Creates a store saving under {@link #DEFAULT_USER_ID}.
+     *
+     * @param stateStore the agent state store
+     * @throws IllegalArgumentException if the state store is null
+     */
+    public AgentStateEmbeddingCacheStore(AgentStateStore stateStore) {
+        this(stateStore, DEFAULT_USER_ID);
+    }
+
+    /**
+     * Creates a store saving under the given user id.
+     *
+     * @param stateStore the agent state store
+     * @param userId the user id to save under
+     * @throws IllegalArgumentException if an argument is null
+     */
+    public AgentStateEmbeddingCacheStore(AgentStateStore stateStore, String userId) {
+        if (stateStore == null) {
+            throw new IllegalArgumentException("State store cannot be null");
+        }
+        if (userId == null) {
+            throw new IllegalArgumentException("User id cannot be null");
+        }
+        this.stateStore = stateStore;
+        this.userId = userId;
+    }
+
+    @Override
+    public double[] get(String key) {
+        return stateStore
+                .get(userId, session(key), key, CachedEmbedding.class)
+                .map(CachedEmbedding::vector)
+                .orElse(null);
+    }
+
+    @Override
+    public void put(String key, double[] embedding) {
+        stateStore.save(userId, session(key), key, new CachedEmbedding(embedding));
+    }
+
+    private static String session(String key) {
+        return key.substring(0, Math.min(2, key.length()));
+    }
+
+    /**
+     * Embedding vector as persisted state.
+     *
+     * @param vector the embedding vector
+     */
+    public record CachedEmbedding(double[] vector) implements State {}
+}
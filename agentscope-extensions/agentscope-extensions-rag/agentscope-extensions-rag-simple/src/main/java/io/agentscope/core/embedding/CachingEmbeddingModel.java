@@ -0,0 +1,443 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.embedding;
+
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.message.TextBlock;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link EmbeddingModel} decorator that caches embeddings by model and content.
+ *
+ * <p>Re-ingesting a mostly unchanged corpus or repeating a common query then only calls the
+ * embedding provider for content it has not seen. Entries are keyed by a SHA-256 hash of the model
+ * name, the dimensions and the text, and looked up in two tiers:
+ * <ul>
+ *   <li>an in-memory LRU map of up to {@code maxEntries} vectors (default {@value
+ *       #DEFAULT_MAX_ENTRIES})
+ *   <li>an optional persistent {@link EmbeddingCacheStore}, consulted on memory misses and
+ *       written on every provider call, so the cache survives restarts
+ * </ul>
+ *
+ * <p>Only {@link TextBlock} content is cached; other blocks always go to the wrapped model. {@link
+ * #embedBatch} sends only the missing blocks to the wrapped model, in one call, with repeated
+ * blocks embedded once. Hit and miss counts are kept for monitoring, see {@link #getHitRate()}.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+ *     .model(embeddingModel)
+ *     .maxEntries(50_000)
+ *     .store(FileEmbeddingCacheStore.open(Path.of("embeddings.cache")))
+ *     .build();
+ * }</pre>
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingEmbeddingModel.class);
+
+    /**
+     * Default number of embeddings kept in memory; about 80 MB for 1024-dimension vectors, so size
+     * {@link Builder#maxEntries} to the model's dimensions and the heap.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final EmbeddingModel model;
+    private final int maxEntries;
+    private final EmbeddingCacheStore store;
+
+    /** Key prefix identifying the wrapped model, hashed together with the content. */
+    private final byte[] modelPrefix;
+
+    private final LinkedHashMap<String, double[]> entries;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder storeHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private CachingEmbeddingModel(Builder builder) {
+        if (builder.model == null) {
+            throw new IllegalArgumentException("Embedding model cannot be null");
+        }
+        if (builder.maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        this.model = builder.model;
+        this.maxEntries = builder.maxEntries;
+        this.store = builder.store;
+        this.modelPrefix =
+                (model.getModelName() + '\0' + model.getDimensions() + '\0')
+                        .getBytes(StandardCharsets.UTF_8);
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+                        return size() > CachingEmbeddingModel.this.maxEntries;
+                    }
+                };
+    }
+
+    @Override
+    public Mono<double[]> embed(ContentBlock block) {
+        if (!(block instanceof TextBlock textBlock)) {
+            return model.embed(block);
+        }
+        String key = key(textBlock.getText());
+        return Mono.defer(
+                () -> {
+                    double[] cached = getFromMemory(key);
+                    if (cached != null) {
+                        return Mono.just(cached);
+                    }
+                    return getFromStore(key)
+                            .switchIfEmpty(Mono.defer(() -> embedAndRemember(block, key)));
+                });
+    }
+
+    private Mono<double[]> embedAndRemember(ContentBlock block, String key) {
+        missCount.increment();
+        return model.embed(block)
+                .flatMap(embedding -> remember(List.of(key), List.of(embedding)))
+                .map(embeddings -> embeddings.get(0));
+    }
+
+    @Override
+    public Mono<List<double[]>> embedBatch(List<ContentBlock> blocks) {
+        if (blocks == null) {
+            return Mono.error(new EmbeddingException("ContentBlock list cannot be null"));
+        }
+        return Mono.defer(
+                () -> {
+                    double[][] results = new double[blocks.size()][];
+                    String[] keys = new String[blocks.size()];
+                    List<Integer> pending = new ArrayList<>();
+                    for (int i = 0; i < blocks.size(); i++) {
+                        if (blocks.get(i) instanceof TextBlock textBlock) {
+                            keys[i] = key(textBlock.getText());
+                            results[i] = getFromMemory(keys[i]);
+                        }
+                        if (results[i] == null) {
+                            pending.add(i);
+                        }
+                    }
+                    if (pending.isEmpty()) {
+                        return Mono.just(List.of(results));
+                    }
+                    return loadFromStore(keys, results, pending)
+                            .flatMap(missing -> embedMissing(blocks, keys, results, missing))
+                            .map(ignored -> List.of(results));
+                });
+    }
+
+    /**
+     * Fills {@code results} from the persistent tier.
+     *
+     * @return a Mono that emits the indices still missing
+     */
+    private Mono<List<Integer>> loadFromStore(
+            String[] keys, double[][] results, List<Integer> pending) {
+        if (store == null) {
+            return Mono.just(pending);
+        }
+        return Mono.fromCallable(
+                        () -> {
+                            List<Integer> missing = new ArrayList<>(pending.size());
+                            for (int i : pending) {
+                                double[] stored = keys[i] != null ? store.get(keys[i]) : null;
+                                if (stored != null) {
+                                    storeHitCount.increment();
+                                    putInMemory(keys[i], stored);
+                                    results[i] = stored.clone();
+                                } else {
+                                    missing.add(i);
+                                }
+                            }
+                            return missing;
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** Embeds the missing blocks with one call to the wrapped model, each distinct text once. */
+    private Mono<Boolean> embedMissing(
+            List<ContentBlock> blocks, String[] keys, double[][] results, List<Integer> missing) {
+        if (missing.isEmpty()) {
+            return Mono.just(true);
+        }
+        // Distinct request position per key; non-text blocks always get their own position
+        Map<String, Integer> positions = new LinkedHashMap<>();
+        List<ContentBlock> request = new ArrayList<>();
+        List<String> requestKeys = new ArrayList<>();
+        int[] positionOf = new int[blocks.size()];
+        for (int i : missing) {
+            Integer position = keys[i] != null ? positions.get(keys[i]) : null;
+            if (position == null) {
+                position = request.size();
+                request.add(blocks.get(i));
+                requestKeys.add(keys[i]);
+                if (keys[i] != null) {
+                    positions.put(keys[i], position);
+                    missCount.increment();
+                }
+            } else {
+                hitCount.increment();
+            }
+            positionOf[i] = position;
+        }
+        return model.embedBatch(request)
+                .map(
+                        embeddings -> {
+                            if (embeddings.size() != request.size()) {
+                                throw new EmbeddingException(
+                                        "Expected "
+                                                + request.size()
+                                                + " embeddings, got "
+                                                + embeddings.size(),
+                                        model.getModelName(),
+                                        null);
+                            }
+                            return embeddings;
+                        })
+                .flatMap(embeddings -> remember(requestKeys, embeddings))
+                .map(
+                        embeddings -> {
+                            for (int i : missing) {
+                                results[i] = embeddings.get(positionOf[i]).clone();
+                            }
+                            return true;
+                        });
+    }
+
+    private double[] getFromMemory(String key) {
+        double[] cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached == null) {
+            return null;
+        }
+        hitCount.increment();
+        return cached.clone();
+    }
+
+    private Mono<double[]> getFromStore(String key) {
+        if (store == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(
+                        () -> {
+                            double[] stored = store.get(key);
+                            if (stored == null) {
+                                return null;
+                            }
+                            storeHitCount.increment();
+                            putInMemory(key, stored);
+                            return stored.clone();
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void putInMemory(String key, double[] embedding) {
+        synchronized (entries) {
+            entries.put(key, embedding.clone());
+        }
+    }
+
+    /**
+     * Caches fresh embeddings in both tiers; null keys are not cached. A failing persistent tier
+     * is logged and does not fail the embedding call.
+     *
+     * @return a Mono that emits {@code embeddings} once the persistent tier is written
+     */
+    private Mono<List<double[]>> remember(List<String> keys, List<double[]> embeddings) {
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i) != null && embeddings.get(i) != null) {
+                putInMemory(keys.get(i), embeddings.get(i));
+            }
+        }
+        if (store == null) {
+            return Mono.just(embeddings);
+        }
+        return Mono.fromCallable(
+                        () -> {
+                            try {
+                                for (int i = 0; i < keys.size(); i++) {
+                                    if (keys.get(i) != null && embeddings.get(i) != null) {
+                                        store.put(keys.get(i), embeddings.get(i));
+                                    }
+                                }
+                            } catch (RuntimeException e) {
+                                log.warn("Failed to persist cached embeddings", e);
+                            }
+                            return embeddings;
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** Cache key of a text for the wrapped model. */
+    private String key(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(modelPrefix);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public String getModelName() {
+        return model.getModelName();
+    }
+
+    @Override
+    public int getDimensions() {
+        return model.getDimensions();
+    }
+
+    /**
+     * Gets the wrapped embedding model.
+     *
+     * @return the wrapped model
+     */
+    public EmbeddingModel getModel() {
+        return model;
+    }
+
+    /**
+     * Gets the number of embeddings served from memory, including repeats within one batch.
+     *
+     * @return the memory hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of embeddings served from the persistent tier.
+     *
+     * @return the persistent hit count
+     */
+    public long getStoreHitCount() {
+        return storeHitCount.sum();
+    }
+
+    /**
+     * Gets the number of texts sent to the wrapped model.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the share of cacheable lookups served by either tier.
+     *
+     * @return the hit rate between 0.0 and 1.0, or 0.0 before the first lookup
+     */
+    public double getHitRate() {
+        long hits = getHitCount() + getStoreHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the number of embeddings held in memory.
+     *
+     * @return the in-memory entry count
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Creates a new builder for CachingEmbeddingModel.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for CachingEmbeddingModel.
+     */
+    public static class Builder {
+        private EmbeddingModel model;
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+        private EmbeddingCacheStore store;
+
+        private Builder() {}
+
+        /**
+         * Sets the embedding model to cache.
+         *
+         * @param model the embedding model
+         * @return this builder for method chaining
+         */
+        public Builder model(EmbeddingModel model) {
+            this.model = model;
+            return this;
+        }
+
+        /**
+         * Sets the number of embeddings kept in memory.
+         *
+         * @param maxEntries the maximum entries (must be positive, defaults to {@value
+         *     #DEFAULT_MAX_ENTRIES})
+         * @return this builder for method chaining
+         */
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the persistent tier.
+         *
+         * @param store the persistent store, or null to cache in memory only
+         * @return this builder for method chaining
+         */
+        public Builder store(EmbeddingCacheStore store) {
+            this.store = store;
+            return this;
+        }
+
+        /**
+         * Builds a new CachingEmbeddingModel instance.
+         *
+         * @return a new CachingEmbeddingModel instance
+         * @throws IllegalArgumentException if the model is missing or maxEntries is not positive
+         */
+        public CachingEmbeddingModel build() {
+            return new CachingEmbeddingModel(this);
+        }
+    }
+}
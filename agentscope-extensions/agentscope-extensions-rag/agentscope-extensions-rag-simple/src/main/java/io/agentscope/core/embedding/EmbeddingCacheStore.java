@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.embedding;
+
+/**
+ * Persistent tier of a {@link CachingEmbeddingModel}.
+ *
+ * <p>Keys are opaque hex strings derived from the model and the embedded content, so one store
+ * can be shared by several models. Implementations must be thread-safe. Methods are called from a
+ * blocking-friendly scheduler, so they may perform I/O.
+ *
+ * @see FileEmbeddingCacheStore
+ * @see AgentStateEmbeddingCacheStore
+ */
+public interface EmbeddingCacheStore {
+
+    /**
+     * Looks up a cached embedding.
+     *
+     * @param key the cache key
+     * @return the embedding, or null if the key is not stored
+     */
+    double[] get(String key);
+
+    /**
+     * Stores an embedding, replacing any previous value of the key.
+     *
+     * @param key the cache key
+     * @param embedding the embedding vector
+     */
+    void put(String key, double[] embedding);
+}
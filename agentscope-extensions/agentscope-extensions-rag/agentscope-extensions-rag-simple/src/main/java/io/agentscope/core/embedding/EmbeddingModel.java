@@ -16,6 +16,8 @@
 package io.agentscope.core.embedding;
 
 import io.agentscope.core.message.ContentBlock;
+import java.util.List;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -48,6 +50,25 @@ public interface EmbeddingModel {
      */
     Mono<double[]> embed(ContentBlock block);
 
+    /**
+     * Generate embedding vectors for several content blocks.
+     *
+     * <p>The returned list has one vector per input block, in input order. Implementations backed
+     * by an API that accepts several inputs per request should override this to send them in as
+     * few requests as possible. The default implementation calls {@link #embed(ContentBlock)} for
+     * each block, one at a time.
+     *
+     * @param blocks the content blocks to embed
+     * @return Mono that emits the embedding vectors, in the same order as {@code blocks}
+     * @throws EmbeddingException if embedding generation fails for any block
+     */
+    default Mono<List<double[]>> embedBatch(List<ContentBlock> blocks) {
+        if (blocks == null) {
+            return Mono.error(new EmbeddingException("ContentBlock list cannot be null"));
+        }
+        return Flux.fromIterable(blocks).concatMap(this::embed).collectList();
+    }
+
     /**
      * Get the model name for logging and identification.
      *
@@ -18,8 +18,10 @@ package io.agentscope.core.embedding;
 import io.agentscope.core.model.ExecutionConfig;
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import org.slf4j.Logger;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
@@ -190,6 +192,39 @@ public final class EmbeddingUtils {
                 batchEmbeddingMono, config, modelName, provider, logger, "Batch embedding");
     }
 
+    /**
+     * Splits inputs into requests of at most {@code maxBatchSize} items and concatenates the
+     * results.
+     *
+     * <p>Requests are issued one after another, so a single {@code embedBatch} call never has more
+     * than one request in flight; callers control parallelism by issuing several batches. The
+     * request function is expected to apply its own timeout and retry.
+     *
+     * @param inputs the inputs to embed
+     * @param maxBatchSize maximum number of inputs per request
+     * @param request issues one request and emits one vector per input, in input order
+     * @param <I> the input type
+     * @return Mono that emits one vector per input, in input order
+     */
+    public static <I> Mono<List<double[]>> embedInBatches(
+            List<I> inputs, int maxBatchSize, Function<List<I>, Mono<List<double[]>>> request) {
+        if (inputs.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        if (inputs.size() <= maxBatchSize) {
+            return request.apply(inputs);
+        }
+        return Flux.range(0, (inputs.size() + maxBatchSize - 1) / maxBatchSize)
+                .concatMap(
+                        i -> {
+                            int from = i * maxBatchSize;
+                            int to = Math.min(from + maxBatchSize, inputs.size());
+                            return request.apply(inputs.subList(from, to));
+                        })
+                .concatMapIterable(vectors -> vectors)
+                .collectList();
+    }
+
     /**
      * Ensures ExecutionConfig has MODEL_DEFAULTS applied.
      *
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.embedding;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link EmbeddingCacheStore} in a single append-only file.
+ *
+ * <p>Each {@link #put} appends one record of the key and the vector; an in-memory index maps keys
+ * to record offsets and is rebuilt by scanning the file on open. Lookups read one record with a
+ * positional read. Records are not synced to disk, so a crash may lose the latest ones; a
+ * partially written record at the end of the file is truncated on the next open.
+ *
+ * <p>Replaced keys leave their old record behind. Delete the file to reclaim the space; it is
+ * only a cache.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (FileEmbeddingCacheStore store = FileEmbeddingCacheStore.open(Path.of("embeddings.cache"))) {
+ *     CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+ *         .model(embeddingModel)
+ *         .store(store)
+ *         .build();
+ *     ...
+ * }
+ * }</pre>
+ */
+public class FileEmbeddingCacheStore implements EmbeddingCacheStore, AutoCloseable {
+
+    private static final int MAGIC = 0x41534543; // "ASEC"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 2 * Integer.BYTES;
+
+    /** Key length (short) and dimension count (int) before the key and vector bytes. */
+    private static final int RECORD_HEADER_BYTES = Short.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final FileChannel channel;
+
+    /** Key to record offset; guarded by {@code this}. */
+    private final Map<String, Long> offsets = new HashMap<>();
+
+    private long end;
+
+    private FileEmbeddingCacheStore(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the cache file, creating it if missing.
+     *
+     * @param path the cache file
+     * @return the opened store
+     * @throws IOException if the file cannot be opened or is not a cache file
+     */
+    public static FileEmbeddingCacheStore open(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        FileEmbeddingCacheStore store = new FileEmbeddingCacheStore(path, channel);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    @Override
+    public double[] get(String key) {
+        Long offset;
+        synchronized (this) {
+            offset = offsets.get(key);
+        }
+        if (offset == null) {
+            return null;
+        }
+        try {
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+            readFully(header, offset);
+            int keyBytes = header.getShort(0) & 0xFFFF;
+            int dimensions = header.getInt(Short.BYTES);
+            ByteBuffer vector = ByteBuffer.allocate(dimensions * Double.BYTES);
+            readFully(vector, offset + RECORD_HEADER_BYTES + keyBytes);
+            double[] embedding = new double[dimensions];
+            vector.flip().asDoubleBuffer().get(embedding);
+            return embedding;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read embedding cache " + path, e);
+        }
+    }
+
+    @Override
+    public void put(String key, double[] embedding) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Key too long: " + keyBytes.length + " bytes");
+        }
+        ByteBuffer record =
+                ByteBuffer.allocate(
+                        RECORD_HEADER_BYTES + keyBytes.length + embedding.length * Double.BYTES);
+        record.putShort((short) keyBytes.length).putInt(embedding.length).put(keyBytes);
+        record.asDoubleBuffer().put(embedding);
+        record.clear();
+        synchronized (this) {
+            try {
+                long offset = end;
+                while (record.hasRemaining()) {
+                    channel.write(record, offset + record.position());
+                }
+                end = offset + record.capacity();
+                offsets.put(key, offset);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write embedding cache " + path, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cached embeddings.
+     *
+     * @return the number of distinct keys
+     */
+    public synchronized int size() {
+        return offsets.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** Reads the header and indexes every complete record, truncating a torn tail. */
+    private synchronized void load() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            end = FILE_HEADER_BYTES;
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        if (size < FILE_HEADER_BYTES || !tryRead(header, 0)) {
+            throw new IOException("Not an embedding cache file: " + path);
+        }
+        if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Not an embedding cache file: " + path);
+        }
+
+        long offset = FILE_HEADER_BYTES;
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        while (offset < size) {
+            recordHeader.clear();
+            if (!tryRead(recordHeader, offset)) {
+                break;
+            }
+            int keyLength = recordHeader.getShort(0) & 0xFFFF;
+            int dimensions = recordHeader.getInt(Short.BYTES);
+            long next = offset + RECORD_HEADER_BYTES + keyLength + (long) dimensions * Double.BYTES;
+            if (dimensions < 0 || next > size) {
+                break;
+            }
+            ByteBuffer key = ByteBuffer.allocate(keyLength);
+            readFully(key, offset + RECORD_HEADER_BYTES);
+            offsets.put(new String(key.array(), StandardCharsets.UTF_8), offset);
+            offset = next;
+        }
+        if (offset < size) {
+            channel.truncate(offset);
+        }
+        end = offset;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        if (!tryRead(buffer, position)) {
+            throw new IOException("Unexpected end of embedding cache " + path);
+        }
+    }
+
+    private boolean tryRead(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
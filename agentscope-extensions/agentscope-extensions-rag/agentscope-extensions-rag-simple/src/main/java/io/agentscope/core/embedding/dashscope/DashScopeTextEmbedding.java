@@ -25,6 +25,8 @@ import io.agentscope.core.embedding.EmbeddingUtils;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.model.ExecutionConfig;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +47,9 @@ public class DashScopeTextEmbedding implements EmbeddingModel {
 
     private static final Logger log = LoggerFactory.getLogger(DashScopeTextEmbedding.class);
 
+    /** Maximum number of texts per request accepted by text-embedding-v3 and later models. */
+    private static final int MAX_BATCH_SIZE = 10;
+
     private final String apiKey;
     private final String modelName;
     private final int dimensions;
@@ -86,119 +91,198 @@ public class DashScopeTextEmbedding implements EmbeddingModel {
 
     @Override
     public Mono<double[]> embed(ContentBlock block) {
-        if (block == null) {
-            return Mono.error(
-                    new EmbeddingException("ContentBlock cannot be null", modelName, "dashscope"));
+        String text;
+        try {
+            text = requireText(block);
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
         }
 
-        if (!(block instanceof TextBlock textBlock)) {
+        Mono<double[]> embeddingMono = request(List.of(text)).map(embeddings -> embeddings.get(0));
+
+        // Apply timeout and retry
+        return EmbeddingUtils.applyTimeoutAndRetry(
+                embeddingMono, defaultExecutionConfig, modelName, "dashscope", log);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Texts are sent up to 10 per request, the limit of the text-embedding-v3 and later
+     * models, one request at a time. Timeout and retry apply to each request separately.
+     */
+    @Override
+    public Mono<List<double[]>> embedBatch(List<ContentBlock> blocks) {
+        if (blocks == null) {
             return Mono.error(
                     new EmbeddingException(
-                            "DashScopeTextEmbedding only supports TextBlock, but got: "
-                                    + block.getClass().getSimpleName(),
-                            modelName,
-                            "dashscope"));
+                            "ContentBlock list cannot be null", modelName, "dashscope"));
+        }
+        List<String> texts = new ArrayList<>(blocks.size());
+        try {
+            for (ContentBlock block : blocks) {
+                texts.add(requireText(block));
+            }
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
+        }
+        return EmbeddingUtils.embedInBatches(
+                texts,
+                MAX_BATCH_SIZE,
+                chunk ->
+                        EmbeddingUtils.applyTimeoutAndRetryBatch(
+                                request(chunk),
+                                defaultExecutionConfig,
+                                modelName,
+                                "dashscope",
+                                log));
+    }
+
+    /**
+     * Validates that a content block is a non-blank {@link TextBlock} and returns its text.
+     */
+    private String requireText(ContentBlock block) {
+        if (block == null) {
+            throw new EmbeddingException("ContentBlock cannot be null", modelName, "dashscope");
+        }
+
+        if (!(block instanceof TextBlock textBlock)) {
+            throw new EmbeddingException(
+                    "DashScopeTextEmbedding only supports TextBlock, but got: "
+                            + block.getClass().getSimpleName(),
+                    modelName,
+                    "dashscope");
         }
 
         String text = textBlock.getText();
         if (text == null || text.trim().isEmpty()) {
-            return Mono.error(
-                    new EmbeddingException(
-                            "TextBlock text cannot be null or empty", modelName, "dashscope"));
+            throw new EmbeddingException(
+                    "TextBlock text cannot be null or empty", modelName, "dashscope");
         }
+        return text;
+    }
 
-        Mono<double[]> embeddingMono =
-                Mono.fromCallable(
-                                () -> {
-                                    try {
-                                        TextEmbedding embedding =
-                                                baseUrl != null
-                                                        ? new TextEmbedding(baseUrl)
-                                                        : new TextEmbedding();
-                                        TextEmbeddingParam param =
-                                                TextEmbeddingParam.builder()
-                                                        .apiKey(apiKey)
-                                                        .model(modelName)
-                                                        .dimension(dimensions)
-                                                        .texts(List.of(text))
-                                                        .build();
-
-                                        log.debug(
-                                                "DashScope embedding call: model={},"
-                                                        + " text_length={}",
+    /**
+     * Embeds the given texts with a single API request.
+     *
+     * @param texts the texts to embed
+     * @return Mono that emits one vector per text, in input order
+     */
+    private Mono<List<double[]>> request(List<String> texts) {
+        return Mono.fromCallable(
+                        () -> {
+                            try {
+                                TextEmbedding embedding =
+                                        baseUrl != null
+                                                ? new TextEmbedding(baseUrl)
+                                                : new TextEmbedding();
+                                TextEmbeddingParam param =
+                                        TextEmbeddingParam.builder()
+                                                .apiKey(apiKey)
+                                                .model(modelName)
+                                                .dimension(dimensions)
+                                                .texts(texts)
+                                                .build();
+
+                                log.debug(
+                                        "DashScope embedding call: model={}, inputs={}",
+                                        modelName,
+                                        texts.size());
+
+                                TextEmbeddingResult result = embedding.call(param);
+
+                                if (result == null || result.getOutput() == null) {
+                                    throw new EmbeddingException(
+                                            "Empty response from DashScope embedding API",
+                                            modelName,
+                                            "dashscope");
+                                }
+
+                                List<TextEmbeddingResultItem> embeddings =
+                                        result.getOutput().getEmbeddings();
+                                if (embeddings == null || embeddings.isEmpty()) {
+                                    throw new EmbeddingException(
+                                            "No embedding data in response",
+                                            modelName,
+                                            "dashscope");
+                                }
+                                if (embeddings.size() != texts.size()) {
+                                    throw new EmbeddingException(
+                                            "Expected "
+                                                    + texts.size()
+                                                    + " embeddings in response, got "
+                                                    + embeddings.size(),
+                                            modelName,
+                                            "dashscope");
+                                }
+
+                                // Results carry the index of their input; place them by it
+                                double[][] vectors = new double[texts.size()][];
+                                for (int i = 0; i < embeddings.size(); i++) {
+                                    TextEmbeddingResultItem item = embeddings.get(i);
+                                    if (item == null) {
+                                        throw new EmbeddingException(
+                                                "No embedding data in response",
                                                 modelName,
-                                                text.length());
-
-                                        TextEmbeddingResult result = embedding.call(param);
-
-                                        if (result == null || result.getOutput() == null) {
-                                            throw new EmbeddingException(
-                                                    "Empty response from DashScope embedding API",
-                                                    modelName,
-                                                    "dashscope");
-                                        }
-
-                                        List<TextEmbeddingResultItem> embeddings =
-                                                result.getOutput().getEmbeddings();
-                                        if (embeddings == null
-                                                || embeddings.isEmpty()
-                                                || embeddings.get(0) == null) {
-                                            throw new EmbeddingException(
-                                                    "No embedding data in response",
-                                                    modelName,
-                                                    "dashscope");
-                                        }
-
-                                        List<Double> embeddingValues =
-                                                embeddings.get(0).getEmbedding();
-                                        if (embeddingValues == null || embeddingValues.isEmpty()) {
-                                            throw new EmbeddingException(
-                                                    "Empty embedding vector in response",
-                                                    modelName,
-                                                    "dashscope");
-                                        }
-
-                                        // Convert List<Double> to double[]
-                                        double[] embeddingArray =
-                                                EmbeddingUtils.convertDoubleListToArray(
-                                                        embeddingValues);
-
-                                        // Validate dimension
-                                        if (embeddingArray.length != dimensions) {
-                                            log.warn(
-                                                    "Embedding dimension mismatch: expected={},"
-                                                            + " actual={}",
-                                                    dimensions,
-                                                    embeddingArray.length);
-                                        }
-
-                                        return embeddingArray;
-                                    } catch (EmbeddingException e) {
-                                        throw e;
-                                    } catch (Exception e) {
+                                                "dashscope");
+                                    }
+                                    int index =
+                                            item.getTextIndex() != null ? item.getTextIndex() : i;
+                                    if (index < 0
+                                            || index >= vectors.length
+                                            || vectors[index] != null) {
                                         throw new EmbeddingException(
-                                                "Failed to generate embedding: " + e.getMessage(),
-                                                e,
+                                                "Invalid embedding index in response: " + index,
                                                 modelName,
                                                 "dashscope");
                                     }
-                                })
-                        .onErrorMap(
-                                e -> {
-                                    if (e instanceof EmbeddingException) {
-                                        return e;
+
+                                    List<Double> embeddingValues = item.getEmbedding();
+                                    if (embeddingValues == null || embeddingValues.isEmpty()) {
+                                        throw new EmbeddingException(
+                                                "Empty embedding vector in response",
+                                                modelName,
+                                                "dashscope");
                                     }
-                                    return new EmbeddingException(
-                                            "DashScope embedding API call failed: "
-                                                    + e.getMessage(),
-                                            e,
-                                            modelName,
-                                            "dashscope");
-                                });
 
-        // Apply timeout and retry
-        return EmbeddingUtils.applyTimeoutAndRetry(
-                embeddingMono, defaultExecutionConfig, modelName, "dashscope", log);
+                                    // Convert List<Double> to double[]
+                                    double[] embeddingArray =
+                                            EmbeddingUtils.convertDoubleListToArray(
+                                                    embeddingValues);
+
+                                    // Validate dimension
+                                    if (embeddingArray.length != dimensions) {
+                                        log.warn(
+                                                "Embedding dimension mismatch: expected={},"
+                                                        + " actual={}",
+                                                dimensions,
+                                                embeddingArray.length);
+                                    }
+                                    vectors[index] = embeddingArray;
+                                }
+
+                                return Arrays.asList(vectors);
+                            } catch (EmbeddingException e) {
+                                throw e;
+                            } catch (Exception e) {
+                                throw new EmbeddingException(
+                                        "Failed to generate embedding: " + e.getMessage(),
+                                        e,
+                                        modelName,
+                                        "dashscope");
+                            }
+                        })
+                .onErrorMap(
+                        e -> {
+                            if (e instanceof EmbeddingException) {
+                                return e;
+                            }
+                            return new EmbeddingException(
+                                    "DashScope embedding API call failed: " + e.getMessage(),
+                                    e,
+                                    modelName,
+                                    "dashscope");
+                        });
     }
 
     @Override
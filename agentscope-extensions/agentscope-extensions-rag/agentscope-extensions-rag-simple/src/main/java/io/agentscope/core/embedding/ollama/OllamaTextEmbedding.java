@@ -25,6 +25,7 @@ import io.agentscope.core.model.transport.HttpTransportFactory;
 import io.agentscope.extensions.model.ollama.OllamaHttpClient;
 import io.agentscope.extensions.model.ollama.dto.OllamaEmbeddingRequest;
 import io.agentscope.extensions.model.ollama.dto.OllamaEmbeddingResponse;
+import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,6 +47,9 @@ public class OllamaTextEmbedding implements EmbeddingModel {
 
     private static final Logger log = LoggerFactory.getLogger(OllamaTextEmbedding.class);
 
+    /** Maximum number of texts per request, to bound request size and server-side latency. */
+    private static final int MAX_BATCH_SIZE = 256;
+
     private final String baseUrl;
     private final String modelName;
     private final int dimensions;
@@ -82,120 +86,184 @@ public class OllamaTextEmbedding implements EmbeddingModel {
 
     @Override
     public Mono<double[]> embed(ContentBlock block) {
-        if (block == null) {
-            return Mono.error(
-                    new EmbeddingException("ContentBlock cannot be null", modelName, "ollama"));
+        String text;
+        try {
+            text = requireText(block);
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
         }
 
-        if (!(block instanceof TextBlock textBlock)) {
+        Mono<double[]> embeddingMono = request(List.of(text)).map(embeddings -> embeddings.get(0));
+
+        // Apply timeout and retry
+        return EmbeddingUtils.applyTimeoutAndRetry(
+                embeddingMono, defaultExecutionConfig, modelName, "ollama", log);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Texts are sent up to 256 per request to the {@code /api/embed} endpoint, one request at
+     * a time. Timeout and retry apply to each request separately.
+     */
+    @Override
+    public Mono<List<double[]>> embedBatch(List<ContentBlock> blocks) {
+        if (blocks == null) {
             return Mono.error(
                     new EmbeddingException(
-                            "OllamaTextEmbedding only supports TextBlock, but got: "
-                                    + block.getClass().getSimpleName(),
-                            modelName,
-                            "ollama"));
+                            "ContentBlock list cannot be null", modelName, "ollama"));
+        }
+        List<String> texts = new ArrayList<>(blocks.size());
+        try {
+            for (ContentBlock block : blocks) {
+                texts.add(requireText(block));
+            }
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
+        }
+        return EmbeddingUtils.embedInBatches(
+                texts,
+                MAX_BATCH_SIZE,
+                chunk ->
+                        EmbeddingUtils.applyTimeoutAndRetryBatch(
+                                request(chunk), defaultExecutionConfig, modelName, "ollama", log));
+    }
+
+    /**
+     * Validates that a content block is a non-blank {@link TextBlock} and returns its text.
+     */
+    private String requireText(ContentBlock block) {
+        if (block == null) {
+            throw new EmbeddingException("ContentBlock cannot be null", modelName, "ollama");
+        }
+
+        if (!(block instanceof TextBlock textBlock)) {
+            throw new EmbeddingException(
+                    "OllamaTextEmbedding only supports TextBlock, but got: "
+                            + block.getClass().getSimpleName(),
+                    modelName,
+                    "ollama");
         }
 
         String text = textBlock.getText();
         if (text == null || text.trim().isEmpty()) {
-            return Mono.error(
-                    new EmbeddingException(
-                            "TextBlock text cannot be null or empty", modelName, "ollama"));
+            throw new EmbeddingException(
+                    "TextBlock text cannot be null or empty", modelName, "ollama");
         }
+        return text;
+    }
 
-        Mono<double[]> embeddingMono =
-                Mono.fromCallable(
-                                () -> {
-                                    try {
-                                        log.debug(
-                                                "Ollama embedding call: model={},"
-                                                        + " text_length={}",
-                                                modelName,
-                                                text.length());
-
-                                        // Create Ollama HTTP client
-                                        OllamaHttpClient client =
-                                                new OllamaHttpClient(
-                                                        HttpTransportFactory.getDefault(), baseUrl);
-
-                                        // Create embedding request
-                                        OllamaEmbeddingRequest request =
-                                                new OllamaEmbeddingRequest(
-                                                        modelName, List.of(text));
-
-                                        // Set additional parameters from options
-                                        request.setKeepAlive(null); // Use default keep alive
-                                        request.setTruncate(null); // Use default truncation
-
-                                        // Call the Ollama embedding API
-                                        OllamaEmbeddingResponse response = client.embed(request);
-
-                                        if (response == null || response.getEmbeddings() == null) {
-                                            throw new EmbeddingException(
-                                                    "Empty response from Ollama embedding API",
-                                                    modelName,
-                                                    "ollama");
-                                        }
-
-                                        List<float[]> embeddings = response.getEmbeddings();
-                                        if (embeddings.isEmpty() || embeddings.get(0) == null) {
-                                            throw new EmbeddingException(
-                                                    "No embedding data in response",
-                                                    modelName,
-                                                    "ollama");
-                                        }
-
-                                        // Convert float[] to double[]
-                                        float[] embeddingValues = embeddings.get(0);
-                                        double[] embeddingArray =
-                                                EmbeddingUtils.convertFloatArrayToDoubleArray(
-                                                        embeddingValues);
-
-                                        // Validate dimension if specified
-                                        if (dimensions > 0 && embeddingArray.length != dimensions) {
-                                            log.warn(
-                                                    "Embedding dimension mismatch: expected={},"
-                                                            + " actual={}",
-                                                    dimensions,
-                                                    embeddingArray.length);
-                                        }
-
-                                        return embeddingArray;
-                                    } catch (EmbeddingException e) {
-                                        throw e;
-                                    } catch (Exception e) {
-                                        // Handle specific Ollama HTTP exception
-                                        if (e instanceof OllamaHttpClient.OllamaHttpException) {
-                                            OllamaHttpClient.OllamaHttpException ohe =
-                                                    (OllamaHttpClient.OllamaHttpException) e;
-                                            throw new EmbeddingException(
-                                                    "Ollama API error: " + ohe.getMessage(),
-                                                    e,
-                                                    modelName,
-                                                    "ollama");
-                                        }
+    /**
+     * Embeds the given texts with a single API request.
+     *
+     * @param texts the texts to embed
+     * @return Mono that emits one vector per text, in input order
+     */
+    private Mono<List<double[]>> request(List<String> texts) {
+        return Mono.fromCallable(
+                        () -> {
+                            try {
+                                log.debug(
+                                        "Ollama embedding call: model={}, inputs={}",
+                                        modelName,
+                                        texts.size());
+
+                                // Create Ollama HTTP client
+                                OllamaHttpClient client =
+                                        new OllamaHttpClient(
+                                                HttpTransportFactory.getDefault(), baseUrl);
+
+                                // Create embedding request
+                                OllamaEmbeddingRequest request =
+                                        new OllamaEmbeddingRequest(modelName, texts);
+
+                                // Set additional parameters from options
+                                request.setKeepAlive(null); // Use default keep alive
+                                request.setTruncate(null); // Use default truncation
+
+                                // Call the Ollama embedding API
+                                OllamaEmbeddingResponse response = client.embed(request);
+
+                                if (response == null || response.getEmbeddings() == null) {
+                                    throw new EmbeddingException(
+                                            "Empty response from Ollama embedding API",
+                                            modelName,
+                                            "ollama");
+                                }
+
+                                // Embeddings are returned in input order
+                                List<float[]> embeddings = response.getEmbeddings();
+                                if (embeddings.isEmpty()) {
+                                    throw new EmbeddingException(
+                                            "No embedding data in response", modelName, "ollama");
+                                }
+                                if (embeddings.size() != texts.size()) {
+                                    throw new EmbeddingException(
+                                            "Expected "
+                                                    + texts.size()
+                                                    + " embeddings in response, got "
+                                                    + embeddings.size(),
+                                            modelName,
+                                            "ollama");
+                                }
+
+                                List<double[]> vectors = new ArrayList<>(embeddings.size());
+                                for (float[] embeddingValues : embeddings) {
+                                    if (embeddingValues == null) {
                                         throw new EmbeddingException(
-                                                "Failed to generate embedding: " + e.getMessage(),
-                                                e,
+                                                "No embedding data in response",
                                                 modelName,
                                                 "ollama");
                                     }
-                                })
-                        .onErrorMap(
-                                e -> {
-                                    if (e instanceof EmbeddingException) {
-                                        return e;
+
+                                    // Convert float[] to double[]
+                                    double[] embeddingArray =
+                                            EmbeddingUtils.convertFloatArrayToDoubleArray(
+                                                    embeddingValues);
+
+                                    // Validate dimension if specified
+                                    if (dimensions > 0 && embeddingArray.length != dimensions) {
+                                        log.warn(
+                                                "Embedding dimension mismatch: expected={},"
+                                                        + " actual={}",
+                                                dimensions,
+                                                embeddingArray.length);
                                     }
-                                    return new EmbeddingException(
-                                            "Ollama embedding API call failed: " + e.getMessage(),
+                                    vectors.add(embeddingArray);
+                                }
+
+                                return vectors;
+                            } catch (EmbeddingException e) {
+                                throw e;
+                            } catch (Exception e) {
+                                // Handle specific Ollama HTTP exception
+                                if (e instanceof OllamaHttpClient.OllamaHttpException) {
+                                    OllamaHttpClient.OllamaHttpException ohe =
+                                            (OllamaHttpClient.OllamaHttpException) e;
+                                    throw new EmbeddingException(
+                                            "Ollama API error: " + ohe.getMessage(),
                                             e,
                                             modelName,
                                             "ollama");
-                                });
-
-        // Apply timeout and retry
-        return EmbeddingUtils.applyTimeoutAndRetry(
-                embeddingMono, defaultExecutionConfig, modelName, "ollama", log);
+                                }
+                                throw new EmbeddingException(
+                                        "Failed to generate embedding: " + e.getMessage(),
+                                        e,
+                                        modelName,
+                                        "ollama");
+                            }
+                        })
+                .onErrorMap(
+                        e -> {
+                            if (e instanceof EmbeddingException) {
+                                return e;
+                            }
+                            return new EmbeddingException(
+                                    "Ollama embedding API call failed: " + e.getMessage(),
+                                    e,
+                                    modelName,
+                                    "ollama");
+                        });
     }
 
     @Override
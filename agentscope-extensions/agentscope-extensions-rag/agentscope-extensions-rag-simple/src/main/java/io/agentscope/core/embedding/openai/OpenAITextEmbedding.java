@@ -27,6 +27,8 @@ import io.agentscope.core.embedding.EmbeddingUtils;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.model.ExecutionConfig;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +49,9 @@ public class OpenAITextEmbedding implements EmbeddingModel {
 
     private static final Logger log = LoggerFactory.getLogger(OpenAITextEmbedding.class);
 
+    /** Maximum number of inputs the embeddings endpoint accepts per request. */
+    private static final int MAX_BATCH_SIZE = 2048;
+
     private final String apiKey;
     private final String modelName;
     private final int dimensions;
@@ -88,134 +93,205 @@ public class OpenAITextEmbedding implements EmbeddingModel {
 
     @Override
     public Mono<double[]> embed(ContentBlock block) {
-        if (block == null) {
-            return Mono.error(
-                    new EmbeddingException("ContentBlock cannot be null", modelName, "openai"));
+        String text;
+        try {
+            text = requireText(block);
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
         }
 
-        if (!(block instanceof TextBlock textBlock)) {
+        Mono<double[]> embeddingMono = request(List.of(text)).map(embeddings -> embeddings.get(0));
+
+        // Apply timeout and retry
+        return EmbeddingUtils.applyTimeoutAndRetry(
+                embeddingMono, defaultExecutionConfig, modelName, "openai", log);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Texts are sent up to 2048 per request, one request at a time. Timeout and
+     * retry apply to each request separately.
+     */
+    @Override
+    public Mono<List<double[]>> embedBatch(List<ContentBlock> blocks) {
+        if (blocks == null) {
             return Mono.error(
                     new EmbeddingException(
-                            "OpenAITextEmbedding only supports TextBlock, but got: "
-                                    + block.getClass().getSimpleName(),
-                            modelName,
-                            "openai"));
+                            "ContentBlock list cannot be null", modelName, "openai"));
+        }
+        List<String> texts = new ArrayList<>(blocks.size());
+        try {
+            for (ContentBlock block : blocks) {
+                texts.add(requireText(block));
+            }
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
+        }
+        return EmbeddingUtils.embedInBatches(
+                texts,
+                MAX_BATCH_SIZE,
+                chunk ->
+                        EmbeddingUtils.applyTimeoutAndRetryBatch(
+                                request(chunk), defaultExecutionConfig, modelName, "openai", log));
+    }
+
+    /**
+     * Validates that a content block is a non-blank {@link TextBlock} and returns its text.
+     */
+    private String requireText(ContentBlock block) {
+        if (block == null) {
+            throw new EmbeddingException("ContentBlock cannot be null", modelName, "openai");
+        }
+
+        if (!(block instanceof TextBlock textBlock)) {
+            throw new EmbeddingException(
+                    "OpenAITextEmbedding only supports TextBlock, but got: "
+                            + block.getClass().getSimpleName(),
+                    modelName,
+                    "openai");
         }
 
         String text = textBlock.getText();
         if (text == null || text.trim().isEmpty()) {
-            return Mono.error(
-                    new EmbeddingException(
-                            "TextBlock text cannot be null or empty", modelName, "openai"));
+            throw new EmbeddingException(
+                    "TextBlock text cannot be null or empty", modelName, "openai");
         }
+        return text;
+    }
+
+    /**
+     * Embeds the given texts with a single API request.
+     *
+     * @param texts the texts to embed
+     * @return Mono that emits one vector per text, in input order
+     */
+    private Mono<List<double[]>> request(List<String> texts) {
+        return Mono.fromCallable(
+                        () -> {
+                            try {
+                                // Initialize OpenAI client
+                                OpenAIOkHttpClient.Builder clientBuilder =
+                                        OpenAIOkHttpClient.builder();
+
+                                if (apiKey != null) {
+                                    clientBuilder.apiKey(apiKey);
+                                }
+
+                                if (baseUrl != null) {
+                                    clientBuilder.baseUrl(baseUrl);
+                                }
+
+                                // Set unified AgentScope User-Agent (overrides OpenAI SDK
+                                // default)
+                                clientBuilder.putHeader("User-Agent", Version.getUserAgent());
+
+                                OpenAIClient client = clientBuilder.build();
+
+                                EmbeddingCreateParams createParams =
+                                        EmbeddingCreateParams.builder()
+                                                .model(modelName)
+                                                .dimensions(dimensions)
+                                                .encodingFormat(
+                                                        EmbeddingCreateParams.EncodingFormat.FLOAT)
+                                                .inputOfArrayOfStrings(texts)
+                                                .build();
+
+                                log.debug(
+                                        "OpenAI embedding call: model={}, inputs={}",
+                                        modelName,
+                                        texts.size());
+
+                                CreateEmbeddingResponse result =
+                                        client.embeddings().create(createParams);
+
+                                if (result == null || result.data() == null) {
+                                    throw new EmbeddingException(
+                                            "Empty response from OpenAI embedding API",
+                                            modelName,
+                                            "openai");
+                                }
+
+                                List<Embedding> embeddings = result.data();
+                                if (embeddings.isEmpty()) {
+                                    throw new EmbeddingException(
+                                            "No embedding data in response", modelName, "openai");
+                                }
+                                if (embeddings.size() != texts.size()) {
+                                    throw new EmbeddingException(
+                                            "Expected "
+                                                    + texts.size()
+                                                    + " embeddings in response, got "
+                                                    + embeddings.size(),
+                                            modelName,
+                                            "openai");
+                                }
 
-        Mono<double[]> embeddingMono =
-                Mono.fromCallable(
-                                () -> {
-                                    try {
-                                        // Initialize OpenAI client
-                                        OpenAIOkHttpClient.Builder clientBuilder =
-                                                OpenAIOkHttpClient.builder();
-
-                                        if (apiKey != null) {
-                                            clientBuilder.apiKey(apiKey);
-                                        }
-
-                                        if (baseUrl != null) {
-                                            clientBuilder.baseUrl(baseUrl);
-                                        }
-
-                                        // Set unified AgentScope User-Agent (overrides OpenAI SDK
-                                        // default)
-                                        clientBuilder.putHeader(
-                                                "User-Agent", Version.getUserAgent());
-
-                                        OpenAIClient client = clientBuilder.build();
-
-                                        EmbeddingCreateParams createParams =
-                                                EmbeddingCreateParams.builder()
-                                                        .model(modelName)
-                                                        .dimensions(dimensions)
-                                                        .encodingFormat(
-                                                                EmbeddingCreateParams.EncodingFormat
-                                                                        .FLOAT)
-                                                        .inputOfArrayOfStrings(List.of(text))
-                                                        .build();
-
-                                        log.debug(
-                                                "OpenAI embedding call: model={},"
-                                                        + " text_length={}",
+                                // Results carry the index of their input; place them by it
+                                double[][] vectors = new double[texts.size()][];
+                                for (Embedding embedding : embeddings) {
+                                    if (embedding == null) {
+                                        throw new EmbeddingException(
+                                                "No embedding data in response",
                                                 modelName,
-                                                text.length());
-
-                                        CreateEmbeddingResponse result =
-                                                client.embeddings().create(createParams);
-
-                                        if (result == null || result.data() == null) {
-                                            throw new EmbeddingException(
-                                                    "Empty response from OpenAI embedding API",
-                                                    modelName,
-                                                    "openai");
-                                        }
-
-                                        List<Embedding> embeddings = result.data();
-                                        if (embeddings == null
-                                                || embeddings.isEmpty()
-                                                || embeddings.get(0) == null) {
-                                            throw new EmbeddingException(
-                                                    "No embedding data in response",
-                                                    modelName,
-                                                    "openai");
-                                        }
-
-                                        List<Float> embeddingValues = embeddings.get(0).embedding();
-                                        if (embeddingValues == null || embeddingValues.isEmpty()) {
-                                            throw new EmbeddingException(
-                                                    "Empty embedding vector in response",
-                                                    modelName,
-                                                    "openai");
-                                        }
-
-                                        // Convert List<Float> to double[]
-                                        double[] embeddingArray =
-                                                EmbeddingUtils.convertFloatListToDoubleArray(
-                                                        embeddingValues);
-
-                                        // Validate dimension
-                                        if (embeddingArray.length != dimensions) {
-                                            log.warn(
-                                                    "Embedding dimension mismatch: expected={},"
-                                                            + " actual={}",
-                                                    dimensions,
-                                                    embeddingArray.length);
-                                        }
-
-                                        return embeddingArray;
-                                    } catch (EmbeddingException e) {
-                                        throw e;
-                                    } catch (Exception e) {
+                                                "openai");
+                                    }
+                                    long index = embedding.index();
+                                    if (index < 0
+                                            || index >= vectors.length
+                                            || vectors[(int) index] != null) {
                                         throw new EmbeddingException(
-                                                "Failed to generate embedding: " + e.getMessage(),
-                                                e,
+                                                "Invalid embedding index in response: " + index,
                                                 modelName,
                                                 "openai");
                                     }
-                                })
-                        .onErrorMap(
-                                e -> {
-                                    if (e instanceof EmbeddingException) {
-                                        return e;
+
+                                    List<Float> embeddingValues = embedding.embedding();
+                                    if (embeddingValues == null || embeddingValues.isEmpty()) {
+                                        throw new EmbeddingException(
+                                                "Empty embedding vector in response",
+                                                modelName,
+                                                "openai");
                                     }
-                                    return new EmbeddingException(
-                                            "OpenAI embedding API call failed: " + e.getMessage(),
-                                            e,
-                                            modelName,
-                                            "openai");
-                                });
 
-        // Apply timeout and retry
-        return EmbeddingUtils.applyTimeoutAndRetry(
-                embeddingMono, defaultExecutionConfig, modelName, "openai", log);
+                                    // Convert List<Float> to double[]
+                                    double[] embeddingArray =
+                                            EmbeddingUtils.convertFloatListToDoubleArray(
+                                                    embeddingValues);
+
+                                    // Validate dimension
+                                    if (embeddingArray.length != dimensions) {
+                                        log.warn(
+                                                "Embedding dimension mismatch: expected={},"
+                                                        + " actual={}",
+                                                dimensions,
+                                                embeddingArray.length);
+                                    }
+                                    vectors[(int) index] = embeddingArray;
+                                }
+
+                                return Arrays.asList(vectors);
+                            } catch (EmbeddingException e) {
+                                throw e;
+                            } catch (Exception e) {
+                                throw new EmbeddingException(
+                                        "Failed to generate embedding: " + e.getMessage(),
+                                        e,
+                                        modelName,
+                                        "openai");
+                            }
+                        })
+                .onErrorMap(
+                        e -> {
+                            if (e instanceof EmbeddingException) {
+                                return e;
+                            }
+                            return new EmbeddingException(
+                                    "OpenAI embedding API call failed: " + e.getMessage(),
+                                    e,
+                                    modelName,
+                                    "openai");
+                        });
     }
 
     @Override
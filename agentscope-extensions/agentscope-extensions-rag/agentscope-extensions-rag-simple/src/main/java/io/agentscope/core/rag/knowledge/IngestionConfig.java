@@ -0,0 +1,241 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.knowledge;
+
+import java.time.Duration;
+
+/**
+ * Configuration for document ingestion in {@link SimpleKnowledge}.
+ *
+ * <p>Documents are embedded in batches of {@link #getBatchSize()} with at most {@link
+ * #getConcurrency()} batch requests in flight, started no faster than {@link
+ * #getMaxRequestsPerSecond()}. Embedded documents are written to the vector store in windows of
+ * {@link #getFlushSize()}, so only a bounded number of vectors is held in memory at a time. With
+ * {@link #isSkipExisting()}, documents the vector store already holds are not embedded again.
+ */
+public class IngestionConfig {
+
+    /** Default number of documents per embedding request. */
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    /** Default number of embedding requests in flight. */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    /** Default number of documents per vector store write. */
+    public static final int DEFAULT_FLUSH_SIZE = 512;
+
+    private final int batchSize;
+    private final int concurrency;
+    private final double maxRequestsPerSecond;
+    private final int flushSize;
+    private final boolean skipExisting;
+
+    private IngestionConfig(Builder builder) {
+        this.batchSize = builder.batchSize;
+        this.concurrency = builder.concurrency;
+        this.maxRequestsPerSecond = builder.maxRequestsPerSecond;
+        this.flushSize = builder.flushSize;
+        this.skipExisting = builder.skipExisting;
+    }
+
+    /**
+     * Returns the configuration with default values.
+     *
+     * @return the default configuration
+     */
+    public static IngestionConfig defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Gets the number of documents sent to the embedding model per request.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the maximum number of embedding requests in flight.
+     *
+     * @return the concurrency
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Gets the maximum rate at which embedding requests are started.
+     *
+     * @return requests per second, or {@code 0} for no limit
+     */
+    public double getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
+
+    /**
+     * Gets the minimum spacing between the start of two embedding requests.
+     *
+     * @return the spacing, or {@link Duration#ZERO} if requests are not rate limited
+     */
+    public Duration getRequestInterval() {
+        if (maxRequestsPerSecond <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) Math.ceil(1_000_000_000L / maxRequestsPerSecond));
+    }
+
+    /**
+     * Gets the number of embedded documents written to the vector store per call.
+     *
+     * @return the flush size
+     */
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    /**
+     * Whether documents whose ID the vector store already holds are skipped instead of embedded
+     * and written again.
+     *
+     * @return true if existing documents are skipped
+     */
+    public boolean isSkipExisting() {
+        return skipExisting;
+    }
+
+    /**
+     * Mutate the current instance to a new builder.
+     *
+     * @return a new builder with the same values of this instance
+     */
+    public Builder mutate() {
+        return new Builder()
+                .batchSize(this.batchSize)
+                .concurrency(this.concurrency)
+                .maxRequestsPerSecond(this.maxRequestsPerSecond)
+                .flushSize(this.flushSize)
+                .skipExisting(this.skipExisting);
+    }
+
+    /**
+     * Creates a new builder instance.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for IngestionConfig.
+     */
+    public static class Builder {
+
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private int concurrency = DEFAULT_CONCURRENCY;
+        private double maxRequestsPerSecond = 0;
+        private int flushSize = DEFAULT_FLUSH_SIZE;
+        private boolean skipExisting;
+
+        private Builder() {}
+
+        /**
+         * Sets the number of documents sent to the embedding model per request.
+         *
+         * @param batchSize the batch size (must be positive)
+         * @return this builder for chaining
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of embedding requests in flight.
+         *
+         * @param concurrency the concurrency (must be positive)
+         * @return this builder for chaining
+         */
+        public Builder concurrency(int concurrency) {
+            if (concurrency <= 0) {
+                throw new IllegalArgumentException("Concurrency must be positive");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Sets the maximum rate at which embedding requests are started.
+         *
+         * @param maxRequestsPerSecond requests per second, or {@code 0} for no limit (must not be
+         *     negative)
+         * @return this builder for chaining
+         */
+        public Builder maxRequestsPerSecond(double maxRequestsPerSecond) {
+            if (maxRequestsPerSecond < 0 || Double.isNaN(maxRequestsPerSecond)) {
+                throw new IllegalArgumentException("Max requests per second must not be negative");
+            }
+            this.maxRequestsPerSecond = maxRequestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets the number of embedded documents written to the vector store per call.
+         *
+         * @param flushSize the flush size (must be positive)
+         * @return this builder for chaining
+         */
+        public Builder flushSize(int flushSize) {
+            if (flushSize <= 0) {
+                throw new IllegalArgumentException("Flush size must be positive");
+            }
+            this.flushSize = flushSize;
+            return this;
+        }
+
+        /**
+         * Sets whether documents whose ID the vector store already holds are skipped instead of
+         * embedded and written again.
+         *
+         * <p>Document IDs are derived from the document ID, chunk ID and content, so a skipped
+         * document has the same content as the stored one; payload and vector name changes are
+         * not applied. Only stores that implement {@link
+         * io.agentscope.core.rag.store.VDBStoreBase#findExistingIds} can report existing
+         * documents.
+         *
+         * @param skipExisting true to skip existing documents (default false)
+         * @return this builder for chaining
+         */
+        public Builder skipExisting(boolean skipExisting) {
+            this.skipExisting = skipExisting;
+            return this;
+        }
+
+        /**
+         * Builds the IngestionConfig instance.
+         *
+         * @return the configured IngestionConfig
+         */
+        public IngestionConfig build() {
+            return new IngestionConfig(this);
+        }
+    }
+}
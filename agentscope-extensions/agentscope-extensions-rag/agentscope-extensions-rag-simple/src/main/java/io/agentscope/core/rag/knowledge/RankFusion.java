@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.knowledge;
+
+import io.agentscope.core.rag.model.Document;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges several rankings of the same documents into one.
+ */
+public final class RankFusion {
+
+    private RankFusion() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Fuses rankings with reciprocal-rank fusion (RRF).
+     *
+     * <p>A document scores {@code sum(1 / (k + rank))} over the rankings it appears in, with ranks
+     * starting at 1. Only ranks count, so rankings with incomparable scores, such as cosine
+     * similarity and BM25, can be fused without normalization. Documents are matched by id; the
+     * first ranking a document appears in supplies the returned copy, so list the ranking whose
+     * documents carry embeddings first.
+     *
+     * @param rankings the rankings, each sorted best first
+     * @param k the rank constant (must be positive)
+     * @param limit the maximum number of results (must be positive)
+     * @return copies of the documents with their fused score set, sorted by score (descending);
+     *     ties keep the order of first appearance
+     * @throws IllegalArgumentException if the rankings are null or k or limit is not positive
+     */
+    public static List<Document> reciprocalRank(List<List<Document>> rankings, int k, int limit) {
+        if (rankings == null) {
+            throw new IllegalArgumentException("Rankings cannot be null");
+        }
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        Map<String, Document> fused = new LinkedHashMap<>();
+        for (List<Document> ranking : rankings) {
+            if (ranking == null) {
+                continue;
+            }
+            int rank = 0;
+            for (Document doc : ranking) {
+                if (doc == null) {
+                    continue;
+                }
+                rank++;
+                double contribution = 1.0 / (k + rank);
+                Document entry =
+                        fused.computeIfAbsent(
+                                doc.getId(),
+                                id -> {
+                                    Document copy = new Document(doc.getMetadata());
+                                    copy.setEmbedding(doc.getEmbedding());
+                                    copy.setVectorName(doc.getVectorName());
+                                    copy.setScore(0.0);
+                                    return copy;
+                                });
+                entry.setScore(entry.getScore() + contribution);
+            }
+        }
+
+        List<Document> results = new ArrayList<>(fused.values());
+        results.sort(Comparator.comparing(Document::getScore, Comparator.reverseOrder()));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+}
@@ -15,6 +15,9 @@
  */
 package io.agentscope.core.rag.knowledge;
 
+import io.agentscope.core.embedding.CachingEmbeddingModel;
+import io.agentscope.core.embedding.EmbeddingCacheStore;
+import io.agentscope.core.embedding.EmbeddingException;
 import io.agentscope.core.embedding.EmbeddingModel;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.TextBlock;
@@ -22,11 +25,15 @@ import io.agentscope.core.rag.Knowledge;
 import io.agentscope.core.rag.model.Document;
 import io.agentscope.core.rag.model.DocumentMetadata;
 import io.agentscope.core.rag.model.RetrieveConfig;
+import io.agentscope.core.rag.model.RetrieveMode;
+import io.agentscope.core.rag.store.KeywordIndexedStore;
 import io.agentscope.core.rag.store.VDBStoreBase;
 import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
@@ -41,10 +48,20 @@ import reactor.core.publisher.Mono;
  *
  * <p>Workflow:
  * <ul>
- *   <li><b>addDocuments:</b> Embed documents → Store documents (with metadata/payload) in vector store
- *   <li><b>retrieve:</b> Embed query → Search documents → Filter by threshold → Return documents
+ *   <li><b>addDocuments:</b> Embed documents in batches, skipping content already in the
+ *       embedding cache → Store documents (with metadata/payload)
+ *       in vector store in windows, see {@link IngestionConfig}
+ *   <li><b>retrieve:</b> Embed query → Search documents → Filter by threshold → Return documents;
+ *       with a {@link KeywordIndexedStore}, documents can also be ranked by keywords or by both,
+ *       see {@link RetrieveMode}
  * </ul>
  *
+ * <p>With {@link Builder#cacheEmbeddings} enabled, embeddings are cached by model and content
+ * (see {@link CachingEmbeddingModel}), so re-ingesting unchanged documents and repeating queries,
+ * including those issued by {@code GenericRAGHook}, do not call the embedding model again. The
+ * cache holds whole vectors in memory, so it is off by default; use {@link
+ * Builder#embeddingCacheStore} to keep it across restarts.
+ *
  * <p>Example usage:
  * <pre>{@code
  * EmbeddingModel embeddingModel = DashScopeTextEmbedding.builder()
@@ -57,6 +74,7 @@ import reactor.core.publisher.Mono;
  * SimpleKnowledge knowledge = SimpleKnowledge.builder()
  *     .embeddingModel(embeddingModel)
  *     .embeddingStore(vectorStore)
+ *     .ingestionConfig(IngestionConfig.builder().batchSize(10).maxRequestsPerSecond(5).build())
  *     .build();
  *
  * // Add documents
@@ -72,25 +90,47 @@ public class SimpleKnowledge implements Knowledge {
 
     private static final Logger log = LoggerFactory.getLogger(SimpleKnowledge.class);
 
+    /** Candidates fetched from each ranking per result in hybrid retrieval. */
+    private static final int HYBRID_CANDIDATE_FACTOR = 4;
+
     private final EmbeddingModel embeddingModel;
+
+    /** The model embedding calls go through; the caching wrapper unless caching is off. */
+    private final EmbeddingModel embedder;
+
     private final VDBStoreBase embeddingStore;
+    private final IngestionConfig ingestionConfig;
+
+    /** Start time of the next free embedding request slot, in {@link System#nanoTime()} units. */
+    private final AtomicLong nextRequestNanos = new AtomicLong(System.nanoTime());
 
     /**
      * Creates a new SimpleKnowledge instance.
      *
      * @param embeddingModel the embedding model to use for generating vectors
+     * @param embedder the model to call, either {@code embeddingModel} or a cache wrapping it
      * @param embeddingStore the vector store to use for storage and search
+     * @param ingestionConfig batching, concurrency and rate settings for adding documents
      * @throws IllegalArgumentException if any parameter is null
      */
-    private SimpleKnowledge(EmbeddingModel embeddingModel, VDBStoreBase embeddingStore) {
+    private SimpleKnowledge(
+            EmbeddingModel embeddingModel,
+            EmbeddingModel embedder,
+            VDBStoreBase embeddingStore,
+            IngestionConfig ingestionConfig) {
         if (embeddingModel == null) {
             throw new IllegalArgumentException("Embedding model cannot be null");
         }
         if (embeddingStore == null) {
             throw new IllegalArgumentException("Embedding store cannot be null");
         }
+        if (ingestionConfig == null) {
+            throw new IllegalArgumentException("Ingestion config cannot be null");
+        }
         this.embeddingModel = embeddingModel;
+        this.embedder = embedder != null ? embedder : embeddingModel;
         this.embeddingStore = embeddingStore;
+        this.ingestionConfig = ingestionConfig;
     }
 
     @Override
@@ -101,36 +141,141 @@ public class SimpleKnowledge implements Knowledge {
         if (documents.isEmpty()) {
             return Mono.empty();
         }
+        return addDocumentStream(Flux.fromIterable(documents));
+    }
 
-        return Flux.fromIterable(documents)
-                .flatMap(
+    /**
+     * Adds a stream of documents to the knowledge base.
+     *
+     * <p>Documents are consumed as they arrive: they are embedded in batches with bounded
+     * concurrency and rate, and written to the vector store in windows, as configured by {@link
+     * IngestionConfig}. The whole stream is never held in memory, so this is the preferred way to
+     * ingest large corpora. Documents without content are skipped.
+     *
+     * @param documents the documents to add
+     * @return a Mono that completes when all documents have been added
+     */
+    public Mono<Void> addDocumentStream(Flux<Document> documents) {
+        if (documents == null) {
+            return Mono.error(new IllegalArgumentException("Documents stream cannot be null"));
+        }
+
+        return documents
+                .filter(
                         doc -> {
-                            // Extract ContentBlock from document metadata
-                            ContentBlock contentBlock = extractContentBlock(doc.getMetadata());
-                            if (contentBlock == null) {
+                            if (extractContentBlock(doc.getMetadata()) == null) {
                                 log.warn(
                                         "Cannot extract ContentBlock from document: {}",
                                         doc.getId());
-                                return Mono.empty();
+                                return false;
                             }
-                            // Generate embedding for document content
-                            return embeddingModel
-                                    .embed(contentBlock)
-                                    .doOnNext(embedding -> doc.setEmbedding(embedding))
-                                    .thenReturn(doc);
+                            return true;
                         })
-                .collectList()
+                .buffer(ingestionConfig.getBatchSize())
+                .flatMapSequential(this::embedBatch, ingestionConfig.getConcurrency())
+                .concatMapIterable(batch -> batch)
+                .buffer(ingestionConfig.getFlushSize())
+                // Batch store documents in vector store (includes metadata/payload)
+                .concatMap(embeddingStore::add)
+                .then()
+                .doOnError(error -> log.error("Failed to add documents to knowledge base", error));
+    }
+
+    /**
+     * Embeds one batch of documents with a single {@link EmbeddingModel#embedBatch} call, waiting
+     * for a request slot first when a rate limit is configured. With {@link
+     * IngestionConfig#isSkipExisting()}, documents already in the vector store are dropped first.
+     *
+     * @param batch documents that all have content
+     * @return a Mono that emits the documents to store, with their embeddings set
+     */
+    private Mono<List<Document>> embedBatch(List<Document> batch) {
+        if (!ingestionConfig.isSkipExisting()) {
+            return embedAll(batch);
+        }
+        List<String> ids = new ArrayList<>(batch.size());
+        for (Document doc : batch) {
+            ids.add(doc.getId());
+        }
+        return embeddingStore
+                .findExistingIds(ids)
                 .flatMap(
-                        docsWithEmbeddings -> {
-                            // Batch store documents in vector store (includes metadata/payload)
-                            if (docsWithEmbeddings.isEmpty()) {
-                                return Mono.empty();
+                        existing -> {
+                            if (existing.isEmpty()) {
+                                return embedAll(batch);
                             }
-                            return embeddingStore.add(docsWithEmbeddings);
-                        })
-                .doOnError(error -> log.error("Failed to add documents to knowledge base", error));
+                            List<Document> missing = new ArrayList<>(batch.size());
+                            for (Document doc : batch) {
+                                if (!existing.contains(doc.getId())) {
+                                    missing.add(doc);
+                                }
+                            }
+                            log.debug(
+                                    "Skipping {} documents already in the vector store",
+                                    batch.size() - missing.size());
+                            return missing.isEmpty() ? Mono.just(missing) : embedAll(missing);
+                        });
     }
 
+    private Mono<List<Document>> embedAll(List<Document> batch) {
+        List<ContentBlock> blocks = new ArrayList<>(batch.size());
+        for (Document doc : batch) {
+            blocks.add(extractContentBlock(doc.getMetadata()));
+        }
+        return awaitRequestSlot()
+                .then(Mono.defer(() -> embedder.embedBatch(blocks)))
+                .map(
+                        embeddings -> {
+                            if (embeddings.size() != batch.size()) {
+                                throw new EmbeddingException(
+                                        "Expected "
+                                                + batch.size()
+                                                + " embeddings, got "
+                                                + embeddings.size(),
+                                        embeddingModel.getModelName(),
+                                        null);
+                            }
+                            for (int i = 0; i < batch.size(); i++) {
+                                batch.get(i).setEmbedding(embeddings.get(i));
+                            }
+                            return batch;
+                        });
+    }
+
+    /**
+     * Reserves the next embedding request slot under the configured rate limit.
+     *
+     * <p>Slots are spaced {@link IngestionConfig#getRequestInterval()} apart and shared by all
+     * ingestions running on this knowledge base, so concurrent calls do not multiply the rate.
+     *
+     * @return a Mono that completes when the reserved slot starts
+     */
+    private Mono<Void> awaitRequestSlot() {
+        long interval = ingestionConfig.getRequestInterval().toNanos();
+        if (interval == 0) {
+            return Mono.empty();
+        }
+        return Mono.defer(
+                () -> {
+                    long now = System.nanoTime();
+                    long slot =
+                            nextRequestNanos.getAndAccumulate(
+                                    now, (next, t) -> (next - t > 0 ? next : t) + interval);
+                    long delay = slot - now;
+                    if (delay <= 0) {
+                        return Mono.empty();
+                    }
+                    return Mono.delay(Duration.ofNanos(delay)).then();
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>{@link RetrieveMode#KEYWORD} and {@link RetrieveMode#HYBRID} require the vector store to
+     * be a {@link KeywordIndexedStore}. The score threshold applies to vector similarity: keyword
+     * results are not filtered by it, and hybrid results carry their fused score.
+     */
     @Override
     public Mono<List<Document>> retrieve(String query, RetrieveConfig config) {
         if (query == null) {
@@ -143,17 +288,55 @@ public class SimpleKnowledge implements Knowledge {
             return Mono.just(new ArrayList<>());
         }
 
+        RetrieveMode mode = config.getMode();
+        if (mode == RetrieveMode.DENSE) {
+            return searchDense(query, config, config.getLimit());
+        }
+        if (!(embeddingStore instanceof KeywordIndexedStore keywordStore)) {
+            return Mono.error(
+                    new IllegalStateException(
+                            mode
+                                    + " retrieval requires a KeywordIndexedStore, got "
+                                    + embeddingStore.getClass().getSimpleName()));
+        }
+        if (mode == RetrieveMode.KEYWORD) {
+            return keywordStore.searchKeywords(query, config.getLimit(), config.getVectorName());
+        }
+
+        // Each ranking contributes deeper candidates than the limit, so documents ranked
+        // moderately by both can still surface in the fused result
+        int candidates = config.getLimit() * HYBRID_CANDIDATE_FACTOR;
+        return Mono.zip(
+                        searchDense(query, config, candidates),
+                        keywordStore.searchKeywords(query, candidates, config.getVectorName()))
+                .map(
+                        rankings ->
+                                RankFusion.reciprocalRank(
+                                        List.of(rankings.getT1(), rankings.getT2()),
+                                        config.getRrfK(),
+                                        config.getLimit()));
+    }
+
+    /**
+     * Embeds the query and searches the vector store, keeping documents that reach the score
+     * threshold.
+     *
+     * @param query the query text
+     * @param config the retrieval configuration
+     * @param limit the maximum number of results
+     * @return a Mono that emits the documents sorted by similarity (descending)
+     */
+    private Mono<List<Document>> searchDense(String query, RetrieveConfig config, int limit) {
         // Convert query string to TextBlock
         TextBlock queryBlock = TextBlock.builder().text(query).build();
-        return embeddingModel
-                .embed(queryBlock)
+        return embedder.embed(queryBlock)
                 .flatMap(
                         queryEmbedding ->
                                 embeddingStore.search(
                                         SearchDocumentDto.builder()
                                                 .vectorName(config.getVectorName())
                                                 .queryEmbedding(queryEmbedding)
-                                                .limit(config.getLimit())
+                                                .limit(limit)
                                                 .scoreThreshold(null)
                                                 .build()))
                 .flatMap(
@@ -182,6 +365,15 @@ public class SimpleKnowledge implements Knowledge {
         return embeddingModel;
     }
 
+    /**
+     * Gets the embedding cache in front of the embedding model.
+     *
+     * @return the caching model, or null if embeddings are not cached
+     */
+    public CachingEmbeddingModel getEmbeddingCache() {
+        return embedder instanceof CachingEmbeddingModel cache ? cache : null;
+    }
+
     /**
      * Gets the vector store used by this knowledge base.
      *
@@ -191,6 +383,15 @@ public class SimpleKnowledge implements Knowledge {
         return embeddingStore;
     }
 
+    /**
+     * Gets the ingestion settings used by {@link #addDocuments} and {@link #addDocumentStream}.
+     *
+     * @return the ingestion config
+     */
+    public IngestionConfig getIngestionConfig() {
+        return ingestionConfig;
+    }
+
     /**
      * Extracts a ContentBlock from DocumentMetadata.
      *
@@ -221,6 +422,9 @@ public class SimpleKnowledge implements Knowledge {
     public static class Builder {
         private EmbeddingModel embeddingModel;
         private VDBStoreBase embeddingStore;
+        private IngestionConfig ingestionConfig = IngestionConfig.defaults();
+        private boolean cacheEmbeddings;
+        private EmbeddingCacheStore embeddingCacheStore;
 
         private Builder() {}
 
@@ -246,6 +450,46 @@ public class SimpleKnowledge implements Knowledge {
             return this;
         }
 
+        /**
+         * Sets the batching, concurrency and rate settings for adding documents.
+         *
+         * @param ingestionConfig the ingestion config (defaults to {@link
+         *     IngestionConfig#defaults()})
+         * @return this builder for method chaining
+         */
+        public Builder ingestionConfig(IngestionConfig ingestionConfig) {
+            this.ingestionConfig = ingestionConfig;
+            return this;
+        }
+
+        /**
+         * Sets whether embeddings are cached by content, see {@link CachingEmbeddingModel}.
+         *
+         * <p>Caching is off by default. When enabled, up to {@link
+         * CachingEmbeddingModel#DEFAULT_MAX_ENTRIES} vectors are kept in memory per knowledge
+         * base, backed by {@link #embeddingCacheStore} if set. An embedding model that is already a
+         * {@link CachingEmbeddingModel} is used as is.
+         *
+         * @param cacheEmbeddings true to cache embeddings (defaults to false)
+         * @return this builder for method chaining
+         */
+        public Builder cacheEmbeddings(boolean cacheEmbeddings) {
+            this.cacheEmbeddings = cacheEmbeddings;
+            return this;
+        }
+
+        /**
+         * Sets the persistent tier of the embedding cache, so cached embeddings survive restarts.
+         * Only used when {@link #cacheEmbeddings} is enabled.
+         *
+         * @param embeddingCacheStore the persistent store (can be null)
+         * @return this builder for method chaining
+         */
+        public Builder embeddingCacheStore(EmbeddingCacheStore embeddingCacheStore) {
+            this.embeddingCacheStore = embeddingCacheStore;
+            return this;
+        }
+
         /**
          * Builds a new SimpleKnowledge instance.
          *
@@ -259,7 +503,15 @@ public class SimpleKnowledge implements Knowledge {
             if (embeddingStore == null) {
                 throw new IllegalArgumentException("Embedding store is required");
             }
-            return new SimpleKnowledge(embeddingModel, embeddingStore);
+            EmbeddingModel embedder = embeddingModel;
+            if (cacheEmbeddings && !(embeddingModel instanceof CachingEmbeddingModel)) {
+                embedder =
+                        CachingEmbeddingModel.builder()
+                                .model(embeddingModel)
+                                .store(embeddingCacheStore)
+                                .build();
+            }
+            return new SimpleKnowledge(embeddingModel, embedder, embeddingStore, ingestionConfig);
         }
     }
 }
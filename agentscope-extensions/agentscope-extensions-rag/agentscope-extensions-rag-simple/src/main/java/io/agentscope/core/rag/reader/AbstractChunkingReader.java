@@ -15,6 +15,14 @@
  */
 package io.agentscope.core.rag.reader;
 
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.exception.ReaderException;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import java.util.concurrent.Callable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * Abstract base class for readers that support text chunking.
  *
@@ -70,6 +78,33 @@ public abstract class AbstractChunkingReader implements Reader {
         }
     }
 
+    /**
+     * Streams documents chunked incrementally from a character stream, with chunk ids numbered
+     * from 0 as in {@link #read}. The stream is read on the bounded elastic scheduler as documents
+     * are requested, so only the chunks in flight are held in memory.
+     *
+     * @param source opens the character stream; it is closed when the flux terminates
+     * @param docId the document id shared by all chunks
+     * @param errorMessage the message of the {@link ReaderException} wrapping read failures
+     * @return a flux of chunk documents
+     */
+    protected Flux<Document> streamChunks(
+            Callable<? extends java.io.Reader> source, String docId, String errorMessage) {
+        return StreamingTextChunker.chunk(source, chunkSize, splitStrategy, overlapSize)
+                .index()
+                .map(
+                        chunk -> {
+                            TextBlock content = TextBlock.builder().text(chunk.getT2()).build();
+                            return new Document(
+                                    new DocumentMetadata(
+                                            content, docId, String.valueOf(chunk.getT1())));
+                        })
+                .onErrorMap(
+                        e -> !(e instanceof ReaderException),
+                        e -> new ReaderException(errorMessage, e))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
     /**
      * Gets the chunk size.
      *
@@ -29,6 +29,7 @@ import java.util.List;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -49,6 +50,9 @@ import reactor.core.publisher.Mono;
  * ReaderInput input = ReaderInput.fromString("path/to/document.pdf");
  * List<Document> documents = reader.read(input).block();
  * }</pre>
+ *
+ * <p>{@link #stream} produces the same chunks while extracting one page at a time, so the text of
+ * the whole document is never held in memory.
  */
 public class PDFReader extends AbstractChunkingReader {
 
@@ -113,6 +117,23 @@ public class PDFReader extends AbstractChunkingReader {
                 .onErrorMap(ReaderException.class, e -> e);
     }
 
+    @Override
+    public Flux<Document> stream(ReaderInput input) {
+        if (input == null) {
+            return Flux.error(new ReaderException("Input cannot be null"));
+        }
+        String pdfPath = input.asString();
+        return streamChunks(
+                () -> {
+                    if (!Files.exists(Paths.get(pdfPath))) {
+                        throw new ReaderException("PDF file does not exist: " + pdfPath);
+                    }
+                    return new PageTextReader(Loader.loadPDF(new File(pdfPath)));
+                },
+                ReaderUtils.generateDocIdSHA256(pdfPath),
+                "Failed to read PDF from: " + input);
+    }
+
     @Override
     public List<String> getSupportedFormats() {
         return List.of("pdf");
@@ -179,6 +200,51 @@ public class PDFReader extends AbstractChunkingReader {
         return documents;
     }
 
+    /**
+     * Character stream over the text of a PDF, extracted one page at a time with pages separated
+     * by double newlines, as in {@link #extractTextFromPDF}. Closing it closes the document.
+     */
+    private static final class PageTextReader extends java.io.Reader {
+        private final PDDocument document;
+        private final PDFTextStripper stripper = new PDFTextStripper();
+        private final int totalPages;
+        private String pageText = "";
+        private int position;
+        private int page;
+
+        PageTextReader(PDDocument document) {
+            this.document = document;
+            this.totalPages = document.getNumberOfPages();
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (position == pageText.length()) {
+                if (page == totalPages) {
+                    return -1;
+                }
+                page++;
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                String text = stripper.getText(document);
+                pageText = page > 1 ? "\n\n" + text : text;
+                position = 0;
+            }
+            int count = Math.min(length, pageText.length() - position);
+            pageText.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            document.close();
+        }
+    }
+
     /**
      * Checks if image extraction is enabled.
      *
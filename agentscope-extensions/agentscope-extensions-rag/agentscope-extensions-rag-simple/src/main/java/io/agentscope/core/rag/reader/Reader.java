@@ -17,6 +17,7 @@ package io.agentscope.core.rag.reader;
 
 import io.agentscope.core.rag.model.Document;
 import java.util.List;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -38,6 +39,25 @@ public interface Reader {
      */
     Mono<List<Document>> read(ReaderInput input);
 
+    /**
+     * Reads a document and emits its chunks one by one as they are produced.
+     *
+     * <p>Readers that can extract text incrementally override this so that memory stays bounded
+     * by the chunk size rather than the document size, and the first chunks can be embedded while
+     * the rest of the document is still being read:
+     * <pre>{@code
+     * knowledge.addDocumentStream(reader.stream(ReaderInput.fromPath(path))).block();
+     * }</pre>
+     *
+     * <p>The default implementation emits the result of {@link #read}.
+     *
+     * @param input the input to read (text, file path, URL, etc.)
+     * @return a Flux that emits the chunked Document objects, or an error signal on failure
+     */
+    default Flux<Document> stream(ReaderInput input) {
+        return read(input).flatMapIterable(documents -> documents);
+    }
+
     /**
      * Gets the list of file formats supported by this reader.
      *
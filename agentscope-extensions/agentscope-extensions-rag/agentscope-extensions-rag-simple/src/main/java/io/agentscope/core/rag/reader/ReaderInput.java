@@ -30,10 +30,16 @@ public class ReaderInput {
 
     private final String content;
     private final InputType type;
+    private final Path path;
 
     private ReaderInput(String content, InputType type) {
+        this(content, type, null);
+    }
+
+    private ReaderInput(String content, InputType type, Path path) {
         this.content = content;
         this.type = type;
+        this.path = path;
     }
 
     /**
@@ -125,7 +131,8 @@ public class ReaderInput {
             throw new IllegalArgumentException("File does not exist: " + path);
         }
 
-        return new ReaderInput(path.toAbsolutePath().toString(), InputType.FILE);
+        Path absolutePath = path.toAbsolutePath();
+        return new ReaderInput(absolutePath.toString(), InputType.FILE, absolutePath);
     }
 
     /**
@@ -137,6 +144,16 @@ public class ReaderInput {
         return content;
     }
 
+    /**
+     * Gets the file path of an input created with {@code fromPath}, whose content is the path
+     * rather than the file text. Streaming readers open the file from it instead of loading it.
+     *
+     * @return the absolute file path, or null if the input was not created from a path
+     */
+    public Path getPath() {
+        return path;
+    }
+
     /**
      * Gets the input type.
      *
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import reactor.core.publisher.Flux;
+
+/**
+ * Incremental counterpart of {@link TextChunker}: text is fed in pieces and chunks are handed to
+ * a sink as soon as they are complete.
+ *
+ * <p>For any split of the input into pieces, the chunks produced are the same as those returned by
+ * {@link TextChunker#chunkText} for the whole text, including the overlap between chunks and the
+ * paragraph boundaries of {@link SplitStrategy#PARAGRAPH} and {@link SplitStrategy#SEMANTIC}. Only
+ * the chunk under construction is buffered, so memory is bounded by the chunk size rather than by
+ * the length of the text; the one exception is a run of whitespace, which is held until the next
+ * non-whitespace character shows whether it separates paragraphs.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * Flux<String> chunks =
+ *         StreamingTextChunker.chunk(
+ *                 () -> Files.newBufferedReader(path), 512, SplitStrategy.PARAGRAPH, 50);
+ * }</pre>
+ *
+ * <p>Instances are not thread-safe.
+ */
+public final class StreamingTextChunker {
+
+    private static final int CHARS_PER_TOKEN = 4; // Same heuristic as TextChunker
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final int chunkSize;
+    private final int overlapSize;
+    private final boolean byParagraph;
+    private final Consumer<String> sink;
+
+    /** The chunk under construction. */
+    private final StringBuilder current = new StringBuilder();
+
+    /** Start of the current paragraph, held until we know whether it fits the current chunk. */
+    private final StringBuilder pendingParagraph = new StringBuilder();
+
+    /** Whitespace seen since the last non-whitespace character. */
+    private final StringBuilder pendingWhitespace = new StringBuilder();
+
+    private boolean inParagraph;
+
+    /** Whether the current paragraph has been appended to the current chunk. */
+    private boolean paragraphPlaced;
+
+    private boolean emitted;
+    private boolean seenInput;
+    private boolean finished;
+
+    /**
+     * Creates a new StreamingTextChunker.
+     *
+     * @param chunkSize the target size for each chunk (interpreted based on strategy)
+     * @param strategy the splitting strategy
+     * @param overlapSize the number of characters/tokens to overlap between chunks
+     * @param sink receives each chunk as soon as it is complete
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public StreamingTextChunker(
+            int chunkSize, SplitStrategy strategy, int overlapSize, Consumer<String> sink) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (overlapSize < 0) {
+            throw new IllegalArgumentException("Overlap size cannot be negative");
+        }
+        if (overlapSize >= chunkSize) {
+            throw new IllegalArgumentException("Overlap size must be less than chunk size");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("Split strategy cannot be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        boolean tokens = strategy == SplitStrategy.TOKEN;
+        this.chunkSize = tokens ? chunkSize * CHARS_PER_TOKEN : chunkSize;
+        this.overlapSize = tokens ? overlapSize * CHARS_PER_TOKEN : overlapSize;
+        this.byParagraph =
+                strategy == SplitStrategy.PARAGRAPH || strategy == SplitStrategy.SEMANTIC;
+        this.sink = sink;
+    }
+
+    /**
+     * Chunks the text read from a character stream. The stream is opened on subscription, read as
+     * chunks are requested, and closed when the flux terminates or is cancelled.
+     *
+     * <p>Reading blocks, so subscribe on a scheduler suited to blocking I/O.
+     *
+     * @param source opens the character stream
+     * @param chunkSize the target size for each chunk (interpreted based on strategy)
+     * @param strategy the splitting strategy
+     * @param overlapSize the number of characters/tokens to overlap between chunks
+     * @return a flux of text chunks
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public static Flux<String> chunk(
+            Callable<? extends java.io.Reader> source,
+            int chunkSize,
+            SplitStrategy strategy,
+            int overlapSize) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source cannot be null");
+        }
+        // Validate eagerly rather than on subscription
+        new StreamingTextChunker(chunkSize, strategy, overlapSize, chunk -> {});
+        return Flux.generate(
+                () -> new Pull(source.call(), chunkSize, strategy, overlapSize),
+                (pull, sink) -> {
+                    String next = pull.next();
+                    if (next != null) {
+                        sink.next(next);
+                    } else {
+                        sink.complete();
+                    }
+                    return pull;
+                },
+                Pull::close);
+    }
+
+    /**
+     * Feeds the next piece of text.
+     *
+     * @param text the text following everything fed so far
+     * @throws IllegalArgumentException if the text is null
+     * @throws IllegalStateException if the chunker has been finished
+     */
+    public void accept(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Text cannot be null");
+        }
+        if (finished) {
+            throw new IllegalStateException("Chunker has already been finished");
+        }
+        if (text.length() > 0) {
+            seenInput = true;
+        }
+        if (!byParagraph) {
+            current.append(text);
+            splitOversized();
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c <= ' ') {
+                // String.trim() whitespace; paragraph separators are made only of such characters
+                pendingWhitespace.append(c);
+            } else {
+                acceptVisible(c);
+            }
+        }
+    }
+
+    /**
+     * Signals the end of the text and emits the last chunk. Calling it again has no effect.
+     */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (byParagraph) {
+            if (inParagraph) {
+                endParagraph();
+            }
+            if (current.length() > 0) {
+                emit(current.toString().trim());
+                current.setLength(0);
+            }
+            if (!emitted) {
+                // Blank text is returned as is, like TextChunker
+                emit(pendingWhitespace.toString());
+            }
+        } else if (current.length() > 0 || !seenInput) {
+            emit(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    private void acceptVisible(char c) {
+        if (inParagraph && isParagraphSeparator(pendingWhitespace)) {
+            endParagraph();
+        }
+        if (inParagraph) {
+            for (int i = 0; i < pendingWhitespace.length(); i++) {
+                appendToParagraph(pendingWhitespace.charAt(i));
+            }
+        } else {
+            // Leading whitespace is trimmed away
+            inParagraph = true;
+            if (current.length() == 0) {
+                placeParagraph(false);
+            }
+        }
+        pendingWhitespace.setLength(0);
+        appendToParagraph(c);
+    }
+
+    private void appendToParagraph(char c) {
+        if (paragraphPlaced) {
+            current.append(c);
+            splitOversized();
+            return;
+        }
+        pendingParagraph.append(c);
+        if (current.length() + pendingParagraph.length() + 2 > chunkSize) {
+            // The paragraph no longer fits whatever its remaining length
+            placeParagraph(true);
+        }
+    }
+
+    private void endParagraph() {
+        if (!paragraphPlaced) {
+            placeParagraph(
+                    current.length() > 0
+                            && current.length() + pendingParagraph.length() + 2 > chunkSize);
+        }
+        inParagraph = false;
+        paragraphPlaced = false;
+    }
+
+    /** Appends the held start of the paragraph to the current chunk, emitting it first if full. */
+    private void placeParagraph(boolean flush) {
+        if (flush) {
+            String last = current.toString().trim();
+            emit(last);
+            current.setLength(0);
+            if (overlapSize > 0) {
+                current.append(last, Math.max(0, last.length() - overlapSize), last.length());
+            }
+        }
+        if (current.length() > 0) {
+            current.append("\n\n");
+        }
+        current.append(pendingParagraph);
+        pendingParagraph.setLength(0);
+        paragraphPlaced = true;
+        splitOversized();
+    }
+
+    /**
+     * Emits character windows from the front of the current chunk while more text is known to
+     * follow them, keeping the overlap for the next window.
+     */
+    private void splitOversized() {
+        while (current.length() > chunkSize) {
+            emit(current.substring(0, chunkSize));
+            current.delete(0, chunkSize - overlapSize);
+        }
+    }
+
+    private void emit(String chunk) {
+        emitted = true;
+        sink.accept(chunk);
+    }
+
+    /** Matches {@code \n\s*\n} within a run of whitespace. */
+    private static boolean isParagraphSeparator(CharSequence whitespace) {
+        boolean newline = false;
+        for (int i = 0; i < whitespace.length(); i++) {
+            char c = whitespace.charAt(i);
+            if (c == '\n') {
+                if (newline) {
+                    return true;
+                }
+                newline = true;
+            } else if (c != ' ' && c != '\t' && c != '\u000B' && c != '\f' && c != '\r') {
+                newline = false;
+            }
+        }
+        return false;
+    }
+
+    /** Pulls chunks from a character stream one request at a time. */
+    private static final class Pull {
+        private final java.io.Reader reader;
+        private final Queue<String> ready = new ArrayDeque<>();
+        private final StreamingTextChunker chunker;
+        private final char[] buffer = new char[READ_BUFFER_SIZE];
+
+        Pull(java.io.Reader reader, int chunkSize, SplitStrategy strategy, int overlapSize) {
+            this.reader = reader;
+            this.chunker = new StreamingTextChunker(chunkSize, strategy, overlapSize, ready::add);
+        }
+
+        String next() {
+            while (ready.isEmpty() && !chunker.finished) {
+                int read;
+                try {
+                    read = reader.read(buffer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (read < 0) {
+                    chunker.finish();
+                } else {
+                    chunker.accept(CharBuffer.wrap(buffer, 0, read));
+                }
+            }
+            return ready.poll();
+        }
+
+        void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // Nothing useful to do once chunking is over
+            }
+        }
+    }
+}
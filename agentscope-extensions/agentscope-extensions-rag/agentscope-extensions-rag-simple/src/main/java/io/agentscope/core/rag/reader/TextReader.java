@@ -19,9 +19,13 @@ import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.rag.exception.ReaderException;
 import io.agentscope.core.rag.model.Document;
 import io.agentscope.core.rag.model.DocumentMetadata;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -37,6 +41,9 @@ import reactor.core.publisher.Mono;
  * ReaderInput input = ReaderInput.fromString("Long text content...");
  * List<Document> documents = reader.read(input).block();
  * }</pre>
+ *
+ * <p>{@link #stream} produces the same chunks incrementally. For an input created with
+ * {@link ReaderInput#fromPath}, it reads the file incrementally as UTF-8 text.
  */
 public class TextReader extends AbstractChunkingReader {
 
@@ -82,6 +89,23 @@ public class TextReader extends AbstractChunkingReader {
                 .onErrorMap(ReaderException.class, e -> e); // Re-throw ReaderException as-is
     }
 
+    @Override
+    public Flux<Document> stream(ReaderInput input) {
+        if (input == null) {
+            return Flux.error(new ReaderException("Input cannot be null"));
+        }
+        Path path = input.getPath();
+        return Flux.defer(
+                () ->
+                        streamChunks(
+                                () ->
+                                        path != null
+                                                ? Files.newBufferedReader(path)
+                                                : new StringReader(input.asString()),
+                                UUID.randomUUID().toString(),
+                                "Failed to read text input"));
+    }
+
     @Override
     public List<String> getSupportedFormats() {
         return List.of("txt", "md", "rst");
@@ -37,11 +37,13 @@ import org.apache.tika.mime.MimeTypeException;
 import org.apache.tika.mime.MimeTypes;
 import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.ParsingReader;
 import org.apache.tika.sax.BodyContentHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -55,6 +57,11 @@ import reactor.core.publisher.Mono;
  * ReaderInput input = ReaderInput.fromPath("/path/to/file");
  * List<Document> documents = reader.read(input).block();
  * }</pre>
+ *
+ * <p>{@link #stream} parses on a background thread and chunks the body text as it is extracted,
+ * so the text of the whole document is never held in memory. It always extracts body text, the
+ * equivalent of the default {@link BodyContentHandler}, whatever handler this reader was created
+ * with.
  */
 public class TikaReader extends AbstractChunkingReader {
 
@@ -115,6 +122,27 @@ public class TikaReader extends AbstractChunkingReader {
                 .onErrorMap(ReaderException.class, e -> e);
     }
 
+    @Override
+    public Flux<Document> stream(ReaderInput input) {
+        if (input == null) {
+            return Flux.error(new ReaderException("Input cannot be null"));
+        }
+        String path = input.asString();
+        return streamChunks(
+                () -> {
+                    InputStream is = Files.newInputStream(Path.of(path));
+                    try {
+                        return new ParsingReader(
+                                new AutoDetectParser(), is, new Metadata(), new ParseContext());
+                    } catch (IOException e) {
+                        is.close();
+                        throw e;
+                    }
+                },
+                ReaderUtils.generateDocIdSHA256(path),
+                "Failed to read document from: " + input);
+    }
+
     @Override
     public List<String> getSupportedFormats() {
         Set<String> extensions = new HashSet<>();
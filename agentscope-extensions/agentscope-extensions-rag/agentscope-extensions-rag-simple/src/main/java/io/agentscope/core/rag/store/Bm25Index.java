@@ -0,0 +1,428 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.model.Document;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over document text, ranked with Okapi BM25.
+ *
+ * <p>Keyword ranking complements vector similarity for queries made of exact terms, such as error
+ * codes, identifiers and ticket numbers, which embeddings tend to blur. The index is updated
+ * incrementally: adding a document only touches the posting lists of its own terms, and removing
+ * one only touches those same lists. Usually it is kept in sync with a vector store by {@link
+ * KeywordIndexedStore}.
+ *
+ * <p>Text is split into lowercase runs of letters, digits and underscores; CJK ideographs are
+ * indexed one character per term. Scores use the tuning parameters:
+ * <ul>
+ *   <li>{@code k1} - term frequency saturation; higher lets repeated terms count longer
+ *       (default 1.2)
+ *   <li>{@code b} - document length normalization, from 0 (none) to 1 (full) (default 0.75)
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * Bm25Index index = Bm25Index.builder().k1(1.2).b(0.75).build();
+ * index.add(documents);
+ * List<Document> hits = index.search("ERR_CONN_RESET 5021", 10, null);
+ * }</pre>
+ *
+ * <p>Adds, removes and searches may run concurrently.
+ */
+public class Bm25Index {
+
+    private final double k1;
+    private final double b;
+
+    /** Held shared by searches and exclusively by updates. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Document id to document number. */
+    private final Map<String, Integer> docNumbers = new HashMap<>();
+
+    /** Term to posting list. */
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /** Indexed documents without embeddings, by document number. */
+    private Document[] documents = new Document[16];
+
+    /** Distinct terms of each document, by document number, for removal. */
+    private String[][] documentTerms = new String[16][];
+
+    /** Term count of each document, by document number. */
+    private int[] lengths = new int[16];
+
+    private int[] freeNumbers = new int[16];
+    private int freeCount;
+    private int nextNumber;
+    private long totalLength;
+
+    private Bm25Index(Builder builder) {
+        if (builder.k1 < 0) {
+            throw new IllegalArgumentException("k1 must not be negative");
+        }
+        if (builder.b < 0 || builder.b > 1) {
+            throw new IllegalArgumentException("b must be between 0.0 and 1.0");
+        }
+        this.k1 = builder.k1;
+        this.b = builder.b;
+    }
+
+    /**
+     * Indexes documents by the text of their content. A document whose id is already indexed
+     * replaces the previous version; documents without text content, such as images, are only
+     * removed.
+     *
+     * @param documentList the documents to index
+     * @throws IllegalArgumentException if the list or a document is null
+     */
+    public void add(List<Document> documentList) {
+        if (documentList == null) {
+            throw new IllegalArgumentException("Document list cannot be null");
+        }
+        for (Document document : documentList) {
+            if (document == null) {
+                throw new IllegalArgumentException("Document cannot be null");
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Document document : documentList) {
+                removeLocked(document.getId());
+                List<String> tokens =
+                        document.getMetadata().getContent() instanceof TextBlock text
+                                ? tokenize(text.getText())
+                                : List.of();
+                if (!tokens.isEmpty()) {
+                    insertLocked(document, tokens);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document from the index.
+     *
+     * @param id the document id
+     * @return true if the document was indexed
+     */
+    public boolean remove(String id) {
+        if (id == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a document is indexed.
+     *
+     * @param id the document id
+     * @return true if the document is indexed
+     */
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return docNumbers.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed documents.
+     *
+     * @return the document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docNumbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches for the documents most relevant to the query terms.
+     *
+     * <p>Only documents containing at least one query term are returned. Each result is a copy of
+     * the indexed document, without embedding, with its BM25 score set.
+     *
+     * @param query the query text
+     * @param limit the maximum number of results
+     * @param vectorName only return documents with this vector name, or null for all
+     * @return the matching documents sorted by score (descending)
+     * @throws IllegalArgumentException if the query is null or the limit is not positive
+     */
+    public List<Document> search(String query, int limit, String vectorName) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int count = docNumbers.size();
+            if (count == 0) {
+                return new ArrayList<>();
+            }
+            double averageLength = (double) totalLength / count;
+            double[] scores = new double[nextNumber];
+            int[] matched = new int[nextNumber];
+            int matchedCount = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (count - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    int tf = list.frequencies[i];
+                    double norm = k1 * (1 - b + b * lengths[doc] / averageLength);
+                    if (scores[doc] == 0) {
+                        matched[matchedCount++] = doc;
+                    }
+                    scores[doc] += idf * tf * (k1 + 1) / (tf + norm);
+                }
+            }
+
+            TopK top = new TopK(Math.min(limit, matchedCount));
+            for (int i = 0; i < matchedCount; i++) {
+                int doc = matched[i];
+                if (vectorName != null && !vectorName.equals(documents[doc].getVectorName())) {
+                    continue;
+                }
+                top.offer(scores[doc], doc);
+            }
+
+            int[] best = top.indices();
+            double[] bestScores = top.scores();
+            List<Document> results = new ArrayList<>(best.length);
+            for (int i = 0; i < best.length; i++) {
+                Document stored = documents[best[i]];
+                Document hit = new Document(stored.getMetadata());
+                hit.setVectorName(stored.getVectorName());
+                hit.setScore(bestScores[i]);
+                results.add(hit);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insertLocked(Document document, List<String> tokens) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        int doc = allocateNumber();
+        Document stored = new Document(document.getMetadata());
+        stored.setVectorName(document.getVectorName());
+        documents[doc] = stored;
+        lengths[doc] = tokens.size();
+        String[] terms = new String[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            terms[i++] = entry.getKey();
+            postings.computeIfAbsent(entry.getKey(), t -> new Postings())
+                    .add(doc, entry.getValue());
+        }
+        documentTerms[doc] = terms;
+        docNumbers.put(document.getId(), doc);
+        totalLength += tokens.size();
+    }
+
+    private boolean removeLocked(String id) {
+        Integer number = docNumbers.remove(id);
+        if (number == null) {
+            return false;
+        }
+        int doc = number;
+        for (String term : documentTerms[doc]) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(doc) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= lengths[doc];
+        documents[doc] = null;
+        documentTerms[doc] = null;
+        lengths[doc] = 0;
+        if (freeCount == freeNumbers.length) {
+            freeNumbers = Arrays.copyOf(freeNumbers, freeNumbers.length * 2);
+        }
+        freeNumbers[freeCount++] = doc;
+        return true;
+    }
+
+    private int allocateNumber() {
+        if (freeCount > 0) {
+            return freeNumbers[--freeCount];
+        }
+        if (nextNumber == documents.length) {
+            int capacity = documents.length * 2;
+            documents = Arrays.copyOf(documents, capacity);
+            documentTerms = Arrays.copyOf(documentTerms, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        return nextNumber++;
+    }
+
+    /**
+     * Splits text into index terms: lowercase runs of letters, digits and underscores, and single
+     * CJK ideographs.
+     *
+     * @param text the text, may be null
+     * @return the terms in text order, with repeats
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isIdeographic(codePoint)) {
+                flush(current, tokens);
+                tokens.add(new String(Character.toChars(codePoint)));
+            } else if (Character.isLetterOrDigit(codePoint) || codePoint == '_') {
+                current.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                flush(current, tokens);
+            }
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    /** Documents containing a term, with the term frequency in each, as parallel arrays. */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        /** Removes a document by moving the last entry into its place. */
+        boolean remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    size--;
+                    docs[i] = docs[size];
+                    frequencies[i] = frequencies[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Creates a new builder for Bm25Index.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for Bm25Index.
+     */
+    public static class Builder {
+        private double k1 = 1.2;
+        private double b = 0.75;
+
+        private Builder() {}
+
+        /**
+         * Sets the term frequency saturation parameter.
+         *
+         * @param k1 the saturation (must not be negative, defaults to 1.2)
+         * @return this builder for method chaining
+         */
+        public Builder k1(double k1) {
+            this.k1 = k1;
+            return this;
+        }
+
+        /**
+         * Sets the document length normalization parameter.
+         *
+         * @param b the normalization (must be between 0.0 and 1.0, defaults to 0.75)
+         * @return this builder for method chaining
+         */
+        public Builder b(double b) {
+            this.b = b;
+            return this;
+        }
+
+        /**
+         * Builds a new Bm25Index instance.
+         *
+         * @return a new Bm25Index instance
+         * @throws IllegalArgumentException if a parameter is out of range
+         */
+        public Bm25Index build() {
+            return new Bm25Index(this);
+        }
+    }
+}
@@ -44,25 +44,7 @@ class DistanceCalculator {
      */
     public static double cosineSimilarity(final double[] vector1, final double[] vector2) {
         validateVectors(vector1, vector2);
-
-        double dotProduct = 0.0;
-        double norm1 = 0.0;
-        double norm2 = 0.0;
-
-        for (int i = 0; i < vector1.length; i++) {
-            dotProduct += vector1[i] * vector2[i];
-            norm1 += vector1[i] * vector1[i];
-            norm2 += vector2[i] * vector2[i];
-        }
-
-        double denominator = Math.sqrt(norm1) * Math.sqrt(norm2);
-        if (denominator == 0.0) {
-            // At least one vector is a zero vector.
-            // Cosine similarity is undefined for zero vectors, returning 0.0 as convention.
-            return 0.0;
-        }
-
-        return dotProduct / denominator;
+        return VectorKernels.cosine(vector1, vector2);
     }
 
     /**
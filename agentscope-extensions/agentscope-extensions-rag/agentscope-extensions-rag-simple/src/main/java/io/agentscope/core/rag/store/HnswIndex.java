@@ -0,0 +1,625 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical Navigable Small World graph for approximate nearest neighbour search by cosine
+ * similarity.
+ *
+ * <p>Vectors are normalized on insert, so similarity is a plain dot product. Each node lives on
+ * levels {@code 0..level} of the graph, with up to {@code m} neighbours per upper level and {@code
+ * 2 * m} on level 0; neighbours are chosen with the diversity heuristic of Malkov and Yashunin.
+ *
+ * <p>Thread safety: inserts, removals and searches may run concurrently. Neighbour lists are
+ * replaced copy-on-write under the owning node's monitor and read without locking. Removal only
+ * marks a node; removed nodes keep routing searches but never appear in results, so callers
+ * should rebuild the index once removed nodes dominate.
+ *
+ * @param <T> the value attached to each vector
+ */
+final class HnswIndex<T> {
+
+    /** A search hit. */
+    record Result<T>(int node, T value, double score) {}
+
+    private static final int MAX_LEVEL = 16;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int[] NO_LINKS = new int[0];
+
+    private final int dimensions;
+    private final int m;
+    private final int efConstruction;
+    private final double levelMultiplier;
+
+    private final Object growLock = new Object();
+    private volatile Node<T>[] nodes;
+    private int nodeCount;
+
+    private final Object entryLock = new Object();
+    private volatile Node<T> entry;
+
+    private final AtomicInteger liveCount = new AtomicInteger();
+    private final AtomicInteger removedCount = new AtomicInteger();
+
+    private final ThreadLocal<VisitedSet> visited = ThreadLocal.withInitial(VisitedSet::new);
+
+    /**
+     * Creates an empty index.
+     *
+     * @param dimensions vector dimensions
+     * @param m neighbours per node on upper levels ({@code 2 * m} on level 0)
+     * @param efConstruction candidate list size while inserting
+     */
+    @SuppressWarnings("unchecked")
+    HnswIndex(int dimensions, int m, int efConstruction) {
+        this.dimensions = dimensions;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(Math.max(m, 2));
+        this.nodes = (Node<T>[]) new Node<?>[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Inserts a vector.
+     *
+     * @param vector the vector; copied and normalized, the caller's array is not retained
+     * @param value the value returned with search hits for this vector
+     * @return the node id, used for {@link #remove}
+     */
+    int add(double[] vector, T value) {
+        double norm = norm(vector);
+        double[] unit = new double[dimensions];
+        if (norm > 0) {
+            for (int i = 0; i < dimensions; i++) {
+                unit[i] = vector[i] / norm;
+            }
+        }
+        int level = randomLevel();
+        Node<T> node = allocate(unit, norm, value, level);
+        liveCount.incrementAndGet();
+
+        Node<T> ep = entry;
+        if (ep == null) {
+            synchronized (entryLock) {
+                ep = entry;
+                if (ep == null) {
+                    entry = node;
+                    return node.id;
+                }
+            }
+        }
+
+        Node<T> current = ep;
+        for (int l = ep.level; l > level; l--) {
+            current = greedyClosest(unit, current, l);
+        }
+        for (int l = Math.min(level, ep.level); l >= 0; l--) {
+            // A concurrent insert may already have linked to this node; never link to self
+            NodeQueue candidates =
+                    searchLayer(
+                            unit,
+                            new int[] {current.id},
+                            efConstruction,
+                            l,
+                            other -> other != node);
+            int[] neighbours = selectNeighbours(unit, candidates.drainDescending(), m);
+            node.links.set(l, neighbours);
+            for (int neighbour : neighbours) {
+                link(node(neighbour), node.id, l);
+            }
+            if (neighbours.length > 0) {
+                current = node(neighbours[0]);
+            }
+        }
+
+        if (level > ep.level) {
+            synchronized (entryLock) {
+                if (level > entry.level) {
+                    entry = node;
+                }
+            }
+        }
+        return node.id;
+    }
+
+    /**
+     * Marks a node as removed. It keeps routing searches but is excluded from results.
+     *
+     * @param nodeId the node id returned by {@link #add}
+     * @return the removed value, or null if the node was already removed
+     */
+    T remove(int nodeId) {
+        Node<T> node = node(nodeId);
+        synchronized (node) {
+            if (node.removed) {
+                return null;
+            }
+            node.removed = true;
+        }
+        liveCount.decrementAndGet();
+        removedCount.incrementAndGet();
+        return node.value;
+    }
+
+    /**
+     * Approximate top-k search.
+     *
+     * @param query the query vector (need not be normalized)
+     * @param k number of results
+     * @param ef candidate list size; raised to {@code k} if smaller
+     * @param filter accepts the values that may be returned, or null to accept all
+     * @return up to {@code k} hits, best first
+     */
+    List<Result<T>> search(double[] query, int k, int ef, Predicate<T> filter) {
+        Node<T> ep = entry;
+        if (ep == null) {
+            return List.of();
+        }
+        double[] unit = normalize(query);
+        Node<T> current = ep;
+        for (int l = ep.level; l > 0; l--) {
+            current = greedyClosest(unit, current, l);
+        }
+        NodeQueue found =
+                searchLayer(unit, new int[] {current.id}, Math.max(ef, k), 0, accept(filter));
+        return toResults(found, k);
+    }
+
+    /**
+     * Exact top-k search by scanning every node.
+     *
+     * @param query the query vector (need not be normalized)
+     * @param k number of results
+     * @param filter accepts the values that may be returned, or null to accept all
+     * @return up to {@code k} hits, best first
+     */
+    List<Result<T>> exactSearch(double[] query, int k, Predicate<T> filter) {
+        double[] unit = normalize(query);
+        Predicate<Node<T>> accept = accept(filter);
+        NodeQueue top = NodeQueue.minQueue(k + 1);
+        Node<T>[] snapshot;
+        int count;
+        synchronized (growLock) {
+            snapshot = nodes;
+            count = nodeCount;
+        }
+        for (int i = 0; i < count; i++) {
+            Node<T> node = snapshot[i];
+            if (!accept.test(node)) {
+                continue;
+            }
+            double score = dot(unit, node.vector);
+            if (top.size() < k) {
+                top.push(node.id, score);
+            } else if (score > top.peekScore()) {
+                top.pop();
+                top.push(node.id, score);
+            }
+        }
+        return toResults(top, k);
+    }
+
+    /**
+     * Reconstructs the vector of a node as it was inserted.
+     *
+     * @param nodeId the node id
+     * @return a fresh copy of the original vector
+     */
+    double[] vector(int nodeId) {
+        Node<T> node = node(nodeId);
+        double[] copy = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            copy[i] = node.vector[i] * node.norm;
+        }
+        return copy;
+    }
+
+    /**
+     * Gets the value of a node.
+     *
+     * @param nodeId the node id
+     * @return the value
+     */
+    T value(int nodeId) {
+        return node(nodeId).value;
+    }
+
+    /**
+     * Lists the nodes that are not removed, in insertion order.
+     *
+     * @return the live node ids
+     */
+    int[] liveNodes() {
+        Node<T>[] snapshot;
+        int count;
+        synchronized (growLock) {
+            snapshot = nodes;
+            count = nodeCount;
+        }
+        int[] ids = new int[count];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (!snapshot[i].removed) {
+                ids[n++] = i;
+            }
+        }
+        return Arrays.copyOf(ids, n);
+    }
+
+    /** Number of nodes that are not removed. */
+    int size() {
+        return liveCount.get();
+    }
+
+    /** Number of removed nodes still held by the graph. */
+    int removedSize() {
+        return removedCount.get();
+    }
+
+    private Predicate<Node<T>> accept(Predicate<T> filter) {
+        if (filter == null) {
+            return node -> !node.removed;
+        }
+        return node -> !node.removed && filter.test(node.value);
+    }
+
+    /** Drains a min-queue into at most {@code k} results, best first. */
+    private List<Result<T>> toResults(NodeQueue queue, int k) {
+        while (queue.size() > k) {
+            queue.pop();
+        }
+        int n = queue.size();
+        int[] ids = new int[n];
+        double[] scores = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            scores[i] = queue.peekScore();
+            ids[i] = queue.pop();
+        }
+        List<Result<T>> results = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            results.add(new Result<>(ids[i], node(ids[i]).value, scores[i]));
+        }
+        return results;
+    }
+
+    /** Walks one level greedily towards the query, one hop to the best neighbour at a time. */
+    private Node<T> greedyClosest(double[] query, Node<T> start, int level) {
+        Node<T> current = start;
+        double best = dot(query, current.vector);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbour : current.links(level)) {
+                Node<T> candidate = node(neighbour);
+                double score = dot(query, candidate.vector);
+                if (score > best) {
+                    best = score;
+                    current = candidate;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search of one level.
+     *
+     * <p>All reached nodes steer the search, but only nodes passing {@code accept} are kept as
+     * results; the search stops once the closest unexpanded candidate is worse than the worst of
+     * {@code ef} results.
+     *
+     * @return a min-queue of at most {@code ef} accepted nodes
+     */
+    private NodeQueue searchLayer(
+            double[] query, int[] entryPoints, int ef, int level, Predicate<Node<T>> accept) {
+        VisitedSet seen = visited.get();
+        seen.reset(capacity());
+        NodeQueue candidates = NodeQueue.maxQueue(ef * 2);
+        NodeQueue results = NodeQueue.minQueue(ef + 1);
+
+        for (int id : entryPoints) {
+            Node<T> node = node(id);
+            seen.mark(id);
+            double score = dot(query, node.vector);
+            candidates.push(id, score);
+            if (accept.test(node)) {
+                results.push(id, score);
+            }
+        }
+
+        while (candidates.size() > 0) {
+            double candidateScore = candidates.peekScore();
+            if (results.size() >= ef && candidateScore < results.peekScore()) {
+                break;
+            }
+            Node<T> current = node(candidates.pop());
+            for (int neighbour : current.links(level)) {
+                if (!seen.mark(neighbour)) {
+                    continue;
+                }
+                Node<T> node = node(neighbour);
+                double score = dot(query, node.vector);
+                if (results.size() < ef || score > results.peekScore()) {
+                    candidates.push(neighbour, score);
+                    if (accept.test(node)) {
+                        results.push(neighbour, score);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Picks up to {@code limit} neighbours from candidates sorted best first, skipping any
+     * candidate that is closer to an already picked neighbour than to the base vector.
+     */
+    private int[] selectNeighbours(double[] base, int[] candidates, int limit) {
+        if (candidates.length <= limit) {
+            return candidates;
+        }
+        int[] picked = new int[limit];
+        int count = 0;
+        for (int candidate : candidates) {
+            if (count == limit) {
+                break;
+            }
+            double[] vector = node(candidate).vector;
+            double toBase = dot(base, vector);
+            boolean diverse = true;
+            for (int i = 0; i < count; i++) {
+                if (dot(vector, node(picked[i]).vector) > toBase) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                picked[count++] = candidate;
+            }
+        }
+        return Arrays.copyOf(picked, count);
+    }
+
+    /** Adds a back link from {@code node} to {@code target}, pruning if the list is full. */
+    private void link(Node<T> node, int target, int level) {
+        int maxLinks = level == 0 ? 2 * m : m;
+        synchronized (node) {
+            int[] current = node.links(level);
+            int[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = target;
+            if (updated.length > maxLinks) {
+                NodeQueue byScore = NodeQueue.maxQueue(updated.length);
+                for (int id : updated) {
+                    byScore.push(id, dot(node.vector, node(id).vector));
+                }
+                updated = selectNeighbours(node.vector, byScore.drainDescending(), maxLinks);
+            }
+            node.links.set(level, updated);
+        }
+    }
+
+    private Node<T> allocate(double[] unit, double norm, T value, int level) {
+        synchronized (growLock) {
+            int id = nodeCount;
+            Node<T> node = new Node<>(id, unit, norm, value, level);
+            Node<T>[] current = nodes;
+            if (id == current.length) {
+                Node<T>[] grown = Arrays.copyOf(current, current.length * 2);
+                grown[id] = node;
+                nodes = grown;
+            } else {
+                current[id] = node;
+            }
+            nodeCount = id + 1;
+            return node;
+        }
+    }
+
+    private Node<T> node(int id) {
+        return nodes[id];
+    }
+
+    private int capacity() {
+        return nodes.length;
+    }
+
+    private int randomLevel() {
+        double r = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return Math.min((int) (-Math.log(r) * levelMultiplier), MAX_LEVEL);
+    }
+
+    private double[] normalize(double[] vector) {
+        double norm = norm(vector);
+        double[] unit = new double[vector.length];
+        if (norm > 0) {
+            for (int i = 0; i < vector.length; i++) {
+                unit[i] = vector[i] / norm;
+            }
+        }
+        return unit;
+    }
+
+    private static double norm(double[] vector) {
+        return VectorKernels.norm(vector);
+    }
+
+    private static double dot(double[] a, double[] b) {
+        return VectorKernels.dot(a, b);
+    }
+
+    private static final class Node<T> {
+        final int id;
+        final double[] vector;
+        final double norm;
+        final T value;
+        final int level;
+        final AtomicReferenceArray<int[]> links;
+        volatile boolean removed;
+
+        Node(int id, double[] vector, double norm, T value, int level) {
+            this.id = id;
+            this.vector = vector;
+            this.norm = norm;
+            this.value = value;
+            this.level = level;
+            this.links = new AtomicReferenceArray<>(level + 1);
+            for (int l = 0; l <= level; l++) {
+                links.set(l, NO_LINKS);
+            }
+        }
+
+        int[] links(int level) {
+            return level <= this.level ? links.get(level) : NO_LINKS;
+        }
+    }
+
+    /** Visited marks reused across searches on one thread; reset is O(1) via an epoch. */
+    private static final class VisitedSet {
+        private int[] marks = new int[0];
+        private int epoch;
+
+        void reset(int capacity) {
+            if (marks.length < capacity) {
+                marks = new int[capacity];
+                epoch = 0;
+            }
+            epoch++;
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        /** Marks {@code id} and returns whether it was unmarked. */
+        boolean mark(int id) {
+            if (id >= marks.length) {
+                marks = Arrays.copyOf(marks, Math.max(id + 1, marks.length * 2));
+            }
+            if (marks[id] == epoch) {
+                return false;
+            }
+            marks[id] = epoch;
+            return true;
+        }
+    }
+
+    /** Binary heap of node ids keyed by score; a min-queue pops the worst score first. */
+    private static final class NodeQueue {
+        private final boolean max;
+        private int[] ids;
+        private double[] scores;
+        private int size;
+
+        private NodeQueue(boolean max, int capacity) {
+            this.max = max;
+            this.ids = new int[Math.max(capacity, 4)];
+            this.scores = new double[ids.length];
+        }
+
+        static NodeQueue minQueue(int capacity) {
+            return new NodeQueue(false, capacity);
+        }
+
+        static NodeQueue maxQueue(int capacity) {
+            return new NodeQueue(true, capacity);
+        }
+
+        int size() {
+            return size;
+        }
+
+        double peekScore() {
+            return scores[0];
+        }
+
+        void push(int id, double score) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(score, scores[parent])) {
+                    break;
+                }
+                ids[i] = ids[parent];
+                scores[i] = scores[parent];
+                i = parent;
+            }
+            ids[i] = id;
+            scores[i] = score;
+        }
+
+        int pop() {
+            int top = ids[0];
+            size--;
+            int lastId = ids[size];
+            double lastScore = scores[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(scores[child + 1], scores[child])) {
+                    child++;
+                }
+                if (!before(scores[child], lastScore)) {
+                    break;
+                }
+                ids[i] = ids[child];
+                scores[i] = scores[child];
+                i = child;
+            }
+            ids[i] = lastId;
+            scores[i] = lastScore;
+            return top;
+        }
+
+        /** Pops every entry, returning ids ordered from best to worst score. */
+        int[] drainDescending() {
+            int n = size;
+            int[] drained = new int[n];
+            if (max) {
+                for (int i = 0; i < n; i++) {
+                    drained[i] = pop();
+                }
+            } else {
+                for (int i = n - 1; i >= 0; i--) {
+                    drained[i] = pop();
+                }
+            }
+            return drained;
+        }
+
+        private boolean before(double a, double b) {
+            return max ? a > b : a < b;
+        }
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import io.agentscope.core.rag.exception.VectorStoreException;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory vector store backed by an HNSW (Hierarchical Navigable Small World) graph.
+ *
+ * <p>This store has the same contract as {@link InMemoryStore}, including cosine similarity
+ * scores, but answers searches approximately in roughly logarithmic time instead of scanning every
+ * document. Recall and speed are tuned with:
+ * <ul>
+ *   <li>{@code m} - neighbours per node; higher improves recall and memory use (default 16)
+ *   <li>{@code efConstruction} - candidate list size while inserting; higher builds a better
+ *       graph more slowly (default 200)
+ *   <li>{@code efSearch} - candidate list size while searching, raised to the search limit when
+ *       smaller; higher improves recall at the cost of latency (default 64)
+ * </ul>
+ *
+ * <p>Adds, deletes and searches may run concurrently. Deleted documents are hidden from results
+ * immediately and the graph is rebuilt once they outnumber live documents. Searches filtered by
+ * {@code vectorName} fall back to an exact scan when few documents match, where a graph search
+ * would have to visit most of the graph anyway.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * HnswStore store = HnswStore.builder()
+ *     .dimensions(1024)
+ *     .m(16)
+ *     .efSearch(100)
+ *     .build();
+ *
+ * SimpleKnowledge knowledge = SimpleKnowledge.builder()
+ *     .embeddingModel(embeddingModel)
+ *     .embeddingStore(store)
+ *     .build();
+ * }</pre>
+ *
+ * <p><b>Exception Handling:</b>
+ * <ul>
+ *   <li>{@link IllegalArgumentException} - for invalid input parameters (null documents, null embeddings, invalid limit)
+ *   <li>{@link VectorStoreException} - for vector-specific errors (dimension mismatch)
+ * </ul>
+ */
+public class HnswStore implements VDBStoreBase {
+
+    /** Filtered searches matching at most this share of documents scan exactly. */
+    private static final int EXACT_FILTER_PERCENT = 10;
+
+    /** Minimum number of deleted documents before the graph is rebuilt. */
+    private static final int MIN_REBUILD_DELETIONS = 1024;
+
+    private final int dimensions;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+
+    /** Document id to node id in {@link #index}. */
+    private final Map<String, Integer> nodeIds = new ConcurrentHashMap<>();
+
+    /** Live document count per non-null vector name. */
+    private final Map<String, LongAdder> vectorNameCounts = new ConcurrentHashMap<>();
+
+    /** Held shared by all operations, exclusively while the graph is rebuilt. */
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private volatile HnswIndex<Document> index;
+
+    private HnswStore(Builder builder) {
+        if (builder.dimensions <= 0) {
+            throw new IllegalArgumentException("Dimensions must be positive");
+        }
+        if (builder.m < 2) {
+            throw new IllegalArgumentException("M must be at least 2");
+        }
+        if (builder.efConstruction <= 0) {
+            throw new IllegalArgumentException("efConstruction must be positive");
+        }
+        if (builder.efSearch <= 0) {
+            throw new IllegalArgumentException("efSearch must be positive");
+        }
+        this.dimensions = builder.dimensions;
+        this.m = builder.m;
+        this.efConstruction = builder.efConstruction;
+        this.efSearch = builder.efSearch;
+        this.index = newIndex();
+    }
+
+    @Override
+    public Mono<Void> add(final List<Document> documentList) {
+        if (documentList == null) {
+            return Mono.error(new IllegalArgumentException("Document list cannot be null"));
+        }
+        if (documentList.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Mono.fromCallable(
+                () -> {
+                    for (Document document : documentList) {
+                        if (document == null) {
+                            throw new IllegalArgumentException("Document cannot be null");
+                        }
+                        if (document.getEmbedding() == null) {
+                            throw new IllegalArgumentException("Document must have embedding set");
+                        }
+                        validateDimensions(document.getEmbedding(), "Embedding");
+                    }
+
+                    rebuildLock.readLock().lock();
+                    try {
+                        for (Document document : documentList) {
+                            // The index keeps its own copy of the vector
+                            Document docCopy = new Document(document.getMetadata());
+                            docCopy.setVectorName(document.getVectorName());
+                            int nodeId = index.add(document.getEmbedding(), docCopy);
+                            countVectorName(docCopy, 1);
+                            Integer replaced = nodeIds.put(document.getId(), nodeId);
+                            if (replaced != null) {
+                                removeNode(replaced);
+                            }
+                        }
+                    } finally {
+                        rebuildLock.readLock().unlock();
+                    }
+                    rebuildIfNeeded();
+                    return null;
+                });
+    }
+
+    @Override
+    public Mono<List<Document>> search(SearchDocumentDto searchDocumentDto) {
+        String vectorName = searchDocumentDto.getVectorName();
+        double[] queryEmbedding = searchDocumentDto.getQueryEmbedding();
+        int limit = searchDocumentDto.getLimit();
+        Double scoreThreshold = searchDocumentDto.getScoreThreshold();
+
+        try {
+            validateDimensions(queryEmbedding, "Query embedding");
+        } catch (Exception e) {
+            return Mono.error(e);
+        }
+
+        if (limit <= 0) {
+            return Mono.error(new IllegalArgumentException("Limit must be positive"));
+        }
+
+        return Mono.fromCallable(
+                () -> {
+                    List<HnswIndex.Result<Document>> hits;
+                    HnswIndex<Document> current;
+                    rebuildLock.readLock().lock();
+                    try {
+                        current = index;
+                        hits = searchIndex(current, queryEmbedding, limit, vectorName);
+                    } finally {
+                        rebuildLock.readLock().unlock();
+                    }
+
+                    List<Document> results = new ArrayList<>(hits.size());
+                    for (HnswIndex.Result<Document> hit : hits) {
+                        // Apply score threshold if specified; hits are sorted best first
+                        if (scoreThreshold != null && hit.score() < scoreThreshold) {
+                            break;
+                        }
+                        Document docWithScore = new Document(hit.value().getMetadata());
+                        docWithScore.setEmbedding(current.vector(hit.node()));
+                        docWithScore.setVectorName(hit.value().getVectorName());
+                        docWithScore.setScore(hit.score());
+                        results.add(docWithScore);
+                    }
+                    return results;
+                });
+    }
+
+    @Override
+    public Mono<Boolean> delete(final String id) {
+        if (id == null) {
+            return Mono.error(new IllegalArgumentException("Document ID cannot be null"));
+        }
+        return Mono.fromCallable(
+                () -> {
+                    boolean removed;
+                    rebuildLock.readLock().lock();
+                    try {
+                        Integer nodeId = nodeIds.remove(id);
+                        removed = nodeId != null && removeNode(nodeId);
+                    } finally {
+                        rebuildLock.readLock().unlock();
+                    }
+                    if (removed) {
+                        rebuildIfNeeded();
+                    }
+                    return removed;
+                });
+    }
+
+    @Override
+    public Mono<Set<String>> findExistingIds(Collection<String> ids) {
+        if (ids == null) {
+            return Mono.error(new IllegalArgumentException("IDs cannot be null"));
+        }
+        return Mono.fromCallable(
+                () -> {
+                    Set<String> existing = new HashSet<>();
+                    for (String id : ids) {
+                        if (nodeIds.containsKey(id)) {
+                            existing.add(id);
+                        }
+                    }
+                    return existing;
+                });
+    }
+
+    private List<HnswIndex.Result<Document>> searchIndex(
+            HnswIndex<Document> current, double[] query, int limit, String vectorName) {
+        if (vectorName == null) {
+            return current.search(query, limit, efSearch, null);
+        }
+        LongAdder matching = vectorNameCounts.get(vectorName);
+        long matchCount = matching == null ? 0 : matching.sum();
+        if (matchCount == 0) {
+            return List.of();
+        }
+        Predicate<Document> filter = doc -> vectorName.equals(doc.getVectorName());
+        if (matchCount <= Math.max(efSearch, limit)
+                || matchCount * 100 <= (long) current.size() * EXACT_FILTER_PERCENT) {
+            return current.exactSearch(query, limit, filter);
+        }
+        return current.search(query, limit, efSearch, filter);
+    }
+
+    /** Removes a node from the current index; returns false if it was already removed. */
+    private boolean removeNode(int nodeId) {
+        Document removed = index.remove(nodeId);
+        if (removed == null) {
+            return false;
+        }
+        countVectorName(removed, -1);
+        return true;
+    }
+
+    private void countVectorName(Document document, int delta) {
+        if (document.getVectorName() != null) {
+            vectorNameCounts
+                    .computeIfAbsent(document.getVectorName(), k -> new LongAdder())
+                    .add(delta);
+        }
+    }
+
+    /** Rebuilds the graph from live documents once deleted nodes outnumber them. */
+    private void rebuildIfNeeded() {
+        HnswIndex<Document> current = index;
+        int removed = current.removedSize();
+        if (removed < MIN_REBUILD_DELETIONS || removed <= current.size()) {
+            return;
+        }
+        rebuildLock.writeLock().lock();
+        try {
+            if (index != current) {
+                // Another thread rebuilt in the meantime
+                return;
+            }
+            HnswIndex<Document> rebuilt = newIndex();
+            for (Map.Entry<String, Integer> entry : nodeIds.entrySet()) {
+                int nodeId = entry.getValue();
+                entry.setValue(rebuilt.add(current.vector(nodeId), current.value(nodeId)));
+            }
+            index = rebuilt;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private HnswIndex<Document> newIndex() {
+        return new HnswIndex<>(dimensions, m, efConstruction);
+    }
+
+    /**
+     * Validates that an embedding has the correct dimensions.
+     *
+     * @param embedding the embedding to validate
+     * @param paramName the parameter name for error messages
+     * @throws IllegalArgumentException if embedding is null
+     * @throws VectorStoreException if embedding dimension does not match expected dimensions
+     */
+    private void validateDimensions(final double[] embedding, final String paramName)
+            throws VectorStoreException {
+        if (embedding == null) {
+            throw new IllegalArgumentException(paramName + " cannot be null");
+        }
+        if (embedding.length != dimensions) {
+            throw new VectorStoreException(
+                    String.format(
+                            "%s dimension mismatch: expected %d, got %d",
+                            paramName, dimensions, embedding.length));
+        }
+    }
+
+    /**
+     * Gets the number of documents currently stored.
+     *
+     * @return the number of stored documents (always non-negative)
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Checks if the store is empty.
+     *
+     * @return true if the store contains no documents, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Clears all documents from the store.
+     */
+    public void clear() {
+        rebuildLock.writeLock().lock();
+        try {
+            nodeIds.clear();
+            vectorNameCounts.clear();
+            index = newIndex();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the dimension of vectors stored in this store.
+     *
+     * @return the vector dimension
+     */
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Creates a new builder for HnswStore.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for HnswStore.
+     */
+    public static class Builder {
+        private int dimensions = 1024; // Default dimensions
+        private int m = 16;
+        private int efConstruction = 200;
+        private int efSearch = 64;
+
+        private Builder() {}
+
+        /**
+         * Sets the vector dimensions.
+         *
+         * @param dimensions the dimension of vectors to be stored (must be positive)
+         * @return this builder for method chaining
+         */
+        public Builder dimensions(int dimensions) {
+            this.dimensions = dimensions;
+            return this;
+        }
+
+        /**
+         * Sets the number of neighbours kept per node on upper graph levels; level 0 keeps twice
+         * as many.
+         *
+         * @param m the neighbour count (must be at least 2)
+         * @return this builder for method chaining
+         */
+        public Builder m(int m) {
+            this.m = m;
+            return this;
+        }
+
+        /**
+         * Sets the candidate list size used while inserting.
+         *
+         * @param efConstruction the candidate list size (must be positive)
+         * @return this builder for method chaining
+         */
+        public Builder efConstruction(int efConstruction) {
+            this.efConstruction = efConstruction;
+            return this;
+        }
+
+        /**
+         * Sets the candidate list size used while searching.
+         *
+         * @param efSearch the candidate list size (must be positive)
+         * @return this builder for method chaining
+         */
+        public Builder efSearch(int efSearch) {
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        /**
+         * Builds a new HnswStore instance.
+         *
+         * @return a new HnswStore instance
+         * @throws IllegalArgumentException if any parameter is out of range
+         */
+        public HnswStore build() {
+            return new HnswStore(this);
+        }
+    }
+}
@@ -20,9 +20,11 @@ import io.agentscope.core.rag.model.Document;
 import io.agentscope.core.rag.store.dto.SearchDocumentDto;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import reactor.core.publisher.Mono;
 
@@ -31,7 +33,8 @@ import reactor.core.publisher.Mono;
  *
  * <p>This implementation stores vectors in memory using a ConcurrentHashMap for thread safety.
  * It uses cosine similarity for vector search, which is the most common metric for embedding
- * vectors.
+ * vectors. Vector norms are computed once on insert, and the best results are selected with a
+ * bounded heap instead of sorting every document.
  *
  * <p>This implementation is suitable for:
  * <ul>
@@ -64,7 +67,7 @@ import reactor.core.publisher.Mono;
  */
 public class InMemoryStore implements VDBStoreBase {
 
-    private final Map<String, Document> documents;
+    private final Map<String, Entry> documents;
     private final int dimensions;
 
     /**
@@ -109,7 +112,9 @@ public class InMemoryStore implements VDBStoreBase {
                         Document docCopy = new Document(document.getMetadata());
                         docCopy.setEmbedding(embeddingCopy);
                         docCopy.setVectorName(document.getVectorName());
-                        documents.put(document.getId(), docCopy);
+                        documents.put(
+                                document.getId(),
+                                new Entry(docCopy, VectorKernels.norm(embeddingCopy)));
                     }
                     return null;
                 });
@@ -138,37 +143,41 @@ public class InMemoryStore implements VDBStoreBase {
                         return new ArrayList<>();
                     }
 
-                    List<Document> results = new ArrayList<>();
-
-                    // Calculate similarity for all documents
-                    for (Document doc : documents.values()) {
+                    // Calculate similarity for all documents, keeping the best in a bounded heap
+                    Entry[] entries = documents.values().toArray(new Entry[0]);
+                    double queryNorm = VectorKernels.norm(queryEmbedding);
+                    TopK top = new TopK(Math.min(limit, entries.length));
+                    for (int i = 0; i < entries.length; i++) {
+                        Document doc = entries[i].document();
                         if (vectorName != null && !vectorName.equals(doc.getVectorName())) {
                             continue;
                         }
 
                         double similarity =
-                                DistanceCalculator.cosineSimilarity(
-                                        queryEmbedding, doc.getEmbedding());
+                                VectorKernels.cosine(
+                                        queryEmbedding,
+                                        queryNorm,
+                                        doc.getEmbedding(),
+                                        entries[i].norm());
 
                         // Apply score threshold if specified
                         if (scoreThreshold != null && similarity < scoreThreshold) {
                             continue;
                         }
+                        top.offer(similarity, i);
+                    }
 
+                    int[] best = top.indices();
+                    double[] scores = top.scores();
+                    List<Document> results = new ArrayList<>(best.length);
+                    for (int i = 0; i < best.length; i++) {
+                        Document doc = entries[best[i]].document();
                         Document docWithScore = new Document(doc.getMetadata());
                         docWithScore.setEmbedding(doc.getEmbedding());
-                        docWithScore.setScore(similarity);
+                        docWithScore.setScore(scores[i]);
                         results.add(docWithScore);
                     }
-
-                    // Sort by similarity (descending) and take top results
-                    return results.stream()
-                            .sorted(
-                                    Comparator.comparing(
-                                            Document::getScore,
-                                            Comparator.nullsLast(Comparator.reverseOrder())))
-                            .limit(limit)
-                            .toList();
+                    return results;
                 });
     }
 
@@ -179,11 +188,28 @@ public class InMemoryStore implements VDBStoreBase {
         }
         return Mono.fromCallable(
                 () -> {
-                    Document removed = documents.remove(id);
+                    Entry removed = documents.remove(id);
                     return removed != null;
                 });
     }
 
+    @Override
+    public Mono<Set<String>> findExistingIds(Collection<String> ids) {
+        if (ids == null) {
+            return Mono.error(new IllegalArgumentException("IDs cannot be null"));
+        }
+        return Mono.fromCallable(
+                () -> {
+                    Set<String> existing = new HashSet<>();
+                    for (String id : ids) {
+                        if (documents.containsKey(id)) {
+                            existing.add(id);
+                        }
+                    }
+                    return existing;
+                });
+    }
+
     /**
      * Validates that an embedding has the correct dimensions.
      *
@@ -246,6 +272,9 @@ public class InMemoryStore implements VDBStoreBase {
         return dimensions;
     }
 
+    /** A stored document with the norm of its embedding. */
+    private record Entry(Document document, double norm) {}
+
     /**
      * Creates a new builder for InMemoryStore.
      *
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import reactor.core.publisher.Mono;
+
+/**
+ * Vector store wrapper that keeps a {@link Bm25Index} in sync with any {@link VDBStoreBase}.
+ *
+ * <p>Documents are indexed by keyword after the wrapped store accepted them, and removed from the
+ * index when they are deleted from it. Vector searches go to the wrapped store unchanged, and
+ * keyword searches to the index, so a knowledge base can rank by either or fuse both; see {@code
+ * RetrieveMode}.
+ *
+ * <p>The index lives in memory only. When the wrapped store is persistent, re-add the documents
+ * after a restart to rebuild it: {@link #findExistingIds} only reports documents that are both
+ * stored and indexed, so ingestion with {@code skipExisting} re-adds the ones the index lost.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * VDBStoreBase store = KeywordIndexedStore.builder()
+ *     .store(InMemoryStore.builder().dimensions(1024).build())
+ *     .build();
+ *
+ * SimpleKnowledge knowledge = SimpleKnowledge.builder()
+ *     .embeddingModel(embeddingModel)
+ *     .embeddingStore(store)
+ *     .build();
+ *
+ * RetrieveConfig config = RetrieveConfig.builder().mode(RetrieveMode.HYBRID).build();
+ * List<Document> results = knowledge.retrieve("ERR_CONN_RESET", config).block();
+ * }</pre>
+ */
+public class KeywordIndexedStore implements VDBStoreBase {
+
+    private final VDBStoreBase store;
+    private final Bm25Index index;
+
+    /** Ids indexed through this store, including documents without text the index skips. */
+    private final Set<String> indexedIds = ConcurrentHashMap.newKeySet();
+
+    private KeywordIndexedStore(Builder builder) {
+        if (builder.store == null) {
+            throw new IllegalArgumentException("Store cannot be null");
+        }
+        if (builder.index == null) {
+            throw new IllegalArgumentException("Index cannot be null");
+        }
+        this.store = builder.store;
+        this.index = builder.index;
+    }
+
+    @Override
+    public Mono<Void> add(List<Document> documents) {
+        if (documents == null) {
+            return Mono.error(new IllegalArgumentException("Document list cannot be null"));
+        }
+        return store.add(documents)
+                .then(
+                        Mono.fromRunnable(
+                                () -> {
+                                    index.add(documents);
+                                    for (Document document : documents) {
+                                        indexedIds.add(document.getId());
+                                    }
+                                }));
+    }
+
+    @Override
+    public Mono<List<Document>> search(SearchDocumentDto searchDocumentDto) {
+        return store.search(searchDocumentDto);
+    }
+
+    /**
+     * Searches for the documents most relevant to the query terms, see {@link Bm25Index#search}.
+     *
+     * @param query the query text
+     * @param limit the maximum number of results (must be positive)
+     * @param vectorName only return documents with this vector name, or null for all
+     * @return a Mono that emits the matching documents with BM25 scores set, sorted by score
+     *     (descending)
+     */
+    public Mono<List<Document>> searchKeywords(String query, int limit, String vectorName) {
+        return Mono.fromCallable(() -> index.search(query, limit, vectorName));
+    }
+
+    @Override
+    public Mono<Boolean> delete(String id) {
+        return store.delete(id)
+                .doOnNext(
+                        deleted -> {
+                            index.remove(id);
+                            indexedIds.remove(id);
+                        });
+    }
+
+    /**
+     * Reports the ids that are in the wrapped store and in the keyword index, so that documents
+     * the index is missing, e.g. after a restart, are added again and re-indexed.
+     */
+    @Override
+    public Mono<Set<String>> findExistingIds(Collection<String> ids) {
+        return store.findExistingIds(ids)
+                .map(
+                        existing -> {
+                            Set<String> indexed = new HashSet<>();
+                            for (String id : existing) {
+                                if (indexedIds.contains(id) || index.contains(id)) {
+                                    indexed.add(id);
+                                }
+                            }
+                            return indexed;
+                        });
+    }
+
+    /**
+     * Gets the wrapped vector store.
+     *
+     * @return the vector store
+     */
+    public VDBStoreBase getStore() {
+        return store;
+    }
+
+    /**
+     * Gets the keyword index.
+     *
+     * @return the keyword index
+     */
+    public Bm25Index getIndex() {
+        return index;
+    }
+
+    /**
+     * Creates a new builder for KeywordIndexedStore.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for KeywordIndexedStore.
+     */
+    public static class Builder {
+        private VDBStoreBase store;
+        private Bm25Index index;
+
+        private Builder() {}
+
+        /**
+         * Sets the vector store to wrap.
+         *
+         * @param store the vector store
+         * @return this builder for method chaining
+         */
+        public Builder store(VDBStoreBase store) {
+            this.store = store;
+            return this;
+        }
+
+        /**
+         * Sets the keyword index.
+         *
+         * @param index the keyword index (defaults to a new {@link Bm25Index} with default
+         *     parameters)
+         * @return this builder for method chaining
+         */
+        public Builder index(Bm25Index index) {
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Builds a new KeywordIndexedStore instance.
+         *
+         * @return a new KeywordIndexedStore instance
+         * @throws IllegalArgumentException if the store is missing
+         */
+        public KeywordIndexedStore build() {
+            if (index == null) {
+                index = Bm25Index.builder().build();
+            }
+            return new KeywordIndexedStore(this);
+        }
+    }
+}
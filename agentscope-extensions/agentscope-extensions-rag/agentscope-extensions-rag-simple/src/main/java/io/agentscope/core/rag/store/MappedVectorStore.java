@@ -0,0 +1,867 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.rag.exception.VectorStoreException;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import io.agentscope.core.util.JsonUtils;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Exact-search vector store that keeps vectors as float32 outside the Java heap, optionally in
+ * memory-mapped files that survive restarts.
+ *
+ * <p>This store has the same contract as {@link InMemoryStore}, including cosine similarity
+ * scores, but stores each vector once, as float32 in a contiguous arena, instead of as a
+ * {@code double[]} per document on the heap. Searches scan the arena sequentially.
+ *
+ * <p>With {@link Quantization#INT8} the store additionally keeps an int8 copy of every vector,
+ * a quarter of the float32 size. Searches then scan the int8 copy to pick {@code limit *
+ * rescoreFactor} candidates and rescore those from float32, so returned scores are exact and only
+ * the small int8 arena has to stay in memory.
+ *
+ * <p>When a {@code directory} is set, the store persists:
+ * <ul>
+ *   <li>{@code vectors.f32} (and {@code vectors.i8}) - the memory-mapped vector arenas
+ *   <li>{@code documents.jsonl} - an append-only log of document metadata per arena slot
+ * </ul>
+ * Reopening the directory maps the arenas as they are and replays the metadata log, so stored
+ * documents are searchable again without embedding them anew. The log is compacted once
+ * superseded records outnumber live documents. Without a directory the arenas are allocated
+ * off-heap and discarded with the store.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (MappedVectorStore store = MappedVectorStore.builder()
+ *         .directory(Path.of("knowledge"))
+ *         .dimensions(1024)
+ *         .quantization(MappedVectorStore.Quantization.INT8)
+ *         .build()) {
+ *     SimpleKnowledge knowledge = SimpleKnowledge.builder()
+ *         .embeddingModel(embeddingModel)
+ *         .embeddingStore(store)
+ *         .ingestionConfig(IngestionConfig.builder().skipExisting(true).build())
+ *         .build();
+ * }
+ * }</pre>
+ *
+ * <p>Adds and deletes are serialized and block searches while they run; searches run
+ * concurrently. A store directory must not be opened by more than one store at a time.
+ *
+ * <p><b>Exception Handling:</b>
+ * <ul>
+ *   <li>{@link IllegalArgumentException} - for invalid input parameters (null documents, null embeddings, invalid limit)
+ *   <li>{@link VectorStoreException} - for vector-specific errors (dimension mismatch, I/O failures)
+ * </ul>
+ */
+public class MappedVectorStore implements VDBStoreBase, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedVectorStore.class);
+
+    static final String FLOAT32_FILE = "vectors.f32";
+    static final String INT8_FILE = "vectors.i8";
+    static final String LOG_FILE = "documents.jsonl";
+
+    /** Minimum number of superseded log records before the log is compacted. */
+    private static final int MIN_COMPACT_RECORDS = 1024;
+
+    /** Vector encoding used for searching. */
+    public enum Quantization {
+        /** Scan float32 vectors directly. */
+        NONE,
+        /** Scan int8 scalar-quantized vectors and rescore the best candidates from float32. */
+        INT8
+    }
+
+    private final int dimensions;
+    private final Quantization quantization;
+    private final int rescoreFactor;
+    private final Path directory;
+
+    private final VectorArena vectors;
+    private final VectorArena codes;
+
+    /** Metadata log; reopened when compaction replaces the file. Null when not persistent. */
+    private FileChannel logChannel;
+
+    /** Held shared by searches, exclusively by writes. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Document id to arena slot. */
+    private final Map<String, Integer> slots = new HashMap<>();
+
+    /** Stored document (metadata and vector name, without embedding) per slot; null if free. */
+    private Document[] documents = new Document[16];
+
+    /** Number of slots in use or freed; all live slots are below it. */
+    private int slotCount;
+
+    /** Freed slots below {@link #slotCount}, reused before new slots. */
+    private int[] freeSlots = new int[16];
+
+    private int freeCount;
+
+    /** Records in the metadata log, live or superseded. */
+    private long logRecords;
+
+    private volatile boolean closed;
+
+    private MappedVectorStore(Builder builder) throws VectorStoreException {
+        if (builder.dimensions <= 0) {
+            throw new IllegalArgumentException("Dimensions must be positive");
+        }
+        if (builder.quantization == null) {
+            throw new IllegalArgumentException("Quantization cannot be null");
+        }
+        if (builder.rescoreFactor < 1) {
+            throw new IllegalArgumentException("Rescore factor must be at least 1");
+        }
+        this.dimensions = builder.dimensions;
+        this.quantization = builder.quantization;
+        this.rescoreFactor = builder.rescoreFactor;
+        this.directory = builder.directory;
+
+        boolean quantized = quantization == Quantization.INT8;
+        VectorArena openedVectors = null;
+        VectorArena openedCodes = null;
+        FileChannel openedLog = null;
+        try {
+            if (directory == null) {
+                openedVectors = VectorArena.offHeap(dimensions, VectorArena.Encoding.FLOAT32);
+                openedCodes =
+                        quantized
+                                ? VectorArena.offHeap(dimensions, VectorArena.Encoding.INT8)
+                                : null;
+            } else {
+                Files.createDirectories(directory);
+                openedVectors =
+                        VectorArena.open(
+                                directory.resolve(FLOAT32_FILE),
+                                dimensions,
+                                VectorArena.Encoding.FLOAT32);
+                openedLog =
+                        FileChannel.open(
+                                directory.resolve(LOG_FILE),
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE);
+                replayLog(openedLog);
+                if (quantized) {
+                    Path codesFile = directory.resolve(INT8_FILE);
+                    boolean rebuildCodes = !Files.exists(codesFile);
+                    openedCodes =
+                            VectorArena.open(codesFile, dimensions, VectorArena.Encoding.INT8);
+                    if (rebuildCodes) {
+                        // Quantization was enabled on an existing directory
+                        quantizeAll(openedVectors, openedCodes);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(openedVectors, openedCodes, openedLog);
+            throw new VectorStoreException(
+                    "Failed to open vector store at " + directory + ": " + e.getMessage(), e);
+        }
+        this.vectors = openedVectors;
+        this.codes = openedCodes;
+        this.logChannel = openedLog;
+        if (logChannel != null) {
+            try {
+                compactIfNeeded();
+            } catch (IOException e) {
+                log.warn("Failed to compact vector store log in {}", directory, e);
+            }
+        }
+    }
+
+    @Override
+    public Mono<Void> add(final List<Document> documentList) {
+        if (documentList == null) {
+            return Mono.error(new IllegalArgumentException("Document list cannot be null"));
+        }
+        if (documentList.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Mono.fromCallable(
+                () -> {
+                    float[][] units = new float[documentList.size()][];
+                    float[] norms = new float[documentList.size()];
+                    for (int i = 0; i < documentList.size(); i++) {
+                        Document document = documentList.get(i);
+                        if (document == null) {
+                            throw new IllegalArgumentException("Document cannot be null");
+                        }
+                        if (document.getEmbedding() == null) {
+                            throw new IllegalArgumentException("Document must have embedding set");
+                        }
+                        validateDimensions(document.getEmbedding(), "Embedding");
+                        units[i] = new float[dimensions];
+                        norms[i] = normalize(document.getEmbedding(), units[i]);
+                    }
+
+                    lock.writeLock().lock();
+                    try {
+                        ensureOpen();
+                        ByteArrayOutputStream records = new ByteArrayOutputStream();
+                        for (int i = 0; i < documentList.size(); i++) {
+                            Document document = documentList.get(i);
+                            Integer existing = slots.get(document.getId());
+                            int slot = existing != null ? existing : allocateSlot();
+                            vectors.put(slot, units[i], norms[i]);
+                            if (codes != null) {
+                                codes.put(slot, units[i], norms[i]);
+                            }
+                            Document stored = new Document(document.getMetadata());
+                            stored.setVectorName(document.getVectorName());
+                            documents[slot] = stored;
+                            slots.put(document.getId(), slot);
+                            if (logChannel != null) {
+                                writeRecord(records, putRecord(slot, stored));
+                            }
+                        }
+                        appendLog(records);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public Mono<List<Document>> search(SearchDocumentDto searchDocumentDto) {
+        String vectorName = searchDocumentDto.getVectorName();
+        double[] queryEmbedding = searchDocumentDto.getQueryEmbedding();
+        int limit = searchDocumentDto.getLimit();
+        Double scoreThreshold = searchDocumentDto.getScoreThreshold();
+
+        try {
+            validateDimensions(queryEmbedding, "Query embedding");
+        } catch (Exception e) {
+            return Mono.error(e);
+        }
+
+        if (limit <= 0) {
+            return Mono.error(new IllegalArgumentException("Limit must be positive"));
+        }
+
+        return Mono.fromCallable(
+                () -> {
+                    float[] query = new float[dimensions];
+                    normalize(queryEmbedding, query);
+
+                    lock.readLock().lock();
+                    try {
+                        ensureOpen();
+                        TopK top;
+                        if (codes == null) {
+                            top = scan(vectors, query, limit, vectorName);
+                        } else {
+                            int candidates =
+                                    (int) Math.min((long) limit * rescoreFactor, slotCount);
+                            top = rescore(scan(codes, query, candidates, vectorName), query, limit);
+                        }
+
+                        int[] hitSlots = top.indices();
+                        double[] hitScores = top.scores();
+                        List<Document> results = new ArrayList<>(hitSlots.length);
+                        for (int i = 0; i < hitSlots.length; i++) {
+                            // Apply score threshold if specified; hits are sorted best first
+                            if (scoreThreshold != null && hitScores[i] < scoreThreshold) {
+                                break;
+                            }
+                            Document stored = documents[hitSlots[i]];
+                            Document docWithScore = new Document(stored.getMetadata());
+                            docWithScore.setEmbedding(vectors.vector(hitSlots[i]));
+                            docWithScore.setVectorName(stored.getVectorName());
+                            docWithScore.setScore(hitScores[i]);
+                            results.add(docWithScore);
+                        }
+                        return results;
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Boolean> delete(final String id) {
+        if (id == null) {
+            return Mono.error(new IllegalArgumentException("Document ID cannot be null"));
+        }
+        return Mono.fromCallable(
+                () -> {
+                    lock.writeLock().lock();
+                    try {
+                        ensureOpen();
+                        Integer slot = slots.remove(id);
+                        if (slot == null) {
+                            return false;
+                        }
+                        freeSlot(slot);
+                        if (logChannel != null) {
+                            ByteArrayOutputStream records = new ByteArrayOutputStream();
+                            writeRecord(records, deleteRecord(slot));
+                            appendLog(records);
+                        }
+                        return true;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Set<String>> findExistingIds(Collection<String> ids) {
+        if (ids == null) {
+            return Mono.error(new IllegalArgumentException("IDs cannot be null"));
+        }
+        return Mono.fromCallable(
+                () -> {
+                    Set<String> existing = new HashSet<>();
+                    lock.readLock().lock();
+                    try {
+                        for (String id : ids) {
+                            if (slots.containsKey(id)) {
+                                existing.add(id);
+                            }
+                        }
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                    return existing;
+                });
+    }
+
+    /** Scans all live slots matching the vector name and keeps the best {@code k}. */
+    private TopK scan(VectorArena arena, float[] query, int k, String vectorName) {
+        TopK top = new TopK(Math.min(k, slots.size()));
+        Document[] docs = documents;
+        for (int slot = 0; slot < slotCount; slot++) {
+            Document doc = docs[slot];
+            if (doc == null || (vectorName != null && !vectorName.equals(doc.getVectorName()))) {
+                continue;
+            }
+            float score = arena.dot(slot, query);
+            if (top.accepts(score)) {
+                top.offer(score, slot);
+            }
+        }
+        return top;
+    }
+
+    /** Recomputes candidate scores from float32 and keeps the best {@code k}. */
+    private TopK rescore(TopK candidates, float[] query, int k) {
+        int[] candidateSlots = candidates.indices();
+        TopK top = new TopK(Math.min(k, candidateSlots.length));
+        for (int slot : candidateSlots) {
+            top.offer(vectors.dot(slot, query), slot);
+        }
+        return top;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        return slotCount++;
+    }
+
+    private void freeSlot(int slot) {
+        documents[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Rebuilds the slot table from the metadata log.
+     *
+     * <p>A trailing record without a line break was cut off by a crash during an append; it is
+     * truncated, as its vectors may be incomplete.
+     */
+    private void replayLog(FileChannel channel) throws IOException {
+        long end = lastLineEnd(channel);
+        if (end < channel.size()) {
+            log.warn(
+                    "Discarding {} bytes of incomplete records at the end of {}",
+                    channel.size() - end,
+                    directory.resolve(LOG_FILE));
+            channel.truncate(end);
+        }
+        BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                Channels.newInputStream(channel.position(0)),
+                                StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            applyRecord(JsonUtils.getJsonCodec().fromJson(line, Map.class));
+            logRecords++;
+        }
+        for (int slot = slotCount - 1; slot >= 0; slot--) {
+            if (documents[slot] == null) {
+                freeSlot(slot);
+            }
+        }
+    }
+
+    private void applyRecord(Map<?, ?> record) {
+        int slot = ((Number) record.get("slot")).intValue();
+        if (slot >= documents.length) {
+            documents = Arrays.copyOf(documents, Math.max(slot + 1, documents.length * 2));
+        }
+        slotCount = Math.max(slotCount, slot + 1);
+        Document previous = documents[slot];
+        if (previous != null) {
+            slots.remove(previous.getId());
+            documents[slot] = null;
+        }
+        if ("put".equals(record.get("op"))) {
+            ContentBlock content =
+                    JsonUtils.getJsonCodec()
+                            .fromJson((String) record.get("content"), ContentBlock.class);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> payload = (Map<String, Object>) record.get("payload");
+            Document document =
+                    new Document(
+                            new DocumentMetadata(
+                                    content,
+                                    (String) record.get("docId"),
+                                    (String) record.get("chunkId"),
+                                    payload));
+            document.setVectorName((String) record.get("vectorName"));
+            Integer moved = slots.put(document.getId(), slot);
+            if (moved != null && moved != slot) {
+                documents[moved] = null;
+            }
+            documents[slot] = document;
+        }
+    }
+
+    /** Returns the length of the log up to and including its last line break. */
+    private static long lastLineEnd(FileChannel channel) throws IOException {
+        long position = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position > 0) {
+            int length = (int) Math.min(buffer.capacity(), position);
+            buffer.clear().limit(length);
+            long start = position - length;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            position = start;
+        }
+        return 0;
+    }
+
+    private static Map<String, Object> putRecord(int slot, Document document) {
+        DocumentMetadata metadata = document.getMetadata();
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("op", "put");
+        record.put("slot", slot);
+        record.put("vectorName", document.getVectorName());
+        record.put("docId", metadata.getDocId());
+        record.put("chunkId", metadata.getChunkId());
+        // Serialized on its own so the block keeps its type id, as in PgVectorStore
+        record.put("content", JsonUtils.getJsonCodec().toJson(metadata.getContent()));
+        record.put("payload", metadata.getPayload());
+        return record;
+    }
+
+    private static Map<String, Object> deleteRecord(int slot) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("op", "delete");
+        record.put("slot", slot);
+        return record;
+    }
+
+    private void writeRecord(ByteArrayOutputStream out, Map<String, Object> record) {
+        byte[] line = JsonUtils.getJsonCodec().toJson(record).getBytes(StandardCharsets.UTF_8);
+        out.write(line, 0, line.length);
+        out.write('\n');
+        logRecords++;
+    }
+
+    /**
+     * Makes written vectors durable, then appends their metadata records, so the log never
+     * refers to vectors that did not reach the disk.
+     */
+    private void appendLog(ByteArrayOutputStream records) throws IOException {
+        if (logChannel == null) {
+            return;
+        }
+        vectors.force();
+        if (codes != null) {
+            codes.force();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+        long position = logChannel.size();
+        while (buffer.hasRemaining()) {
+            position += logChannel.write(buffer, position);
+        }
+        logChannel.force(false);
+        compactIfNeeded();
+    }
+
+    /** Rewrites the log with one record per live document once most records are superseded. */
+    private void compactIfNeeded() throws IOException {
+        long superseded = logRecords - slots.size();
+        if (superseded < MIN_COMPACT_RECORDS || superseded <= slots.size()) {
+            return;
+        }
+        Path compacted = directory.resolve(LOG_FILE + ".compact");
+        long records = 0;
+        try (FileChannel out =
+                FileChannel.open(
+                        compacted,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (documents[slot] == null) {
+                    continue;
+                }
+                byte[] line =
+                        JsonUtils.getJsonCodec()
+                                .toJson(putRecord(slot, documents[slot]))
+                                .getBytes(StandardCharsets.UTF_8);
+                chunk.write(line, 0, line.length);
+                chunk.write('\n');
+                records++;
+                if (chunk.size() >= 1 << 20) {
+                    writeFully(out, chunk);
+                }
+            }
+            writeFully(out, chunk);
+            out.force(false);
+        }
+        Files.move(
+                compacted,
+                directory.resolve(LOG_FILE),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        // The old channel still points at the replaced file
+        FileChannel previous = logChannel;
+        logChannel =
+                FileChannel.open(
+                        directory.resolve(LOG_FILE),
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        closeQuietly(previous);
+        logRecords = records;
+    }
+
+    private static void writeFully(FileChannel out, ByteArrayOutputStream chunk)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(chunk.toByteArray());
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        chunk.reset();
+    }
+
+    private void quantizeAll(VectorArena source, VectorArena target) throws IOException {
+        float[] unit = new float[dimensions];
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (documents[slot] == null) {
+                continue;
+            }
+            double[] vector = source.vector(slot);
+            normalize(vector, unit);
+            target.put(slot, unit, 0f);
+        }
+        target.force();
+    }
+
+    /**
+     * Writes the normalized vector into {@code unit} and returns the original norm.
+     */
+    private static float normalize(double[] vector, float[] unit) {
+        double sum = 0.0;
+        for (double v : vector) {
+            sum += v * v;
+        }
+        double norm = Math.sqrt(sum);
+        for (int i = 0; i < vector.length; i++) {
+            unit[i] = norm == 0.0 ? 0f : (float) (vector[i] / norm);
+        }
+        return (float) norm;
+    }
+
+    private void ensureOpen() throws VectorStoreException {
+        if (closed) {
+            throw new VectorStoreException("MappedVectorStore has been closed");
+        }
+    }
+
+    /**
+     * Validates that an embedding has the correct dimensions.
+     *
+     * @param embedding the embedding to validate
+     * @param paramName the parameter name for error messages
+     * @throws IllegalArgumentException if embedding is null
+     * @throws VectorStoreException if embedding dimension does not match expected dimensions
+     */
+    private void validateDimensions(final double[] embedding, final String paramName)
+            throws VectorStoreException {
+        if (embedding == null) {
+            throw new IllegalArgumentException(paramName + " cannot be null");
+        }
+        if (embedding.length != dimensions) {
+            throw new VectorStoreException(
+                    String.format(
+                            "%s dimension mismatch: expected %d, got %d",
+                            paramName, dimensions, embedding.length));
+        }
+    }
+
+    /**
+     * Gets the number of documents currently stored.
+     *
+     * @return the number of stored documents (always non-negative)
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if the store is empty.
+     *
+     * @return true if the store contains no documents, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Clears all documents from the store, including the persisted metadata log. Arena files keep
+     * their size and are overwritten by later adds.
+     *
+     * @throws VectorStoreException if the log cannot be truncated
+     */
+    public void clear() throws VectorStoreException {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            slots.clear();
+            documents = new Document[16];
+            slotCount = 0;
+            freeCount = 0;
+            logRecords = 0;
+            if (logChannel != null) {
+                logChannel.truncate(0);
+                logChannel.force(false);
+            }
+        } catch (IOException e) {
+            throw new VectorStoreException("Failed to clear vector store log", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the dimension of vectors stored in this store.
+     *
+     * @return the vector dimension
+     */
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Gets the quantization used for searching.
+     *
+     * @return the quantization
+     */
+    public Quantization getQuantization() {
+        return quantization;
+    }
+
+    /**
+     * Gets the directory the store persists to.
+     *
+     * @return the directory, or null if the store is not persistent
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Closes the store's files. Mapped memory is released once the store is garbage collected.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeQuietly(vectors, codes, logChannel);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if this store has been closed.
+     *
+     * @return true if closed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("Error closing vector store resource", e);
+            }
+        }
+    }
+
+    /**
+     * Creates a new builder for MappedVectorStore.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for MappedVectorStore.
+     */
+    public static class Builder {
+        private int dimensions = 1024; // Default dimensions
+        private Path directory;
+        private Quantization quantization = Quantization.NONE;
+        private int rescoreFactor = 4;
+
+        private Builder() {}
+
+        /**
+         * Sets the vector dimensions.
+         *
+         * @param dimensions the dimension of vectors to be stored (must be positive)
+         * @return this builder for method chaining
+         */
+        public Builder dimensions(int dimensions) {
+            this.dimensions = dimensions;
+            return this;
+        }
+
+        /**
+         * Sets the directory to persist to. Existing data in the directory is loaded.
+         *
+         * @param directory the store directory, or null to keep vectors off-heap only (default)
+         * @return this builder for method chaining
+         */
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the vector encoding used for searching.
+         *
+         * @param quantization the quantization (default {@link Quantization#NONE})
+         * @return this builder for method chaining
+         */
+        public Builder quantization(Quantization quantization) {
+            this.quantization = quantization;
+            return this;
+        }
+
+        /**
+         * Sets how many candidates per requested result an {@link Quantization#INT8} search
+         * rescores from float32.
+         *
+         * @param rescoreFactor the candidate multiplier (must be at least 1, default 4)
+         * @return this builder for method chaining
+         */
+        public Builder rescoreFactor(int rescoreFactor) {
+            this.rescoreFactor = rescoreFactor;
+            return this;
+        }
+
+        /**
+         * Builds a new MappedVectorStore instance, loading any data in the directory.
+         *
+         * @return a new MappedVectorStore instance
+         * @throws IllegalArgumentException if any parameter is out of range
+         * @throws VectorStoreException if the directory cannot be opened or holds vectors of
+         *     other dimensions
+         */
+        public MappedVectorStore build() throws VectorStoreException {
+            return new MappedVectorStore(this);
+        }
+    }
+}
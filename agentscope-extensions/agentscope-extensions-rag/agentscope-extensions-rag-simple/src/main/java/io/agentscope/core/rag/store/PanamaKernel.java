@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link VectorKernels.Kernel} on the JDK Vector API, using the widest vectors the CPU supports.
+ *
+ * <p>Only loaded by {@link VectorKernels} when the {@code jdk.incubator.vector} module is present.
+ * Loop tails are finished with scalar code.
+ */
+final class PanamaKernel implements VectorKernels.Kernel {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /** Byte species with one lane per float lane, or null if no such shape exists. */
+    private static final VectorSpecies<Byte> BYTES = byteSpecies();
+
+    @Override
+    public double dot(double[] a, double[] b) {
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(a.length); i < bound; i += DOUBLES.length()) {
+            DoubleVector va = DoubleVector.fromArray(DOUBLES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(DOUBLES, b, i);
+            acc = acc.add(va.mul(vb));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        for (int bound = FLOATS.loopBound(a.length); i < bound; i += FLOATS.length()) {
+            FloatVector va = FloatVector.fromArray(FLOATS, a, i);
+            FloatVector vb = FloatVector.fromArray(FLOATS, b, i);
+            acc = acc.add(va.mul(vb));
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] query, ByteBuffer data, int offset) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        for (int bound = FLOATS.loopBound(query.length); i < bound; i += FLOATS.length()) {
+            FloatVector vq = FloatVector.fromArray(FLOATS, query, i);
+            FloatVector vd =
+                    FloatVector.fromByteBuffer(
+                            FLOATS, data, offset + i * Float.BYTES, ByteOrder.LITTLE_ENDIAN);
+            acc = acc.add(vq.mul(vd));
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < query.length; i++) {
+            sum += query[i] * data.getFloat(offset + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    @Override
+    public float dotInt8(float[] query, ByteBuffer data, int offset) {
+        if (BYTES == null) {
+            return VectorKernels.SCALAR.dotInt8(query, data, offset);
+        }
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        for (int bound = FLOATS.loopBound(query.length); i < bound; i += FLOATS.length()) {
+            FloatVector vq = FloatVector.fromArray(FLOATS, query, i);
+            FloatVector vd =
+                    (FloatVector)
+                            ByteVector.fromByteBuffer(
+                                            BYTES, data, offset + i, ByteOrder.LITTLE_ENDIAN)
+                                    .castShape(FLOATS, 0);
+            acc = acc.add(vq.mul(vd));
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < query.length; i++) {
+            sum += query[i] * data.get(offset + i);
+        }
+        return sum;
+    }
+
+    private static VectorSpecies<Byte> byteSpecies() {
+        int bits = FLOATS.length() * Byte.SIZE;
+        if (bits < 64) {
+            return null;
+        }
+        return VectorSpecies.of(byte.class, VectorShape.forBitSize(bits));
+    }
+
+    @Override
+    public String toString() {
+        return "vector api, " + FLOATS.length() + " float lanes";
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import java.util.Arrays;
+
+/**
+ * Selects the {@code k} highest-scoring items from a stream of {@code (score, index)} pairs.
+ *
+ * <p>Scores and indices are kept in a bounded min-heap of primitive arrays, so selecting the best
+ * {@code k} of {@code n} candidates takes {@code O(n log k)} time and no allocation per candidate,
+ * instead of collecting and sorting all of them. The index identifies the candidate in the
+ * caller's own storage, such as an array position or a slot number.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * TopK top = new TopK(limit);
+ * for (int i = 0; i < vectors.length; i++) {
+ *     double score = VectorKernels.cosine(query, queryNorm, vectors[i], norms[i]);
+ *     if (top.accepts(score)) {
+ *         top.offer(score, i);
+ *     }
+ * }
+ * int[] best = top.indices();      // best first
+ * double[] scores = top.scores();  // matching scores
+ * }</pre>
+ *
+ * <p>Not thread-safe.
+ */
+public final class TopK {
+
+    private final double[] scores;
+    private final int[] indices;
+    private int size;
+
+    /**
+     * Creates a selector that keeps at most {@code k} items.
+     *
+     * @param k the number of items to keep (must not be negative)
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    public TopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        this.scores = new double[k];
+        this.indices = new int[k];
+    }
+
+    /**
+     * Checks whether an item with this score would currently be kept. Cheaper than {@link
+     * #offer} for rejecting most candidates of a long scan.
+     *
+     * @param score the candidate score
+     * @return true if {@link #offer} would keep the item
+     */
+    public boolean accepts(double score) {
+        if (Double.isNaN(score)) {
+            return false;
+        }
+        return size < scores.length || (size > 0 && score > scores[0]);
+    }
+
+    /**
+     * Offers an item. It is kept if fewer than {@code k} items are held or its score beats the
+     * lowest kept score, which is then evicted. Items with a NaN score are never kept.
+     *
+     * @param score the item score
+     * @param index the item index
+     * @return true if the item was kept
+     */
+    public boolean offer(double score, int index) {
+        if (!accepts(score)) {
+            return false;
+        }
+        if (size < scores.length) {
+            siftUp(size++, score, index);
+        } else {
+            siftDown(score, index);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the lowest score a new item has to beat once {@code k} items are held.
+     *
+     * @return the lowest kept score, or negative infinity while fewer than {@code k} items are
+     *     held
+     */
+    public double threshold() {
+        return size < scores.length || size == 0 ? Double.NEGATIVE_INFINITY : scores[0];
+    }
+
+    /**
+     * Gets the number of items held.
+     *
+     * @return the number of items, at most {@code k}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the indices of the items held, best first.
+     *
+     * @return a new array of indices in descending score order
+     */
+    public int[] indices() {
+        int[] order = order();
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = indices[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Gets the scores of the items held, best first, matching {@link #indices()}.
+     *
+     * @return a new array of scores in descending order
+     */
+    public double[] scores() {
+        int[] order = order();
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = scores[order[i]];
+        }
+        return result;
+    }
+
+    /** Removes all items. */
+    public void clear() {
+        size = 0;
+    }
+
+    /** Heap positions in descending score order; ties keep the lower index first. */
+    private int[] order() {
+        Integer[] positions = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+        Arrays.sort(
+                positions,
+                (x, y) -> {
+                    int byScore = Double.compare(scores[y], scores[x]);
+                    return byScore != 0 ? byScore : Integer.compare(indices[x], indices[y]);
+                });
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = positions[i];
+        }
+        return order;
+    }
+
+    private void siftUp(int position, double score, int index) {
+        int i = position;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] <= score) {
+                break;
+            }
+            scores[i] = scores[parent];
+            indices[i] = indices[parent];
+            i = parent;
+        }
+        scores[i] = score;
+        indices[i] = index;
+    }
+
+    /** Replaces the root with the item and restores the heap order. */
+    private void siftDown(double score, int index) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[child + 1] < scores[child]) {
+                child++;
+            }
+            if (scores[child] >= score) {
+                break;
+            }
+            scores[i] = scores[child];
+            indices[i] = indices[child];
+            i = child;
+        }
+        scores[i] = score;
+        indices[i] = index;
+    }
+}
@@ -17,7 +17,9 @@ package io.agentscope.core.rag.store;
 
 import io.agentscope.core.rag.model.Document;
 import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import reactor.core.publisher.Mono;
 
 /**
@@ -75,4 +77,19 @@ public interface VDBStoreBase {
      * @return a Mono that emits true if the deletion was successful, false otherwise
      */
     Mono<Boolean> delete(String id);
+
+    /**
+     * Finds which of the given document IDs are already stored (optional).
+     *
+     * <p>Used to skip embedding documents that are already stored, see {@code
+     * IngestionConfig#isSkipExisting()}. The default implementation reports none, so every
+     * document is embedded again. Stores that can look up IDs cheaply should override this
+     * method.
+     *
+     * @param ids the document IDs (UUID strings) to look up
+     * @return a Mono that emits the subset of {@code ids} that is stored
+     */
+    default Mono<Set<String>> findExistingIds(Collection<String> ids) {
+        return Mono.just(Set.of());
+    }
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Contiguous, fixed-width storage for unit-length vectors, kept off the Java heap.
+ *
+ * <p>Each slot holds one record: a float scale followed by the vector components, either as
+ * float32 or as int8 codes. For {@link Encoding#FLOAT32} the scale is the norm of the original
+ * vector and the components are the normalized vector, so dot products against a normalized query
+ * are cosine similarities and the original vector can still be restored. For {@link
+ * Encoding#INT8} the components are symmetric scalar codes in {@code [-127, 127]} and the scale is
+ * the quantization step; dot products are approximations meant for candidate selection only.
+ *
+ * <p>Records live in fixed-size segments that are either memory-mapped from a file, so the data
+ * survives restarts and is paged in by the OS on demand, or allocated as direct buffers. Segments
+ * are added as slots are written and never shrink.
+ *
+ * <p>Not thread-safe for writes; callers serialize writes against reads.
+ */
+final class VectorArena implements Closeable {
+
+    /** Record encoding. */
+    enum Encoding {
+        FLOAT32(Float.BYTES),
+        INT8(Byte.BYTES);
+
+        private final int componentBytes;
+
+        Encoding(int componentBytes) {
+            this.componentBytes = componentBytes;
+        }
+    }
+
+    static final int MAGIC = 0x41535641; // "ASVA"
+    static final int VERSION = 1;
+
+    /** Bytes reserved at the start of a file for the header. */
+    static final int HEADER_BYTES = 64;
+
+    /** Target size of one segment. */
+    private static final long SEGMENT_BYTES = 1L << 26;
+
+    private final int dimensions;
+    private final Encoding encoding;
+    private final int recordBytes;
+    private final int slotsPerSegment;
+    private final FileChannel channel;
+
+    private volatile ByteBuffer[] segments = new ByteBuffer[0];
+    private volatile FloatBuffer[] floatSegments = new FloatBuffer[0];
+
+    /** Range of segments written since the last {@link #force()}, empty when from > to. */
+    private int dirtyFrom = Integer.MAX_VALUE;
+
+    private int dirtyTo = -1;
+
+    private VectorArena(int dimensions, Encoding encoding, FileChannel channel) {
+        this.dimensions = dimensions;
+        this.encoding = encoding;
+        // Pad records to whole floats so float views stay aligned
+        int bytes = Float.BYTES + dimensions * encoding.componentBytes;
+        this.recordBytes = (bytes + Float.BYTES - 1) / Float.BYTES * Float.BYTES;
+        this.slotsPerSegment = (int) Math.max(1, SEGMENT_BYTES / recordBytes);
+        this.channel = channel;
+    }
+
+    /**
+     * Creates an arena in direct (off-heap) buffers that is discarded with the arena.
+     *
+     * @param dimensions vector dimensions
+     * @param encoding record encoding
+     * @return the arena
+     */
+    static VectorArena offHeap(int dimensions, Encoding encoding) {
+        return new VectorArena(dimensions, encoding, null);
+    }
+
+    /**
+     * Opens or creates an arena backed by a memory-mapped file.
+     *
+     * <p>An existing file is mapped as is; its slots keep their contents.
+     *
+     * @param file the arena file
+     * @param dimensions vector dimensions
+     * @param encoding record encoding
+     * @return the arena
+     * @throws IOException if the file cannot be opened, or was written with another layout
+     */
+    static VectorArena open(Path file, int dimensions, Encoding encoding) throws IOException {
+        FileChannel channel =
+                FileChannel.open(
+                        file,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        try {
+            VectorArena arena = new VectorArena(dimensions, encoding, channel);
+            if (channel.size() == 0) {
+                arena.writeHeader();
+            } else {
+                arena.checkHeader(file);
+                long dataBytes = Math.max(0, channel.size() - HEADER_BYTES);
+                long segmentBytes = (long) arena.slotsPerSegment * arena.recordBytes;
+                arena.ensureSegments((int) ((dataBytes + segmentBytes - 1) / segmentBytes));
+            }
+            return arena;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(encoding.ordinal()).putInt(dimensions);
+        header.rewind();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private void checkHeader(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4 * Integer.BYTES).order(ByteOrder.BIG_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Keep reading until the fixed fields are in
+        }
+        header.flip();
+        if (header.remaining() < 4 * Integer.BYTES || header.getInt() != MAGIC) {
+            throw new IOException("Not a vector arena file: " + file);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported vector arena version " + version + ": " + file);
+        }
+        int storedEncoding = header.getInt();
+        int storedDimensions = header.getInt();
+        if (storedEncoding != encoding.ordinal() || storedDimensions != dimensions) {
+            throw new IOException(
+                    String.format(
+                            "Vector arena %s holds %d-dimensional %s vectors, expected"
+                                    + " %d-dimensional %s",
+                            file,
+                            storedDimensions,
+                            storedEncoding >= 0 && storedEncoding < Encoding.values().length
+                                    ? Encoding.values()[storedEncoding]
+                                    : "unknown",
+                            dimensions,
+                            encoding));
+        }
+    }
+
+    /**
+     * Writes a unit-length vector into a slot, growing the arena if needed.
+     *
+     * @param slot the slot index
+     * @param unit the normalized vector
+     * @param norm the norm of the original vector; ignored by {@link Encoding#INT8}
+     * @throws IOException if a new segment cannot be mapped
+     */
+    void put(int slot, float[] unit, float norm) throws IOException {
+        ensureSegments(slot / slotsPerSegment + 1);
+        int segment = slot / slotsPerSegment;
+        int offset = (slot % slotsPerSegment) * recordBytes;
+        dirtyFrom = Math.min(dirtyFrom, segment);
+        dirtyTo = Math.max(dirtyTo, segment);
+        if (encoding == Encoding.FLOAT32) {
+            FloatBuffer floats = floatSegments[segment];
+            int base = offset / Float.BYTES;
+            floats.put(base, norm);
+            floats.put(base + 1, unit);
+            return;
+        }
+        float maxAbs = 0f;
+        for (float v : unit) {
+            maxAbs = Math.max(maxAbs, Math.abs(v));
+        }
+        float step = maxAbs / 127f;
+        ByteBuffer bytes = segments[segment];
+        bytes.putFloat(offset, step);
+        int base = offset + Float.BYTES;
+        for (int i = 0; i < dimensions; i++) {
+            bytes.put(base + i, step == 0f ? 0 : (byte) Math.round(unit[i] / step));
+        }
+    }
+
+    /**
+     * Computes the dot product of a slot with a normalized query. Exact for {@link
+     * Encoding#FLOAT32}, approximate for {@link Encoding#INT8}.
+     *
+     * @param slot a slot that has been written
+     * @param query the normalized query
+     * @return the dot product
+     */
+    float dot(int slot, float[] query) {
+        int segment = slot / slotsPerSegment;
+        int offset = (slot % slotsPerSegment) * recordBytes;
+        ByteBuffer bytes = segments[segment];
+        if (encoding == Encoding.FLOAT32) {
+            return VectorKernels.dot(query, bytes, offset + Float.BYTES);
+        }
+        return VectorKernels.dotInt8(query, bytes, offset + Float.BYTES) * bytes.getFloat(offset);
+    }
+
+    /**
+     * Restores the original vector of a {@link Encoding#FLOAT32} slot.
+     *
+     * @param slot a slot that has been written
+     * @return the vector scaled back to its original norm
+     */
+    double[] vector(int slot) {
+        if (encoding != Encoding.FLOAT32) {
+            throw new IllegalStateException("Only float32 arenas keep full vectors");
+        }
+        FloatBuffer floats = floatSegments[slot / slotsPerSegment];
+        int base = (slot % slotsPerSegment) * recordBytes / Float.BYTES;
+        float norm = floats.get(base);
+        double[] vector = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (double) floats.get(base + 1 + i) * norm;
+        }
+        return vector;
+    }
+
+    /**
+     * Flushes records written since the last call to disk. No-op off-heap.
+     */
+    void force() {
+        if (channel != null) {
+            ByteBuffer[] current = segments;
+            for (int i = dirtyFrom; i <= dirtyTo; i++) {
+                ((MappedByteBuffer) current[i]).force();
+            }
+        }
+        dirtyFrom = Integer.MAX_VALUE;
+        dirtyTo = -1;
+    }
+
+    /** Number of slots that fit in the currently allocated segments. */
+    int capacity() {
+        return segments.length * slotsPerSegment;
+    }
+
+    /** Bytes per record, including the scale. */
+    int recordBytes() {
+        return recordBytes;
+    }
+
+    Encoding encoding() {
+        return encoding;
+    }
+
+    private void ensureSegments(int count) throws IOException {
+        ByteBuffer[] current = segments;
+        if (current.length >= count) {
+            return;
+        }
+        ByteBuffer[] grown = Arrays.copyOf(current, count);
+        FloatBuffer[] grownFloats = Arrays.copyOf(floatSegments, count);
+        long segmentBytes = (long) slotsPerSegment * recordBytes;
+        for (int i = current.length; i < count; i++) {
+            ByteBuffer segment =
+                    channel == null
+                            ? ByteBuffer.allocateDirect((int) segmentBytes)
+                            : channel.map(
+                                    FileChannel.MapMode.READ_WRITE,
+                                    HEADER_BYTES + i * segmentBytes,
+                                    segmentBytes);
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            grown[i] = segment;
+            grownFloats[i] = segment.asFloatBuffer();
+        }
+        floatSegments = grownFloats;
+        segments = grown;
+    }
+
+    /**
+     * Closes the backing file. Mapped segments are released by the garbage collector, so the
+     * arena must not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
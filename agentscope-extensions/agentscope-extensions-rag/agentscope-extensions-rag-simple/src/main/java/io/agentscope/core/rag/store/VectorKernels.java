@@ -0,0 +1,354 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import java.nio.ByteBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dot product and cosine similarity kernels for dense vectors.
+ *
+ * <p>The kernels are written for similarity search, where one query is compared against many
+ * stored vectors:
+ * <ul>
+ *   <li>norms are computed once per vector with {@link #norm} and passed in, instead of being
+ *       recomputed for every comparison
+ *   <li>batch variants score a query against many vectors in one call
+ *   <li>loops are unrolled over independent accumulators so the JIT can vectorize and pipeline
+ *       them; results may differ from a sequential sum in the last bits
+ * </ul>
+ *
+ * <p>When the JVM is started with {@code --add-modules jdk.incubator.vector}, the kernels use the
+ * JDK Vector API instead of unrolled scalar loops. Set the system property {@value
+ * #VECTOR_API_PROPERTY} to {@code false} to keep the scalar loops anyway; {@link
+ * #isVectorApiEnabled()} reports which one is in use.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * double queryNorm = VectorKernels.norm(query);
+ * TopK top = new TopK(10);
+ * for (int i = 0; i < vectors.length; i++) {
+ *     top.offer(VectorKernels.cosine(query, queryNorm, vectors[i], norms[i]), i);
+ * }
+ * int[] best = top.indices();
+ * }</pre>
+ */
+public final class VectorKernels {
+
+    private static final Logger log = LoggerFactory.getLogger(VectorKernels.class);
+
+    /** System property that disables the Vector API kernels when set to {@code false}. */
+    public static final String VECTOR_API_PROPERTY = "agentscope.rag.vectorApi";
+
+    /** Unrolled scalar kernel, always available. */
+    static final Kernel SCALAR = new ScalarKernel();
+
+    private static final Kernel KERNEL = selectKernel();
+
+    private VectorKernels() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Computes the dot product of two vectors.
+     *
+     * @param a the first vector
+     * @param b the second vector
+     * @return the dot product
+     * @throws IllegalArgumentException if the vectors are null or differ in length
+     */
+    public static double dot(double[] a, double[] b) {
+        checkLengths(a, b);
+        return KERNEL.dot(a, b);
+    }
+
+    /**
+     * Computes the dot product of two vectors.
+     *
+     * @param a the first vector
+     * @param b the second vector
+     * @return the dot product
+     * @throws IllegalArgumentException if the vectors are null or differ in length
+     */
+    public static float dot(float[] a, float[] b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Vectors cannot be null");
+        }
+        if (a.length != b.length) {
+            throw lengthMismatch(a.length, b.length);
+        }
+        return KERNEL.dot(a, b);
+    }
+
+    /**
+     * Computes the Euclidean norm of a vector.
+     *
+     * @param vector the vector
+     * @return the norm
+     * @throws IllegalArgumentException if the vector is null
+     */
+    public static double norm(double[] vector) {
+        if (vector == null) {
+            throw new IllegalArgumentException("Vector cannot be null");
+        }
+        return Math.sqrt(KERNEL.dot(vector, vector));
+    }
+
+    /**
+     * Computes the Euclidean norm of a vector.
+     *
+     * @param vector the vector
+     * @return the norm
+     * @throws IllegalArgumentException if the vector is null
+     */
+    public static float norm(float[] vector) {
+        if (vector == null) {
+            throw new IllegalArgumentException("Vector cannot be null");
+        }
+        return (float) Math.sqrt(KERNEL.dot(vector, vector));
+    }
+
+    /**
+     * Computes the cosine similarity of two vectors whose norms are already known.
+     *
+     * @param a the first vector
+     * @param aNorm the norm of {@code a}
+     * @param b the second vector
+     * @param bNorm the norm of {@code b}
+     * @return the cosine similarity, or {@code 0} if either vector is a zero vector
+     * @throws IllegalArgumentException if the vectors are null or differ in length
+     */
+    public static double cosine(double[] a, double aNorm, double[] b, double bNorm) {
+        checkLengths(a, b);
+        double denominator = aNorm * bNorm;
+        if (denominator == 0.0) {
+            // Cosine similarity is undefined for zero vectors, returning 0.0 as convention.
+            return 0.0;
+        }
+        return KERNEL.dot(a, b) / denominator;
+    }
+
+    /**
+     * Computes the cosine similarity of two vectors.
+     *
+     * @param a the first vector
+     * @param b the second vector
+     * @return the cosine similarity, or {@code 0} if either vector is a zero vector
+     * @throws IllegalArgumentException if the vectors are null or differ in length
+     */
+    public static double cosine(double[] a, double[] b) {
+        checkLengths(a, b);
+        return cosine(a, Math.sqrt(KERNEL.dot(a, a)), b, Math.sqrt(KERNEL.dot(b, b)));
+    }
+
+    /**
+     * Computes the cosine similarity of a query against many vectors.
+     *
+     * @param query the query vector
+     * @param vectors the vectors to score
+     * @param norms the norm of each vector, as computed by {@link #norm(double[])}
+     * @param scores receives the cosine similarity of each vector; at least as long as {@code
+     *     vectors}
+     * @throws IllegalArgumentException if any argument is null or the lengths do not match
+     */
+    public static void cosineBatch(
+            double[] query, double[][] vectors, double[] norms, double[] scores) {
+        if (vectors == null || norms == null || scores == null) {
+            throw new IllegalArgumentException("Vectors, norms and scores cannot be null");
+        }
+        if (norms.length < vectors.length || scores.length < vectors.length) {
+            throw new IllegalArgumentException(
+                    "Norms and scores must hold at least " + vectors.length + " elements");
+        }
+        double queryNorm = norm(query);
+        for (int i = 0; i < vectors.length; i++) {
+            scores[i] = cosine(query, queryNorm, vectors[i], norms[i]);
+        }
+    }
+
+    /**
+     * Computes the dot product of a query against many vectors. For unit-length vectors these are
+     * the cosine similarities.
+     *
+     * @param query the query vector
+     * @param vectors the vectors to score
+     * @param scores receives the dot product of each vector; at least as long as {@code vectors}
+     * @throws IllegalArgumentException if any argument is null or the lengths do not match
+     */
+    public static void dotBatch(float[] query, float[][] vectors, float[] scores) {
+        if (vectors == null || scores == null) {
+            throw new IllegalArgumentException("Vectors and scores cannot be null");
+        }
+        if (scores.length < vectors.length) {
+            throw new IllegalArgumentException(
+                    "Scores must hold at least " + vectors.length + " elements");
+        }
+        for (int i = 0; i < vectors.length; i++) {
+            scores[i] = dot(query, vectors[i]);
+        }
+    }
+
+    /**
+     * Whether the kernels use the JDK Vector API.
+     *
+     * @return true if the Vector API kernels are in use, false for the scalar loops
+     */
+    public static boolean isVectorApiEnabled() {
+        return KERNEL != SCALAR;
+    }
+
+    /**
+     * Dot product of a query with float32 values stored at a byte offset of a little-endian
+     * buffer. Lengths are not checked.
+     */
+    static float dot(float[] query, ByteBuffer data, int offset) {
+        return KERNEL.dot(query, data, offset);
+    }
+
+    /**
+     * Dot product of a query with int8 values stored at a byte offset of a buffer. Lengths are
+     * not checked.
+     */
+    static float dotInt8(float[] query, ByteBuffer data, int offset) {
+        return KERNEL.dotInt8(query, data, offset);
+    }
+
+    private static void checkLengths(double[] a, double[] b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Vectors cannot be null");
+        }
+        if (a.length != b.length) {
+            throw lengthMismatch(a.length, b.length);
+        }
+    }
+
+    private static IllegalArgumentException lengthMismatch(int a, int b) {
+        return new IllegalArgumentException(
+                String.format("Vectors must have the same length: %d vs %d", a, b));
+    }
+
+    private static Kernel selectKernel() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_API_PROPERTY, "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return SCALAR;
+        }
+        try {
+            // Loaded reflectively so that the Vector API classes are only linked when present
+            Kernel kernel =
+                    (Kernel)
+                            Class.forName(VectorKernels.class.getPackageName() + ".PanamaKernel")
+                                    .getDeclaredConstructor()
+                                    .newInstance();
+            log.debug("Using Vector API kernels: {}", kernel);
+            return kernel;
+        } catch (Throwable e) {
+            log.debug("Vector API kernels unavailable, using scalar kernels", e);
+            return SCALAR;
+        }
+    }
+
+    /** Kernel implementation; lengths are checked by the callers. */
+    interface Kernel {
+
+        double dot(double[] a, double[] b);
+
+        float dot(float[] a, float[] b);
+
+        float dot(float[] query, ByteBuffer data, int offset);
+
+        float dotInt8(float[] query, ByteBuffer data, int offset);
+    }
+
+    /** Scalar loops unrolled over four accumulators. */
+    static final class ScalarKernel implements Kernel {
+
+        @Override
+        public double dot(double[] a, double[] b) {
+            double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int n = a.length;
+            int i = 0;
+            for (int bound = n & ~3; i < bound; i += 4) {
+                s0 += a[i] * b[i];
+                s1 += a[i + 1] * b[i + 1];
+                s2 += a[i + 2] * b[i + 2];
+                s3 += a[i + 3] * b[i + 3];
+            }
+            for (; i < n; i++) {
+                s0 += a[i] * b[i];
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+
+        @Override
+        public float dot(float[] a, float[] b) {
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int n = a.length;
+            int i = 0;
+            for (int bound = n & ~3; i < bound; i += 4) {
+                s0 += a[i] * b[i];
+                s1 += a[i + 1] * b[i + 1];
+                s2 += a[i + 2] * b[i + 2];
+                s3 += a[i + 3] * b[i + 3];
+            }
+            for (; i < n; i++) {
+                s0 += a[i] * b[i];
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+
+        @Override
+        public float dot(float[] query, ByteBuffer data, int offset) {
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int n = query.length;
+            int i = 0;
+            for (int bound = n & ~3; i < bound; i += 4) {
+                int p = offset + i * Float.BYTES;
+                s0 += query[i] * data.getFloat(p);
+                s1 += query[i + 1] * data.getFloat(p + 4);
+                s2 += query[i + 2] * data.getFloat(p + 8);
+                s3 += query[i + 3] * data.getFloat(p + 12);
+            }
+            for (; i < n; i++) {
+                s0 += query[i] * data.getFloat(offset + i * Float.BYTES);
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+
+        @Override
+        public float dotInt8(float[] query, ByteBuffer data, int offset) {
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int n = query.length;
+            int i = 0;
+            for (int bound = n & ~3; i < bound; i += 4) {
+                int p = offset + i;
+                s0 += query[i] * data.get(p);
+                s1 += query[i + 1] * data.get(p + 1);
+                s2 += query[i + 2] * data.get(p + 2);
+                s3 += query[i + 3] * data.get(p + 3);
+            }
+            for (; i < n; i++) {
+                s0 += query[i] * data.get(offset + i);
+            }
+            return (s0 + s1) + (s2 + s3);
+        }
+
+        @Override
+        public String toString() {
+            return "scalar";
+        }
+    }
+}
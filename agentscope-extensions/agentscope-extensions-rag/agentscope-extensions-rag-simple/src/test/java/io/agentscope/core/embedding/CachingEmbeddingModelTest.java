@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.embedding;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.state.InMemoryAgentStateStore;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for CachingEmbeddingModel.
+ */
+@Tag("unit")
+@DisplayName("CachingEmbeddingModel Unit Tests")
+class CachingEmbeddingModelTest {
+
+    @TempDir Path tempDir;
+
+    private CountingEmbeddingModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new CountingEmbeddingModel("model-a");
+    }
+
+    @Test
+    @DisplayName("Should call the wrapped model once per distinct text")
+    void testEmbedCachesByContent() {
+        CachingEmbeddingModel cache = CachingEmbeddingModel.builder().model(model).build();
+
+        double[] first = cache.embed(text("hello")).block();
+        double[] second = cache.embed(text("hello")).block();
+
+        assertArrayEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1, model.calls.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    @DisplayName("Should send only missing and distinct texts in a batch")
+    void testEmbedBatchSendsMisses() {
+        CachingEmbeddingModel cache = CachingEmbeddingModel.builder().model(model).build();
+        cache.embed(text("a")).block();
+
+        List<double[]> embeddings =
+                cache.embedBatch(List.of(text("a"), text("b"), text("c"), text("b"))).block();
+
+        assertEquals(4, embeddings.size());
+        assertEquals(List.of(2), model.batchSizes);
+        assertArrayEquals(embeddings.get(1), embeddings.get(3));
+        assertArrayEquals(cache.embed(text("c")).block(), embeddings.get(2));
+        assertEquals(3, model.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should key entries by model name")
+    void testKeyedByModel() {
+        InMemoryAgentStateStore stateStore = new InMemoryAgentStateStore();
+        EmbeddingCacheStore store = new AgentStateEmbeddingCacheStore(stateStore);
+        CountingEmbeddingModel other = new CountingEmbeddingModel("model-b");
+
+        CachingEmbeddingModel first =
+                CachingEmbeddingModel.builder().model(model).store(store).build();
+        CachingEmbeddingModel second =
+                CachingEmbeddingModel.builder().model(other).store(store).build();
+        first.embed(text("hello")).block();
+        second.embed(text("hello")).block();
+
+        assertEquals(1, model.calls.get());
+        assertEquals(1, other.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should serve evicted entries from the persistent tier")
+    void testPersistentTier() throws Exception {
+        try (FileEmbeddingCacheStore store =
+                FileEmbeddingCacheStore.open(tempDir.resolve("embeddings.cache"))) {
+            CachingEmbeddingModel cache =
+                    CachingEmbeddingModel.builder().model(model).maxEntries(1).store(store).build();
+            double[] a = cache.embed(text("a")).block();
+            cache.embed(text("b")).block();
+            assertEquals(1, cache.size());
+
+            assertArrayEquals(a, cache.embed(text("a")).block());
+            assertEquals(2, model.calls.get());
+            assertEquals(1, cache.getStoreHitCount());
+        }
+
+        // A new cache over the reopened file does not call the model at all
+        try (FileEmbeddingCacheStore store =
+                FileEmbeddingCacheStore.open(tempDir.resolve("embeddings.cache"))) {
+            CachingEmbeddingModel cache =
+                    CachingEmbeddingModel.builder().model(model).store(store).build();
+            StepVerifier.create(cache.embedBatch(List.of(text("a"), text("b"))))
+                    .assertNext(embeddings -> assertEquals(2, embeddings.size()))
+                    .verifyComplete();
+            assertEquals(2, model.calls.get());
+            assertEquals(1.0, cache.getHitRate());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not cache failed calls")
+    void testErrorsNotCached() {
+        CachingEmbeddingModel cache = CachingEmbeddingModel.builder().model(model).build();
+        model.fail = true;
+        StepVerifier.create(cache.embed(text("a"))).expectError(EmbeddingException.class).verify();
+
+        model.fail = false;
+        StepVerifier.create(cache.embed(text("a"))).expectNextCount(1).verifyComplete();
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should validate builder parameters")
+    void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> CachingEmbeddingModel.builder().build());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> CachingEmbeddingModel.builder().model(model).maxEntries(0).build());
+    }
+
+    private static TextBlock text(String text) {
+        return TextBlock.builder().text(text).build();
+    }
+
+    /** Embeds text to its character codes and counts the texts it is asked to embed. */
+    private static class CountingEmbeddingModel implements EmbeddingModel {
+        private final String name;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile boolean fail;
+
+        CountingEmbeddingModel(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Mono<double[]> embed(ContentBlock block) {
+            if (fail) {
+                return Mono.error(new EmbeddingException("Mock embedding error"));
+            }
+            calls.incrementAndGet();
+            String text = ((TextBlock) block).getText();
+            double[] embedding = new double[2];
+            embedding[0] = text.length();
+            embedding[1] = text.charAt(0);
+            return Mono.just(embedding);
+        }
+
+        @Override
+        public Mono<List<double[]>> embedBatch(List<ContentBlock> blocks) {
+            batchSizes.add(blocks.size());
+            List<double[]> embeddings = new ArrayList<>();
+            for (ContentBlock block : blocks) {
+                embeddings.add(embed(block).block());
+            }
+            return Mono.just(embeddings);
+        }
+
+        @Override
+        public String getModelName() {
+            return name;
+        }
+
+        @Override
+        public int getDimensions() {
+            return 2;
+        }
+    }
+}
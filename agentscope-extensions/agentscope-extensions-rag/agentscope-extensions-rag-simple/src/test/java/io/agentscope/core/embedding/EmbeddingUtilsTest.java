@@ -204,4 +204,58 @@ class EmbeddingUtilsTest {
 
         StepVerifier.create(result).expectError(EmbeddingException.class).verify();
     }
+
+    @Test
+    @DisplayName("Should split inputs into sequential requests of bounded size")
+    void testEmbedInBatches() {
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            inputs.add(i);
+        }
+        List<Integer> requestSizes = new ArrayList<>();
+
+        Mono<List<double[]>> result =
+                EmbeddingUtils.embedInBatches(
+                        inputs,
+                        3,
+                        chunk -> {
+                            requestSizes.add(chunk.size());
+                            List<double[]> vectors = new ArrayList<>();
+                            for (Integer value : chunk) {
+                                vectors.add(new double[] {value});
+                            }
+                            return Mono.just(vectors);
+                        });
+
+        StepVerifier.create(result)
+                .assertNext(
+                        vectors -> {
+                            assertEquals(7, vectors.size());
+                            for (int i = 0; i < 7; i++) {
+                                assertEquals(i, vectors.get(i)[0]);
+                            }
+                        })
+                .verifyComplete();
+        assertEquals(List.of(3, 3, 1), requestSizes);
+    }
+
+    @Test
+    @DisplayName("Should not issue a request for empty input")
+    void testEmbedInBatchesEmpty() {
+        AtomicInteger requests = new AtomicInteger();
+
+        Mono<List<double[]>> result =
+                EmbeddingUtils.embedInBatches(
+                        List.<String>of(),
+                        3,
+                        chunk -> {
+                            requests.incrementAndGet();
+                            return Mono.just(List.of());
+                        });
+
+        StepVerifier.create(result)
+                .assertNext(vectors -> assertEquals(0, vectors.size()))
+                .verifyComplete();
+        assertEquals(0, requests.get());
+    }
 }
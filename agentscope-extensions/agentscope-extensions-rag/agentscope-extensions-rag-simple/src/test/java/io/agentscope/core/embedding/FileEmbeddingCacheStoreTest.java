@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.embedding;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for FileEmbeddingCacheStore.
+ */
+@Tag("unit")
+@DisplayName("FileEmbeddingCacheStore Unit Tests")
+class FileEmbeddingCacheStoreTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    @DisplayName("Should read back embeddings after reopening")
+    void testReopen() throws IOException {
+        Path file = tempDir.resolve("cache/embeddings.cache");
+        try (FileEmbeddingCacheStore store = FileEmbeddingCacheStore.open(file)) {
+            store.put("k1", new double[] {0.1, 0.2, 0.3});
+            store.put("k2", new double[] {1.0});
+            store.put("k1", new double[] {0.4, 0.5, 0.6});
+            assertNull(store.get("missing"));
+        }
+
+        try (FileEmbeddingCacheStore store = FileEmbeddingCacheStore.open(file)) {
+            assertEquals(2, store.size());
+            assertArrayEquals(new double[] {0.4, 0.5, 0.6}, store.get("k1"));
+            assertArrayEquals(new double[] {1.0}, store.get("k2"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop a torn record at the end of the file")
+    void testTornTail() throws IOException {
+        Path file = tempDir.resolve("embeddings.cache");
+        try (FileEmbeddingCacheStore store = FileEmbeddingCacheStore.open(file)) {
+            store.put("k1", new double[] {1.0, 2.0});
+        }
+        long intact = Files.size(file);
+        Files.write(file, new byte[] {0, 2, 0, 0}, StandardOpenOption.APPEND);
+
+        try (FileEmbeddingCacheStore store = FileEmbeddingCacheStore.open(file)) {
+            assertEquals(1, store.size());
+            assertEquals(intact, Files.size(file));
+            store.put("k2", new double[] {3.0});
+        }
+        try (FileEmbeddingCacheStore store = FileEmbeddingCacheStore.open(file)) {
+            assertArrayEquals(new double[] {3.0}, store.get("k2"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject files that are not embedding caches")
+    void testRejectForeignFile() throws IOException {
+        Path file = tempDir.resolve("other.txt");
+        Files.writeString(file, "not a cache file");
+
+        assertThrows(IOException.class, () -> FileEmbeddingCacheStore.open(file));
+    }
+}
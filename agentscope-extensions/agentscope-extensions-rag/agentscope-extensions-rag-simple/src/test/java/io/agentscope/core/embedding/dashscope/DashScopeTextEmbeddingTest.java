@@ -18,7 +18,15 @@ package io.agentscope.core.embedding.dashscope;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.alibaba.dashscope.embeddings.TextEmbedding;
+import com.alibaba.dashscope.embeddings.TextEmbeddingOutput;
+import com.alibaba.dashscope.embeddings.TextEmbeddingParam;
+import com.alibaba.dashscope.embeddings.TextEmbeddingResult;
+import com.alibaba.dashscope.embeddings.TextEmbeddingResultItem;
 import io.agentscope.core.embedding.EmbeddingException;
 import io.agentscope.core.embedding.EmbeddingModel;
 import io.agentscope.core.message.ContentBlock;
@@ -27,9 +35,13 @@ import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.message.URLSource;
 import io.agentscope.core.model.ExecutionConfig;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.mockito.Mockito;
 import reactor.test.StepVerifier;
 
 /**
@@ -193,4 +205,74 @@ class DashScopeTextEmbeddingTest {
         assertNotNull(model);
         // Timeout will be applied when embed() is called
     }
+
+    @Test
+    @DisplayName("Should split a batch into requests of at most 10 texts")
+    void testEmbedBatchSplitsRequests() throws Exception {
+        DashScopeTextEmbedding model =
+                DashScopeTextEmbedding.builder()
+                        .apiKey(TEST_API_KEY)
+                        .modelName(TEST_MODEL_NAME)
+                        .dimensions(2)
+                        .executionConfig(ExecutionConfig.builder().maxAttempts(1).build())
+                        .build();
+
+        List<Integer> requestSizes = new ArrayList<>();
+        try (MockedConstruction<TextEmbedding> mockedConstruction =
+                Mockito.mockConstruction(
+                        TextEmbedding.class,
+                        (mock, context) ->
+                                when(mock.call(any(TextEmbeddingParam.class)))
+                                        .thenAnswer(
+                                                invocation -> {
+                                                    TextEmbeddingParam param =
+                                                            invocation.getArgument(0);
+                                                    List<String> texts = new ArrayList<>();
+                                                    param.getInput()
+                                                            .getAsJsonArray("texts")
+                                                            .forEach(
+                                                                    text ->
+                                                                            texts.add(
+                                                                                    text
+                                                                                            .getAsString()));
+                                                    requestSizes.add(texts.size());
+                                                    return result(texts);
+                                                }))) {
+
+            List<ContentBlock> blocks = new ArrayList<>();
+            for (int i = 0; i < 23; i++) {
+                blocks.add(TextBlock.builder().text(String.valueOf(i)).build());
+            }
+
+            StepVerifier.create(model.embedBatch(blocks))
+                    .assertNext(
+                            embeddings -> {
+                                assertEquals(23, embeddings.size());
+                                for (int i = 0; i < 23; i++) {
+                                    assertEquals(i, embeddings.get(i)[0], 0.001);
+                                }
+                            })
+                    .verifyComplete();
+        }
+        assertEquals(List.of(10, 10, 3), requestSizes);
+    }
+
+    /**
+     * Builds a response whose vectors encode the input text, listed in reverse order with their
+     * text index set.
+     */
+    private static TextEmbeddingResult result(List<String> texts) {
+        List<TextEmbeddingResultItem> items = new ArrayList<>();
+        for (int i = texts.size() - 1; i >= 0; i--) {
+            TextEmbeddingResultItem item = new TextEmbeddingResultItem();
+            item.setTextIndex(i);
+            item.setEmbedding(List.of(Double.parseDouble(texts.get(i)), 0.0));
+            items.add(item);
+        }
+        TextEmbeddingOutput output = new TextEmbeddingOutput();
+        output.setEmbeddings(items);
+        TextEmbeddingResult result = mock(TextEmbeddingResult.class);
+        when(result.getOutput()).thenReturn(output);
+        return result;
+    }
 }
@@ -23,10 +23,13 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import io.agentscope.core.embedding.EmbeddingException;
+import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.model.ExecutionConfig;
 import io.agentscope.extensions.model.ollama.OllamaHttpClient;
+import io.agentscope.extensions.model.ollama.dto.OllamaEmbeddingRequest;
 import io.agentscope.extensions.model.ollama.dto.OllamaEmbeddingResponse;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -273,4 +276,76 @@ class OllamaTextEmbeddingEmbedTest {
                     .verify();
         }
     }
+
+    @Test
+    @DisplayName("Should embed a batch with one request")
+    void testEmbedBatch() {
+        List<float[]> mockEmbeddings =
+                Arrays.asList(new float[] {1.0f, 1.0f}, new float[] {2.0f, 2.0f});
+
+        OllamaEmbeddingResponse mockResponse = mock(OllamaEmbeddingResponse.class);
+        when(mockResponse.getEmbeddings()).thenReturn(mockEmbeddings);
+
+        List<List<String>> requestInputs = new ArrayList<>();
+        try (MockedConstruction<OllamaHttpClient> mockedConstruction =
+                Mockito.mockConstruction(
+                        OllamaHttpClient.class,
+                        (mock, context) ->
+                                when(mock.embed(any()))
+                                        .thenAnswer(
+                                                invocation -> {
+                                                    OllamaEmbeddingRequest request =
+                                                            invocation.getArgument(0);
+                                                    requestInputs.add(request.getInput());
+                                                    return mockResponse;
+                                                }))) {
+
+            List<ContentBlock> blocks =
+                    List.of(
+                            TextBlock.builder().text("first").build(),
+                            TextBlock.builder().text("second").build());
+
+            StepVerifier.create(model.embedBatch(blocks))
+                    .assertNext(
+                            embeddings -> {
+                                assertEquals(2, embeddings.size());
+                                assertEquals(1.0, embeddings.get(0)[0], 0.001);
+                                assertEquals(2.0, embeddings.get(1)[0], 0.001);
+                            })
+                    .verifyComplete();
+
+            assertEquals(List.of(List.of("first", "second")), requestInputs);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail a batch when the response has fewer embeddings than inputs")
+    void testEmbedBatchCountMismatch() {
+        List<float[]> mockEmbeddings = Arrays.asList(new float[] {1.0f, 1.0f});
+
+        OllamaEmbeddingResponse mockResponse = mock(OllamaEmbeddingResponse.class);
+        when(mockResponse.getEmbeddings()).thenReturn(mockEmbeddings);
+
+        try (MockedConstruction<OllamaHttpClient> mockedConstruction =
+                Mockito.mockConstruction(
+                        OllamaHttpClient.class,
+                        (mock, context) -> when(mock.embed(any())).thenReturn(mockResponse))) {
+
+            List<ContentBlock> blocks =
+                    List.of(
+                            TextBlock.builder().text("first").build(),
+                            TextBlock.builder().text("second").build());
+
+            StepVerifier.create(model.embedBatch(blocks))
+                    .expectErrorSatisfies(
+                            throwable -> {
+                                assertTrue(throwable instanceof EmbeddingException);
+                                assertTrue(
+                                        throwable
+                                                .getMessage()
+                                                .contains("Expected 2 embeddings in response"));
+                            })
+                    .verify();
+        }
+    }
 }
@@ -20,6 +20,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.openai.client.OpenAIClient;
@@ -29,6 +31,7 @@ import com.openai.models.embeddings.Embedding;
 import com.openai.models.embeddings.EmbeddingCreateParams;
 import com.openai.services.blocking.EmbeddingService;
 import io.agentscope.core.embedding.EmbeddingException;
+import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.model.ExecutionConfig;
 import java.util.Arrays;
@@ -314,4 +317,110 @@ class OpenAITextEmbeddingEmbedTest {
                     .verify();
         }
     }
+
+    @Test
+    @DisplayName("Should embed a batch with one request and order results by index")
+    void testEmbedBatch() {
+        // Results come back out of input order
+        Embedding second = mock(Embedding.class);
+        when(second.index()).thenReturn(1L);
+        when(second.embedding()).thenReturn(Arrays.asList(2.0f, 2.0f));
+        Embedding first = mock(Embedding.class);
+        when(first.index()).thenReturn(0L);
+        when(first.embedding()).thenReturn(Arrays.asList(1.0f, 1.0f));
+
+        CreateEmbeddingResponse mockResponse = mock(CreateEmbeddingResponse.class);
+        when(mockResponse.data()).thenReturn(Arrays.asList(second, first));
+
+        try (MockedStatic<OpenAIOkHttpClient> mockedClient =
+                Mockito.mockStatic(OpenAIOkHttpClient.class)) {
+
+            OpenAIOkHttpClient.Builder mockBuilder = mock(OpenAIOkHttpClient.Builder.class);
+            OpenAIClient mockOpenAIClient = mock(OpenAIClient.class);
+            EmbeddingService mockEmbeddings = mock(EmbeddingService.class);
+
+            when(mockBuilder.build()).thenReturn(mockOpenAIClient);
+            when(mockBuilder.apiKey(any())).thenReturn(mockBuilder);
+            when(mockBuilder.baseUrl(any(String.class))).thenReturn(mockBuilder);
+            when(mockBuilder.putHeader(any(), any())).thenReturn(mockBuilder);
+
+            mockedClient.when(OpenAIOkHttpClient::builder).thenReturn(mockBuilder);
+
+            when(mockOpenAIClient.embeddings()).thenReturn(mockEmbeddings);
+            when(mockEmbeddings.create(any(EmbeddingCreateParams.class))).thenReturn(mockResponse);
+
+            List<ContentBlock> blocks =
+                    List.of(
+                            TextBlock.builder().text("first").build(),
+                            TextBlock.builder().text("second").build());
+
+            StepVerifier.create(model.embedBatch(blocks))
+                    .assertNext(
+                            embeddings -> {
+                                assertEquals(2, embeddings.size());
+                                assertEquals(1.0, embeddings.get(0)[0], 0.001);
+                                assertEquals(2.0, embeddings.get(1)[0], 0.001);
+                            })
+                    .verifyComplete();
+
+            verify(mockEmbeddings, times(1)).create(any(EmbeddingCreateParams.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail a batch when the response has fewer embeddings than inputs")
+    void testEmbedBatchCountMismatch() {
+        Embedding only = mock(Embedding.class);
+        when(only.embedding()).thenReturn(Arrays.asList(1.0f, 1.0f));
+
+        CreateEmbeddingResponse mockResponse = mock(CreateEmbeddingResponse.class);
+        when(mockResponse.data()).thenReturn(List.of(only));
+
+        try (MockedStatic<OpenAIOkHttpClient> mockedClient =
+                Mockito.mockStatic(OpenAIOkHttpClient.class)) {
+
+            OpenAIOkHttpClient.Builder mockBuilder = mock(OpenAIOkHttpClient.Builder.class);
+            OpenAIClient mockOpenAIClient = mock(OpenAIClient.class);
+            EmbeddingService mockEmbeddings = mock(EmbeddingService.class);
+
+            when(mockBuilder.build()).thenReturn(mockOpenAIClient);
+            when(mockBuilder.apiKey(any())).thenReturn(mockBuilder);
+            when(mockBuilder.baseUrl(any(String.class))).thenReturn(mockBuilder);
+            when(mockBuilder.putHeader(any(), any())).thenReturn(mockBuilder);
+
+            mockedClient.when(OpenAIOkHttpClient::builder).thenReturn(mockBuilder);
+
+            when(mockOpenAIClient.embeddings()).thenReturn(mockEmbeddings);
+            when(mockEmbeddings.create(any(EmbeddingCreateParams.class))).thenReturn(mockResponse);
+
+            List<ContentBlock> blocks =
+                    List.of(
+                            TextBlock.builder().text("first").build(),
+                            TextBlock.builder().text("second").build());
+
+            StepVerifier.create(model.embedBatch(blocks))
+                    .expectErrorSatisfies(
+                            throwable -> {
+                                assertTrue(throwable instanceof EmbeddingException);
+                                assertTrue(
+                                        throwable
+                                                .getMessage()
+                                                .contains("Expected 2 embeddings in response"));
+                            })
+                    .verify();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a batch containing an empty text before calling the API")
+    void testEmbedBatchInvalidBlock() {
+        List<ContentBlock> blocks =
+                List.of(
+                        TextBlock.builder().text("first").build(),
+                        TextBlock.builder().text(" ").build());
+
+        StepVerifier.create(model.embedBatch(blocks))
+                .expectError(EmbeddingException.class)
+                .verify();
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.knowledge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for IngestionConfig.
+ */
+@Tag("unit")
+@DisplayName("IngestionConfig Unit Tests")
+class IngestionConfigTest {
+
+    @Test
+    @DisplayName("Should use default values")
+    void testDefaults() {
+        IngestionConfig config = IngestionConfig.defaults();
+
+        assertEquals(IngestionConfig.DEFAULT_BATCH_SIZE, config.getBatchSize());
+        assertEquals(IngestionConfig.DEFAULT_CONCURRENCY, config.getConcurrency());
+        assertEquals(IngestionConfig.DEFAULT_FLUSH_SIZE, config.getFlushSize());
+        assertEquals(0, config.getMaxRequestsPerSecond());
+        assertEquals(Duration.ZERO, config.getRequestInterval());
+        assertFalse(config.isSkipExisting());
+    }
+
+    @Test
+    @DisplayName("Should derive the request interval from the rate limit")
+    void testRequestInterval() {
+        IngestionConfig config = IngestionConfig.builder().maxRequestsPerSecond(4).build();
+
+        assertEquals(Duration.ofMillis(250), config.getRequestInterval());
+    }
+
+    @Test
+    @DisplayName("Should copy values through mutate")
+    void testMutate() {
+        IngestionConfig config =
+                IngestionConfig.builder()
+                        .batchSize(8)
+                        .concurrency(2)
+                        .maxRequestsPerSecond(10)
+                        .flushSize(100)
+                        .skipExisting(true)
+                        .build();
+
+        IngestionConfig copy = config.mutate().concurrency(3).build();
+
+        assertEquals(8, copy.getBatchSize());
+        assertEquals(3, copy.getConcurrency());
+        assertEquals(10, copy.getMaxRequestsPerSecond());
+        assertEquals(100, copy.getFlushSize());
+        assertTrue(copy.isSkipExisting());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid values")
+    void testInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> IngestionConfig.builder().batchSize(0));
+        assertThrows(
+                IllegalArgumentException.class, () -> IngestionConfig.builder().concurrency(0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> IngestionConfig.builder().maxRequestsPerSecond(-1));
+        assertThrows(IllegalArgumentException.class, () -> IngestionConfig.builder().flushSize(0));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.knowledge;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for RankFusion.
+ */
+@Tag("unit")
+@DisplayName("RankFusion Unit Tests")
+class RankFusionTest {
+
+    @Test
+    @DisplayName("Should sum reciprocal ranks across rankings")
+    void testReciprocalRank() {
+        Document a = createDocument("a");
+        Document b = createDocument("b");
+        Document c = createDocument("c");
+        a.setEmbedding(new double[] {1.0});
+
+        List<Document> fused =
+                RankFusion.reciprocalRank(List.of(List.of(a, b), List.of(c, a)), 60, 10);
+
+        assertEquals(3, fused.size());
+        assertEquals(a.getId(), fused.get(0).getId());
+        assertEquals(1.0 / 61 + 1.0 / 62, fused.get(0).getScore(), 1e-12);
+        // The first ranking supplies the copy, with its embedding
+        assertArrayEquals(new double[] {1.0}, fused.get(0).getEmbedding());
+        // c ranked first in its list, b second in its
+        assertEquals(c.getId(), fused.get(1).getId());
+        assertEquals(b.getId(), fused.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Should apply the limit and leave inputs unchanged")
+    void testLimit() {
+        Document a = createDocument("a");
+        a.setScore(0.9);
+
+        List<Document> fused =
+                RankFusion.reciprocalRank(List.of(List.of(a, createDocument("b"))), 60, 1);
+
+        assertEquals(1, fused.size());
+        assertEquals(0.9, a.getScore());
+    }
+
+    @Test
+    @DisplayName("Should validate parameters")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> RankFusion.reciprocalRank(null, 60, 5));
+        assertThrows(
+                IllegalArgumentException.class, () -> RankFusion.reciprocalRank(List.of(), 0, 5));
+        assertThrows(
+                IllegalArgumentException.class, () -> RankFusion.reciprocalRank(List.of(), 60, 0));
+    }
+
+    private Document createDocument(String docId) {
+        TextBlock textBlock = TextBlock.builder().text(docId).build();
+        return new Document(new DocumentMetadata(textBlock, docId, "0"));
+    }
+}
@@ -17,8 +17,10 @@ package io.agentscope.core.rag.knowledge;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
 import io.agentscope.core.embedding.EmbeddingModel;
 import io.agentscope.core.message.ContentBlock;
@@ -26,14 +28,21 @@ import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.rag.model.Document;
 import io.agentscope.core.rag.model.DocumentMetadata;
 import io.agentscope.core.rag.model.RetrieveConfig;
+import io.agentscope.core.rag.model.RetrieveMode;
 import io.agentscope.core.rag.store.InMemoryStore;
-import java.util.HashMap;
+import io.agentscope.core.rag.store.KeywordIndexedStore;
+import io.agentscope.core.rag.store.VDBStoreBase;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -282,12 +291,244 @@ class SimpleKnowledgeTest {
         return new Document(metadata);
     }
 
+    @Test
+    @DisplayName("Should embed in batches and flush to the store in windows")
+    void testAddDocumentsInBatchesAndWindows() {
+        List<Integer> flushSizes = new CopyOnWriteArrayList<>();
+        SimpleKnowledge kb =
+                SimpleKnowledge.builder()
+                        .embeddingModel(embeddingModel)
+                        .embeddingStore(recordingStore(flushSizes))
+                        .ingestionConfig(
+                                IngestionConfig.builder()
+                                        .batchSize(4)
+                                        .concurrency(2)
+                                        .flushSize(10)
+                                        .build())
+                        .build();
+
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            documents.add(createDocument("doc" + i, "content " + i));
+        }
+
+        StepVerifier.create(kb.addDocuments(documents)).verifyComplete();
+
+        assertEquals(List.of(4, 4, 4, 4, 4, 4, 1), embeddingModel.batchSizes);
+        assertEquals(List.of(10, 10, 5), flushSizes);
+        for (Document doc : documents) {
+            assertNotNull(doc.getEmbedding());
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip embedding documents the store already holds")
+    void testAddDocumentsSkipExisting() {
+        SimpleKnowledge kb =
+                SimpleKnowledge.builder()
+                        .embeddingModel(embeddingModel)
+                        .embeddingStore(vectorStore)
+                        .ingestionConfig(
+                                IngestionConfig.builder().batchSize(4).skipExisting(true).build())
+                        .build();
+        List<Document> first = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            first.add(createDocument("doc" + i, "content " + i));
+        }
+        StepVerifier.create(kb.addDocuments(first)).verifyComplete();
+
+        List<Document> second = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            second.add(createDocument("doc" + i, "content " + i));
+        }
+        StepVerifier.create(kb.addDocuments(second)).verifyComplete();
+        StepVerifier.create(kb.addDocuments(second.subList(0, 4))).verifyComplete();
+
+        // Only the three new documents of the second call were embedded
+        assertEquals(List.of(3, 1, 2), embeddingModel.batchSizes);
+        assertEquals(6, vectorStore.size());
+    }
+
+    @Test
+    @DisplayName("Should ingest a document stream and skip documents without content")
+    void testAddDocumentStream() {
+        Document withoutContent = mock(Document.class);
+        Flux<Document> documents =
+                Flux.just(
+                        createDocument("doc1", "Machine learning"),
+                        withoutContent,
+                        createDocument("doc2", "Java programming"));
+
+        StepVerifier.create(knowledgeBase.addDocumentStream(documents)).verifyComplete();
+
+        assertEquals(List.of(2), embeddingModel.batchSizes);
+        RetrieveConfig config = RetrieveConfig.builder().limit(5).scoreThreshold(0.0).build();
+        StepVerifier.create(knowledgeBase.retrieve("Machine learning", config))
+                .assertNext(results -> assertEquals(2, results.size()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should space embedding requests by the configured rate")
+    void testAddDocumentsRateLimited() {
+        SimpleKnowledge kb =
+                SimpleKnowledge.builder()
+                        .embeddingModel(embeddingModel)
+                        .embeddingStore(vectorStore)
+                        .ingestionConfig(
+                                IngestionConfig.builder()
+                                        .batchSize(1)
+                                        .concurrency(4)
+                                        .maxRequestsPerSecond(20)
+                                        .build())
+                        .build();
+
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            documents.add(createDocument("doc" + i, "content " + i));
+        }
+
+        long start = System.nanoTime();
+        kb.addDocuments(documents).block();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Five requests at 20/s: the last one starts at least 4 * 50ms after the first
+        assertEquals(5, embeddingModel.batchSizes.size());
+        assertTrue(elapsedMillis >= 190, "elapsed " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Should propagate batch embedding errors")
+    void testAddDocumentsBatchError() {
+        embeddingModel.setShouldThrowError(true);
+
+        StepVerifier.create(knowledgeBase.addDocuments(List.of(createDocument("doc1", "content"))))
+                .expectError(RuntimeException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should not embed unchanged content again when caching is enabled")
+    void testReingestUsesEmbeddingCache() {
+        SimpleKnowledge cached =
+                SimpleKnowledge.builder()
+                        .embeddingModel(embeddingModel)
+                        .embeddingStore(vectorStore)
+                        .cacheEmbeddings(true)
+                        .build();
+        List<Document> documents =
+                List.of(createDocument("doc1", "Content 1"), createDocument("doc2", "Content 2"));
+        StepVerifier.create(cached.addDocuments(documents)).verifyComplete();
+        StepVerifier.create(
+                        cached.addDocuments(
+                                List.of(
+                                        createDocument("doc1", "Content 1"),
+                                        createDocument("doc3", "Content 3"))))
+                .verifyComplete();
+
+        assertEquals(List.of(2, 1), embeddingModel.batchSizes);
+        assertEquals(1, cached.getEmbeddingCache().getHitCount());
+        assertNull(knowledgeBase.getEmbeddingCache());
+    }
+
+    @Test
+    @DisplayName("Should rank by keywords in keyword mode")
+    void testRetrieveKeywordMode() {
+        SimpleKnowledge kb = keywordKnowledge();
+        StepVerifier.create(
+                        kb.addDocuments(
+                                List.of(
+                                        createDocument("doc1", "Connection reset: ERR_5021"),
+                                        createDocument("doc2", "Timeout while reading"),
+                                        createDocument("doc3", "Disk full"))))
+                .verifyComplete();
+
+        RetrieveConfig config = RetrieveConfig.builder().mode(RetrieveMode.KEYWORD).build();
+        StepVerifier.create(kb.retrieve("err_5021", config))
+                .assertNext(
+                        results -> {
+                            assertEquals(1, results.size());
+                            assertEquals("doc1", results.get(0).getMetadata().getDocId());
+                        })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fuse dense and keyword rankings in hybrid mode")
+    void testRetrieveHybridMode() {
+        SimpleKnowledge kb = keywordKnowledge();
+        StepVerifier.create(
+                        kb.addDocuments(
+                                List.of(
+                                        createDocument("doc1", "Ticket PROJ-4711 is blocked"),
+                                        createDocument("doc2", "Release checklist"),
+                                        createDocument("doc3", "Team meeting notes"))))
+                .verifyComplete();
+
+        RetrieveConfig config =
+                RetrieveConfig.builder()
+                        .mode(RetrieveMode.HYBRID)
+                        .scoreThreshold(0.0)
+                        .limit(3)
+                        .build();
+        StepVerifier.create(kb.retrieve("PROJ-4711", config))
+                .assertNext(
+                        results -> {
+                            assertEquals(3, results.size());
+                            // Only doc1 is in both rankings
+                            assertEquals("doc1", results.get(0).getMetadata().getDocId());
+                            for (int i = 1; i < results.size(); i++) {
+                                assertTrue(
+                                        results.get(i - 1).getScore() >= results.get(i).getScore());
+                            }
+                        })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject keyword retrieval without a keyword index")
+    void testRetrieveHybridWithoutIndex() {
+        RetrieveConfig config = RetrieveConfig.builder().mode(RetrieveMode.HYBRID).build();
+        StepVerifier.create(knowledgeBase.retrieve("query", config))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    private SimpleKnowledge keywordKnowledge() {
+        return SimpleKnowledge.builder()
+                .embeddingModel(embeddingModel)
+                .embeddingStore(KeywordIndexedStore.builder().store(vectorStore).build())
+                .build();
+    }
+
+    /** Wraps the test store and records the size of each {@code add} call. */
+    private VDBStoreBase recordingStore(List<Integer> flushSizes) {
+        return new VDBStoreBase() {
+            @Override
+            public Mono<Void> add(List<Document> documents) {
+                flushSizes.add(documents.size());
+                return vectorStore.add(documents);
+            }
+
+            @Override
+            public Mono<List<Document>> search(SearchDocumentDto searchDocumentDto) {
+                return vectorStore.search(searchDocumentDto);
+            }
+
+            @Override
+            public Mono<Boolean> delete(String id) {
+                return vectorStore.delete(id);
+            }
+        };
+    }
+
     /**
      * Mock EmbeddingModel for testing.
      */
     private static class MockEmbeddingModel implements EmbeddingModel {
         private final int dimensions;
-        private final Map<String, double[]> embeddings = new HashMap<>();
+        private final Map<String, double[]> embeddings = new ConcurrentHashMap<>();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
         private boolean shouldThrowError = false;
 
         MockEmbeddingModel(int dimensions) {
@@ -316,6 +557,12 @@ class SimpleKnowledgeTest {
             return Mono.error(new UnsupportedOperationException("Unsupported content block type"));
         }
 
+        @Override
+        public Mono<List<double[]>> embedBatch(List<ContentBlock> blocks) {
+            batchSizes.add(blocks.size());
+            return EmbeddingModel.super.embedBatch(blocks);
+        }
+
         @Override
         public String getModelName() {
             return "mock-embedding-model";
@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.agentscope.core.rag.exception.ReaderException;
+import io.agentscope.core.rag.model.Document;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -102,4 +103,32 @@ class PDFReaderTest {
 
         StepVerifier.create(reader.read(input)).expectError(ReaderException.class).verify();
     }
+
+    @Test
+    @DisplayName("Should stream the same chunks as read page by page")
+    void testStreamMatchesRead() {
+        PDFReader reader = new PDFReader(200, SplitStrategy.PARAGRAPH, 20);
+        ReaderInput input = ReaderInput.fromPath("src/test/resources/rag-test.pdf");
+
+        List<Document> read = reader.read(input).block();
+        List<Document> streamed = reader.stream(input).collectList().block();
+
+        assertFalse(read.isEmpty());
+        assertEquals(read.size(), streamed.size());
+        for (int i = 0; i < read.size(); i++) {
+            assertEquals(
+                    read.get(i).getMetadata().getContentText(),
+                    streamed.get(i).getMetadata().getContentText());
+            assertEquals(read.get(i).getId(), streamed.get(i).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should emit error when streaming a missing PDF")
+    void testStreamNonExistentPDFFile() {
+        PDFReader reader = new PDFReader();
+        ReaderInput input = ReaderInput.fromString("/non/existent/file.pdf");
+
+        StepVerifier.create(reader.stream(input)).expectError(ReaderException.class).verify();
+    }
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for StreamingTextChunker.
+ */
+@Tag("unit")
+@DisplayName("StreamingTextChunker Unit Tests")
+class StreamingTextChunkerTest {
+
+    @Test
+    @DisplayName("Should produce the same chunks as TextChunker for any split of the input")
+    void testMatchesTextChunker() {
+        Random random = new Random(42);
+        String alphabet = "ab c\n\n \t\rxyz.\n";
+        for (int iteration = 0; iteration < 2000; iteration++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(200);
+            for (int i = 0; i < length; i++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String text = builder.toString();
+            int chunkSize = 1 + random.nextInt(20);
+            int overlapSize = random.nextInt(chunkSize);
+            SplitStrategy strategy =
+                    SplitStrategy.values()[random.nextInt(SplitStrategy.values().length)];
+
+            List<String> chunks = new ArrayList<>();
+            StreamingTextChunker chunker =
+                    new StreamingTextChunker(chunkSize, strategy, overlapSize, chunks::add);
+            int position = 0;
+            while (position < text.length()) {
+                int end = Math.min(text.length(), position + random.nextInt(7));
+                chunker.accept(text.substring(position, end));
+                position = end;
+            }
+            chunker.finish();
+
+            assertEquals(
+                    TextChunker.chunkText(text, chunkSize, strategy, overlapSize),
+                    chunks,
+                    () -> strategy + " " + chunkSize + "/" + overlapSize + ": " + text);
+        }
+    }
+
+    @Test
+    @DisplayName("Should emit paragraph chunks before the input ends")
+    void testEmitsIncrementally() {
+        List<String> chunks = new ArrayList<>();
+        StreamingTextChunker chunker =
+                new StreamingTextChunker(20, SplitStrategy.PARAGRAPH, 0, chunks::add);
+
+        chunker.accept("First paragraph.\n\n");
+        assertEquals(List.of(), chunks);
+
+        // The second paragraph cannot share the chunk once it is longer than one character
+        chunker.accept("Second");
+        assertEquals(List.of("First paragraph."), chunks);
+
+        chunker.finish();
+        assertEquals(List.of("First paragraph.", "Second"), chunks);
+    }
+
+    @Test
+    @DisplayName("Should bound buffering by the chunk size for text without paragraph breaks")
+    void testLongParagraph() {
+        List<String> chunks = new ArrayList<>();
+        StreamingTextChunker chunker =
+                new StreamingTextChunker(10, SplitStrategy.PARAGRAPH, 2, chunks::add);
+
+        for (int i = 0; i < 1000; i++) {
+            chunker.accept("abcdefgh");
+        }
+        List<String> expected =
+                TextChunker.chunkText("abcdefgh".repeat(1000), 10, SplitStrategy.PARAGRAPH, 2);
+        // Everything but the last window is out before the end of the input
+        assertEquals(expected.size() - 1, chunks.size());
+
+        chunker.finish();
+        assertEquals(expected, chunks);
+    }
+
+    @Test
+    @DisplayName("Should handle empty and blank text like TextChunker")
+    void testEmptyAndBlankText() {
+        for (SplitStrategy strategy : SplitStrategy.values()) {
+            for (String text : List.of("", " \n\n \n")) {
+                List<String> chunks = new ArrayList<>();
+                StreamingTextChunker chunker =
+                        new StreamingTextChunker(10, strategy, 0, chunks::add);
+                chunker.accept(text);
+                chunker.finish();
+                assertEquals(TextChunker.chunkText(text, 10, strategy, 0), chunks);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the source only as chunks are requested")
+    void testChunkReadsOnDemand() {
+        String text = "0123456789".repeat(10_000);
+        AtomicLong charsRead = new AtomicLong();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        StepVerifier.create(
+                        StreamingTextChunker.chunk(
+                                        () -> tracking(text, charsRead, closed),
+                                        100,
+                                        SplitStrategy.CHARACTER,
+                                        0)
+                                .take(2))
+                .expectNext("0123456789".repeat(10), "0123456789".repeat(10))
+                .verifyComplete();
+
+        assertTrue(charsRead.get() < text.length());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("Should chunk a character stream")
+    void testChunkReader() {
+        String text = "First paragraph.\n\nSecond paragraph.";
+
+        StepVerifier.create(
+                        StreamingTextChunker.chunk(
+                                        () -> new StringReader(text),
+                                        20,
+                                        SplitStrategy.PARAGRAPH,
+                                        0)
+                                .collectList())
+                .expectNext(TextChunker.chunkText(text, 20, SplitStrategy.PARAGRAPH, 0))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should propagate read failures")
+    void testChunkReadFailure() {
+        java.io.Reader failing =
+                new java.io.Reader() {
+                    @Override
+                    public int read(char[] buffer, int offset, int length) throws IOException {
+                        throw new IOException("boom");
+                    }
+
+                    @Override
+                    public void close() {}
+                };
+
+        StepVerifier.create(
+                        StreamingTextChunker.chunk(() -> failing, 10, SplitStrategy.CHARACTER, 0))
+                .expectErrorMatches(e -> e.getCause() instanceof IOException)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should validate parameters")
+    void testInvalidParameters() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new StreamingTextChunker(0, SplitStrategy.CHARACTER, 0, chunk -> {}));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new StreamingTextChunker(10, SplitStrategy.CHARACTER, 10, chunk -> {}));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new StreamingTextChunker(10, null, 0, chunk -> {}));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new StreamingTextChunker(10, SplitStrategy.CHARACTER, 0, null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> StreamingTextChunker.chunk(null, 10, SplitStrategy.CHARACTER, 0));
+    }
+
+    @Test
+    @DisplayName("Should reject input after finish")
+    void testAcceptAfterFinish() {
+        StreamingTextChunker chunker =
+                new StreamingTextChunker(10, SplitStrategy.CHARACTER, 0, chunk -> {});
+        chunker.finish();
+
+        assertThrows(IllegalStateException.class, () -> chunker.accept("text"));
+    }
+
+    private static java.io.Reader tracking(
+            String text, AtomicLong charsRead, AtomicBoolean closed) {
+        return new StringReader(text) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    charsRead.addAndGet(read);
+                }
+                return read;
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+                super.close();
+            }
+        };
+    }
+}
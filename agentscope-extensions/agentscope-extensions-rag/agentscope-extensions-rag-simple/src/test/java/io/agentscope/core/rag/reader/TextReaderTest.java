@@ -22,10 +22,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.agentscope.core.rag.exception.ReaderException;
 import io.agentscope.core.rag.model.Document;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import reactor.test.StepVerifier;
 
 /**
@@ -228,4 +231,58 @@ class TextReaderTest {
         // Original text should be contained in reconstruction (approximately)
         assertTrue(reconstructed.length() > 0);
     }
+
+    @Test
+    @DisplayName("Should stream the same chunks as read")
+    void testStreamMatchesRead() {
+        TextReader reader = new TextReader(40, SplitStrategy.PARAGRAPH, 5);
+        String text =
+                "First paragraph about streaming.\n\nSecond paragraph.\n\n"
+                        + "Third paragraph, long enough to be split into several chunks.";
+        ReaderInput input = ReaderInput.fromString(text);
+
+        List<Document> read = reader.read(input).block();
+        List<Document> streamed = reader.stream(input).collectList().block();
+
+        assertNotNull(read);
+        assertNotNull(streamed);
+        assertEquals(read.size(), streamed.size());
+        for (int i = 0; i < read.size(); i++) {
+            assertEquals(
+                    read.get(i).getMetadata().getContentText(),
+                    streamed.get(i).getMetadata().getContentText());
+            assertEquals(String.valueOf(i), streamed.get(i).getMetadata().getChunkId());
+            assertEquals(
+                    streamed.get(0).getMetadata().getDocId(),
+                    streamed.get(i).getMetadata().getDocId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream the file of a path input")
+    void testStreamFromPath(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("large.txt");
+        String paragraph = "Lorem ipsum dolor sit amet, consectetur adipiscing elit.";
+        Files.writeString(file, (paragraph + "\n\n").repeat(2000));
+        TextReader reader = new TextReader(200, SplitStrategy.PARAGRAPH, 20);
+
+        List<Document> streamed = reader.stream(ReaderInput.fromPath(file)).collectList().block();
+
+        assertNotNull(streamed);
+        List<String> expected =
+                TextChunker.chunkText(Files.readString(file), 200, SplitStrategy.PARAGRAPH, 20);
+        assertEquals(expected.size(), streamed.size());
+        assertEquals(expected.get(0), streamed.get(0).getMetadata().getContentText());
+        assertEquals(
+                expected.get(expected.size() - 1),
+                streamed.get(streamed.size() - 1).getMetadata().getContentText());
+    }
+
+    @Test
+    @DisplayName("Should emit error when streaming null input")
+    void testStreamNullInput() {
+        TextReader reader = new TextReader();
+
+        StepVerifier.create(reader.stream(null)).expectError(ReaderException.class).verify();
+    }
 }
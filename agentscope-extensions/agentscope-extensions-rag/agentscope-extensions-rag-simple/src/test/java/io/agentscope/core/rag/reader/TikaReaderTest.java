@@ -188,4 +188,31 @@ class TikaReaderTest {
 
         mockStatic.close();
     }
+
+    @Test
+    @DisplayName("Should stream document chunks")
+    void testStreamDocument() {
+        TikaReader reader = new TikaReader();
+        ReaderInput input = ReaderInput.fromPath("src/test/resources/rag-test.docx");
+
+        List<Document> documents = reader.stream(input).collectList().block();
+
+        assertNotNull(documents);
+        assertFalse(documents.isEmpty());
+        for (int i = 0; i < documents.size(); i++) {
+            Document doc = documents.get(i);
+            assertEquals(String.valueOf(i), doc.getMetadata().getChunkId());
+            assertEquals(
+                    ReaderUtils.generateDocIdSHA256(input.asString()),
+                    doc.getMetadata().getDocId());
+            assertFalse(doc.getMetadata().getContentText().isBlank());
+        }
+    }
+
+    @Test
+    @DisplayName("Should emit error when streaming null input")
+    void testStreamNullInput() {
+        TikaReader reader = new TikaReader();
+        StepVerifier.create(reader.stream(null)).expectError(ReaderException.class).verify();
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for Bm25Index.
+ */
+@Tag("unit")
+@DisplayName("Bm25Index Unit Tests")
+class Bm25IndexTest {
+
+    private Bm25Index index;
+
+    @BeforeEach
+    void setUp() {
+        index = Bm25Index.builder().build();
+    }
+
+    @Test
+    @DisplayName("Should split text into lowercase terms")
+    void testTokenize() {
+        assertEquals(
+                List.of("err_conn_reset", "on", "host", "10", "0", "0", "1"),
+                Bm25Index.tokenize("ERR_CONN_RESET on host-10.0.0.1"));
+        assertEquals(List.of("检", "索", "rag"), Bm25Index.tokenize("检索 RAG"));
+        assertTrue(Bm25Index.tokenize(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank documents with rarer and more frequent terms higher")
+    void testSearchRanking() {
+        Document rare = createDocument("a", "payment failed with code E4021");
+        Document common = createDocument("b", "payment succeeded");
+        Document repeated = createDocument("c", "payment payment payment retried");
+        index.add(List.of(rare, common, repeated));
+
+        List<Document> results = index.search("payment E4021", 10, null);
+
+        assertEquals(3, results.size());
+        assertEquals(rare.getId(), results.get(0).getId());
+        assertEquals(repeated.getId(), results.get(1).getId());
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+        assertNull(results.get(0).getEmbedding());
+    }
+
+    @Test
+    @DisplayName("Should respect the limit and vector name")
+    void testSearchLimitAndVectorName() {
+        Document first = createDocument("a", "alpha beta");
+        Document second = createDocument("b", "alpha gamma");
+        second.setVectorName("other");
+        index.add(List.of(first, second));
+
+        assertEquals(1, index.search("alpha", 1, null).size());
+        List<Document> filtered = index.search("alpha", 10, "other");
+        assertEquals(1, filtered.size());
+        assertEquals(second.getId(), filtered.get(0).getId());
+        assertTrue(index.search("delta", 10, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should update postings incrementally on replace and remove")
+    void testReplaceAndRemove() {
+        Document doc = createDocument("a", "alpha");
+        index.add(List.of(doc, createDocument("b", "beta")));
+        assertEquals(2, index.size());
+
+        // Same id with the same metadata re-indexes rather than duplicating
+        index.add(List.of(doc));
+        assertEquals(2, index.size());
+        assertEquals(1, index.search("alpha", 10, null).size());
+
+        assertTrue(index.remove(doc.getId()));
+        assertFalse(index.remove(doc.getId()));
+        assertFalse(index.contains(doc.getId()));
+        assertTrue(index.search("alpha", 10, null).isEmpty());
+
+        // Freed document numbers are reused
+        Document again = createDocument("c", "alpha beta");
+        index.add(List.of(again));
+        List<Document> results = index.search("alpha beta", 10, null);
+        assertEquals(again.getId(), results.get(0).getId());
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    @DisplayName("Should validate parameters")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> Bm25Index.builder().k1(-1).build());
+        assertThrows(IllegalArgumentException.class, () -> Bm25Index.builder().b(1.5).build());
+        assertThrows(IllegalArgumentException.class, () -> index.add(null));
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> index.search("alpha", 0, null));
+    }
+
+    private Document createDocument(String docId, String content) {
+        TextBlock textBlock = TextBlock.builder().text(content).build();
+        return new Document(new DocumentMetadata(textBlock, docId, "0"));
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.exception.VectorStoreException;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for HnswStore.
+ */
+@Tag("unit")
+@DisplayName("HnswStore Unit Tests")
+class HnswStoreTest {
+
+    private HnswStore store;
+    private static final int DIMENSIONS = 3;
+
+    @BeforeEach
+    void setUp() {
+        store = HnswStore.builder().dimensions(DIMENSIONS).build();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid parameters")
+    void testInvalidParameters() {
+        assertThrows(
+                IllegalArgumentException.class, () -> HnswStore.builder().dimensions(0).build());
+        assertThrows(IllegalArgumentException.class, () -> HnswStore.builder().m(1).build());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> HnswStore.builder().efConstruction(0).build());
+        assertThrows(IllegalArgumentException.class, () -> HnswStore.builder().efSearch(0).build());
+    }
+
+    @Test
+    @DisplayName("Should search documents by cosine similarity")
+    void testSearch() {
+        Document doc1 = createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0});
+        Document doc2 = createDocument("doc-2", "Content 2", new double[] {0.0, 1.0, 0.0});
+        Document doc3 = createDocument("doc-3", "Content 3", new double[] {1.0, 1.0, 0.0});
+        store.add(List.of(doc1, doc2, doc3)).block();
+
+        List<Document> results = search(new double[] {2.0, 0.0, 0.0}, 2, null, null);
+
+        assertEquals(2, results.size());
+        assertEquals(doc1.getId(), results.get(0).getId());
+        assertEquals(1.0, results.get(0).getScore(), 1e-9);
+        assertEquals(doc3.getId(), results.get(1).getId());
+        assertEquals(Math.sqrt(0.5), results.get(1).getScore(), 1e-9);
+        // The original embedding is returned, not the normalized one
+        assertEquals(1.0, results.get(1).getEmbedding()[0], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should apply score threshold")
+    void testSearchWithScoreThreshold() {
+        store.add(
+                        List.of(
+                                createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0}),
+                                createDocument("doc-2", "Content 2", new double[] {0.0, 1.0, 0.0})))
+                .block();
+
+        List<Document> results = search(new double[] {1.0, 0.1, 0.0}, 5, 0.5, null);
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).getScore() >= 0.5);
+    }
+
+    @Test
+    @DisplayName("Should filter by vector name")
+    void testSearchWithVectorName() {
+        Document doc1 = createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0});
+        doc1.setVectorName("title");
+        Document doc2 = createDocument("doc-2", "Content 2", new double[] {0.9, 0.1, 0.0});
+        doc2.setVectorName("body");
+        store.add(List.of(doc1, doc2)).block();
+
+        List<Document> results = search(new double[] {1.0, 0.0, 0.0}, 5, null, "body");
+
+        assertEquals(1, results.size());
+        assertEquals(doc2.getId(), results.get(0).getId());
+        assertEquals("body", results.get(0).getVectorName());
+        assertTrue(search(new double[] {1.0, 0.0, 0.0}, 5, null, "missing").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should filter by vector name while searching the graph")
+    void testSearchWithCommonVectorName() {
+        Random random = new Random(3);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Document doc = createDocument("doc-" + i, "Content " + i, randomVector(random, 3));
+            doc.setVectorName(i % 2 == 0 ? "even" : "odd");
+            documents.add(doc);
+        }
+        store.add(documents).block();
+
+        List<Document> results = search(documents.get(2).getEmbedding(), 10, null, "even");
+
+        assertEquals(10, results.size());
+        assertEquals(documents.get(2).getId(), results.get(0).getId());
+        for (Document result : results) {
+            assertEquals("even", result.getVectorName());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject mismatched dimensions and invalid limits")
+    void testValidation() {
+        StepVerifier.create(
+                        store.add(
+                                List.of(
+                                        createDocument(
+                                                "doc-1", "Content", new double[] {1.0, 2.0}))))
+                .expectError(VectorStoreException.class)
+                .verify();
+        StepVerifier.create(
+                        store.search(
+                                SearchDocumentDto.builder()
+                                        .queryEmbedding(new double[] {1.0, 0.0, 0.0})
+                                        .limit(0)
+                                        .build()))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(store.add(null)).expectError(IllegalArgumentException.class).verify();
+    }
+
+    @Test
+    @DisplayName("Should replace a document with the same id")
+    void testAddReplace() {
+        Document doc1 = createDocument("doc-1", "Same content", new double[] {1.0, 0.0, 0.0});
+        Document doc2 = createDocument("doc-1", "Same content", new double[] {0.0, 1.0, 0.0});
+        store.add(List.of(doc1)).block();
+        store.add(List.of(doc2)).block();
+
+        assertEquals(1, store.size());
+        List<Document> results = search(new double[] {1.0, 0.0, 0.0}, 5, null, null);
+        assertEquals(1, results.size());
+        assertEquals(0.0, results.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should hide deleted documents and clear")
+    void testDeleteAndClear() {
+        Document doc1 = createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0});
+        Document doc2 = createDocument("doc-2", "Content 2", new double[] {0.0, 1.0, 0.0});
+        store.add(List.of(doc1, doc2)).block();
+
+        StepVerifier.create(store.delete(doc1.getId())).expectNext(true).verifyComplete();
+        StepVerifier.create(store.delete(doc1.getId())).expectNext(false).verifyComplete();
+
+        List<Document> results = search(new double[] {1.0, 0.0, 0.0}, 5, null, null);
+        assertEquals(1, results.size());
+        assertEquals(doc2.getId(), results.get(0).getId());
+
+        store.clear();
+        assertTrue(store.isEmpty());
+        assertTrue(search(new double[] {1.0, 0.0, 0.0}, 5, null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match brute-force results closely on random vectors")
+    void testRecallAgainstExactSearch() {
+        int dimensions = 32;
+        HnswStore hnsw = HnswStore.builder().dimensions(dimensions).build();
+        InMemoryStore exact = InMemoryStore.builder().dimensions(dimensions).build();
+        Random random = new Random(42);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            documents.add(createDocument("doc-" + i, "Content " + i, randomVector(random, 32)));
+        }
+        hnsw.add(documents).block();
+        exact.add(documents).block();
+
+        int found = 0;
+        int expected = 0;
+        for (int q = 0; q < 50; q++) {
+            SearchDocumentDto query =
+                    SearchDocumentDto.builder()
+                            .queryEmbedding(randomVector(random, dimensions))
+                            .limit(10)
+                            .build();
+            Set<String> truth = ids(exact.search(query).block());
+            Set<String> approximate = ids(hnsw.search(query).block());
+            expected += truth.size();
+            truth.retainAll(approximate);
+            found += truth.size();
+        }
+        double recall = (double) found / expected;
+        assertTrue(recall >= 0.95, "recall@10 was " + recall);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the graph after many deletions")
+    void testRebuildAfterDeletions() {
+        Random random = new Random(7);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            documents.add(createDocument("doc-" + i, "Content " + i, randomVector(random, 3)));
+        }
+        store.add(documents).block();
+        for (int i = 0; i < 2500; i++) {
+            assertTrue(store.delete(documents.get(i).getId()).block());
+        }
+
+        assertEquals(500, store.size());
+        Set<String> live = new HashSet<>();
+        for (int i = 2500; i < 3000; i++) {
+            live.add(documents.get(i).getId());
+        }
+        List<Document> results = search(documents.get(2999).getEmbedding(), 20, null, null);
+        assertEquals(20, results.size());
+        assertEquals(documents.get(2999).getId(), results.get(0).getId());
+        for (Document result : results) {
+            assertTrue(live.contains(result.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle concurrent adds, deletes and searches")
+    void testThreadSafety() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    Random random = new Random(thread);
+                                    for (int i = 0; i < 200; i++) {
+                                        Document doc =
+                                                createDocument(
+                                                        "doc-" + thread + "-" + i,
+                                                        "Content",
+                                                        randomVector(random, 3));
+                                        store.add(List.of(doc)).block();
+                                        if (i % 2 == 1) {
+                                            assertTrue(store.delete(doc.getId()).block());
+                                        }
+                                        assertFalse(
+                                                search(randomVector(random, 3), 5, null, null)
+                                                        .isEmpty());
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(800, store.size());
+        assertEquals(10, search(new double[] {1.0, 1.0, 1.0}, 10, null, null).size());
+    }
+
+    private List<Document> search(
+            double[] query, int limit, Double scoreThreshold, String vectorName) {
+        return store.search(
+                        SearchDocumentDto.builder()
+                                .queryEmbedding(query)
+                                .limit(limit)
+                                .scoreThreshold(scoreThreshold)
+                                .vectorName(vectorName)
+                                .build())
+                .block();
+    }
+
+    private static Set<String> ids(List<Document> documents) {
+        Set<String> ids = new HashSet<>();
+        for (Document doc : documents) {
+            ids.add(doc.getId());
+        }
+        return ids;
+    }
+
+    private static double[] randomVector(Random random, int dimensions) {
+        double[] vector = new double[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = random.nextGaussian();
+        }
+        return vector;
+    }
+
+    /**
+     * Helper method to create a test document.
+     */
+    private static Document createDocument(String docId, String content, double[] embedding) {
+        TextBlock textBlock = TextBlock.builder().text(content).build();
+        DocumentMetadata metadata = new DocumentMetadata(textBlock, docId, "0");
+        Document doc = new Document(metadata);
+        doc.setEmbedding(embedding);
+        return doc;
+    }
+}
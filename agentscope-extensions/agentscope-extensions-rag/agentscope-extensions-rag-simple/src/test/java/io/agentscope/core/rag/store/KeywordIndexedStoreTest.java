@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for KeywordIndexedStore.
+ */
+@Tag("unit")
+@DisplayName("KeywordIndexedStore Unit Tests")
+class KeywordIndexedStoreTest {
+
+    private InMemoryStore vectorStore;
+    private KeywordIndexedStore store;
+
+    @BeforeEach
+    void setUp() {
+        vectorStore = InMemoryStore.builder().dimensions(2).build();
+        store = KeywordIndexedStore.builder().store(vectorStore).build();
+    }
+
+    @Test
+    @DisplayName("Should index added documents and unindex deleted ones")
+    void testAddAndDelete() {
+        Document doc = createDocument("a", "incident INC-2024", new double[] {1, 0});
+        StepVerifier.create(store.add(List.of(doc))).verifyComplete();
+
+        assertEquals(1, vectorStore.size());
+        assertTrue(store.getIndex().contains(doc.getId()));
+        StepVerifier.create(store.searchKeywords("inc 2024", 5, null))
+                .assertNext(results -> assertEquals(doc.getId(), results.get(0).getId()))
+                .verifyComplete();
+
+        StepVerifier.create(store.delete(doc.getId())).expectNext(true).verifyComplete();
+        assertEquals(0, vectorStore.size());
+        assertFalse(store.getIndex().contains(doc.getId()));
+    }
+
+    @Test
+    @DisplayName("Should pass vector searches to the wrapped store")
+    void testVectorSearch() {
+        Document doc = createDocument("a", "text", new double[] {1, 0});
+        StepVerifier.create(store.add(List.of(doc))).verifyComplete();
+
+        SearchDocumentDto search =
+                SearchDocumentDto.builder().queryEmbedding(new double[] {1, 0}).limit(1).build();
+        StepVerifier.create(store.search(search))
+                .assertNext(results -> assertEquals(1.0, results.get(0).getScore(), 1e-9))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not index documents the wrapped store rejected")
+    void testRejectedAdd() {
+        Document doc = createDocument("a", "text", new double[] {1, 0, 0});
+
+        StepVerifier.create(store.add(List.of(doc))).expectError().verify();
+        assertEquals(0, store.getIndex().size());
+    }
+
+    @Test
+    @DisplayName("Should report only documents that are stored and indexed as existing")
+    void testFindExistingIdsRequiresIndex() {
+        Document doc = createDocument("a", "text", new double[] {1, 0});
+        StepVerifier.create(vectorStore.add(List.of(doc))).verifyComplete();
+
+        StepVerifier.create(store.findExistingIds(List.of(doc.getId())))
+                .assertNext(existing -> assertTrue(existing.isEmpty()))
+                .verifyComplete();
+
+        StepVerifier.create(store.add(List.of(doc))).verifyComplete();
+        StepVerifier.create(store.findExistingIds(List.of(doc.getId(), "missing")))
+                .assertNext(existing -> assertEquals(Set.of(doc.getId()), existing))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should require a store")
+    void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> KeywordIndexedStore.builder().build());
+    }
+
+    private Document createDocument(String docId, String content, double[] embedding) {
+        TextBlock textBlock = TextBlock.builder().text(content).build();
+        Document doc = new Document(new DocumentMetadata(textBlock, docId, "0"));
+        doc.setEmbedding(embedding);
+        return doc;
+    }
+}
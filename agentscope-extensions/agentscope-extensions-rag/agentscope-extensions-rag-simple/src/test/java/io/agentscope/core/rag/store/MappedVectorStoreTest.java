@@ -0,0 +1,392 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.exception.VectorStoreException;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for MappedVectorStore.
+ */
+@Tag("unit")
+@DisplayName("MappedVectorStore Unit Tests")
+class MappedVectorStoreTest {
+
+    private static final int DIMENSIONS = 3;
+
+    @TempDir Path tempDir;
+
+    private final List<MappedVectorStore> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(MappedVectorStore::close);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid parameters")
+    void testInvalidParameters() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> MappedVectorStore.builder().dimensions(0).build());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> MappedVectorStore.builder().quantization(null).build());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> MappedVectorStore.builder().rescoreFactor(0).build());
+    }
+
+    @Test
+    @DisplayName("Should search documents by cosine similarity off-heap")
+    void testSearch() throws Exception {
+        MappedVectorStore store = open(null, MappedVectorStore.Quantization.NONE);
+        Document doc1 = createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0});
+        Document doc2 = createDocument("doc-2", "Content 2", new double[] {0.0, 1.0, 0.0});
+        Document doc3 = createDocument("doc-3", "Content 3", new double[] {1.0, 1.0, 0.0});
+        store.add(List.of(doc1, doc2, doc3)).block();
+
+        List<Document> results = search(store, new double[] {2.0, 0.0, 0.0}, 2, null, null);
+
+        assertEquals(2, results.size());
+        assertEquals(doc1.getId(), results.get(0).getId());
+        assertEquals(1.0, results.get(0).getScore(), 1e-6);
+        assertEquals(doc3.getId(), results.get(1).getId());
+        assertEquals(Math.sqrt(0.5), results.get(1).getScore(), 1e-6);
+        // The original embedding is returned, not the normalized one
+        assertEquals(1.0, results.get(1).getEmbedding()[0], 1e-6);
+        assertEquals("Content 3", results.get(1).getMetadata().getContentText());
+    }
+
+    @Test
+    @DisplayName("Should apply score threshold and vector name filter")
+    void testSearchFilters() throws Exception {
+        MappedVectorStore store = open(null, MappedVectorStore.Quantization.NONE);
+        Document doc1 = createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0});
+        doc1.setVectorName("title");
+        Document doc2 = createDocument("doc-2", "Content 2", new double[] {0.0, 1.0, 0.0});
+        doc2.setVectorName("body");
+        store.add(List.of(doc1, doc2)).block();
+
+        List<Document> thresholded = search(store, new double[] {1.0, 0.1, 0.0}, 5, 0.5, null);
+        assertEquals(1, thresholded.size());
+        assertEquals(doc1.getId(), thresholded.get(0).getId());
+
+        List<Document> filtered = search(store, new double[] {1.0, 0.0, 0.0}, 5, null, "body");
+        assertEquals(1, filtered.size());
+        assertEquals("body", filtered.get(0).getVectorName());
+        assertTrue(search(store, new double[] {1.0, 0.0, 0.0}, 5, null, "missing").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replace, delete and reuse slots")
+    void testReplaceAndDelete() throws Exception {
+        MappedVectorStore store = open(null, MappedVectorStore.Quantization.NONE);
+        Document doc1 = createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0});
+        Document doc2 = createDocument("doc-2", "Content 2", new double[] {0.0, 1.0, 0.0});
+        store.add(List.of(doc1, doc2)).block();
+
+        Document replacement = createDocument("doc-1", "Content 1", new double[] {0.0, 0.0, 1.0});
+        store.add(List.of(replacement)).block();
+        assertEquals(2, store.size());
+        assertEquals(
+                doc1.getId(),
+                search(store, new double[] {0.0, 0.0, 1.0}, 1, null, null).get(0).getId());
+
+        StepVerifier.create(store.delete(doc2.getId())).expectNext(true).verifyComplete();
+        StepVerifier.create(store.delete(doc2.getId())).expectNext(false).verifyComplete();
+        assertEquals(1, store.size());
+        assertEquals(1, search(store, new double[] {0.0, 1.0, 0.0}, 5, null, null).size());
+
+        Document doc3 = createDocument("doc-3", "Content 3", new double[] {0.0, 1.0, 0.0});
+        store.add(List.of(doc3)).block();
+        List<Document> results = search(store, new double[] {0.0, 1.0, 0.0}, 5, null, null);
+        assertEquals(2, results.size());
+        assertEquals(doc3.getId(), results.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should reload documents from disk")
+    void testReload() throws Exception {
+        Random random = new Random(7);
+        MappedVectorStore store = open(tempDir, MappedVectorStore.Quantization.NONE);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Document doc = createDocument("doc-" + i, "Content " + i, randomVector(random));
+            doc.setVectorName(i % 2 == 0 ? "even" : "odd");
+            documents.add(doc);
+        }
+        Document withPayload =
+                new Document(
+                        new DocumentMetadata(
+                                TextBlock.builder().text("With payload").build(),
+                                "doc-payload",
+                                "0",
+                                Map.of("author", "alice", "page", 3)));
+        withPayload.setEmbedding(new double[] {0.0, 0.0, 5.0});
+        documents.add(withPayload);
+        store.add(documents).block();
+        store.delete(documents.get(0).getId()).block();
+        double[] query = {0.3, -0.2, 0.9};
+        List<Document> before = search(store, query, 10, null, "odd");
+        store.close();
+
+        MappedVectorStore reopened = open(tempDir, MappedVectorStore.Quantization.NONE);
+
+        assertEquals(50, reopened.size());
+        List<Document> after = search(reopened, query, 10, null, "odd");
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getId(), after.get(i).getId());
+            assertEquals(before.get(i).getScore(), after.get(i).getScore(), 1e-9);
+        }
+        Document restored = search(reopened, new double[] {0.0, 0.0, 1.0}, 1, null, null).get(0);
+        assertEquals(withPayload.getId(), restored.getId());
+        assertEquals("alice", restored.getPayloadValue("author"));
+        assertEquals(3, ((Number) restored.getPayloadValue("page")).intValue());
+        assertEquals(5.0, restored.getEmbedding()[2], 1e-6);
+        StepVerifier.create(
+                        reopened.findExistingIds(
+                                List.of(documents.get(0).getId(), documents.get(1).getId())))
+                .expectNext(Set.of(documents.get(1).getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should discard a torn trailing log record on reload")
+    void testReloadWithTornRecord() throws Exception {
+        MappedVectorStore store = open(tempDir, MappedVectorStore.Quantization.NONE);
+        store.add(List.of(createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0})))
+                .block();
+        store.close();
+        Path log = tempDir.resolve(MappedVectorStore.LOG_FILE);
+        long intactSize = Files.size(log);
+        Files.write(
+                log,
+                "{\"op\":\"put\",\"slot\":1,\"docId\":".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        MappedVectorStore reopened = open(tempDir, MappedVectorStore.Quantization.NONE);
+
+        assertEquals(1, reopened.size());
+        assertEquals(intactSize, Files.size(log));
+    }
+
+    @Test
+    @DisplayName("Should reject a directory written with other dimensions")
+    void testDimensionMismatchOnReload() throws Exception {
+        open(tempDir, MappedVectorStore.Quantization.NONE).close();
+
+        assertThrows(
+                VectorStoreException.class,
+                () -> MappedVectorStore.builder().directory(tempDir).dimensions(4).build());
+    }
+
+    @Test
+    @DisplayName("Should rescore int8 candidates to exact scores")
+    void testInt8Rescoring() throws Exception {
+        int dimensions = 64;
+        Random random = new Random(11);
+        MappedVectorStore exact = track(MappedVectorStore.builder().dimensions(dimensions).build());
+        MappedVectorStore quantized =
+                track(
+                        MappedVectorStore.builder()
+                                .dimensions(dimensions)
+                                .directory(tempDir)
+                                .quantization(MappedVectorStore.Quantization.INT8)
+                                .build());
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            double[] vector = new double[dimensions];
+            for (int d = 0; d < dimensions; d++) {
+                vector[d] = random.nextGaussian();
+            }
+            documents.add(createDocument("doc-" + i, "Content " + i, vector));
+        }
+        exact.add(documents).block();
+        quantized.add(documents).block();
+        assertTrue(Files.exists(tempDir.resolve(MappedVectorStore.INT8_FILE)));
+
+        int matches = 0;
+        for (int q = 0; q < 20; q++) {
+            double[] query = documents.get(random.nextInt(documents.size())).getEmbedding();
+            List<Document> expected = search(exact, query, 10, null, null);
+            List<Document> actual = search(quantized, query, 10, null, null);
+            assertEquals(expected.get(0).getId(), actual.get(0).getId());
+            assertEquals(1.0, actual.get(0).getScore(), 1e-5);
+            for (int i = 0; i < actual.size(); i++) {
+                if (expected.get(i).getId().equals(actual.get(i).getId())) {
+                    assertEquals(expected.get(i).getScore(), actual.get(i).getScore(), 1e-9);
+                    matches++;
+                }
+            }
+        }
+        assertTrue(matches >= 190, "int8 rescoring matched " + matches + " of 200 results");
+    }
+
+    @Test
+    @DisplayName("Should build int8 codes when quantization is enabled on existing data")
+    void testEnableQuantizationOnExistingDirectory() throws Exception {
+        MappedVectorStore store = open(tempDir, MappedVectorStore.Quantization.NONE);
+        Document doc1 = createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0});
+        Document doc2 = createDocument("doc-2", "Content 2", new double[] {0.0, 1.0, 0.0});
+        store.add(List.of(doc1, doc2)).block();
+        store.close();
+
+        MappedVectorStore quantized = open(tempDir, MappedVectorStore.Quantization.INT8);
+
+        List<Document> results = search(quantized, new double[] {0.0, 1.0, 0.1}, 1, null, null);
+        assertEquals(doc2.getId(), results.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should compact the log once superseded records dominate")
+    void testLogCompaction() throws Exception {
+        MappedVectorStore store = open(tempDir, MappedVectorStore.Quantization.NONE);
+        Document kept = createDocument("kept", "Kept", new double[] {1.0, 0.0, 0.0});
+        store.add(List.of(kept)).block();
+        Document churn = createDocument("churn", "Churn", new double[] {0.0, 1.0, 0.0});
+        for (int i = 0; i < 1100; i++) {
+            store.add(List.of(churn)).block();
+        }
+        store.delete(churn.getId()).block();
+
+        assertTrue(Files.readAllLines(tempDir.resolve(MappedVectorStore.LOG_FILE)).size() < 100);
+        store.add(List.of(createDocument("late", "Late", new double[] {0.0, 0.0, 1.0}))).block();
+        store.close();
+
+        MappedVectorStore reopened = open(tempDir, MappedVectorStore.Quantization.NONE);
+        assertEquals(2, reopened.size());
+        assertEquals(
+                kept.getId(),
+                search(reopened, new double[] {1.0, 0.0, 0.0}, 1, null, null).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should clear documents and persisted log")
+    void testClear() throws Exception {
+        MappedVectorStore store = open(tempDir, MappedVectorStore.Quantization.INT8);
+        store.add(List.of(createDocument("doc-1", "Content 1", new double[] {1.0, 0.0, 0.0})))
+                .block();
+
+        store.clear();
+
+        assertTrue(store.isEmpty());
+        assertTrue(search(store, new double[] {1.0, 0.0, 0.0}, 5, null, null).isEmpty());
+        store.close();
+        assertTrue(open(tempDir, MappedVectorStore.Quantization.INT8).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject dimension mismatch and use after close")
+    void testErrors() throws Exception {
+        MappedVectorStore store = open(null, MappedVectorStore.Quantization.NONE);
+
+        StepVerifier.create(
+                        store.add(
+                                List.of(
+                                        createDocument(
+                                                "doc-1", "Content", new double[] {1.0, 0.0}))))
+                .expectError(VectorStoreException.class)
+                .verify();
+        StepVerifier.create(
+                        store.search(
+                                SearchDocumentDto.builder()
+                                        .queryEmbedding(new double[] {1.0, 0.0, 0.0})
+                                        .limit(0)
+                                        .build()))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        assertFalse(store.isClosed());
+        store.close();
+        assertTrue(store.isClosed());
+        StepVerifier.create(store.delete("doc-1")).expectError(VectorStoreException.class).verify();
+    }
+
+    private MappedVectorStore open(Path directory, MappedVectorStore.Quantization quantization)
+            throws VectorStoreException {
+        return track(
+                MappedVectorStore.builder()
+                        .dimensions(DIMENSIONS)
+                        .directory(directory)
+                        .quantization(quantization)
+                        .build());
+    }
+
+    private MappedVectorStore track(MappedVectorStore store) {
+        opened.add(store);
+        return store;
+    }
+
+    private static List<Document> search(
+            MappedVectorStore store,
+            double[] query,
+            int limit,
+            Double scoreThreshold,
+            String vectorName) {
+        return store.search(
+                        SearchDocumentDto.builder()
+                                .queryEmbedding(query)
+                                .limit(limit)
+                                .scoreThreshold(scoreThreshold)
+                                .vectorName(vectorName)
+                                .build())
+                .block();
+    }
+
+    private static double[] randomVector(Random random) {
+        double[] vector = new double[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = random.nextGaussian();
+        }
+        return vector;
+    }
+
+    /**
+     * Helper method to create a test document.
+     */
+    private static Document createDocument(String docId, String content, double[] embedding) {
+        TextBlock textBlock = TextBlock.builder().text(content).build();
+        DocumentMetadata metadata = new DocumentMetadata(textBlock, docId, "0");
+        Document doc = new Document(metadata);
+        doc.setEmbedding(embedding);
+        return doc;
+    }
+}
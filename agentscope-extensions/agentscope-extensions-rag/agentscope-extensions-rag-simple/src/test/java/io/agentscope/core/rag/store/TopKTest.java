@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TopK.
+ */
+@Tag("unit")
+@DisplayName("TopK Unit Tests")
+class TopKTest {
+
+    @Test
+    @DisplayName("Should select the same items as a full sort")
+    void testMatchesSort() {
+        Random random = new Random(3);
+        for (int k : new int[] {1, 5, 10, 100}) {
+            double[] scores = new double[1000];
+            TopK top = new TopK(k);
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = random.nextDouble();
+                top.offer(scores[i], i);
+            }
+
+            int[] expected =
+                    IntStream.range(0, scores.length)
+                            .boxed()
+                            .sorted(Comparator.comparingDouble(i -> -scores[i]))
+                            .limit(k)
+                            .mapToInt(Integer::intValue)
+                            .toArray();
+            assertArrayEquals(expected, top.indices());
+            double[] topScores = top.scores();
+            for (int i = 0; i < k; i++) {
+                assertEquals(scores[expected[i]], topScores[i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should hold fewer items than k until filled")
+    void testPartiallyFilled() {
+        TopK top = new TopK(5);
+        assertEquals(Double.NEGATIVE_INFINITY, top.threshold());
+
+        top.offer(0.2, 7);
+        top.offer(0.9, 3);
+
+        assertEquals(2, top.size());
+        assertArrayEquals(new int[] {3, 7}, top.indices());
+        assertEquals(Double.NEGATIVE_INFINITY, top.threshold());
+    }
+
+    @Test
+    @DisplayName("Should evict the lowest score and report the threshold")
+    void testEviction() {
+        TopK top = new TopK(2);
+        top.offer(0.5, 0);
+        top.offer(0.7, 1);
+
+        assertEquals(0.5, top.threshold());
+        assertFalse(top.accepts(0.4));
+        assertFalse(top.offer(0.5, 2));
+        assertTrue(top.offer(0.6, 3));
+        assertArrayEquals(new int[] {1, 3}, top.indices());
+        assertArrayEquals(new double[] {0.7, 0.6}, top.scores());
+    }
+
+    @Test
+    @DisplayName("Should order ties by index and ignore NaN scores")
+    void testTiesAndNaN() {
+        TopK top = new TopK(3);
+        top.offer(0.5, 9);
+        top.offer(Double.NaN, 1);
+        top.offer(0.5, 4);
+
+        assertArrayEquals(new int[] {4, 9}, top.indices());
+    }
+
+    @Test
+    @DisplayName("Should keep nothing for k of zero and reject negative k")
+    void testEdgeCases() {
+        TopK empty = new TopK(0);
+        assertFalse(empty.offer(1.0, 0));
+        assertEquals(0, empty.indices().length);
+
+        TopK top = new TopK(1);
+        top.offer(1.0, 0);
+        top.clear();
+        assertEquals(0, top.size());
+        assertTrue(Arrays.equals(new int[0], top.indices()));
+
+        assertThrows(IllegalArgumentException.class, () -> new TopK(-1));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for VectorKernels.
+ */
+@Tag("unit")
+@DisplayName("VectorKernels Unit Tests")
+class VectorKernelsTest {
+
+    private static final int[] LENGTHS = {0, 1, 3, 4, 7, 8, 15, 16, 17, 33, 384, 1536};
+
+    private final Random random = new Random(5);
+
+    @Test
+    @DisplayName("Should compute double dot products and norms for all lengths")
+    void testDoubleDot() {
+        for (int length : LENGTHS) {
+            double[] a = randomDoubles(length);
+            double[] b = randomDoubles(length);
+            double expected = 0;
+            for (int i = 0; i < length; i++) {
+                expected += a[i] * b[i];
+            }
+
+            assertEquals(expected, VectorKernels.dot(a, b), 1e-9, "length " + length);
+            assertEquals(expected, VectorKernels.SCALAR.dot(a, b), 1e-9, "length " + length);
+            assertEquals(Math.sqrt(VectorKernels.SCALAR.dot(a, a)), VectorKernels.norm(a), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute float dot products for all lengths")
+    void testFloatDot() {
+        for (int length : LENGTHS) {
+            float[] a = randomFloats(length);
+            float[] b = randomFloats(length);
+            double expected = 0;
+            for (int i = 0; i < length; i++) {
+                expected += (double) a[i] * b[i];
+            }
+
+            assertEquals(expected, VectorKernels.dot(a, b), 1e-3, "length " + length);
+            assertEquals(expected, VectorKernels.SCALAR.dot(a, b), 1e-3, "length " + length);
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute dot products against float32 and int8 buffers")
+    void testBufferDot() {
+        for (int length : LENGTHS) {
+            float[] query = randomFloats(length);
+            float[] values = randomFloats(length);
+            byte[] codes = new byte[length];
+            int offset = 12;
+            ByteBuffer floats =
+                    ByteBuffer.allocateDirect(offset + length * Float.BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer bytes = ByteBuffer.allocateDirect(offset + length);
+            double expectedFloat = 0;
+            double expectedInt8 = 0;
+            for (int i = 0; i < length; i++) {
+                codes[i] = (byte) (random.nextInt(255) - 127);
+                floats.putFloat(offset + i * Float.BYTES, values[i]);
+                bytes.put(offset + i, codes[i]);
+                expectedFloat += (double) query[i] * values[i];
+                expectedInt8 += (double) query[i] * codes[i];
+            }
+
+            assertEquals(expectedFloat, VectorKernels.dot(query, floats, offset), 1e-3);
+            assertEquals(expectedFloat, VectorKernels.SCALAR.dot(query, floats, offset), 1e-3);
+            assertEquals(expectedInt8, VectorKernels.dotInt8(query, bytes, offset), 1e-1);
+            assertEquals(expectedInt8, VectorKernels.SCALAR.dotInt8(query, bytes, offset), 1e-1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute cosine similarity with and without precomputed norms")
+    void testCosine() {
+        double[] a = {1.0, 0.0, 0.0};
+        double[] b = {1.0, 1.0, 0.0};
+
+        assertEquals(Math.sqrt(0.5), VectorKernels.cosine(a, b), 1e-12);
+        assertEquals(
+                Math.sqrt(0.5),
+                VectorKernels.cosine(a, VectorKernels.norm(a), b, VectorKernels.norm(b)),
+                1e-12);
+        assertEquals(0.0, VectorKernels.cosine(a, new double[3]));
+    }
+
+    @Test
+    @DisplayName("Should score a query against many vectors")
+    void testBatch() {
+        double[][] vectors = {{1.0, 0.0}, {0.0, 2.0}, {3.0, 3.0}};
+        double[] norms = new double[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            norms[i] = VectorKernels.norm(vectors[i]);
+        }
+        double[] scores = new double[vectors.length];
+
+        VectorKernels.cosineBatch(new double[] {2.0, 0.0}, vectors, norms, scores);
+
+        assertEquals(1.0, scores[0], 1e-12);
+        assertEquals(0.0, scores[1], 1e-12);
+        assertEquals(Math.sqrt(0.5), scores[2], 1e-12);
+
+        float[] dots = new float[2];
+        VectorKernels.dotBatch(new float[] {1f, 2f}, new float[][] {{1f, 1f}, {0f, 0.5f}}, dots);
+        assertEquals(3f, dots[0]);
+        assertEquals(1f, dots[1]);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> VectorKernels.cosineBatch(new double[2], vectors, new double[1], scores));
+    }
+
+    @Test
+    @DisplayName("Should reject null and mismatched vectors")
+    void testInvalidArguments() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> VectorKernels.dot(new double[2], new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> VectorKernels.dot(null, new double[3]));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> VectorKernels.dot(new float[2], new float[3]));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> VectorKernels.cosine(new double[2], 1.0, new double[3], 1.0));
+        assertThrows(IllegalArgumentException.class, () -> VectorKernels.norm((double[]) null));
+    }
+
+    @Test
+    @DisplayName("Should use the Vector API when the incubator module is present")
+    void testVectorApiSelection() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+
+        assertTrue(VectorKernels.isVectorApiEnabled());
+    }
+
+    private double[] randomDoubles(int length) {
+        double[] vector = new double[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private float[] randomFloats(int length) {
+        float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -111,59 +111,67 @@ final class AttributesExtractors {
     /**
      * Get agent request attributes for OpenTelemetry tracing.
      *
-     * <p>Extracts request parameters from agent calls into GenAI attributes.
+     * <p>Extracts request metadata from agent calls into GenAI attributes.
      *
      * @param instance AgentBase instance making the request
-     * @param inputMessages Input messages
      * @return Attributes for agent request
      * */
-    static Attributes getAgentRequestAttributes(AgentBase instance, List<Msg> inputMessages) {
+    static Attributes getAgentRequestAttributes(AgentBase instance) {
         AttributesBuilder builder = Attributes.builder();
         internalSet(builder, GEN_AI_OPERATION_NAME, INVOKE_AGENT);
         internalSet(builder, GEN_AI_AGENT_ID, instance.getAgentId());
         internalSet(builder, GEN_AI_AGENT_NAME, instance.getName());
         internalSet(builder, GEN_AI_AGENT_DESCRIPTION, instance.getDescription());
+        return builder.build();
+    }
 
-        internalSet(builder, GEN_AI_INPUT_MESSAGES, getInputMessages(inputMessages));
+    /**
+     * Get agent request payload attributes for OpenTelemetry tracing.
+     *
+     * <p>Serializes the input messages of agent calls into GenAI attributes.
+     *
+     * @param inputMessages Input messages
+     * @param capture Policy applied to each serialized payload
+     * @return Payload attributes for agent request
+     * */
+    static Attributes getAgentRequestPayloadAttributes(
+            List<Msg> inputMessages, PayloadCapture capture) {
+        AttributesBuilder builder = Attributes.builder();
+        payloadSet(builder, GEN_AI_INPUT_MESSAGES, capture, getInputMessages(inputMessages));
 
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("msgs", inputMessages);
-        internalSet(builder, AGENTSCOPE_FUNCTION_INPUT, serializeToStr(parameters));
+        payloadSet(builder, AGENTSCOPE_FUNCTION_INPUT, capture, serializeToStr(parameters));
         return builder.build();
     }
 
     /**
-     * Get agent response attributes for OpenTelemetry tracing.
+     * Get agent response payload attributes for OpenTelemetry tracing.
      *
-     * <p>Extracts response parameters from agent calls responses into GenAI attributes.
+     * <p>Serializes the responses of agent calls into GenAI attributes.
      *
      * @param outputMessage Response of agent invocation
-     * @return Attributes for agent response
+     * @param capture Policy applied to each serialized payload
+     * @return Payload attributes for agent response
      * */
-    static Attributes getAgentResponseAttributes(Msg outputMessage) {
+    static Attributes getAgentResponsePayloadAttributes(Msg outputMessage, PayloadCapture capture) {
         AttributesBuilder builder = Attributes.builder();
-        internalSet(builder, GEN_AI_OUTPUT_MESSAGES, getOutputMessages(outputMessage));
+        payloadSet(builder, GEN_AI_OUTPUT_MESSAGES, capture, getOutputMessages(outputMessage));
 
-        internalSet(builder, AGENTSCOPE_FUNCTION_OUTPUT, serializeToStr(outputMessage));
+        payloadSet(builder, AGENTSCOPE_FUNCTION_OUTPUT, capture, serializeToStr(outputMessage));
         return builder.build();
     }
 
     /**
      * Get LLM request attributes for OpenTelemetry tracing.
      *
-     * <p>Extracts request parameters from LLM model calls into GenAI attributes.
+     * <p>Extracts request metadata from LLM model calls into GenAI attributes.
      *
      * @param instance ChatModelBase instance making the request
-     * @param inputMessages Input messages
-     * @param toolSchemas Tool definitions of model invocation
      * @param options Generation parameters
      * @return Attributes for LLM request
      * */
-    static Attributes getLLMRequestAttributes(
-            ChatModelBase instance,
-            List<Msg> inputMessages,
-            List<ToolSchema> toolSchemas,
-            GenerateOptions options) {
+    static Attributes getLLMRequestAttributes(ChatModelBase instance, GenerateOptions options) {
         AttributesBuilder builder = Attributes.builder();
         internalSet(builder, GEN_AI_OPERATION_NAME, CHAT);
         internalSet(builder, GEN_AI_PROVIDER_NAME, ProviderNameConverter.getProviderName(instance));
@@ -187,22 +195,41 @@ final class AttributesExtractors {
                     GEN_AI_REQUEST_MAX_TOKENS,
                     options.getMaxTokens() == null ? null : options.getMaxTokens().longValue());
         }
+        return builder.build();
+    }
 
-        internalSet(builder, GEN_AI_INPUT_MESSAGES, getInputMessages(inputMessages));
-        internalSet(builder, GEN_AI_TOOL_DEFINITIONS, getToolDefinitions(toolSchemas));
+    /**
+     * Get LLM request payload attributes for OpenTelemetry tracing.
+     *
+     * <p>Serializes the messages and tool definitions of LLM model calls into GenAI attributes.
+     *
+     * @param inputMessages Input messages
+     * @param toolSchemas Tool definitions of model invocation
+     * @param options Generation parameters
+     * @param capture Policy applied to each serialized payload
+     * @return Payload attributes for LLM request
+     * */
+    static Attributes getLLMRequestPayloadAttributes(
+            List<Msg> inputMessages,
+            List<ToolSchema> toolSchemas,
+            GenerateOptions options,
+            PayloadCapture capture) {
+        AttributesBuilder builder = Attributes.builder();
+        payloadSet(builder, GEN_AI_INPUT_MESSAGES, capture, getInputMessages(inputMessages));
+        payloadSet(builder, GEN_AI_TOOL_DEFINITIONS, capture, getToolDefinitions(toolSchemas));
 
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("messages", inputMessages);
         parameters.put("tools", toolSchemas);
         parameters.put("options", options);
-        internalSet(builder, AGENTSCOPE_FUNCTION_INPUT, serializeToStr(parameters));
+        payloadSet(builder, AGENTSCOPE_FUNCTION_INPUT, capture, serializeToStr(parameters));
         return builder.build();
     }
 
     /**
      * Get LLM response attributes for OpenTelemetry tracing.
      *
-     * <p>Extracts response parameters from LLM model responses into GenAI attributes.
+     * <p>Extracts response metadata from LLM model responses into GenAI attributes.
      *
      * @param response Response of model invocation
      * @return Attributes for LLM response
@@ -225,17 +252,34 @@ final class AttributesExtractors {
                     builder,
                     GEN_AI_USAGE_OUTPUT_TOKENS,
                     (long) response.getUsage().getOutputTokens());
-            internalSet(builder, GEN_AI_OUTPUT_MESSAGES, getOutputMessages(response));
         }
+        return builder.build();
+    }
 
-        internalSet(builder, AGENTSCOPE_FUNCTION_OUTPUT, serializeToStr(response));
+    /**
+     * Get LLM response payload attributes for OpenTelemetry tracing.
+     *
+     * <p>Serializes the responses of LLM model calls into GenAI attributes.
+     *
+     * @param response Response of model invocation
+     * @param capture Policy applied to each serialized payload
+     * @return Payload attributes for LLM response
+     * */
+    static Attributes getLLMResponsePayloadAttributes(
+            ChatResponse response, PayloadCapture capture) {
+        AttributesBuilder builder = Attributes.builder();
+        if (response != null) {
+            payloadSet(builder, GEN_AI_OUTPUT_MESSAGES, capture, getOutputMessages(response));
+        }
+
+        payloadSet(builder, AGENTSCOPE_FUNCTION_OUTPUT, capture, serializeToStr(response));
         return builder.build();
     }
 
     /**
      * Get tool request attributes for OpenTelemetry tracing.
      *
-     * <p>Extracts request parameters from tool calls into GenAI attributes.
+     * <p>Extracts request metadata from tool calls into GenAI attributes.
      *
      * @param instance Toolkit instance making the request
      * @param toolUseBlock Tool call parameters
@@ -247,78 +291,115 @@ final class AttributesExtractors {
         if (toolUseBlock != null) {
             internalSet(builder, GEN_AI_TOOL_CALL_ID, toolUseBlock.getId());
             internalSet(builder, GEN_AI_TOOL_NAME, toolUseBlock.getName());
-            internalSet(
-                    builder,
-                    GEN_AI_TOOL_CALL_ARGUMENTS,
-                    getToolCallArguments(toolUseBlock.getInput()));
             AgentTool tool = instance.getTool(toolUseBlock.getName());
             if (tool != null) {
                 internalSet(builder, GEN_AI_TOOL_DESCRIPTION, tool.getDescription());
             }
         }
+        return builder.build();
+    }
+
+    /**
+     * Get tool request payload attributes for OpenTelemetry tracing.
+     *
+     * <p>Serializes the arguments of tool calls into GenAI attributes.
+     *
+     * @param toolUseBlock Tool call parameters
+     * @param capture Policy applied to each serialized payload
+     * @return Payload attributes for tool request
+     * */
+    static Attributes getToolRequestPayloadAttributes(
+            ToolUseBlock toolUseBlock, PayloadCapture capture) {
+        AttributesBuilder builder = Attributes.builder();
+        if (toolUseBlock != null) {
+            payloadSet(
+                    builder,
+                    GEN_AI_TOOL_CALL_ARGUMENTS,
+                    capture,
+                    getToolCallArguments(toolUseBlock.getInput()));
+        }
 
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("param", toolUseBlock);
-        internalSet(builder, AGENTSCOPE_FUNCTION_INPUT, serializeToStr(parameters));
+        payloadSet(builder, AGENTSCOPE_FUNCTION_INPUT, capture, serializeToStr(parameters));
         return builder.build();
     }
 
     /**
-     * Get tool response attributes for OpenTelemetry tracing.
+     * Get tool response payload attributes for OpenTelemetry tracing.
      *
-     * <p>Extracts response parameters from tool responses into GenAI attributes.
+     * <p>Serializes the results of tool calls into GenAI attributes.
      *
      * @param result Result of tool call
-     * @return Attributes for tool response
+     * @param capture Policy applied to each serialized payload
+     * @return Payload attributes for tool response
      * */
-    static Attributes getToolResponseAttributes(ToolResultBlock result) {
+    static Attributes getToolResponsePayloadAttributes(
+            ToolResultBlock result, PayloadCapture capture) {
         AttributesBuilder builder = Attributes.builder();
 
         if (result != null && result.getOutput() != null) {
-            internalSet(builder, GEN_AI_TOOL_CALL_RESULT, getToolCallResult(result.getOutput()));
+            payloadSet(
+                    builder,
+                    GEN_AI_TOOL_CALL_RESULT,
+                    capture,
+                    getToolCallResult(result.getOutput()));
         }
 
-        internalSet(builder, AGENTSCOPE_FUNCTION_OUTPUT, serializeToStr(result));
+        payloadSet(builder, AGENTSCOPE_FUNCTION_OUTPUT, capture, serializeToStr(result));
         return builder.build();
     }
 
     /**
      * Get format request attributes for OpenTelemetry tracing.
      *
-     * <p>Extracts request parameters from format invocations into GenAI attributes.
+     * <p>Extracts request metadata from format invocations into GenAI attributes.
      *
      * @param instance Formatter instance making the request
-     * @param msgList Format parameters
      * @return Attributes for format request
      * */
     @SuppressWarnings("rawtypes")
-    static Attributes getFormatRequestAttributes(
-            AbstractBaseFormatter instance, List<Msg> msgList) {
+    static Attributes getFormatRequestAttributes(AbstractBaseFormatter instance) {
         AttributesBuilder builder = Attributes.builder();
         internalSet(builder, GEN_AI_OPERATION_NAME, FORMAT);
         internalSet(
                 builder,
                 AGENTSCOPE_FORMAT_TARGET,
                 FormatterConverter.getFormatterTarget(instance.getClass().getSimpleName()));
+        return builder.build();
+    }
+
+    /**
+     * Get format request payload attributes for OpenTelemetry tracing.
+     *
+     * <p>Serializes the messages of format invocations into GenAI attributes.
+     *
+     * @param msgList Format parameters
+     * @param capture Policy applied to each serialized payload
+     * @return Payload attributes for format request
+     * */
+    static Attributes getFormatRequestPayloadAttributes(List<Msg> msgList, PayloadCapture capture) {
+        AttributesBuilder builder = Attributes.builder();
         if (msgList != null) {
-            internalSet(builder, AGENTSCOPE_FUNCTION_INPUT, serializeToStr(msgList));
+            payloadSet(builder, AGENTSCOPE_FUNCTION_INPUT, capture, serializeToStr(msgList));
         }
         return builder.build();
     }
 
     /**
-     * Get format response attributes for OpenTelemetry tracing.
+     * Get format response payload attributes for OpenTelemetry tracing.
      *
-     * <p>Extracts response parameters from format invocations into GenAI attributes.
+     * <p>Serializes the results of format invocations into GenAI attributes.
      *
      * @param result Result of format
-     * @return Attributes for format response
+     * @param capture Policy applied to each serialized payload
+     * @return Payload attributes for format response
      * */
     @SuppressWarnings("rawtypes")
-    static Attributes getFormatResponseAttributes(List result) {
+    static Attributes getFormatResponsePayloadAttributes(List result, PayloadCapture capture) {
         AttributesBuilder builder = Attributes.builder();
         if (result != null) {
-            internalSet(builder, AGENTSCOPE_FUNCTION_OUTPUT, serializeToStr(result));
+            payloadSet(builder, AGENTSCOPE_FUNCTION_OUTPUT, capture, serializeToStr(result));
         }
         return builder.build();
     }
@@ -349,6 +430,14 @@ final class AttributesExtractors {
         }
     }
 
+    private static void payloadSet(
+            AttributesBuilder builder,
+            AttributeKey<String> attributeKey,
+            PayloadCapture capture,
+            String payload) {
+        internalSet(builder, attributeKey, capture.apply(payload));
+    }
+
     private static String getInputMessages(List<Msg> messages) {
         if (messages == null || messages.isEmpty()) {
             return null;
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.agentscope.core.tracing.telemetry;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Policy for recording message, tool and function payloads on spans.
+ *
+ * <p>Payload attributes ({@code gen_ai.input.messages}, {@code gen_ai.output.messages}, {@code
+ * gen_ai.tool.definitions}, tool call arguments and results, and {@code agentscope.function.*})
+ * hold whole conversations serialized to JSON, which with long contexts costs more than the agent
+ * loop being traced. Metadata attributes such as model, agent and tool names, token usage and
+ * finish reasons are always recorded; this policy decides what happens to payloads:
+ * <ul>
+ *   <li>{@link Mode#FULL} - the serialized payload, cut to {@code maxLength} characters
+ *   <li>{@link Mode#HASH} - a SHA-256 digest of the serialized payload, to correlate identical
+ *       inputs without exporting their content
+ *   <li>{@link Mode#NONE} - nothing, metadata only
+ * </ul>
+ *
+ * <p>Payloads are serialized only after a span has started and only when it is recording, that is
+ * when the tracer's sampler kept it, and only for the {@code sampleRatio} share of traces. The
+ * choice is made from the trace id, so a trace carries payloads on all of its spans or on none.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * TelemetryTracer tracer = TelemetryTracer.builder()
+ *         .endpoint("http://localhost:4318/v1/traces")
+ *         .payloadCapture(PayloadCapture.builder().maxLength(4096).sampleRatio(0.1).build())
+ *         .build();
+ * }</pre>
+ */
+public final class PayloadCapture {
+
+    /** What is recorded for a payload attribute. */
+    public enum Mode {
+        /** The serialized payload, truncated to the configured maximum length. */
+        FULL,
+        /** The SHA-256 digest of the serialized payload. */
+        HASH,
+        /** No payload attributes. */
+        NONE
+    }
+
+    /** Marker appended to truncated payloads, followed by the number of characters removed. */
+    static final String TRUNCATION_MARKER = "...[truncated ";
+
+    private static final PayloadCapture FULL_CAPTURE = builder().build();
+    private static final PayloadCapture METADATA_ONLY = builder().mode(Mode.NONE).build();
+
+    private final Mode mode;
+    private final int maxLength;
+    private final double sampleRatio;
+    private final long sampleBound;
+
+    private PayloadCapture(Builder builder) {
+        if (builder.mode == null) {
+            throw new IllegalArgumentException("Mode cannot be null");
+        }
+        if (builder.maxLength <= 0) {
+            throw new IllegalArgumentException("Max length must be positive");
+        }
+        if (!(builder.sampleRatio >= 0 && builder.sampleRatio <= 1)) {
+            throw new IllegalArgumentException("Sample ratio must be between 0.0 and 1.0");
+        }
+        this.mode = builder.mode;
+        this.maxLength = builder.maxLength;
+        this.sampleRatio = builder.sampleRatio;
+        // Same bound as the OpenTelemetry trace id ratio sampler
+        this.sampleBound =
+                builder.sampleRatio == 1
+                        ? Long.MAX_VALUE
+                        : (long) (builder.sampleRatio * Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the policy recording every payload in full, which is the default.
+     *
+     * @return the full capture policy
+     */
+    public static PayloadCapture full() {
+        return FULL_CAPTURE;
+    }
+
+    /**
+     * Gets the policy recording no payloads.
+     *
+     * @return the metadata only policy
+     */
+    public static PayloadCapture metadataOnly() {
+        return METADATA_ONLY;
+    }
+
+    /**
+     * Checks whether payloads should be serialized for a started span.
+     *
+     * @param span the span
+     * @return true if the span is recording and its trace is sampled for payloads
+     */
+    boolean shouldCapture(Span span) {
+        if (mode == Mode.NONE || !span.isRecording()) {
+            return false;
+        }
+        if (sampleRatio == 1) {
+            return true;
+        }
+        SpanContext context = span.getSpanContext();
+        if (!context.isValid()) {
+            return false;
+        }
+        String traceId = context.getTraceId();
+        long randomness = Long.parseUnsignedLong(traceId.substring(16), 16) & Long.MAX_VALUE;
+        return randomness < sampleBound;
+    }
+
+    /**
+     * Applies the policy to a serialized payload.
+     *
+     * @param payload the serialized payload, may be null
+     * @return the value to record, or null to record nothing
+     */
+    String apply(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        return switch (mode) {
+            case NONE -> null;
+            case HASH -> "sha256:" + sha256(payload);
+            case FULL -> truncate(payload);
+        };
+    }
+
+    private String truncate(String payload) {
+        if (payload.length() <= maxLength) {
+            return payload;
+        }
+        int end = maxLength;
+        if (Character.isHighSurrogate(payload.charAt(end - 1))) {
+            end--;
+        }
+        return payload.substring(0, end) + TRUNCATION_MARKER + (payload.length() - end) + " chars]";
+    }
+
+    private static String sha256(String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(payload.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the capture mode.
+     *
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the maximum length of a recorded payload in {@link Mode#FULL}.
+     *
+     * @return the maximum number of characters
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Gets the share of traces whose spans carry payloads.
+     *
+     * @return the ratio, between 0.0 and 1.0
+     */
+    public double getSampleRatio() {
+        return sampleRatio;
+    }
+
+    /**
+     * Creates a new builder for PayloadCapture.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for PayloadCapture.
+     */
+    public static class Builder {
+        private Mode mode = Mode.FULL;
+        private int maxLength = Integer.MAX_VALUE;
+        private double sampleRatio = 1.0;
+
+        private Builder() {}
+
+        /**
+         * Sets what is recorded for payload attributes.
+         *
+         * @param mode the capture mode (defaults to {@link Mode#FULL})
+         * @return this builder for method chaining
+         */
+        public Builder mode(Mode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        /**
+         * Sets the maximum length of a recorded payload. Longer payloads are cut and end with a
+         * marker giving the number of characters removed.
+         *
+         * @param maxLength the maximum number of characters (must be positive, defaults to no
+         *     limit)
+         * @return this builder for method chaining
+         */
+        public Builder maxLength(int maxLength) {
+            this.maxLength = maxLength;
+            return this;
+        }
+
+        /**
+         * Sets the share of traces whose spans carry payloads; the others only carry metadata.
+         *
+         * @param sampleRatio the ratio (must be between 0.0 and 1.0, defaults to 1.0)
+         * @return this builder for method chaining
+         */
+        public Builder sampleRatio(double sampleRatio) {
+            this.sampleRatio = sampleRatio;
+            return this;
+        }
+
+        /**
+         * Builds a new PayloadCapture instance.
+         *
+         * @return a new PayloadCapture instance
+         * @throws IllegalArgumentException if a parameter is out of range
+         */
+        public PayloadCapture build() {
+            return new PayloadCapture(this);
+        }
+    }
+}
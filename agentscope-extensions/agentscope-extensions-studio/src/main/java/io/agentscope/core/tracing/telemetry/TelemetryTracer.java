@@ -19,15 +19,20 @@ package io.agentscope.core.tracing.telemetry;
 import static io.agentscope.core.tracing.telemetry.AgentScopeIncubatingAttributes.AGENTSCOPE_FUNCTION_NAME;
 import static io.agentscope.core.tracing.telemetry.AgentScopeIncubatingAttributes.GenAiOperationNameAgentScopeIncubatingValues.FORMAT;
 import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getAgentRequestAttributes;
-import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getAgentResponseAttributes;
+import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getAgentRequestPayloadAttributes;
+import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getAgentResponsePayloadAttributes;
 import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getCommonAttributes;
 import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getFormatRequestAttributes;
-import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getFormatResponseAttributes;
+import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getFormatRequestPayloadAttributes;
+import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getFormatResponsePayloadAttributes;
 import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getFunctionName;
 import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getLLMRequestAttributes;
+import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getLLMRequestPayloadAttributes;
 import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getLLMResponseAttributes;
+import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getLLMResponsePayloadAttributes;
 import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getToolRequestAttributes;
-import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getToolResponseAttributes;
+import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getToolRequestPayloadAttributes;
+import static io.agentscope.core.tracing.telemetry.AttributesExtractors.getToolResponsePayloadAttributes;
 import static io.agentscope.core.tracing.telemetry.GenAiIncubatingAttributes.GenAiOperationNameIncubatingValues.CHAT;
 import static io.agentscope.core.tracing.telemetry.GenAiIncubatingAttributes.GenAiOperationNameIncubatingValues.EXECUTE_TOOL;
 import static io.agentscope.core.tracing.telemetry.GenAiIncubatingAttributes.GenAiOperationNameIncubatingValues.INVOKE_AGENT;
@@ -64,19 +69,45 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.context.ContextView;
 
+/**
+ * {@link Tracer} recording agent, model, tool and formatter calls as OpenTelemetry spans with
+ * GenAI semantic convention attributes.
+ *
+ * <p>Metadata attributes are set when a span is built, so samplers can see them. Message, tool and
+ * function payloads are serialized only once a span has started and is recording, according to
+ * the {@link PayloadCapture} policy; spans dropped by the sampler cost no serialization at all.
+ */
 public class TelemetryTracer implements Tracer {
 
     private final io.opentelemetry.api.trace.Tracer tracer;
     private final SdkTracerProvider sdkTracerProvider;
+    private final PayloadCapture payloadCapture;
 
     public TelemetryTracer(io.opentelemetry.api.trace.Tracer tracer) {
-        this(tracer, null);
+        this(tracer, null, PayloadCapture.full());
+    }
+
+    /**
+     * Creates a tracer recording spans with the given OpenTelemetry tracer.
+     *
+     * @param tracer The OpenTelemetry tracer
+     * @param payloadCapture Policy for message, tool and function payloads
+     */
+    public TelemetryTracer(
+            io.opentelemetry.api.trace.Tracer tracer, PayloadCapture payloadCapture) {
+        this(tracer, null, payloadCapture);
     }
 
     private TelemetryTracer(
-            io.opentelemetry.api.trace.Tracer tracer, SdkTracerProvider sdkTracerProvider) {
+            io.opentelemetry.api.trace.Tracer tracer,
+            SdkTracerProvider sdkTracerProvider,
+            PayloadCapture payloadCapture) {
+        if (payloadCapture == null) {
+            throw new IllegalArgumentException("Payload capture cannot be null");
+        }
         this.tracer = tracer;
         this.sdkTracerProvider = sdkTracerProvider;
+        this.payloadCapture = payloadCapture;
     }
 
     @Override
@@ -90,20 +121,30 @@ public class TelemetryTracer implements Tracer {
                     SpanBuilder spanBuilder =
                             tracer.spanBuilder(INVOKE_AGENT + " " + instance.getName())
                                     .setParent(parentContext);
-                    spanBuilder.setAllAttributes(
-                            getAgentRequestAttributes(instance, inputMessages));
+                    spanBuilder.setAllAttributes(getAgentRequestAttributes(instance));
                     spanBuilder.setAllAttributes(getCommonAttributes());
                     spanBuilder.setAttribute(
                             AGENTSCOPE_FUNCTION_NAME, getFunctionName(instance, "callAgent"));
 
                     Span span = spanBuilder.startSpan();
+                    boolean capture = payloadCapture.shouldCapture(span);
+                    if (capture) {
+                        span.setAllAttributes(
+                                getAgentRequestPayloadAttributes(inputMessages, payloadCapture));
+                    }
                     Context otelContext = span.storeInContext(parentContext);
 
                     return otelContext
                             .wrapSupplier(agentCall)
                             .get()
                             .doOnSuccess(
-                                    msg -> span.setAllAttributes(getAgentResponseAttributes(msg)))
+                                    msg -> {
+                                        if (capture) {
+                                            span.setAllAttributes(
+                                                    getAgentResponsePayloadAttributes(
+                                                            msg, payloadCapture));
+                                        }
+                                    })
                             .doOnError(span::recordException)
                             .doFinally(unuse -> span.end())
                             .contextWrite(
@@ -128,26 +169,46 @@ public class TelemetryTracer implements Tracer {
                     SpanBuilder spanBuilder =
                             tracer.spanBuilder(CHAT + " " + instance.getModelName())
                                     .setParent(parentContext);
-                    spanBuilder.setAllAttributes(
-                            getLLMRequestAttributes(instance, inputMessages, toolSchemas, options));
+                    spanBuilder.setAllAttributes(getLLMRequestAttributes(instance, options));
                     spanBuilder.setAllAttributes(getCommonAttributes());
                     spanBuilder.setAttribute(
                             AGENTSCOPE_FUNCTION_NAME, getFunctionName(instance, "callModel"));
 
                     Span span = spanBuilder.startSpan();
+                    boolean capture = payloadCapture.shouldCapture(span);
+                    if (capture) {
+                        span.setAllAttributes(
+                                getLLMRequestPayloadAttributes(
+                                        inputMessages, toolSchemas, options, payloadCapture));
+                    }
                     Context otelContext = span.storeInContext(parentContext);
 
+                    Flux<ChatResponse> responses = otelContext.wrapSupplier(modelCall).get();
+                    if (!span.isRecording()) {
+                        // Nothing to record, so no need to aggregate the stream
+                        return responses
+                                .doFinally(unuse -> span.end())
+                                .contextWrite(
+                                        ctx ->
+                                                ContextPropagationOperator
+                                                        .storeOpenTelemetryContext(
+                                                                ctx, otelContext));
+                    }
+
                     StreamChatResponseAggregator aggregator = StreamChatResponseAggregator.create();
 
-                    return otelContext
-                            .wrapSupplier(modelCall)
-                            .get()
+                    return responses
                             .doOnNext(aggregator::append)
                             .doOnError(span::recordException)
                             .doFinally(
                                     unuse -> {
                                         ChatResponse response = aggregator.getResponse();
                                         span.setAllAttributes(getLLMResponseAttributes(response));
+                                        if (capture) {
+                                            span.setAllAttributes(
+                                                    getLLMResponsePayloadAttributes(
+                                                            response, payloadCapture));
+                                        }
                                         span.end();
                                     })
                             .contextWrite(
@@ -179,15 +240,24 @@ public class TelemetryTracer implements Tracer {
                             AGENTSCOPE_FUNCTION_NAME, getFunctionName(instance, "callTool"));
 
                     Span span = spanBuilder.startSpan();
+                    boolean capture = payloadCapture.shouldCapture(span);
+                    if (capture) {
+                        span.setAllAttributes(
+                                getToolRequestPayloadAttributes(toolUseBlock, payloadCapture));
+                    }
                     Context otelContext = span.storeInContext(parentContext);
 
                     return otelContext
                             .wrapSupplier(toolKitCall)
                             .get()
                             .doOnSuccess(
-                                    result ->
+                                    result -> {
+                                        if (capture) {
                                             span.setAllAttributes(
-                                                    getToolResponseAttributes(result)))
+                                                    getToolResponsePayloadAttributes(
+                                                            result, payloadCapture));
+                                        }
+                                    })
                             .doOnError(span::recordException)
                             .doFinally(
                                     unuse -> {
@@ -208,15 +278,21 @@ public class TelemetryTracer implements Tracer {
         String formatterTarget =
                 FormatterConverter.getFormatterTarget(formatter.getClass().getSimpleName());
         SpanBuilder spanBuilder = tracer.spanBuilder(FORMAT + " " + formatterTarget);
-        spanBuilder.setAllAttributes(getFormatRequestAttributes(formatter, msgs));
+        spanBuilder.setAllAttributes(getFormatRequestAttributes(formatter));
         spanBuilder.setAllAttributes(getCommonAttributes());
         spanBuilder.setAttribute(AGENTSCOPE_FUNCTION_NAME, getFunctionName(formatter, "format"));
         Span span = spanBuilder.startSpan();
+        boolean capture = payloadCapture.shouldCapture(span);
+        if (capture) {
+            span.setAllAttributes(getFormatRequestPayloadAttributes(msgs, payloadCapture));
+        }
 
         List<TReq> result = null;
         try (Scope scope = span.makeCurrent()) {
             result = formatCall.get();
-            span.setAllAttributes(getFormatResponseAttributes(result));
+            if (capture) {
+                span.setAllAttributes(getFormatResponsePayloadAttributes(result, payloadCapture));
+            }
         } catch (Exception e) {
             span.recordException(e);
         } finally {
@@ -253,6 +329,8 @@ public class TelemetryTracer implements Tracer {
         private String endpoint;
         private Map<String, String> headers = new HashMap<>();
         private io.opentelemetry.api.trace.Tracer tracer;
+        private Sampler sampler = Sampler.alwaysOn();
+        private PayloadCapture payloadCapture = PayloadCapture.full();
 
         public Builder enabled(boolean enabled) {
             this.enabled = enabled;
@@ -292,13 +370,39 @@ public class TelemetryTracer implements Tracer {
             return this;
         }
 
+        /**
+         * Sets the sampler deciding which traces are recorded and exported. Ignored when a tracer
+         * is supplied, whose provider does its own sampling.
+         *
+         * @param sampler The sampler, defaults to {@link Sampler#alwaysOn()}
+         * @return This builder
+         */
+        public Builder sampler(Sampler sampler) {
+            this.sampler = sampler;
+            return this;
+        }
+
+        /**
+         * Sets the policy for message, tool and function payloads recorded on spans.
+         *
+         * @param payloadCapture The policy, defaults to {@link PayloadCapture#full()}
+         * @return This builder
+         */
+        public Builder payloadCapture(PayloadCapture payloadCapture) {
+            this.payloadCapture = payloadCapture;
+            return this;
+        }
+
         public TelemetryTracer build() {
             if (!enabled) {
-                return new TelemetryTracer(NOOP_TRACER);
+                return new TelemetryTracer(NOOP_TRACER, payloadCapture);
             }
 
             if (tracer != null) {
-                return new TelemetryTracer(tracer);
+                return new TelemetryTracer(tracer, payloadCapture);
+            }
+            if (sampler == null) {
+                throw new IllegalArgumentException("Sampler cannot be null");
             }
 
             var exporterBuilder = OtlpHttpSpanExporter.builder().setEndpoint(endpoint);
@@ -312,11 +416,13 @@ public class TelemetryTracer implements Tracer {
                     SdkTracerProvider.builder()
                             .addSpanProcessor(
                                     BatchSpanProcessor.builder(exporterBuilder.build()).build())
-                            .setSampler(Sampler.alwaysOn())
+                            .setSampler(sampler)
                             .build();
 
             return new TelemetryTracer(
-                    tracerProvider.get(INSTRUMENTATION_NAME, Version.VERSION), tracerProvider);
+                    tracerProvider.get(INSTRUMENTATION_NAME, Version.VERSION),
+                    tracerProvider,
+                    payloadCapture);
         }
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.agentscope.core.tracing.telemetry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PayloadCapture Tests")
+class PayloadCaptureTest {
+
+    @Test
+    @DisplayName("Full capture should keep payloads up to the maximum length")
+    void testTruncation() {
+        PayloadCapture capture = PayloadCapture.builder().maxLength(5).build();
+
+        assertEquals("abcde", capture.apply("abcde"));
+        assertEquals("abcde...[truncated 3 chars]", capture.apply("abcdefgh"));
+        assertNull(capture.apply(null));
+        assertEquals("x".repeat(10_000), PayloadCapture.full().apply("x".repeat(10_000)));
+    }
+
+    @Test
+    @DisplayName("Truncation should not split a surrogate pair")
+    void testTruncationKeepsSurrogatePairs() {
+        PayloadCapture capture = PayloadCapture.builder().maxLength(2).build();
+
+        assertEquals("a...[truncated 3 chars]", capture.apply("a😀b"));
+    }
+
+    @Test
+    @DisplayName("Hash mode should record a stable digest instead of the payload")
+    void testHash() {
+        PayloadCapture capture = PayloadCapture.builder().mode(PayloadCapture.Mode.HASH).build();
+
+        assertEquals(
+                "sha256:ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                capture.apply("abc"));
+    }
+
+    @Test
+    @DisplayName("Payloads should only be captured for recording spans")
+    void testShouldCaptureRecordingSpans() {
+        Tracer tracer = SdkTracerProvider.builder().build().get("test");
+        Span recording = tracer.spanBuilder("span").startSpan();
+
+        assertTrue(PayloadCapture.full().shouldCapture(recording));
+        assertFalse(PayloadCapture.metadataOnly().shouldCapture(recording));
+        assertFalse(PayloadCapture.full().shouldCapture(Span.getInvalid()));
+        recording.end();
+    }
+
+    @Test
+    @DisplayName("Sample ratio should select traces by their trace id")
+    void testSampleRatio() {
+        PayloadCapture none = PayloadCapture.builder().sampleRatio(0).build();
+        PayloadCapture half = PayloadCapture.builder().sampleRatio(0.5).build();
+
+        Span low = recordingSpan("00000000000000000000000000000001");
+        Span high = recordingSpan("00000000000000007fffffffffffffff");
+
+        assertFalse(none.shouldCapture(low));
+        assertTrue(half.shouldCapture(low));
+        assertFalse(half.shouldCapture(high));
+    }
+
+    @Test
+    @DisplayName("Builder should validate parameters")
+    void testInvalidParameters() {
+        assertThrows(
+                IllegalArgumentException.class, () -> PayloadCapture.builder().mode(null).build());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PayloadCapture.builder().maxLength(0).build());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PayloadCapture.builder().sampleRatio(1.5).build());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PayloadCapture.builder().sampleRatio(Double.NaN).build());
+    }
+
+    private static Span recordingSpan(String traceId) {
+        IdGenerator ids =
+                new IdGenerator() {
+                    @Override
+                    public String generateSpanId() {
+                        return "0000000000000001";
+                    }
+
+                    @Override
+                    public String generateTraceId() {
+                        return traceId;
+                    }
+                };
+        Tracer tracer = SdkTracerProvider.builder().setIdGenerator(ids).build().get("test");
+        return tracer.spanBuilder("span").startSpan();
+    }
+}
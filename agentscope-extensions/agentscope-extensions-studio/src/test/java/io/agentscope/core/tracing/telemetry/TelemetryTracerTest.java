@@ -15,12 +15,33 @@
  */
 package io.agentscope.core.tracing.telemetry;
 
+import static io.agentscope.core.tracing.telemetry.AgentScopeIncubatingAttributes.AGENTSCOPE_FUNCTION_OUTPUT;
+import static io.agentscope.core.tracing.telemetry.GenAiIncubatingAttributes.GEN_AI_TOOL_CALL_ARGUMENTS;
+import static io.agentscope.core.tracing.telemetry.GenAiIncubatingAttributes.GEN_AI_TOOL_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.tool.ToolCallParam;
+import io.agentscope.core.tool.Toolkit;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 @DisplayName("TelemetryTracer Tests")
 class TelemetryTracerTest {
@@ -110,4 +131,86 @@ class TelemetryTracerTest {
 
         assertNotNull(tracer);
     }
+
+    @Test
+    @DisplayName("Full capture should record tool payloads")
+    void testFullPayloadCapture() {
+        List<SpanData> spans = callTool(PayloadCapture.full(), Sampler.alwaysOn());
+
+        assertEquals(1, spans.size());
+        assertEquals("search", spans.get(0).getAttributes().get(GEN_AI_TOOL_NAME));
+        assertEquals(
+                "{\"query\":\"otel\"}",
+                spans.get(0).getAttributes().get(GEN_AI_TOOL_CALL_ARGUMENTS));
+        assertTrue(spans.get(0).getAttributes().get(AGENTSCOPE_FUNCTION_OUTPUT).contains("found"));
+    }
+
+    @Test
+    @DisplayName("Metadata only capture should record no tool payloads")
+    void testMetadataOnlyCapture() {
+        List<SpanData> spans = callTool(PayloadCapture.metadataOnly(), Sampler.alwaysOn());
+
+        assertEquals(1, spans.size());
+        assertEquals("search", spans.get(0).getAttributes().get(GEN_AI_TOOL_NAME));
+        assertNull(spans.get(0).getAttributes().get(GEN_AI_TOOL_CALL_ARGUMENTS));
+        assertNull(spans.get(0).getAttributes().get(AGENTSCOPE_FUNCTION_OUTPUT));
+    }
+
+    @Test
+    @DisplayName("Truncating capture should cut tool payloads")
+    void testTruncatedCapture() {
+        PayloadCapture capture = PayloadCapture.builder().maxLength(4).build();
+        List<SpanData> spans = callTool(capture, Sampler.alwaysOn());
+
+        assertEquals(
+                "{\"qu" + PayloadCapture.TRUNCATION_MARKER + "12 chars]",
+                spans.get(0).getAttributes().get(GEN_AI_TOOL_CALL_ARGUMENTS));
+    }
+
+    @Test
+    @DisplayName("Spans dropped by the sampler should not be exported")
+    void testSampledOut() {
+        assertTrue(callTool(PayloadCapture.full(), Sampler.alwaysOff()).isEmpty());
+    }
+
+    private static List<SpanData> callTool(PayloadCapture capture, Sampler sampler) {
+        List<SpanData> exported = new CopyOnWriteArrayList<>();
+        SpanExporter exporter =
+                new SpanExporter() {
+                    @Override
+                    public CompletableResultCode export(Collection<SpanData> spans) {
+                        exported.addAll(spans);
+                        return CompletableResultCode.ofSuccess();
+                    }
+
+                    @Override
+                    public CompletableResultCode flush() {
+                        return CompletableResultCode.ofSuccess();
+                    }
+
+                    @Override
+                    public CompletableResultCode shutdown() {
+                        return CompletableResultCode.ofSuccess();
+                    }
+                };
+        SdkTracerProvider provider =
+                SdkTracerProvider.builder()
+                        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .setSampler(sampler)
+                        .build();
+        TelemetryTracer tracer = new TelemetryTracer(provider.get("test"), capture);
+
+        ToolUseBlock toolUse = new ToolUseBlock("call-1", "search", Map.of("query", "otel"));
+        ToolCallParam param = ToolCallParam.builder().toolUseBlock(toolUse).build();
+        StepVerifier.create(
+                        tracer.callTool(
+                                new Toolkit(),
+                                param,
+                                () -> Mono.just(ToolResultBlock.text("found 3 results"))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        provider.close();
+        return exported;
+    }
 }
@@ -40,6 +40,8 @@ import reactor.core.publisher.Mono;
  * <p>Implementations:
  * <ul>
  *   <li>{@code WorkspaceMessageBus} — single-process, no external dependencies</li>
+ *   <li>{@code SegmentedLogMessageBus} — single-node, segmented local log files with in-process
+ *       pub/sub</li>
  * </ul>
  */
 public interface MessageBus extends AutoCloseable {
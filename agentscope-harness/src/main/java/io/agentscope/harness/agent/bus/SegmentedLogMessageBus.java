@@ -0,0 +1,700 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.bus;
+
+import io.agentscope.core.util.JsonUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Single-node {@link MessageBus} backed by segmented append-only log files on local disk.
+ *
+ * <p>Every queue and replay log is a stream of JSON lines split across segment files named after
+ * the offset of their first entry. Entry ids are the zero-padded offsets. An in-memory index of
+ * each segment's line positions, rebuilt by one scan when a stream is first opened, makes an
+ * append a single positional write and a read or drain of {@code k} entries one contiguous read per
+ * segment touched. Each stream keeps a head cursor (the first live offset) in a small {@code head}
+ * file: draining a queue or capping a log by {@code maxLen} only moves the cursor, and segments
+ * entirely behind it are deleted.
+ *
+ * <p>With a positive {@link Builder#syncInterval(Duration) sync interval}, writes are forced to
+ * disk by a background group commit and {@link #queuePush} / {@link #logAppend} complete once the
+ * sync covering them has finished, so a burst of appends shares one {@code fsync}. A commit forces
+ * every segment written since the previous one and, after a segment file was created, the stream
+ * directory as well; the waiting appends are then completed on {@code Schedulers.boundedElastic()}
+ * rather than on the sync thread. Cursor moves ride on the same syncs without waiting for them; a
+ * crash can therefore redeliver entries drained shortly before it. With {@link Duration#ZERO}
+ * nothing is forced explicitly.
+ *
+ * <p>Mode D pub/sub is delivered in process: {@link #publish} pushes the payload to every current
+ * {@link #subscribe} subscriber of the key before returning. Subscribers that cannot keep up miss
+ * payloads rather than slowing the publisher.
+ *
+ * <p>Use it as {@code DistributedStore.builder().messageBus(...)} for single-node deployments;
+ * cross-process delivery needs a shared transport. File layout under the bus directory:
+ * <pre>
+ * {directory}/
+ *   queues/{key-hash}/
+ *     head                         — first undrained offset
+ *     {baseOffset}.log             — Mode A entries, one JSON document per line
+ *   logs/{key-hash}/
+ *     head                         — first retained offset
+ *     {baseOffset}.log             — Mode C entries
+ * </pre>
+ */
+public final class SegmentedLogMessageBus implements MessageBus {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentedLogMessageBus.class);
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String HEAD_FILE = "head";
+    private static final byte NEWLINE = '\n';
+    private static final boolean WINDOWS =
+            System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Duration syncInterval;
+
+    private final ConcurrentHashMap<String, LogStream> streams = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+
+    /** Streams written since the last group commit. */
+    private final Set<LogStream> dirty = ConcurrentHashMap.newKeySet();
+
+    /** Completed by the group commit that covers every append made while it is current. */
+    private final AtomicReference<Sinks.Empty<Void>> nextSync =
+            new AtomicReference<>(Sinks.empty());
+
+    private final ScheduledExecutorService syncer;
+
+    private SegmentedLogMessageBus(Builder builder) {
+        this.directory = builder.directory;
+        this.segmentBytes = builder.segmentBytes;
+        this.syncInterval = builder.syncInterval;
+        if (syncInterval.isZero()) {
+            this.syncer = null;
+        } else {
+            this.syncer =
+                    Executors.newSingleThreadScheduledExecutor(
+                            r -> {
+                                Thread t = new Thread(r, "agentscope-bus-sync");
+                                t.setDaemon(true);
+                                return t;
+                            });
+            long periodNanos = syncInterval.toNanos();
+            syncer.scheduleWithFixedDelay(
+                    this::groupCommit, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ---- Mode A: drain queue ----
+
+    @Override
+    public Mono<String> queuePush(String key, Map<String, Object> payload) {
+        return append(queueKey(key), payload, 0);
+    }
+
+    @Override
+    public Mono<List<BusEntry>> queueDrain(String key, int maxCount) {
+        return Mono.fromCallable(
+                () -> {
+                    LogStream stream = existingStream(queueKey(key));
+                    if (stream == null) {
+                        return List.<BusEntry>of();
+                    }
+                    synchronized (stream) {
+                        List<BusEntry> entries = stream.read(stream.head, maxCount);
+                        if (!entries.isEmpty()) {
+                            stream.advanceHead(stream.head + entries.size());
+                            dirty.add(stream);
+                        }
+                        return entries;
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Void> queueDelete(String key) {
+        return Mono.fromRunnable(() -> delete(queueKey(key)));
+    }
+
+    @Override
+    public Mono<Boolean> queuePeek(String key) {
+        return Mono.fromCallable(
+                () -> {
+                    LogStream stream = existingStream(queueKey(key));
+                    if (stream == null) {
+                        return false;
+                    }
+                    synchronized (stream) {
+                        return stream.next > stream.head;
+                    }
+                });
+    }
+
+    // ---- Mode C: replay log ----
+
+    @Override
+    public Mono<String> logAppend(String key, Map<String, Object> payload, int maxLen) {
+        return append(logKey(key), payload, maxLen);
+    }
+
+    @Override
+    public Mono<List<BusEntry>> logRead(String key, String since, int maxCount) {
+        return Mono.fromCallable(
+                () -> {
+                    LogStream stream = existingStream(logKey(key));
+                    if (stream == null) {
+                        return List.<BusEntry>of();
+                    }
+                    long from = since != null ? parseOffset(since) + 1 : 0;
+                    synchronized (stream) {
+                        return stream.read(Math.max(from, stream.head), maxCount);
+                    }
+                });
+    }
+
+    @Override
+    public Mono<Void> logTrim(String key) {
+        return Mono.fromRunnable(() -> delete(logKey(key)));
+    }
+
+    // ---- Mode D: in-process pub/sub ----
+
+    @Override
+    public Mono<Void> publish(String key, Map<String, Object> payload) {
+        return Mono.fromRunnable(
+                () -> {
+                    Channel channel = channels.get(key);
+                    if (channel != null) {
+                        // Publishers may race; the sink requires serialized emission.
+                        synchronized (channel) {
+                            channel.sink.tryEmitNext(payload);
+                        }
+                    }
+                });
+    }
+
+    @Override
+    public Flux<Map<String, Object>> subscribe(String key) {
+        return Flux.defer(
+                () -> {
+                    Channel channel =
+                            channels.compute(
+                                    key,
+                                    (k, existing) -> {
+                                        Channel c = existing != null ? existing : new Channel();
+                                        c.subscribers++;
+                                        return c;
+                                    });
+                    return channel.sink
+                            .asFlux()
+                            .doFinally(
+                                    signal ->
+                                            channels.computeIfPresent(
+                                                    key,
+                                                    (k, c) -> --c.subscribers == 0 ? null : c));
+                });
+    }
+
+    @Override
+    public void close() {
+        if (syncer != null) {
+            syncer.shutdown();
+            try {
+                syncer.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            groupCommit();
+        }
+        for (LogStream stream : streams.values()) {
+            synchronized (stream) {
+                stream.close();
+            }
+        }
+        streams.clear();
+        for (Channel channel : channels.values()) {
+            synchronized (channel) {
+                channel.sink.tryEmitComplete();
+            }
+        }
+        channels.clear();
+    }
+
+    // ---- Internal helpers ----
+
+    private Mono<String> append(String streamKey, Map<String, Object> payload, int maxLen) {
+        Mono<String> written =
+                Mono.fromCallable(
+                        () -> {
+                            byte[] line =
+                                    (JsonUtils.getJsonCodec().toJson(payload) + "\n")
+                                            .getBytes(StandardCharsets.UTF_8);
+                            LogStream stream = stream(streamKey);
+                            long offset;
+                            synchronized (stream) {
+                                offset = stream.append(line);
+                                if (maxLen > 0 && stream.next - stream.head > maxLen) {
+                                    stream.advanceHead(stream.next - maxLen);
+                                }
+                            }
+                            dirty.add(stream);
+                            return entryId(offset);
+                        });
+        if (syncer == null) {
+            return written;
+        }
+        // The pending commit is read after the stream was marked dirty, so the commit that
+        // completes it forces this write. Waiters resume off the sync thread so that their
+        // continuations cannot delay the next commit.
+        return written.flatMap(
+                entryId ->
+                        nextSync.get()
+                                .asMono()
+                                .publishOn(Schedulers.boundedElastic())
+                                .thenReturn(entryId));
+    }
+
+    /** Forces every stream written since the previous commit and releases the waiting appends. */
+    private void groupCommit() {
+        Sinks.Empty<Void> committing = nextSync.getAndSet(Sinks.empty());
+        List<LogStream> batch = new ArrayList<>(dirty);
+        dirty.removeAll(batch);
+        IOException failure = null;
+        for (LogStream stream : batch) {
+            try {
+                synchronized (stream) {
+                    stream.force();
+                }
+            } catch (IOException e) {
+                log.warn("Failed to sync message bus stream {}: {}", stream.dir, e.getMessage());
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            committing.tryEmitError(new UncheckedIOException(failure));
+        } else {
+            committing.tryEmitEmpty();
+        }
+    }
+
+    private LogStream stream(String streamKey) {
+        return streams.computeIfAbsent(
+                streamKey,
+                k -> {
+                    try {
+                        return LogStream.open(directory.resolve(k), segmentBytes);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to open message bus stream " + k, e);
+                    }
+                });
+    }
+
+    /** Returns the stream if it has been written, without creating it on disk. */
+    private LogStream existingStream(String streamKey) {
+        LogStream stream = streams.get(streamKey);
+        if (stream != null || !Files.isDirectory(directory.resolve(streamKey))) {
+            return stream;
+        }
+        return stream(streamKey);
+    }
+
+    private void delete(String streamKey) {
+        LogStream stream = streams.remove(streamKey);
+        if (stream != null) {
+            synchronized (stream) {
+                stream.close();
+            }
+            dirty.remove(stream);
+        }
+        Path dir = directory.resolve(streamKey);
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete message bus stream " + streamKey, e);
+        }
+    }
+
+    private static String queueKey(String key) {
+        return "queues/" + WorkspaceMessageBus.hashKey(key);
+    }
+
+    private static String logKey(String key) {
+        return "logs/" + WorkspaceMessageBus.hashKey(key);
+    }
+
+    private static String entryId(long offset) {
+        return String.format("%020d", offset);
+    }
+
+    private static long parseOffset(String entryId) {
+        try {
+            return Long.parseLong(entryId);
+        } catch (NumberFormatException e) {
+            // Not an id from this bus: read from the beginning, as an unknown cursor does.
+            return -1;
+        }
+    }
+
+    /** One queue or log: its segments, line index and head cursor. Guarded by its monitor. */
+    private static final class LogStream {
+        private final Path dir;
+        private final long segmentBytes;
+        private final FileChannel headChannel;
+        private final List<Segment> segments = new ArrayList<>();
+
+        /** Segments written since the last {@link #force()}; more than one after a rollover. */
+        private final Set<Segment> unsynced = new LinkedHashSet<>();
+
+        /** Whether a file was created in {@link #dir} since the last {@link #force()}. */
+        private boolean dirUnsynced;
+
+        private long head;
+        private long next;
+
+        private LogStream(Path dir, long segmentBytes, FileChannel headChannel) {
+            this.dir = dir;
+            this.segmentBytes = segmentBytes;
+            this.headChannel = headChannel;
+        }
+
+        static LogStream open(Path dir, long segmentBytes) throws IOException {
+            Files.createDirectories(dir);
+            FileChannel headChannel =
+                    FileChannel.open(
+                            dir.resolve(HEAD_FILE),
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+            LogStream stream = new LogStream(dir, segmentBytes, headChannel);
+            stream.dirUnsynced = true;
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(dir)) {
+                files =
+                        listing.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                                .sorted(Comparator.comparing(p -> p.getFileName().toString()))
+                                .toList();
+            }
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long base =
+                        Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                stream.segments.add(Segment.recover(file, base));
+            }
+            long first = 1;
+            if (!stream.segments.isEmpty()) {
+                first = stream.segments.get(0).base;
+                stream.next = stream.segments.get(stream.segments.size() - 1).end();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+            long storedHead = 0;
+            if (headChannel.read(buffer, 0) == Long.BYTES) {
+                storedHead = buffer.getLong(0);
+            }
+            stream.head = Math.max(storedHead, first);
+            stream.next = Math.max(stream.next, stream.head);
+            return stream;
+        }
+
+        long append(byte[] line) throws IOException {
+            Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (active == null || active.size >= segmentBytes) {
+                active = Segment.create(dir.resolve(segmentName(next)), next);
+                segments.add(active);
+                dirUnsynced = true;
+            }
+            active.append(line);
+            unsynced.add(active);
+            return next++;
+        }
+
+        /** Reads up to {@code maxCount} entries starting at {@code from}. */
+        List<BusEntry> read(long from, int maxCount) throws IOException {
+            long start = Math.max(from, head);
+            long end = Math.min(next, start + Math.max(0, maxCount));
+            List<BusEntry> entries = new ArrayList<>((int) Math.max(0, end - start));
+            long offset = start;
+            for (Segment segment : segments) {
+                if (offset >= end) {
+                    break;
+                }
+                if (segment.end() <= offset) {
+                    continue;
+                }
+                long upTo = Math.min(end, segment.end());
+                segment.read(offset, upTo, entries);
+                offset = upTo;
+            }
+            return entries;
+        }
+
+        /** Moves the head to {@code newHead} and deletes segments entirely behind it. */
+        void advanceHead(long newHead) throws IOException {
+            head = newHead;
+            headChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, head), 0);
+            while (segments.size() > 1 && segments.get(0).end() <= head) {
+                Segment dropped = segments.remove(0);
+                unsynced.remove(dropped);
+                dropped.channel.close();
+                Files.deleteIfExists(dropped.path);
+            }
+        }
+
+        void force() throws IOException {
+            if (!headChannel.isOpen()) {
+                // Deleted or closed since it was marked dirty.
+                return;
+            }
+            for (Segment segment : unsynced) {
+                segment.channel.force(false);
+            }
+            unsynced.clear();
+            headChannel.force(false);
+            if (dirUnsynced) {
+                forceDirectory(dir);
+                dirUnsynced = false;
+            }
+        }
+
+        void close() {
+            try {
+                for (Segment segment : segments) {
+                    segment.channel.close();
+                }
+                headChannel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close message bus stream {}: {}", dir, e.getMessage());
+            }
+        }
+
+        /**
+         * Makes newly created entries of {@code dir} durable. Directories cannot be opened for
+         * syncing on Windows, where file creation does not need it.
+         */
+        private static void forceDirectory(Path dir) throws IOException {
+            if (WINDOWS) {
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+                channel.force(true);
+            }
+        }
+
+        private static String segmentName(long base) {
+            return String.format("%020d", base) + SEGMENT_SUFFIX;
+        }
+    }
+
+    /** One segment file with the byte position of every line it holds. */
+    private static final class Segment {
+        private final Path path;
+        private final long base;
+        private final FileChannel channel;
+        private long[] positions = new long[64];
+        private int count;
+        private long size;
+
+        private Segment(Path path, long base, FileChannel channel) {
+            this.path = path;
+            this.base = base;
+            this.channel = channel;
+        }
+
+        static Segment create(Path path, long base) throws IOException {
+            return new Segment(
+                    path,
+                    base,
+                    FileChannel.open(
+                            path,
+                            StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE));
+        }
+
+        /** Opens an existing segment, indexing its lines and cutting off a torn last line. */
+        static Segment recover(Path path, long base) throws IOException {
+            Segment segment =
+                    new Segment(
+                            path,
+                            base,
+                            FileChannel.open(
+                                    path, StandardOpenOption.READ, StandardOpenOption.WRITE));
+            byte[] bytes = Files.readAllBytes(path);
+            int lineStart = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] == NEWLINE) {
+                    segment.index(lineStart);
+                    lineStart = i + 1;
+                }
+            }
+            segment.size = lineStart;
+            if (lineStart < bytes.length) {
+                log.warn(
+                        "Truncating {} incomplete bytes at the end of {}",
+                        bytes.length - lineStart,
+                        path);
+                segment.channel.truncate(lineStart);
+            }
+            return segment;
+        }
+
+        long end() {
+            return base + count;
+        }
+
+        void append(byte[] line) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            long position = size;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            index(size);
+            size = position;
+        }
+
+        /** Reads the lines for offsets {@code [from, to)} with a single read. */
+        void read(long from, long to, List<BusEntry> into) throws IOException {
+            int first = (int) (from - base);
+            int last = (int) (to - base);
+            long start = positions[first];
+            long stop = last < count ? positions[last] : size;
+            ByteBuffer buffer = ByteBuffer.allocate((int) (stop - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            byte[] bytes = buffer.array();
+            int lineStart = 0;
+            long offset = from;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] == NEWLINE) {
+                    String json =
+                            new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> payload =
+                            JsonUtils.getJsonCodec().fromJson(json, Map.class);
+                    into.add(new BusEntry(entryId(offset++), payload));
+                    lineStart = i + 1;
+                }
+            }
+        }
+
+        private void index(long position) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+        }
+    }
+
+    /** In-process broadcast channel, removed when its last subscriber leaves. */
+    private static final class Channel {
+        private final Sinks.Many<Map<String, Object>> sink =
+                Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+    }
+
+    /** Builder for {@link SegmentedLogMessageBus}. */
+    public static final class Builder {
+        private Path directory;
+        private long segmentBytes = 8L * 1024 * 1024;
+        private Duration syncInterval = Duration.ofMillis(10);
+
+        private Builder() {}
+
+        /** Directory holding the bus data; created if missing. Required. */
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /** Size after which a stream starts a new segment file. Defaults to 8 MiB. */
+        public Builder segmentBytes(long segmentBytes) {
+            this.segmentBytes = segmentBytes;
+            return this;
+        }
+
+        /**
+         * Interval of the group commit that forces appended entries to disk. Appends complete once
+         * the commit covering them has finished. {@link Duration#ZERO} disables explicit syncing.
+         * Defaults to 10 ms.
+         */
+        public Builder syncInterval(Duration syncInterval) {
+            this.syncInterval = syncInterval;
+            return this;
+        }
+
+        public SegmentedLogMessageBus build() {
+            if (directory == null) {
+                throw new IllegalArgumentException("directory is required");
+            }
+            if (segmentBytes <= 0) {
+                throw new IllegalArgumentException("segmentBytes must be positive");
+            }
+            Objects.requireNonNull(syncInterval, "syncInterval");
+            if (syncInterval.isNegative()) {
+                throw new IllegalArgumentException("syncInterval must not be negative");
+            }
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create " + directory, e);
+            }
+            return new SegmentedLogMessageBus(this);
+        }
+    }
+}
@@ -55,7 +55,9 @@ import reactor.core.scheduler.Schedulers;
  *   <li>Multi-agent registry with fallback to a main agent
  *   <li>Stable session mapping: same {@link MsgContext#canonicalKey()} always resolves to the same
  *       session id, giving each logical conversation its own memory
- *   <li>Per-session fair mutual exclusion preventing concurrent turns from racing
+ *   <li>Per-session fair mutual exclusion preventing concurrent turns from racing; turns waiting
+ *       for a busy session are queued without holding a thread, and may optionally be coalesced
+ *       into a single turn (see {@link #setTurnCoalescing(boolean)})
  *   <li>Outbound address tracking for proactive delivery (e.g. subagent announces)
  * </ul>
  */
@@ -69,6 +71,8 @@ public final class HarnessGateway implements Gateway, WakeupDispatcher.WakeupTar
     private final ChannelManager channelManager;
     private final MessageBus messageBus;
     private volatile SessionTurnGate sessionTurnGate = new LocalSessionTurnGate();
+    private final SessionMailbox mailbox = new SessionMailbox(() -> sessionTurnGate);
+    private volatile boolean turnCoalescing;
 
     private final AtomicReference<HarnessAgent> mainAgent = new AtomicReference<>();
     private final ConcurrentHashMap<String, HarnessAgent> agentRegistry = new ConcurrentHashMap<>();
@@ -227,6 +231,9 @@ public final class HarnessGateway implements Gateway, WakeupDispatcher.WakeupTar
                 buildRuntimeContext(
                         ctx, outboundAddress, callerContext, inboundMessage, sessionId, gateKey);
 
+        if (turnCoalescing) {
+            return mailbox.call(gateKey, messages, batch -> ha.call(batch, runtimeContext));
+        }
         return withGatedTurn(gateKey, () -> ha.call(messages, runtimeContext));
     }
 
@@ -273,6 +280,10 @@ public final class HarnessGateway implements Gateway, WakeupDispatcher.WakeupTar
                 buildRuntimeContext(
                         ctx, outboundAddress, callerContext, inboundMessage, sessionId, gateKey);
 
+        if (turnCoalescing) {
+            return mailbox.stream(
+                    gateKey, messages, batch -> ha.streamEvents(batch, runtimeContext));
+        }
         return withGatedStream(gateKey, () -> ha.streamEvents(messages, runtimeContext));
     }
 
@@ -438,6 +449,20 @@ public final class HarnessGateway implements Gateway, WakeupDispatcher.WakeupTar
         }
     }
 
+    /**
+     * Enables coalescing of inbound turns queued behind a running turn. When enabled, messages
+     * delivered through {@code run(...)} / {@code runStream(...)} while a session is busy are
+     * collected and handled by one next turn that sees all of them; every caller in the batch
+     * receives that turn's reply. The turn runs with the most recent caller's runtime context.
+     * Disabled by default, in which case each delivery gets a turn of its own. Subagent and wakeup
+     * turns are never coalesced.
+     *
+     * @param coalesce whether to coalesce queued inbound turns
+     */
+    public void setTurnCoalescing(boolean coalesce) {
+        this.turnCoalescing = coalesce;
+    }
+
     /**
      * Resolves an exposed subagent to a runnable session: returns the cached live session when
      * present, otherwise rebuilds it from the durable registry via the configured
@@ -692,59 +717,31 @@ public final class HarnessGateway implements Gateway, WakeupDispatcher.WakeupTar
     // ------------------------------------------------------------------
 
     private Mono<Msg> withGatedTurn(String gateKey, Supplier<Mono<Msg>> turn) {
-        AtomicReference<TurnLease> leaseRef = new AtomicReference<>();
-        return Mono.defer(
-                        () -> {
-                            try {
-                                leaseRef.set(sessionTurnGate.acquire(gateKey));
-                            } catch (TurnBusyException e) {
-                                log.debug(
-                                        "Skipping turn for {}: gate busy ({})",
-                                        gateKey,
-                                        e.getMessage());
-                                return Mono.empty();
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                                return Mono.error(new IllegalStateException(e));
-                            }
-                            return turn.get();
-                        })
-                .doFinally(
-                        sig -> {
-                            TurnLease lease = leaseRef.get();
-                            if (lease != null) {
-                                lease.close();
-                            }
-                        })
-                .subscribeOn(Schedulers.boundedElastic());
+        return Mono.usingWhen(
+                acquireTurn(gateKey), lease -> turn.get(), HarnessGateway::releaseTurn);
     }
 
     private Flux<AgentEvent> withGatedStream(String gateKey, Supplier<Flux<AgentEvent>> stream) {
-        AtomicReference<TurnLease> leaseRef = new AtomicReference<>();
-        return Flux.defer(
-                        () -> {
-                            try {
-                                leaseRef.set(sessionTurnGate.acquire(gateKey));
-                            } catch (TurnBusyException e) {
-                                log.debug(
-                                        "Skipping stream for {}: gate busy ({})",
-                                        gateKey,
-                                        e.getMessage());
-                                return Flux.empty();
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                                return Flux.error(new IllegalStateException(e));
-                            }
-                            return stream.get();
-                        })
-                .doFinally(
-                        sig -> {
-                            TurnLease lease = leaseRef.get();
-                            if (lease != null) {
-                                lease.close();
-                            }
-                        })
-                .subscribeOn(Schedulers.boundedElastic());
+        return Flux.usingWhen(
+                acquireTurn(gateKey), lease -> stream.get(), HarnessGateway::releaseTurn);
+    }
+
+    /**
+     * Emits the lease for {@code gateKey}, or completes empty when the gate reports it busy.
+     * Waiting for the slot holds no thread when the gate acquires asynchronously; the turn is
+     * subscribed on {@link Schedulers#boundedElastic()} once the lease is granted.
+     */
+    private Mono<TurnLease> acquireTurn(String gateKey) {
+        return Mono.defer(() -> sessionTurnGate.acquireAsync(gateKey))
+                .switchIfEmpty(
+                        Mono.<TurnLease>fromRunnable(
+                                () -> log.debug("Skipping turn for {}: gate busy", gateKey)))
+                .onErrorMap(InterruptedException.class, IllegalStateException::new)
+                .publishOn(Schedulers.boundedElastic());
+    }
+
+    private static Mono<Void> releaseTurn(TurnLease lease) {
+        return Mono.fromRunnable(lease::close);
     }
 
     // ------------------------------------------------------------------
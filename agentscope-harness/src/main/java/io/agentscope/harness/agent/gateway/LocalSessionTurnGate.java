@@ -15,29 +15,147 @@
  */
 package io.agentscope.harness.agent.gateway;
 
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 
 /**
  * Process-local fair per-key mutual exclusion for gateway turns.
  *
- * <p>Uses a fair {@link Semaphore} per key. {@link #acquire(String)} blocks until the slot is
- * available; it never throws {@link TurnBusyException}.
+ * <p>Each held key has an entry with a FIFO queue of waiters. {@link #acquireAsync(String)} grants
+ * the slot immediately when the key is free and otherwise enqueues the subscriber without holding
+ * a thread; closing a lease hands the slot to the next waiter that has not cancelled. The entry is
+ * removed as soon as the slot is released with no one waiting, so the map only holds keys with a
+ * turn in progress. {@link #acquire(String)} waits on the same queue; neither method throws {@link
+ * TurnBusyException}.
  */
 public final class LocalSessionTurnGate implements SessionTurnGate {
 
-    private final ConcurrentHashMap<String, Semaphore> gates = new ConcurrentHashMap<>();
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    /** Held keys only; an entry exists exactly while its slot is held. Guarded per key. */
+    private final ConcurrentHashMap<String, ArrayDeque<Waiter>> gates = new ConcurrentHashMap<>();
 
     @Override
     public TurnLease acquire(String key) throws InterruptedException {
-        Semaphore semaphore = gates.computeIfAbsent(key, k -> new Semaphore(1, true));
-        semaphore.acquire();
-        return semaphore::release;
+        CompletableFuture<TurnLease> future = acquireAsync(key).toFuture();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            if (!future.cancel(false)) {
+                // Granted concurrently with the interrupt: give the slot back.
+                TurnLease lease = future.getNow(null);
+                if (lease != null) {
+                    lease.close();
+                }
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public Mono<TurnLease> acquireAsync(String key) {
+        return Mono.<TurnLease>create(
+                        sink -> {
+                            Waiter waiter = new Waiter(key, sink);
+                            sink.onCancel(() -> cancel(waiter));
+                            boolean[] free = {false};
+                            gates.compute(
+                                    key,
+                                    (k, waiters) -> {
+                                        if (waiters == null) {
+                                            free[0] = true;
+                                            return new ArrayDeque<>();
+                                        }
+                                        waiters.add(waiter);
+                                        return waiters;
+                                    });
+                            if (free[0] && waiter.state.compareAndSet(WAITING, GRANTED)) {
+                                sink.success(new Lease(key));
+                            } else if (free[0]) {
+                                // Cancelled before the slot could be handed over.
+                                release(key);
+                            }
+                        })
+                // A lease handed to a subscriber that cancelled in the meantime is dropped by the
+                // sink; close it so the slot moves on.
+                .doOnDiscard(TurnLease.class, TurnLease::close);
     }
 
     @Override
     public boolean isRunning(String key) {
-        Semaphore semaphore = gates.get(key);
-        return semaphore != null && semaphore.availablePermits() == 0;
+        return gates.containsKey(key);
+    }
+
+    /** Number of keys with a turn in progress; idle keys are not retained. */
+    int size() {
+        return gates.size();
+    }
+
+    private void cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(WAITING, CANCELLED)) {
+            gates.computeIfPresent(
+                    waiter.key,
+                    (k, waiters) -> {
+                        waiters.remove(waiter);
+                        return waiters;
+                    });
+        }
+    }
+
+    private void release(String key) {
+        Waiter[] next = {null};
+        gates.computeIfPresent(
+                key,
+                (k, waiters) -> {
+                    Waiter candidate;
+                    while ((candidate = waiters.poll()) != null) {
+                        if (candidate.state.compareAndSet(WAITING, GRANTED)) {
+                            next[0] = candidate;
+                            return waiters;
+                        }
+                    }
+                    return null;
+                });
+        // Complete outside the map lock: the next turn may start on this thread.
+        if (next[0] != null) {
+            next[0].sink.success(new Lease(key));
+        }
+    }
+
+    private static final class Waiter {
+        private final String key;
+        private final MonoSink<TurnLease> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Waiter(String key, MonoSink<TurnLease> sink) {
+            this.key = key;
+            this.sink = sink;
+        }
+    }
+
+    private final class Lease implements TurnLease {
+        private final String key;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(key);
+            }
+        }
     }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.gateway;
+
+import io.agentscope.core.event.AgentEvent;
+import io.agentscope.core.event.AgentResultEvent;
+import io.agentscope.core.message.Msg;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Per-session mailbox that coalesces deliveries queued behind a running turn.
+ *
+ * <p>The first delivery for a key opens a batch and asks the {@link SessionTurnGate} for the slot.
+ * Deliveries arriving before the slot is granted join that batch instead of queueing a turn of
+ * their own. When the slot is granted the batch is closed, its messages run as one turn, and every
+ * delivery in it receives that turn's reply (or events); later deliveries open the next batch. A
+ * burst of messages sent while the agent is busy is therefore answered by a single turn that sees
+ * all of them, rather than one turn per message.
+ *
+ * <p>The turn function of the most recent delivery is used, so the turn runs with the latest
+ * caller's {@link io.agentscope.core.agent.RuntimeContext} (outbound address, inbound envelope).
+ * A batch with at least one streaming delivery runs as a stream; plain deliveries in it receive
+ * the final {@link AgentResultEvent}'s message. Cancelling a delivery does not withdraw its
+ * messages once queued. Batches are removed when they start, so idle keys hold no state.
+ */
+final class SessionMailbox {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionMailbox.class);
+
+    private final Supplier<SessionTurnGate> gate;
+
+    /** Batches waiting for the turn slot, at most one per key. */
+    private final ConcurrentHashMap<String, Batch> open = new ConcurrentHashMap<>();
+
+    SessionMailbox(Supplier<SessionTurnGate> gate) {
+        this.gate = gate;
+    }
+
+    /**
+     * Queues {@code messages} for the session and returns the reply of the turn that handles them.
+     *
+     * @param key canonical gate key
+     * @param messages messages to deliver; may be empty
+     * @param turn runs one turn over the batched messages
+     * @return the turn's reply; empty when the gate reports the key busy
+     */
+    Mono<Msg> call(String key, List<Msg> messages, Function<List<Msg>, Mono<Msg>> turn) {
+        return Mono.defer(() -> enqueue(key, messages, turn, null).result.asMono());
+    }
+
+    /**
+     * Queues {@code messages} for the session and returns the events of the turn that handles them.
+     * Events emitted before subscription are replayed.
+     *
+     * @param key canonical gate key
+     * @param messages messages to deliver; may be empty
+     * @param turn streams one turn over the batched messages
+     * @return the turn's events; empty when the gate reports the key busy
+     */
+    Flux<AgentEvent> stream(
+            String key, List<Msg> messages, Function<List<Msg>, Flux<AgentEvent>> turn) {
+        return Flux.defer(() -> enqueue(key, messages, null, turn).events.asFlux());
+    }
+
+    /** Number of batches waiting for their turn slot. */
+    int pendingBatches() {
+        return open.size();
+    }
+
+    private Batch enqueue(
+            String key,
+            List<Msg> messages,
+            Function<List<Msg>, Mono<Msg>> callTurn,
+            Function<List<Msg>, Flux<AgentEvent>> streamTurn) {
+        Batch[] created = {null};
+        Batch batch =
+                open.compute(
+                        key,
+                        (k, existing) -> {
+                            Batch b = existing;
+                            if (b == null) {
+                                b = new Batch();
+                                created[0] = b;
+                            }
+                            if (messages != null) {
+                                b.messages.addAll(messages);
+                            }
+                            b.deliveries++;
+                            if (streamTurn != null) {
+                                b.streamTurn = streamTurn;
+                                if (b.events == null) {
+                                    b.events = Sinks.many().replay().all();
+                                }
+                            } else {
+                                b.callTurn = callTurn;
+                            }
+                            return b;
+                        });
+        if (created[0] != null) {
+            start(key, batch);
+        }
+        return batch;
+    }
+
+    private void start(String key, Batch batch) {
+        Mono.usingWhen(
+                        gate.get().acquireAsync(key).publishOn(Schedulers.boundedElastic()),
+                        lease -> run(key, batch),
+                        lease -> Mono.fromRunnable(lease::close))
+                .subscribe(
+                        null,
+                        error -> {
+                            open.remove(key, batch);
+                            batch.fail(error);
+                        },
+                        () -> {
+                            // Completes without running when the gate reports the key busy.
+                            if (open.remove(key, batch)) {
+                                log.debug("Skipping turn for {}: gate busy", key);
+                            }
+                            batch.complete();
+                        });
+    }
+
+    private Mono<Void> run(String key, Batch batch) {
+        // Close the batch; deliveries from here on open the next one behind this turn.
+        open.remove(key, batch);
+        List<Msg> messages = List.copyOf(batch.messages);
+        if (batch.deliveries > 1) {
+            log.debug(
+                    "Coalescing {} deliveries ({} messages) into one turn for {}",
+                    batch.deliveries,
+                    messages.size(),
+                    key);
+        }
+        if (batch.events == null) {
+            return batch.callTurn.apply(messages).doOnNext(batch::setResult).then();
+        }
+        return batch.streamTurn.apply(messages).doOnNext(batch::emit).then();
+    }
+
+    /**
+     * Deliveries for one key that will share a single turn. Membership fields are mutated only
+     * under the map lock; callers are completed after the lease is released.
+     */
+    private static final class Batch {
+        private final List<Msg> messages = new ArrayList<>();
+        private final Sinks.One<Msg> result = Sinks.one();
+        private Sinks.Many<AgentEvent> events;
+        private Function<List<Msg>, Mono<Msg>> callTurn;
+        private Function<List<Msg>, Flux<AgentEvent>> streamTurn;
+        private int deliveries;
+        private Msg lastResult;
+
+        private void emit(AgentEvent event) {
+            events.tryEmitNext(event);
+            if (event instanceof AgentResultEvent resultEvent) {
+                setResult(resultEvent.getResult());
+            }
+        }
+
+        private void setResult(Msg reply) {
+            lastResult = reply;
+        }
+
+        private void fail(Throwable error) {
+            result.tryEmitError(error);
+            if (events != null) {
+                events.tryEmitError(error);
+            }
+        }
+
+        private void complete() {
+            if (lastResult != null) {
+                result.tryEmitValue(lastResult);
+            } else {
+                result.tryEmitEmpty();
+            }
+            if (events != null) {
+                events.tryEmitComplete();
+            }
+        }
+    }
+}
@@ -15,10 +15,13 @@
  */
 package io.agentscope.harness.agent.gateway;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * Per-key mutual exclusion for gateway turns (user/channel inbound runs and subagent notification).
  *
- * <p>Implementations include {@link LocalSessionTurnGate} (process-local fair semaphore) and
+ * <p>Implementations include {@link LocalSessionTurnGate} (process-local FIFO queue) and
  * control-plane hosted locks for cross-node coordination. When using a distributed turn gate,
  * {@link io.agentscope.core.ReActAgent} {@code conflictPolicy} should be set to {@code FAIL} so
  * concurrent state writes surface as errors rather than silent overwrites.
@@ -36,6 +39,30 @@ public interface SessionTurnGate {
      */
     TurnLease acquire(String key) throws InterruptedException, TurnBusyException;
 
+    /**
+     * Acquires the turn slot asynchronously. The returned {@link Mono} emits the lease once the slot
+     * is granted and completes empty when the implementation reports the key as busy. Cancelling
+     * the subscription before the lease is emitted gives up the place in line.
+     *
+     * <p>The default implementation runs {@link #acquire(String)} on {@link
+     * Schedulers#boundedElastic()}, so a waiting caller still parks a thread there. {@link
+     * LocalSessionTurnGate} overrides it to queue waiters without holding threads.
+     *
+     * @param key canonical gate key (typically {@link MsgContext#canonicalKey()})
+     * @return a {@link Mono} emitting a lease that must be closed to release the slot
+     */
+    default Mono<TurnLease> acquireAsync(String key) {
+        return Mono.fromCallable(
+                        () -> {
+                            try {
+                                return acquire(key);
+                            } catch (TurnBusyException e) {
+                                return null;
+                            }
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
     /**
      * Non-blocking check: returns {@code true} when a turn is currently held for the given key.
      * Used by {@link WakeupDispatcher} to skip sessions that are already active.
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+class SegmentedLogMessageBusTest {
+
+    @TempDir Path tempDir;
+    private SegmentedLogMessageBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = SegmentedLogMessageBus.builder().directory(tempDir).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    // ---- Mode A: drain queue ----
+
+    @Test
+    void pushAndDrainInOrder() {
+        for (int i = 1; i <= 3; i++) {
+            bus.queuePush("q1", Map.of("seq", i)).block();
+        }
+
+        List<BusEntry> drained = bus.queueDrain("q1", 10).block();
+        assertEquals(3, drained.size());
+        assertEquals(1, drained.get(0).payload().get("seq"));
+        assertEquals(3, drained.get(2).payload().get("seq"));
+        assertTrue(bus.queueDrain("q1", 10).block().isEmpty());
+        assertFalse(bus.queuePeek("q1").block());
+    }
+
+    @Test
+    void drainRespectsMaxCount() {
+        for (int i = 1; i <= 5; i++) {
+            bus.queuePush("q1", Map.of("v", i)).block();
+        }
+
+        assertEquals(2, bus.queueDrain("q1", 2).block().size());
+        List<BusEntry> rest = bus.queueDrain("q1", 10).block();
+        assertEquals(3, rest.size());
+        assertEquals(3, rest.get(0).payload().get("v"));
+    }
+
+    @Test
+    void peekAndDrainOfUnknownQueueDoNotCreateIt() {
+        assertFalse(bus.queuePeek("missing").block());
+        assertTrue(bus.queueDrain("missing", 10).block().isEmpty());
+        assertFalse(Files.exists(tempDir.resolve("queues")));
+    }
+
+    @Test
+    void drainedEntriesAreNotRedeliveredAfterReopen() {
+        bus.queuePush("q1", Map.of("v", "a")).block();
+        bus.queuePush("q1", Map.of("v", "b")).block();
+        bus.queueDrain("q1", 1).block();
+        bus.close();
+
+        bus = SegmentedLogMessageBus.builder().directory(tempDir).build();
+        List<BusEntry> rest = bus.queueDrain("q1", 10).block();
+        assertEquals(1, rest.size());
+        assertEquals("b", rest.get(0).payload().get("v"));
+
+        String next = bus.queuePush("q1", Map.of("v", "c")).block();
+        assertTrue(next.compareTo(rest.get(0).entryId()) > 0);
+    }
+
+    @Test
+    void drainedSegmentsAreDeleted() throws IOException {
+        bus.close();
+        bus = SegmentedLogMessageBus.builder().directory(tempDir).segmentBytes(64).build();
+        for (int i = 0; i < 20; i++) {
+            bus.queuePush("q1", Map.of("v", "entry-" + i)).block();
+        }
+        assertTrue(segmentCount(tempDir.resolve("queues")) > 1);
+
+        assertEquals(20, bus.queueDrain("q1", 100).block().size());
+        assertEquals(1, segmentCount(tempDir.resolve("queues")));
+    }
+
+    @Test
+    void appendsAcrossSegmentRolloverCompleteOffTheSyncThread() throws IOException {
+        bus.close();
+        bus =
+                SegmentedLogMessageBus.builder()
+                        .directory(tempDir)
+                        .segmentBytes(64)
+                        .syncInterval(Duration.ofMillis(50))
+                        .build();
+        List<String> threads = new CopyOnWriteArrayList<>();
+
+        // Issued together so that one group commit covers several segments.
+        List<String> ids =
+                Flux.range(0, 20)
+                        .flatMapSequential(
+                                i ->
+                                        bus.logAppend("log1", Map.of("v", "entry-" + i), 0)
+                                                .doOnNext(
+                                                        id ->
+                                                                threads.add(
+                                                                        Thread.currentThread()
+                                                                                .getName())))
+                        .collectList()
+                        .block();
+
+        assertEquals(20, ids.size());
+        assertTrue(segmentCount(tempDir.resolve("logs")) > 1);
+        assertTrue(threads.stream().noneMatch(name -> name.equals("agentscope-bus-sync")));
+
+        bus.close();
+        bus = SegmentedLogMessageBus.builder().directory(tempDir).build();
+        List<BusEntry> entries = bus.logRead("log1", null, 100).block();
+        assertEquals(20, entries.size());
+        assertEquals("entry-19", entries.get(19).payload().get("v"));
+    }
+
+    @Test
+    void queueDeleteRemovesEntries() {
+        bus.queuePush("q1", Map.of("v", 1)).block();
+        bus.queueDelete("q1").block();
+
+        assertFalse(bus.queuePeek("q1").block());
+        bus.queuePush("q1", Map.of("v", 2)).block();
+        assertEquals(2, bus.queueDrain("q1", 10).block().get(0).payload().get("v"));
+    }
+
+    // ---- Mode C: replay log ----
+
+    @Test
+    void logReadSinceCursor() {
+        String first = bus.logAppend("log1", Map.of("v", 1), 0).block();
+        bus.logAppend("log1", Map.of("v", 2), 0).block();
+        bus.logAppend("log1", Map.of("v", 3), 0).block();
+
+        assertEquals(3, bus.logRead("log1", null, 10).block().size());
+        List<BusEntry> after = bus.logRead("log1", first, 10).block();
+        assertEquals(2, after.size());
+        assertEquals(2, after.get(0).payload().get("v"));
+        assertEquals(1, bus.logRead("log1", first, 1).block().size());
+    }
+
+    @Test
+    void logAppendCapsAtMaxLen() {
+        for (int i = 1; i <= 10; i++) {
+            bus.logAppend("log1", Map.of("v", i), 3).block();
+        }
+
+        List<BusEntry> entries = bus.logRead("log1", null, 100).block();
+        assertEquals(3, entries.size());
+        assertEquals(8, entries.get(0).payload().get("v"));
+    }
+
+    @Test
+    void logSurvivesReopenAndDropsTornTail() throws IOException {
+        bus.logAppend("log1", Map.of("v", 1), 0).block();
+        bus.logAppend("log1", Map.of("v", 2), 0).block();
+        bus.close();
+        Path segment;
+        try (Stream<Path> files = Files.walk(tempDir.resolve("logs"))) {
+            segment = files.filter(p -> p.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        Files.write(segment, "{\"v\":".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        bus = SegmentedLogMessageBus.builder().directory(tempDir).build();
+        bus.logAppend("log1", Map.of("v", 3), 0).block();
+        List<BusEntry> entries = bus.logRead("log1", null, 10).block();
+        assertEquals(3, entries.size());
+        assertEquals(3, entries.get(2).payload().get("v"));
+    }
+
+    @Test
+    void logTrimDeletesLog() {
+        bus.logAppend("log1", Map.of("v", 1), 0).block();
+        bus.logTrim("log1").block();
+
+        assertTrue(bus.logRead("log1", null, 10).block().isEmpty());
+    }
+
+    // ---- Mode D: pub/sub ----
+
+    @Test
+    void publishReachesCurrentSubscribers() {
+        List<Map<String, Object>> received = new CopyOnWriteArrayList<>();
+        bus.publish("ch", Map.of("v", "before")).block();
+        Disposable subscription = bus.subscribe("ch").subscribe(received::add);
+
+        bus.publish("ch", Map.of("v", "after")).block();
+        bus.publish("other", Map.of("v", "elsewhere")).block();
+        subscription.dispose();
+        bus.publish("ch", Map.of("v", "gone")).block();
+
+        assertEquals(List.of(Map.of("v", "after")), received);
+    }
+
+    @Test
+    void sessionEventsAreLoggedAndPushedLive() {
+        List<Map<String, Object>> live = new CopyOnWriteArrayList<>();
+        Disposable subscription = bus.sessionSubscribeEvents("s1").subscribe(live::add);
+
+        String entryId = bus.sessionPublishEvent("s1", Map.of("type", "text")).block();
+        subscription.dispose();
+
+        assertEquals(1, live.size());
+        assertEquals(entryId, live.get(0).get("_entry_id"));
+        assertEquals(1, bus.sessionReadEvents("s1", null, 10).block().size());
+    }
+
+    @Test
+    void worksWithoutExplicitSync() {
+        bus.close();
+        bus =
+                SegmentedLogMessageBus.builder()
+                        .directory(tempDir)
+                        .syncInterval(Duration.ZERO)
+                        .build();
+
+        bus.queuePush("q1", Map.of("v", 1)).block();
+        assertTrue(bus.queuePeek("q1").block());
+    }
+
+    @Test
+    void builderRejectsMissingDirectory() {
+        assertThrows(
+                IllegalArgumentException.class, () -> SegmentedLogMessageBus.builder().build());
+    }
+
+    private static long segmentCount(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(p -> p.toString().endsWith(".log")).count();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
 
 /** Unit tests for {@link LocalSessionTurnGate} fair per-key mutual exclusion. */
 class LocalSessionTurnGateTest {
@@ -134,4 +135,58 @@ class LocalSessionTurnGateTest {
         lease.close();
         assertFalse(gate.isRunning(key));
     }
+
+    @Test
+    void asyncWaitersAreGrantedInArrivalOrder() {
+        LocalSessionTurnGate gate = new LocalSessionTurnGate();
+        String key = "session-b";
+        TurnLease first = gate.acquireAsync(key).block();
+        List<TurnLease> granted = new ArrayList<>();
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int index = i;
+            gate.acquireAsync(key)
+                    .subscribe(
+                            lease -> {
+                                order.add(index);
+                                granted.add(lease);
+                            });
+        }
+        assertTrue(granted.isEmpty(), "waiters must not be granted while the slot is held");
+
+        first.close();
+        assertEquals(List.of(0), order);
+        granted.get(0).close();
+        granted.get(1).close();
+        assertEquals(List.of(0, 1, 2), order);
+        granted.get(2).close();
+        assertFalse(gate.isRunning(key));
+    }
+
+    @Test
+    void cancelledWaiterIsSkipped() {
+        LocalSessionTurnGate gate = new LocalSessionTurnGate();
+        String key = "session-c";
+        TurnLease first = gate.acquireAsync(key).block();
+        List<TurnLease> granted = new ArrayList<>();
+        Disposable cancelled = gate.acquireAsync(key).subscribe(granted::add);
+        gate.acquireAsync(key).subscribe(granted::add);
+
+        cancelled.dispose();
+        first.close();
+        assertEquals(1, granted.size(), "only the remaining waiter should be granted");
+        granted.get(0).close();
+        assertFalse(gate.isRunning(key));
+    }
+
+    @Test
+    void idleKeysAreNotRetained() {
+        LocalSessionTurnGate gate = new LocalSessionTurnGate();
+        for (int i = 0; i < 100; i++) {
+            TurnLease lease = gate.acquireAsync("session-" + i).block();
+            lease.close();
+            lease.close();
+        }
+        assertEquals(0, gate.size());
+    }
 }
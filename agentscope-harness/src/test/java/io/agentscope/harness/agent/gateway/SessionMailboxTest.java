@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/** Unit tests for {@link SessionMailbox} turn coalescing. */
+class SessionMailboxTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void coalescesDeliveriesQueuedBehindRunningTurn() {
+        LocalSessionTurnGate gate = new LocalSessionTurnGate();
+        SessionMailbox mailbox = new SessionMailbox(() -> gate);
+        List<List<String>> turns = new CopyOnWriteArrayList<>();
+        Sinks.One<Msg> firstReply = Sinks.one();
+
+        Mono<Msg> first =
+                mailbox.call(
+                                "chat",
+                                List.of(user("m0")),
+                                batch -> {
+                                    turns.add(texts(batch));
+                                    return firstReply.asMono();
+                                })
+                        .cache();
+        first.subscribe();
+        waitUntilStarted(turns);
+
+        List<Mono<Msg>> queued = new CopyOnWriteArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Mono<Msg> reply =
+                    mailbox.call(
+                                    "chat",
+                                    List.of(user("m" + i)),
+                                    batch -> {
+                                        turns.add(texts(batch));
+                                        return Mono.just(user("reply"));
+                                    })
+                            .cache();
+            reply.subscribe();
+            queued.add(reply);
+        }
+        assertEquals(1, mailbox.pendingBatches());
+
+        firstReply.tryEmitValue(user("first"));
+        assertEquals("first", first.block(TIMEOUT).getTextContent());
+        Msg shared = queued.get(0).block(TIMEOUT);
+        for (Mono<Msg> reply : queued) {
+            assertSame(shared, reply.block(TIMEOUT));
+        }
+
+        assertEquals(List.of(List.of("m0"), List.of("m1", "m2", "m3")), turns);
+        assertEquals(0, mailbox.pendingBatches());
+        assertFalse(gate.isRunning("chat"));
+    }
+
+    @Test
+    void propagatesTurnErrorToEveryDelivery() {
+        LocalSessionTurnGate gate = new LocalSessionTurnGate();
+        SessionMailbox mailbox = new SessionMailbox(() -> gate);
+        TurnLease held = gate.acquireAsync("chat").block();
+
+        Mono<Msg> a =
+                mailbox.call(
+                                "chat",
+                                List.of(user("a")),
+                                batch -> Mono.error(new IllegalStateException("boom")))
+                        .cache();
+        Mono<Msg> b =
+                mailbox.call(
+                                "chat",
+                                List.of(user("b")),
+                                batch -> Mono.error(new IllegalStateException("boom")))
+                        .cache();
+        a.subscribe(v -> {}, e -> {});
+        b.subscribe(v -> {}, e -> {});
+        held.close();
+
+        for (Mono<Msg> reply : List.of(a, b)) {
+            assertEquals(
+                    "boom",
+                    reply.onErrorResume(e -> Mono.just(user(e.getMessage())))
+                            .block(TIMEOUT)
+                            .getTextContent());
+        }
+        assertFalse(gate.isRunning("chat"));
+    }
+
+    @Test
+    void completesEmptyWhenGateReportsBusy() {
+        SessionTurnGate busy =
+                new SessionTurnGate() {
+                    @Override
+                    public TurnLease acquire(String key) throws TurnBusyException {
+                        throw new TurnBusyException(key);
+                    }
+
+                    @Override
+                    public boolean isRunning(String key) {
+                        return true;
+                    }
+                };
+        SessionMailbox mailbox = new SessionMailbox(() -> busy);
+
+        Msg reply =
+                mailbox.call("chat", List.of(user("x")), batch -> Mono.just(user("y")))
+                        .block(TIMEOUT);
+
+        assertNull(reply);
+        assertEquals(0, mailbox.pendingBatches());
+    }
+
+    private static void waitUntilStarted(List<?> turns) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (turns.isEmpty() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Msg user(String text) {
+        return Msg.builder().role(MsgRole.USER).textContent(text).build();
+    }
+
+    private static List<String> texts(List<Msg> messages) {
+        return messages.stream().map(Msg::getTextContent).toList();
+    }
+}
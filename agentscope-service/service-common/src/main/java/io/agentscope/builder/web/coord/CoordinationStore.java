@@ -89,9 +89,24 @@ public interface CoordinationStore {
 
     WorkItemRecord enqueueWork(String sessionId, String environmentId, String ownerId);
 
+    /** Blocking claim of one work item, polling until one is available or {@code timeoutMs}. */
     Optional<WorkItemRecord> claimWork(String environmentId, String workerId, long timeoutMs)
             throws InterruptedException;
 
+    /**
+     * Claims up to one queued (or stale) work item per entry of {@code workerIds} in a single
+     * attempt without waiting. Item {@code i} of the result is claimed by {@code workerIds.get(i)};
+     * the result is shorter when fewer items are claimable. Rows locked by a concurrent claimer
+     * are skipped rather than waited for.
+     */
+    List<WorkItemRecord> claimWorkBatch(String environmentId, List<String> workerIds);
+
+    /**
+     * Puts a claimed ({@code starting}) item back on the queue, e.g. when the worker it was
+     * claimed for went away before receiving it.
+     */
+    void requeueWork(String leaseId);
+
     void ackWork(String leaseId, String workerId, String workDir);
 
     void stopWork(String leaseId);
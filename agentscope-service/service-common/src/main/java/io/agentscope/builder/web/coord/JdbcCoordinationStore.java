@@ -24,12 +24,15 @@ import io.agentscope.builder.web.persistence.jpa.CoordWorkItemEntityRepository;
 import io.agentscope.builder.web.persistence.jpa.CoordWorkerHeartbeatEntity;
 import io.agentscope.builder.web.persistence.jpa.CoordWorkerHeartbeatEntityRepository;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 
@@ -329,24 +332,56 @@ public class JdbcCoordinationStore implements CoordinationStore {
     }
 
     private Optional<WorkItemRecord> doPollOnce(String environmentId, String workerId) {
-        long staleBefore = System.currentTimeMillis() - WORK_STALE_THRESHOLD.toMillis();
+        return doClaim(environmentId, Collections.singletonList(workerId)).stream().findFirst();
+    }
+
+    @Override
+    public List<WorkItemRecord> claimWorkBatch(String environmentId, List<String> workerIds) {
+        if (workerIds == null || workerIds.isEmpty()) {
+            return List.of();
+        }
+        List<WorkItemRecord> claimed =
+                transactionTemplate.execute(status -> doClaim(environmentId, workerIds));
+        return claimed != null ? claimed : List.of();
+    }
+
+    private List<WorkItemRecord> doClaim(String environmentId, List<String> workerIds) {
+        long now = System.currentTimeMillis();
+        long staleBefore = now - WORK_STALE_THRESHOLD.toMillis();
         List<CoordWorkItemEntity> claimable =
-                workRepository.findClaimableForPoll(
+                workRepository.findClaimableSkipLocked(
                         environmentId,
                         CoordWorkItemEntity.STATUS_QUEUED,
                         List.of(
                                 CoordWorkItemEntity.STATUS_STARTING,
                                 CoordWorkItemEntity.STATUS_ACTIVE),
-                        staleBefore);
-        if (claimable.isEmpty()) {
-            return Optional.empty();
+                        staleBefore,
+                        PageRequest.of(0, workerIds.size()));
+        List<WorkItemRecord> claimed = new ArrayList<>(claimable.size());
+        for (int i = 0; i < claimable.size(); i++) {
+            CoordWorkItemEntity entity = claimable.get(i);
+            entity.setStatus(CoordWorkItemEntity.STATUS_STARTING);
+            entity.setClaimedBy(workerIds.get(i));
+            entity.setUpdatedAt(now);
+            claimed.add(toWork(entity));
         }
-        CoordWorkItemEntity entity = claimable.get(0);
-        entity.setStatus(CoordWorkItemEntity.STATUS_STARTING);
-        entity.setClaimedBy(workerId);
-        entity.setUpdatedAt(System.currentTimeMillis());
-        workRepository.save(entity);
-        return Optional.of(toWork(entity));
+        workRepository.saveAll(claimable);
+        return claimed;
+    }
+
+    @Override
+    @Transactional
+    public void requeueWork(String leaseId) {
+        workRepository
+                .findByLeaseId(leaseId)
+                .filter(entity -> CoordWorkItemEntity.STATUS_STARTING.equals(entity.getStatus()))
+                .ifPresent(
+                        entity -> {
+                            entity.setStatus(CoordWorkItemEntity.STATUS_QUEUED);
+                            entity.setClaimedBy(null);
+                            entity.setUpdatedAt(System.currentTimeMillis());
+                            workRepository.save(entity);
+                        });
     }
 
     @Override
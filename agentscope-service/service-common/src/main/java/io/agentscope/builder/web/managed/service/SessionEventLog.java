@@ -18,54 +18,83 @@ package io.agentscope.builder.web.managed.service;
 import io.agentscope.builder.web.managed.SessionEventDto;
 import io.agentscope.builder.web.persistence.jpa.SessionEventEntity;
 import io.agentscope.builder.web.persistence.jpa.SessionEventEntityRepository;
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 /**
  * Append-only session event log. Sequence numbers are allocated with conflict retry so control and
  * data planes can append concurrently against the shared {@code (session_id, seq)} unique
- * constraint. Live SSE fan-out polls the database by cursor so events written by any plane /
- * replica are visible to subscribers.
+ * constraint. Live SSE fan-out goes through a node-level {@link SessionEventTailer}: one poll
+ * loop covers every subscribed session, so events written by any plane / replica are visible to
+ * subscribers, and events committed by this process are pushed without waiting for the next poll.
+ *
+ * <p>A running turn writes through a {@link TurnWriter} opened under its turn lease: sequence
+ * numbers come from an in-memory counter and events are buffered for {@code batchWindowMs}, then
+ * inserted with one JDBC batch in a single transaction. While a writer is open, {@link #append}
+ * for that session goes through it too, so sequence numbers stay ordered within this process.
  */
 @Service
 public class SessionEventLog {
 
     private static final Logger log = LoggerFactory.getLogger(SessionEventLog.class);
     private static final int MAX_SEQ_RETRIES = 16;
+    private static final int MAX_BATCH_EVENTS = 256;
+    private static final String INSERT_SQL =
+            "insert into builder_session_event (event_id, session_id, seq, event_type,"
+                    + " payload_json, processed_at, created_at) values (?, ?, ?, ?, ?, ?, ?)";
 
     private final SessionEventEntityRepository repository;
     private final ManagedJsonHelper jsonHelper;
     private final TransactionTemplate transactionTemplate;
     private final DeletedSessionRegistry deletedSessions;
     private final long pollIntervalMs;
+    private final JdbcTemplate jdbcTemplate;
+    private final long batchWindowMs;
+    private final SessionEventTailer tailer;
+
+    /** Open turn writers by session id. */
+    private final ConcurrentHashMap<String, TurnWriter> turnWriters = new ConcurrentHashMap<>();
 
     public SessionEventLog(
             SessionEventEntityRepository repository,
             ManagedJsonHelper jsonHelper,
             TransactionTemplate transactionTemplate,
             DeletedSessionRegistry deletedSessions,
-            @Value("${builder.session-event.poll-interval-ms:500}") long pollIntervalMs) {
+            @Value("${builder.session-event.poll-interval-ms:500}") long pollIntervalMs,
+            JdbcTemplate jdbcTemplate,
+            @Value("${builder.session-event.batch-window-ms:5}") long batchWindowMs) {
         this.repository = repository;
         this.jsonHelper = jsonHelper;
         this.transactionTemplate = transactionTemplate;
         this.deletedSessions = deletedSessions;
         this.pollIntervalMs = Math.max(50L, pollIntervalMs);
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchWindowMs = Math.max(0L, batchWindowMs);
+        this.tailer =
+                new SessionEventTailer(
+                        Duration.ofMillis(this.pollIntervalMs),
+                        this::maxSeqsInTransaction,
+                        this::listAfterInTransaction);
     }
 
     /**
@@ -87,11 +116,50 @@ public class SessionEventLog {
             log.debug("Dropping {} event for deleted session {}", type, sessionId);
             return droppedEvent(sessionId, type, payload, eventId);
         }
+        TurnWriter writer = turnWriters.get(sessionId);
+        if (writer != null) {
+            return writer.appendAndFlush(type, payload, eventId);
+        }
+        return appendWithRetry(sessionId, type, payload, eventId);
+    }
+
+    /**
+     * Appends an event through the session's open {@link TurnWriter} without waiting for it to be
+     * written; falls back to {@link #append(String, String, Map, String)} when no writer is open.
+     * The returned {@code seq} is provisional: it changes if another process takes it first.
+     */
+    public SessionEventDto appendBuffered(
+            String sessionId, String type, Map<String, Object> payload, String eventId) {
+        TurnWriter writer = turnWriters.get(sessionId);
+        if (writer == null || deletedSessions.isDeleted(sessionId)) {
+            return append(sessionId, type, payload, eventId);
+        }
+        return writer.append(type, payload, eventId);
+    }
+
+    /**
+     * Opens the batched writer for a turn. Call it while holding the session's turn lease and
+     * close it before releasing the lease; closing flushes the buffered events.
+     */
+    public TurnWriter openTurnWriter(String sessionId) {
+        TurnWriter writer = new TurnWriter(sessionId);
+        TurnWriter previous = turnWriters.put(sessionId, writer);
+        if (previous != null) {
+            previous.write();
+        }
+        return writer;
+    }
+
+    private SessionEventDto appendWithRetry(
+            String sessionId, String type, Map<String, Object> payload, String eventId) {
         RuntimeException lastConflict = null;
         for (int attempt = 0; attempt < MAX_SEQ_RETRIES; attempt++) {
             try {
-                return transactionTemplate.execute(
-                        status -> appendOnce(sessionId, type, payload, eventId));
+                SessionEventDto event =
+                        transactionTemplate.execute(
+                                status -> appendOnce(sessionId, type, payload, eventId));
+                tailer.onAppended(event);
+                return event;
             } catch (RuntimeException ex) {
                 if (!isSeqConflict(ex)) {
                     throw ex;
@@ -153,6 +221,262 @@ public class SessionEventLog {
         return false;
     }
 
+    /**
+     * Buffers a turn's events and writes them in JDBC batches. Sequence numbers are allocated from
+     * an in-memory counter seeded from the table. If another writer takes a sequence number first,
+     * the batch is renumbered after the current maximum and retried; a batch that still cannot be
+     * written falls back to per-event appends.
+     */
+    public final class TurnWriter implements AutoCloseable {
+
+        private final String sessionId;
+
+        /** Serializes flushes; the writer's monitor guards the buffer and the counter. */
+        private final Object flushLock = new Object();
+
+        private final List<PendingEvent> buffer = new ArrayList<>();
+        private long nextSeq = -1;
+        private boolean flushScheduled;
+
+        /** Failure of a timed flush, rethrown by the next append, flush or close. */
+        private RuntimeException flushFailure;
+
+        private TurnWriter(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        /**
+         * Buffers an event and returns it with its provisional sequence number.
+         *
+         * @throws RuntimeException the failure of a timed flush since the last call, whose events
+         *     were not written
+         */
+        public SessionEventDto append(String type, Map<String, Object> payload, String eventId) {
+            PendingEvent event;
+            long delay = -1;
+            synchronized (this) {
+                rethrowFlushFailure();
+                event = newEvent(type, payload, eventId);
+                buffer.add(event);
+                if (buffer.size() >= MAX_BATCH_EVENTS) {
+                    delay = 0;
+                } else if (!flushScheduled) {
+                    delay = batchWindowMs;
+                }
+                flushScheduled = true;
+            }
+            if (delay >= 0) {
+                Schedulers.boundedElastic()
+                        .schedule(this::timedFlush, delay, TimeUnit.MILLISECONDS);
+            }
+            return event.toDto();
+        }
+
+        /** Buffers an event and writes it together with everything buffered before it. */
+        SessionEventDto appendAndFlush(String type, Map<String, Object> payload, String eventId) {
+            PendingEvent event;
+            synchronized (this) {
+                rethrowFlushFailure();
+                event = newEvent(type, payload, eventId);
+                buffer.add(event);
+            }
+            write();
+            return event.toDto();
+        }
+
+        /**
+         * Writes the buffered events, returning once they are committed.
+         *
+         * @throws RuntimeException if the write fails, or a timed flush failed since the last call
+         */
+        public void flush() {
+            synchronized (this) {
+                rethrowFlushFailure();
+            }
+            write();
+        }
+
+        /**
+         * Flushes the buffered events and detaches the writer from the session.
+         *
+         * @throws RuntimeException if the final write fails, or a timed flush failed before it
+         */
+        @Override
+        public void close() {
+            try {
+                write();
+            } finally {
+                turnWriters.remove(sessionId, this);
+            }
+            write();
+            synchronized (this) {
+                rethrowFlushFailure();
+            }
+        }
+
+        /** Flush scheduled by {@link #append}; keeps its failure for the writer's caller. */
+        private void timedFlush() {
+            try {
+                write();
+            } catch (RuntimeException ex) {
+                log.warn("Timed session event flush failed for {}: {}", sessionId, ex.getMessage());
+                synchronized (this) {
+                    if (flushFailure == null) {
+                        flushFailure = ex;
+                    } else {
+                        flushFailure.addSuppressed(ex);
+                    }
+                }
+            }
+        }
+
+        /** Throws, once, the failure kept by {@link #timedFlush}. Called holding the monitor. */
+        private void rethrowFlushFailure() {
+            RuntimeException failure = flushFailure;
+            if (failure != null) {
+                flushFailure = null;
+                throw failure;
+            }
+        }
+
+        private void write() {
+            synchronized (flushLock) {
+                List<PendingEvent> batch;
+                synchronized (this) {
+                    flushScheduled = false;
+                    if (buffer.isEmpty()) {
+                        return;
+                    }
+                    batch = new ArrayList<>(buffer);
+                    buffer.clear();
+                }
+                if (deletedSessions.isDeleted(sessionId)) {
+                    log.debug(
+                            "Dropping {} buffered events for deleted session {}",
+                            batch.size(),
+                            sessionId);
+                    return;
+                }
+                if (insertBatch(batch)) {
+                    for (PendingEvent event : batch) {
+                        tailer.onAppended(event.toDto());
+                    }
+                } else {
+                    synchronized (this) {
+                        nextSeq = -1;
+                    }
+                    for (PendingEvent event : batch) {
+                        event.seq =
+                                appendWithRetry(sessionId, event.type, event.payload, event.eventId)
+                                        .seq();
+                    }
+                }
+            }
+        }
+
+        /** Inserts the batch in one transaction, renumbering on conflicts. */
+        private boolean insertBatch(List<PendingEvent> batch) {
+            for (int attempt = 0; attempt < MAX_SEQ_RETRIES; attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(batch));
+                    return true;
+                } catch (RuntimeException ex) {
+                    if (!isSeqConflict(ex)) {
+                        log.warn(
+                                "Batched session event insert failed for {}, appending one by"
+                                        + " one: {}",
+                                sessionId,
+                                ex.getMessage());
+                        return false;
+                    }
+                    log.debug(
+                            "Session event batch seq conflict for {} (attempt {}/{}): {}",
+                            sessionId,
+                            attempt + 1,
+                            MAX_SEQ_RETRIES,
+                            ex.getMessage());
+                    synchronized (this) {
+                        renumber(batch);
+                    }
+                }
+            }
+            return false;
+        }
+
+        private PendingEvent newEvent(String type, Map<String, Object> payload, String eventId) {
+            if (nextSeq < 0) {
+                nextSeq = repository.maxSeq(sessionId) + 1;
+            }
+            return new PendingEvent(
+                    eventId != null && !eventId.isBlank()
+                            ? eventId
+                            : "evt_" + UUID.randomUUID().toString().replace("-", ""),
+                    sessionId,
+                    nextSeq++,
+                    type,
+                    payload,
+                    System.currentTimeMillis());
+        }
+
+        private void insert(List<PendingEvent> batch) {
+            jdbcTemplate.batchUpdate(
+                    INSERT_SQL,
+                    batch,
+                    batch.size(),
+                    (ps, event) -> {
+                        ps.setString(1, event.eventId);
+                        ps.setString(2, event.sessionId);
+                        ps.setLong(3, event.seq);
+                        ps.setString(4, event.type);
+                        ps.setString(5, jsonHelper.writeJson(event.payload));
+                        ps.setLong(6, event.createdAt);
+                        ps.setLong(7, event.createdAt);
+                    });
+        }
+
+        /** Moves the batch, and anything buffered behind it, after the table's current maximum. */
+        private void renumber(List<PendingEvent> batch) {
+            long seq = repository.maxSeq(sessionId) + 1;
+            for (PendingEvent event : batch) {
+                event.seq = seq++;
+            }
+            for (PendingEvent event : buffer) {
+                event.seq = seq++;
+            }
+            nextSeq = seq;
+        }
+    }
+
+    /** An event buffered by a {@link TurnWriter}; {@code seq} is final once written. */
+    private static final class PendingEvent {
+        private final String eventId;
+        private final String sessionId;
+        private final String type;
+        private final Map<String, Object> payload;
+        private final long createdAt;
+        private volatile long seq;
+
+        private PendingEvent(
+                String eventId,
+                String sessionId,
+                long seq,
+                String type,
+                Map<String, Object> payload,
+                long createdAt) {
+            this.eventId = eventId;
+            this.sessionId = sessionId;
+            this.seq = seq;
+            this.type = type;
+            this.payload = payload;
+            this.createdAt = createdAt;
+        }
+
+        private SessionEventDto toDto() {
+            return new SessionEventDto(
+                    eventId, sessionId, seq, type, payload, createdAt, createdAt);
+        }
+    }
+
     /** Lists all events for a session in sequence order. */
     @Transactional(readOnly = true)
     public List<SessionEventDto> list(String sessionId) {
@@ -216,33 +540,40 @@ public class SessionEventLog {
     }
 
     /**
-     * Polls the database for events with sequence strictly greater than {@code afterSeq}. Works
-     * across control/data planes and data-plane replicas without process-local sinks.
+     * Returns a live flux of events with sequence strictly greater than {@code afterSeq}. Works
+     * across control/data planes and data-plane replicas: the backlog is read from the database,
+     * then new events arrive through the shared {@link SessionEventTailer}, which polls once per
+     * interval for all subscribed sessions rather than once per subscriber.
      *
-     * <p>Each poll runs inside {@link TransactionTemplate}: PostgreSQL {@code @Lob} CLOB/OID
+     * <p>Every read runs inside {@link TransactionTemplate}: PostgreSQL {@code @Lob} CLOB/OID
      * payload reads require a transaction, and calling {@link #listAfter} via {@code this.} would
      * bypass the Spring {@code @Transactional} proxy.
      */
     public Flux<SessionEventDto> subscribe(String sessionId, long afterSeq) {
-        AtomicLong cursor = new AtomicLong(Math.max(0L, afterSeq));
-        return Flux.interval(Duration.ofMillis(pollIntervalMs))
-                .concatMap(
-                        tick ->
-                                Mono.fromCallable(
-                                                () ->
-                                                        transactionTemplate.execute(
-                                                                status ->
-                                                                        listAfterUnchecked(
-                                                                                sessionId,
-                                                                                cursor.get())))
-                                        .subscribeOn(Schedulers.boundedElastic()))
-                .concatMapIterable(
-                        list -> {
-                            if (list != null && !list.isEmpty()) {
-                                cursor.set(list.get(list.size() - 1).seq());
-                            }
-                            return list != null ? list : List.of();
-                        });
+        return tailer.subscribe(sessionId, afterSeq);
+    }
+
+    /** Stops the shared change-feed poll when the application context shuts down. */
+    @PreDestroy
+    public void stop() {
+        tailer.close();
+    }
+
+    private List<SessionEventDto> listAfterInTransaction(String sessionId, long afterSeq) {
+        List<SessionEventDto> events =
+                transactionTemplate.execute(status -> listAfterUnchecked(sessionId, afterSeq));
+        return events != null ? events : List.of();
+    }
+
+    private Map<String, Long> maxSeqsInTransaction(Collection<String> sessionIds) {
+        Map<String, Long> latest = new HashMap<>();
+        transactionTemplate.executeWithoutResult(
+                status -> {
+                    for (Object[] row : repository.maxSeqBySessionIdIn(sessionIds)) {
+                        latest.put((String) row[0], ((Number) row[1]).longValue());
+                    }
+                });
+        return latest;
     }
 
     /** Repository read used by transactional entry points and {@link #subscribe} polls. */
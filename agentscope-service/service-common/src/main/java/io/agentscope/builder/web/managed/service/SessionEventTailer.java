@@ -0,0 +1,244 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.builder.web.managed.service;
+
+import io.agentscope.builder.web.managed.SessionEventDto;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Node-level change feed behind {@link SessionEventLog#subscribe}. One poll loop serves every
+ * subscribed session: each tick asks for the latest {@code seq} of all subscribed sessions in one
+ * grouped query and reads new rows only for sessions that moved, then fans them out through a
+ * per-session in-memory sink. Events appended by this process are pushed as soon as they commit
+ * when they directly follow the last delivered {@code seq}; otherwise they trigger an immediate
+ * read for that session, so rows written by other planes or replicas in between are not skipped.
+ *
+ * <p>Each subscriber first reads its backlog after its own cursor, then continues from the shared
+ * sink, dropping anything at or below the last {@code seq} it emitted.
+ */
+final class SessionEventTailer {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionEventTailer.class);
+
+    /** Sessions per grouped {@code max(seq)} query. */
+    private static final int SESSIONS_PER_QUERY = 500;
+
+    private final Duration pollInterval;
+    private final Function<Collection<String>, Map<String, Long>> maxSeqs;
+    private final BiFunction<String, Long, List<SessionEventDto>> listAfter;
+
+    private final ConcurrentHashMap<String, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /** Change-feed poll timer; disposes a timer set after {@link #close}. */
+    private final Disposable.Swap poller = Disposables.swap();
+
+    /**
+     * @param pollInterval interval between change-feed polls
+     * @param maxSeqs latest {@code seq} per session for the given ids; absent when none
+     * @param listAfter events of a session after a {@code seq}, in ascending order
+     */
+    SessionEventTailer(
+            Duration pollInterval,
+            Function<Collection<String>, Map<String, Long>> maxSeqs,
+            BiFunction<String, Long, List<SessionEventDto>> listAfter) {
+        this.pollInterval = pollInterval;
+        this.maxSeqs = maxSeqs;
+        this.listAfter = listAfter;
+    }
+
+    /** Live events of {@code sessionId} with {@code seq} strictly greater than {@code afterSeq}. */
+    Flux<SessionEventDto> subscribe(String sessionId, long afterSeq) {
+        return Flux.defer(
+                        () -> {
+                            startPolling();
+                            Topic topic = acquire(sessionId);
+                            // Join the shared feed before reading the backlog so nothing committed
+                            // in between is missed; the cursor filter drops the overlap.
+                            Sinks.Many<SessionEventDto> inbox =
+                                    Sinks.many().unicast().onBackpressureBuffer();
+                            Disposable live = topic.sink.asFlux().subscribe(inbox::tryEmitNext);
+                            topic.initialize();
+                            AtomicLong cursor = new AtomicLong(Math.max(0L, afterSeq));
+                            Flux<SessionEventDto> backlog =
+                                    Flux.defer(
+                                            () ->
+                                                    Flux.fromIterable(
+                                                            listAfter.apply(
+                                                                    sessionId, cursor.get())));
+                            return Flux.concat(backlog, inbox.asFlux())
+                                    .filter(event -> event.seq() > cursor.get())
+                                    .doOnNext(event -> cursor.set(event.seq()))
+                                    .doFinally(
+                                            signal -> {
+                                                live.dispose();
+                                                release(topic);
+                                            });
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** Called after an event committed in this process. */
+    void onAppended(SessionEventDto event) {
+        if (event == null || event.seq() < 0) {
+            return;
+        }
+        Topic topic = topics.get(event.sessionId());
+        if (topic == null) {
+            return;
+        }
+        boolean gap;
+        synchronized (topic) {
+            if (topic.lastSeq < 0 || event.seq() <= topic.lastSeq) {
+                return;
+            }
+            gap = event.seq() > topic.lastSeq + 1;
+            if (!gap) {
+                topic.emit(event);
+            }
+        }
+        if (gap) {
+            Schedulers.boundedElastic().schedule(() -> catchUp(topic));
+        }
+    }
+
+    /** One change-feed poll over every subscribed session. */
+    void pollOnce() {
+        List<String> sessionIds = new ArrayList<>(topics.keySet());
+        for (int from = 0; from < sessionIds.size(); from += SESSIONS_PER_QUERY) {
+            List<String> chunk =
+                    sessionIds.subList(
+                            from, Math.min(sessionIds.size(), from + SESSIONS_PER_QUERY));
+            Map<String, Long> latest = maxSeqs.apply(chunk);
+            for (Map.Entry<String, Long> entry : latest.entrySet()) {
+                Topic topic = topics.get(entry.getKey());
+                if (topic != null && topic.lastSeq >= 0 && entry.getValue() > topic.lastSeq) {
+                    catchUp(topic);
+                }
+            }
+        }
+    }
+
+    /** Stops the change-feed poll; live subscribers only receive events appended locally. */
+    void close() {
+        poller.dispose();
+    }
+
+    /** Number of sessions with at least one subscriber. */
+    int subscribedSessions() {
+        return topics.size();
+    }
+
+    private void startPolling() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        poller.update(
+                Flux.interval(pollInterval)
+                        .onBackpressureDrop()
+                        .concatMap(
+                                tick ->
+                                        Mono.fromRunnable(this::pollOnce)
+                                                .subscribeOn(Schedulers.boundedElastic())
+                                                .onErrorResume(
+                                                        error -> {
+                                                            log.warn(
+                                                                    "Session event poll failed: {}",
+                                                                    error.getMessage());
+                                                            return Mono.empty();
+                                                        }))
+                        .subscribe());
+    }
+
+    /** Reads and emits everything after the topic's last delivered {@code seq}. */
+    private void catchUp(Topic topic) {
+        try {
+            synchronized (topic) {
+                if (topic.lastSeq < 0) {
+                    return;
+                }
+                for (SessionEventDto event : listAfter.apply(topic.sessionId, topic.lastSeq)) {
+                    if (event.seq() > topic.lastSeq) {
+                        topic.emit(event);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Session event catch-up failed for {}: {}", topic.sessionId, e.getMessage());
+        }
+    }
+
+    private Topic acquire(String sessionId) {
+        return topics.compute(
+                sessionId,
+                (k, existing) -> {
+                    Topic topic = existing != null ? existing : new Topic(this, sessionId);
+                    topic.subscribers++;
+                    return topic;
+                });
+    }
+
+    private void release(Topic topic) {
+        topics.computeIfPresent(
+                topic.sessionId, (k, t) -> t == topic && --t.subscribers == 0 ? null : t);
+    }
+
+    /** Shared feed of one session. Emission and {@code lastSeq} are guarded by its monitor. */
+    private static final class Topic {
+        private final SessionEventTailer tailer;
+        private final String sessionId;
+        private final Sinks.Many<SessionEventDto> sink =
+                Sinks.many().multicast().directBestEffort();
+
+        /** Highest {@code seq} emitted; {@code -1} until the starting point is known. */
+        private volatile long lastSeq = -1;
+
+        private int subscribers;
+
+        private Topic(SessionEventTailer tailer, String sessionId) {
+            this.tailer = tailer;
+            this.sessionId = sessionId;
+        }
+
+        private synchronized void initialize() {
+            if (lastSeq < 0) {
+                lastSeq = tailer.maxSeqs.apply(List.of(sessionId)).getOrDefault(sessionId, 0L);
+            }
+        }
+
+        private void emit(SessionEventDto event) {
+            lastSeq = event.seq();
+            sink.tryEmitNext(event);
+        }
+    }
+}
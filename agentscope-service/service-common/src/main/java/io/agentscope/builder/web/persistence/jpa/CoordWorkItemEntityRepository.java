@@ -16,11 +16,14 @@
 package io.agentscope.builder.web.persistence.jpa;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface CoordWorkItemEntityRepository extends JpaRepository<CoordWorkItemEntity, Long> {
@@ -30,16 +33,24 @@ public interface CoordWorkItemEntityRepository extends JpaRepository<CoordWorkIt
     Optional<CoordWorkItemEntity> findFirstBySessionIdAndStatusInOrderByCreatedAtDesc(
             String sessionId, List<String> statuses);
 
+    /**
+     * Queued rows, plus starting/active rows not updated since {@code staleBefore}, oldest first
+     * and limited to {@code page}. Locked with {@code FOR UPDATE SKIP LOCKED} (lock timeout {@code
+     * -2}) so concurrent claimers take disjoint rows; dialects without {@code SKIP LOCKED} fall back
+     * to a plain {@code FOR UPDATE}.
+     */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
     @Query(
             "select e from CoordWorkItemEntity e where e.environmentId = :environmentId and"
                     + " (e.status = :queued or (e.status in :reclaimable and e.updatedAt <"
                     + " :staleBefore)) order by e.createdAt asc")
-    List<CoordWorkItemEntity> findClaimableForPoll(
+    List<CoordWorkItemEntity> findClaimableSkipLocked(
             @Param("environmentId") String environmentId,
             @Param("queued") String queued,
             @Param("reclaimable") List<String> reclaimable,
-            @Param("staleBefore") long staleBefore);
+            @Param("staleBefore") long staleBefore,
+            Pageable page);
 
     List<CoordWorkItemEntity> findByEnvironmentIdOrderByCreatedAtAsc(String environmentId);
 
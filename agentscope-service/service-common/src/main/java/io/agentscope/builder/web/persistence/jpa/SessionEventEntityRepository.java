@@ -41,6 +41,12 @@ public interface SessionEventEntityRepository extends JpaRepository<SessionEvent
     @Query("select coalesce(max(e.seq), 0) from SessionEventEntity e where e.sessionId = :sid")
     long maxSeq(@Param("sid") String sessionId);
 
+    /** Latest {@code seq} of each given session that has events, as {@code [sessionId, seq]}. */
+    @Query(
+            "select e.sessionId, max(e.seq) from SessionEventEntity e where e.sessionId in :sids"
+                    + " group by e.sessionId")
+    List<Object[]> maxSeqBySessionIdIn(@Param("sids") Collection<String> sessionIds);
+
     @Query(
             "select count(e) from SessionEventEntity e where e.sessionId = :sid and e.eventType in"
                     + " :types")
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.builder.web.coord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.agentscope.builder.BuilderCommonTestApp;
+import io.agentscope.builder.web.persistence.jpa.CoordHitlTicketEntityRepository;
+import io.agentscope.builder.web.persistence.jpa.CoordLeaseEntityRepository;
+import io.agentscope.builder.web.persistence.jpa.CoordWorkItemEntityRepository;
+import io.agentscope.builder.web.persistence.jpa.CoordWorkerHeartbeatEntityRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@ContextConfiguration(classes = BuilderCommonTestApp.class)
+@Import(WorkQueueClaimCoordinationTest.Config.class)
+@TestPropertySource(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:workQueueClaim;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+            "spring.jpa.hibernate.ddl-auto=create-drop"
+        })
+class WorkQueueClaimCoordinationTest {
+
+    @Autowired CoordinationStore coordinationStore;
+
+    @Test
+    void batchClaimAssignsOldestRowsToWorkersInOrder() {
+        coordinationStore.enqueueWork("ses_1", "env_batch", "owner");
+        coordinationStore.enqueueWork("ses_2", "env_batch", "owner");
+        coordinationStore.enqueueWork("ses_3", "env_batch", "owner");
+
+        List<CoordinationStore.WorkItemRecord> claimed =
+                coordinationStore.claimWorkBatch("env_batch", List.of("w1", "w2"));
+
+        assertThat(claimed)
+                .extracting(CoordinationStore.WorkItemRecord::claimedBy)
+                .containsExactly("w1", "w2");
+        assertThat(claimed).allMatch(r -> "starting".equals(r.status()));
+        assertThat(coordinationStore.claimWorkBatch("env_batch", List.of("w3", "w4")))
+                .singleElement()
+                .extracting(CoordinationStore.WorkItemRecord::claimedBy)
+                .isEqualTo("w3");
+        assertThat(coordinationStore.claimWorkBatch("env_batch", List.of("w5"))).isEmpty();
+    }
+
+    @Test
+    void requeuedItemCanBeClaimedAgain() {
+        coordinationStore.enqueueWork("ses_requeue", "env_requeue", "owner");
+        CoordinationStore.WorkItemRecord first =
+                coordinationStore.claimWorkBatch("env_requeue", List.of("gone")).get(0);
+
+        coordinationStore.requeueWork(first.leaseId());
+
+        assertThat(coordinationStore.claimWorkBatch("env_requeue", List.of("w2")))
+                .singleElement()
+                .satisfies(
+                        r -> {
+                            assertThat(r.leaseId()).isEqualTo(first.leaseId());
+                            assertThat(r.claimedBy()).isEqualTo("w2");
+                        });
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        TransactionTemplate transactionTemplate(PlatformTransactionManager txManager) {
+            return new TransactionTemplate(txManager);
+        }
+
+        @Bean
+        CoordinationStore coordinationStore(
+                CoordLeaseEntityRepository leaseRepository,
+                CoordHitlTicketEntityRepository hitlRepository,
+                CoordWorkItemEntityRepository workRepository,
+                CoordWorkerHeartbeatEntityRepository workerRepository,
+                TransactionTemplate transactionTemplate) {
+            return new JdbcCoordinationStore(
+                    leaseRepository,
+                    hitlRepository,
+                    workRepository,
+                    workerRepository,
+                    transactionTemplate);
+        }
+    }
+}
@@ -16,24 +16,29 @@
 package io.agentscope.builder.web.managed.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.agentscope.builder.BuilderCommonTestApp;
 import io.agentscope.builder.web.managed.SessionEventDto;
+import io.agentscope.builder.web.persistence.jpa.SessionEventEntity;
 import io.agentscope.builder.web.persistence.jpa.SessionEventEntityRepository;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -119,6 +124,35 @@ class SessionEventLogCrossProcessTest {
                 .verify(Duration.ofSeconds(5));
     }
 
+    @Test
+    void subscribersShareThePollForForeignRows() {
+        String sessionId = "ses_foreign";
+        eventLog.append(sessionId, "session.status_created", Map.of("status", "created"));
+
+        // Written straight to the table, as another replica would; only the poll can see it.
+        Runnable foreignAppend =
+                () -> {
+                    SessionEventEntity foreign = new SessionEventEntity();
+                    foreign.setEventId("evt_foreign_poll");
+                    foreign.setSessionId(sessionId);
+                    foreign.setSeq(2L);
+                    foreign.setEventType("user.message");
+                    foreign.setPayloadJson("{}");
+                    foreign.setCreatedAt(System.currentTimeMillis());
+                    repository.saveAndFlush(foreign);
+                };
+
+        StepVerifier.create(
+                        eventLog.subscribe(sessionId, 0L)
+                                .mergeWith(eventLog.subscribe(sessionId, 1L))
+                                .take(3))
+                .thenAwait(Duration.ofMillis(150))
+                .then(foreignAppend)
+                .expectNextCount(3)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
     // A turn keeps running for seconds after its session is deleted, so the purge has to
     // reject those late appends or they recreate the rows it just removed.
     @Test
@@ -148,6 +182,75 @@ class SessionEventLogCrossProcessTest {
         assertThat(repository.findBySessionIdOrderBySeqAsc(sessionId)).hasSize(1);
     }
 
+    @Test
+    void turnWriterBatchesEventsInOrder() {
+        String sessionId = "ses_batched";
+        eventLog.append(sessionId, "user.message", Map.of("text", "go"));
+
+        try (SessionEventLog.TurnWriter writer = eventLog.openTurnWriter(sessionId)) {
+            for (int i = 0; i < 20; i++) {
+                eventLog.appendBuffered(sessionId, "agent.message", Map.of("i", i), null);
+            }
+            SessionEventDto status =
+                    eventLog.append(sessionId, "session.status_idle", Map.of("status", "idle"));
+            assertThat(status.seq()).isEqualTo(22L);
+        }
+
+        List<SessionEventEntity> rows = repository.findBySessionIdOrderBySeqAsc(sessionId);
+        assertThat(rows).hasSize(22);
+        assertThat(rows.get(1).getEventType()).isEqualTo("agent.message");
+        assertThat(rows.get(21).getEventType()).isEqualTo("session.status_idle");
+        assertThat(rows).extracting(SessionEventEntity::getSeq).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void turnWriterRenumbersAfterForeignAppend() {
+        String sessionId = "ses_batched_conflict";
+        SessionEventLog.TurnWriter writer = eventLog.openTurnWriter(sessionId);
+        eventLog.appendBuffered(sessionId, "agent.message", Map.of("text", "first"), null);
+        writer.flush();
+
+        // Another process takes seq 2 after the writer's counter has moved past the table.
+        SessionEventEntity foreign = new SessionEventEntity();
+        foreign.setEventId("evt_foreign");
+        foreign.setSessionId(sessionId);
+        foreign.setSeq(2L);
+        foreign.setEventType("user.message");
+        foreign.setPayloadJson("{}");
+        foreign.setCreatedAt(System.currentTimeMillis());
+        repository.saveAndFlush(foreign);
+
+        SessionEventDto buffered =
+                eventLog.appendBuffered(sessionId, "agent.message", Map.of("text", "mine"), null);
+        assertThat(buffered.seq()).isEqualTo(2L);
+        writer.close();
+
+        List<SessionEventEntity> rows = repository.findBySessionIdOrderBySeqAsc(sessionId);
+        assertThat(rows)
+                .extracting(SessionEventEntity::getEventType)
+                .containsExactly("agent.message", "user.message", "agent.message");
+        assertThat(rows.get(2).getSeq()).isEqualTo(3L);
+    }
+
+    @Test
+    void turnWriterRethrowsTimedFlushFailure() throws Exception {
+        String sessionId = "ses_batched_failure";
+        SessionEventLog.TurnWriter writer = eventLog.openTurnWriter(sessionId);
+        // Not serializable: the timed flush on boundedElastic fails.
+        eventLog.appendBuffered(sessionId, "agent.message", Map.of("bad", new Object()), null);
+        Thread.sleep(200);
+
+        assertThatThrownBy(
+                        () ->
+                                eventLog.appendBuffered(
+                                        sessionId, "agent.message", Map.of("text", "ok"), null))
+                .isInstanceOf(RuntimeException.class);
+        eventLog.appendBuffered(sessionId, "agent.message", Map.of("text", "ok"), null);
+        writer.close();
+
+        assertThat(repository.findBySessionIdOrderBySeqAsc(sessionId)).hasSize(1);
+    }
+
     @TestConfiguration
     static class Config {
         @Bean
@@ -175,9 +278,16 @@ class SessionEventLogCrossProcessTest {
                 SessionEventEntityRepository repository,
                 ManagedJsonHelper jsonHelper,
                 TransactionTemplate transactionTemplate,
-                DeletedSessionRegistry deletedSessions) {
+                DeletedSessionRegistry deletedSessions,
+                DataSource dataSource) {
             return new SessionEventLog(
-                    repository, jsonHelper, transactionTemplate, deletedSessions, 100L);
+                    repository,
+                    jsonHelper,
+                    transactionTemplate,
+                    deletedSessions,
+                    100L,
+                    new JdbcTemplate(dataSource),
+                    5L);
         }
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.builder.web.managed.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.agentscope.builder.web.managed.SessionEventDto;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+/** Unit tests for {@link SessionEventTailer} fan-out over an in-memory event table. */
+class SessionEventTailerTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Map<String, List<SessionEventDto>> table = new ConcurrentHashMap<>();
+    private final AtomicInteger maxSeqQueries = new AtomicInteger();
+    private final AtomicInteger listQueries = new AtomicInteger();
+    private final SessionEventTailer tailer =
+            new SessionEventTailer(NEVER, this::maxSeqs, this::listAfter);
+
+    @AfterEach
+    void closeTailer() {
+        tailer.close();
+    }
+
+    @Test
+    void onePollCoversEverySubscribedSession() {
+        List<SessionEventDto> received = new CopyOnWriteArrayList<>();
+        List<Disposable> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            subscriptions.add(tailer.subscribe("s" + i, 0L).subscribe(received::add));
+        }
+        waitFor(() -> tailer.subscribedSessions() == 20 && listQueries.get() == 20);
+        maxSeqQueries.set(0);
+        listQueries.set(0);
+
+        insert("s3", 1);
+        insert("s7", 1);
+        tailer.pollOnce();
+
+        waitFor(() -> received.size() == 2);
+        assertThat(maxSeqQueries.get()).isEqualTo(1);
+        assertThat(listQueries.get()).isEqualTo(2);
+        subscriptions.forEach(Disposable::dispose);
+        waitFor(() -> tailer.subscribedSessions() == 0);
+    }
+
+    @Test
+    void localAppendIsPushedWithoutPolling() {
+        insert("s1", 1);
+        List<SessionEventDto> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = tailer.subscribe("s1", 0L).subscribe(received::add);
+        waitFor(() -> received.size() == 1);
+        listQueries.set(0);
+
+        tailer.onAppended(insert("s1", 2));
+
+        waitFor(() -> received.size() == 2);
+        assertThat(received).extracting(SessionEventDto::seq).containsExactly(1L, 2L);
+        assertThat(listQueries.get()).isZero();
+        subscription.dispose();
+    }
+
+    @Test
+    void localAppendAfterGapReadsMissingRows() {
+        List<SessionEventDto> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = tailer.subscribe("s1", 0L).subscribe(received::add);
+        waitFor(() -> tailer.subscribedSessions() == 1 && listQueries.get() == 1);
+
+        insert("s1", 1);
+        tailer.onAppended(insert("s1", 2));
+
+        waitFor(() -> received.size() == 2);
+        assertThat(received).extracting(SessionEventDto::seq).containsExactly(1L, 2L);
+        subscription.dispose();
+    }
+
+    @Test
+    void subscriberResumesAfterItsCursor() {
+        insert("s1", 1);
+        insert("s1", 2);
+        List<SessionEventDto> received = new CopyOnWriteArrayList<>();
+        Disposable subscription = tailer.subscribe("s1", 1L).subscribe(received::add);
+        waitFor(() -> received.size() == 1);
+
+        tailer.onAppended(insert("s1", 3));
+
+        waitFor(() -> received.size() == 2);
+        assertThat(received).extracting(SessionEventDto::seq).containsExactly(2L, 3L);
+        subscription.dispose();
+    }
+
+    private SessionEventDto insert(String sessionId, long seq) {
+        SessionEventDto event =
+                new SessionEventDto(
+                        "evt_" + sessionId + "_" + seq,
+                        sessionId,
+                        seq,
+                        "agent.message",
+                        Map.of(),
+                        seq,
+                        seq);
+        table.computeIfAbsent(sessionId, k -> new CopyOnWriteArrayList<>()).add(event);
+        return event;
+    }
+
+    private Map<String, Long> maxSeqs(Collection<String> sessionIds) {
+        maxSeqQueries.incrementAndGet();
+        Map<String, Long> latest = new HashMap<>();
+        for (String sessionId : sessionIds) {
+            List<SessionEventDto> events = table.get(sessionId);
+            if (events != null && !events.isEmpty()) {
+                latest.put(sessionId, events.get(events.size() - 1).seq());
+            }
+        }
+        return latest;
+    }
+
+    private List<SessionEventDto> listAfter(String sessionId, long afterSeq) {
+        listQueries.incrementAndGet();
+        return table.getOrDefault(sessionId, List.of()).stream()
+                .filter(e -> e.seq() > afterSeq)
+                .toList();
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -24,7 +24,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -37,6 +36,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * REST surface for out-of-process Environment Workers on {@code self_hosted} environments.
@@ -68,27 +68,19 @@ public class WorkerEnvironmentController {
 
     /**
      * Long-poll for the next work item. Returns 204 when nothing is claimed within {@code
-     * timeoutMs}.
+     * timeoutMs}. Waiting does not hold a request thread; see {@link
+     * EnvironmentWorkQueue#pollAsync}.
      */
     @GetMapping("/work/poll")
     public Mono<ResponseEntity<EnvironmentWorkQueue.WorkItem>> poll(
             @PathVariable("id") String environmentId,
             @RequestParam("workerId") String workerId,
             @RequestParam(name = "timeoutMs", defaultValue = "25000") long timeoutMs) {
-        return Mono.fromCallable(
-                () -> {
-                    try {
-                        Optional<EnvironmentWorkQueue.WorkItem> item =
-                                workQueue.poll(environmentId, workerId, timeoutMs);
-                        return item.map(this::withSessionMetadata)
-                                .map(ResponseEntity::ok)
-                                .orElseGet(() -> ResponseEntity.noContent().build());
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        throw new ResponseStatusException(
-                                HttpStatus.SERVICE_UNAVAILABLE, "Poll interrupted");
-                    }
-                });
+        return workQueue
+                .pollAsync(environmentId, workerId, timeoutMs)
+                .publishOn(Schedulers.boundedElastic())
+                .map(item -> ResponseEntity.ok(withSessionMetadata(item)))
+                .defaultIfEmpty(ResponseEntity.noContent().build());
     }
 
     private EnvironmentWorkQueue.WorkItem withSessionMetadata(EnvironmentWorkQueue.WorkItem item) {
@@ -18,10 +18,31 @@ package io.agentscope.builder.web.managed;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.agentscope.builder.web.coord.CoordinationStore;
 import io.agentscope.core.util.JsonUtils;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Hands work-queue facade. Durability is provided by {@link CoordinationStore} so Brain replicas
@@ -30,6 +51,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class EnvironmentWorkQueue {
 
+    private static final Logger log = LoggerFactory.getLogger(EnvironmentWorkQueue.class);
+
+    /** Most workers served by one batch claim. */
+    private static final int MAX_CLAIM_BATCH = 64;
+
     public enum Status {
         queued,
         starting,
@@ -165,18 +191,217 @@ public class EnvironmentWorkQueue {
     }
 
     private final CoordinationStore coordinationStore;
+    private final Duration pollInterval;
+
+    /** Workers parked in {@link #pollAsync}, by environment id. */
+    private final ConcurrentHashMap<String, Waiters> waiters = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean pollerStarted = new AtomicBoolean();
+
+    /** Shared poll timer, disposed with the bean; disposes a timer set after {@link #stop}. */
+    private final Disposable.Swap poller = Disposables.swap();
 
-    public EnvironmentWorkQueue(CoordinationStore coordinationStore) {
+    public EnvironmentWorkQueue(
+            CoordinationStore coordinationStore,
+            @Value("${builder.work-queue.poll-interval-ms:100}") long pollIntervalMs) {
         this.coordinationStore = coordinationStore;
+        this.pollInterval = Duration.ofMillis(Math.max(10L, pollIntervalMs));
     }
 
+    /**
+     * Enqueues a work item and, once the row is committed, wakes workers parked on this node for
+     * its environment.
+     */
     public WorkItem enqueue(String sessionId, String environmentId, String ownerId) {
-        return WorkItem.from(coordinationStore.enqueueWork(sessionId, environmentId, ownerId));
+        WorkItem item =
+                WorkItem.from(coordinationStore.enqueueWork(sessionId, environmentId, ownerId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            dispatch(environmentId);
+                        }
+                    });
+        } else {
+            dispatch(environmentId);
+        }
+        return item;
     }
 
+    /** Blocking form of {@link #pollAsync}. */
     public Optional<WorkItem> poll(String environmentId, String workerId, long timeoutMs)
             throws InterruptedException {
-        return coordinationStore.claimWork(environmentId, workerId, timeoutMs).map(WorkItem::from);
+        try {
+            return Optional.ofNullable(
+                    pollAsync(environmentId, workerId, timeoutMs).toFuture().get());
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re
+                    ? re
+                    : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Long-polls for the next work item without holding a thread while waiting.
+     *
+     * <p>Waiting workers are parked per environment on this node. One dispatcher per environment
+     * claims a row for each of them with a single batch claim, so workers never race for the same
+     * row. It runs on arrival, when this node enqueues work for the environment, and every {@code
+     * builder.work-queue.poll-interval-ms} to pick up rows enqueued by other replicas. An item
+     * claimed for a worker that disconnected meanwhile is put back on the queue.
+     *
+     * @return the claimed item, or empty when nothing was claimed within {@code timeoutMs}
+     */
+    public Mono<WorkItem> pollAsync(String environmentId, String workerId, long timeoutMs) {
+        Mono<Void> heartbeat =
+                workerId == null
+                        ? Mono.empty()
+                        : Mono.<Void>fromRunnable(
+                                        () -> coordinationStore.workerHeartbeat(workerId, null))
+                                .subscribeOn(Schedulers.boundedElastic());
+        if (timeoutMs <= 0) {
+            return heartbeat.then(
+                    Mono.fromCallable(() -> claimNow(environmentId, workerId))
+                            .subscribeOn(Schedulers.boundedElastic()));
+        }
+        return heartbeat.then(
+                Mono.create(
+                        sink -> {
+                            startPoller();
+                            Waiter waiter = new Waiter(environmentId, workerId, sink);
+                            join(waiter);
+                            Disposable timer =
+                                    Schedulers.parallel()
+                                            .schedule(
+                                                    waiter::expire,
+                                                    timeoutMs,
+                                                    TimeUnit.MILLISECONDS);
+                            sink.onCancel(waiter::cancel);
+                            sink.onDispose(timer::dispose);
+                            dispatch(environmentId);
+                        }));
+    }
+
+    /** Number of workers parked in {@link #pollAsync} on this node. */
+    int waitingWorkers() {
+        return waiters.values().stream().mapToInt(Waiters::size).sum();
+    }
+
+    private WorkItem claimNow(String environmentId, String workerId) {
+        return coordinationStore
+                .claimWorkBatch(environmentId, Collections.singletonList(workerId))
+                .stream()
+                .findFirst()
+                .map(WorkItem::from)
+                .orElse(null);
+    }
+
+    private void join(Waiter waiter) {
+        waiters.compute(
+                waiter.environmentId,
+                (k, group) -> {
+                    Waiters g = group != null ? group : new Waiters();
+                    g.add(waiter);
+                    waiter.group = g;
+                    return g;
+                });
+    }
+
+    /** Removes a finished waiter, dropping its environment's group once empty. */
+    private void leave(Waiter waiter) {
+        Waiters group = waiter.group;
+        group.remove(waiter);
+        waiters.computeIfPresent(
+                waiter.environmentId, (k, g) -> g == group && g.size() == 0 ? null : g);
+    }
+
+    private void startPoller() {
+        if (!pollerStarted.compareAndSet(false, true)) {
+            return;
+        }
+        poller.update(
+                Flux.interval(pollInterval)
+                        .onBackpressureDrop()
+                        .subscribe(tick -> waiters.keySet().forEach(this::dispatch)));
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.dispose();
+    }
+
+    /** Schedules a claim round for the environment unless one is already running. */
+    private void dispatch(String environmentId) {
+        Waiters group = waiters.get(environmentId);
+        if (group != null && group.wip.getAndIncrement() == 0) {
+            Schedulers.boundedElastic().schedule(() -> drain(environmentId, group));
+        }
+    }
+
+    private void drain(String environmentId, Waiters group) {
+        int missed = 1;
+        while (true) {
+            try {
+                if (claimRound(environmentId, group)) {
+                    // Every reserved worker was served and more are waiting: go again.
+                    group.wip.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                log.warn(
+                        "Work dispatch failed for environment {}: {}",
+                        environmentId,
+                        e.getMessage());
+            }
+            missed = group.wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claims one item per reserved worker and hands them out.
+     *
+     * @return true when every reserved worker was served and others are still waiting
+     */
+    private boolean claimRound(String environmentId, Waiters group) {
+        List<Waiter> reserved = group.reserve(MAX_CLAIM_BATCH);
+        if (reserved.isEmpty()) {
+            return false;
+        }
+        List<CoordinationStore.WorkItemRecord> claimed;
+        try {
+            claimed =
+                    coordinationStore.claimWorkBatch(
+                            environmentId,
+                            reserved.stream().map(waiter -> waiter.workerId).toList());
+        } catch (RuntimeException e) {
+            log.warn("Work claim failed for environment {}: {}", environmentId, e.getMessage());
+            reserved.forEach(Waiter::unreserve);
+            return false;
+        }
+        for (int i = 0; i < reserved.size(); i++) {
+            Waiter waiter = reserved.get(i);
+            if (i >= claimed.size()) {
+                waiter.unreserve();
+                continue;
+            }
+            CoordinationStore.WorkItemRecord record = claimed.get(i);
+            if (!waiter.deliver(WorkItem.from(record))) {
+                log.debug(
+                        "Worker {} left before receiving {}; requeueing",
+                        waiter.workerId,
+                        record.leaseId());
+                try {
+                    coordinationStore.requeueWork(record.leaseId());
+                } catch (RuntimeException e) {
+                    // Left starting; reclaimed once stale like any abandoned claim.
+                    log.warn("Failed to requeue {}: {}", record.leaseId(), e.getMessage());
+                }
+            }
+        }
+        return claimed.size() == reserved.size() && group.hasWaiting();
     }
 
     public void ack(String leaseId, String workerId, String workDir) {
@@ -224,4 +449,108 @@ public class EnvironmentWorkQueue {
     public int pendingCount() {
         return coordinationStore.pendingWorkCount();
     }
+
+    /** Workers of one environment parked in {@link #pollAsync}, in arrival order. */
+    private static final class Waiters {
+        private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+
+        /** Pending dispatch requests; the dispatcher runs while this is non-zero. */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private synchronized void add(Waiter waiter) {
+            queue.addLast(waiter);
+        }
+
+        private synchronized void remove(Waiter waiter) {
+            queue.remove(waiter);
+        }
+
+        private synchronized int size() {
+            return queue.size();
+        }
+
+        private synchronized boolean hasWaiting() {
+            for (Waiter waiter : queue) {
+                if (waiter.state.get() == Waiter.WAITING) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Reserves up to {@code max} waiting workers, oldest first. */
+        private synchronized List<Waiter> reserve(int max) {
+            List<Waiter> reserved = new ArrayList<>();
+            for (Waiter waiter : queue) {
+                if (reserved.size() == max) {
+                    break;
+                }
+                if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.RESERVED)) {
+                    reserved.add(waiter);
+                }
+            }
+            return reserved;
+        }
+    }
+
+    /**
+     * One parked {@link #pollAsync} call. While reserved for a claim it does not expire; if it is
+     * cancelled meanwhile, {@link #deliver} refuses the item so the caller can requeue it.
+     */
+    private final class Waiter {
+        private static final int WAITING = 0;
+        private static final int RESERVED = 1;
+        private static final int RESERVED_CANCELLED = 2;
+        private static final int DONE = 3;
+
+        private final String environmentId;
+        private final String workerId;
+        private final MonoSink<WorkItem> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile Waiters group;
+        private volatile boolean expired;
+
+        private Waiter(String environmentId, String workerId, MonoSink<WorkItem> sink) {
+            this.environmentId = environmentId;
+            this.workerId = workerId;
+            this.sink = sink;
+        }
+
+        private void expire() {
+            expired = true;
+            if (state.compareAndSet(WAITING, DONE)) {
+                leave(this);
+                sink.success();
+            }
+        }
+
+        private void cancel() {
+            if (state.compareAndSet(WAITING, DONE)) {
+                leave(this);
+            } else {
+                state.compareAndSet(RESERVED, RESERVED_CANCELLED);
+            }
+        }
+
+        /** Hands over a claimed item; false when the caller went away after reservation. */
+        private boolean deliver(WorkItem item) {
+            boolean delivered = state.compareAndSet(RESERVED, DONE);
+            state.set(DONE);
+            leave(this);
+            if (delivered) {
+                sink.success(item);
+            }
+            return delivered;
+        }
+
+        /** Returns a reserved waiter to the queue when no item was claimed for it. */
+        private void unreserve() {
+            if (!state.compareAndSet(RESERVED, WAITING)) {
+                state.set(DONE);
+                leave(this);
+            } else if (expired) {
+                expire();
+            }
+        }
+    }
 }
@@ -279,6 +279,9 @@ public class SessionTurnRunner {
         java.util.concurrent.CountDownLatch done = new java.util.concurrent.CountDownLatch(1);
         java.util.concurrent.atomic.AtomicReference<Throwable> errorRef =
                 new java.util.concurrent.atomic.AtomicReference<>();
+        // Events of the turn are batched; flushed before the status update that ends the turn and
+        // closed in the finally block below, before the lease goes.
+        SessionEventLog.TurnWriter eventWriter = eventLog.openTurnWriter(session.id());
         Disposable subscription =
                 stream.subscribe(
                         event -> {
@@ -302,6 +305,12 @@ public class SessionTurnRunner {
                 }
                 throw new RuntimeException(error);
             }
+            try {
+                eventWriter.flush();
+            } catch (RuntimeException ex) {
+                failTurn(session, ex, "event_write_failed");
+                throw ex;
+            }
             if (suspended.get()) {
                 sessionService.updateStatus(
                         session.ownerId(),
@@ -321,6 +330,14 @@ public class SessionTurnRunner {
             subscription.dispose();
             failTurn(session, ie, "interrupted");
         } finally {
+            try {
+                eventWriter.close();
+            } catch (RuntimeException ex) {
+                log.warn(
+                        "Closing session event writer failed: sessionId={}, error={}",
+                        session.id(),
+                        ex.getMessage());
+            }
             activeTurns.remove(session.id());
             activeAgents.remove(session.id());
             // Keep work-queue lease for suspended turns so workers can finish pending tools.
@@ -385,7 +402,7 @@ public class SessionTurnRunner {
         mapped.persisted()
                 .ifPresent(
                         persisted ->
-                                eventLog.append(
+                                eventLog.appendBuffered(
                                         sessionId,
                                         persisted.type(),
                                         persisted.payload(),
@@ -402,7 +419,7 @@ public class SessionTurnRunner {
             payload.put("toolCallId", tub.getId());
             payload.put("toolName", tub.getName());
             payload.put("state", "pending");
-            eventLog.append(sessionId, SessionEventTypes.AGENT_TOOL_USE, payload);
+            eventLog.appendBuffered(sessionId, SessionEventTypes.AGENT_TOOL_USE, payload, null);
         }
     }
 
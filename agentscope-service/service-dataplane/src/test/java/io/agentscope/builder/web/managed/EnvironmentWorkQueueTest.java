@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.builder.web.managed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.agentscope.builder.web.coord.CoordinationStore;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+/**
+ * Parked {@link EnvironmentWorkQueue#pollAsync} callers are served by local enqueues without
+ * waiting for the periodic recheck, and each claimed row goes to exactly one worker.
+ */
+class EnvironmentWorkQueueTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    /** Recheck interval long enough that only local wakeups can serve a test. */
+    private static final long NO_RECHECK_MS = 3_600_000L;
+
+    private final Deque<CoordinationStore.WorkItemRecord> queued = new ArrayDeque<>();
+    private final CoordinationStore store = inMemoryStore();
+    private final EnvironmentWorkQueue queue = new EnvironmentWorkQueue(store, NO_RECHECK_MS);
+
+    @AfterEach
+    void stopPoller() {
+        queue.stop();
+    }
+
+    @Test
+    void localEnqueueWakesParkedWorkers() {
+        List<Mono<EnvironmentWorkQueue.WorkItem>> polls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Mono<EnvironmentWorkQueue.WorkItem> poll =
+                    queue.pollAsync("env", "worker-" + i, 60_000L).cache();
+            poll.subscribe();
+            polls.add(poll);
+        }
+        waitFor(() -> queue.waitingWorkers() == 3);
+
+        for (int i = 0; i < 3; i++) {
+            queue.enqueue("ses_" + i, "env", "owner");
+        }
+
+        Set<String> sessions =
+                polls.stream()
+                        .map(poll -> poll.block(TIMEOUT).sessionId())
+                        .collect(Collectors.toSet());
+        assertThat(sessions).containsExactlyInAnyOrder("ses_0", "ses_1", "ses_2");
+        waitFor(() -> queue.waitingWorkers() == 0);
+    }
+
+    @Test
+    void pollTimesOutEmpty() {
+        EnvironmentWorkQueue.WorkItem item = queue.pollAsync("env", "worker", 50L).block(TIMEOUT);
+
+        assertThat(item).isNull();
+        assertThat(queue.waitingWorkers()).isZero();
+    }
+
+    @Test
+    void immediatePollClaimsOnce() {
+        queue.enqueue("ses_now", "env", "owner");
+
+        EnvironmentWorkQueue.WorkItem item = queue.pollAsync("env", "worker", 0L).block(TIMEOUT);
+
+        assertThat(item.sessionId()).isEqualTo("ses_now");
+        assertThat(item.claimedBy()).isEqualTo("worker");
+        assertThat(queue.pollAsync("env", "worker", 0L).block(TIMEOUT)).isNull();
+    }
+
+    private CoordinationStore inMemoryStore() {
+        CoordinationStore mock = mock(CoordinationStore.class);
+        when(mock.enqueueWork(anyString(), anyString(), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            CoordinationStore.WorkItemRecord record =
+                                    new CoordinationStore.WorkItemRecord(
+                                            "lease_" + invocation.getArgument(0),
+                                            invocation.getArgument(0),
+                                            invocation.getArgument(1),
+                                            invocation.getArgument(2),
+                                            "queued",
+                                            null,
+                                            null,
+                                            0L,
+                                            0L);
+                            synchronized (queued) {
+                                queued.addLast(record);
+                            }
+                            return record;
+                        });
+        when(mock.claimWorkBatch(anyString(), anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<String> workerIds = invocation.getArgument(1);
+                            List<CoordinationStore.WorkItemRecord> claimed = new ArrayList<>();
+                            synchronized (queued) {
+                                for (String workerId : workerIds) {
+                                    CoordinationStore.WorkItemRecord r = queued.pollFirst();
+                                    if (r == null) {
+                                        break;
+                                    }
+                                    claimed.add(
+                                            new CoordinationStore.WorkItemRecord(
+                                                    r.leaseId(),
+                                                    r.sessionId(),
+                                                    r.environmentId(),
+                                                    r.ownerId(),
+                                                    "starting",
+                                                    workerId,
+                                                    null,
+                                                    r.createdAt(),
+                                                    r.updatedAt()));
+                                }
+                            }
+                            return claimed;
+                        });
+        return mock;
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}